@@ -0,0 +1,261 @@
+package dev.solace.twiggle.climate;
+
+import dev.solace.twiggle.model.Plant;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.MonthDay;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the binary {@link ClimateTables} from CSV source data. Runs at build time ({@code process-classes}), so the
+ * application only maps the finished tables and never parses source data at startup.
+ *
+ * <p>{@value #REGIONS_FILE} lists rectangles as {@code south,west,north,east,zone,last_frost,first_frost}: degrees,
+ * a hardiness zone such as {@code 7a}, and median frost dates as {@code MM-DD}, both left empty where it does not
+ * freeze. A cell takes the last listed region containing its centre, so specific regions follow the broad ones they
+ * refine. {@value #SEASON_WINDOWS_FILE} lists {@code season,anchor,from_week,to_week}: a season may be planted from
+ * {@code from_week} to {@code to_week} weeks after the {@code LAST_FROST} or {@code FIRST_FROST}. Frost-free regions
+ * use nominal frost dates at the edges of their coolest weeks, mirrored for the southern hemisphere.
+ *
+ * <p>Usage: {@code ClimateTableCompiler <source directory> <output directory> [cells per degree]}.
+ */
+public final class ClimateTableCompiler {
+
+    public static final String REGIONS_FILE = "regions.csv";
+    public static final String SEASON_WINDOWS_FILE = "season-windows.csv";
+
+    static final int DEFAULT_CELLS_PER_DEGREE = 4;
+
+    private static final int DAYS = 365;
+    private static final int NORTH_NOMINAL_LAST_FROST = day(MonthDay.of(1, 31));
+    private static final int NORTH_NOMINAL_FIRST_FROST = day(MonthDay.of(12, 1));
+
+    private ClimateTableCompiler() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            throw new IllegalArgumentException(
+                    "Usage: ClimateTableCompiler <source directory> <output directory> [cells per degree]");
+        }
+        int cellsPerDegree = args.length == 3 ? Integer.parseInt(args[2]) : DEFAULT_CELLS_PER_DEGREE;
+        Tables tables = compile(
+                Files.readAllLines(Path.of(args[0], REGIONS_FILE)),
+                Files.readAllLines(Path.of(args[0], SEASON_WINDOWS_FILE)),
+                cellsPerDegree);
+        Path output = Files.createDirectories(Path.of(args[1]));
+        Files.write(output.resolve(ClimateTables.GRID_FILE), tables.grid().array());
+        Files.write(
+                output.resolve(ClimateTables.CALENDAR_FILE), tables.calendar().array());
+        System.out.printf(
+                "Compiled %d climate profiles into a %d cells/degree grid in %s%n",
+                tables.profiles(), cellsPerDegree, output);
+    }
+
+    /** Compiled, still unmapped, table contents. */
+    record Tables(ByteBuffer grid, ByteBuffer calendar, int profiles) {}
+
+    static Tables compile(List<String> regionLines, List<String> windowLines, int cellsPerDegree) {
+        if (cellsPerDegree < 1 || cellsPerDegree > 60) {
+            throw new IllegalArgumentException("cells per degree must be between 1 and 60");
+        }
+        List<Window> windows = parseWindows(windowLines);
+        Map<Profile, Integer> ids = new LinkedHashMap<>();
+        int rows = 180 * cellsPerDegree;
+        int columns = 360 * cellsPerDegree;
+        ByteBuffer grid = ByteBuffer.allocate(ClimateTables.GRID_HEADER_BYTES + rows * columns);
+        grid.putInt(ClimateTables.GRID_MAGIC)
+                .putInt(ClimateTables.VERSION)
+                .putInt(cellsPerDegree)
+                .putInt(rows)
+                .putInt(columns);
+
+        for (CsvLine line : data(regionLines)) {
+            Region region = Region.parse(line);
+            int id = ids.computeIfAbsent(region.profile(), profile -> ids.size() + 1);
+            if (id > ClimateTables.MAX_PROFILES) {
+                throw line.error("more than " + ClimateTables.MAX_PROFILES + " distinct climate profiles");
+            }
+            // Cells whose centre lies inside the rectangle.
+            int firstRow = (int) Math.ceil((region.south() + 90) * cellsPerDegree - 0.5);
+            int lastRow = (int) Math.floor((region.north() + 90) * cellsPerDegree - 0.5);
+            int firstColumn = (int) Math.ceil((region.west() + 180) * cellsPerDegree - 0.5);
+            int lastColumn = (int) Math.floor((region.east() + 180) * cellsPerDegree - 0.5);
+            for (int row = Math.max(0, firstRow); row <= Math.min(rows - 1, lastRow); row++) {
+                int offset = ClimateTables.GRID_HEADER_BYTES + row * columns;
+                for (int column = Math.max(0, firstColumn); column <= Math.min(columns - 1, lastColumn); column++) {
+                    grid.put(offset + column, (byte) id);
+                }
+            }
+        }
+
+        int profiles = ids.size() + 1;
+        ByteBuffer calendar = ByteBuffer.allocate(
+                ClimateTables.CALENDAR_HEADER_BYTES + profiles * (ClimateTables.PROFILE_BYTES + ClimateTables.WEEKS));
+        calendar.putInt(ClimateTables.CALENDAR_MAGIC)
+                .putInt(ClimateTables.VERSION)
+                .putInt(profiles)
+                .putInt(ClimateTables.WEEKS);
+        calendar.put(new byte[ClimateTables.PROFILE_BYTES]);
+        for (Profile profile : ids.keySet()) {
+            calendar.put((byte) profile.halfZone())
+                    .putShort((short) profile.lastFrost())
+                    .putShort((short) profile.firstFrost());
+        }
+        calendar.put(new byte[ClimateTables.WEEKS]);
+        for (Profile profile : ids.keySet()) {
+            for (int week = 0; week < ClimateTables.WEEKS; week++) {
+                calendar.put((byte) plantableSeasons(profile, windows, week));
+            }
+        }
+        return new Tables(grid, calendar, profiles);
+    }
+
+    private static int plantableSeasons(Profile profile, List<Window> windows, int week) {
+        boolean frostFree = profile.lastFrost() == 0;
+        boolean southern = profile.southern();
+        int lastFrost = frostFree ? nominal(NORTH_NOMINAL_LAST_FROST, southern) : profile.lastFrost();
+        int firstFrost = frostFree ? nominal(NORTH_NOMINAL_FIRST_FROST, southern) : profile.firstFrost();
+        int middle = Math.min(week * 7 + 4, DAYS);
+        int seasons = 0;
+        for (Window window : windows) {
+            int anchor = window.lastFrost() ? lastFrost : firstFrost;
+            int start = anchor + window.fromWeek() * 7;
+            int length = (window.toWeek() - window.fromWeek()) * 7;
+            // Circular distance, so windows may wrap over the turn of the year.
+            if (Math.floorMod(middle - start, DAYS) <= length) {
+                seasons |= 1 << window.season().ordinal();
+            }
+        }
+        return seasons;
+    }
+
+    private static int nominal(int northernDay, boolean southern) {
+        return southern ? Math.floorMod(northernDay - 1 + DAYS / 2, DAYS) + 1 : northernDay;
+    }
+
+    private static List<Window> parseWindows(List<String> lines) {
+        List<Window> windows = new ArrayList<>();
+        for (CsvLine line : data(lines)) {
+            String[] fields = line.fields(4);
+            try {
+                Plant.Season season = Plant.Season.valueOf(fields[0]);
+                boolean lastFrost =
+                        switch (fields[1]) {
+                            case "LAST_FROST" -> true;
+                            case "FIRST_FROST" -> false;
+                            default -> throw line.error("anchor must be LAST_FROST or FIRST_FROST");
+                        };
+                int fromWeek = Integer.parseInt(fields[2]);
+                int toWeek = Integer.parseInt(fields[3]);
+                if (toWeek < fromWeek || toWeek - fromWeek >= ClimateTables.WEEKS - 1) {
+                    throw line.error("the window must span between 0 and 51 weeks");
+                }
+                windows.add(new Window(season, lastFrost, fromWeek, toWeek));
+            } catch (IllegalArgumentException ex) {
+                throw ex instanceof SourceException ? ex : line.error(ex.getMessage());
+            }
+        }
+        if (windows.isEmpty()) {
+            throw new IllegalArgumentException(SEASON_WINDOWS_FILE + " defines no planting windows");
+        }
+        return windows;
+    }
+
+    private static List<CsvLine> data(List<String> lines) {
+        List<CsvLine> data = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).strip();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                data.add(new CsvLine(i + 1, line));
+            }
+        }
+        return data;
+    }
+
+    private static int day(MonthDay date) {
+        // Days of a common year, so the calendar does not shift by a day after February in leap years.
+        return date.atYear(2001).getDayOfYear();
+    }
+
+    private record CsvLine(int number, String text) {
+
+        String[] fields(int count) {
+            String[] fields = text.split(",", -1);
+            if (fields.length != count) {
+                throw error("expected " + count + " fields but found " + fields.length);
+            }
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = fields[i].strip();
+            }
+            return fields;
+        }
+
+        SourceException error(String message) {
+            return new SourceException("Line " + number + ": " + message);
+        }
+    }
+
+    private static final class SourceException extends IllegalArgumentException {
+        SourceException(String message) {
+            super(message);
+        }
+    }
+
+    private record Window(Plant.Season season, boolean lastFrost, int fromWeek, int toWeek) {}
+
+    private record Profile(int halfZone, int lastFrost, int firstFrost, boolean southern) {}
+
+    private record Region(double south, double west, double north, double east, Profile profile) {
+
+        static Region parse(CsvLine line) {
+            String[] fields = line.fields(7);
+            try {
+                double south = Double.parseDouble(fields[0]);
+                double west = Double.parseDouble(fields[1]);
+                double north = Double.parseDouble(fields[2]);
+                double east = Double.parseDouble(fields[3]);
+                if (south < -90 || north > 90 || south >= north || west < -180 || east > 180 || west >= east) {
+                    throw line.error("the bounds must be a non-empty rectangle within the globe");
+                }
+                int halfZone = halfZone(fields[4]);
+                if (halfZone < 0) {
+                    throw line.error("the zone must be 1a to 13b");
+                }
+                if (fields[5].isEmpty() != fields[6].isEmpty()) {
+                    throw line.error("give both frost dates, or neither where it does not freeze");
+                }
+                int lastFrost = fields[5].isEmpty() ? 0 : day(MonthDay.parse("--" + fields[5]));
+                int firstFrost = fields[6].isEmpty() ? 0 : day(MonthDay.parse("--" + fields[6]));
+                // Only the hemisphere of frost-free regions matters, for their nominal dates.
+                boolean southern = lastFrost == 0 && south + north < 0;
+                return new Region(south, west, north, east, new Profile(halfZone, lastFrost, firstFrost, southern));
+            } catch (DateTimeParseException ex) {
+                throw line.error("frost dates must be MM-DD");
+            } catch (NumberFormatException ex) {
+                throw line.error("the bounds must be numbers");
+            }
+        }
+
+        private static int halfZone(String zone) {
+            if (zone.length() < 2) {
+                return -1;
+            }
+            char half = zone.charAt(zone.length() - 1);
+            try {
+                int number = Integer.parseInt(zone.substring(0, zone.length() - 1));
+                if (number < 1 || number > 13 || (half != 'a' && half != 'b')) {
+                    return -1;
+                }
+                return number * 2 - (half == 'a' ? 1 : 0);
+            } catch (NumberFormatException ex) {
+                return -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package dev.solace.twiggle.climate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+/**
+ * Read-only, memory-mapped climate tables built by {@link ClimateTableCompiler}: a latitude/longitude grid of climate
+ * profiles and, per profile, its hardiness zone, frost dates and weekly planting calendar.
+ *
+ * <p>{@value #GRID_FILE} is a header followed by one byte per grid cell, rows from the south pole and columns from
+ * the antimeridian, holding the profile id of the cell or {@code 0} where there is no data. {@value #CALENDAR_FILE}
+ * is a header followed by a five-byte entry per profile (half-zone, last and first frost day of year) and then
+ * {@value #WEEKS} bytes per profile, each a bit set of the {@code Plant.Season} ordinals that may be planted in that
+ * week. Profile {@code 0} has an all-zero entry, so ids index both tables directly.
+ *
+ * <p>Lookups read the mapped buffers with absolute gets and return primitives, so they neither allocate nor take
+ * locks, and opening the tables only maps the files; the operating system pages in what is actually read.
+ */
+public final class ClimateTables {
+
+    public static final String GRID_FILE = "zones.grid";
+    public static final String CALENDAR_FILE = "calendar.bin";
+    public static final int WEEKS = 53;
+
+    static final int GRID_MAGIC = 0x54575A47; // TWZG
+    static final int CALENDAR_MAGIC = 0x54575043; // TWPC
+    static final int VERSION = 1;
+    static final int GRID_HEADER_BYTES = 20;
+    static final int CALENDAR_HEADER_BYTES = 16;
+    static final int PROFILE_BYTES = 5;
+    static final int MAX_PROFILES = 255;
+
+    private final ByteBuffer grid;
+    private final ByteBuffer calendar;
+    private final int cellsPerDegree;
+    private final int rows;
+    private final int columns;
+    private final int profiles;
+    private final int calendarOffset;
+
+    private ClimateTables(ByteBuffer grid, ByteBuffer calendar) {
+        this.grid = grid;
+        this.calendar = calendar;
+        if (grid.getInt(0) != GRID_MAGIC || grid.getInt(4) != VERSION) {
+            throw new IllegalStateException(GRID_FILE + " is not a version " + VERSION + " zone grid");
+        }
+        this.cellsPerDegree = grid.getInt(8);
+        this.rows = grid.getInt(12);
+        this.columns = grid.getInt(16);
+        if (cellsPerDegree < 1 || rows != 180 * cellsPerDegree || columns != 360 * cellsPerDegree) {
+            throw new IllegalStateException(GRID_FILE + " does not cover the globe");
+        }
+        if (grid.capacity() != GRID_HEADER_BYTES + (long) rows * columns) {
+            throw new IllegalStateException(GRID_FILE + " is truncated");
+        }
+        if (calendar.getInt(0) != CALENDAR_MAGIC || calendar.getInt(4) != VERSION) {
+            throw new IllegalStateException(CALENDAR_FILE + " is not a version " + VERSION + " planting calendar");
+        }
+        this.profiles = calendar.getInt(8);
+        if (profiles < 1 || profiles > MAX_PROFILES + 1 || calendar.getInt(12) != WEEKS) {
+            throw new IllegalStateException(CALENDAR_FILE + " has an unexpected shape");
+        }
+        this.calendarOffset = CALENDAR_HEADER_BYTES + profiles * PROFILE_BYTES;
+        if (calendar.capacity() != calendarOffset + profiles * WEEKS) {
+            throw new IllegalStateException(CALENDAR_FILE + " is truncated");
+        }
+    }
+
+    /** Maps {@value #GRID_FILE} and {@value #CALENDAR_FILE} from {@code directory} read-only. */
+    public static ClimateTables open(Path directory) throws IOException {
+        return new ClimateTables(map(directory.resolve(GRID_FILE)), map(directory.resolve(CALENDAR_FILE)));
+    }
+
+    /** Wraps tables already in memory, e.g. straight from the compiler in tests. */
+    static ClimateTables of(ByteBuffer grid, ByteBuffer calendar) {
+        return new ClimateTables(grid.order(ByteOrder.BIG_ENDIAN), calendar.order(ByteOrder.BIG_ENDIAN));
+    }
+
+    private static MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed.
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Profile id of the grid cell containing the point, or {@code 0} if there is no data for it or the coordinates
+     * are out of range.
+     */
+    public int profileAt(double latitude, double longitude) {
+        if (!(latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180)) {
+            return 0;
+        }
+        int row = Math.min(rows - 1, (int) ((latitude + 90) * cellsPerDegree));
+        int column = Math.min(columns - 1, (int) ((longitude + 180) * cellsPerDegree));
+        return Byte.toUnsignedInt(grid.get(GRID_HEADER_BYTES + row * columns + column));
+    }
+
+    /** Half-zone of a profile: {@code 1} for 1a, {@code 2} for 1b, up to {@code 26} for 13b. */
+    public int halfZone(int profile) {
+        return Byte.toUnsignedInt(calendar.get(profileOffset(profile)));
+    }
+
+    /** Day of year of the median last spring frost, or {@code 0} where it does not freeze. */
+    public int lastFrostDay(int profile) {
+        return Short.toUnsignedInt(calendar.getShort(profileOffset(profile) + 1));
+    }
+
+    /** Day of year of the median first autumn frost, or {@code 0} where it does not freeze. */
+    public int firstFrostDay(int profile) {
+        return Short.toUnsignedInt(calendar.getShort(profileOffset(profile) + 3));
+    }
+
+    /** Bit set of the {@code Plant.Season} ordinals that may be planted in {@code week} (0-52) of the year. */
+    public int plantableSeasons(int profile, int week) {
+        if (week < 0 || week >= WEEKS) {
+            throw new IllegalArgumentException("week must be between 0 and " + (WEEKS - 1));
+        }
+        checkProfile(profile);
+        return Byte.toUnsignedInt(calendar.get(calendarOffset + profile * WEEKS + week));
+    }
+
+    /** Number of profiles, including the no-data profile {@code 0}. */
+    public int profiles() {
+        return profiles;
+    }
+
+    public int cellsPerDegree() {
+        return cellsPerDegree;
+    }
+
+    /** Day of a common year (1-365) for a date, as the tables count days; 29 February counts as the 28th. */
+    public static int dayOf(LocalDate date) {
+        int day = date.getDayOfYear();
+        return date.isLeapYear() && day > 59 ? day - 1 : day;
+    }
+
+    /** Week of the calendar (0-52) a date falls in. */
+    public static int weekOf(LocalDate date) {
+        return (dayOf(date) - 1) / 7;
+    }
+
+    private int profileOffset(int profile) {
+        checkProfile(profile);
+        return CALENDAR_HEADER_BYTES + profile * PROFILE_BYTES;
+    }
+
+    private void checkProfile(int profile) {
+        if (profile < 0 || profile >= profiles) {
+            throw new IllegalArgumentException("Unknown climate profile " + profile);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package dev.solace.twiggle.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for plant name autocomplete.
+ */
+@Data
+@ConfigurationProperties(prefix = "twiggle.autocomplete")
+public class AutocompleteProperties {
+
+    /** Whether the autocomplete trie is built and refreshed. */
+    private boolean enabled = true;
+
+    /** Delay between the end of one background rebuild and the start of the next. */
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,54 @@
+package dev.solace.twiggle.config;
+
+import dev.solace.twiggle.security.JwtAuthenticationFilter;
+import dev.solace.twiggle.web.BatchDispatcher;
+import dev.solace.twiggle.web.TenantFilter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.Filter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * Configuration class for batched requests. Sub-requests carry the batch's headers, so they pass through
+ * authentication and tenant binding again, in the order those filters run for the batch itself; they skip the
+ * concurrency limit, where the batch already holds a slot, and idempotency handling, which only applies to writes.
+ */
+@Configuration
+@EnableConfigurationProperties(BatchProperties.class)
+public class BatchConfiguration {
+
+    @Bean
+    public BatchDispatcher batchDispatcher(
+            DispatcherServlet dispatcherServlet,
+            @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+            RateLimiterRegistry rateLimiterRegistry,
+            ObjectProvider<FilterRegistrationBean<JwtAuthenticationFilter>> authenticationFilter,
+            ObjectProvider<FilterRegistrationBean<TenantFilter>> tenantFilter,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+            BatchProperties properties,
+            MeterRegistry meterRegistry) {
+        List<Filter> filters = Stream.concat(authenticationFilter.stream(), tenantFilter.stream())
+                .sorted(Comparator.comparingInt(FilterRegistrationBean::getOrder))
+                .<Filter>map(FilterRegistrationBean::getFilter)
+                .toList();
+        return new BatchDispatcher(
+                dispatcherServlet,
+                handlerMapping,
+                rateLimiterRegistry,
+                filters,
+                exceptionResolver,
+                properties,
+                meterRegistry);
+    }
+}
@@ -0,0 +1,39 @@
+package dev.solace.twiggle.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the batch endpoint, which answers several GET requests in one round trip.
+ */
+@Data
+@ConfigurationProperties(prefix = "twiggle.batch")
+public class BatchProperties {
+
+    /** Most sub-requests one batch may carry. */
+    private int maxRequests = 20;
+
+    /**
+     * Most sub-requests of one batch dispatched at the same time, so that a single batch cannot take over the
+     * database connection pool.
+     */
+    private int parallelism = 8;
+
+    /** How long a batch waits for its sub-requests; those still running are answered with {@code 503}. */
+    private Duration timeout = Duration.ofSeconds(10);
+
+    /** Largest body a single sub-request may answer with; larger ones are answered with {@code 413}. */
+    private int maxResponseSize = 256 * 1024;
+
+    /**
+     * Largest total of the bodies of one batch's sub-requests, all of which are held in memory until the batch is
+     * answered; sub-requests writing beyond it are answered with {@code 413}.
+     */
+    private long maxBatchResponseSize = 2 * 1024 * 1024;
+
+    /** Path prefixes sub-requests may target; the batch endpoint itself is never allowed. */
+    private List<String> paths = new ArrayList<>(List.of("/api/"));
+}
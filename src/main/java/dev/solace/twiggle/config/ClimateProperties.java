@@ -0,0 +1,27 @@
+package dev.solace.twiggle.config;
+
+import java.nio.file.Path;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the climate tables behind planting calendar lookups.
+ */
+@Data
+@ConfigurationProperties(prefix = "twiggle.climate")
+public class ClimateProperties {
+
+    /**
+     * Whether the experimental planting calendar is served. The built-in tables are compiled from a coarse,
+     * hand-curated {@code regions.csv} of approximate zones and frost dates, so it is off unless enabled; enable it in
+     * production only with surveyed tables in {@link #directory}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory holding {@code zones.grid} and {@code calendar.bin}, to use tables other than the ones built into the
+     * application. When unset, the built-in tables are mapped from the classpath, copied out of the jar first if need
+     * be.
+     */
+    private Path directory;
+}
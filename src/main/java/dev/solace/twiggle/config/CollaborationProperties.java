@@ -0,0 +1,24 @@
+package dev.solace.twiggle.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for real-time collaborative layout editing over WebSocket.
+ */
+@Data
+@ConfigurationProperties(prefix = "twiggle.collab")
+public class CollaborationProperties {
+
+    /** Interval at which pending layout deltas of a garden are coalesced into one frame. */
+    private Duration tick = Duration.ofMillis(50);
+
+    /** Frames queued per connection before the connection is treated as a slow consumer and closed. */
+    private int sendQueueCapacity = 64;
+
+    /** Origin patterns allowed to open collaboration sockets; when empty, only the application's own origin. */
+    private List<String> allowedOrigins = new ArrayList<>();
+}
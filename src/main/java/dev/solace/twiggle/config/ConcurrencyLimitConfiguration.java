@@ -0,0 +1,39 @@
+package dev.solace.twiggle.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.solace.twiggle.web.AdaptiveConcurrencyLimiter;
+import dev.solace.twiggle.web.ConcurrencyLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuration class for adaptive concurrency limiting. The filter runs ahead of all others so that shed requests
+ * cost as little as possible.
+ */
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "twiggle.concurrency-limit", name = "enabled", matchIfMissing = true)
+public class ConcurrencyLimitConfiguration {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        return new AdaptiveConcurrencyLimiter(properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            AdaptiveConcurrencyLimiter limiter,
+            ConcurrencyLimitProperties properties,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limiter, properties, objectMapper, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
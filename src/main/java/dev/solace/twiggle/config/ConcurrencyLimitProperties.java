@@ -0,0 +1,51 @@
+package dev.solace.twiggle.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for adaptive concurrency limiting of incoming requests.
+ */
+@Data
+@ConfigurationProperties(prefix = "twiggle.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Limit used until enough latency samples have been observed. */
+    private int initialLimit = 20;
+
+    private int minLimit = 4;
+
+    private int maxLimit = 500;
+
+    /**
+     * How much slower than the long-term baseline recent requests may get before the limit is cut; 2.0 tolerates
+     * twice the baseline latency.
+     */
+    private double rttTolerance = 2.0;
+
+    /** Weight of each new limit estimate, between 0 and 1; lower values react more slowly but more steadily. */
+    private double smoothing = 0.2;
+
+    /** Minimum duration of one latency sampling window. */
+    private Duration sampleWindow = Duration.ofMillis(100);
+
+    /** Minimum number of completed requests in one sampling window. */
+    private int minWindowSamples = 10;
+
+    /** How often the uncongested latency is re-measured. */
+    private Duration probeInterval = Duration.ofSeconds(30);
+
+    /**
+     * Fraction of a saturated limit kept while re-measuring, so that queued requests can drain. Limits with room to
+     * spare are not lowered at all.
+     */
+    private double probeRatio = 0.75;
+
+    /** Path prefixes that are always admitted, such as orchestrator health probes. */
+    private List<String> exemptPaths = new ArrayList<>(List.of("/actuator/health"));
+}
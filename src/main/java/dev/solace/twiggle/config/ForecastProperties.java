@@ -0,0 +1,59 @@
+package dev.solace.twiggle.config;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the nightly yield and harvest date forecasts.
+ */
+@Data
+@ConfigurationProperties(prefix = "twiggle.forecast")
+public class ForecastProperties {
+
+    /** Whether this instance takes part in forecast runs. Reads of stored forecasts are always on. */
+    private boolean enabled = true;
+
+    /** Time of day, in UTC, from which the run of that day is due. */
+    private LocalTime runAt = LocalTime.of(2, 0);
+
+    /** Interval at which a due or interrupted run is looked for. */
+    private Duration pollInterval = Duration.ofMinutes(1);
+
+    /** Threads simulating gardens; {@code 0} uses one per available core. */
+    private int parallelism = 0;
+
+    /** Gardens read, simulated and written together. */
+    private int chunkSize = 500;
+
+    /**
+     * Chunks read ahead of the simulations or waiting to be written; {@code 0} allows two per thread. Together with
+     * the chunk size this bounds the memory a run holds.
+     */
+    private int maxChunksInFlight = 0;
+
+    /** Weather paths simulated per garden. */
+    private int samples = 100;
+
+    /** How far ahead harvests are forecast. */
+    private Duration horizon = Duration.ofDays(180);
+
+    /** Daily sensor readings the weather of a garden is calibrated on. */
+    private Duration history = Duration.ofDays(30);
+
+    /** Temperature in degrees Celsius below which plants do not grow. */
+    private double baseTemperature = 10;
+
+    /** Mean daily temperature assumed for gardens without temperature readings. */
+    private double defaultTemperature = 15;
+
+    /** Day-to-day standard deviation of the temperature assumed for gardens with fewer than two days of readings. */
+    private double defaultTemperatureDeviation = 3;
+
+    /** How long a run stays with an instance that stops saving checkpoints before another may take it over. */
+    private Duration leaseDuration = Duration.ofMinutes(5);
+
+    /** Least time between two checkpoints of a run. */
+    private Duration checkpointInterval = Duration.ofSeconds(5);
+}
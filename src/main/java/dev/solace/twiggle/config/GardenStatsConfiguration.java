@@ -0,0 +1,20 @@
+package dev.solace.twiggle.config;
+
+import dev.solace.twiggle.service.stats.GardenStatsEndpoint;
+import dev.solace.twiggle.service.stats.GardenStatsService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the materialized garden statistics and their actuator endpoint.
+ */
+@Configuration
+@EnableConfigurationProperties(GardenStatsProperties.class)
+public class GardenStatsConfiguration {
+
+    @Bean
+    public GardenStatsEndpoint gardenStatsEndpoint(GardenStatsService gardenStatsService) {
+        return new GardenStatsEndpoint(gardenStatsService);
+    }
+}
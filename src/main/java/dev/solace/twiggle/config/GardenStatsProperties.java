@@ -0,0 +1,25 @@
+package dev.solace.twiggle.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the materialized garden dashboard statistics.
+ */
+@Data
+@ConfigurationProperties(prefix = "twiggle.stats")
+public class GardenStatsProperties {
+
+    /** Whether this instance follows the source change streams and refreshes statistics. Reads are always on. */
+    private boolean enabled = true;
+
+    /** Delay between refreshes of gardens touched since the previous refresh. */
+    private Duration refreshInterval = Duration.ofSeconds(1);
+
+    /** How far ahead tasks count as upcoming. */
+    private Duration upcomingWindow = Duration.ofDays(7);
+
+    /** Interval of the sweep that refreshes statistics computed before the current day. */
+    private Duration staleSweepInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,44 @@
+package dev.solace.twiggle.config;
+
+import dev.solace.twiggle.persistence.ResilientMongoAccess;
+import dev.solace.twiggle.service.idempotency.IdempotencyStore;
+import dev.solace.twiggle.web.IdempotencyFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/**
+ * Configuration class for {@code Idempotency-Key} handling. The filter runs after the concurrency limit and
+ * authentication, so shed and unauthenticated requests never claim a key, and after the tenant filter, so keys are
+ * claimed in the tenant's database.
+ */
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+@ConditionalOnProperty(prefix = "twiggle.idempotency", name = "enabled", matchIfMissing = true)
+public class IdempotencyConfiguration {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(
+            MongoTemplate mongoTemplate, ResilientMongoAccess mongoAccess, IdempotencyProperties properties) {
+        return new IdempotencyStore(mongoTemplate, mongoAccess, properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyStore store,
+            IdempotencyProperties properties,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(store, properties, exceptionResolver, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        return registration;
+    }
+}
@@ -0,0 +1,47 @@
+package dev.solace.twiggle.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for {@code Idempotency-Key} handling of create requests.
+ */
+@Data
+@ConfigurationProperties(prefix = "twiggle.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    /** Path prefixes whose POST requests honour the {@code Idempotency-Key} header. */
+    private List<String> paths = new ArrayList<>(List.of("/api/"));
+
+    private int maxKeyLength = 255;
+
+    /** How long a completed response is replayed for; retries after that run again. */
+    private Duration ttl = Duration.ofHours(24);
+
+    /** How long the first request holds its key before a retry on another instance may take it over. */
+    private Duration lease = Duration.ofMinutes(1);
+
+    /** How long a duplicate waits for the first request to finish before giving up with {@code 409}. */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    /** Interval at which a duplicate re-checks a key held by another instance. */
+    private Duration pollInterval = Duration.ofMillis(100);
+
+    /**
+     * Largest request body read to match retries; larger requests carrying a key are answered with {@code 413}.
+     */
+    private int maxBodySize = 1024 * 1024;
+
+    /** Larger responses are not stored; retries of such requests run again. */
+    private int maxResponseSize = 256 * 1024;
+
+    /** Number of completed responses kept in memory in front of the collection. */
+    private long nearCacheSize = 10_000;
+
+    private Duration nearCacheTtl = Duration.ofMinutes(10);
+}
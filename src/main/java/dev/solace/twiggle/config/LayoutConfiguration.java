@@ -0,0 +1,24 @@
+package dev.solace.twiggle.config;
+
+import dev.solace.twiggle.model.layout.PackedLayout;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+/**
+ * Configuration class for incremental garden layout editing.
+ */
+@Configuration
+@EnableConfigurationProperties(LayoutProperties.class)
+public class LayoutConfiguration {
+
+    /**
+     * Replaces Boot's empty default conversions, which every template and repository shares through the one
+     * {@code MongoConverter}.
+     */
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(PackedLayout.CONVERTERS);
+    }
+}
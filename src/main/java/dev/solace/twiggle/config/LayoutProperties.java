@@ -0,0 +1,41 @@
+package dev.solace.twiggle.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for incremental garden layout editing.
+ */
+@Data
+@ConfigurationProperties(prefix = "twiggle.layout")
+public class LayoutProperties {
+
+    /** A snapshot is written once this many edits have accumulated since the previous one. */
+    private int snapshotEvery = 100;
+
+    /** Maximum number of garden layouts kept materialized in memory. */
+    private long cacheSize = 1_000;
+
+    /**
+     * How long a read or edit waits for another one on the same garden before it is answered with {@code 503}. A
+     * call abandoned on timeout keeps the layout until its database call returns, so this bounds how long others
+     * queue behind it.
+     */
+    private Duration lockTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Whether snapshots also keep their placements as one sub-document each in {@code placements}, the format read
+     * by releases before the packed {@code layout} field. A rollout step only: turn it on while such a release may
+     * still be deployed or rolled back to, and off again afterwards. It goes away, with the {@code placements}
+     * field, in the release after the packed format.
+     */
+    private boolean writeLegacyPlacements = false;
+
+    /**
+     * Most placements a snapshot keeps in {@code placements} as well; larger layouts are only written packed, which
+     * keeps their snapshots well clear of the document size limit. Releases before the packed format do not read
+     * them.
+     */
+    private int maxLegacyPlacements = 1_000;
+}
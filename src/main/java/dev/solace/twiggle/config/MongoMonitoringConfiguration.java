@@ -0,0 +1,42 @@
+package dev.solace.twiggle.config;
+
+import com.mongodb.client.MongoClient;
+import dev.solace.twiggle.monitoring.IndexAdvisor;
+import dev.solace.twiggle.monitoring.IndexAdvisorEndpoint;
+import dev.solace.twiggle.monitoring.SlowQueryRecorder;
+import java.time.Clock;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for MongoDB slow-query capture and the index advisor endpoint.
+ */
+@Configuration
+@EnableConfigurationProperties(SlowQueryProperties.class)
+@ConditionalOnProperty(prefix = "twiggle.mongo.slow-query", name = "enabled", matchIfMissing = true)
+public class MongoMonitoringConfiguration {
+
+    @Bean
+    public IndexAdvisor indexAdvisor(SlowQueryProperties properties, ObjectProvider<MongoClient> mongoClient) {
+        return new IndexAdvisor(properties, mongoClient, Clock.systemUTC());
+    }
+
+    @Bean
+    public SlowQueryRecorder slowQueryRecorder(SlowQueryProperties properties, IndexAdvisor indexAdvisor) {
+        return new SlowQueryRecorder(properties, indexAdvisor);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer slowQueryRecorderCustomizer(SlowQueryRecorder slowQueryRecorder) {
+        return builder -> builder.addCommandListener(slowQueryRecorder);
+    }
+
+    @Bean
+    public IndexAdvisorEndpoint indexAdvisorEndpoint(SlowQueryRecorder slowQueryRecorder, IndexAdvisor indexAdvisor) {
+        return new IndexAdvisorEndpoint(slowQueryRecorder, indexAdvisor);
+    }
+}
@@ -0,0 +1,33 @@
+package dev.solace.twiggle.config;
+
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+
+/**
+ * Configuration class binding repository packages to their routed {@code MongoTemplate}.
+ *
+ * <p>Repositories under {@code repository.catalog} read through the catalog route; all others use the primary
+ * user-data template.
+ */
+@Configuration
+public class MongoRepositoryConfiguration {
+
+    private static final String REPOSITORY_PACKAGE = "dev.solace.twiggle.repository";
+    private static final String CATALOG_PACKAGE = REPOSITORY_PACKAGE + ".catalog";
+
+    @Configuration
+    @EnableMongoRepositories(basePackages = CATALOG_PACKAGE, mongoTemplateRef = "catalogMongoTemplate")
+    static class CatalogRepositories {}
+
+    @Configuration
+    @EnableMongoRepositories(
+            basePackages = REPOSITORY_PACKAGE,
+            mongoTemplateRef = "mongoTemplate",
+            excludeFilters =
+                    @ComponentScan.Filter(
+                            type = FilterType.REGEX,
+                            pattern = "dev\\.solace\\.twiggle\\.repository\\.catalog\\..*"))
+    static class UserDataRepositories {}
+}
@@ -0,0 +1,28 @@
+package dev.solace.twiggle.config;
+
+import dev.solace.twiggle.persistence.ResilientMongoAccess;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for bulkheads, circuit breakers and fallbacks around request-path Mongo calls. Breakers and
+ * bulkheads are registered as {@code mongo-<collection>} in the shared registries, so they show up in the
+ * resilience4j metrics and health indicators.
+ */
+@Configuration
+@EnableConfigurationProperties(MongoResilienceProperties.class)
+public class MongoResilienceConfiguration {
+
+    @Bean
+    public ResilientMongoAccess resilientMongoAccess(
+            MongoResilienceProperties properties,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            MeterRegistry meterRegistry) {
+        return new ResilientMongoAccess(properties, circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+    }
+}
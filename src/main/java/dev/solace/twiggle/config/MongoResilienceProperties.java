@@ -0,0 +1,44 @@
+package dev.solace.twiggle.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for bulkheads, timeouts, circuit breakers and fallback caching around Mongo calls made
+ * on behalf of requests.
+ */
+@Data
+@ConfigurationProperties(prefix = "twiggle.mongo.resilience")
+public class MongoResilienceProperties {
+
+    /** How long a request waits for a Mongo call before it is failed or served from the fallback cache. */
+    private Duration timeout = Duration.ofSeconds(2);
+
+    /** Maximum concurrent calls per collection; calls beyond it are rejected at once. */
+    private int maxConcurrentCalls = 25;
+
+    /** Failure rate, in percent, at which a collection's circuit opens. */
+    private float failureRateThreshold = 50;
+
+    /** Calls slower than this count as slow, even if they eventually succeed. */
+    private Duration slowCallThreshold = Duration.ofSeconds(1);
+
+    /** Slow call rate, in percent, at which a collection's circuit opens. */
+    private float slowCallRateThreshold = 80;
+
+    /** Number of recent calls the failure and slow call rates are computed over. */
+    private int slidingWindowSize = 20;
+
+    /** Calls needed in the window before the rates are evaluated. */
+    private int minimumCalls = 10;
+
+    /** How long an open circuit rejects calls before letting a few through to test recovery. */
+    private Duration openStateWait = Duration.ofSeconds(10);
+
+    /** Maximum number of last-known-good read results kept for fallback. */
+    private long cacheSize = 10_000;
+
+    /** Oldest last-known-good result still served as a fallback. */
+    private Duration maxStaleness = Duration.ofHours(1);
+}
@@ -0,0 +1,24 @@
+package dev.solace.twiggle.config;
+
+import lombok.Getter;
+
+/**
+ * Data areas whose reads can be routed independently. Writes always go to the primary.
+ */
+@Getter
+public enum MongoRoute {
+    // Plant species and other reference data; tolerant of replication lag.
+    CATALOG("catalog", "catalogMongoTemplate"),
+    // Snapshots feeding the in-process search structures.
+    SEARCH("search", "searchMongoTemplate"),
+    // Gardens, layouts and anything a user just wrote and expects to read back.
+    USER_DATA("user-data", "mongoTemplate");
+
+    private final String key;
+    private final String templateBeanName;
+
+    MongoRoute(String key, String templateBeanName) {
+        this.key = key;
+        this.templateBeanName = templateBeanName;
+    }
+}
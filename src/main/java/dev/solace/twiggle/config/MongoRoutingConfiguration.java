@@ -0,0 +1,144 @@
+package dev.solace.twiggle.config;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadConcernLevel;
+import com.mongodb.ReadPreference;
+import dev.solace.twiggle.monitoring.MongoPoolWaitTimeListener;
+import dev.solace.twiggle.tenant.TenantDatabases;
+import dev.solace.twiggle.tenant.TenantDirectory;
+import dev.solace.twiggle.tenant.TenantRoutingMongoDatabaseFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+/**
+ * Configuration class for read routing and connection pooling of the Mongo client.
+ *
+ * <p>Each {@link MongoRoute} gets its own {@link MongoTemplate} sharing the single client and pool; only the read
+ * preference and read concern differ. The user-data route backs the primary {@code mongoTemplate}, which also
+ * routes each call to the current tenant's database; the catalog and search routes serve shared data from the home
+ * database.
+ */
+@Configuration
+@EnableConfigurationProperties(MongoRoutingProperties.class)
+public class MongoRoutingConfiguration {
+
+    private static final long MIN_MAX_STALENESS_SECONDS = 90;
+
+    @Bean
+    @Primary
+    public MongoTemplate mongoTemplate(
+            TenantDatabases tenantDatabases,
+            TenantDirectory tenantDirectory,
+            MongoConverter mongoConverter,
+            MongoRoutingProperties properties) {
+        // Not a bean itself: a MongoDatabaseFactory bean would replace Boot's home factory it delegates to.
+        return routedTemplate(
+                MongoRoute.USER_DATA,
+                new TenantRoutingMongoDatabaseFactory(tenantDatabases, tenantDirectory),
+                mongoConverter,
+                properties);
+    }
+
+    @Bean
+    public MongoTemplate catalogMongoTemplate(
+            MongoDatabaseFactory mongoDatabaseFactory,
+            MongoConverter mongoConverter,
+            MongoRoutingProperties properties) {
+        return routedTemplate(MongoRoute.CATALOG, mongoDatabaseFactory, mongoConverter, properties);
+    }
+
+    @Bean
+    public MongoTemplate searchMongoTemplate(
+            MongoDatabaseFactory mongoDatabaseFactory,
+            MongoConverter mongoConverter,
+            MongoRoutingProperties properties) {
+        return routedTemplate(MongoRoute.SEARCH, mongoDatabaseFactory, mongoConverter, properties);
+    }
+
+    /**
+     * Transactions are bound to the user-data route's factory, since that is the factory the primary template
+     * looks them up by; the other routes read from secondaries and cannot take part anyway.
+     */
+    @Bean
+    public MongoTransactionManager transactionManager(MongoTemplate mongoTemplate) {
+        return new MongoTransactionManager(mongoTemplate.getMongoDatabaseFactory());
+    }
+
+    @Bean
+    public MongoPoolWaitTimeListener mongoPoolWaitTimeListener(MeterRegistry meterRegistry) {
+        return new MongoPoolWaitTimeListener(meterRegistry);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer(
+            MongoRoutingProperties properties, ObjectProvider<MongoPoolWaitTimeListener> waitTimeListener) {
+        MongoRoutingProperties.Pool pool = properties.getPool();
+        return builder -> builder.applyToConnectionPoolSettings(settings -> {
+            if (pool.getMaxSize() != null) {
+                settings.maxSize(pool.getMaxSize());
+            }
+            if (pool.getMinSize() != null) {
+                settings.minSize(pool.getMinSize());
+            }
+            if (pool.getMaxConnecting() != null) {
+                settings.maxConnecting(pool.getMaxConnecting());
+            }
+            if (pool.getMaxWaitTime() != null) {
+                settings.maxWaitTime(pool.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS);
+            }
+            if (pool.getMaxConnectionIdleTime() != null) {
+                settings.maxConnectionIdleTime(pool.getMaxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS);
+            }
+            if (pool.getMaxConnectionLifeTime() != null) {
+                settings.maxConnectionLifeTime(pool.getMaxConnectionLifeTime().toMillis(), TimeUnit.MILLISECONDS);
+            }
+            waitTimeListener.ifAvailable(settings::addConnectionPoolListener);
+        });
+    }
+
+    static MongoTemplate routedTemplate(
+            MongoRoute route,
+            MongoDatabaseFactory mongoDatabaseFactory,
+            MongoConverter mongoConverter,
+            MongoRoutingProperties properties) {
+        MongoRoutingProperties.Route config =
+                properties.getRoutes().getOrDefault(route.getKey(), new MongoRoutingProperties.Route());
+        ReadPreference readPreference = readPreference(config);
+        MongoTemplate template = new MongoTemplate(
+                new RoutedMongoDatabaseFactory(mongoDatabaseFactory, readPreference, readConcern(config)),
+                mongoConverter);
+        template.setReadPreference(readPreference);
+        return template;
+    }
+
+    static ReadPreference readPreference(MongoRoutingProperties.Route route) {
+        ReadPreference base = ReadPreference.valueOf(route.getReadPreference());
+        if (route.getMaxStaleness() == null || base.equals(ReadPreference.primary())) {
+            return base;
+        }
+        long seconds = route.getMaxStaleness().toSeconds();
+        if (seconds < MIN_MAX_STALENESS_SECONDS) {
+            throw new IllegalArgumentException("max-staleness must be at least " + MIN_MAX_STALENESS_SECONDS
+                    + " seconds, got " + route.getMaxStaleness());
+        }
+        return ReadPreference.valueOf(route.getReadPreference(), List.of(), seconds, TimeUnit.SECONDS);
+    }
+
+    static ReadConcern readConcern(MongoRoutingProperties.Route route) {
+        if (route.getReadConcern() == null) {
+            return null;
+        }
+        return new ReadConcern(ReadConcernLevel.fromString(route.getReadConcern()));
+    }
+}
@@ -0,0 +1,48 @@
+package dev.solace.twiggle.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for routing Mongo reads per data area and for the client connection pool.
+ */
+@Data
+@ConfigurationProperties(prefix = "twiggle.mongo")
+public class MongoRoutingProperties {
+
+    /** Read routing keyed by route name ({@code catalog}, {@code search}, {@code user-data}). */
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    private Pool pool = new Pool();
+
+    /**
+     * Read preference and read concern applied to a {@link MongoRoute}.
+     */
+    @Data
+    public static class Route {
+        /** One of primary, primaryPreferred, secondary, secondaryPreferred, nearest. */
+        private String readPreference = "primary";
+
+        /** Maximum replication lag tolerated for secondary reads; the server requires at least 90s. */
+        private Duration maxStaleness;
+
+        /** One of local, available, majority, linearizable, snapshot; unset uses the server default. */
+        private String readConcern;
+    }
+
+    /**
+     * Connection pool settings applied to the shared Mongo client.
+     */
+    @Data
+    public static class Pool {
+        private Integer maxSize;
+        private Integer minSize;
+        private Integer maxConnecting;
+        private Duration maxWaitTime;
+        private Duration maxConnectionIdleTime;
+        private Duration maxConnectionLifeTime;
+    }
+}
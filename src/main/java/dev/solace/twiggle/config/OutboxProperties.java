@@ -0,0 +1,46 @@
+package dev.solace.twiggle.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the transactional outbox and its dispatcher.
+ */
+@Data
+@ConfigurationProperties(prefix = "twiggle.outbox")
+public class OutboxProperties {
+
+    /** Whether this instance dispatches outbox messages. Writing to the outbox is always on. */
+    private boolean enabled = true;
+
+    /** Delay between polls once the outbox has been drained. */
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    /** Maximum number of messages claimed and sent in parallel per batch. */
+    private int batchSize = 100;
+
+    /** How long a claimed batch stays reserved for this instance before others may retry it. */
+    private Duration lease = Duration.ofSeconds(30);
+
+    /** Attempts after which a message is marked dead. */
+    private int maxAttempts = 8;
+
+    /** Backoff before the first retry; doubled on each further attempt. */
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    /** Upper bound of the retry backoff. */
+    private Duration maxBackoff = Duration.ofMinutes(10);
+
+    /**
+     * Delay before a message whose recipient was not reachable from the instance that claimed it is offered again,
+     * to this or another instance. Does not count as an attempt.
+     */
+    private Duration recipientRetryDelay = Duration.ofSeconds(5);
+
+    /** How long a message waits for its recipient to become reachable before it is marked dead. */
+    private Duration recipientWait = Duration.ofHours(1);
+
+    /** Sent messages are removed by a TTL index after this long. */
+    private Duration retention = Duration.ofDays(7);
+}
@@ -0,0 +1,67 @@
+package dev.solace.twiggle.config;
+
+import jakarta.servlet.http.Part;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartRequest;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * Configuration class for photo uploads and thumbnails.
+ *
+ * <p>Multipart resolution is switched off ({@code spring.servlet.multipart.enabled: false}) so that photo uploads
+ * can be streamed by the {@code PhotoService}. A handler declaring a {@link MultipartFile}, {@link Part} or
+ * {@link RequestPart} argument would then never see its parts, so startup fails if one is mapped.
+ */
+@Configuration
+@EnableConfigurationProperties(PhotoProperties.class)
+public class PhotoConfiguration {
+
+    private static final List<Class<?>> MULTIPART_TYPES =
+            List.of(MultipartFile.class, Part.class, MultipartRequest.class);
+
+    @Bean
+    SmartInitializingSingleton multipartHandlerCheck(
+            @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping) {
+        return () -> checkNoMultipartHandlers(handlerMapping.getHandlerMethods().values());
+    }
+
+    /**
+     * @throws IllegalStateException naming the first handler that expects the container to resolve multipart parts
+     */
+    static void checkNoMultipartHandlers(Collection<HandlerMethod> handlers) {
+        for (HandlerMethod handler : handlers) {
+            for (MethodParameter parameter : handler.getMethodParameters()) {
+                if (isMultipart(parameter)) {
+                    throw new IllegalStateException(handler + " takes multipart parts, but multipart resolution is "
+                            + "disabled so that photo uploads can be streamed; parse the body as PhotoService does");
+                }
+            }
+        }
+    }
+
+    private static boolean isMultipart(MethodParameter parameter) {
+        if (parameter.hasParameterAnnotation(RequestPart.class)) {
+            return true;
+        }
+        ResolvableType type = ResolvableType.forMethodParameter(parameter);
+        ResolvableType element = type.isArray()
+                ? type.getComponentType()
+                : type.asCollection() != ResolvableType.NONE
+                        ? type.asCollection().getGeneric()
+                        : type;
+        return MULTIPART_TYPES.stream()
+                .anyMatch(multipart ->
+                        multipart.isAssignableFrom(type.toClass()) || multipart.isAssignableFrom(element.toClass()));
+    }
+}
@@ -0,0 +1,44 @@
+package dev.solace.twiggle.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration properties for photo uploads, their thumbnails and downloads.
+ */
+@Data
+@ConfigurationProperties(prefix = "twiggle.photos")
+public class PhotoProperties {
+
+    /** Largest accepted photo; the upload is aborted as soon as the stream passes it. */
+    private DataSize maxFileSize = DataSize.ofMegabytes(20);
+
+    /** GridFS chunk size. An upload holds at most one chunk in memory, so this bounds its heap use. */
+    private DataSize chunkSize = DataSize.ofKilobytes(255);
+
+    /** Chunks fetched per round trip while streaming a download. */
+    private int downloadBatchChunks = 4;
+
+    /** Longest edge of a thumbnail, in pixels. */
+    private int thumbnailSize = 320;
+
+    /** Photos with more pixels than this get no thumbnail, which bounds the work a single upload can cause. */
+    private long maxPixels = 60_000_000;
+
+    /** Threads rendering thumbnails; the work is CPU-bound, so keep this at or below the available cores. */
+    private int thumbnailWorkers = 2;
+
+    /** Photos waiting for a thumbnail worker; further ones stay pending until the sweep picks them up. */
+    private int thumbnailQueueCapacity = 100;
+
+    /** Interval at which photos still waiting for a thumbnail are queued again. */
+    private Duration thumbnailSweepInterval = Duration.ofMinutes(1);
+
+    /** Pending photos younger than this are left to the instance that stored them. */
+    private Duration thumbnailSweepDelay = Duration.ofMinutes(1);
+
+    /** How long clients may cache photo and thumbnail bytes, which never change once stored. */
+    private Duration cacheMaxAge = Duration.ofDays(30);
+}
@@ -38,6 +38,34 @@ public class RateLimiterConfiguration {
         return rateLimiterRegistry.rateLimiter("test-error", config);
     }
 
+    /**
+     * Sensors report every few seconds in small batches, far more often than people click.
+     */
+    @Bean
+    public RateLimiter sensorIngestLimiter(RateLimiterRegistry rateLimiterRegistry) {
+        RateLimiterConfig config = RateLimiterConfig.custom()
+                .limitForPeriod(6000)
+                .limitRefreshPeriod(Duration.ofMinutes(1))
+                .timeoutDuration(Duration.ZERO)
+                .build();
+
+        return rateLimiterRegistry.rateLimiter("sensor-ingest", config);
+    }
+
+    /**
+     * Each upload ties up a request thread and a database write stream for as long as the client takes to send it.
+     */
+    @Bean
+    public RateLimiter photoUploadLimiter(RateLimiterRegistry rateLimiterRegistry) {
+        RateLimiterConfig config = RateLimiterConfig.custom()
+                .limitForPeriod(60)
+                .limitRefreshPeriod(Duration.ofMinutes(1))
+                .timeoutDuration(Duration.ZERO)
+                .build();
+
+        return rateLimiterRegistry.rateLimiter("photo-upload", config);
+    }
+
     @Bean
     public RateLimiter actuatorLimiter(RateLimiterRegistry rateLimiterRegistry) {
         RateLimiterConfig config = RateLimiterConfig.custom()
@@ -0,0 +1,11 @@
+package dev.solace.twiggle.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the care reminder stream.
+ */
+@Configuration
+@EnableConfigurationProperties(ReminderProperties.class)
+public class ReminderConfiguration {}
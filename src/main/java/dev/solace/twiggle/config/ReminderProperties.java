@@ -0,0 +1,34 @@
+package dev.solace.twiggle.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the care reminder stream.
+ */
+@Data
+@ConfigurationProperties(prefix = "twiggle.reminders")
+public class ReminderProperties {
+
+    /** Reminders kept per user for delivery and replay; the oldest is dropped when full. */
+    private int mailboxCapacity = 32;
+
+    /** Idle mailboxes without open streams are discarded after this long. */
+    private Duration mailboxTtl = Duration.ofHours(1);
+
+    /** Maximum lifetime of one stream before the client is expected to reconnect. */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    /** Interval of keep-alive comments, which also detect dead connections. */
+    private Duration heartbeatInterval = Duration.ofSeconds(25);
+
+    /**
+     * How long a reminder handed over by the outbox may take to be written to an open stream before the outbox
+     * tries again.
+     */
+    private Duration deliveryTimeout = Duration.ofSeconds(5);
+
+    /** Reconnect delay suggested to clients. */
+    private Duration reconnectDelay = Duration.ofSeconds(3);
+}
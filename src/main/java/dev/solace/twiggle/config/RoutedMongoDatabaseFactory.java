@@ -0,0 +1,63 @@
+package dev.solace.twiggle.config;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoDatabase;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link MongoDatabaseFactory} decorator that applies a route's read preference and read concern to every
+ * database handle it hands out, so all collections obtained through it inherit them.
+ */
+class RoutedMongoDatabaseFactory implements MongoDatabaseFactory {
+
+    private final MongoDatabaseFactory delegate;
+    private final ReadPreference readPreference;
+    private final ReadConcern readConcern;
+
+    RoutedMongoDatabaseFactory(
+            MongoDatabaseFactory delegate, ReadPreference readPreference, @Nullable ReadConcern readConcern) {
+        this.delegate = delegate;
+        this.readPreference = readPreference;
+        this.readConcern = readConcern;
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase() {
+        return route(delegate.getMongoDatabase());
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase(String dbName) {
+        return route(delegate.getMongoDatabase(dbName));
+    }
+
+    @Override
+    public PersistenceExceptionTranslator getExceptionTranslator() {
+        return delegate.getExceptionTranslator();
+    }
+
+    @Override
+    public ClientSession getSession(ClientSessionOptions options) {
+        return delegate.getSession(options);
+    }
+
+    @Override
+    public MongoDatabaseFactory withSession(ClientSession session) {
+        return new RoutedMongoDatabaseFactory(delegate.withSession(session), readPreference, readConcern);
+    }
+
+    @Override
+    public boolean isTransactionActive() {
+        return delegate.isTransactionActive();
+    }
+
+    private MongoDatabase route(MongoDatabase database) {
+        MongoDatabase routed = database.withReadPreference(readPreference);
+        return readConcern != null ? routed.withReadConcern(readConcern) : routed;
+    }
+}
@@ -0,0 +1,11 @@
+package dev.solace.twiggle.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class enabling {@code @Scheduled} background jobs.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {}
@@ -0,0 +1,11 @@
+package dev.solace.twiggle.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the in-memory plant search index and name autocomplete.
+ */
+@Configuration
+@EnableConfigurationProperties({SearchProperties.class, AutocompleteProperties.class})
+public class SearchConfiguration {}
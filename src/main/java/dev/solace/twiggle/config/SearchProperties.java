@@ -0,0 +1,28 @@
+package dev.solace.twiggle.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the in-memory plant search index.
+ */
+@Data
+@ConfigurationProperties(prefix = "twiggle.search")
+public class SearchProperties {
+
+    /** Whether the index is loaded at startup. */
+    private boolean enabled = true;
+
+    /** Whether the index follows the plants change stream after the initial load. */
+    private boolean changeStreams = true;
+
+    /**
+     * How far before the snapshot the change stream starts. Must cover the replication lag of the search read
+     * route, since the snapshot may be served by a lagging secondary.
+     */
+    private Duration replayWindow = Duration.ofMinutes(2);
+
+    /** Delay before retrying a failed initial load. */
+    private Duration loadRetryDelay = Duration.ofSeconds(30);
+}
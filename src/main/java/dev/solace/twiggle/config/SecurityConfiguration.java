@@ -0,0 +1,46 @@
+package dev.solace.twiggle.config;
+
+import dev.solace.twiggle.security.JwksKeySource;
+import dev.solace.twiggle.security.JwtAuthenticationFilter;
+import dev.solace.twiggle.security.JwtVerifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/**
+ * Configuration class for bearer token authentication. The filter runs right after the concurrency limit, ahead of
+ * the tenant filter, so unauthenticated requests never cost a placement lookup or an idempotency claim.
+ */
+@Configuration
+@EnableConfigurationProperties(SecurityProperties.class)
+@ConditionalOnProperty(prefix = "twiggle.security", name = "enabled")
+public class SecurityConfiguration {
+
+    @Bean
+    public JwksKeySource jwksKeySource(SecurityProperties properties, MeterRegistry meterRegistry) {
+        return new JwksKeySource(properties, meterRegistry);
+    }
+
+    @Bean
+    public JwtVerifier jwtVerifier(
+            JwksKeySource jwksKeySource, SecurityProperties properties, MeterRegistry meterRegistry) {
+        return new JwtVerifier(jwksKeySource, properties, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilter(
+            JwtVerifier jwtVerifier,
+            SecurityProperties properties,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration =
+                new FilterRegistrationBean<>(new JwtAuthenticationFilter(jwtVerifier, properties, exceptionResolver));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
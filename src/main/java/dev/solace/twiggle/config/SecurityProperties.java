@@ -0,0 +1,59 @@
+package dev.solace.twiggle.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for bearer token authentication with JWTs signed by keys from a JWKS endpoint.
+ */
+@Data
+@ConfigurationProperties(prefix = "twiggle.security")
+public class SecurityProperties {
+
+    private boolean enabled = false;
+
+    /** Path prefixes that require a bearer token. */
+    private List<String> paths = new ArrayList<>(List.of("/api/", "/ws/"));
+
+    /**
+     * Path patterns whose {@code {userId}} variable must equal the token subject; other users' resources are
+     * answered with {@code 403}.
+     */
+    private List<String> subjectPaths = new ArrayList<>(List.of("/api/v1/users/{userId}/**"));
+
+    /**
+     * Claim naming the tenant the token may act for. With tenancy on, it decides the tenant of the request and a
+     * tenant header that disagrees with it is answered with {@code 403}.
+     */
+    private String tenantClaim = "tenant";
+
+    /** Where the signing keys are published. */
+    private URI jwksUri;
+
+    /** Required {@code iss} claim; not checked when unset. */
+    private String issuer;
+
+    /** Required entry in the {@code aud} claim; not checked when unset. */
+    private String audience;
+
+    /** Tolerance applied to {@code exp} and {@code nbf}. */
+    private Duration clockSkew = Duration.ofSeconds(30);
+
+    /** Interval at which the key set is reloaded in the background. */
+    private Duration jwksRefreshInterval = Duration.ofMinutes(5);
+
+    /**
+     * Minimum time between reloads triggered by a token signed with an unknown key, which bounds how often such
+     * tokens can make the service call the JWKS endpoint.
+     */
+    private Duration jwksMinRefreshInterval = Duration.ofSeconds(30);
+
+    private Duration jwksTimeout = Duration.ofSeconds(5);
+
+    /** Number of verified tokens kept, each until it expires, so repeat requests skip the signature check. */
+    private long tokenCacheSize = 50_000;
+}
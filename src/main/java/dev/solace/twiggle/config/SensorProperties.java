@@ -0,0 +1,43 @@
+package dev.solace.twiggle.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for sensor reading ingestion and its rollups.
+ */
+@Data
+@ConfigurationProperties(prefix = "twiggle.sensors")
+public class SensorProperties {
+
+    /** Readings buffered between the endpoint and the writer; rounded up to a power of two. */
+    private int bufferCapacity = 65_536;
+
+    /** Maximum number of readings written per group commit. */
+    private int flushBatchSize = 5_000;
+
+    /** How long the writer waits for more readings after a partial batch, trading latency for larger commits. */
+    private Duration linger = Duration.ofMillis(50);
+
+    /** Backoff before retrying a failed commit; doubled on each further failure. */
+    private Duration initialBackoff = Duration.ofMillis(100);
+
+    /** Upper bound of the commit retry backoff. */
+    private Duration maxBackoff = Duration.ofSeconds(10);
+
+    /** How far in the future a reading may be stamped, to allow for sensor clock drift. */
+    private Duration maxClockSkew = Duration.ofMinutes(5);
+
+    /** Raw readings are removed by the time-series collection after this long. */
+    private Duration rawRetention = Duration.ofDays(30);
+
+    /** Minute rollups are removed after this long. */
+    private Duration minuteRetention = Duration.ofDays(30);
+
+    /** Hour rollups are removed after this long. Day rollups are kept forever. */
+    private Duration hourRetention = Duration.ofDays(365);
+
+    /** Maximum number of rollup buckets returned per query. */
+    private int maxRollupPoints = 1_500;
+}
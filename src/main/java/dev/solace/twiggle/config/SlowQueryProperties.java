@@ -0,0 +1,43 @@
+package dev.solace.twiggle.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for MongoDB slow-query capture and index advice.
+ */
+@Data
+@ConfigurationProperties(prefix = "twiggle.mongo.slow-query")
+public class SlowQueryProperties {
+
+    /** Whether the command listener is registered with the Mongo client. */
+    private boolean enabled = true;
+
+    /** Commands slower than this are treated as outliers and considered for explain. */
+    private Duration threshold = Duration.ofMillis(100);
+
+    /** Fraction (0..1) of explainable commands whose command document is retained for explain. */
+    private double sampleRate = 0.1;
+
+    /** Upper bound on command documents retained while waiting for their command to complete. */
+    private int maxPendingCommands = 1_000;
+
+    /** Whether explain is run for slow commands. */
+    private boolean explainEnabled = true;
+
+    /** Explain verbosity, either {@code queryPlanner} or {@code executionStats}. */
+    private String explainVerbosity = "executionStats";
+
+    /** Capacity of the explain work queue; outliers beyond it are dropped. */
+    private int explainQueueCapacity = 64;
+
+    /** Minimum time before the same query shape is explained again. */
+    private Duration reexplainInterval = Duration.ofMinutes(10);
+
+    /** Maximum number of distinct query shapes tracked. */
+    private int maxTrackedShapes = 500;
+
+    /** In-memory sorts above this many bytes are reported as large. */
+    private long largeSortBytes = 1024 * 1024;
+}
@@ -2,13 +2,18 @@ package dev.solace.twiggle.config;
 
 import io.swagger.v3.oas.models.info.Info;
 import org.springdoc.core.models.GroupedOpenApi;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
  * Configuration class for Swagger API documentation.
+ *
+ * <p>Only active while springdoc builds the documents at runtime. The build generates the same groups into
+ * {@code static/openapi} at package time, and profiles that turn {@code springdoc.api-docs.enabled} off serve those.
  */
 @Configuration
+@ConditionalOnProperty(name = "springdoc.api-docs.enabled", matchIfMissing = true)
 public class SwaggerConfig {
 
     private static final String ACTUATOR_GROUP = "Actuator API";
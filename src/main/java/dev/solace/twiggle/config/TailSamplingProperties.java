@@ -0,0 +1,34 @@
+package dev.solace.twiggle.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for tail-based trace sampling and the local trace collector.
+ */
+@Data
+@ConfigurationProperties(prefix = "twiggle.tracing")
+public class TailSamplingProperties {
+
+    /** Whether traces are sampled once complete; needs {@code management.tracing.enabled} as well. */
+    private boolean enabled = true;
+
+    /** Traces whose root span takes at least this long are always kept. */
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    /** Share of the traces that are neither slow nor errored to keep, between 0 and 1. */
+    private double keepRatio = 0.05;
+
+    /** Traces whose root span has not ended yet held in memory; the oldest are decided early beyond this. */
+    private int maxPendingTraces = 10_000;
+
+    /** Spans held per pending trace; later spans of a trace that long are dropped. */
+    private int maxSpansPerTrace = 256;
+
+    /** Time after which a trace whose root span never ended is decided on the spans that have. */
+    private Duration traceTimeout = Duration.ofSeconds(30);
+
+    /** Spans of kept traces the local collector holds for the traces endpoint. */
+    private int collectorCapacity = 2_000;
+}
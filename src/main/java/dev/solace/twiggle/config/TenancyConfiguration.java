@@ -0,0 +1,96 @@
+package dev.solace.twiggle.config;
+
+import com.mongodb.client.MongoClient;
+import dev.solace.twiggle.security.JwtVerifier;
+import dev.solace.twiggle.tenant.TenantDatabases;
+import dev.solace.twiggle.tenant.TenantDirectory;
+import dev.solace.twiggle.tenant.TenantEndpoint;
+import dev.solace.twiggle.tenant.TenantMigrationService;
+import dev.solace.twiggle.web.TenantFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/**
+ * Configuration class for routing tenants to their own databases; the routing itself is wired into the primary
+ * template by {@link MongoRoutingConfiguration}. The tenancy beans always exist, so services can
+ * iterate tenants unconditionally; with tenancy disabled the tenant header is not read and everything stays on the
+ * home database. The tenant filter runs after the concurrency limit and authentication, ahead of idempotency
+ * handling, whose keys live in the tenant's database.
+ */
+@Configuration
+@EnableConfigurationProperties(TenancyProperties.class)
+public class TenancyConfiguration {
+
+    @Bean
+    public TenantDatabases tenantDatabases(
+            MongoDatabaseFactory mongoDatabaseFactory,
+            MongoClient mongoClient,
+            TenancyProperties properties,
+            ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers,
+            MeterRegistry meterRegistry) {
+        return new TenantDatabases(
+                mongoDatabaseFactory,
+                mongoClient,
+                properties,
+                customizers.orderedStream().toList(),
+                meterRegistry);
+    }
+
+    /**
+     * Placements are read through a template of its own on the home database, as the primary template routes by
+     * placement.
+     */
+    @Bean
+    public TenantDirectory tenantDirectory(
+            MongoDatabaseFactory mongoDatabaseFactory,
+            MongoConverter mongoConverter,
+            TenantDatabases tenantDatabases,
+            TenancyProperties properties,
+            MeterRegistry meterRegistry) {
+        return new TenantDirectory(
+                new MongoTemplate(mongoDatabaseFactory, mongoConverter), tenantDatabases, properties, meterRegistry);
+    }
+
+    @Bean
+    public TenantMigrationService tenantMigrationService(
+            TenantDirectory tenantDirectory,
+            TenantDatabases tenantDatabases,
+            TenancyProperties properties,
+            MeterRegistry meterRegistry) {
+        return new TenantMigrationService(tenantDirectory, tenantDatabases, properties, meterRegistry);
+    }
+
+    @Bean
+    public TenantEndpoint tenantEndpoint(
+            TenantDirectory tenantDirectory, TenantMigrationService tenantMigrationService) {
+        return new TenantEndpoint(tenantDirectory, tenantMigrationService);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "twiggle.tenancy", name = "enabled")
+    public FilterRegistrationBean<TenantFilter> tenantFilter(
+            TenantDirectory tenantDirectory,
+            TenancyProperties properties,
+            ObjectProvider<JwtVerifier> jwtVerifier,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+            MeterRegistry meterRegistry) {
+        // With authentication on, tenants are taken from verified tokens rather than from the header alone.
+        boolean verifiedTenantsOnly = jwtVerifier.getIfAvailable() != null;
+        FilterRegistrationBean<TenantFilter> registration = new FilterRegistrationBean<>(
+                new TenantFilter(tenantDirectory, properties, verifiedTenantsOnly, exceptionResolver, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
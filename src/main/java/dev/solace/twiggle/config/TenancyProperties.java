@@ -0,0 +1,81 @@
+package dev.solace.twiggle.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for routing tenants to their own database on one of several Mongo clusters.
+ */
+@Data
+@ConfigurationProperties(prefix = "twiggle.tenancy")
+public class TenancyProperties {
+
+    /** Without tenancy every request uses the home database, as if no tenant header had been sent. */
+    private boolean enabled;
+
+    /** Request header naming the tenant; requests without it use the home database. */
+    private String header = "X-Tenant-Id";
+
+    /** Prefix of the database each tenant gets on its cluster, followed by the tenant id. */
+    private String databasePrefix = "twiggle_t_";
+
+    /** Whether an unknown tenant is placed on first use; otherwise tenants are placed through the actuator. */
+    private boolean autoPlace;
+
+    /** Clusters tenants can be placed on, keyed by name. A cluster without a URI is the home cluster. */
+    private Map<String, Cluster> clusters = new LinkedHashMap<>(Map.of("home", new Cluster()));
+
+    /** Points per unit of weight each cluster gets on the placement ring. */
+    private int virtualNodes = 160;
+
+    /** How long a tenant's placement is trusted before it is read again. */
+    private Duration placementCacheTtl = Duration.ofSeconds(5);
+
+    /** Home collections that hold shared data and are not created in tenant databases. */
+    private List<String> sharedCollections = new ArrayList<>(List.of("plants", "tenant_placements"));
+
+    /** Tenants beyond this many are reported under {@code other} in per-tenant metrics. */
+    private int maxTaggedTenants = 100;
+
+    private Migration migration = new Migration();
+
+    /**
+     * A Mongo cluster tenant databases can live on.
+     */
+    @Data
+    public static class Cluster {
+        /** Connection string; unset means the client of {@code spring.data.mongodb.uri}. */
+        private String uri;
+
+        /** Relative share of new tenants placed on this cluster; 0 takes no new tenants. */
+        private int weight = 1;
+    }
+
+    /**
+     * Settings for moving a tenant's database to another cluster.
+     */
+    @Data
+    public static class Migration {
+        private int batchSize = 1000;
+
+        /** How long the copy may take to catch up with the tenant's ongoing writes before the move is abandoned. */
+        private Duration catchUpTimeout = Duration.ofMinutes(10);
+
+        /** Extra wait after freezing the tenant for writes already under way to finish. */
+        private Duration freezeGrace = Duration.ofSeconds(2);
+
+        /**
+         * How far time-series documents may be stamped before the copy started and still be written after it.
+         * Later ones are copied while the tenant is frozen.
+         */
+        private Duration timeSeriesMargin = Duration.ofMinutes(5);
+
+        /** Whether the source database is dropped once the tenant has moved. */
+        private boolean dropSource = true;
+    }
+}
@@ -0,0 +1,67 @@
+package dev.solace.twiggle.config;
+
+import dev.solace.twiggle.monitoring.LocalTraceCollector;
+import dev.solace.twiggle.monitoring.RateLimiterTracing;
+import dev.solace.twiggle.monitoring.TailSamplingSpanProcessor;
+import dev.solace.twiggle.monitoring.TraceCollectorEndpoint;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import org.springframework.boot.actuate.autoconfigure.tracing.ConditionalOnEnabledTracing;
+import org.springframework.boot.actuate.autoconfigure.tracing.SpanProcessors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+
+/**
+ * Configuration class for distributed tracing. Boot traces controllers through the request observation; this adds
+ * spans for Mongo commands and rate limiter decisions, and samples traces once they are complete rather than when
+ * they start.
+ *
+ * <p>The tail sampler sits in front of Boot's batching span processor, which exports kept spans asynchronously to
+ * every {@code SpanExporter} bean, among them the {@link LocalTraceCollector}.
+ */
+@Configuration
+@EnableConfigurationProperties(TailSamplingProperties.class)
+@ConditionalOnEnabledTracing
+@ConditionalOnProperty(prefix = "twiggle.tracing", name = "enabled", matchIfMissing = true)
+public class TracingConfiguration {
+
+    /** Replaces Boot's processors, which would export every recorded span. */
+    @Bean
+    public SpanProcessors spanProcessors(
+            TailSamplingProperties properties, BatchSpanProcessor otelSpanProcessor, MeterRegistry meterRegistry) {
+        return SpanProcessors.of(new TailSamplingSpanProcessor(properties, otelSpanProcessor, meterRegistry));
+    }
+
+    @Bean
+    public LocalTraceCollector localTraceCollector(TailSamplingProperties properties, MeterRegistry meterRegistry) {
+        return new LocalTraceCollector(properties.getCollectorCapacity(), meterRegistry);
+    }
+
+    @Bean
+    public TraceCollectorEndpoint traceCollectorEndpoint(LocalTraceCollector localTraceCollector) {
+        return new TraceCollectorEndpoint(localTraceCollector);
+    }
+
+    /**
+     * The context provider hands the driver the current observation, so command spans join the request's trace;
+     * tenant clients are built with the same customizers.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoTracingCustomizer(ObservationRegistry observationRegistry) {
+        return builder -> builder.contextProvider(ContextProviderFactory.create(observationRegistry))
+                .addCommandListener(new MongoObservationCommandListener(observationRegistry));
+    }
+
+    @Bean
+    public RateLimiterTracing rateLimiterTracing(RateLimiterRegistry rateLimiterRegistry, Tracer tracer) {
+        return new RateLimiterTracing(rateLimiterRegistry, tracer);
+    }
+}
@@ -0,0 +1,34 @@
+package dev.solace.twiggle.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.solace.twiggle.exception.GlobalExceptionHandler;
+import dev.solace.twiggle.repository.catalog.PlantRepository;
+import dev.solace.twiggle.service.warmup.WarmUpRunner;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the startup JIT warm-up. Application runners complete before the application is ready,
+ * so the readiness probe keeps refusing traffic until the warm-up is over while liveness is already reported.
+ */
+@Configuration
+@EnableConfigurationProperties(WarmUpProperties.class)
+@ConditionalOnProperty(prefix = "twiggle.warmup", name = "enabled", matchIfMissing = true)
+public class WarmUpConfiguration {
+
+    @Bean
+    public WarmUpRunner warmUpRunner(
+            WarmUpProperties properties,
+            ObjectMapper objectMapper,
+            GlobalExceptionHandler exceptionHandler,
+            PlantRepository plantRepository,
+            LoggingSystem loggingSystem,
+            MeterRegistry meterRegistry) {
+        return new WarmUpRunner(
+                properties, objectMapper, exceptionHandler, plantRepository, loggingSystem, meterRegistry);
+    }
+}
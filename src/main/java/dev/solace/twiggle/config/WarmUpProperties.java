@@ -0,0 +1,25 @@
+package dev.solace.twiggle.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the JIT warm-up run before the instance reports itself ready.
+ */
+@Data
+@ConfigurationProperties(prefix = "twiggle.warmup")
+public class WarmUpProperties {
+
+    /** Whether startup runs synthetic traffic through the hot paths before readiness flips to accepting traffic. */
+    private boolean enabled = true;
+
+    /** Iterations of the in-memory exercises: response building, serialization and exception handling. */
+    private int iterations = 20_000;
+
+    /** Iterations of the repository exercise; each is a database round trip, so far fewer are affordable. */
+    private int repositoryIterations = 200;
+
+    /** Upper bound on the whole warm-up, whatever is left of the iterations. */
+    private Duration maxDuration = Duration.ofSeconds(30);
+}
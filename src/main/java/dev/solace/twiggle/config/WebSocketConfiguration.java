@@ -0,0 +1,52 @@
+package dev.solace.twiggle.config;
+
+import dev.solace.twiggle.security.JwtVerifier;
+import dev.solace.twiggle.websocket.AuthenticatedHandshakeInterceptor;
+import dev.solace.twiggle.websocket.LayoutBroadcaster;
+import dev.solace.twiggle.websocket.LayoutCollaborationHandler;
+import dev.solace.twiggle.websocket.TenantHandshakeInterceptor;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+/**
+ * Configuration class for the collaborative layout editing WebSocket endpoint. With authentication on, handshakes
+ * need a bearer token like any API request; sockets are only accepted from the configured origins, or from the
+ * application's own origin when none are configured.
+ */
+@Configuration
+@EnableWebSocket
+@EnableConfigurationProperties(CollaborationProperties.class)
+public class WebSocketConfiguration implements WebSocketConfigurer {
+
+    private final CollaborationProperties properties;
+    private final LayoutBroadcaster layoutBroadcaster;
+    private final ObjectProvider<JwtVerifier> jwtVerifier;
+
+    public WebSocketConfiguration(
+            CollaborationProperties properties,
+            LayoutBroadcaster layoutBroadcaster,
+            ObjectProvider<JwtVerifier> jwtVerifier) {
+        this.properties = properties;
+        this.layoutBroadcaster = layoutBroadcaster;
+        this.jwtVerifier = jwtVerifier;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        List<HandshakeInterceptor> interceptors = new ArrayList<>();
+        if (jwtVerifier.getIfAvailable() != null) {
+            interceptors.add(new AuthenticatedHandshakeInterceptor());
+        }
+        interceptors.add(new TenantHandshakeInterceptor());
+        registry.addHandler(new LayoutCollaborationHandler(layoutBroadcaster), LayoutCollaborationHandler.PATH)
+                .addInterceptors(interceptors.toArray(HandshakeInterceptor[]::new))
+                .setAllowedOriginPatterns(properties.getAllowedOrigins().toArray(String[]::new));
+    }
+}
@@ -0,0 +1,39 @@
+package dev.solace.twiggle.controller;
+
+import dev.solace.twiggle.dto.ApiResponse;
+import dev.solace.twiggle.dto.BatchRequest;
+import dev.solace.twiggle.dto.BatchResult;
+import dev.solace.twiggle.util.ResponseUtil;
+import dev.solace.twiggle.web.BatchDispatcher;
+import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller class for answering several GET requests in one round trip, such as the reads a client makes when it
+ * opens. Each result carries the status and body its request would have been answered with on its own.
+ */
+@RestController
+@RequestMapping("api/v1")
+@RateLimiter(name = "standard-api")
+public class BatchController {
+
+    private final BatchDispatcher batchDispatcher;
+
+    public BatchController(BatchDispatcher batchDispatcher) {
+        this.batchDispatcher = batchDispatcher;
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<BatchResult>>> execute(
+            @Valid @RequestBody BatchRequest batchRequest, HttpServletRequest request) {
+        return ResponseUtil.success(
+                "Batch executed successfully", batchDispatcher.dispatch(request, batchRequest.getRequests()));
+    }
+}
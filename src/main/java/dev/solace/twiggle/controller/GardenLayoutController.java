@@ -0,0 +1,42 @@
+package dev.solace.twiggle.controller;
+
+import dev.solace.twiggle.dto.ApiResponse;
+import dev.solace.twiggle.dto.LayoutDeltaRequest;
+import dev.solace.twiggle.dto.LayoutView;
+import dev.solace.twiggle.service.layout.LayoutEditService;
+import dev.solace.twiggle.util.ResponseUtil;
+import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller class for reading and incrementally editing garden layouts.
+ */
+@RestController
+@RequestMapping("api/v1")
+@RateLimiter(name = "standard-api")
+public class GardenLayoutController {
+
+    private final LayoutEditService layoutEditService;
+
+    public GardenLayoutController(LayoutEditService layoutEditService) {
+        this.layoutEditService = layoutEditService;
+    }
+
+    @GetMapping("/gardens/{gardenId}/layout")
+    public ResponseEntity<ApiResponse<LayoutView>> getLayout(@PathVariable String gardenId) {
+        return ResponseUtil.success("Layout retrieved successfully", layoutEditService.getLayout(gardenId));
+    }
+
+    @PatchMapping("/gardens/{gardenId}/layout")
+    public ResponseEntity<ApiResponse<LayoutView>> applyDelta(
+            @PathVariable String gardenId, @Valid @RequestBody LayoutDeltaRequest request) {
+        return ResponseUtil.success("Layout updated successfully", layoutEditService.applyDelta(gardenId, request));
+    }
+}
@@ -0,0 +1,32 @@
+package dev.solace.twiggle.controller;
+
+import dev.solace.twiggle.dto.ApiResponse;
+import dev.solace.twiggle.dto.GardenStatsView;
+import dev.solace.twiggle.service.stats.GardenStatsService;
+import dev.solace.twiggle.util.ResponseUtil;
+import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller class for reading the materialized dashboard statistics of a garden.
+ */
+@RestController
+@RequestMapping("api/v1")
+@RateLimiter(name = "standard-api")
+public class GardenStatsController {
+
+    private final GardenStatsService gardenStatsService;
+
+    public GardenStatsController(GardenStatsService gardenStatsService) {
+        this.gardenStatsService = gardenStatsService;
+    }
+
+    @GetMapping("/gardens/{gardenId}/stats")
+    public ResponseEntity<ApiResponse<GardenStatsView>> getStats(@PathVariable String gardenId) {
+        return ResponseUtil.success("Garden statistics retrieved successfully", gardenStatsService.getStats(gardenId));
+    }
+}
@@ -0,0 +1,124 @@
+package dev.solace.twiggle.controller;
+
+import dev.solace.twiggle.config.PhotoProperties;
+import dev.solace.twiggle.dto.ApiResponse;
+import dev.solace.twiggle.dto.PhotoView;
+import dev.solace.twiggle.service.photo.PhotoContent;
+import dev.solace.twiggle.service.photo.PhotoService;
+import dev.solace.twiggle.util.ResponseUtil;
+import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletRequestContext;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Controller class for uploading garden photos and downloading them and their thumbnails.
+ *
+ * <p>Uploads are {@code multipart/form-data} with the photo in a part named {@code file}; the plant it shows is a
+ * query parameter, so nothing has to be read ahead of the photo. Downloads answer {@code If-None-Match} and
+ * {@code If-Modified-Since} with {@code 304}, and {@code Range} requests with {@code 206} (several ranges as
+ * {@code multipart/byteranges}) unless an {@code If-Range} validator is stale.
+ */
+@RestController
+@RequestMapping("api/v1")
+public class PhotoController {
+
+    private final PhotoService photoService;
+    private final PhotoProperties properties;
+
+    public PhotoController(PhotoService photoService, PhotoProperties properties) {
+        this.photoService = photoService;
+        this.properties = properties;
+    }
+
+    @PostMapping(value = "/gardens/{gardenId}/photos", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @RateLimiter(name = "photo-upload")
+    public ResponseEntity<ApiResponse<PhotoView>> upload(
+            @PathVariable String gardenId, @RequestParam(required = false) String plantId, HttpServletRequest request) {
+        return ResponseUtil.created(
+                "Photo uploaded successfully",
+                photoService.upload(gardenId, plantId, new JakartaServletRequestContext(request)));
+    }
+
+    @GetMapping("/gardens/{gardenId}/photos/{photoId}")
+    @RateLimiter(name = "standard-api")
+    public ResponseEntity<ApiResponse<PhotoView>> getPhoto(
+            @PathVariable String gardenId, @PathVariable String photoId) {
+        return ResponseUtil.success("Photo retrieved successfully", photoService.getPhoto(gardenId, photoId));
+    }
+
+    @GetMapping("/gardens/{gardenId}/photos/{photoId}/content")
+    @RateLimiter(name = "standard-api")
+    public ResponseEntity<Resource> getContent(
+            @PathVariable String gardenId, @PathVariable String photoId, ServletWebRequest request) throws IOException {
+        return serve(photoService.openContent(gardenId, photoId), request);
+    }
+
+    @GetMapping("/gardens/{gardenId}/photos/{photoId}/thumbnail")
+    @RateLimiter(name = "standard-api")
+    public ResponseEntity<Resource> getThumbnail(
+            @PathVariable String gardenId, @PathVariable String photoId, ServletWebRequest request) throws IOException {
+        return serve(photoService.openThumbnail(gardenId, photoId), request);
+    }
+
+    private ResponseEntity<Resource> serve(PhotoContent content, ServletWebRequest request) throws IOException {
+        // Sets ETag and Last-Modified, and answers 304 itself when the client's copy is current.
+        if (request.checkNotModified(content.etag(), content.lastModified().toEpochMilli())) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(content.contentType()))
+                .cacheControl(CacheControl.maxAge(properties.getCacheMaxAge())
+                        .cachePrivate()
+                        .immutable())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header("X-Content-Type-Options", "nosniff");
+        if (request.getHeader(HttpHeaders.RANGE) != null
+                && !ifRangeHolds(request.getHeader(HttpHeaders.IF_RANGE), content)) {
+            // Spring MVC serves ranges of any Resource body; a stale If-Range asks for the whole content instead.
+            return response.contentLength(content.length())
+                    .body(new InputStreamResource(content.resource().getInputStream()));
+        }
+        return response.body(content.resource());
+    }
+
+    /**
+     * Evaluates {@code If-Range}, which holds for a strongly matching entity tag or the exact modification date.
+     */
+    private static boolean ifRangeHolds(@Nullable String ifRange, PhotoContent content) {
+        if (ifRange == null) {
+            return true;
+        }
+        String validator = ifRange.trim();
+        if (validator.startsWith("\"")) {
+            return validator.equals("\"" + content.etag() + "\"");
+        }
+        if (validator.startsWith("W/")) {
+            return false;
+        }
+        try {
+            return ZonedDateTime.parse(validator, DateTimeFormatter.RFC_1123_DATE_TIME)
+                            .toEpochSecond()
+                    == content.lastModified().getEpochSecond();
+        } catch (DateTimeParseException ex) {
+            return false;
+        }
+    }
+}
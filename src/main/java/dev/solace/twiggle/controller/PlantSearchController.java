@@ -0,0 +1,63 @@
+package dev.solace.twiggle.controller;
+
+import dev.solace.twiggle.dto.ApiResponse;
+import dev.solace.twiggle.dto.PlantSearchResult;
+import dev.solace.twiggle.dto.PlantSuggestion;
+import dev.solace.twiggle.model.Plant;
+import dev.solace.twiggle.service.search.AutocompleteService;
+import dev.solace.twiggle.service.search.PlantSearchQuery;
+import dev.solace.twiggle.service.search.PlantSearchService;
+import dev.solace.twiggle.util.ResponseUtil;
+import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import java.util.List;
+import java.util.Set;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller class for faceted plant search and name autocomplete.
+ */
+@RestController
+@RequestMapping("api/v1")
+@RateLimiter(name = "standard-api")
+public class PlantSearchController {
+
+    private final PlantSearchService plantSearchService;
+    private final AutocompleteService autocompleteService;
+
+    public PlantSearchController(PlantSearchService plantSearchService, AutocompleteService autocompleteService) {
+        this.plantSearchService = plantSearchService;
+        this.autocompleteService = autocompleteService;
+    }
+
+    @GetMapping("/plants/search")
+    public ResponseEntity<ApiResponse<PlantSearchResult>> search(
+            @RequestParam(name = "q", required = false) String text,
+            @RequestParam(required = false) Set<Plant.SunExposure> sun,
+            @RequestParam(required = false) Set<Plant.WaterNeed> water,
+            @RequestParam(name = "season", required = false) Set<Plant.Season> seasons,
+            @RequestParam(required = false) Integer zone,
+            @RequestParam(required = false) Boolean edible,
+            @RequestParam(defaultValue = "20") int limit) {
+        PlantSearchQuery query = PlantSearchQuery.builder()
+                .text(text)
+                .sun(sun)
+                .water(water)
+                .seasons(seasons)
+                .zone(zone)
+                .edible(edible)
+                .limit(limit)
+                .build();
+        return ResponseUtil.success("Plant search completed successfully", plantSearchService.search(query));
+    }
+
+    @GetMapping("/plants/autocomplete")
+    public ResponseEntity<ApiResponse<List<PlantSuggestion>>> autocomplete(
+            @RequestParam String prefix, @RequestParam(defaultValue = "10") int limit) {
+        return ResponseUtil.success(
+                "Plant suggestions retrieved successfully", autocompleteService.complete(prefix, limit));
+    }
+}
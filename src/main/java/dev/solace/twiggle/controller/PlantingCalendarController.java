@@ -0,0 +1,45 @@
+package dev.solace.twiggle.controller;
+
+import dev.solace.twiggle.dto.ApiResponse;
+import dev.solace.twiggle.dto.PlantingCalendarView;
+import dev.solace.twiggle.service.climate.PlantingCalendarService;
+import dev.solace.twiggle.util.ResponseUtil;
+import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller class for hardiness zone and planting calendar lookups by location. Experimental: only mapped when
+ * {@code twiggle.climate.enabled} is set.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "twiggle.climate", name = "enabled")
+@RequestMapping("api/v1")
+@RateLimiter(name = "standard-api")
+public class PlantingCalendarController {
+
+    private final PlantingCalendarService plantingCalendarService;
+
+    public PlantingCalendarController(PlantingCalendarService plantingCalendarService) {
+        this.plantingCalendarService = plantingCalendarService;
+    }
+
+    @GetMapping("/planting-calendar")
+    public ResponseEntity<ApiResponse<PlantingCalendarView>> calendar(
+            @RequestParam(name = "lat") double latitude,
+            @RequestParam(name = "lon") double longitude,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "20") int limit) {
+        LocalDate day = date != null ? date : LocalDate.now(ZoneOffset.UTC);
+        return ResponseUtil.success(
+                "Planting calendar retrieved successfully",
+                plantingCalendarService.calendar(latitude, longitude, day, limit));
+    }
+}
@@ -0,0 +1,49 @@
+package dev.solace.twiggle.controller;
+
+import dev.solace.twiggle.dto.ApiResponse;
+import dev.solace.twiggle.dto.ReminderRequest;
+import dev.solace.twiggle.model.CareReminder;
+import dev.solace.twiggle.service.reminder.ReminderHub;
+import dev.solace.twiggle.service.reminder.ReminderService;
+import dev.solace.twiggle.util.ResponseUtil;
+import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controller class for streaming care reminders to users over Server-Sent Events.
+ */
+@RestController
+@RequestMapping("api/v1")
+@RateLimiter(name = "standard-api")
+public class ReminderController {
+
+    private final ReminderService reminderService;
+    private final ReminderHub reminderHub;
+
+    public ReminderController(ReminderService reminderService, ReminderHub reminderHub) {
+        this.reminderService = reminderService;
+        this.reminderHub = reminderHub;
+    }
+
+    @GetMapping(value = "/users/{userId}/reminders/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @PathVariable String userId, @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return reminderHub.subscribe(userId, lastEventId);
+    }
+
+    @PostMapping("/users/{userId}/reminders")
+    public ResponseEntity<ApiResponse<CareReminder>> schedule(
+            @PathVariable String userId, @Valid @RequestBody ReminderRequest request) {
+        return ResponseUtil.created("Reminder scheduled successfully", reminderService.schedule(userId, request));
+    }
+}
@@ -0,0 +1,60 @@
+package dev.solace.twiggle.controller;
+
+import dev.solace.twiggle.dto.ApiResponse;
+import dev.solace.twiggle.dto.SensorIngestResult;
+import dev.solace.twiggle.dto.SensorReadingBatchRequest;
+import dev.solace.twiggle.dto.SensorRollupPoint;
+import dev.solace.twiggle.model.sensor.RollupGranularity;
+import dev.solace.twiggle.model.sensor.SensorMetric;
+import dev.solace.twiggle.service.sensor.SensorIngestionService;
+import dev.solace.twiggle.util.ResponseUtil;
+import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import jakarta.validation.Valid;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller class for ingesting garden sensor readings and reading their downsampled rollups.
+ */
+@RestController
+@RequestMapping("api/v1")
+public class SensorController {
+
+    private final SensorIngestionService sensorIngestionService;
+
+    public SensorController(SensorIngestionService sensorIngestionService) {
+        this.sensorIngestionService = sensorIngestionService;
+    }
+
+    @PostMapping("/gardens/{gardenId}/sensor-readings")
+    @RateLimiter(name = "sensor-ingest")
+    public ResponseEntity<ApiResponse<SensorIngestResult>> ingest(
+            @PathVariable String gardenId, @Valid @RequestBody SensorReadingBatchRequest request) {
+        int accepted = sensorIngestionService.accept(gardenId, request);
+        return ResponseUtil.accepted(
+                "Sensor readings accepted",
+                SensorIngestResult.builder().accepted(accepted).build());
+    }
+
+    @GetMapping("/gardens/{gardenId}/sensors/{sensorId}/rollups")
+    @RateLimiter(name = "standard-api")
+    public ResponseEntity<ApiResponse<List<SensorRollupPoint>>> getRollups(
+            @PathVariable String gardenId,
+            @PathVariable String sensorId,
+            @RequestParam SensorMetric metric,
+            @RequestParam(defaultValue = "HOUR") RollupGranularity granularity,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        return ResponseUtil.success(
+                "Sensor rollups retrieved successfully",
+                sensorIngestionService.getRollups(gardenId, sensorId, metric, granularity, from, to));
+    }
+}
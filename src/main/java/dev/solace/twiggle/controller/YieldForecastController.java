@@ -0,0 +1,33 @@
+package dev.solace.twiggle.controller;
+
+import dev.solace.twiggle.dto.ApiResponse;
+import dev.solace.twiggle.model.forecast.YieldForecast;
+import dev.solace.twiggle.service.forecast.YieldForecastService;
+import dev.solace.twiggle.util.ResponseUtil;
+import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller class for reading the latest nightly yield and harvest date forecast of a garden.
+ */
+@RestController
+@RequestMapping("api/v1")
+@RateLimiter(name = "standard-api")
+public class YieldForecastController {
+
+    private final YieldForecastService yieldForecastService;
+
+    public YieldForecastController(YieldForecastService yieldForecastService) {
+        this.yieldForecastService = yieldForecastService;
+    }
+
+    @GetMapping("/gardens/{gardenId}/yield-forecast")
+    public ResponseEntity<ApiResponse<YieldForecast>> getForecast(@PathVariable String gardenId) {
+        return ResponseUtil.success(
+                "Yield forecast retrieved successfully", yieldForecastService.getForecast(gardenId));
+    }
+}
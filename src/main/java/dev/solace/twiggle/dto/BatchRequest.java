@@ -0,0 +1,42 @@
+package dev.solace.twiggle.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO class for a batch of GET requests answered in one round trip.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequest {
+    @NotEmpty
+    private List<@Valid SubRequest> requests;
+
+    /**
+     * One request of the batch; {@code path} is relative to the server root and may carry a query string. Its
+     * result is returned under {@code id}, or under its position in the batch when no id is given.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SubRequest {
+        @Size(max = 64)
+        private String id;
+
+        private String method;
+
+        @NotBlank
+        @Size(max = 2048)
+        private String path;
+    }
+}
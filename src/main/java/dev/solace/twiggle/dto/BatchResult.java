@@ -0,0 +1,23 @@
+package dev.solace.twiggle.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO class for the outcome of one request of a batch: its status and the {@link ApiResponse} or error response
+ * body it would have been answered with on its own, embedded as is.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResult {
+    private String id;
+    private int status;
+
+    @JsonRawValue
+    private String body;
+}
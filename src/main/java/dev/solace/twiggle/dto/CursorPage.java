@@ -0,0 +1,20 @@
+package dev.solace.twiggle.dto;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * One page of a keyset-paginated result along with the cursor for the page after it.
+ */
+@Data
+@Builder
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public static <T> CursorPage<T> empty() {
+        return CursorPage.<T>builder().items(List.of()).hasMore(false).build();
+    }
+}
@@ -0,0 +1,24 @@
+package dev.solace.twiggle.dto;
+
+import dev.solace.twiggle.model.stats.GardenStats;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * DTO class for the dashboard statistics of a garden. {@code asOf} is {@code null} for a garden without any.
+ */
+@Data
+@Builder
+public class GardenStatsView {
+    private String gardenId;
+    private long layoutVersion;
+    private int placements;
+    private List<GardenStats.PlantCount> plants;
+    private int upcomingTasks;
+    private Map<String, Integer> upcomingTasksByType;
+    private int wateringsThisWeek;
+    private Instant asOf;
+}
@@ -0,0 +1,28 @@
+package dev.solace.twiggle.dto;
+
+import dev.solace.twiggle.model.layout.LayoutOperation;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO class for a batch of layout operations applied on top of {@code baseVersion}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LayoutDeltaRequest {
+    @PositiveOrZero
+    private long baseVersion;
+
+    @NotEmpty
+    @Size(max = 500)
+    private List<@Valid LayoutOperation> operations;
+}
@@ -0,0 +1,19 @@
+package dev.solace.twiggle.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import dev.solace.twiggle.model.layout.Placement;
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * DTO class for the current state of a garden layout. Responses to delta updates carry only the new version.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LayoutView {
+    private String gardenId;
+    private long version;
+    private List<Placement> placements;
+}
@@ -0,0 +1,33 @@
+package dev.solace.twiggle.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * DTO class for API responses carrying one page of a cursor-paginated list.
+ */
+@Data
+@Builder
+public class PagedApiResponse<T> {
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss")
+    private LocalDateTime timestamp;
+
+    private int status;
+    private String message;
+    private List<T> data;
+    private PageInfo page;
+
+    /**
+     * Pagination metadata; pass {@code nextCursor} back as the {@code cursor} parameter to fetch the next page.
+     */
+    @Data
+    @Builder
+    public static class PageInfo {
+        private int size;
+        private boolean hasMore;
+        private String nextCursor;
+    }
+}
@@ -0,0 +1,25 @@
+package dev.solace.twiggle.dto;
+
+import dev.solace.twiggle.model.photo.ThumbnailStatus;
+import java.time.Instant;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * DTO class for an uploaded photo. {@code width} and {@code height} are {@code null} until the thumbnail worker
+ * has read the image.
+ */
+@Data
+@Builder
+public class PhotoView {
+    private String id;
+    private String gardenId;
+    private String plantId;
+    private String filename;
+    private String contentType;
+    private long size;
+    private Integer width;
+    private Integer height;
+    private ThumbnailStatus thumbnail;
+    private Instant uploadedAt;
+}
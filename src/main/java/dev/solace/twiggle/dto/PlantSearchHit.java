@@ -0,0 +1,16 @@
+package dev.solace.twiggle.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * DTO class for a single plant search match.
+ */
+@Data
+@Builder
+public class PlantSearchHit {
+    private String id;
+    private String commonName;
+    private String scientificName;
+    private double score;
+}
@@ -0,0 +1,20 @@
+package dev.solace.twiggle.dto;
+
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * DTO class for plant search results with facet counts.
+ *
+ * <p>Facet counts for a facet ignore that facet's own filter, so clients can show how many results selecting
+ * another value would yield.
+ */
+@Data
+@Builder
+public class PlantSearchResult {
+    private int total;
+    private List<PlantSearchHit> hits;
+    private Map<String, Map<String, Integer>> facets;
+}
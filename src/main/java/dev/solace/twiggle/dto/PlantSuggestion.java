@@ -0,0 +1,16 @@
+package dev.solace.twiggle.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * DTO class for a plant name autocomplete suggestion.
+ */
+@Data
+@Builder
+public class PlantSuggestion {
+    private String text;
+    private String plantId;
+    private boolean scientificName;
+    private int popularity;
+}
@@ -0,0 +1,28 @@
+package dev.solace.twiggle.dto;
+
+import dev.solace.twiggle.model.Plant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * DTO class for what can be planted at a location in the week of a given date.
+ *
+ * <p>{@code lastFrost} and {@code firstFrost} are the median frost dates of that year and {@code null} where it does
+ * not freeze. {@code plants} are the best matching plants of the open seasons that tolerate the zone, and empty when
+ * no season is open or none were asked for.
+ */
+@Data
+@Builder
+public class PlantingCalendarView {
+    private String zone;
+    private int hardinessZone;
+    private LocalDate date;
+    private boolean frostFree;
+    private LocalDate lastFrost;
+    private LocalDate firstFrost;
+    private Set<Plant.Season> plantableSeasons;
+    private List<PlantSearchHit> plants;
+}
@@ -0,0 +1,22 @@
+package dev.solace.twiggle.dto;
+
+import dev.solace.twiggle.model.ReminderType;
+import java.time.Instant;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * DTO class for a reminder as pushed on the reminder stream. {@code id} increases per user and doubles as the
+ * SSE event id.
+ */
+@Data
+@Builder
+public class ReminderEvent {
+    private long id;
+    private ReminderType type;
+    private String gardenId;
+    private String plantId;
+    private String message;
+    private Instant dueAt;
+    private Instant createdAt;
+}
@@ -0,0 +1,29 @@
+package dev.solace.twiggle.dto;
+
+import dev.solace.twiggle.model.ReminderType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO class for a care reminder to deliver to a user.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderRequest {
+    @NotNull private ReminderType type;
+
+    private String gardenId;
+    private String plantId;
+
+    @Size(max = 280)
+    private String message;
+
+    private Instant dueAt;
+}
@@ -0,0 +1,13 @@
+package dev.solace.twiggle.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * DTO class for an accepted batch of sensor readings. Accepted readings are written shortly afterwards.
+ */
+@Data
+@Builder
+public class SensorIngestResult {
+    private int accepted;
+}
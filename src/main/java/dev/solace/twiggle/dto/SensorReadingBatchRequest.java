@@ -0,0 +1,23 @@
+package dev.solace.twiggle.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO class for a batch of readings reported by the sensors of one garden.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SensorReadingBatchRequest {
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@Valid SensorReadingRequest> readings;
+}
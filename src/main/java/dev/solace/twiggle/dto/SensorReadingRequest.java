@@ -0,0 +1,28 @@
+package dev.solace.twiggle.dto;
+
+import dev.solace.twiggle.model.sensor.SensorMetric;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO class for one sensor reading. Readings without a {@code timestamp} are stamped on arrival.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SensorReadingRequest {
+    @NotNull @Pattern(regexp = "[A-Za-z0-9_.-]{1,64}")
+    private String sensorId;
+
+    @NotNull private SensorMetric metric;
+
+    @NotNull private Double value;
+
+    private Instant timestamp;
+}
@@ -0,0 +1,18 @@
+package dev.solace.twiggle.dto;
+
+import java.time.Instant;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * DTO class for the downsampled readings of one bucket.
+ */
+@Data
+@Builder
+public class SensorRollupPoint {
+    private Instant bucketStart;
+    private long count;
+    private double min;
+    private double max;
+    private double avg;
+}
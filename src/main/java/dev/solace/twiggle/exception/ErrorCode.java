@@ -16,13 +16,20 @@ public enum ErrorCode {
     MALFORMED_JSON("Please verify the JSON syntax and data types in your request."),
     INVALID_ARGUMENT("Please check the argument values against the API specifications."),
     UNSUPPORTED_MEDIA_TYPE("Please use one of the supported media types for this endpoint."),
+    PAYLOAD_TOO_LARGE("Please send a smaller file; the size limit is stated in the error message."),
+    RESPONSE_TOO_LARGE("Please request this resource on its own; the size limit is stated in the error message."),
+    INVALID_CURSOR("Please restart pagination without a cursor; the supplied cursor is invalid for this query."),
     // Authentication & Authorization Errors
     ACCESS_DENIED("Please ensure you have the necessary permissions or authenticate properly."),
     // Resource & Method Errors
     RESOURCE_NOT_FOUND("Please verify the requested resource exists and the URL is correct."),
     METHOD_NOT_ALLOWED("Please use one of the supported HTTP methods for this endpoint."),
+    VERSION_CONFLICT("Please reload the latest version of the resource and reapply your changes."),
+    IDEMPOTENCY_KEY_REUSED("Please use a new Idempotency-Key for a request with a different body or endpoint."),
+    REQUEST_IN_PROGRESS("A request with this Idempotency-Key is still being processed. Please retry shortly."),
     // System Errors
     INTERNAL_ERROR("Please try again later or contact support if the issue persists."),
+    SERVICE_UNAVAILABLE("The service is temporarily unavailable. Please retry after a short delay."),
     RATE_LIMIT_EXCEEDED(
             "Please wait and try your request again later. Contact support if you need a higher rate limit.");
 
@@ -1,5 +1,6 @@
 package dev.solace.twiggle.exception;
 
+import io.micrometer.common.KeyValue;
 import io.micrometer.common.lang.NonNullApi;
 import jakarta.validation.ConstraintViolationException;
 import java.nio.file.AccessDeniedException;
@@ -18,7 +19,9 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.filter.ServerHttpObservationFilter;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
@@ -31,6 +34,9 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 @NonNullApi
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
+    /** Key of the {@link ErrorCode} on the trace of a request that ended in an error response. */
+    public static final String ERROR_CODE_KEY = "error.code";
+
     @ExceptionHandler(CustomException.class)
     public ResponseEntity<Object> handleCustomException(CustomException ex, WebRequest request) {
         return buildErrorResponse(ex, ex.getMessage(), ex.getStatus(), ex.getErrorCode(), request);
@@ -166,6 +172,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
             WebRequest request,
             List<String> details) {
         log.error("Exception occurred:", exception);
+        traceError(exception, errorCode, request);
 
         ApiErrorResponse errorResponse = ApiErrorResponse.builder()
                 .timestamp(java.time.LocalDateTime.now())
@@ -180,4 +187,18 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
         return new ResponseEntity<>(errorResponse, httpStatus);
     }
+
+    /**
+     * Exceptions handled here never reach the observation filter, so the request's observation is told about them:
+     * the error fails the request span and the error code says why.
+     */
+    private static void traceError(Exception exception, ErrorCode errorCode, WebRequest request) {
+        if (request instanceof ServletWebRequest servletRequest) {
+            ServerHttpObservationFilter.findObservationContext(servletRequest.getRequest())
+                    .ifPresent(context -> {
+                        context.setError(exception);
+                        context.addHighCardinalityKeyValue(KeyValue.of(ERROR_CODE_KEY, errorCode.name()));
+                    });
+        }
+    }
 }
@@ -0,0 +1,32 @@
+package dev.solace.twiggle.model;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A care reminder scheduled for a user.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = CareReminder.COLLECTION)
+public class CareReminder {
+    public static final String COLLECTION = "care_reminders";
+
+    @Id
+    private String id;
+
+    private String userId;
+    private ReminderType type;
+    private String gardenId;
+    private String plantId;
+    private String message;
+    private Instant dueAt;
+    private Instant createdAt;
+}
@@ -0,0 +1,74 @@
+package dev.solace.twiggle.model;
+
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Plant species in the catalog.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = Plant.COLLECTION)
+public class Plant {
+    public static final String COLLECTION = "plants";
+
+    @Id
+    private String id;
+
+    private String commonName;
+    private String scientificName;
+    private String description;
+    private SunExposure sunExposure;
+    private WaterNeed waterNeed;
+    private Set<Season> seasons;
+    private int minHardinessZone;
+    private int maxHardinessZone;
+    private boolean edible;
+
+    /** Relative popularity used to rank otherwise equal matches; higher is more popular. */
+    private int popularity;
+
+    /**
+     * Growing degree days above {@code twiggle.forecast.base-temperature} from planting to harvest; {@code null} for
+     * plants without a yield forecast.
+     */
+    private Integer growingDegreeDays;
+
+    /** Expected harvest per plant in kilograms; {@code null} for plants without a yield forecast. */
+    private Double yieldPerPlant;
+
+    /**
+     * Amount of direct sunlight a plant needs.
+     */
+    public enum SunExposure {
+        FULL_SUN,
+        PARTIAL_SHADE,
+        FULL_SHADE
+    }
+
+    /**
+     * How much watering a plant needs.
+     */
+    public enum WaterNeed {
+        LOW,
+        MEDIUM,
+        HIGH
+    }
+
+    /**
+     * Growing seasons.
+     */
+    public enum Season {
+        SPRING,
+        SUMMER,
+        AUTUMN,
+        WINTER
+    }
+}
@@ -0,0 +1,12 @@
+package dev.solace.twiggle.model;
+
+/**
+ * Kinds of plant care a user can be reminded about.
+ */
+public enum ReminderType {
+    WATER,
+    FERTILIZE,
+    PRUNE,
+    HARVEST,
+    REPOT
+}
@@ -0,0 +1,37 @@
+package dev.solace.twiggle.model.forecast;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Progress of one nightly yield forecast run, which doubles as its lease and its checkpoint.
+ *
+ * <p>Every garden up to and including {@code lastGardenId} has been forecast and written, so a run taken over after
+ * a crash or restart continues after it. The instance named by {@code owner} holds the run until
+ * {@code leaseUntil}, and renews the lease with every checkpoint it saves.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = ForecastRun.COLLECTION)
+public class ForecastRun {
+    public static final String COLLECTION = "forecast_runs";
+
+    /** ISO date of the run. */
+    @Id
+    private String id;
+
+    private String lastGardenId;
+    private long gardens;
+    private String owner;
+    private Instant leaseUntil;
+    private Instant startedAt;
+    private Instant updatedAt;
+    private Instant completedAt;
+}
@@ -0,0 +1,61 @@
+package dev.solace.twiggle.model.forecast;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Harvest dates and yields forecast for the plants of one garden by the nightly forecast run of {@code runDate}.
+ *
+ * <p>Percentiles are taken over the simulated weather paths. Harvest dates are {@code null} when fewer than half
+ * of the paths reach harvest within the forecast horizon.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = YieldForecast.COLLECTION)
+public class YieldForecast {
+    public static final String COLLECTION = "yield_forecasts";
+
+    @Id
+    private String gardenId;
+
+    private LocalDate runDate;
+
+    /** Days of temperature readings the forecast was calibrated on; {@code 0} when it used the default climate. */
+    private int sensorDays;
+
+    private double meanTemperature;
+    private double expectedYield;
+    private List<PlantForecast> plants;
+    private Instant computedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PlantForecast {
+        private String plantId;
+        private int count;
+
+        /** Share of simulated paths in which the plants are ready to harvest within the horizon. */
+        private double harvestProbability;
+
+        private LocalDate earliestHarvest;
+        private LocalDate expectedHarvest;
+        private LocalDate latestHarvest;
+
+        /** Mean harvest of all plants of this kind in kilograms, and its 10th and 90th percentile. */
+        private double expectedYield;
+
+        private double yieldP10;
+        private double yieldP90;
+    }
+}
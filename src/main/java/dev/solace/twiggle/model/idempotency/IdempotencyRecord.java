@@ -0,0 +1,41 @@
+package dev.solace.twiggle.model.idempotency;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A client-supplied {@code Idempotency-Key} and what became of the request that first used it.
+ *
+ * <p>While {@code IN_FLIGHT} the record is locked to the request holding {@code lockToken} until {@code lockedUntil};
+ * a lock left behind by a crashed instance can be taken over once it runs out. Records of either status are removed
+ * by a TTL index on {@code expiresAt}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = IdempotencyRecord.COLLECTION)
+public class IdempotencyRecord {
+    public static final String COLLECTION = "idempotency_keys";
+
+    /** Method, path and key, so the same key sent to two endpoints does not collide. */
+    @Id
+    private String id;
+
+    /** SHA-256 of the request body, to reject a key reused for a different request. */
+    private String requestHash;
+
+    private IdempotencyStatus status;
+    private String lockToken;
+    private Instant lockedUntil;
+    private int responseStatus;
+    private String contentType;
+    private byte[] responseBody;
+    private Instant createdAt;
+    private Instant expiresAt;
+}
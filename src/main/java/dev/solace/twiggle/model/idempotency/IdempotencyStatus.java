@@ -0,0 +1,11 @@
+package dev.solace.twiggle.model.idempotency;
+
+/**
+ * Lifecycle of an {@link IdempotencyRecord}.
+ */
+public enum IdempotencyStatus {
+    // The first request with the key is still running.
+    IN_FLIGHT,
+    // The response has been stored and is replayed to retries.
+    COMPLETED
+}
@@ -0,0 +1,480 @@
+package dev.solace.twiggle.model.layout;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of the placements of a garden layout, stored as BinData instead of one sub-document per
+ * placement.
+ *
+ * <p>The encoding is columnar, in placement order:
+ * <ol>
+ *   <li>a format byte and the number of placements;
+ *   <li>the palette of distinct plant ids, then each placement's index into it, either bit-packed with as few bits
+ *       as the palette needs or run-length encoded, whichever is smaller;
+ *   <li>the x and then the y coordinates, each as bit-packed offsets from the axis minimum in fixed point with the
+ *       fewest fractional bits that represent every value exactly, or as raw doubles when no such scale exists;
+ *   <li>the placement ids, each stored as the length of the prefix it shares with the previous id and the rest.
+ * </ol>
+ * Integers are unsigned LEB128 varints, signed ones zigzag encoded, and strings UTF-8 prefixed by their length plus
+ * one, so that {@code 0} stands for {@code null}. Decoding gives back exactly the placements that were encoded.
+ */
+public final class LayoutCodec {
+
+    static final int FORMAT = 1;
+
+    /** Most fractional bits tried for fixed-point coordinates: down to 1/256 of a grid unit. */
+    static final int MAX_SCALE_BITS = 8;
+
+    static final int PACKED = 0;
+    static final int RUN_LENGTH = 1;
+    static final int RAW = 0x7F;
+
+    /** Fixed-point values must be exact doubles, so magnitudes stay within the 53-bit significand. */
+    private static final double MAX_FIXED_POINT = 0x1p53;
+
+    private LayoutCodec() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    public static byte[] encode(List<Placement> placements) {
+        int count = placements.size();
+        Writer out = new Writer(16 + count * 6);
+        out.put(FORMAT);
+        out.varint(count);
+
+        Map<String, Integer> paletteIndex = new HashMap<>();
+        List<String> palette = new ArrayList<>();
+        int[] plants = new int[count];
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        for (int i = 0; i < count; i++) {
+            Placement placement = placements.get(i);
+            // HashMap accepts a null key, so placements without a plant share one palette entry.
+            plants[i] = paletteIndex.computeIfAbsent(placement.getPlantId(), plantId -> {
+                palette.add(plantId);
+                return palette.size() - 1;
+            });
+            xs[i] = placement.getX();
+            ys[i] = placement.getY();
+        }
+        out.varint(palette.size());
+        palette.forEach(out::string);
+        encodePlants(out, plants, bitsFor(palette.size()));
+        encodeAxis(out, xs);
+        encodeAxis(out, ys);
+
+        String previous = "";
+        for (Placement placement : placements) {
+            String id = placement.getId();
+            if (id == null) {
+                out.varint(0);
+                out.varint(0);
+                continue;
+            }
+            int shared = sharedPrefix(previous, id);
+            out.varint(shared);
+            out.string(id.substring(shared));
+            previous = id;
+        }
+        return out.toByteArray();
+    }
+
+    public static List<Placement> decode(byte[] bytes) {
+        Reader in = new Reader(bytes);
+        int count = header(in);
+        int paletteSize = in.length(bytes.length);
+        String[] palette = new String[paletteSize];
+        for (int i = 0; i < paletteSize; i++) {
+            palette[i] = in.string();
+        }
+        int[] plants = decodePlants(in, count, paletteSize);
+        double[] xs = decodeAxis(in, count);
+        double[] ys = decodeAxis(in, count);
+
+        List<Placement> placements = new ArrayList<>(count);
+        String previous = "";
+        for (int i = 0; i < count; i++) {
+            int shared = in.length(previous.length());
+            String suffix = in.string();
+            String id = null;
+            if (suffix != null) {
+                id = shared == 0 ? suffix : previous.substring(0, shared) + suffix;
+                previous = id;
+            } else if (shared != 0) {
+                throw corrupt("prefix of a missing placement id");
+            }
+            placements.add(Placement.builder()
+                    .id(id)
+                    .plantId(palette[plants[i]])
+                    .x(xs[i])
+                    .y(ys[i])
+                    .build());
+        }
+        if (in.remaining() != 0) {
+            throw corrupt(in.remaining() + " trailing bytes");
+        }
+        return placements;
+    }
+
+    /** Returns the number of placements encoded in {@code bytes} without decoding them. */
+    public static int size(byte[] bytes) {
+        return header(new Reader(bytes));
+    }
+
+    private static int header(Reader in) {
+        int format = in.get();
+        if (format != FORMAT) {
+            throw corrupt("unknown format " + format);
+        }
+        // Every placement takes at least two bytes for its id, which bounds what a corrupt count can allocate.
+        return in.length(in.remaining() / 2);
+    }
+
+    private static void encodePlants(Writer out, int[] plants, int bits) {
+        int runs = 0;
+        long runLengthBytes = 0;
+        for (int start = 0, end; start < plants.length; start = end) {
+            end = start + 1;
+            while (end < plants.length && plants[end] == plants[start]) {
+                end++;
+            }
+            runs++;
+            runLengthBytes += Writer.varintSize(plants[start]) + Writer.varintSize(end - start);
+        }
+        long packedBytes = ((long) plants.length * bits + 7) / 8;
+        if (runLengthBytes + Writer.varintSize(runs) < packedBytes) {
+            out.put(RUN_LENGTH);
+            out.varint(runs);
+            for (int start = 0, end; start < plants.length; start = end) {
+                end = start + 1;
+                while (end < plants.length && plants[end] == plants[start]) {
+                    end++;
+                }
+                out.varint(plants[start]);
+                out.varint(end - start);
+            }
+        } else {
+            out.put(PACKED);
+            for (int plant : plants) {
+                out.bits(plant, bits);
+            }
+            out.flushBits();
+        }
+    }
+
+    private static int[] decodePlants(Reader in, int count, int paletteSize) {
+        int[] plants = new int[count];
+        int mode = in.get();
+        if (mode == RUN_LENGTH) {
+            int runs = in.length(count);
+            int filled = 0;
+            for (int run = 0; run < runs; run++) {
+                int plant = in.length(paletteSize - 1);
+                int length = in.length(count - filled);
+                Arrays.fill(plants, filled, filled + length, plant);
+                filled += length;
+            }
+            if (filled != count) {
+                throw corrupt("runs cover " + filled + " of " + count + " placements");
+            }
+        } else if (mode == PACKED) {
+            int bits = bitsFor(paletteSize);
+            for (int i = 0; i < count; i++) {
+                long plant = in.bits(bits);
+                if (plant >= paletteSize) {
+                    throw corrupt("plant index " + plant + " outside a palette of " + paletteSize);
+                }
+                plants[i] = (int) plant;
+            }
+            in.alignToByte();
+        } else {
+            throw corrupt("unknown plant encoding " + mode);
+        }
+        return plants;
+    }
+
+    private static void encodeAxis(Writer out, double[] values) {
+        int scaleBits = scaleBits(values);
+        if (scaleBits < 0) {
+            out.put(RAW);
+            for (double value : values) {
+                out.longBits(Double.doubleToRawLongBits(value));
+            }
+            return;
+        }
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (double value : values) {
+            long scaled = (long) Math.scalb(value, scaleBits);
+            min = Math.min(min, scaled);
+            max = Math.max(max, scaled);
+        }
+        int width = values.length == 0 ? 0 : 64 - Long.numberOfLeadingZeros(max - min);
+        out.put(scaleBits);
+        out.varint(zigzag(values.length == 0 ? 0 : min));
+        out.put(width);
+        for (double value : values) {
+            out.bits((long) Math.scalb(value, scaleBits) - min, width);
+        }
+        out.flushBits();
+    }
+
+    private static double[] decodeAxis(Reader in, int count) {
+        double[] values = new double[count];
+        int mode = in.get();
+        if (mode == RAW) {
+            for (int i = 0; i < count; i++) {
+                values[i] = Double.longBitsToDouble(in.longBits());
+            }
+            return values;
+        }
+        if (mode > MAX_SCALE_BITS) {
+            throw corrupt("unknown coordinate scale " + mode);
+        }
+        long min = unzigzag(in.varint());
+        int width = in.get();
+        if (width > 55) {
+            throw corrupt("coordinate width " + width);
+        }
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.scalb((double) (min + in.bits(width)), -mode);
+        }
+        in.alignToByte();
+        return values;
+    }
+
+    /**
+     * Returns the fewest fractional bits that make every value an exact integer, or {@code -1} if none up to
+     * {@link #MAX_SCALE_BITS} does. Negative zero, infinities and NaN only survive as raw doubles.
+     */
+    static int scaleBits(double[] values) {
+        for (int scaleBits = 0; scaleBits <= MAX_SCALE_BITS; scaleBits++) {
+            if (exactAt(values, scaleBits)) {
+                return scaleBits;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean exactAt(double[] values, int scaleBits) {
+        for (double value : values) {
+            double scaled = Math.scalb(value, scaleBits);
+            if (!(Math.abs(scaled) < MAX_FIXED_POINT) || Double.compare(scaled, (double) (long) scaled) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static int bitsFor(int paletteSize) {
+        return paletteSize <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(paletteSize - 1);
+    }
+
+    private static int sharedPrefix(String previous, String id) {
+        int max = Math.min(previous.length(), id.length());
+        int shared = 0;
+        while (shared < max && previous.charAt(shared) == id.charAt(shared)) {
+            shared++;
+        }
+        // Never split a surrogate pair, or the suffix would not be valid UTF-8.
+        if (shared > 0 && shared < id.length() && Character.isLowSurrogate(id.charAt(shared))) {
+            shared--;
+        }
+        return shared;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static IllegalArgumentException corrupt(String detail) {
+        return new IllegalArgumentException("Corrupt packed layout: " + detail);
+    }
+
+    /** Growable output with varints, strings and MSB-first bit packing. */
+    private static final class Writer {
+
+        private byte[] buffer;
+        private int position;
+        private long pendingBits;
+        private int pendingCount;
+
+        Writer(int capacity) {
+            buffer = new byte[capacity];
+        }
+
+        static int varintSize(long value) {
+            return value == 0 ? 1 : (63 - Long.numberOfLeadingZeros(value)) / 7 + 1;
+        }
+
+        void put(int value) {
+            ensure(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void varint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void longBits(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void string(String value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length + 1L);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void bits(long value, int count) {
+            while (count > 0) {
+                int take = Math.min(count, 8 - pendingCount);
+                long chunk = (value >>> (count - take)) & ((1L << take) - 1);
+                pendingBits = (pendingBits << take) | chunk;
+                pendingCount += take;
+                count -= take;
+                if (pendingCount == 8) {
+                    put((int) pendingBits);
+                    pendingBits = 0;
+                    pendingCount = 0;
+                }
+            }
+        }
+
+        void flushBits() {
+            if (pendingCount > 0) {
+                put((int) (pendingBits << (8 - pendingCount)));
+                pendingBits = 0;
+                pendingCount = 0;
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensure(int bytes) {
+            if (position + bytes > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+            }
+        }
+    }
+
+    /** Bounds-checked reader mirroring {@link Writer}. */
+    private static final class Reader {
+
+        private final byte[] buffer;
+        private int position;
+        private int bitOffset;
+
+        Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        int remaining() {
+            return buffer.length - position;
+        }
+
+        int get() {
+            require(1);
+            return buffer[position++] & 0xFF;
+        }
+
+        long varint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = get();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw corrupt("varint longer than 64 bits");
+        }
+
+        /** Reads a varint that must lie within {@code [0, max]}. */
+        int length(int max) {
+            long value = varint();
+            if (value < 0 || value > max) {
+                throw corrupt("value " + value + " out of range");
+            }
+            return (int) value;
+        }
+
+        long longBits() {
+            require(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        String string() {
+            long length = varint();
+            if (length == 0) {
+                return null;
+            }
+            if (length < 0 || length - 1 > remaining()) {
+                throw corrupt("string of " + (length - 1) + " bytes past the end");
+            }
+            String value = new String(buffer, position, (int) length - 1, StandardCharsets.UTF_8);
+            position += (int) length - 1;
+            return value;
+        }
+
+        long bits(int count) {
+            long value = 0;
+            while (count > 0) {
+                require(1);
+                int take = Math.min(count, 8 - bitOffset);
+                int current = buffer[position] & 0xFF;
+                int chunk = (current >>> (8 - bitOffset - take)) & ((1 << take) - 1);
+                value = (value << take) | chunk;
+                bitOffset += take;
+                count -= take;
+                if (bitOffset == 8) {
+                    position++;
+                    bitOffset = 0;
+                }
+            }
+            return value;
+        }
+
+        void alignToByte() {
+            if (bitOffset > 0) {
+                position++;
+                bitOffset = 0;
+            }
+        }
+
+        private void require(int bytes) {
+            if (position + bytes > buffer.length) {
+                throw corrupt("truncated at byte " + position);
+            }
+        }
+    }
+}
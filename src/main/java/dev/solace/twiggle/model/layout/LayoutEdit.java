@@ -0,0 +1,31 @@
+package dev.solace.twiggle.model.layout;
+
+import java.time.Instant;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * One appended entry of a garden's layout edit log. {@code (gardenId, version)} is unique, which makes the append
+ * itself the optimistic concurrency check.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = LayoutEdit.COLLECTION)
+public class LayoutEdit {
+    public static final String COLLECTION = "layout_edits";
+
+    @Id
+    private String id;
+
+    private String gardenId;
+    private long version;
+    private List<LayoutOperation> operations;
+    private Instant createdAt;
+}
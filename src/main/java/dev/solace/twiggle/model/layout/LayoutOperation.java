@@ -0,0 +1,37 @@
+package dev.solace.twiggle.model.layout;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A single change to a garden layout. {@code plantId} is required for {@link Type#ADD}; {@code x} and {@code y} are
+ * used by {@link Type#ADD} and {@link Type#MOVE}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LayoutOperation {
+
+    @NotNull private Type type;
+
+    @NotBlank
+    private String placementId;
+
+    private String plantId;
+    private double x;
+    private double y;
+
+    /**
+     * Kinds of layout change.
+     */
+    public enum Type {
+        ADD,
+        MOVE,
+        REMOVE
+    }
+}
@@ -0,0 +1,46 @@
+package dev.solace.twiggle.model.layout;
+
+import java.time.Instant;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Compacted state of a garden layout as of {@code version}; edits after it are replayed from the edit log.
+ * Placements are stored packed in {@code layout}, and while older releases may still run, also as one sub-document
+ * each in {@code placements}. {@code layoutVersion} records the version {@code layout} was packed at: an older release
+ * compacting the snapshot rewrites {@code version} and {@code placements} but leaves {@code layout} behind.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = LayoutSnapshot.COLLECTION)
+public class LayoutSnapshot {
+    public static final String COLLECTION = "layout_snapshots";
+
+    @Id
+    private String gardenId;
+
+    private long version;
+    private PackedLayout layout;
+    private Long layoutVersion;
+    private List<Placement> placements;
+    private Instant updatedAt;
+
+    /**
+     * Returns the placements from whichever of the two formats holds the snapshot's version.
+     */
+    public List<Placement> decodePlacements() {
+        // Packed snapshots written before layoutVersion existed have no placements to fall back on.
+        boolean layoutCurrent = layoutVersion != null ? layoutVersion == version : placements == null;
+        if (layout != null && layoutCurrent) {
+            return layout.placements();
+        }
+        return placements != null ? placements : List.of();
+    }
+}
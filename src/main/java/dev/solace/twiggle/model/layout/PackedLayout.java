@@ -0,0 +1,92 @@
+package dev.solace.twiggle.model.layout;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import org.bson.types.Binary;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+/**
+ * Placements of a layout in the compact {@link LayoutCodec} encoding. Mapped documents store it as BinData through
+ * {@link #CONVERTERS}, registered with the application's Mongo conversions, and JSON views render it as the plain
+ * list of placements. Instances are immutable; placements are decoded on every call to {@link #placements()}.
+ */
+public final class PackedLayout {
+
+    /** Converters between the encoding and BinData, for templates and repositories alike. */
+    public static final List<Converter<?, ?>> CONVERTERS = List.of(new Writer(), new Reader());
+
+    private final byte[] bytes;
+
+    private PackedLayout(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    @JsonCreator
+    public static PackedLayout of(List<Placement> placements) {
+        return new PackedLayout(LayoutCodec.encode(placements));
+    }
+
+    /** Wraps an existing encoding; its header is checked here, the rest when it is decoded. */
+    public static PackedLayout fromBytes(byte[] bytes) {
+        byte[] copy = bytes.clone();
+        LayoutCodec.size(copy);
+        return new PackedLayout(copy);
+    }
+
+    @JsonValue
+    public List<Placement> placements() {
+        return LayoutCodec.decode(bytes);
+    }
+
+    public int size() {
+        return LayoutCodec.size(bytes);
+    }
+
+    public byte[] toBytes() {
+        return bytes.clone();
+    }
+
+    /** Encoded size in bytes. */
+    public int length() {
+        return bytes.length;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof PackedLayout packed && Arrays.equals(bytes, packed.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
+    }
+
+    @Override
+    public String toString() {
+        return "PackedLayout[" + size() + " placements, " + bytes.length + " bytes]";
+    }
+
+    @WritingConverter
+    static final class Writer implements Converter<PackedLayout, Binary> {
+        @Override
+        public Binary convert(PackedLayout source) {
+            // Owned by the immutable instance and never modified, so not copied.
+            return new Binary(source.bytes);
+        }
+    }
+
+    @ReadingConverter
+    static final class Reader implements Converter<Binary, PackedLayout> {
+        @Override
+        public PackedLayout convert(Binary source) {
+            byte[] data = Objects.requireNonNull(source.getData());
+            LayoutCodec.size(data);
+            return new PackedLayout(data);
+        }
+    }
+}
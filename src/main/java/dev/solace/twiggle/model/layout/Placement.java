@@ -0,0 +1,20 @@
+package dev.solace.twiggle.model.layout;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A plant placed at a position in a garden layout, in layout grid units.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Placement {
+    private String id;
+    private String plantId;
+    private double x;
+    private double y;
+}
@@ -0,0 +1,41 @@
+package dev.solace.twiggle.model.outbox;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A notification written in the same transaction as the domain change that caused it, awaiting delivery.
+ *
+ * <p>{@code availableAt} doubles as the lease: a dispatcher claims a message by pushing it into the future and
+ * stamping {@code leaseToken}, so a message whose dispatcher died becomes claimable again once the lease runs out.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = OutboxMessage.COLLECTION)
+public class OutboxMessage {
+    public static final String COLLECTION = "outbox";
+
+    @Id
+    private String id;
+
+    /** Kind of notification, which tells the sender how to read {@code payload}. */
+    private String type;
+
+    private String recipient;
+    private org.bson.Document payload;
+    private OutboxStatus status;
+    private int attempts;
+    private Instant availableAt;
+    private String leaseToken;
+    private String leaseOwner;
+    private String lastError;
+    private Instant createdAt;
+    private Instant sentAt;
+}
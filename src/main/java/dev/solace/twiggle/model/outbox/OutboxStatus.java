@@ -0,0 +1,12 @@
+package dev.solace.twiggle.model.outbox;
+
+/**
+ * Delivery state of an {@link OutboxMessage}.
+ */
+public enum OutboxStatus {
+    /** Waiting for delivery, or leased to a dispatcher until {@code availableAt}. */
+    PENDING,
+    SENT,
+    /** Gave up after the maximum number of attempts; kept for inspection. */
+    DEAD
+}
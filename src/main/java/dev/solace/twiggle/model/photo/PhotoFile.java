@@ -0,0 +1,60 @@
+package dev.solace.twiggle.model.photo;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * The GridFS files document of an uploaded photo. The bytes are in the {@value #BUCKET} bucket's chunks and are only
+ * ever streamed; this class maps the descriptor, which is small enough to query like any other document.
+ *
+ * <p>Photos are immutable once stored, so the id doubles as their entity tag. Only the thumbnail fields of the
+ * metadata change, once, when a thumbnail worker gets to the photo; the thumbnail itself is a file of the
+ * {@value #THUMBNAIL_BUCKET} bucket.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = PhotoFile.COLLECTION)
+public class PhotoFile {
+    public static final String BUCKET = "photos";
+    public static final String COLLECTION = BUCKET + ".files";
+    public static final String THUMBNAIL_BUCKET = "photo_thumbnails";
+
+    @Id
+    private ObjectId id;
+
+    private String filename;
+    private long length;
+    private int chunkSize;
+    private Instant uploadDate;
+    private Metadata metadata;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Metadata {
+        public static final String GARDEN_ID = "gardenId";
+        public static final String PLANT_ID = "plantId";
+        public static final String CONTENT_TYPE = "contentType";
+        public static final String THUMBNAIL = "thumbnail";
+        public static final String WIDTH = "width";
+        public static final String HEIGHT = "height";
+        public static final String THUMBNAIL_ID = "thumbnailId";
+
+        private String gardenId;
+        private String plantId;
+        private String contentType;
+        private ThumbnailStatus thumbnail;
+        private ObjectId thumbnailId;
+        private Integer width;
+        private Integer height;
+    }
+}
@@ -0,0 +1,15 @@
+package dev.solace.twiggle.model.photo;
+
+/**
+ * Progress of the thumbnail of an uploaded photo.
+ */
+public enum ThumbnailStatus {
+    /** Waiting for a thumbnail worker. */
+    PENDING,
+    /** The thumbnail is stored under the photo's id. */
+    READY,
+    /** The photo could not be decoded, or has more pixels than a thumbnail is rendered from. */
+    FAILED,
+    /** No image reader is available for the photo's format. */
+    UNSUPPORTED
+}
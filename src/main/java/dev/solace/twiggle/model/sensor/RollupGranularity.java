@@ -0,0 +1,29 @@
+package dev.solace.twiggle.model.sensor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Bucket widths that sensor readings are downsampled into. Buckets are aligned to UTC.
+ */
+public enum RollupGranularity {
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /** Start of the bucket that {@code timestamp} falls into. */
+    public Instant bucketStart(Instant timestamp) {
+        return timestamp.truncatedTo(unit);
+    }
+
+    public Duration duration() {
+        return unit.getDuration();
+    }
+}
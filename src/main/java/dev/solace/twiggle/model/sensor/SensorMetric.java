@@ -0,0 +1,11 @@
+package dev.solace.twiggle.model.sensor;
+
+/**
+ * Quantities reported by garden sensors.
+ */
+public enum SensorMetric {
+    /** Volumetric water content of the soil, in percent. */
+    SOIL_MOISTURE,
+    /** Soil temperature, in degrees Celsius. */
+    TEMPERATURE
+}
@@ -0,0 +1,39 @@
+package dev.solace.twiggle.model.sensor;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A single raw sensor reading in the {@code sensor_readings} time-series collection.
+ *
+ * <p>The collection is bucketed by {@link Meta}, so all readings of one sensor and metric are stored together.
+ * Dashboards read {@link SensorRollup}s instead; raw readings are kept for a limited time only.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = SensorReading.COLLECTION)
+public class SensorReading {
+    public static final String COLLECTION = "sensor_readings";
+    public static final String TIME_FIELD = "timestamp";
+    public static final String META_FIELD = "meta";
+
+    private Instant timestamp;
+    private Meta meta;
+    private double value;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Meta {
+        private String gardenId;
+        private String sensorId;
+        private SensorMetric metric;
+    }
+}
@@ -0,0 +1,47 @@
+package dev.solace.twiggle.model.sensor;
+
+import java.time.Instant;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Downsampled readings of one sensor and metric over one minute, hour or day.
+ *
+ * <p>The id is derived from the bucket, so every flush upserts into the same document. {@code flushes} holds the
+ * sequence number of the last flush each ingesting instance applied, which makes a retried flush a no-op.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = SensorRollup.COLLECTION)
+public class SensorRollup {
+    public static final String COLLECTION = "sensor_rollups";
+
+    @Id
+    private String id;
+
+    private String gardenId;
+    private String sensorId;
+    private SensorMetric metric;
+    private RollupGranularity granularity;
+    private Instant bucketStart;
+    private long count;
+    private double sum;
+    private double min;
+    private double max;
+    private Map<String, Long> flushes;
+
+    /** When the TTL index removes the rollup; {@code null} for rollups kept forever. */
+    private Instant expiresAt;
+
+    public static String idOf(
+            String gardenId, String sensorId, SensorMetric metric, RollupGranularity granularity, Instant start) {
+        return gardenId + '/' + sensorId + '/' + metric + '/' + granularity + '/' + start.getEpochSecond();
+    }
+}
@@ -0,0 +1,45 @@
+package dev.solace.twiggle.model.stats;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Dashboard statistics of one garden, recomputed from its layout and reminders whenever either changes.
+ *
+ * <p>{@code tasksByDay} maps an ISO date to task counts per reminder type, from the start of the week the
+ * statistics were computed in up to the end of the upcoming window, so the week to date can be read back as well.
+ * {@code computedAt} is when the sources were read; a refresh never overwrites statistics computed later.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = GardenStats.COLLECTION)
+public class GardenStats {
+    public static final String COLLECTION = "garden_stats";
+
+    @Id
+    private String gardenId;
+
+    private long layoutVersion;
+    private int placements;
+    private List<PlantCount> plants;
+    private Map<String, Map<String, Integer>> tasksByDay;
+    private Instant computedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PlantCount {
+        private String plantId;
+        private int count;
+    }
+}
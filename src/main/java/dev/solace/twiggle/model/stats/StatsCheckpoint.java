@@ -0,0 +1,34 @@
+package dev.solace.twiggle.model.stats;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Where a change stream feeding the garden statistics resumes, saved once every change before it is reflected in
+ * {@link GardenStats}: after {@code resumeToken}, or at {@code startAt} while no event has been seen since the
+ * statistics were last rebuilt.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = StatsCheckpoint.COLLECTION)
+public class StatsCheckpoint {
+    public static final String COLLECTION = "stats_checkpoints";
+
+    /** Name of the source collection. */
+    @Id
+    private String id;
+
+    /** Resume token as extended JSON. */
+    private String resumeToken;
+
+    private Instant startAt;
+
+    private Instant updatedAt;
+}
@@ -0,0 +1,10 @@
+package dev.solace.twiggle.model.tenant;
+
+/**
+ * Whether a tenant's database can be used, see {@link TenantPlacement}.
+ */
+public enum PlacementState {
+    ACTIVE,
+    /** Being switched to another cluster; requests and background work for the tenant are refused meanwhile. */
+    FROZEN
+}
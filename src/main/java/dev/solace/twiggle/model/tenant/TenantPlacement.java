@@ -0,0 +1,37 @@
+package dev.solace.twiggle.model.tenant;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Where a tenant's database lives. Stored in the home database and read by every instance.
+ *
+ * <p>{@code migrationTarget} is set while the tenant is being copied to another cluster; it keeps being served
+ * from {@code cluster} until the move switches it over. {@code version} grows with every change, so transitions
+ * are applied only to the placement they were decided on.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = TenantPlacement.COLLECTION)
+public class TenantPlacement {
+    public static final String COLLECTION = "tenant_placements";
+
+    @Id
+    private String tenantId;
+
+    private String cluster;
+    private String database;
+    private PlacementState state;
+    private long version;
+    private String migrationTarget;
+    private Instant migrationStartedAt;
+    private Instant createdAt;
+    private Instant updatedAt;
+}
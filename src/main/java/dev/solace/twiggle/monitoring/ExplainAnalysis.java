@@ -0,0 +1,128 @@
+package dev.solace.twiggle.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+/**
+ * Findings extracted from the output of an {@code explain} command.
+ */
+public record ExplainAnalysis(
+        boolean collectionScan,
+        boolean inMemorySort,
+        long sortedBytes,
+        boolean sortSpilledToDisk,
+        long docsExamined,
+        long keysExamined,
+        long returned) {
+
+    public static ExplainAnalysis from(BsonDocument explain) {
+        Accumulator acc = new Accumulator();
+        if (explain.isDocument("queryPlanner")) {
+            BsonDocument planner = explain.getDocument("queryPlanner");
+            if (planner.isDocument("winningPlan")) {
+                acc.walkPlan(planner.getDocument("winningPlan"));
+            }
+        }
+        // Aggregations wrap the planner output in their first stage.
+        if (explain.isArray("stages")) {
+            explain.getArray("stages").forEach(stage -> {
+                if (stage.isDocument() && stage.asDocument().isDocument("$cursor")) {
+                    acc.merge(from(stage.asDocument().getDocument("$cursor")));
+                } else if (stage.isDocument() && stage.asDocument().containsKey("$sort")) {
+                    acc.inMemorySort = true;
+                    acc.sortedBytes = Math.max(
+                            acc.sortedBytes, longValue(stage.asDocument(), "totalDataSizeSortedBytesEstimate"));
+                }
+            });
+        }
+        if (explain.isDocument("executionStats")) {
+            BsonDocument stats = explain.getDocument("executionStats");
+            acc.docsExamined = Math.max(acc.docsExamined, longValue(stats, "totalDocsExamined"));
+            acc.keysExamined = Math.max(acc.keysExamined, longValue(stats, "totalKeysExamined"));
+            acc.returned = Math.max(acc.returned, longValue(stats, "nReturned"));
+            if (stats.isDocument("executionStages")) {
+                acc.walkExecution(stats.getDocument("executionStages"));
+            }
+        }
+        return acc.toAnalysis();
+    }
+
+    /**
+     * Whether this plan is worth an index suggestion at all.
+     */
+    public boolean isProblematic(long largeSortBytes) {
+        return collectionScan || sortSpilledToDisk || (inMemorySort && sortedBytes >= largeSortBytes);
+    }
+
+    private static long longValue(BsonDocument document, String key) {
+        BsonValue value = document.get(key);
+        return value != null && value.isNumber() ? value.asNumber().longValue() : 0;
+    }
+
+    private static final class Accumulator {
+        private boolean collectionScan;
+        private boolean inMemorySort;
+        private long sortedBytes;
+        private boolean spilled;
+        private long docsExamined;
+        private long keysExamined;
+        private long returned;
+
+        private void walkPlan(BsonDocument node) {
+            if (node.isString("stage")) {
+                String stage = node.getString("stage").getValue();
+                if ("COLLSCAN".equalsIgnoreCase(stage)) {
+                    collectionScan = true;
+                } else if ("SORT".equalsIgnoreCase(stage)) {
+                    inMemorySort = true;
+                }
+            }
+            children(node).forEach(this::walkPlan);
+        }
+
+        private void walkExecution(BsonDocument node) {
+            if (node.isString("stage")) {
+                String stage = node.getString("stage").getValue();
+                if ("SORT".equalsIgnoreCase(stage)) {
+                    sortedBytes = Math.max(sortedBytes, longValue(node, "totalDataSizeSorted"));
+                    spilled |= node.isBoolean("usedDisk")
+                            && node.getBoolean("usedDisk").getValue();
+                }
+            }
+            children(node).forEach(this::walkExecution);
+        }
+
+        private List<BsonDocument> children(BsonDocument node) {
+            List<BsonDocument> result = new ArrayList<>();
+            for (String key :
+                    new String[] {"inputStage", "outerStage", "innerStage", "queryPlan", "thenStage", "elseStage"}) {
+                if (node.isDocument(key)) {
+                    result.add(node.getDocument(key));
+                }
+            }
+            if (node.isArray("inputStages")) {
+                node.getArray("inputStages").stream()
+                        .filter(BsonValue::isDocument)
+                        .forEach(child -> result.add(child.asDocument()));
+            }
+            return result;
+        }
+
+        private void merge(ExplainAnalysis other) {
+            collectionScan |= other.collectionScan();
+            inMemorySort |= other.inMemorySort();
+            sortedBytes = Math.max(sortedBytes, other.sortedBytes());
+            spilled |= other.sortSpilledToDisk();
+            docsExamined = Math.max(docsExamined, other.docsExamined());
+            keysExamined = Math.max(keysExamined, other.keysExamined());
+            returned = Math.max(returned, other.returned());
+        }
+
+        private ExplainAnalysis toAnalysis() {
+            return new ExplainAnalysis(
+                    collectionScan, inMemorySort, sortedBytes, spilled, docsExamined, keysExamined, returned);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package dev.solace.twiggle.monitoring;
+
+import com.mongodb.client.MongoClient;
+import dev.solace.twiggle.config.SlowQueryProperties;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Aggregates slow commands by {@link QueryShape}, explains outliers on a background thread and ranks the
+ * resulting index suggestions by the total time spent in each shape.
+ */
+@Slf4j
+public class IndexAdvisor implements DisposableBean {
+
+    /** Command fields that explain rejects or that only make sense for the original execution. */
+    private static final Set<String> EXPLAIN_STRIPPED_FIELDS = Set.of(
+            "lsid",
+            "txnNumber",
+            "autocommit",
+            "startTransaction",
+            "readConcern",
+            "writeConcern",
+            "apiVersion",
+            "apiStrict",
+            "apiDeprecationErrors");
+
+    private final SlowQueryProperties properties;
+    private final ObjectProvider<MongoClient> mongoClient;
+    private final Clock clock;
+    private final ThreadPoolExecutor explainExecutor;
+    private final Map<QueryShape, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final AtomicLong droppedExplains = new AtomicLong();
+    private final AtomicLong pendingExplains = new AtomicLong();
+
+    public IndexAdvisor(SlowQueryProperties properties, ObjectProvider<MongoClient> mongoClient, Clock clock) {
+        this.properties = properties;
+        this.mongoClient = mongoClient;
+        this.clock = clock;
+        this.explainExecutor = new ThreadPoolExecutor(
+                1,
+                1,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getExplainQueueCapacity())),
+                new CustomizableThreadFactory("mongo-explain-"),
+                (task, executor) -> {
+                    droppedExplains.incrementAndGet();
+                    explainDone();
+                });
+    }
+
+    /**
+     * Records a slow command. Must be cheap: it runs on the driver thread that completed the command.
+     */
+    public void recordSlowCommand(String database, String commandName, BsonDocument command, long durationMicros) {
+        QueryShape shape = QueryShape.from(database, commandName, command);
+        ShapeStats stats = shapes.get(shape);
+        if (stats == null) {
+            if (shapes.size() >= properties.getMaxTrackedShapes()) {
+                return;
+            }
+            stats = shapes.computeIfAbsent(shape, key -> new ShapeStats());
+        }
+        Instant now = clock.instant();
+        stats.record(durationMicros, now);
+
+        if (properties.isExplainEnabled() && stats.claimExplain(now, properties.getReexplainInterval())) {
+            ShapeStats target = stats;
+            pendingExplains.incrementAndGet();
+            explainExecutor.execute(() -> {
+                try {
+                    explain(database, command, target);
+                } finally {
+                    explainDone();
+                }
+            });
+        }
+    }
+
+    private void explain(String database, BsonDocument command, ShapeStats stats) {
+        MongoClient client = mongoClient.getIfAvailable();
+        if (client == null) {
+            return;
+        }
+        try {
+            BsonDocument explainable = new BsonDocument();
+            command.forEach((key, value) -> {
+                if (!key.startsWith("$") && !EXPLAIN_STRIPPED_FIELDS.contains(key)) {
+                    explainable.append(key, value);
+                }
+            });
+            BsonDocument explainCommand = new BsonDocument("explain", explainable)
+                    .append("verbosity", new BsonString(properties.getExplainVerbosity()));
+            BsonDocument result = client.getDatabase(database).runCommand(explainCommand, BsonDocument.class);
+            stats.analysis = ExplainAnalysis.from(result);
+        } catch (RuntimeException ex) {
+            log.debug("Explain failed for slow command on {}", database, ex);
+        }
+    }
+
+    private void explainDone() {
+        if (pendingExplains.decrementAndGet() == 0) {
+            synchronized (pendingExplains) {
+                pendingExplains.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until every explain queued so far has finished or been dropped, and returns whether that happened
+     * within {@code timeout}.
+     */
+    boolean awaitExplains(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (pendingExplains) {
+            while (pendingExplains.get() > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(pendingExplains, remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns suggestions for shapes whose plan was found to scan or sort in memory, most expensive first.
+     */
+    public List<IndexSuggestion> suggestions() {
+        List<IndexSuggestion> result = new ArrayList<>();
+        shapes.forEach((shape, stats) -> {
+            ExplainAnalysis analysis = stats.analysis;
+            if (analysis == null || !analysis.isProblematic(properties.getLargeSortBytes())) {
+                return;
+            }
+            Map<String, Integer> index = shape.suggestedIndex();
+            if (index.isEmpty()) {
+                return;
+            }
+            result.add(IndexSuggestion.builder()
+                    .namespace(shape.namespace())
+                    .operation(shape.operation())
+                    .suggestedIndex(index)
+                    .findings(findings(analysis))
+                    .slowCount(stats.count.get())
+                    .totalSlowMillis(stats.totalMicros.get() / 1000.0)
+                    .maxMillis(stats.maxMicros.get() / 1000.0)
+                    .docsExamined(analysis.docsExamined())
+                    .returned(analysis.returned())
+                    .lastSeen(stats.lastSeen)
+                    .lastExplained(stats.lastExplained)
+                    .build());
+        });
+        result.sort(
+                Comparator.comparingDouble(IndexSuggestion::getTotalSlowMillis).reversed());
+        return result;
+    }
+
+    private List<String> findings(ExplainAnalysis analysis) {
+        List<String> findings = new ArrayList<>();
+        if (analysis.collectionScan()) {
+            findings.add(
+                    "COLLSCAN: examined " + analysis.docsExamined() + " documents to return " + analysis.returned());
+        }
+        if (analysis.sortSpilledToDisk()) {
+            findings.add("In-memory sort spilled to disk");
+        } else if (analysis.inMemorySort() && analysis.sortedBytes() >= properties.getLargeSortBytes()) {
+            findings.add("Large in-memory sort of " + analysis.sortedBytes() + " bytes");
+        }
+        return findings;
+    }
+
+    public int trackedShapes() {
+        return shapes.size();
+    }
+
+    public long droppedExplains() {
+        return droppedExplains.get();
+    }
+
+    public void reset() {
+        shapes.clear();
+    }
+
+    @Override
+    public void destroy() {
+        explainExecutor.shutdownNow();
+    }
+
+    private static final class ShapeStats {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalMicros = new AtomicLong();
+        private final AtomicLong maxMicros = new AtomicLong();
+        private volatile Instant lastSeen;
+        private volatile Instant lastExplained;
+        private volatile ExplainAnalysis analysis;
+
+        private void record(long micros, Instant now) {
+            count.incrementAndGet();
+            totalMicros.addAndGet(micros);
+            maxMicros.accumulateAndGet(micros, Math::max);
+            lastSeen = now;
+        }
+
+        private synchronized boolean claimExplain(Instant now, Duration interval) {
+            if (lastExplained != null && lastExplained.plus(interval).isAfter(now)) {
+                return false;
+            }
+            lastExplained = now;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package dev.solace.twiggle.monitoring;
+
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint exposing ranked Mongo index suggestions and per collection/operation latency histograms.
+ */
+@Endpoint(id = "indexadvisor")
+@RequiredArgsConstructor
+public class IndexAdvisorEndpoint {
+
+    private final SlowQueryRecorder slowQueryRecorder;
+    private final IndexAdvisor indexAdvisor;
+
+    @ReadOperation
+    public IndexAdvisorReport report() {
+        return IndexAdvisorReport.builder()
+                .suggestions(indexAdvisor.suggestions())
+                .latency(slowQueryRecorder.latencySnapshots())
+                .trackedShapes(indexAdvisor.trackedShapes())
+                .droppedExplains(indexAdvisor.droppedExplains())
+                .build();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        indexAdvisor.reset();
+        slowQueryRecorder.reset();
+    }
+
+    /**
+     * Response body of the index advisor endpoint.
+     */
+    @Data
+    @Builder
+    public static class IndexAdvisorReport {
+        private List<IndexSuggestion> suggestions;
+        private Map<String, LatencyHistogram.Snapshot> latency;
+        private int trackedShapes;
+        private long droppedExplains;
+    }
+}
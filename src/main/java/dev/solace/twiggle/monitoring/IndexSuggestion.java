@@ -0,0 +1,26 @@
+package dev.solace.twiggle.monitoring;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * A ranked index suggestion for a slow query shape, as exposed by the index advisor endpoint.
+ */
+@Data
+@Builder
+public class IndexSuggestion {
+    private String namespace;
+    private String operation;
+    private Map<String, Integer> suggestedIndex;
+    private List<String> findings;
+    private long slowCount;
+    private double totalSlowMillis;
+    private double maxMillis;
+    private long docsExamined;
+    private long returned;
+    private Instant lastSeen;
+    private Instant lastExplained;
+}
@@ -0,0 +1,104 @@
+package dev.solace.twiggle.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with exponentially sized buckets, starting at 100µs and doubling up to ~13s.
+ */
+public class LatencyHistogram {
+
+    private static final long FIRST_BUCKET_MICROS = 100;
+    private static final int BUCKETS = 18;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS + 1];
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public void record(long micros) {
+        counts[bucketIndex(micros)].increment();
+        totalMicros.add(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    static int bucketIndex(long micros) {
+        long bound = FIRST_BUCKET_MICROS;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (micros <= bound) {
+                return i;
+            }
+            bound <<= 1;
+        }
+        return BUCKETS;
+    }
+
+    static long upperBoundMicros(int index) {
+        return index >= BUCKETS ? Long.MAX_VALUE : FIRST_BUCKET_MICROS << index;
+    }
+
+    public Snapshot snapshot() {
+        long[] bucketCounts = new long[counts.length];
+        long count = 0;
+        for (int i = 0; i < counts.length; i++) {
+            bucketCounts[i] = counts[i].sum();
+            count += bucketCounts[i];
+        }
+
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < bucketCounts.length; i++) {
+            if (bucketCounts[i] > 0) {
+                String label = i >= BUCKETS ? "+Inf" : formatMillis(upperBoundMicros(i));
+                buckets.put("le_" + label, bucketCounts[i]);
+            }
+        }
+
+        double meanMillis = count == 0 ? 0 : totalMicros.sum() / 1000.0 / count;
+        return new Snapshot(
+                count,
+                meanMillis,
+                maxMicros.get() / 1000.0,
+                percentileMillis(bucketCounts, count, 0.50),
+                percentileMillis(bucketCounts, count, 0.95),
+                percentileMillis(bucketCounts, count, 0.99),
+                buckets);
+    }
+
+    private double percentileMillis(long[] bucketCounts, long count, double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            seen += bucketCounts[i];
+            if (seen >= rank) {
+                return i >= BUCKETS ? maxMicros.get() / 1000.0 : upperBoundMicros(i) / 1000.0;
+            }
+        }
+        return maxMicros.get() / 1000.0;
+    }
+
+    private static String formatMillis(long micros) {
+        return micros % 1000 == 0 ? (micros / 1000) + "ms" : (micros / 1000.0) + "ms";
+    }
+
+    /**
+     * Point-in-time view of a histogram. Percentiles are bucket upper bounds, so they overestimate by at most 2x.
+     */
+    public record Snapshot(
+            long count,
+            double meanMillis,
+            double maxMillis,
+            double p50Millis,
+            double p95Millis,
+            double p99Millis,
+            Map<String, Long> buckets) {}
+}
@@ -0,0 +1,156 @@
+package dev.solace.twiggle.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Stand-in for a trace collector running next to the application: a {@link SpanExporter} that keeps the most
+ * recent exported spans in memory, up to {@code collectorCapacity}, for the {@code traces} actuator endpoint. It is
+ * one exporter among any others defined as beans, so a real collector's exporter can be added beside it.
+ *
+ * <p>Exported spans are counted as {@code twiggle.tracing.exported.spans}.
+ */
+public class LocalTraceCollector implements SpanExporter {
+
+    private final int capacity;
+    private final Deque<SpanData> spans = new ArrayDeque<>();
+    private final Counter exported;
+
+    public LocalTraceCollector(int capacity, MeterRegistry meterRegistry) {
+        this.capacity = Math.max(1, capacity);
+        this.exported = Counter.builder("twiggle.tracing.exported.spans")
+                .description("Spans of kept traces exported to the local collector")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> batch) {
+        for (SpanData span : batch) {
+            if (spans.size() == capacity) {
+                spans.removeFirst();
+            }
+            spans.addLast(span);
+        }
+        exported.increment(batch.size());
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /**
+     * Returns the collected traces, most recently exported first, with their spans in the order they ended.
+     */
+    public List<Trace> traces(int limit) {
+        Map<String, List<SpanData>> byTrace = new LinkedHashMap<>();
+        synchronized (this) {
+            for (Iterator<SpanData> it = spans.descendingIterator(); it.hasNext(); ) {
+                SpanData span = it.next();
+                List<SpanData> trace = byTrace.get(span.getTraceId());
+                if (trace == null) {
+                    if (byTrace.size() == limit) {
+                        continue;
+                    }
+                    trace = new ArrayList<>();
+                    byTrace.put(span.getTraceId(), trace);
+                }
+                trace.addFirst(span);
+            }
+        }
+        List<Trace> traces = new ArrayList<>(byTrace.size());
+        byTrace.forEach((traceId, trace) -> traces.add(Trace.of(traceId, trace)));
+        return traces;
+    }
+
+    public synchronized void reset() {
+        spans.clear();
+    }
+
+    /**
+     * A collected trace. The root is the span without a local parent, if it was collected.
+     */
+    @Data
+    @Builder
+    public static class Trace {
+        private String traceId;
+        private String root;
+        private Long durationMicros;
+        private String errorCode;
+        private List<Span> spans;
+
+        static Trace of(String traceId, List<SpanData> spans) {
+            TraceBuilder trace = Trace.builder().traceId(traceId);
+            List<Span> views = new ArrayList<>(spans.size());
+            for (SpanData span : spans) {
+                Span view = Span.of(span);
+                views.add(view);
+                if (!span.getParentSpanContext().isValid()
+                        || span.getParentSpanContext().isRemote()) {
+                    trace.root(span.getName()).durationMicros(view.getDurationMicros());
+                }
+                String errorCode = span.getAttributes().get(TailSamplingSpanProcessor.ERROR_CODE);
+                if (errorCode != null) {
+                    trace.errorCode(errorCode);
+                }
+            }
+            return trace.spans(views).build();
+        }
+    }
+
+    /**
+     * A collected span with its attributes as strings.
+     */
+    @Data
+    @Builder
+    public static class Span {
+        private String spanId;
+        private String parentSpanId;
+        private String name;
+        private String kind;
+        private Instant start;
+        private long durationMicros;
+        private boolean error;
+        private Map<String, String> attributes;
+
+        static Span of(SpanData span) {
+            Map<String, String> attributes = new LinkedHashMap<>();
+            span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+            return Span.builder()
+                    .spanId(span.getSpanId())
+                    .parentSpanId(
+                            span.getParentSpanContext().isValid()
+                                    ? span.getParentSpanContext().getSpanId()
+                                    : null)
+                    .name(span.getName())
+                    .kind(span.getKind().name())
+                    .start(Instant.ofEpochSecond(0, span.getStartEpochNanos()))
+                    .durationMicros(TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos()))
+                    .error(span.getStatus().getStatusCode() == StatusCode.ERROR)
+                    .attributes(attributes)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package dev.solace.twiggle.monitoring;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long callers waited to check a connection out of the Mongo pool.
+ *
+ * <p>Complements the pool size, checked-out and wait-queue gauges registered by Spring Boot's
+ * {@code MongoMetricsConnectionPoolListener}, which do not cover wait time.
+ */
+public class MongoPoolWaitTimeListener implements ConnectionPoolListener {
+
+    static final String METRIC_NAME = "mongodb.driver.pool.wait";
+
+    private final MeterRegistry meterRegistry;
+
+    public MongoPoolWaitTimeListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        timer(event.getConnectionId().getServerId(), "success")
+                .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        timer(event.getServerId(), event.getReason().name().toLowerCase())
+                .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(ServerId serverId, String outcome) {
+        return Timer.builder(METRIC_NAME)
+                .description("Time spent waiting to check out a pooled Mongo connection")
+                .tag("server.address", serverId.getAddress().toString())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
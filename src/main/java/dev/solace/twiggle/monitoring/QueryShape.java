@@ -0,0 +1,135 @@
+package dev.solace.twiggle.monitoring;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+/**
+ * Normalized shape of a query: the collection, the operation and the field names it filters and sorts on, with
+ * all literal values stripped. Commands with the same shape are expected to benefit from the same index.
+ */
+public record QueryShape(
+        String database,
+        String collection,
+        String operation,
+        List<String> equalityFields,
+        List<String> rangeFields,
+        Map<String, Integer> sortFields) {
+
+    /** Commands whose filter can be explained and turned into an index suggestion. */
+    public static final Set<String> EXPLAINABLE_COMMANDS =
+            Set.of("find", "aggregate", "count", "distinct", "update", "delete", "findAndModify");
+
+    public static QueryShape from(String database, String commandName, BsonDocument command) {
+        String collection =
+                command.isString(commandName) ? command.getString(commandName).getValue() : "";
+        BsonDocument filter = new BsonDocument();
+        BsonDocument sort = new BsonDocument();
+
+        switch (commandName) {
+            case "find" -> {
+                filter = documentOrEmpty(command, "filter");
+                sort = documentOrEmpty(command, "sort");
+            }
+            case "count", "distinct", "findAndModify" -> {
+                filter = documentOrEmpty(command, "query");
+                sort = documentOrEmpty(command, "sort");
+            }
+            case "update" -> filter = firstStatementField(command, "updates", "q");
+            case "delete" -> filter = firstStatementField(command, "deletes", "q");
+            case "aggregate" -> {
+                for (BsonValue stage : arrayOrEmpty(command, "pipeline")) {
+                    if (!stage.isDocument()) {
+                        continue;
+                    }
+                    BsonDocument stageDoc = stage.asDocument();
+                    if (filter.isEmpty() && stageDoc.isDocument("$match")) {
+                        filter = stageDoc.getDocument("$match");
+                    } else if (sort.isEmpty() && stageDoc.isDocument("$sort")) {
+                        sort = stageDoc.getDocument("$sort");
+                    } else if (!stageDoc.containsKey("$match") && !stageDoc.containsKey("$sort")) {
+                        // Only a leading $match/$sort can use an index.
+                        break;
+                    }
+                }
+            }
+            default -> {
+                // No filter to analyse.
+            }
+        }
+
+        Set<String> equality = new LinkedHashSet<>();
+        Set<String> range = new LinkedHashSet<>();
+        collectFilterFields(filter, equality, range);
+        range.removeAll(equality);
+
+        Map<String, Integer> sortFields = new LinkedHashMap<>();
+        sort.forEach((field, direction) -> sortFields.put(
+                field, direction.isNumber() && direction.asNumber().intValue() < 0 ? -1 : 1));
+
+        return new QueryShape(database, collection, commandName, List.copyOf(equality), List.copyOf(range), sortFields);
+    }
+
+    /**
+     * Suggests a compound index following the equality-sort-range rule.
+     */
+    public Map<String, Integer> suggestedIndex() {
+        Map<String, Integer> keys = new LinkedHashMap<>();
+        equalityFields.forEach(field -> keys.put(field, 1));
+        sortFields.forEach(keys::putIfAbsent);
+        rangeFields.forEach(field -> keys.putIfAbsent(field, 1));
+        return keys;
+    }
+
+    public String namespace() {
+        return database + "." + collection;
+    }
+
+    private static void collectFilterFields(BsonDocument filter, Set<String> equality, Set<String> range) {
+        filter.forEach((key, value) -> {
+            if ("$and".equals(key) && value.isArray()) {
+                value.asArray().forEach(clause -> {
+                    if (clause.isDocument()) {
+                        collectFilterFields(clause.asDocument(), equality, range);
+                    }
+                });
+            } else if (key.startsWith("$")) {
+                // $or, $expr, $text and friends can't be served by a single simple index.
+            } else if (value.isDocument() && isOperatorDocument(value.asDocument())) {
+                boolean equalityOnly = value.asDocument().keySet().stream().allMatch("$eq"::equals);
+                (equalityOnly ? equality : range).add(key);
+            } else {
+                equality.add(key);
+            }
+        });
+    }
+
+    private static boolean isOperatorDocument(BsonDocument document) {
+        return !document.isEmpty() && document.getFirstKey().startsWith("$");
+    }
+
+    private static BsonDocument documentOrEmpty(BsonDocument command, String key) {
+        return command.isDocument(key) ? command.getDocument(key) : new BsonDocument();
+    }
+
+    private static List<BsonValue> arrayOrEmpty(BsonDocument command, String key) {
+        return command.isArray(key) ? command.getArray(key) : new ArrayList<>();
+    }
+
+    private static BsonDocument firstStatementField(BsonDocument command, String arrayKey, String field) {
+        if (!command.isArray(arrayKey)) {
+            return new BsonDocument();
+        }
+        BsonArray statements = command.getArray(arrayKey);
+        if (statements.isEmpty() || !statements.get(0).isDocument()) {
+            return new BsonDocument();
+        }
+        return documentOrEmpty(statements.get(0).asDocument(), field);
+    }
+}
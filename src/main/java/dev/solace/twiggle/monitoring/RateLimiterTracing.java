@@ -0,0 +1,44 @@
+package dev.solace.twiggle.monitoring;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.ratelimiter.event.RateLimiterEvent;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+
+/**
+ * Records each rate limiter decision taken while serving a traced request as a span under the request's span,
+ * named after the limiter and tagged with whether the call was permitted. The limiters never wait for a permit, so
+ * the span marks the decision rather than timing it. Limiters added to the registry later are traced as well.
+ */
+public class RateLimiterTracing {
+
+    private final Tracer tracer;
+
+    public RateLimiterTracing(RateLimiterRegistry rateLimiterRegistry, Tracer tracer) {
+        this.tracer = tracer;
+        rateLimiterRegistry.getAllRateLimiters().forEach(this::trace);
+        rateLimiterRegistry.getEventPublisher().onEntryAdded(event -> trace(event.getAddedEntry()));
+    }
+
+    private void trace(RateLimiter rateLimiter) {
+        rateLimiter
+                .getEventPublisher()
+                .onSuccess(event -> record(event, true))
+                .onFailure(event -> record(event, false));
+    }
+
+    private void record(RateLimiterEvent event, boolean permitted) {
+        Span parent = tracer.currentSpan();
+        if (parent == null) {
+            return;
+        }
+        tracer.nextSpan(parent)
+                .name("ratelimiter " + event.getRateLimiterName())
+                .tag("ratelimiter.name", event.getRateLimiterName())
+                .tag("ratelimiter.permitted", permitted)
+                .tag("ratelimiter.permits", event.getNumberOfPermits())
+                .start()
+                .end();
+    }
+}
@@ -0,0 +1,99 @@
+package dev.solace.twiggle.monitoring;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import dev.solace.twiggle.config.SlowQueryProperties;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+/**
+ * Mongo driver {@link CommandListener} that keeps latency histograms per collection and operation and hands
+ * sampled slow commands to the {@link IndexAdvisor}.
+ *
+ * <p>The driver only guarantees the command document for the duration of the started callback, so sampled
+ * explainable commands are copied there and held until the matching succeeded/failed event arrives.
+ */
+public class SlowQueryRecorder implements CommandListener {
+
+    private static final String UNKNOWN_COLLECTION = "-";
+
+    private final SlowQueryProperties properties;
+    private final IndexAdvisor indexAdvisor;
+    private final Map<Integer, InFlightCommand> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    public SlowQueryRecorder(SlowQueryProperties properties, IndexAdvisor indexAdvisor) {
+        this.properties = properties;
+        this.indexAdvisor = indexAdvisor;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String commandName = event.getCommandName();
+        BsonDocument command = event.getCommand();
+        BsonValue target = command.get(commandName);
+        String collection =
+                target != null && target.isString() ? target.asString().getValue() : UNKNOWN_COLLECTION;
+
+        BsonDocument retained = null;
+        if (QueryShape.EXPLAINABLE_COMMANDS.contains(commandName)
+                && inFlight.size() < properties.getMaxPendingCommands()
+                && ThreadLocalRandom.current().nextDouble() < properties.getSampleRate()) {
+            retained = command.clone();
+        }
+        inFlight.put(event.getRequestId(), new InFlightCommand(collection, retained));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        complete(
+                event.getRequestId(),
+                event.getDatabaseName(),
+                event.getCommandName(),
+                event.getElapsedTime(TimeUnit.MICROSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        complete(
+                event.getRequestId(),
+                event.getDatabaseName(),
+                event.getCommandName(),
+                event.getElapsedTime(TimeUnit.MICROSECONDS));
+    }
+
+    private void complete(int requestId, String database, String commandName, long micros) {
+        InFlightCommand started = inFlight.remove(requestId);
+        String collection = started != null ? started.collection() : UNKNOWN_COLLECTION;
+        histograms
+                .computeIfAbsent(collection + "/" + commandName, key -> new LatencyHistogram())
+                .record(micros);
+
+        long thresholdMicros = properties.getThreshold().toNanos() / 1000;
+        if (started != null && started.command() != null && micros >= thresholdMicros) {
+            indexAdvisor.recordSlowCommand(database, commandName, started.command(), micros);
+        }
+    }
+
+    /**
+     * Latency snapshots keyed by {@code collection/operation}, sorted by key.
+     */
+    public Map<String, LatencyHistogram.Snapshot> latencySnapshots() {
+        Map<String, LatencyHistogram.Snapshot> result = new TreeMap<>();
+        histograms.forEach((key, histogram) -> result.put(key, histogram.snapshot()));
+        return result;
+    }
+
+    public void reset() {
+        histograms.clear();
+    }
+
+    private record InFlightCommand(String collection, BsonDocument command) {}
+}
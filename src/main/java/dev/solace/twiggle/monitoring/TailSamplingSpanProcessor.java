@@ -0,0 +1,241 @@
+package dev.solace.twiggle.monitoring;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import dev.solace.twiggle.config.TailSamplingProperties;
+import dev.solace.twiggle.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link SpanProcessor} that decides whether to keep a trace once its local root span has ended, when its duration
+ * and outcome are known, and hands the spans of kept traces to the exporting processor.
+ *
+ * <p>Traces with a failed span or a span tagged with an {@link GlobalExceptionHandler#ERROR_CODE_KEY error code}
+ * are always kept, as are traces whose root took at least {@code slowThreshold}; of the rest, {@code keepRatio} are
+ * kept. That share is picked from the trace id, as head sampling does, so every service agrees on the same traces
+ * and spans arriving after the decision are kept or dropped with their trace. Spans wait in memory until then:
+ * pending traces beyond {@code maxPendingTraces} or older than {@code traceTimeout} are decided on the spans they
+ * have, counting as slow when their earliest span started at least {@code slowThreshold} ago, since their root
+ * started before it and has not even ended; spans beyond {@code maxSpansPerTrace} are dropped. Head sampling must record every trace for the
+ * decision to see them.
+ *
+ * <p>Decisions are counted as {@code twiggle.tracing.traces} by decision, traces decided before their root ended
+ * as {@code twiggle.tracing.traces.incomplete}, dropped spans of long traces as
+ * {@code twiggle.tracing.spans.truncated}, and pending traces are gauged as {@code twiggle.tracing.pending}.
+ */
+public class TailSamplingSpanProcessor implements SpanProcessor {
+
+    static final AttributeKey<String> ERROR_CODE = AttributeKey.stringKey(GlobalExceptionHandler.ERROR_CODE_KEY);
+
+    /** Why a trace was kept or dropped. */
+    enum Decision {
+        ERROR,
+        SLOW,
+        SAMPLED,
+        DROPPED;
+
+        boolean kept() {
+            return this != DROPPED;
+        }
+    }
+
+    private final SpanProcessor delegate;
+    private final long slowThresholdNanos;
+    private final long keepBound;
+    private final int maxSpansPerTrace;
+    private final Cache<String, PendingTrace> pending;
+    private final Cache<String, Decision> decided;
+    private final Counter[] decisions = new Counter[Decision.values().length];
+    private final Counter incomplete;
+    private final Counter truncated;
+
+    public TailSamplingSpanProcessor(
+            TailSamplingProperties properties, SpanProcessor delegate, MeterRegistry meterRegistry) {
+        this(properties, delegate, meterRegistry, Ticker.systemTicker());
+    }
+
+    TailSamplingSpanProcessor(
+            TailSamplingProperties properties, SpanProcessor delegate, MeterRegistry meterRegistry, Ticker ticker) {
+        this.delegate = delegate;
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+        this.keepBound = (long) (Math.clamp(properties.getKeepRatio(), 0.0, 1.0) * Long.MAX_VALUE);
+        this.maxSpansPerTrace = Math.max(1, properties.getMaxSpansPerTrace());
+        this.pending = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, properties.getMaxPendingTraces()))
+                .expireAfterWrite(properties.getTraceTimeout())
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .<String, PendingTrace>removalListener((traceId, trace, cause) -> {
+                    if (cause.wasEvicted() && traceId != null && trace != null) {
+                        decideEarly(traceId, trace);
+                    }
+                })
+                .build();
+        // Long enough for the stragglers of a trace, such as spans of work handed off to other threads.
+        this.decided = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, properties.getMaxPendingTraces()))
+                .expireAfterWrite(properties.getTraceTimeout())
+                .ticker(ticker)
+                .build();
+        for (Decision decision : Decision.values()) {
+            decisions[decision.ordinal()] = Counter.builder("twiggle.tracing.traces")
+                    .description("Traces decided by the tail sampler, by decision")
+                    .tag("decision", decision.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        this.incomplete = Counter.builder("twiggle.tracing.traces.incomplete")
+                .description("Traces decided before their root span ended, on timeout or to make room")
+                .register(meterRegistry);
+        this.truncated = Counter.builder("twiggle.tracing.spans.truncated")
+                .description("Spans dropped because their trace held the most spans a pending trace may hold")
+                .register(meterRegistry);
+        Gauge.builder("twiggle.tracing.pending", pending, Cache::estimatedSize)
+                .description("Traces waiting for their root span to end")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+        // Nothing is known about the outcome yet.
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        SpanContext context = span.getSpanContext();
+        if (!context.isSampled()) {
+            return;
+        }
+        String traceId = context.getTraceId();
+        Decision decision = decided.getIfPresent(traceId);
+        if (decision != null) {
+            forward(decision, List.of(span));
+            return;
+        }
+
+        SpanContext parent = span.getParentSpanContext();
+        boolean localRoot = !parent.isValid() || parent.isRemote();
+        PendingTrace trace = pending.get(traceId, id -> new PendingTrace());
+        List<ReadableSpan> spans;
+        synchronized (trace) {
+            if (trace.decision != null) {
+                // Decided a moment ago on another thread, or early.
+                forward(trace.decision, List.of(span));
+                return;
+            }
+            trace.add(span);
+            if (!localRoot) {
+                return;
+            }
+            decision = decide(traceId, trace.errored, span.getLatencyNanos());
+            trace.decision = decision;
+            spans = trace.spans;
+        }
+        decisions[decision.ordinal()].increment();
+        decided.put(traceId, decision);
+        pending.invalidate(traceId);
+        forward(decision, spans);
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    /**
+     * Flushes the kept traces to the exporter; traces still waiting for their root span stay pending.
+     */
+    @Override
+    public CompletableResultCode forceFlush() {
+        return delegate.forceFlush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return delegate.shutdown();
+    }
+
+    Decision decide(String traceId, boolean errored, long rootLatencyNanos) {
+        if (errored) {
+            return Decision.ERROR;
+        }
+        if (rootLatencyNanos >= slowThresholdNanos) {
+            return Decision.SLOW;
+        }
+        return sampled(traceId) ? Decision.SAMPLED : Decision.DROPPED;
+    }
+
+    /**
+     * Keeps the same share of trace ids as head sampling's ratio sampler, reading the random low half of the id.
+     */
+    private boolean sampled(String traceId) {
+        long random = Long.parseUnsignedLong(traceId, 16, 32, 16) >>> 1;
+        return random < keepBound;
+    }
+
+    private void decideEarly(String traceId, PendingTrace trace) {
+        Decision decision;
+        List<ReadableSpan> spans;
+        synchronized (trace) {
+            if (trace.decision != null) {
+                return;
+            }
+            // The root has been running at least as long as the earliest span seen of it.
+            decision = decide(traceId, trace.errored, Clock.getDefault().now() - trace.earliestStartNanos);
+            trace.decision = decision;
+            spans = trace.spans;
+        }
+        decided.put(traceId, decision);
+        decisions[decision.ordinal()].increment();
+        incomplete.increment();
+        forward(decision, spans);
+    }
+
+    private void forward(Decision decision, List<ReadableSpan> spans) {
+        if (decision.kept()) {
+            spans.forEach(delegate::onEnd);
+        }
+    }
+
+    private static boolean isError(ReadableSpan span, SpanData data) {
+        return span.getAttribute(ERROR_CODE) != null || data.getStatus().getStatusCode() == StatusCode.ERROR;
+    }
+
+    /** Ended spans of a trace whose root span has not ended yet. */
+    private final class PendingTrace {
+        private final List<ReadableSpan> spans = new ArrayList<>();
+        private boolean errored;
+        private long earliestStartNanos = Long.MAX_VALUE;
+        private Decision decision;
+
+        void add(ReadableSpan span) {
+            SpanData data = span.toSpanData();
+            errored |= isError(span, data);
+            earliestStartNanos = Math.min(earliestStartNanos, data.getStartEpochNanos());
+            if (spans.size() < maxSpansPerTrace) {
+                spans.add(span);
+            } else {
+                truncated.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package dev.solace.twiggle.monitoring;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Actuator endpoint exposing the traces kept by tail sampling, as collected by the {@link LocalTraceCollector}.
+ */
+@Endpoint(id = "traces")
+@RequiredArgsConstructor
+public class TraceCollectorEndpoint {
+
+    private static final int DEFAULT_LIMIT = 50;
+
+    private final LocalTraceCollector collector;
+
+    @ReadOperation
+    public List<LocalTraceCollector.Trace> traces(@Nullable Integer limit) {
+        return collector.traces(limit != null && limit > 0 ? limit : DEFAULT_LIMIT);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        collector.reset();
+    }
+}
@@ -0,0 +1,203 @@
+package dev.solace.twiggle.persistence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.solace.twiggle.config.MongoResilienceProperties;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.tenant.TenantContext;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Runs Mongo calls made on behalf of requests so that a slow or failing database cannot tie up request threads.
+ *
+ * <p>Each call runs on a virtual thread inside its collection's bulkhead, which caps how many calls may be stuck
+ * on one collection, while the request thread waits at most {@code timeout}. Outcomes feed the collection's
+ * circuit breaker; once it opens, calls fail at once without touching the database. Successful reads are kept as
+ * last-known-good results, which {@link #read} serves instead of failing. {@link CustomException}s thrown by the
+ * call itself are domain outcomes: they propagate unchanged and never count against the database. Calls run as the
+ * caller's tenant, and last-known-good results are kept per tenant.
+ *
+ * <p>A write that times out may still complete in the background; callers must treat that outcome as unknown.
+ */
+@Slf4j
+public class ResilientMongoAccess implements AutoCloseable {
+
+    private static final String NAME_PREFIX = "mongo-";
+
+    private final MongoResilienceProperties properties;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+    private final CircuitBreakerConfig circuitBreakerConfig;
+    private final BulkheadConfig bulkheadConfig;
+    private final Cache<CacheKey, CachedResult> lastKnownGood;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ResilientMongoAccess(
+            MongoResilienceProperties properties,
+            CircuitBreakerRegistry circuitBreakers,
+            BulkheadRegistry bulkheads,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.circuitBreakers = circuitBreakers;
+        this.bulkheads = bulkheads;
+        this.meterRegistry = meterRegistry;
+        this.circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .failureRateThreshold(properties.getFailureRateThreshold())
+                .slowCallRateThreshold(properties.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(properties.getSlowCallThreshold())
+                .slidingWindowSize(properties.getSlidingWindowSize())
+                .minimumNumberOfCalls(properties.getMinimumCalls())
+                .waitDurationInOpenState(properties.getOpenStateWait())
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .ignoreExceptions(CustomException.class)
+                .build();
+        this.bulkheadConfig = BulkheadConfig.custom()
+                .maxConcurrentCalls(properties.getMaxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+        this.lastKnownGood = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterWrite(properties.getMaxStaleness())
+                .build();
+    }
+
+    /**
+     * Runs a read. On success the result is remembered under {@code key}; on failure, timeout or an open circuit
+     * the last remembered result for {@code key} is returned instead, if there is one.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T read(String collection, String key, Supplier<T> query) {
+        CacheKey cacheKey = new CacheKey(TenantContext.current(), collection, key);
+        T result;
+        try {
+            result = call(collection, query);
+        } catch (DatabaseUnavailableException ex) {
+            CachedResult cached = lastKnownGood.getIfPresent(cacheKey);
+            if (cached == null) {
+                fallbackCounter(collection, "miss").increment();
+                throw ex.toCustomException();
+            }
+            fallbackCounter(collection, "hit").increment();
+            log.debug("Serving {}/{} from {} after: {}", collection, key, cached.storedAt(), ex.getMessage());
+            return (T) cached.value();
+        }
+        if (result != null) {
+            lastKnownGood.put(cacheKey, new CachedResult(result, Instant.now()));
+        }
+        return result;
+    }
+
+    /**
+     * Runs a write, failing fast with {@code 503} when the database is unavailable.
+     */
+    public <T> T write(String collection, Supplier<T> command) {
+        try {
+            return call(collection, command);
+        } catch (DatabaseUnavailableException ex) {
+            throw ex.toCustomException();
+        }
+    }
+
+    private <T> T call(String collection, Supplier<T> supplier) {
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(NAME_PREFIX + collection, circuitBreakerConfig);
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new DatabaseUnavailableException("circuit open for " + collection, null);
+        }
+        Bulkhead bulkhead = bulkheads.bulkhead(NAME_PREFIX + collection, bulkheadConfig);
+        long start = circuitBreaker.getCurrentTimestamp();
+        if (!bulkhead.tryAcquirePermission()) {
+            circuitBreaker.releasePermission();
+            throw new DatabaseUnavailableException("bulkhead full for " + collection, null);
+        }
+
+        CompletableFuture<T> future;
+        try {
+            // The permit is held until the call itself ends, so calls stuck past their timeout stay counted.
+            future = CompletableFuture.supplyAsync(TenantContext.propagate(supplier), executor)
+                    .whenComplete((value, error) -> bulkhead.onComplete());
+        } catch (RuntimeException ex) {
+            bulkhead.onComplete();
+            circuitBreaker.releasePermission();
+            throw ex;
+        }
+        try {
+            T result = future.get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            circuitBreaker.onResult(elapsed(circuitBreaker, start), circuitBreaker.getTimestampUnit(), result);
+            return result;
+        } catch (TimeoutException ex) {
+            circuitBreaker.onError(elapsed(circuitBreaker, start), circuitBreaker.getTimestampUnit(), ex);
+            throw new DatabaseUnavailableException("timed out on " + collection, ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause() instanceof CompletionException wrapped && wrapped.getCause() != null
+                    ? wrapped.getCause()
+                    : ex.getCause();
+            circuitBreaker.onError(elapsed(circuitBreaker, start), circuitBreaker.getTimestampUnit(), cause);
+            if (cause instanceof CustomException domain) {
+                throw domain;
+            }
+            throw new DatabaseUnavailableException(cause.toString(), cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.releasePermission();
+            throw new DatabaseUnavailableException("interrupted", ex);
+        }
+    }
+
+    private static long elapsed(CircuitBreaker circuitBreaker, long start) {
+        return circuitBreaker.getCurrentTimestamp() - start;
+    }
+
+    private Counter fallbackCounter(String collection, String outcome) {
+        return Counter.builder("twiggle.mongo.fallback")
+                .description("Reads answered from the last-known-good cache (hit) or failed without one (miss)")
+                .tag("collection", collection)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private record CacheKey(String tenant, String collection, String key) {}
+
+    private record CachedResult(Object value, Instant storedAt) {}
+
+    /**
+     * The call could not be completed for reasons attributed to the database rather than the request.
+     */
+    private static final class DatabaseUnavailableException extends RuntimeException {
+        DatabaseUnavailableException(String message, Throwable cause) {
+            super(message, cause);
+        }
+
+        CustomException toCustomException() {
+            return new CustomException(
+                    "The database is temporarily unavailable, please retry shortly",
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    ErrorCode.SERVICE_UNAVAILABLE);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package dev.solace.twiggle.repository;
+
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import java.util.Objects;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+
+/**
+ * Request for one page of a keyset-paginated query ordered by an indexed field, with {@code _id} as tie-breaker.
+ *
+ * @param sortField Mongo field name to order by; should lead a compound index ending in {@code _id}
+ * @param direction sort direction applied to both the field and {@code _id}
+ * @param size maximum number of items in the page
+ * @param cursor continuation token from the previous page, or {@code null} for the first page
+ */
+public record KeysetPageRequest(String sortField, Sort.Direction direction, int size, @Nullable String cursor) {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public KeysetPageRequest {
+        Objects.requireNonNull(sortField, "sortField must not be null");
+        Objects.requireNonNull(direction, "direction must not be null");
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new CustomException(
+                    "Page size must be between 1 and " + MAX_PAGE_SIZE,
+                    HttpStatus.BAD_REQUEST,
+                    ErrorCode.INVALID_ARGUMENT);
+        }
+    }
+
+    public static KeysetPageRequest first(String sortField, Sort.Direction direction, int size) {
+        return new KeysetPageRequest(sortField, direction, size, null);
+    }
+
+    /**
+     * Identifies the ordering a cursor belongs to.
+     */
+    public String sortSpec() {
+        return sortField + ":" + direction.name().toLowerCase();
+    }
+}
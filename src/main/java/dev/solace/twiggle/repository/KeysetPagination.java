@@ -0,0 +1,117 @@
+package dev.solace.twiggle.repository;
+
+import dev.solace.twiggle.dto.CursorPage;
+import dev.solace.twiggle.util.CursorCodec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * Keyset (seek) pagination over Mongo collections.
+ *
+ * <p>Instead of {@code skip}, which makes the server walk every preceding entry, each page resumes with a range
+ * predicate on {@code (sortField, _id)} taken from the last item of the previous page. With an index on
+ * {@code {sortField: 1, _id: 1}} every page is a bounded index scan regardless of depth.
+ *
+ * <p>Mongo sorts entries whose sort field is {@code null} or missing before all others, but its range operators
+ * never match them, so that group is sought explicitly: by {@code _id} within it, and with {@code $ne: null} past
+ * it. Range operators also only match values of the same BSON type, so the sort field must otherwise hold a single
+ * type.
+ */
+public final class KeysetPagination {
+
+    private static final String ID_FIELD = "_id";
+
+    private KeysetPagination() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Fetches one page. The base query supplies filters only; it must not carry its own sort, skip or limit.
+     */
+    public static <T> CursorPage<T> page(
+            MongoOperations mongoOperations, Query baseQuery, Class<T> entityClass, KeysetPageRequest request) {
+        return page(mongoOperations, baseQuery, entityClass, mongoOperations.getCollectionName(entityClass), request);
+    }
+
+    public static <T> CursorPage<T> page(
+            MongoOperations mongoOperations,
+            Query baseQuery,
+            Class<T> entityClass,
+            String collectionName,
+            KeysetPageRequest request) {
+        Query query = Query.of(baseQuery);
+        if (request.cursor() != null) {
+            List<Object> keys = CursorCodec.decode(request.sortSpec(), request.cursor(), 2);
+            query.addCriteria(seekCriteria(request, keys));
+        }
+        query.with(Sort.by(request.direction(), request.sortField()).and(Sort.by(request.direction(), ID_FIELD)));
+        query.limit(request.size() + 1);
+
+        List<T> results = new ArrayList<>(mongoOperations.find(query, entityClass, collectionName));
+        boolean hasMore = results.size() > request.size();
+        if (hasMore) {
+            results.remove(results.size() - 1);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            T last = results.get(results.size() - 1);
+            Document lastDocument = new Document();
+            mongoOperations.getConverter().write(last, lastDocument);
+            nextCursor = CursorCodec.encode(
+                    request.sortSpec(),
+                    // A null or missing sort value is a position too, which List.of would reject.
+                    Arrays.asList(valueAt(lastDocument, request.sortField()), lastDocument.get(ID_FIELD)));
+        }
+        return CursorPage.<T>builder()
+                .items(results)
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    static Criteria seekCriteria(KeysetPageRequest request, List<Object> keys) {
+        Object sortValue = keys.get(0);
+        Object id = keys.get(1);
+        boolean ascending = request.direction().isAscending();
+        Criteria pastId = ascending
+                ? Criteria.where(ID_FIELD).gt(id)
+                : Criteria.where(ID_FIELD).lt(id);
+        Criteria sameSortValue =
+                new Criteria().andOperator(Criteria.where(request.sortField()).is(sortValue), pastId);
+        if (sortValue == null) {
+            // The null group comes first, so ascending continues with everything else and descending ends with it.
+            return ascending
+                    ? new Criteria()
+                            .orOperator(
+                                    sameSortValue,
+                                    Criteria.where(request.sortField()).ne(null))
+                    : sameSortValue;
+        }
+        if (ascending) {
+            return new Criteria().orOperator(Criteria.where(request.sortField()).gt(sortValue), sameSortValue);
+        }
+        return new Criteria()
+                .orOperator(
+                        Criteria.where(request.sortField()).lt(sortValue),
+                        sameSortValue,
+                        Criteria.where(request.sortField()).is(null));
+    }
+
+    private static Object valueAt(Document document, String dottedPath) {
+        Object current = document;
+        for (String segment : dottedPath.split("\\.")) {
+            if (!(current instanceof Document nested)) {
+                return null;
+            }
+            current = nested.get(segment);
+        }
+        return current;
+    }
+}
@@ -0,0 +1,11 @@
+package dev.solace.twiggle.repository.catalog;
+
+import dev.solace.twiggle.model.Plant;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the plant catalog. Reads are routed through the catalog read preference.
+ */
+@Repository
+public interface PlantRepository extends MongoRepository<Plant, String> {}
@@ -0,0 +1,24 @@
+package dev.solace.twiggle.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The caller identified by a verified bearer token, available to handlers as a request attribute.
+ *
+ * @param subject the {@code sub} claim
+ * @param scopes the space-separated {@code scope} claim, split
+ * @param expiresAt the {@code exp} claim
+ * @param keyId the {@code kid} of the key that signed the token
+ * @param tenant the tenant claim, or {@code null} when the token does not name a tenant
+ */
+public record AuthenticatedUser(String subject, Set<String> scopes, Instant expiresAt, String keyId, String tenant) {
+
+    public static final String ATTRIBUTE = AuthenticatedUser.class.getName();
+
+    public static Optional<AuthenticatedUser> from(HttpServletRequest request) {
+        return Optional.ofNullable((AuthenticatedUser) request.getAttribute(ATTRIBUTE));
+    }
+}
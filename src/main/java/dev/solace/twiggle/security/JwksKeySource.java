@@ -0,0 +1,168 @@
+package dev.solace.twiggle.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import dev.solace.twiggle.config.SecurityProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * The signing keys published at the JWKS endpoint, by key id.
+ *
+ * <p>The key set is loaded once the application is ready and reloaded every {@code jwksRefreshInterval} in the
+ * background, so a key the issuer starts publishing ahead of a rotation is known before the first token signed with
+ * it arrives, and a retired key stops being accepted within one interval. A token signed with a key that is not
+ * known yet triggers an immediate reload, at most once per {@code jwksMinRefreshInterval}. A failed reload keeps the
+ * previous keys. Only RSA signing keys are used.
+ */
+@Slf4j
+public class JwksKeySource {
+
+    /** A key usable for verification, with the algorithm it is restricted to, if the key set names one. */
+    public record SigningKey(RSASSAVerifier verifier, JWSAlgorithm algorithm) {}
+
+    private final SecurityProperties properties;
+    private final HttpClient httpClient;
+    private final Counter refreshed;
+    private final Counter failed;
+    private volatile Map<String, SigningKey> keys = Map.of();
+    private long lastAttempt;
+
+    public JwksKeySource(SecurityProperties properties, MeterRegistry meterRegistry) {
+        if (properties.getJwksUri() == null) {
+            throw new IllegalStateException("twiggle.security.jwks-uri must be set when authentication is enabled");
+        }
+        this.properties = properties;
+        this.lastAttempt =
+                System.nanoTime() - properties.getJwksMinRefreshInterval().toNanos();
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getJwksTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.refreshed = Counter.builder("twiggle.security.jwks.refresh")
+                .description("Reloads of the JWKS key set")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.failed = Counter.builder("twiggle.security.jwks.refresh")
+                .description("Reloads of the JWKS key set")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        Gauge.builder("twiggle.security.jwks.keys", this, source -> source.keys.size())
+                .description("Signing keys currently accepted")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${twiggle.security.jwks-refresh-interval:5m}",
+            initialDelayString = "${twiggle.security.jwks-refresh-interval:5m}")
+    public void refresh() {
+        reload();
+    }
+
+    /**
+     * Returns the key with id {@code keyId}, reloading the key set first if it is unknown and the last reload is
+     * at least {@code jwksMinRefreshInterval} ago; {@code null} if there is still no such key.
+     */
+    public SigningKey key(String keyId) {
+        SigningKey key = keys.get(keyId);
+        if (key != null) {
+            return key;
+        }
+        synchronized (this) {
+            key = keys.get(keyId);
+            if (key == null
+                    && System.nanoTime() - lastAttempt
+                            >= properties.getJwksMinRefreshInterval().toNanos()) {
+                reload();
+                key = keys.get(keyId);
+            }
+        }
+        return key;
+    }
+
+    /** Whether tokens signed with {@code keyId} are still accepted. */
+    public boolean contains(String keyId) {
+        return keys.containsKey(keyId);
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    /** Replaces the keys with the ones currently published, returning whether that succeeded. */
+    public synchronized boolean reload() {
+        lastAttempt = System.nanoTime();
+        try {
+            Map<String, SigningKey> loaded = parse(fetch());
+            if (!loaded.keySet().equals(keys.keySet())) {
+                log.info("JWKS key set changed from {} to {}", keys.keySet(), loaded.keySet());
+            }
+            keys = Map.copyOf(loaded);
+            refreshed.increment();
+            return true;
+        } catch (IOException | ParseException | JOSEException ex) {
+            failed.increment();
+            log.warn(
+                    "Loading the JWKS key set from {} failed, keeping {} keys",
+                    properties.getJwksUri(),
+                    keys.size(),
+                    ex);
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            failed.increment();
+            return false;
+        }
+    }
+
+    private String fetch() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(properties.getJwksUri())
+                .timeout(properties.getJwksTimeout())
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("JWKS endpoint answered " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private static Map<String, SigningKey> parse(String body) throws ParseException, JOSEException {
+        Map<String, SigningKey> loaded = new HashMap<>();
+        for (JWK jwk : JWKSet.parse(body).getKeys()) {
+            if (!(jwk instanceof RSAKey rsaKey)
+                    || jwk.getKeyID() == null
+                    || (jwk.getKeyUse() != null && !KeyUse.SIGNATURE.equals(jwk.getKeyUse()))) {
+                continue;
+            }
+            JWSAlgorithm algorithm = jwk.getAlgorithm() == null
+                    ? null
+                    : JWSAlgorithm.parse(jwk.getAlgorithm().getName());
+            loaded.put(jwk.getKeyID(), new SigningKey(new RSASSAVerifier(rsaKey), algorithm));
+        }
+        return loaded;
+    }
+}
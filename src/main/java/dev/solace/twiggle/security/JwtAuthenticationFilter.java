@@ -0,0 +1,128 @@
+package dev.solace.twiggle.security;
+
+import dev.solace.twiggle.config.SecurityProperties;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Requires a valid bearer token on the configured paths and exposes the caller as an {@link AuthenticatedUser}
+ * request attribute.
+ *
+ * <p>A missing or invalid token is rejected with {@code 401} and a {@code WWW-Authenticate} challenge, a request for
+ * another user's resources under one of the subject paths with {@code 403}; both carry
+ * {@link ErrorCode#ACCESS_DENIED}. CORS preflight requests pass without a token. WebSocket handshakes, to which
+ * browsers cannot add headers, may carry the token as an {@code access_token} query parameter instead.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String USER_ID = "userId";
+    private static final String ACCESS_TOKEN_PARAMETER = "access_token";
+
+    private final JwtVerifier verifier;
+    private final SecurityProperties properties;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final List<PathPattern> subjectPaths;
+
+    public JwtAuthenticationFilter(
+            JwtVerifier verifier, SecurityProperties properties, HandlerExceptionResolver exceptionResolver) {
+        this.verifier = verifier;
+        this.properties = properties;
+        this.exceptionResolver = exceptionResolver;
+        this.subjectPaths = properties.getSubjectPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+            return true;
+        }
+        String path = path(request);
+        return properties.getPaths().stream().noneMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain chain)
+            throws ServletException, IOException {
+        String token = token(request);
+        if (token == null) {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+            reject(
+                    request,
+                    response,
+                    new CustomException(
+                            "A bearer token is required", HttpStatus.UNAUTHORIZED, ErrorCode.ACCESS_DENIED));
+            return;
+        }
+
+        AuthenticatedUser user;
+        try {
+            user = verifier.verify(token);
+        } catch (CustomException ex) {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            reject(request, response, ex);
+            return;
+        }
+
+        // Matched segment by segment as handler mapping does, each decoded once and without its ;parameters.
+        PathContainer path = RequestPath.parse(request.getRequestURI(), request.getContextPath())
+                .pathWithinApplication();
+        for (PathPattern pattern : subjectPaths) {
+            PathPattern.PathMatchInfo match = pattern.matchAndExtract(path);
+            if (match != null && !user.subject().equals(match.getUriVariables().get(USER_ID))) {
+                reject(
+                        request,
+                        response,
+                        new CustomException(
+                                "The token does not grant access to another user's resources",
+                                HttpStatus.FORBIDDEN,
+                                ErrorCode.ACCESS_DENIED));
+                return;
+            }
+        }
+
+        request.setAttribute(AuthenticatedUser.ATTRIBUTE, user);
+        chain.doFilter(request, response);
+    }
+
+    private static String token(HttpServletRequest request) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return authorization.substring(BEARER_PREFIX.length()).trim();
+        }
+        if (authorization == null && "websocket".equalsIgnoreCase(request.getHeader(HttpHeaders.UPGRADE))) {
+            String token = request.getParameter(ACCESS_TOKEN_PARAMETER);
+            return token != null && !token.isBlank() ? token : null;
+        }
+        return null;
+    }
+
+    /** The path as handler mapping sees it: decoded and without {@code ;parameters}. */
+    private static String path(HttpServletRequest request) {
+        return UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, CustomException ex) {
+        exceptionResolver.resolveException(request, response, null, ex);
+    }
+}
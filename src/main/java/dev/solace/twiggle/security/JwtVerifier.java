@@ -0,0 +1,209 @@
+package dev.solace.twiggle.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import dev.solace.twiggle.config.SecurityProperties;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Verifies RSA-signed bearer tokens against the keys of a {@link JwksKeySource} and checks their claims.
+ *
+ * <p>A verified token is cached under its SHA-256 hash until it expires, bounded to {@code tokenCacheSize} tokens,
+ * so the signature of a token is checked once rather than on every request that carries it. A cached token is only
+ * honoured while the key that signed it is still published, so retiring a key also retires the tokens it signed.
+ * Rejected tokens are not cached. Outcomes are counted as {@code twiggle.security.tokens} and signature checks timed
+ * as {@code twiggle.security.verification}.
+ */
+public class JwtVerifier {
+
+    private final JwksKeySource keySource;
+    private final SecurityProperties properties;
+    private final Clock clock;
+    private final Cache<String, AuthenticatedUser> verified;
+    private final Counter cachedTokens;
+    private final Counter verifiedTokens;
+    private final Counter rejectedTokens;
+    private final Timer verification;
+
+    public JwtVerifier(JwksKeySource keySource, SecurityProperties properties, MeterRegistry meterRegistry) {
+        this(keySource, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    JwtVerifier(JwksKeySource keySource, SecurityProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.keySource = keySource;
+        this.properties = properties;
+        this.clock = clock;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(properties.getTokenCacheSize())
+                .expireAfter(new Expiry<String, AuthenticatedUser>() {
+                    @Override
+                    public long expireAfterCreate(String hash, AuthenticatedUser user, long currentTime) {
+                        return Duration.between(
+                                        clock.instant(), user.expiresAt().plus(properties.getClockSkew()))
+                                .toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(
+                            String hash, AuthenticatedUser user, long currentTime, long currentDuration) {
+                        return expireAfterCreate(hash, user, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(
+                            String hash, AuthenticatedUser user, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.cachedTokens = tokens(meterRegistry, "cached");
+        this.verifiedTokens = tokens(meterRegistry, "verified");
+        this.rejectedTokens = tokens(meterRegistry, "rejected");
+        this.verification = Timer.builder("twiggle.security.verification")
+                .description("Signature and claim checks of tokens not found in the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the caller a token identifies, or throws {@code 401} with {@link ErrorCode#ACCESS_DENIED} if it is
+     * malformed, not signed by a published key, expired, not yet valid or meant for another issuer or audience.
+     */
+    public AuthenticatedUser verify(String token) {
+        String hash = hash(token);
+        AuthenticatedUser cached = verified.getIfPresent(hash);
+        if (cached != null && keySource.contains(cached.keyId())) {
+            cachedTokens.increment();
+            return cached;
+        }
+        long start = System.nanoTime();
+        try {
+            AuthenticatedUser user = check(token);
+            verified.put(hash, user);
+            verifiedTokens.increment();
+            return user;
+        } catch (CustomException ex) {
+            rejectedTokens.increment();
+            throw ex;
+        } finally {
+            verification.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    /** Number of verified tokens currently cached. */
+    public long cachedTokens() {
+        verified.cleanUp();
+        return verified.estimatedSize();
+    }
+
+    private AuthenticatedUser check(String token) {
+        SignedJWT jwt;
+        JWTClaimsSet claims;
+        try {
+            jwt = SignedJWT.parse(token);
+            claims = jwt.getJWTClaimsSet();
+        } catch (ParseException ex) {
+            throw invalid("the token is malformed");
+        }
+        JWSHeader header = jwt.getHeader();
+        if (!JWSAlgorithm.Family.RSA.contains(header.getAlgorithm())) {
+            throw invalid("the token is not signed with RSA");
+        }
+        JwksKeySource.SigningKey key = header.getKeyID() == null ? null : keySource.key(header.getKeyID());
+        if (key == null) {
+            throw invalid("the token is signed with an unknown key");
+        }
+        if (key.algorithm() != null && !key.algorithm().equals(header.getAlgorithm())) {
+            throw invalid("the token is signed with an algorithm its key does not allow");
+        }
+        try {
+            if (!jwt.verify(key.verifier())) {
+                throw invalid("the signature does not match");
+            }
+        } catch (JOSEException ex) {
+            throw invalid("the signature could not be checked");
+        }
+
+        Instant now = clock.instant();
+        Duration skew = properties.getClockSkew();
+        Date expiration = claims.getExpirationTime();
+        if (expiration == null) {
+            throw invalid("the token has no expiry");
+        }
+        if (now.isAfter(expiration.toInstant().plus(skew))) {
+            throw invalid("the token has expired");
+        }
+        Date notBefore = claims.getNotBeforeTime();
+        if (notBefore != null && now.plus(skew).isBefore(notBefore.toInstant())) {
+            throw invalid("the token is not valid yet");
+        }
+        if (properties.getIssuer() != null && !properties.getIssuer().equals(claims.getIssuer())) {
+            throw invalid("the token was issued by someone else");
+        }
+        if (properties.getAudience() != null
+                && (claims.getAudience() == null || !claims.getAudience().contains(properties.getAudience()))) {
+            throw invalid("the token is meant for another audience");
+        }
+        if (claims.getSubject() == null || claims.getSubject().isBlank()) {
+            throw invalid("the token has no subject");
+        }
+        return new AuthenticatedUser(
+                claims.getSubject(), scopes(claims), expiration.toInstant(), header.getKeyID(), tenant(claims));
+    }
+
+    private String tenant(JWTClaimsSet claims) {
+        return claims.getClaim(properties.getTenantClaim()) instanceof String tenant && !tenant.isBlank()
+                ? tenant
+                : null;
+    }
+
+    private static Set<String> scopes(JWTClaimsSet claims) {
+        Object scope = claims.getClaim("scope");
+        if (!(scope instanceof String scopes) || scopes.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(scopes.trim().split("\\s+")).collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static CustomException invalid(String reason) {
+        return new CustomException("Invalid bearer token: " + reason, HttpStatus.UNAUTHORIZED, ErrorCode.ACCESS_DENIED);
+    }
+
+    private static String hash(String token) {
+        try {
+            return HexFormat.of()
+                    .formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static Counter tokens(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("twiggle.security.tokens")
+                .description("Bearer tokens presented, by how they were accepted or rejected")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,168 @@
+package dev.solace.twiggle.service.changestream;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+/**
+ * Tails a collection's change stream on a dedicated daemon thread, handing each event to a handler.
+ *
+ * <p>The watcher remembers the resume token of the last handled event and resumes from it after transient
+ * failures, so no event is skipped. Handlers must be idempotent: an event can be delivered again if the watcher
+ * fails between handling it and recording its token, or when started from an operation time before a snapshot.
+ *
+ * <p>If the oplog no longer reaches back to the resume point, events have been lost. With an
+ * {@link #onHistoryLost} callback the watcher then restarts from the present and lets the callback resynchronize;
+ * without one it keeps retrying.
+ */
+@Slf4j
+public class ChangeStreamWatcher {
+
+    private static final Duration MAX_AWAIT = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    private final String name;
+    private final MongoCollection<Document> collection;
+    private final List<? extends Bson> pipeline;
+    private final Consumer<ChangeStreamDocument<Document>> handler;
+
+    private volatile boolean running;
+    private volatile BsonDocument resumeToken;
+    private volatile BsonTimestamp startAtOperationTime;
+    private volatile BsonTimestamp lastEventTime;
+    private volatile Runnable historyLostHandler;
+    private Thread thread;
+
+    public ChangeStreamWatcher(
+            String name,
+            MongoCollection<Document> collection,
+            List<? extends Bson> pipeline,
+            Consumer<ChangeStreamDocument<Document>> handler) {
+        this.name = name;
+        this.collection = collection;
+        this.pipeline = pipeline;
+        this.handler = handler;
+    }
+
+    /**
+     * Starts tailing after the given resume token, or at the given operation time if there is no token.
+     */
+    public synchronized void start(BsonDocument resumeAfter, BsonTimestamp startAt) {
+        if (running) {
+            return;
+        }
+        this.resumeToken = resumeAfter;
+        this.startAtOperationTime = startAt;
+        this.running = true;
+        this.thread = Thread.ofPlatform().daemon().name("change-stream-" + name).start(this::run);
+    }
+
+    /**
+     * Registers a callback run on the watcher thread after the stream had to restart from the present because the
+     * events since the resume point are no longer available.
+     */
+    public void onHistoryLost(Runnable handler) {
+        this.historyLostHandler = handler;
+    }
+
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public BsonDocument getResumeToken() {
+        return resumeToken;
+    }
+
+    /**
+     * Cluster time of the most recently handled event, or {@code null} if none has been handled yet.
+     */
+    public BsonTimestamp getLastEventTime() {
+        return lastEventTime;
+    }
+
+    private void run() {
+        long backoffMillis = 100;
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = openCursor()) {
+                backoffMillis = 100;
+                while (running) {
+                    ChangeStreamDocument<Document> event = cursor.tryNext();
+                    if (event == null) {
+                        continue;
+                    }
+                    try {
+                        handler.accept(event);
+                    } catch (RuntimeException ex) {
+                        // A handler bug must not wedge the stream on one poisoned event.
+                        log.error("Change stream {} handler failed, skipping event", name, ex);
+                    }
+                    resumeToken = event.getResumeToken();
+                    lastEventTime = event.getClusterTime();
+                }
+            } catch (MongoException | IllegalStateException ex) {
+                if (!running) {
+                    return;
+                }
+                Runnable onHistoryLost = historyLostHandler;
+                if (onHistoryLost != null
+                        && ex instanceof MongoException mongoException
+                        && mongoException.getCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    log.error("Change stream {} cannot resume, its history is gone; restarting from now", name, ex);
+                    resumeToken = null;
+                    startAtOperationTime = null;
+                    try {
+                        onHistoryLost.run();
+                    } catch (RuntimeException handlerFailure) {
+                        log.error("Change stream {} history-lost handler failed", name, handlerFailure);
+                    }
+                    continue;
+                }
+                log.warn("Change stream {} failed, resuming in {}ms", name, backoffMillis, ex);
+                sleep(backoffMillis);
+                backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF.toMillis());
+            }
+        }
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> openCursor() {
+        var stream = collection
+                .watch(pipeline)
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(MAX_AWAIT.toMillis(), TimeUnit.MILLISECONDS);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        } else if (startAtOperationTime != null) {
+            stream = stream.startAtOperationTime(startAtOperationTime);
+        }
+        return stream.cursor();
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
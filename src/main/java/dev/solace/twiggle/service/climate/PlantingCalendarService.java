@@ -0,0 +1,167 @@
+package dev.solace.twiggle.service.climate;
+
+import dev.solace.twiggle.climate.ClimateTables;
+import dev.solace.twiggle.config.ClimateProperties;
+import dev.solace.twiggle.dto.PlantSearchHit;
+import dev.solace.twiggle.dto.PlantingCalendarView;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.Plant;
+import dev.solace.twiggle.service.search.PlantSearchQuery;
+import dev.solace.twiggle.service.search.PlantSearchService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+/**
+ * Answers "what can I plant here this week" from the memory-mapped {@link ClimateTables}: the hardiness zone and
+ * frost dates of a location, the seasons open for planting in a given week and the plants that fit both.
+ *
+ * <p>The tables are mapped when the service is created, which only sets up the mapping, so lookups need no
+ * database round trip and no warm-up. Memory mapping needs a real file, so built-in tables packaged in the jar are
+ * copied to a temporary directory first. Lookups are counted as {@code twiggle.climate.lookups} by whether the
+ * location has data.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "twiggle.climate", name = "enabled")
+public class PlantingCalendarService {
+
+    static final String CLASSPATH_DIRECTORY = "climate/";
+
+    private static final Plant.Season[] SEASONS = Plant.Season.values();
+
+    private final ClimateTables tables;
+    private final PlantSearchService plantSearchService;
+    private final Counter foundLookups;
+    private final Counter unknownLookups;
+
+    public PlantingCalendarService(
+            ClimateProperties properties, PlantSearchService plantSearchService, MeterRegistry meterRegistry) {
+        this.tables = open(properties);
+        this.plantSearchService = plantSearchService;
+        this.foundLookups = lookups(meterRegistry, "found");
+        this.unknownLookups = lookups(meterRegistry, "unknown");
+    }
+
+    /**
+     * Returns the planting calendar of a location for the week of {@code date}, with up to {@code limit} plants.
+     * Throws {@code 400} for coordinates or a limit out of range and {@code 404} for a location without climate data.
+     */
+    public PlantingCalendarView calendar(double latitude, double longitude, LocalDate date, int limit) {
+        if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            throw new CustomException(
+                    "Latitude must be between -90 and 90 and longitude between -180 and 180",
+                    HttpStatus.BAD_REQUEST,
+                    ErrorCode.INVALID_ARGUMENT);
+        }
+        if (limit < 0 || limit > PlantSearchQuery.MAX_LIMIT) {
+            throw new CustomException(
+                    "Plant limit must be between 0 and " + PlantSearchQuery.MAX_LIMIT,
+                    HttpStatus.BAD_REQUEST,
+                    ErrorCode.INVALID_ARGUMENT);
+        }
+        int profile = tables.profileAt(latitude, longitude);
+        if (profile == 0) {
+            unknownLookups.increment();
+            throw new CustomException(
+                    "No climate data for " + latitude + ", " + longitude,
+                    HttpStatus.NOT_FOUND,
+                    ErrorCode.RESOURCE_NOT_FOUND);
+        }
+        foundLookups.increment();
+
+        int halfZone = tables.halfZone(profile);
+        int hardinessZone = (halfZone + 1) / 2;
+        int lastFrost = tables.lastFrostDay(profile);
+        int firstFrost = tables.firstFrostDay(profile);
+        Set<Plant.Season> seasons = seasons(tables.plantableSeasons(profile, ClimateTables.weekOf(date)));
+        return PlantingCalendarView.builder()
+                .zone(hardinessZone + (halfZone % 2 == 1 ? "a" : "b"))
+                .hardinessZone(hardinessZone)
+                .date(date)
+                .frostFree(lastFrost == 0)
+                .lastFrost(lastFrost == 0 ? null : dateOf(date.getYear(), lastFrost))
+                .firstFrost(firstFrost == 0 ? null : dateOf(date.getYear(), firstFrost))
+                .plantableSeasons(seasons)
+                .plants(plants(seasons, hardinessZone, limit))
+                .build();
+    }
+
+    private List<PlantSearchHit> plants(Set<Plant.Season> seasons, int hardinessZone, int limit) {
+        if (limit == 0 || seasons.isEmpty()) {
+            return List.of();
+        }
+        PlantSearchQuery query = PlantSearchQuery.builder()
+                .seasons(seasons)
+                .zone(hardinessZone)
+                .limit(limit)
+                .build();
+        return plantSearchService.search(query).getHits();
+    }
+
+    private static Set<Plant.Season> seasons(int mask) {
+        Set<Plant.Season> seasons = EnumSet.noneOf(Plant.Season.class);
+        for (Plant.Season season : SEASONS) {
+            if ((mask & 1 << season.ordinal()) != 0) {
+                seasons.add(season);
+            }
+        }
+        return seasons;
+    }
+
+    private static LocalDate dateOf(int year, int day) {
+        LocalDate date = LocalDate.ofYearDay(year, day);
+        // The tables count days of a common year.
+        return date.isLeapYear() && day > 59 ? date.plusDays(1) : date;
+    }
+
+    private static ClimateTables open(ClimateProperties properties) {
+        try {
+            Path directory = properties.getDirectory() != null ? properties.getDirectory() : builtInDirectory();
+            ClimateTables tables = ClimateTables.open(directory);
+            log.info("Mapped {} climate profiles from {}", tables.profiles() - 1, directory);
+            return tables;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Climate tables could not be mapped", ex);
+        }
+    }
+
+    private static Path builtInDirectory() throws IOException {
+        ClassPathResource grid = new ClassPathResource(CLASSPATH_DIRECTORY + ClimateTables.GRID_FILE);
+        if (grid.isFile()) {
+            return grid.getFile().toPath().getParent();
+        }
+        Path directory = Files.createTempDirectory("twiggle-climate");
+        // Registered first so it is deleted last, once empty.
+        directory.toFile().deleteOnExit();
+        for (String name : List.of(ClimateTables.GRID_FILE, ClimateTables.CALENDAR_FILE)) {
+            Path file = directory.resolve(name);
+            try (InputStream in = new ClassPathResource(CLASSPATH_DIRECTORY + name).getInputStream()) {
+                Files.copy(in, file);
+            }
+            file.toFile().deleteOnExit();
+        }
+        return directory;
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("twiggle.climate.lookups")
+                .description("Planting calendar lookups, by whether the location has climate data")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
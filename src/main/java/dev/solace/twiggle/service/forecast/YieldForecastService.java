@@ -0,0 +1,595 @@
+package dev.solace.twiggle.service.forecast;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import dev.solace.twiggle.config.ForecastProperties;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.Plant;
+import dev.solace.twiggle.model.forecast.ForecastRun;
+import dev.solace.twiggle.model.forecast.YieldForecast;
+import dev.solace.twiggle.model.sensor.RollupGranularity;
+import dev.solace.twiggle.model.sensor.SensorMetric;
+import dev.solace.twiggle.model.sensor.SensorRollup;
+import dev.solace.twiggle.model.stats.GardenStats;
+import dev.solace.twiggle.tenant.TenantContext;
+import dev.solace.twiggle.tenant.TenantDirectory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs the nightly yield and harvest date forecast of every garden with the {@link YieldSimulator} and serves the
+ * stored forecasts.
+ *
+ * <p>A run reads the gardens of a tenant through a single cursor over {@code garden_stats} in {@code _id} order,
+ * which already holds each garden's plant counts, and cuts it into chunks of {@code chunkSize} gardens. Each chunk
+ * is forecast on one of {@code parallelism} worker threads: its daily sensor rollups are read with one query, its
+ * gardens simulated and the forecasts written with one unordered bulk write. At most {@code maxChunksInFlight}
+ * chunks are read but not yet written, and the cursor waits for a free slot, which bounds the memory of a run
+ * independently of the number of gardens.
+ *
+ * <p>Runs are driven by a coordinator thread of their own, so a poll only hands them over and the scheduler thread
+ * shared with the other {@code @Scheduled} jobs is never held for a whole run.
+ *
+ * <p>Chunks finish out of order, so the checkpoint is the last garden of the longest run of finished chunks from
+ * the start; it is saved at most every {@code checkpointInterval} in the run's {@link ForecastRun}, which is also
+ * the run's lease. The coordinator renews the lease every third of {@code leaseDuration} even while the checkpoint
+ * cannot advance, such as behind a slow first chunk. Only one instance forecasts a tenant's run at a time. A run interrupted by a failure, a restart
+ * or a lost lease is resumed after its checkpoint, by this instance on its next poll or by another once the lease
+ * has run out. Gardens after the checkpoint may be forecast twice, which the deterministic simulation makes
+ * harmless.
+ *
+ * <p>Progress is reported as {@code twiggle.forecast.*} meters: gardens and simulated paths as counters, chunk and
+ * run durations as timers, and the chunks in flight and the throughput of the latest run as gauges.
+ */
+@Slf4j
+@Service
+public class YieldForecastService implements DisposableBean {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoTemplate catalogTemplate;
+    private final ForecastProperties properties;
+    private final TenantDirectory tenantDirectory;
+    private final YieldSimulator simulator;
+    private final String owner = UUID.randomUUID().toString();
+    private final int parallelism;
+    private final int maxChunksInFlight;
+    private final ExecutorService workers;
+    private final ExecutorService coordinator;
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private final AtomicInteger chunksInFlight = new AtomicInteger();
+    private final AtomicLong runGardens = new AtomicLong();
+    private final Counter gardensForecast;
+    private final Counter simulations;
+    private final Counter failures;
+    private final Timer chunkTimer;
+    private final Timer runTimer;
+    private volatile long runStartedNanos;
+    private volatile long runEndedNanos;
+    private volatile boolean running = true;
+
+    public YieldForecastService(
+            MongoTemplate mongoTemplate,
+            @Qualifier("catalogMongoTemplate") MongoTemplate catalogTemplate,
+            ForecastProperties properties,
+            TenantDirectory tenantDirectory,
+            MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.catalogTemplate = catalogTemplate;
+        this.properties = properties;
+        this.tenantDirectory = tenantDirectory;
+        this.simulator = new YieldSimulator(properties);
+        this.parallelism = properties.getParallelism() > 0
+                ? properties.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.maxChunksInFlight =
+                properties.getMaxChunksInFlight() > 0 ? properties.getMaxChunksInFlight() : 2 * parallelism;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("yield-forecast-");
+        threadFactory.setDaemon(true);
+        // Simulation is CPU-bound, so a fixed pool of platform threads rather than virtual threads.
+        this.workers = Executors.newFixedThreadPool(parallelism, threadFactory);
+        CustomizableThreadFactory coordinatorFactory = new CustomizableThreadFactory("yield-forecast-run-");
+        coordinatorFactory.setDaemon(true);
+        this.coordinator = Executors.newSingleThreadExecutor(coordinatorFactory);
+        this.gardensForecast = Counter.builder("twiggle.forecast.gardens")
+                .description("Gardens forecast")
+                .register(meterRegistry);
+        this.simulations = Counter.builder("twiggle.forecast.simulations")
+                .description("Weather paths simulated")
+                .register(meterRegistry);
+        this.failures = Counter.builder("twiggle.forecast.failures")
+                .description("Forecast runs interrupted by a failure and left to resume from their checkpoint")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("twiggle.forecast.chunk")
+                .description("Time taken to read, forecast and write one chunk of gardens")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("twiggle.forecast.run")
+                .description("Time taken by this instance on a tenant's forecast run")
+                .register(meterRegistry);
+        Gauge.builder("twiggle.forecast.chunks.in-flight", chunksInFlight, AtomicInteger::get)
+                .description("Chunks of gardens read but not yet written")
+                .register(meterRegistry);
+        Gauge.builder("twiggle.forecast.throughput", this, YieldForecastService::throughput)
+                .description("Gardens forecast per second by the current or latest run on this instance")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hands the forecast run that is due in every tenant to the coordinator, unless it is still busy with those of
+     * an earlier poll.
+     */
+    @Scheduled(
+            fixedDelayString = "${twiggle.forecast.poll-interval:1m}",
+            initialDelayString = "${twiggle.forecast.poll-interval:1m}")
+    public void poll() {
+        if (!properties.isEnabled() || !running || !polling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            coordinator.execute(() -> {
+                try {
+                    runDue();
+                } finally {
+                    polling.set(false);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            polling.set(false);
+        }
+    }
+
+    /**
+     * Starts or resumes the forecast run that is due in every tenant.
+     */
+    private void runDue() {
+        LocalDate runDate = dueRunDate(Instant.now());
+        for (String tenant : tenantDirectory.tenants()) {
+            if (!running) {
+                return;
+            }
+            try {
+                TenantContext.runAs(tenant, () -> run(runDate));
+            } catch (RuntimeException ex) {
+                failures.increment();
+                log.warn(
+                        "Forecast run {} of tenant {} failed, resuming from its checkpoint on the next poll",
+                        runDate,
+                        tenant,
+                        ex);
+            }
+        }
+    }
+
+    /**
+     * Returns the latest forecast of {@code gardenId}, or throws {@code 404} if it has not been forecast yet.
+     */
+    public YieldForecast getForecast(String gardenId) {
+        YieldForecast forecast = mongoTemplate.findById(gardenId, YieldForecast.class);
+        if (forecast == null) {
+            throw new CustomException(
+                    "No yield forecast for garden " + gardenId + " yet",
+                    HttpStatus.NOT_FOUND,
+                    ErrorCode.RESOURCE_NOT_FOUND);
+        }
+        return forecast;
+    }
+
+    /**
+     * Runs or resumes the current tenant's run of {@code runDate} to completion and returns the number of gardens
+     * it forecast, or {@code -1} if the run is complete or held by another instance.
+     */
+    long run(LocalDate runDate) {
+        ForecastRun run = claim(runDate);
+        if (run == null) {
+            return -1;
+        }
+        if (run.getLastGardenId() != null) {
+            log.info(
+                    "Resuming forecast run {} of tenant {} after garden {}",
+                    runDate,
+                    TenantContext.current(),
+                    run.getLastGardenId());
+        }
+        long start = System.nanoTime();
+        try {
+            return forecastAll(run, runDate);
+        } finally {
+            runTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private long forecastAll(ForecastRun run, LocalDate runDate) {
+        String tenant = TenantContext.current();
+        Map<String, YieldSimulator.Crop> crops = loadCrops();
+        Instant computedAt = Instant.now();
+        Instant historyStart = startOfDay(runDate).minus(properties.getHistory());
+        Progress progress = new Progress(run);
+        Semaphore slots = new Semaphore(maxChunksInFlight);
+        runGardens.set(0);
+        runStartedNanos = System.nanoTime();
+        runEndedNanos = 0;
+
+        Query gardens = new Query().with(Sort.by("_id")).cursorBatchSize(properties.getChunkSize());
+        if (run.getLastGardenId() != null) {
+            gardens.addCriteria(where("_id").gt(run.getLastGardenId()));
+        }
+        gardens.fields().include("plants");
+        long sequence = 0;
+        try (Stream<GardenStats> stream = mongoTemplate.stream(gardens, GardenStats.class)) {
+            Iterator<GardenStats> cursor = stream.iterator();
+            List<GardenStats> chunk = new ArrayList<>(properties.getChunkSize());
+            while (running && progress.failure == null && cursor.hasNext()) {
+                progress.renew();
+                chunk.add(cursor.next());
+                if (chunk.size() == properties.getChunkSize() || !cursor.hasNext()) {
+                    acquire(slots, progress);
+                    submit(tenant, sequence++, chunk, crops, runDate, historyStart, computedAt, progress, slots);
+                    chunk = new ArrayList<>(properties.getChunkSize());
+                }
+            }
+        } finally {
+            awaitChunks(slots, progress);
+            runEndedNanos = System.nanoTime();
+        }
+
+        if (progress.failure != null) {
+            throw progress.failure;
+        }
+        if (!running) {
+            return progress.gardens - run.getGardens();
+        }
+        progress.complete();
+        long forecast = progress.gardens - run.getGardens();
+        log.info(
+                "Forecast run {} of tenant {} completed with {} gardens, {} in this session at {} gardens/s",
+                runDate,
+                tenant,
+                progress.gardens,
+                forecast,
+                Math.round(throughput()));
+        return forecast;
+    }
+
+    private void submit(
+            String tenant,
+            long sequence,
+            List<GardenStats> chunk,
+            Map<String, YieldSimulator.Crop> crops,
+            LocalDate runDate,
+            Instant historyStart,
+            Instant computedAt,
+            Progress progress,
+            Semaphore slots) {
+        chunksInFlight.incrementAndGet();
+        try {
+            workers.execute(() -> {
+                try {
+                    TenantContext.runAs(tenant, () -> {
+                        chunkTimer.record(() -> forecastChunk(chunk, crops, runDate, historyStart, computedAt));
+                        progress.completed(sequence, chunk.get(chunk.size() - 1).getGardenId(), chunk.size());
+                    });
+                } catch (RuntimeException ex) {
+                    progress.fail(ex);
+                } finally {
+                    chunksInFlight.decrementAndGet();
+                    slots.release();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            chunksInFlight.decrementAndGet();
+            slots.release();
+            progress.fail(ex);
+        }
+    }
+
+    private void forecastChunk(
+            List<GardenStats> chunk,
+            Map<String, YieldSimulator.Crop> crops,
+            LocalDate runDate,
+            Instant historyStart,
+            Instant computedAt) {
+        Map<String, WeatherHistory> histories = readWeather(chunk, historyStart, startOfDay(runDate));
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, YieldForecast.class);
+        for (GardenStats garden : chunk) {
+            WeatherHistory history = histories.get(garden.getGardenId());
+            YieldSimulator.Weather weather =
+                    history != null ? history.weather(properties) : WeatherHistory.defaultWeather(properties);
+            YieldForecast forecast =
+                    simulator.simulate(garden.getGardenId(), garden.getPlants(), crops, weather, runDate, computedAt);
+            bulk.replaceOne(
+                    query(where("_id").is(garden.getGardenId())),
+                    forecast,
+                    FindAndReplaceOptions.options().upsert());
+        }
+        bulk.execute();
+        gardensForecast.increment(chunk.size());
+        simulations.increment((double) chunk.size() * simulator.samples());
+        runGardens.addAndGet(chunk.size());
+    }
+
+    private Map<String, WeatherHistory> readWeather(List<GardenStats> chunk, Instant from, Instant to) {
+        List<String> gardenIds = new ArrayList<>(chunk.size());
+        chunk.forEach(garden -> gardenIds.add(garden.getGardenId()));
+        Query rollups = query(where("gardenId")
+                .in(gardenIds)
+                .and("metric")
+                .in(SensorMetric.TEMPERATURE, SensorMetric.SOIL_MOISTURE)
+                .and("granularity")
+                .is(RollupGranularity.DAY)
+                .and("bucketStart")
+                .gte(from)
+                .lt(to));
+        rollups.fields().include("gardenId", "metric", "bucketStart", "count", "sum");
+        Map<String, WeatherHistory> histories = new HashMap<>();
+        for (SensorRollup rollup : mongoTemplate.find(rollups, SensorRollup.class)) {
+            histories
+                    .computeIfAbsent(rollup.getGardenId(), id -> new WeatherHistory())
+                    .add(rollup);
+        }
+        return histories;
+    }
+
+    /**
+     * Plants with yield parameters, from the catalog.
+     */
+    private Map<String, YieldSimulator.Crop> loadCrops() {
+        Query forecastable =
+                query(where("growingDegreeDays").gt(0).and("yieldPerPlant").gte(0));
+        forecastable.fields().include("growingDegreeDays", "yieldPerPlant");
+        Map<String, YieldSimulator.Crop> crops = new HashMap<>();
+        for (Plant plant : catalogTemplate.find(forecastable, Plant.class)) {
+            crops.put(
+                    plant.getId(),
+                    new YieldSimulator.Crop(plant.getId(), plant.getGrowingDegreeDays(), plant.getYieldPerPlant()));
+        }
+        return crops;
+    }
+
+    /**
+     * Takes the lease on the current tenant's run of {@code runDate}, creating the run if it has not started yet.
+     * Returns {@code null} if the run is complete or leased to another instance.
+     */
+    private ForecastRun claim(LocalDate runDate) {
+        Instant now = Instant.now();
+        Query claimable = query(where("_id")
+                .is(runDate.toString())
+                .and("completedAt")
+                .is(null)
+                .orOperator(where("owner").is(owner), where("leaseUntil").lt(now)));
+        Update lease = new Update()
+                .set("owner", owner)
+                .set("leaseUntil", now.plus(properties.getLeaseDuration()))
+                .set("updatedAt", now)
+                .setOnInsert("startedAt", now)
+                .setOnInsert("gardens", 0L);
+        try {
+            return mongoTemplate.findAndModify(
+                    claimable,
+                    lease,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    ForecastRun.class);
+        } catch (DuplicateKeyException ex) {
+            // The run exists but did not match: it is complete or another instance holds it.
+            return null;
+        }
+    }
+
+    private void acquire(Semaphore slots, Progress progress) {
+        try {
+            while (!slots.tryAcquire(1, TimeUnit.SECONDS)) {
+                progress.renew();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a free chunk slot", ex);
+        }
+    }
+
+    private void awaitChunks(Semaphore slots, Progress progress) {
+        try {
+            while (!slots.tryAcquire(maxChunksInFlight, 1, TimeUnit.SECONDS)) {
+                if (workers.isTerminated()) {
+                    return;
+                }
+                if (progress.failure == null) {
+                    progress.renew();
+                }
+            }
+            slots.release(maxChunksInFlight);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double throughput() {
+        long started = runStartedNanos;
+        if (started == 0) {
+            return 0;
+        }
+        long ended = runEndedNanos != 0 ? runEndedNanos : System.nanoTime();
+        double seconds = (ended - started) / 1e9;
+        return seconds <= 0 ? 0 : runGardens.get() / seconds;
+    }
+
+    LocalDate dueRunDate(Instant now) {
+        LocalDateTime utc = LocalDateTime.ofInstant(now, ZoneOffset.UTC);
+        return utc.toLocalTime().isBefore(properties.getRunAt())
+                ? utc.toLocalDate().minusDays(1)
+                : utc.toLocalDate();
+    }
+
+    private static Instant startOfDay(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Tracks which chunks of a run have been written and saves the checkpoint as the finished prefix grows.
+     */
+    private final class Progress {
+
+        private final String runId;
+        private final TreeMap<Long, Finished> finished = new TreeMap<>();
+        private long next;
+        private String lastGardenId;
+        private long gardens;
+        private long savedAtNanos = System.nanoTime();
+        private volatile RuntimeException failure;
+
+        Progress(ForecastRun run) {
+            this.runId = run.getId();
+            this.lastGardenId = run.getLastGardenId();
+            this.gardens = run.getGardens();
+        }
+
+        synchronized void completed(long sequence, String lastGardenId, int gardens) {
+            finished.put(sequence, new Finished(lastGardenId, gardens));
+            boolean advanced = false;
+            for (Finished chunk; (chunk = finished.remove(next)) != null; next++) {
+                this.lastGardenId = chunk.lastGardenId();
+                this.gardens += chunk.gardens();
+                advanced = true;
+            }
+            if (advanced
+                    && System.nanoTime() - savedAtNanos
+                            >= properties.getCheckpointInterval().toNanos()) {
+                save(new Update());
+            }
+        }
+
+        /**
+         * Saves the checkpoint as it stands once a third of the lease has passed since the last save, so that the
+         * lease outlives a checkpoint that cannot advance.
+         */
+        synchronized void renew() {
+            if (System.nanoTime() - savedAtNanos
+                    >= properties.getLeaseDuration().dividedBy(3).toNanos()) {
+                save(new Update());
+            }
+        }
+
+        synchronized void complete() {
+            save(new Update().set("completedAt", Instant.now()));
+        }
+
+        void fail(RuntimeException ex) {
+            if (failure == null) {
+                failure = ex;
+            }
+        }
+
+        private void save(Update update) {
+            Instant now = Instant.now();
+            update.set("lastGardenId", lastGardenId)
+                    .set("gardens", gardens)
+                    .set("leaseUntil", now.plus(properties.getLeaseDuration()))
+                    .set("updatedAt", now);
+            long matched = mongoTemplate
+                    .updateFirst(query(where("_id").is(runId).and("owner").is(owner)), update, ForecastRun.class)
+                    .getMatchedCount();
+            savedAtNanos = System.nanoTime();
+            if (matched == 0) {
+                fail(new IllegalStateException("Forecast run " + runId + " was taken over by another instance"));
+            }
+        }
+    }
+
+    private record Finished(String lastGardenId, int gardens) {}
+
+    /**
+     * Daily temperature and soil moisture rollups of one garden.
+     */
+    static final class WeatherHistory {
+
+        private final Map<Instant, double[]> temperatureByDay = new HashMap<>();
+        private double moistureSum;
+        private long moistureCount;
+
+        void add(SensorRollup rollup) {
+            if (rollup.getCount() == 0) {
+                return;
+            }
+            if (rollup.getMetric() == SensorMetric.TEMPERATURE) {
+                double[] day = temperatureByDay.computeIfAbsent(rollup.getBucketStart(), start -> new double[2]);
+                day[0] += rollup.getSum();
+                day[1] += rollup.getCount();
+            } else {
+                moistureSum += rollup.getSum();
+                moistureCount += rollup.getCount();
+            }
+        }
+
+        YieldSimulator.Weather weather(ForecastProperties properties) {
+            double soilMoisture = moistureCount > 0 ? moistureSum / moistureCount : Double.NaN;
+            int days = temperatureByDay.size();
+            if (days == 0) {
+                YieldSimulator.Weather climate = defaultWeather(properties);
+                return new YieldSimulator.Weather(0, climate.meanTemperature(), climate.deviation(), 0, soilMoisture);
+            }
+            double sum = 0;
+            double sumOfSquares = 0;
+            double growth = 0;
+            for (double[] day : temperatureByDay.values()) {
+                double mean = day[0] / day[1];
+                sum += mean;
+                sumOfSquares += mean * mean;
+                growth += Math.max(0, mean - properties.getBaseTemperature());
+            }
+            double mean = sum / days;
+            double deviation = days > 1
+                    ? Math.sqrt(Math.max(0, (sumOfSquares - days * mean * mean) / (days - 1)))
+                    : properties.getDefaultTemperatureDeviation();
+            return new YieldSimulator.Weather(days, mean, deviation, growth, soilMoisture);
+        }
+
+        static YieldSimulator.Weather defaultWeather(ForecastProperties properties) {
+            return new YieldSimulator.Weather(
+                    0, properties.getDefaultTemperature(), properties.getDefaultTemperatureDeviation(), 0, Double.NaN);
+        }
+    }
+}
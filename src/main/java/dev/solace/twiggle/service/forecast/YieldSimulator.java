@@ -0,0 +1,193 @@
+package dev.solace.twiggle.service.forecast;
+
+import dev.solace.twiggle.config.ForecastProperties;
+import dev.solace.twiggle.model.forecast.YieldForecast;
+import dev.solace.twiggle.model.stats.GardenStats;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Monte Carlo forecast of the harvest dates and yields of one garden.
+ *
+ * <p>Each sample is a path of daily temperatures around the garden's observed mean, with day-to-day anomalies that
+ * persist like real weather (first-order autoregressive). Plants grow by the degree days above the base
+ * temperature and are ready once they reach their {@code growingDegreeDays}; the degree days observed over the
+ * calibration history count as growth already made. All plants of a garden share the same weather paths. Yields
+ * are scaled down outside the soil moisture range most crops prefer and vary by sample around the expected yield.
+ *
+ * <p>The random sequence is seeded by garden and run date, so forecasting a garden again in the same run, as a
+ * resumed run may, gives the same result. Instances are stateless and safe to share between threads.
+ */
+public class YieldSimulator {
+
+    /** Day-to-day persistence of temperature anomalies. */
+    static final double PERSISTENCE = 0.7;
+
+    static final double YIELD_VARIATION = 0.15;
+    static final double DRY_SOIL_MOISTURE = 20;
+    static final double WET_SOIL_MOISTURE = 60;
+
+    private final int samples;
+    private final int horizonDays;
+    private final double baseTemperature;
+
+    public YieldSimulator(ForecastProperties properties) {
+        this.samples = Math.max(1, properties.getSamples());
+        this.horizonDays = (int) Math.max(1, properties.getHorizon().toDays());
+        this.baseTemperature = properties.getBaseTemperature();
+    }
+
+    /** Yield parameters of a plant species. */
+    public record Crop(String plantId, int growingDegreeDays, double yieldPerPlant) {}
+
+    /**
+     * Weather of a garden over the calibration history.
+     *
+     * @param sensorDays days with temperature readings, {@code 0} for the default climate
+     * @param growthSoFar degree days above the base temperature over those days
+     * @param soilMoisture mean soil moisture in percent, {@code NaN} without readings
+     */
+    public record Weather(
+            int sensorDays, double meanTemperature, double deviation, double growthSoFar, double soilMoisture) {}
+
+    /** Number of weather paths simulated per garden. */
+    public int samples() {
+        return samples;
+    }
+
+    /**
+     * Forecasts the plants of a garden that have a {@link Crop}; others are left out of the forecast.
+     */
+    public YieldForecast simulate(
+            String gardenId,
+            List<GardenStats.PlantCount> plants,
+            Map<String, Crop> crops,
+            Weather weather,
+            LocalDate runDate,
+            Instant computedAt) {
+        List<GardenStats.PlantCount> forecastable = new ArrayList<>();
+        if (plants != null) {
+            for (GardenStats.PlantCount plant : plants) {
+                if (plant.getCount() > 0 && crops.containsKey(plant.getPlantId())) {
+                    forecastable.add(plant);
+                }
+            }
+        }
+        int kinds = forecastable.size();
+        double[] remaining = new double[kinds];
+        int[][] harvestDays = new int[kinds][samples];
+        double[][] yields = new double[kinds][samples];
+        for (int kind = 0; kind < kinds; kind++) {
+            remaining[kind] =
+                    crops.get(forecastable.get(kind).getPlantId()).growingDegreeDays() - weather.growthSoFar();
+        }
+
+        double moisture = moistureFactor(weather.soilMoisture());
+        double innovation = weather.deviation() * Math.sqrt(1 - PERSISTENCE * PERSISTENCE);
+        SplittableRandom random = new SplittableRandom(seed(gardenId, runDate));
+        for (int sample = 0; sample < samples; sample++) {
+            int pending = 0;
+            for (int kind = 0; kind < kinds; kind++) {
+                harvestDays[kind][sample] = remaining[kind] <= 0 ? 0 : Integer.MAX_VALUE;
+                if (remaining[kind] > 0) {
+                    pending++;
+                }
+            }
+            double anomaly = weather.deviation() * random.nextGaussian();
+            double degreeDays = 0;
+            for (int day = 1; day <= horizonDays && pending > 0; day++) {
+                anomaly = PERSISTENCE * anomaly + innovation * random.nextGaussian();
+                degreeDays += Math.max(0, weather.meanTemperature() + anomaly - baseTemperature);
+                for (int kind = 0; kind < kinds; kind++) {
+                    if (harvestDays[kind][sample] == Integer.MAX_VALUE && degreeDays >= remaining[kind]) {
+                        harvestDays[kind][sample] = day;
+                        pending--;
+                    }
+                }
+            }
+            for (int kind = 0; kind < kinds; kind++) {
+                GardenStats.PlantCount plant = forecastable.get(kind);
+                yields[kind][sample] = harvestDays[kind][sample] == Integer.MAX_VALUE
+                        ? 0
+                        : plant.getCount()
+                                * crops.get(plant.getPlantId()).yieldPerPlant()
+                                * moisture
+                                * Math.max(0, 1 + YIELD_VARIATION * random.nextGaussian());
+            }
+        }
+
+        List<YieldForecast.PlantForecast> forecasts = new ArrayList<>(kinds);
+        double expectedYield = 0;
+        for (int kind = 0; kind < kinds; kind++) {
+            YieldForecast.PlantForecast forecast =
+                    summarize(forecastable.get(kind), harvestDays[kind], yields[kind], runDate);
+            expectedYield += forecast.getExpectedYield();
+            forecasts.add(forecast);
+        }
+        return YieldForecast.builder()
+                .gardenId(gardenId)
+                .runDate(runDate)
+                .sensorDays(weather.sensorDays())
+                .meanTemperature(weather.meanTemperature())
+                .expectedYield(expectedYield)
+                .plants(forecasts)
+                .computedAt(computedAt)
+                .build();
+    }
+
+    private YieldForecast.PlantForecast summarize(
+            GardenStats.PlantCount plant, int[] harvestDays, double[] yields, LocalDate runDate) {
+        Arrays.sort(harvestDays);
+        Arrays.sort(yields);
+        int reached = 0;
+        double total = 0;
+        for (int sample = 0; sample < samples; sample++) {
+            if (harvestDays[sample] != Integer.MAX_VALUE) {
+                reached++;
+            }
+            total += yields[sample];
+        }
+        return YieldForecast.PlantForecast.builder()
+                .plantId(plant.getPlantId())
+                .count(plant.getCount())
+                .harvestProbability((double) reached / samples)
+                .earliestHarvest(dateAt(harvestDays, 0.1, runDate))
+                .expectedHarvest(dateAt(harvestDays, 0.5, runDate))
+                .latestHarvest(dateAt(harvestDays, 0.9, runDate))
+                .expectedYield(total / samples)
+                .yieldP10(yields[index(0.1)])
+                .yieldP90(yields[index(0.9)])
+                .build();
+    }
+
+    private LocalDate dateAt(int[] sortedDays, double quantile, LocalDate runDate) {
+        int day = sortedDays[index(quantile)];
+        return day == Integer.MAX_VALUE ? null : runDate.plusDays(day);
+    }
+
+    private int index(double quantile) {
+        return Math.min(samples - 1, (int) (quantile * samples));
+    }
+
+    static double moistureFactor(double soilMoisture) {
+        if (Double.isNaN(soilMoisture)) {
+            return 1;
+        }
+        if (soilMoisture < DRY_SOIL_MOISTURE) {
+            return 0.5 + 0.5 * Math.max(0, soilMoisture) / DRY_SOIL_MOISTURE;
+        }
+        if (soilMoisture > WET_SOIL_MOISTURE) {
+            return Math.max(0.5, 1 - (soilMoisture - WET_SOIL_MOISTURE) / 80);
+        }
+        return 1;
+    }
+
+    private static long seed(String gardenId, LocalDate runDate) {
+        return gardenId.hashCode() * 0x9E3779B97F4A7C15L ^ runDate.toEpochDay();
+    }
+}
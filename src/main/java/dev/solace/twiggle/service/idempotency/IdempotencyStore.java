@@ -0,0 +1,247 @@
+package dev.solace.twiggle.service.idempotency;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.solace.twiggle.config.IdempotencyProperties;
+import dev.solace.twiggle.model.idempotency.IdempotencyRecord;
+import dev.solace.twiggle.model.idempotency.IdempotencyStatus;
+import dev.solace.twiggle.persistence.ResilientMongoAccess;
+import dev.solace.twiggle.tenant.TenantKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Idempotency keys in {@code idempotency_keys}, fronted by a near cache of completed responses.
+ *
+ * <p>The first request to {@link #claim} a key inserts an in-flight record and runs; it then either
+ * {@link #complete}s the key with its response or {@link #abandon}s it so that a retry runs again. Duplicates see the
+ * in-flight record and {@link #await} the outcome: on this instance they are woken as soon as the first request
+ * finishes, otherwise they poll. Completed responses are served from memory where possible, so replays usually cost
+ * no database round trip. Both are kept per tenant, as each tenant's keys live in its own database.
+ *
+ * <p>Claims go through {@link ResilientMongoAccess}, so while the database is unavailable keyed requests fail with
+ * {@code 503} rather than risk running twice. Storing the outcome is best effort: if it fails the key stays locked
+ * until its lease runs out, after which a retry runs again.
+ */
+@Slf4j
+public class IdempotencyStore {
+
+    private static final int MAX_CLAIM_ATTEMPTS = 3;
+
+    private final MongoTemplate mongoTemplate;
+    private final ResilientMongoAccess mongoAccess;
+    private final IdempotencyProperties properties;
+    private final Cache<TenantKey, IdempotencyRecord> completed;
+    private final Map<TenantKey, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private volatile boolean indexesEnsured;
+
+    public IdempotencyStore(
+            MongoTemplate mongoTemplate, ResilientMongoAccess mongoAccess, IdempotencyProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.mongoAccess = mongoAccess;
+        this.properties = properties;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(properties.getNearCacheSize())
+                .expireAfterWrite(properties.getNearCacheTtl())
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexesOnStartup() {
+        try {
+            ensureIndexes();
+        } catch (RuntimeException ex) {
+            // Retried on the first claim.
+            log.warn("Could not ensure idempotency key indexes at startup", ex);
+        }
+    }
+
+    /**
+     * Claims {@code key} for a request whose body hashes to {@code requestHash}.
+     *
+     * <p>An {@code ACQUIRED} claim carries the lock token to pass to {@link #complete} or {@link #abandon}. A
+     * {@code COMPLETED} or {@code IN_FLIGHT} claim carries the record as stored, whose hash may differ from
+     * {@code requestHash}; an {@code IN_FLIGHT} claim without a record means the key changed hands while being
+     * claimed and the claim should simply be retried.
+     */
+    public Claim claim(String key, String requestHash) {
+        IdempotencyRecord cached = completed.getIfPresent(TenantKey.of(key));
+        if (cached != null) {
+            return new Claim(Outcome.COMPLETED, cached);
+        }
+        Claim claim = mongoAccess.write(IdempotencyRecord.COLLECTION, () -> claimInDatabase(key, requestHash));
+        if (claim.outcome() == Outcome.ACQUIRED) {
+            inFlight.put(TenantKey.of(key), new CompletableFuture<>());
+        } else if (claim.outcome() == Outcome.COMPLETED) {
+            completed.put(TenantKey.of(key), claim.record());
+        }
+        return claim;
+    }
+
+    private Claim claimInDatabase(String key, String requestHash) {
+        ensureIndexes();
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            Instant now = Instant.now();
+            String token = UUID.randomUUID().toString();
+            try {
+                return new Claim(
+                        Outcome.ACQUIRED,
+                        mongoTemplate.insert(IdempotencyRecord.builder()
+                                .id(key)
+                                .requestHash(requestHash)
+                                .status(IdempotencyStatus.IN_FLIGHT)
+                                .lockToken(token)
+                                .lockedUntil(now.plus(properties.getLease()))
+                                .createdAt(now)
+                                .expiresAt(now.plus(properties.getTtl()))
+                                .build()));
+            } catch (DuplicateKeyException ex) {
+                log.trace("Idempotency key {} already exists", key);
+            }
+
+            // The request holding the key may have died with it; its lease tells.
+            IdempotencyRecord takenOver = mongoTemplate.findAndModify(
+                    query(where("_id")
+                            .is(key)
+                            .and("status")
+                            .is(IdempotencyStatus.IN_FLIGHT)
+                            .and("requestHash")
+                            .is(requestHash)
+                            .and("lockedUntil")
+                            .lt(now)),
+                    new Update().set("lockToken", token).set("lockedUntil", now.plus(properties.getLease())),
+                    FindAndModifyOptions.options().returnNew(true),
+                    IdempotencyRecord.class);
+            if (takenOver != null) {
+                log.debug("Took over idempotency key {} after its lease expired", key);
+                return new Claim(Outcome.ACQUIRED, takenOver);
+            }
+
+            IdempotencyRecord existing = mongoTemplate.findById(key, IdempotencyRecord.class);
+            if (existing != null) {
+                return new Claim(
+                        existing.getStatus() == IdempotencyStatus.COMPLETED ? Outcome.COMPLETED : Outcome.IN_FLIGHT,
+                        existing);
+            }
+            // Abandoned or expired since the insert failed, so it can be inserted again.
+        }
+        return new Claim(Outcome.IN_FLIGHT, null);
+    }
+
+    /**
+     * Stores the response of the request holding {@code lockToken} and wakes local duplicates.
+     */
+    public void complete(String key, String lockToken, int status, String contentType, byte[] body) {
+        try {
+            Instant now = Instant.now();
+            IdempotencyRecord stored = mongoAccess.write(
+                    IdempotencyRecord.COLLECTION,
+                    () -> mongoTemplate.findAndModify(
+                            query(where("_id").is(key).and("lockToken").is(lockToken)),
+                            new Update()
+                                    .set("status", IdempotencyStatus.COMPLETED)
+                                    .set("responseStatus", status)
+                                    .set("contentType", contentType)
+                                    .set("responseBody", body)
+                                    .set("expiresAt", now.plus(properties.getTtl()))
+                                    .unset("lockToken")
+                                    .unset("lockedUntil"),
+                            FindAndModifyOptions.options().returnNew(true),
+                            IdempotencyRecord.class));
+            if (stored != null) {
+                completed.put(TenantKey.of(key), stored);
+            } else {
+                log.warn("Lease on idempotency key {} expired before its response was stored", key);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not store the response for idempotency key {}", key, ex);
+        } finally {
+            release(key);
+        }
+    }
+
+    /**
+     * Gives up the key held under {@code lockToken}, so that the next request with it runs again.
+     */
+    public void abandon(String key, String lockToken) {
+        try {
+            mongoAccess.write(
+                    IdempotencyRecord.COLLECTION,
+                    () -> mongoTemplate.remove(
+                            query(where("_id").is(key).and("lockToken").is(lockToken)), IdempotencyRecord.class));
+        } catch (RuntimeException ex) {
+            log.warn("Could not release idempotency key {}", key, ex);
+        } finally {
+            release(key);
+        }
+    }
+
+    /**
+     * Waits up to {@code timeout} for an in-flight key to be completed or abandoned; keys held by other instances
+     * are waited on for at most one poll interval. Returns {@code false} if interrupted.
+     */
+    public boolean await(String key, Duration timeout) {
+        CompletableFuture<Void> local = inFlight.get(TenantKey.of(key));
+        try {
+            if (local != null) {
+                local.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } else {
+                Thread.sleep(Math.min(
+                        timeout.toMillis(), properties.getPollInterval().toMillis()));
+            }
+        } catch (TimeoutException | ExecutionException ex) {
+            log.trace("Stopped waiting on idempotency key {}", key);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+
+    private void release(String key) {
+        CompletableFuture<Void> waiters = inFlight.remove(TenantKey.of(key));
+        if (waiters != null) {
+            waiters.complete(null);
+        }
+    }
+
+    private void ensureIndexes() {
+        if (indexesEnsured) {
+            return;
+        }
+        mongoTemplate
+                .indexOps(IdempotencyRecord.class)
+                .ensureIndex(new Index()
+                        .on("expiresAt", Sort.Direction.ASC)
+                        .expire(Duration.ZERO)
+                        .named("expiresAt_ttl"));
+        indexesEnsured = true;
+    }
+
+    public enum Outcome {
+        ACQUIRED,
+        COMPLETED,
+        IN_FLIGHT
+    }
+
+    public record Claim(Outcome outcome, IdempotencyRecord record) {}
+}
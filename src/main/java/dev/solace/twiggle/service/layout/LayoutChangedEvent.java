@@ -0,0 +1,9 @@
+package dev.solace.twiggle.service.layout;
+
+import dev.solace.twiggle.model.layout.LayoutOperation;
+import java.util.List;
+
+/**
+ * Published after a layout delta has been durably appended as {@code version}.
+ */
+public record LayoutChangedEvent(String gardenId, long version, List<LayoutOperation> operations) {}
@@ -0,0 +1,277 @@
+package dev.solace.twiggle.service.layout;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.solace.twiggle.config.LayoutProperties;
+import dev.solace.twiggle.dto.LayoutDeltaRequest;
+import dev.solace.twiggle.dto.LayoutView;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.layout.LayoutEdit;
+import dev.solace.twiggle.model.layout.LayoutOperation;
+import dev.solace.twiggle.model.layout.LayoutSnapshot;
+import dev.solace.twiggle.model.layout.PackedLayout;
+import dev.solace.twiggle.persistence.ResilientMongoAccess;
+import dev.solace.twiggle.tenant.TenantKey;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+/**
+ * Event-sourced garden layouts: edits are appended to {@code layout_edits} and folded into an in-memory
+ * {@link LayoutState}; every {@code snapshotEvery} versions the state is compacted into {@code layout_snapshots} and
+ * the edits it covers are pruned.
+ *
+ * <p>A layout is rebuilt from its snapshot plus the edits after it. Cached states are caught up with an indexed
+ * tail query before use, so several instances can serve the same garden; when the tail is empty or does not follow
+ * on from the cached version, the snapshot version decides whether another instance has compacted past it. Concurrent
+ * writers are serialized by the unique {@code (gardenId, version)} index: only one append per version can succeed.
+ * As compaction prunes the rows that index guards, an append that lands at or below the snapshot is taken back and
+ * answered as a conflict. Every accepted delta is published as a {@link LayoutChangedEvent}.
+ *
+ * <p>Both reads and edits go through {@link ResilientMongoAccess}; while the database is unavailable a layout is
+ * served as last read and edits are rejected with {@code 503}. Within an instance, reads and edits of one garden
+ * take turns on its state's lock and give up with {@code 503} after {@code lockTimeout}.
+ */
+@Slf4j
+@Service
+public class LayoutEditService {
+
+    private static final int MAX_REFRESH_ATTEMPTS = 3;
+
+    private final MongoTemplate mongoTemplate;
+    private final ResilientMongoAccess mongoAccess;
+    private final LayoutProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache<TenantKey, LayoutState> states;
+    private volatile boolean indexesEnsured;
+
+    public LayoutEditService(
+            MongoTemplate mongoTemplate,
+            ResilientMongoAccess mongoAccess,
+            LayoutProperties properties,
+            ApplicationEventPublisher eventPublisher) {
+        this.mongoTemplate = mongoTemplate;
+        this.mongoAccess = mongoAccess;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.states =
+                Caffeine.newBuilder().maximumSize(properties.getCacheSize()).build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexesOnStartup() {
+        try {
+            ensureIndexes();
+        } catch (RuntimeException ex) {
+            // Retried before the first append; reads do not depend on it.
+            log.warn("Could not ensure layout edit indexes at startup", ex);
+        }
+    }
+
+    public LayoutView getLayout(String gardenId) {
+        return mongoAccess.read(LayoutEdit.COLLECTION, gardenId, () -> readLayout(gardenId));
+    }
+
+    /**
+     * Reads the current layout without the request-path guard and its last-known-good fallback, for background
+     * jobs that must fail rather than act on a stale layout.
+     */
+    public LayoutView readLayout(String gardenId) {
+        LayoutState state = states.get(TenantKey.of(gardenId), key -> load(gardenId));
+        return locked(state, () -> {
+            refresh(state);
+            return view(state);
+        });
+    }
+
+    public LayoutView applyDelta(String gardenId, LayoutDeltaRequest request) {
+        return mongoAccess.write(LayoutEdit.COLLECTION, () -> append(gardenId, request));
+    }
+
+    private LayoutView append(String gardenId, LayoutDeltaRequest request) {
+        ensureIndexes();
+        List<LayoutOperation> operations = request.getOperations();
+        LayoutState state = states.get(TenantKey.of(gardenId), key -> load(gardenId));
+        return locked(state, () -> {
+            // Even a matching base version may be stale: another instance may have compacted past the cached state.
+            refresh(state);
+            if (request.getBaseVersion() != state.getVersion()) {
+                throw conflict(state);
+            }
+            state.validate(operations);
+
+            long version = state.getVersion() + 1;
+            LayoutEdit edit;
+            try {
+                edit = mongoTemplate.insert(LayoutEdit.builder()
+                        .gardenId(gardenId)
+                        .version(version)
+                        .operations(operations)
+                        .createdAt(Instant.now())
+                        .build());
+            } catch (DuplicateKeyException ex) {
+                // Another instance appended this version first.
+                refresh(state);
+                throw conflict(state);
+            }
+            if (snapshotVersion(gardenId) >= version) {
+                // Another instance appended this version and compacted past it in between, pruning the row that
+                // would have made this insert fail; the edit would be hidden below the snapshot.
+                mongoTemplate.remove(edit);
+                refresh(state);
+                throw conflict(state);
+            }
+            state.apply(version, operations);
+            eventPublisher.publishEvent(new LayoutChangedEvent(gardenId, version, operations));
+
+            if (version % properties.getSnapshotEvery() == 0) {
+                compact(state);
+            }
+            // The client already holds the layout, so only the new version is returned.
+            return LayoutView.builder().gardenId(gardenId).version(version).build();
+        });
+    }
+
+    private <T> T locked(LayoutState state, Supplier<T> work) {
+        boolean acquired;
+        try {
+            acquired = state.lock().tryLock(properties.getLockTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw new CustomException(
+                    "Layout is busy, please retry", HttpStatus.SERVICE_UNAVAILABLE, ErrorCode.SERVICE_UNAVAILABLE);
+        }
+        try {
+            return work.get();
+        } finally {
+            state.lock().unlock();
+        }
+    }
+
+    private LayoutState load(String gardenId) {
+        LayoutSnapshot snapshot = mongoTemplate.findById(gardenId, LayoutSnapshot.class);
+        LayoutState state = snapshot == null
+                ? new LayoutState(gardenId, 0, List.of())
+                : new LayoutState(gardenId, snapshot.getVersion(), snapshot.decodePlacements());
+        refresh(state);
+        return state;
+    }
+
+    /**
+     * Applies edits appended after the state's version, restarting from the latest snapshot if the edits the
+     * state needs have already been compacted away.
+     */
+    private void refresh(LayoutState state) {
+        String gardenId = state.getGardenId();
+        for (int attempt = 0; attempt < MAX_REFRESH_ATTEMPTS; attempt++) {
+            List<LayoutEdit> tail = mongoTemplate.find(
+                    query(where("gardenId").is(gardenId).and("version").gt(state.getVersion()))
+                            .with(Sort.by("version")),
+                    LayoutEdit.class);
+            if (!tail.isEmpty() && tail.getFirst().getVersion() == state.getVersion() + 1) {
+                tail.forEach(edit -> state.apply(edit.getVersion(), edit.getOperations()));
+                return;
+            }
+            // Nothing follows on from the cached version: either it is current, or the edits after it were
+            // compacted into a newer snapshot by another instance.
+            if (snapshotVersion(gardenId) <= state.getVersion()) {
+                if (tail.isEmpty()) {
+                    return;
+                }
+                // The snapshot covering the gap is being written; look again.
+                continue;
+            }
+            LayoutSnapshot snapshot = mongoTemplate.findById(gardenId, LayoutSnapshot.class);
+            if (snapshot != null && snapshot.getVersion() > state.getVersion()) {
+                state.reset(snapshot.getVersion(), snapshot.decodePlacements());
+            }
+        }
+        throw new CustomException(
+                "Layout is being compacted, please retry",
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ErrorCode.SERVICE_UNAVAILABLE);
+    }
+
+    /** Version of the garden's snapshot, read without its placements, or 0 if it has none. */
+    private long snapshotVersion(String gardenId) {
+        Query versionOnly = query(where("_id").is(gardenId));
+        versionOnly.fields().include("version");
+        LayoutSnapshot snapshot = mongoTemplate.findOne(versionOnly, LayoutSnapshot.class);
+        return snapshot != null ? snapshot.getVersion() : 0;
+    }
+
+    private void compact(LayoutState state) {
+        String gardenId = state.getGardenId();
+        long version = state.getVersion();
+        try {
+            Query olderSnapshot = query(where("_id").is(gardenId).and("version").lt(version));
+            Update update = new Update()
+                    .set("version", version)
+                    .set("layout", PackedLayout.of(state.placements()))
+                    .set("layoutVersion", version)
+                    .set("updatedAt", Instant.now());
+            if (properties.isWriteLegacyPlacements() && state.size() <= properties.getMaxLegacyPlacements()) {
+                update.set("placements", state.placements());
+            } else {
+                update.unset("placements");
+            }
+            mongoTemplate.upsert(olderSnapshot, update, LayoutSnapshot.class);
+            mongoTemplate.remove(
+                    query(where("gardenId").is(gardenId).and("version").lte(version)), LayoutEdit.class);
+        } catch (DuplicateKeyException ex) {
+            log.debug("A newer snapshot of garden {} already exists", gardenId);
+        } catch (RuntimeException ex) {
+            // The edit is already durable; compaction is retried at the next snapshot boundary.
+            log.warn("Compacting layout of garden {} at version {} failed", gardenId, version, ex);
+        }
+    }
+
+    private void ensureIndexes() {
+        if (indexesEnsured) {
+            return;
+        }
+        mongoTemplate
+                .indexOps(LayoutEdit.class)
+                .ensureIndex(new Index()
+                        .on("gardenId", Sort.Direction.ASC)
+                        .on("version", Sort.Direction.ASC)
+                        .unique()
+                        .named("gardenId_version"));
+        indexesEnsured = true;
+    }
+
+    private static CustomException conflict(LayoutState state) {
+        return new CustomException(
+                "Layout has changed; current version is " + state.getVersion(),
+                HttpStatus.CONFLICT,
+                ErrorCode.VERSION_CONFLICT);
+    }
+
+    private static LayoutView view(LayoutState state) {
+        return LayoutView.builder()
+                .gardenId(state.getGardenId())
+                .version(state.getVersion())
+                .placements(state.placements())
+                .build();
+    }
+}
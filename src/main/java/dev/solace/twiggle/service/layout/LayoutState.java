@@ -0,0 +1,140 @@
+package dev.solace.twiggle.service.layout;
+
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.layout.LayoutOperation;
+import dev.solace.twiggle.model.layout.Placement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Materialized layout of one garden at a given version. Not thread-safe; callers hold {@link #lock()}.
+ */
+public class LayoutState {
+
+    private final String gardenId;
+    private final Map<String, Placement> placements = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long version;
+
+    public LayoutState(String gardenId, long version, List<Placement> placements) {
+        this.gardenId = gardenId;
+        reset(version, placements);
+    }
+
+    /**
+     * Replaces the whole state, e.g. with a newer snapshot.
+     */
+    public void reset(long version, List<Placement> placements) {
+        this.version = version;
+        this.placements.clear();
+        if (placements != null) {
+            placements.forEach(placement -> this.placements.put(placement.getId(), copy(placement)));
+        }
+    }
+
+    /**
+     * Guards the state across the database calls that read or extend it. A lock rather than a monitor, so that the
+     * virtual threads making those calls do not pin their carrier while they block.
+     */
+    public ReentrantLock lock() {
+        return lock;
+    }
+
+    public String getGardenId() {
+        return gardenId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Rejects operations that do not apply to the current state, without modifying it.
+     */
+    public void validate(List<LayoutOperation> operations) {
+        Map<String, Boolean> exists = new HashMap<>();
+        for (LayoutOperation operation : operations) {
+            String id = operation.getPlacementId();
+            boolean present = exists.computeIfAbsent(id, placements::containsKey);
+            switch (operation.getType()) {
+                case ADD -> {
+                    if (present) {
+                        throw invalid("Placement '" + id + "' already exists");
+                    }
+                    if (operation.getPlantId() == null || operation.getPlantId().isBlank()) {
+                        throw invalid("Placement '" + id + "' must reference a plant");
+                    }
+                    exists.put(id, true);
+                }
+                case MOVE -> {
+                    if (!present) {
+                        throw invalid("Placement '" + id + "' does not exist");
+                    }
+                }
+                case REMOVE -> {
+                    if (!present) {
+                        throw invalid("Placement '" + id + "' does not exist");
+                    }
+                    exists.put(id, false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies already validated operations as the given version.
+     */
+    public void apply(long newVersion, List<LayoutOperation> operations) {
+        for (LayoutOperation operation : operations) {
+            switch (operation.getType()) {
+                case ADD -> placements.put(
+                        operation.getPlacementId(),
+                        Placement.builder()
+                                .id(operation.getPlacementId())
+                                .plantId(operation.getPlantId())
+                                .x(operation.getX())
+                                .y(operation.getY())
+                                .build());
+                case MOVE -> {
+                    Placement placement = placements.get(operation.getPlacementId());
+                    placement.setX(operation.getX());
+                    placement.setY(operation.getY());
+                }
+                case REMOVE -> placements.remove(operation.getPlacementId());
+            }
+        }
+        version = newVersion;
+    }
+
+    /**
+     * Returns a detached copy of the placements, safe to hand out or persist.
+     */
+    public List<Placement> placements() {
+        List<Placement> result = new ArrayList<>(placements.size());
+        placements.values().forEach(placement -> result.add(copy(placement)));
+        return result;
+    }
+
+    public int size() {
+        return placements.size();
+    }
+
+    private static Placement copy(Placement placement) {
+        return Placement.builder()
+                .id(placement.getId())
+                .plantId(placement.getPlantId())
+                .x(placement.getX())
+                .y(placement.getY())
+                .build();
+    }
+
+    private static CustomException invalid(String message) {
+        return new CustomException(message, HttpStatus.BAD_REQUEST, ErrorCode.INVALID_ARGUMENT);
+    }
+}
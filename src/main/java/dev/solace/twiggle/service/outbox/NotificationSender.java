@@ -0,0 +1,26 @@
+package dev.solace.twiggle.service.outbox;
+
+import dev.solace.twiggle.model.outbox.OutboxMessage;
+
+/**
+ * Delivers one outbox message. Called concurrently for the messages of a batch; throwing schedules a retry.
+ * Delivery is at least once, so implementations should tolerate the occasional duplicate.
+ *
+ * <p>Returning normally marks the message sent, so it must only return once the message has reached its
+ * recipient. A sender that cannot reach the recipient from this instance throws
+ * {@link RecipientUnavailableException}: the message then stays pending for another instance, or a later attempt,
+ * without using up its attempts.
+ */
+public interface NotificationSender {
+
+    void send(OutboxMessage message);
+
+    /**
+     * The recipient is not reachable from this instance right now.
+     */
+    class RecipientUnavailableException extends RuntimeException {
+        public RecipientUnavailableException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package dev.solace.twiggle.service.outbox;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import dev.solace.twiggle.config.OutboxProperties;
+import dev.solace.twiggle.model.outbox.OutboxMessage;
+import dev.solace.twiggle.model.outbox.OutboxStatus;
+import dev.solace.twiggle.tenant.TenantContext;
+import dev.solace.twiggle.tenant.TenantDirectory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Drains the outbox in the background and hands messages to the {@link NotificationSender}.
+ *
+ * <p>Each round claims up to {@code batchSize} due messages by leasing them to this instance, sends them in
+ * parallel on virtual threads and records the outcome under the lease token, so several instances can dispatch
+ * side by side without sending a message twice while its lease holds. Failed sends are retried with jittered
+ * exponential backoff until {@code maxAttempts}, after which the message is marked dead. A message whose recipient
+ * is not reachable from this instance is put back after {@code recipientRetryDelay} without counting an attempt, so
+ * that the instance the recipient is connected to can claim it, and is marked dead once it has waited
+ * {@code recipientWait}.
+ *
+ * <p>Every tenant database has its own outbox; each poll drains them in turn, and messages are sent as the tenant
+ * that wrote them.
+ */
+@Slf4j
+@Service
+public class OutboxDispatcher implements DisposableBean {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final OutboxProperties properties;
+    private final NotificationSender sender;
+    private final TenantDirectory tenantDirectory;
+    private final String owner = UUID.randomUUID().toString();
+    private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+    private final Timer sendTimer;
+    private final Timer deliveryLag;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter deferred;
+    private final Counter dead;
+    private volatile boolean indexesEnsured;
+    private volatile boolean running = true;
+
+    public OutboxDispatcher(
+            MongoTemplate mongoTemplate,
+            OutboxProperties properties,
+            NotificationSender sender,
+            TenantDirectory tenantDirectory,
+            MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+        this.sender = sender;
+        this.tenantDirectory = tenantDirectory;
+        this.sendTimer = Timer.builder("twiggle.outbox.send")
+                .description("Time taken by the notification sender per message")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("twiggle.outbox.delivery.lag")
+                .description("Time from writing an outbox message to sending it")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.sent = Counter.builder("twiggle.outbox.sent")
+                .description("Outbox messages sent")
+                .register(meterRegistry);
+        this.retried = Counter.builder("twiggle.outbox.retried")
+                .description("Failed sends scheduled for retry")
+                .register(meterRegistry);
+        this.deferred = Counter.builder("twiggle.outbox.deferred")
+                .description("Messages put back because their recipient was not reachable from this instance")
+                .register(meterRegistry);
+        this.dead = Counter.builder("twiggle.outbox.dead")
+                .description("Outbox messages given up on")
+                .register(meterRegistry);
+        Gauge.builder("twiggle.outbox.lag", oldestPendingMillis, oldest -> {
+                    long millis = oldest.get();
+                    return millis == 0 ? 0 : Math.max(0, System.currentTimeMillis() - millis) / 1000.0;
+                })
+                .description("Age in seconds of the oldest pending outbox message")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexesOnStartup() {
+        try {
+            ensureIndexes();
+        } catch (RuntimeException ex) {
+            // Retried on every poll until it succeeds.
+            log.warn("Could not ensure outbox indexes at startup", ex);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${twiggle.outbox.poll-interval:500ms}")
+    public void poll() {
+        if (!properties.isEnabled() || !running) {
+            return;
+        }
+        long oldest = 0;
+        for (String tenant : tenantDirectory.tenants()) {
+            if (!running) {
+                return;
+            }
+            try {
+                long tenantOldest = TenantContext.callAs(tenant, this::drain);
+                if (tenantOldest != 0 && (oldest == 0 || tenantOldest < oldest)) {
+                    oldest = tenantOldest;
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Dispatching the outbox of tenant {} failed", tenant, ex);
+            }
+        }
+        oldestPendingMillis.set(oldest);
+    }
+
+    /**
+     * Drains the current tenant's outbox and returns the creation time of its oldest pending message in epoch
+     * milliseconds, or 0 if none is left.
+     */
+    private long drain() {
+        if (TenantContext.isHome()) {
+            // Tenant databases are created with the home database's indexes.
+            ensureIndexes();
+        }
+        // A full batch suggests more are due, so keep going until the outbox is drained.
+        while (running && dispatchBatch() == properties.getBatchSize()) {
+            log.trace("Outbox batch was full, claiming the next one");
+        }
+        return oldestPending();
+    }
+
+    /**
+     * Claims, sends and settles one batch, returning the number of messages claimed.
+     */
+    int dispatchBatch() {
+        List<OutboxMessage> batch = claim();
+        List<Future<?>> sends = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            sends.add(sendExecutor.submit(TenantContext.propagate(() -> deliver(message))));
+        }
+        for (Future<?> send : sends) {
+            try {
+                send.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                // Unsettled messages become claimable again when their lease expires.
+                break;
+            } catch (ExecutionException ex) {
+                log.error("Settling an outbox message failed", ex.getCause());
+            }
+        }
+        return batch.size();
+    }
+
+    private List<OutboxMessage> claim() {
+        Instant now = Instant.now();
+        Query due = query(where("status")
+                        .is(OutboxStatus.PENDING)
+                        .and("availableAt")
+                        .lte(now))
+                .with(Sort.by("availableAt"))
+                .limit(properties.getBatchSize());
+        due.fields().include("_id");
+        List<String> ids = mongoTemplate.find(due, OutboxMessage.class).stream()
+                .map(OutboxMessage::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Only messages still due are leased, so a batch another instance claimed in between is skipped.
+        String token = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(
+                query(where("_id")
+                        .in(ids)
+                        .and("status")
+                        .is(OutboxStatus.PENDING)
+                        .and("availableAt")
+                        .lte(now)),
+                new Update()
+                        .set("availableAt", now.plus(properties.getLease()))
+                        .set("leaseToken", token)
+                        .set("leaseOwner", owner),
+                OutboxMessage.class);
+        return mongoTemplate.find(query(where("_id").in(ids).and("leaseToken").is(token)), OutboxMessage.class);
+    }
+
+    private void deliver(OutboxMessage message) {
+        try {
+            sendTimer.record(() -> sender.send(message));
+        } catch (NotificationSender.RecipientUnavailableException ex) {
+            defer(message, ex);
+            return;
+        } catch (RuntimeException ex) {
+            fail(message, ex);
+            return;
+        }
+        Instant now = Instant.now();
+        boolean settled =
+                settle(message, new Update().set("status", OutboxStatus.SENT).set("sentAt", now));
+        if (settled) {
+            sent.increment();
+            deliveryLag.record(Duration.between(message.getCreatedAt(), now));
+        } else {
+            log.warn("Lease on outbox message {} expired while sending; it may be sent again", message.getId());
+        }
+    }
+
+    private void defer(OutboxMessage message, NotificationSender.RecipientUnavailableException reason) {
+        Instant now = Instant.now();
+        Update update = new Update().set("lastError", truncate(reason.getMessage()));
+        if (!message.getCreatedAt().plus(properties.getRecipientWait()).isAfter(now)) {
+            log.info("Giving up on outbox message {}: {}", message.getId(), reason.getMessage());
+            if (settle(message, update.set("status", OutboxStatus.DEAD))) {
+                dead.increment();
+            }
+            return;
+        }
+        if (settle(message, update.set("availableAt", now.plus(properties.getRecipientRetryDelay())))) {
+            deferred.increment();
+        }
+    }
+
+    private void fail(OutboxMessage message, RuntimeException error) {
+        int attempts = message.getAttempts() + 1;
+        Update update = new Update().set("attempts", attempts).set("lastError", truncate(error.toString()));
+        if (attempts >= properties.getMaxAttempts()) {
+            log.error("Giving up on outbox message {} after {} attempts", message.getId(), attempts, error);
+            if (settle(message, update.set("status", OutboxStatus.DEAD))) {
+                dead.increment();
+            }
+            return;
+        }
+        Duration delay = backoff(
+                attempts,
+                properties.getInitialBackoff(),
+                properties.getMaxBackoff(),
+                ThreadLocalRandom.current().nextDouble());
+        log.debug("Sending outbox message {} failed, retrying in {}", message.getId(), delay, error);
+        if (settle(message, update.set("availableAt", Instant.now().plus(delay)))) {
+            retried.increment();
+        }
+    }
+
+    /**
+     * Applies {@code update} and releases the lease, provided this dispatcher still holds it.
+     */
+    private boolean settle(OutboxMessage message, Update update) {
+        update.unset("leaseToken").unset("leaseOwner");
+        return mongoTemplate
+                        .updateFirst(
+                                query(where("_id")
+                                        .is(message.getId())
+                                        .and("leaseToken")
+                                        .is(message.getLeaseToken())),
+                                update,
+                                OutboxMessage.class)
+                        .getModifiedCount()
+                > 0;
+    }
+
+    private long oldestPending() {
+        Query oldest = query(where("status").is(OutboxStatus.PENDING))
+                .with(Sort.by("createdAt"))
+                .limit(1);
+        oldest.fields().include("createdAt");
+        OutboxMessage message = mongoTemplate.findOne(oldest, OutboxMessage.class);
+        return message != null ? message.getCreatedAt().toEpochMilli() : 0;
+    }
+
+    /**
+     * Exponential backoff for the given attempt, capped at {@code max}, with the upper half randomized by
+     * {@code random} in {@code [0, 1)} so that messages failing together do not retry together.
+     */
+    static Duration backoff(int attempt, Duration initial, Duration max, double random) {
+        int doublings = Math.min(Math.max(attempt - 1, 0), 30);
+        long millis = Math.min(max.toMillis(), initial.toMillis() << doublings);
+        return Duration.ofMillis(millis / 2 + (long) (millis / 2 * random));
+    }
+
+    private void ensureIndexes() {
+        if (indexesEnsured) {
+            return;
+        }
+        var indexOps = mongoTemplate.indexOps(OutboxMessage.class);
+        indexOps.ensureIndex(new Index()
+                .on("status", Sort.Direction.ASC)
+                .on("availableAt", Sort.Direction.ASC)
+                .named("status_availableAt"));
+        indexOps.ensureIndex(new Index()
+                .on("status", Sort.Direction.ASC)
+                .on("createdAt", Sort.Direction.ASC)
+                .named("status_createdAt"));
+        indexOps.ensureIndex(new Index()
+                .on("sentAt", Sort.Direction.ASC)
+                .expire(properties.getRetention())
+                .named("sentAt_ttl"));
+        indexesEnsured = true;
+    }
+
+    private static String truncate(String text) {
+        return text.length() <= MAX_ERROR_LENGTH ? text : text.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        sendExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,37 @@
+package dev.solace.twiggle.service.outbox;
+
+import dev.solace.twiggle.model.outbox.OutboxMessage;
+import dev.solace.twiggle.model.outbox.OutboxStatus;
+import java.time.Instant;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Appends notifications to the outbox. Must be called inside the transaction of the domain change, so that the
+ * notification exists if and only if the change was committed.
+ */
+@Service
+public class OutboxWriter {
+
+    private final MongoTemplate mongoTemplate;
+
+    public OutboxWriter(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxMessage enqueue(String type, String recipient, Document payload) {
+        Instant now = Instant.now();
+        return mongoTemplate.insert(OutboxMessage.builder()
+                .type(type)
+                .recipient(recipient)
+                .payload(payload)
+                .status(OutboxStatus.PENDING)
+                .availableAt(now)
+                .createdAt(now)
+                .build());
+    }
+}
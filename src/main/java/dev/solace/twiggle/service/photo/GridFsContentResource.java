@@ -0,0 +1,72 @@
+package dev.solace.twiggle.service.photo;
+
+import com.mongodb.client.gridfs.GridFSBucket;
+import java.io.InputStream;
+import org.bson.types.ObjectId;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.lang.NonNull;
+
+/**
+ * A GridFS file as a {@link org.springframework.core.io.Resource}, so Spring MVC can stream it and answer range
+ * requests from it.
+ *
+ * <p>Every {@link #getInputStream()} opens a fresh download stream that fetches {@code batchChunks} chunks per round
+ * trip; skipping ahead for a range jumps straight to the chunk holding the first requested byte. The length is
+ * taken from the files document, so it is known without reading the content. The bucket is bound to the tenant's
+ * database when the resource is created.
+ */
+public class GridFsContentResource extends AbstractResource {
+
+    private final GridFSBucket bucket;
+    private final ObjectId id;
+    private final long length;
+    private final String filename;
+    private final int batchChunks;
+
+    public GridFsContentResource(GridFSBucket bucket, ObjectId id, long length, String filename, int batchChunks) {
+        this.bucket = bucket;
+        this.id = id;
+        this.length = length;
+        this.filename = filename;
+        this.batchChunks = batchChunks;
+    }
+
+    @Override
+    @NonNull public InputStream getInputStream() {
+        return bucket.openDownloadStream(id).batchSize(batchChunks);
+    }
+
+    @Override
+    public long contentLength() {
+        return length;
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    /** Named after the file's format, which is what the parts of a multi-range response take their type from. */
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    @NonNull public String getDescription() {
+        return "GridFS file [" + bucket.getBucketName() + "/" + id + "]";
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other
+                || (other instanceof GridFsContentResource resource
+                        && resource.id.equals(id)
+                        && resource.bucket.getBucketName().equals(bucket.getBucketName()));
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+}
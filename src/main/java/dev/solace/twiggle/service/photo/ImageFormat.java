@@ -0,0 +1,69 @@
+package dev.solace.twiggle.service.photo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Image formats accepted for photos, recognised by their leading bytes rather than the declared content type, so
+ * nothing but images is ever stored and served back.
+ */
+public enum ImageFormat {
+    JPEG("image/jpeg", "jpg"),
+    PNG("image/png", "png"),
+    GIF("image/gif", "gif"),
+    WEBP("image/webp", "webp");
+
+    /** Number of leading bytes {@link #sniff} needs. */
+    public static final int SIGNATURE_LENGTH = 12;
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private final String contentType;
+    private final String extension;
+
+    ImageFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static Optional<ImageFormat> sniff(byte[] head) {
+        if (head.length >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+            return Optional.of(JPEG);
+        }
+        if (startsWith(head, PNG_SIGNATURE)) {
+            return Optional.of(PNG);
+        }
+        if (startsWith(head, ascii("GIF87a")) || startsWith(head, ascii("GIF89a"))) {
+            return Optional.of(GIF);
+        }
+        if (startsWith(head, ascii("RIFF"))
+                && head.length >= SIGNATURE_LENGTH
+                && Arrays.equals(head, 8, 12, ascii("WEBP"), 0, 4)) {
+            return Optional.of(WEBP);
+        }
+        return Optional.empty();
+    }
+
+    public static Optional<ImageFormat> ofContentType(String contentType) {
+        return Arrays.stream(values())
+                .filter(format -> format.contentType.equals(contentType))
+                .findFirst();
+    }
+
+    private static boolean startsWith(byte[] head, byte[] prefix) {
+        return head.length >= prefix.length && Arrays.equals(head, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,11 @@
+package dev.solace.twiggle.service.photo;
+
+import java.time.Instant;
+import org.springframework.core.io.Resource;
+
+/**
+ * Stored bytes of a photo or thumbnail, with what a response needs to validate and describe them before streaming.
+ *
+ * @param etag unquoted strong entity tag; the content behind it never changes
+ */
+public record PhotoContent(String etag, String contentType, long length, Instant lastModified, Resource resource) {}
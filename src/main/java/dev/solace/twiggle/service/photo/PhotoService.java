@@ -0,0 +1,378 @@
+package dev.solace.twiggle.service.photo;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.GridFSUploadStream;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import com.mongodb.client.model.Filters;
+import dev.solace.twiggle.config.PhotoProperties;
+import dev.solace.twiggle.dto.PhotoView;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.photo.PhotoFile;
+import dev.solace.twiggle.model.photo.ThumbnailStatus;
+import dev.solace.twiggle.persistence.ResilientMongoAccess;
+import dev.solace.twiggle.tenant.TenantContext;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.fileupload2.core.AbstractFileUpload;
+import org.apache.commons.fileupload2.core.DiskFileItem;
+import org.apache.commons.fileupload2.core.DiskFileItemFactory;
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.core.FileUploadException;
+import org.apache.commons.fileupload2.core.FileUploadSizeException;
+import org.apache.commons.fileupload2.core.RequestContext;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletFileUpload;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Stores garden photos in GridFS and opens them for streaming.
+ *
+ * <p>Uploads are parsed from the request body as it arrives: the photo part is copied into a GridFS upload stream,
+ * which writes a chunk to the database each time {@code chunkSize} bytes have arrived, so an upload holds about one
+ * chunk of heap however large the photo is and nothing is spooled to disk. The format is taken from the leading
+ * bytes, and an upload that turns out too large, malformed or cut off is aborted, which removes the chunks already
+ * written. Thumbnails are left to the {@link ThumbnailService}. The heap allocated by each upload's thread is
+ * recorded as {@code twiggle.photos.upload.allocated}, to keep the claim above measured.
+ *
+ * <p>Photos are stored in the current tenant's database. Lookups go through {@link ResilientMongoAccess}; the
+ * content itself is streamed while the response is written, outside of it.
+ */
+@Service
+public class PhotoService {
+
+    /** Name of the multipart part carrying the photo. */
+    public static final String FILE_PART = "file";
+
+    /** Room for the multipart framing and any small form fields sent along with the photo. */
+    private static final long MULTIPART_OVERHEAD = 64 * 1024;
+
+    /** Largest header block of a single part; a photo part needs a disposition and a content type. */
+    private static final int MAX_PART_HEADER_SIZE = 1024;
+
+    private static final int MAX_FILENAME_LENGTH = 255;
+    private static final String METADATA = "metadata.";
+
+    private final MongoTemplate mongoTemplate;
+    private final ResilientMongoAccess mongoAccess;
+    private final PhotoProperties properties;
+    private final ThumbnailService thumbnailService;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> indexesEnsured = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger activeUploads = new AtomicInteger();
+    private final DistributionSummary uploadSize;
+    private final DistributionSummary uploadAllocation;
+
+    public PhotoService(
+            MongoTemplate mongoTemplate,
+            ResilientMongoAccess mongoAccess,
+            PhotoProperties properties,
+            ThumbnailService thumbnailService,
+            MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.mongoAccess = mongoAccess;
+        this.properties = properties;
+        this.thumbnailService = thumbnailService;
+        this.meterRegistry = meterRegistry;
+        this.uploadSize = DistributionSummary.builder("twiggle.photos.upload.size")
+                .description("Size of stored photos")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.uploadAllocation = DistributionSummary.builder("twiggle.photos.upload.allocated")
+                .description("Heap allocated by the request thread while parsing and storing one upload")
+                .baseUnit("bytes")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("twiggle.photos.uploads.active", activeUploads, AtomicInteger::get)
+                .description("Uploads currently streaming into GridFS")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Streams the {@value #FILE_PART} part of a {@code multipart/form-data} request into the current tenant's
+     * photo bucket and queues its thumbnail. Any parts after it are not read.
+     */
+    public PhotoView upload(String gardenId, @Nullable String plantId, RequestContext request) {
+        if (!AbstractFileUpload.isMultipartContent(request)) {
+            throw new CustomException(
+                    "Photos must be uploaded as multipart/form-data",
+                    HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                    ErrorCode.UNSUPPORTED_MEDIA_TYPE);
+        }
+        JakartaServletFileUpload<DiskFileItem, DiskFileItemFactory> upload = new JakartaServletFileUpload<>();
+        upload.setMaxFileSize(properties.getMaxFileSize().toBytes());
+        upload.setMaxSize(properties.getMaxFileSize().toBytes() + MULTIPART_OVERHEAD);
+        upload.setMaxPartHeaderSize(MAX_PART_HEADER_SIZE);
+
+        long allocatedBefore = AllocationCounter.currentThread();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        activeUploads.incrementAndGet();
+        try {
+            FileItemInputIterator items = upload.getItemIterator(request);
+            while (items.hasNext()) {
+                FileItemInput item = items.next();
+                if (!item.isFormField() && FILE_PART.equals(item.getFieldName())) {
+                    PhotoFile photo = store(gardenId, plantId, item);
+                    outcome = "stored";
+                    uploadSize.record(photo.getLength());
+                    thumbnailService.submit(photo.getId());
+                    return view(photo);
+                }
+            }
+            outcome = "rejected";
+            throw new CustomException(
+                    "The request has no '" + FILE_PART + "' part", HttpStatus.BAD_REQUEST, ErrorCode.MISSING_PARAMETER);
+        } catch (FileUploadSizeException ex) {
+            outcome = "too-large";
+            throw new CustomException(
+                    "Photos may be at most " + properties.getMaxFileSize().toMegabytes() + " MB",
+                    HttpStatus.PAYLOAD_TOO_LARGE,
+                    ErrorCode.PAYLOAD_TOO_LARGE);
+        } catch (FileUploadException ex) {
+            outcome = "malformed";
+            throw new CustomException(
+                    "The multipart request is malformed: " + ex.getMessage(),
+                    HttpStatus.BAD_REQUEST,
+                    ErrorCode.INVALID_REQUEST);
+        } catch (IOException ex) {
+            outcome = "interrupted";
+            throw new CustomException(
+                    "The upload was interrupted before the photo was complete",
+                    HttpStatus.BAD_REQUEST,
+                    ErrorCode.INVALID_REQUEST);
+        } catch (CustomException ex) {
+            outcome = "rejected";
+            throw ex;
+        } finally {
+            activeUploads.decrementAndGet();
+            sample.stop(Timer.builder("twiggle.photos.upload")
+                    .description("Time taken to receive and store a photo upload")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            long allocatedAfter = AllocationCounter.currentThread();
+            if (allocatedBefore >= 0 && allocatedAfter >= allocatedBefore) {
+                uploadAllocation.record(allocatedAfter - allocatedBefore);
+            }
+        }
+    }
+
+    public PhotoView getPhoto(String gardenId, String photoId) {
+        return view(findPhoto(gardenId, photoId));
+    }
+
+    /**
+     * Opens the bytes of a photo. Nothing is read until the returned resource's stream is.
+     */
+    public PhotoContent openContent(String gardenId, String photoId) {
+        PhotoFile photo = findPhoto(gardenId, photoId);
+        String contentType = photo.getMetadata().getContentType();
+        return new PhotoContent(
+                photo.getId().toHexString(),
+                contentType,
+                photo.getLength(),
+                photo.getUploadDate(),
+                resource(bucket(PhotoFile.BUCKET), photo.getId(), photo.getLength(), contentType));
+    }
+
+    /**
+     * Opens the thumbnail of a photo, which exists once its status is {@link ThumbnailStatus#READY}.
+     */
+    public PhotoContent openThumbnail(String gardenId, String photoId) {
+        PhotoFile photo = findPhoto(gardenId, photoId);
+        ObjectId thumbnailId = photo.getMetadata().getThumbnailId();
+        if (photo.getMetadata().getThumbnail() != ThumbnailStatus.READY || thumbnailId == null) {
+            throw new CustomException(
+                    "Photo " + photoId + " has no thumbnail ("
+                            + photo.getMetadata().getThumbnail() + ")",
+                    HttpStatus.NOT_FOUND,
+                    ErrorCode.RESOURCE_NOT_FOUND);
+        }
+        GridFSBucket thumbnails = bucket(PhotoFile.THUMBNAIL_BUCKET);
+        GridFSFile file =
+                mongoAccess.read(PhotoFile.THUMBNAIL_BUCKET + ".files", thumbnailId.toHexString(), () -> thumbnails
+                        .find(Filters.eq("_id", thumbnailId))
+                        .first());
+        if (file == null) {
+            throw new CustomException(
+                    "The thumbnail of photo " + photoId + " was not found",
+                    HttpStatus.NOT_FOUND,
+                    ErrorCode.RESOURCE_NOT_FOUND);
+        }
+        String contentType = file.getMetadata() != null
+                ? file.getMetadata().getString(PhotoFile.Metadata.CONTENT_TYPE)
+                : ImageFormat.JPEG.contentType();
+        return new PhotoContent(
+                thumbnailId.toHexString(),
+                contentType,
+                file.getLength(),
+                file.getUploadDate().toInstant(),
+                resource(thumbnails, thumbnailId, file.getLength(), contentType));
+    }
+
+    private PhotoFile store(String gardenId, @Nullable String plantId, FileItemInput item) throws IOException {
+        ensureIndexes();
+        InputStream in = item.getInputStream();
+        byte[] head = in.readNBytes(ImageFormat.SIGNATURE_LENGTH);
+        ImageFormat format = ImageFormat.sniff(head)
+                .orElseThrow(() -> new CustomException(
+                        "Photos must be JPEG, PNG, GIF or WebP images",
+                        HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                        ErrorCode.UNSUPPORTED_MEDIA_TYPE));
+
+        PhotoFile.Metadata metadata = PhotoFile.Metadata.builder()
+                .gardenId(gardenId)
+                .plantId(plantId)
+                .contentType(format.contentType())
+                .thumbnail(ThumbnailStatus.PENDING)
+                .build();
+        String filename = filename(item.getName(), format);
+        int chunkSize = (int) properties.getChunkSize().toBytes();
+        GridFSUploadStream out = bucket(PhotoFile.BUCKET)
+                .openUploadStream(
+                        filename,
+                        new GridFSUploadOptions()
+                                .chunkSizeBytes(chunkSize)
+                                .metadata(new Document(PhotoFile.Metadata.GARDEN_ID, gardenId)
+                                        .append(PhotoFile.Metadata.PLANT_ID, plantId)
+                                        .append(PhotoFile.Metadata.CONTENT_TYPE, format.contentType())
+                                        .append(PhotoFile.Metadata.THUMBNAIL, ThumbnailStatus.PENDING.name())));
+        long length;
+        try {
+            out.write(head);
+            length = head.length + in.transferTo(out);
+            // Writes the last chunk and then the files entry; until the latter succeeds the upload can be aborted.
+            out.close();
+        } catch (IOException | RuntimeException ex) {
+            out.abort();
+            throw ex;
+        }
+        return PhotoFile.builder()
+                .id(out.getObjectId())
+                .filename(filename)
+                .length(length)
+                .chunkSize(chunkSize)
+                .uploadDate(Instant.now().truncatedTo(ChronoUnit.MILLIS))
+                .metadata(metadata)
+                .build();
+    }
+
+    private PhotoFile findPhoto(String gardenId, String photoId) {
+        PhotoFile photo = ObjectId.isValid(photoId)
+                ? mongoAccess.read(
+                        PhotoFile.COLLECTION,
+                        gardenId + "/" + photoId,
+                        () -> mongoTemplate.findOne(
+                                query(where("_id")
+                                        .is(new ObjectId(photoId))
+                                        .and(METADATA + PhotoFile.Metadata.GARDEN_ID)
+                                        .is(gardenId)),
+                                PhotoFile.class))
+                : null;
+        if (photo == null) {
+            throw new CustomException(
+                    "Photo " + photoId + " was not found in garden " + gardenId,
+                    HttpStatus.NOT_FOUND,
+                    ErrorCode.RESOURCE_NOT_FOUND);
+        }
+        return photo;
+    }
+
+    private GridFsContentResource resource(GridFSBucket bucket, ObjectId id, long length, String contentType) {
+        String extension = ImageFormat.ofContentType(contentType)
+                .map(ImageFormat::extension)
+                .orElse("bin");
+        return new GridFsContentResource(
+                bucket, id, length, id.toHexString() + "." + extension, properties.getDownloadBatchChunks());
+    }
+
+    private GridFSBucket bucket(String name) {
+        return GridFSBuckets.create(mongoTemplate.getDb(), name);
+    }
+
+    /**
+     * Adds the partial index behind the thumbnail sweep; GridFS creates its own indexes on the first upload.
+     */
+    private void ensureIndexes() {
+        String tenant = TenantContext.current();
+        if (indexesEnsured.contains(tenant)) {
+            return;
+        }
+        mongoTemplate
+                .indexOps(PhotoFile.class)
+                .ensureIndex(new Index()
+                        .on(METADATA + PhotoFile.Metadata.THUMBNAIL, Sort.Direction.ASC)
+                        .on("uploadDate", Sort.Direction.ASC)
+                        .named("pending_thumbnails")
+                        .partial(PartialIndexFilter.of(
+                                where(METADATA + PhotoFile.Metadata.THUMBNAIL).is(ThumbnailStatus.PENDING.name()))));
+        indexesEnsured.add(tenant);
+    }
+
+    private static String filename(@Nullable String submitted, ImageFormat format) {
+        if (submitted == null || submitted.isBlank()) {
+            return "photo." + format.extension();
+        }
+        // Some clients send the full client-side path.
+        String name = submitted.substring(Math.max(submitted.lastIndexOf('/'), submitted.lastIndexOf('\\')) + 1);
+        return name.length() > MAX_FILENAME_LENGTH ? name.substring(0, MAX_FILENAME_LENGTH) : name;
+    }
+
+    private static PhotoView view(PhotoFile photo) {
+        PhotoFile.Metadata metadata = photo.getMetadata();
+        return PhotoView.builder()
+                .id(photo.getId().toHexString())
+                .gardenId(metadata.getGardenId())
+                .plantId(metadata.getPlantId())
+                .filename(photo.getFilename())
+                .contentType(metadata.getContentType())
+                .size(photo.getLength())
+                .width(metadata.getWidth())
+                .height(metadata.getHeight())
+                .thumbnail(metadata.getThumbnail())
+                .uploadedAt(photo.getUploadDate())
+                .build();
+    }
+
+    /**
+     * Reads the bytes allocated so far by the current thread, where the JVM supports it.
+     */
+    private static final class AllocationCounter {
+        private static final com.sun.management.ThreadMXBean THREADS =
+                ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                                && bean.isThreadAllocatedMemorySupported()
+                                && bean.isThreadAllocatedMemoryEnabled()
+                        ? bean
+                        : null;
+
+        private AllocationCounter() {}
+
+        /** Returns the bytes allocated by the current thread, or {@code -1} if that is not measurable. */
+        static long currentThread() {
+            return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package dev.solace.twiggle.service.photo;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Optional;
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * Renders thumbnails from image streams without decoding the full image.
+ *
+ * <p>The header is read first to reject images with more than {@code maxPixels} pixels. The image is then decoded
+ * with source subsampling to between one and two times the thumbnail size, so a 24 megapixel photo is never held
+ * as a 96 MB raster, and scaled down from there. Images with transparency become PNG thumbnails, all others JPEG.
+ */
+public final class ThumbnailRenderer {
+
+    private ThumbnailRenderer() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * A rendered thumbnail and the dimensions of the image it was rendered from.
+     */
+    public record Thumbnail(
+            byte[] bytes, ImageFormat format, int width, int height, int sourceWidth, int sourceHeight) {}
+
+    /**
+     * Renders a thumbnail whose longest edge is at most {@code maxEdge}, or returns empty if no installed image
+     * reader understands the stream.
+     *
+     * @throws IOException if the image is corrupt or has more than {@code maxPixels} pixels
+     */
+    public static Optional<Thumbnail> render(InputStream in, int maxEdge, long maxPixels) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            if (input == null) {
+                return Optional.empty();
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return Optional.empty();
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+                if ((long) sourceWidth * sourceHeight > maxPixels) {
+                    throw new IIOException(
+                            "Image of " + sourceWidth + "x" + sourceHeight + " exceeds " + maxPixels + " pixels");
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(sourceWidth, sourceHeight) / (2 * maxEdge));
+                param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage decoded = reader.read(0, param);
+                return Optional.of(scale(decoded, maxEdge, sourceWidth, sourceHeight));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static Thumbnail scale(BufferedImage decoded, int maxEdge, int sourceWidth, int sourceHeight)
+            throws IOException {
+        double factor = Math.min(1.0, (double) maxEdge / Math.max(decoded.getWidth(), decoded.getHeight()));
+        int width = Math.max(1, (int) Math.round(decoded.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(decoded.getHeight() * factor));
+        boolean alpha = decoded.getColorModel().hasAlpha();
+
+        BufferedImage thumbnail =
+                new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(decoded, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ImageFormat format = alpha ? ImageFormat.PNG : ImageFormat.JPEG;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(thumbnail, format.extension(), out)) {
+            throw new IIOException("No image writer for " + format);
+        }
+        return new Thumbnail(out.toByteArray(), format, width, height, sourceWidth, sourceHeight);
+    }
+}
@@ -0,0 +1,223 @@
+package dev.solace.twiggle.service.photo;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import com.mongodb.client.result.UpdateResult;
+import dev.solace.twiggle.config.PhotoProperties;
+import dev.solace.twiggle.model.photo.PhotoFile;
+import dev.solace.twiggle.model.photo.ThumbnailStatus;
+import dev.solace.twiggle.tenant.TenantContext;
+import dev.solace.twiggle.tenant.TenantDirectory;
+import dev.solace.twiggle.tenant.TenantKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Renders photo thumbnails on a small fixed pool of worker threads, off the upload path.
+ *
+ * <p>Uploads queue their photo and return at once. The queue is bounded: when it is full the photo simply stays
+ * {@link ThumbnailStatus#PENDING} in its files document, and the periodic sweep queues pending photos again once
+ * there is room, which also picks up work lost to a restart. A worker stores the thumbnail under a new id and then
+ * records it with an update conditional on the photo still being pending, so when two instances render the same
+ * photo the loser deletes its copy instead of overwriting. Database failures leave the photo pending; images that
+ * cannot be decoded are marked {@link ThumbnailStatus#FAILED} and not retried.
+ */
+@Slf4j
+@Service
+public class ThumbnailService implements DisposableBean {
+
+    private static final String THUMBNAIL = PhotoFile.Metadata.THUMBNAIL;
+
+    private final MongoTemplate mongoTemplate;
+    private final PhotoProperties properties;
+    private final TenantDirectory tenantDirectory;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor workers;
+    private final Set<TenantKey> queued = ConcurrentHashMap.newKeySet();
+    private final Counter deferred;
+    private volatile boolean running = true;
+
+    public ThumbnailService(
+            MongoTemplate mongoTemplate,
+            PhotoProperties properties,
+            TenantDirectory tenantDirectory,
+            MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+        this.tenantDirectory = tenantDirectory;
+        this.meterRegistry = meterRegistry;
+        this.workers = new ThreadPoolExecutor(
+                properties.getThumbnailWorkers(),
+                properties.getThumbnailWorkers(),
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getThumbnailQueueCapacity()),
+                Thread.ofPlatform().name("photo-thumbnail-", 0).daemon(true).factory());
+        this.deferred = Counter.builder("twiggle.photos.thumbnails.deferred")
+                .description("Photos left pending for the sweep because the thumbnail queue was full")
+                .register(meterRegistry);
+        Gauge.builder("twiggle.photos.thumbnails.queue", workers, pool -> pool.getQueue()
+                        .size())
+                .description("Photos waiting for a thumbnail worker")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a thumbnail for the current tenant's photo. Returns {@code false} if the queue is full, in which case
+     * the sweep will queue it later.
+     */
+    public boolean submit(ObjectId photoId) {
+        TenantKey key = TenantKey.of(photoId.toHexString());
+        if (!running || !queued.add(key)) {
+            return running;
+        }
+        try {
+            workers.execute(() -> render(key));
+            return true;
+        } catch (RejectedExecutionException ex) {
+            queued.remove(key);
+            deferred.increment();
+            return false;
+        }
+    }
+
+    @Scheduled(
+            fixedDelayString = "${twiggle.photos.thumbnail-sweep-interval:1m}",
+            initialDelayString = "${twiggle.photos.thumbnail-sweep-interval:1m}")
+    public void sweep() {
+        for (String tenant : tenantDirectory.tenants()) {
+            int room =
+                    properties.getThumbnailQueueCapacity() - workers.getQueue().size();
+            if (!running || room <= 0) {
+                return;
+            }
+            try {
+                TenantContext.runAs(tenant, () -> requeuePending(room));
+            } catch (RuntimeException ex) {
+                log.warn("Sweeping pending thumbnails of tenant {} failed", tenant, ex);
+            }
+        }
+    }
+
+    /** Number of photos queued or being rendered on this instance. */
+    public int backlog() {
+        return queued.size();
+    }
+
+    private void requeuePending(int limit) {
+        Query pending = query(where("metadata." + THUMBNAIL)
+                        .is(ThumbnailStatus.PENDING)
+                        .and("uploadDate")
+                        .lt(Instant.now().minus(properties.getThumbnailSweepDelay())))
+                .limit(limit);
+        pending.fields().include("_id");
+        for (PhotoFile photo : mongoTemplate.find(pending, PhotoFile.class)) {
+            if (!submit(photo.getId())) {
+                return;
+            }
+        }
+    }
+
+    private void render(TenantKey key) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            outcome = TenantContext.callAs(key.tenant(), () -> renderAndStore(new ObjectId(key.id())));
+        } catch (RuntimeException ex) {
+            log.warn("Rendering the thumbnail of photo {} failed; it stays pending", key, ex);
+        } finally {
+            queued.remove(key);
+            sample.stop(Timer.builder("twiggle.photos.thumbnails")
+                    .description("Time taken to render and store a photo thumbnail")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private String renderAndStore(ObjectId photoId) {
+        PhotoFile photo = mongoTemplate.findById(photoId, PhotoFile.class);
+        if (photo == null || photo.getMetadata().getThumbnail() != ThumbnailStatus.PENDING) {
+            return "skipped";
+        }
+        GridFSBucket photos = GridFSBuckets.create(mongoTemplate.getDb(), PhotoFile.BUCKET);
+        Optional<ThumbnailRenderer.Thumbnail> rendered;
+        try (InputStream in = photos.openDownloadStream(photoId).batchSize(properties.getDownloadBatchChunks())) {
+            rendered = ThumbnailRenderer.render(in, properties.getThumbnailSize(), properties.getMaxPixels());
+        } catch (MongoException ex) {
+            throw ex;
+        } catch (IOException | RuntimeException ex) {
+            // Image decoders report corrupt input with unchecked exceptions as well.
+            log.debug("Photo {} could not be decoded", photoId, ex);
+            return finish(photoId, ThumbnailStatus.FAILED, new Update());
+        }
+        if (rendered.isEmpty()) {
+            return finish(photoId, ThumbnailStatus.UNSUPPORTED, new Update());
+        }
+
+        ThumbnailRenderer.Thumbnail thumbnail = rendered.get();
+        GridFSBucket thumbnails = GridFSBuckets.create(mongoTemplate.getDb(), PhotoFile.THUMBNAIL_BUCKET);
+        ObjectId thumbnailId = thumbnails.uploadFromStream(
+                photoId.toHexString() + "." + thumbnail.format().extension(),
+                new ByteArrayInputStream(thumbnail.bytes()),
+                new GridFSUploadOptions()
+                        .metadata(new Document(
+                                PhotoFile.Metadata.CONTENT_TYPE,
+                                thumbnail.format().contentType())));
+        String outcome = finish(
+                photoId,
+                ThumbnailStatus.READY,
+                new Update()
+                        .set("metadata." + PhotoFile.Metadata.THUMBNAIL_ID, thumbnailId)
+                        .set("metadata." + PhotoFile.Metadata.WIDTH, thumbnail.sourceWidth())
+                        .set("metadata." + PhotoFile.Metadata.HEIGHT, thumbnail.sourceHeight()));
+        if (outcome.equals("skipped")) {
+            // Another worker recorded its thumbnail first.
+            thumbnails.delete(thumbnailId);
+        }
+        return outcome;
+    }
+
+    /** Moves a still pending photo to {@code status}, returning the outcome to record. */
+    private String finish(ObjectId photoId, ThumbnailStatus status, Update update) {
+        UpdateResult result = mongoTemplate.updateFirst(
+                query(where("_id").is(photoId).and("metadata." + THUMBNAIL).is(ThumbnailStatus.PENDING)),
+                update.set("metadata." + THUMBNAIL, status),
+                PhotoFile.class);
+        return result.getModifiedCount() == 0 ? "skipped" : status.name().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        workers.shutdownNow();
+        workers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,234 @@
+package dev.solace.twiggle.service.reminder;
+
+import dev.solace.twiggle.config.ReminderProperties;
+import dev.solace.twiggle.dto.ReminderEvent;
+import dev.solace.twiggle.dto.ReminderRequest;
+import dev.solace.twiggle.tenant.TenantKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Delivers care reminders to users' open Server-Sent Events streams.
+ *
+ * <p>Streams are async-servlet {@link SseEmitter}s, so an idle connection holds no request thread, only its
+ * emitter and socket. Publishing never blocks: the reminder is appended to the user's bounded mailbox and a
+ * virtual thread drains the mailbox into that user's streams, so one slow client cannot hold up others. Mailboxes
+ * belong to a user of the tenant bound when subscribing or publishing.
+ */
+@Slf4j
+@Service
+public class ReminderHub implements DisposableBean {
+
+    static final String EVENT_NAME = "reminder";
+
+    private final ReminderProperties properties;
+    private final Map<TenantKey, UserMailbox> mailboxes = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+    private final Counter delivered;
+    private final Counter dropped;
+    private final ExecutorService drainExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService housekeeping;
+
+    public ReminderHub(ReminderProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.delivered = Counter.builder("twiggle.reminders.delivered")
+                .description("Reminders written to a stream")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("twiggle.reminders.dropped")
+                .description("Reminders evicted from a full mailbox")
+                .register(meterRegistry);
+        Gauge.builder("twiggle.reminders.streams", openStreams, AtomicInteger::get)
+                .description("Open reminder streams")
+                .register(meterRegistry);
+        Gauge.builder("twiggle.reminders.mailboxes", mailboxes, Map::size)
+                .description("Users with a reminder mailbox in memory")
+                .register(meterRegistry);
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("reminder-housekeeping-");
+        threadFactory.setDaemon(true);
+        this.housekeeping = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        long heartbeatMillis = properties.getHeartbeatInterval().toMillis();
+        housekeeping.scheduleAtFixedRate(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        housekeeping.scheduleAtFixedRate(this::evictIdleMailboxes, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Opens a stream for the user. Without {@code lastEventId} it starts with reminders no stream has received
+     * yet; with it, it replays whatever the mailbox still holds after that id.
+     */
+    public SseEmitter subscribe(String userId, @Nullable Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        UserMailbox mailbox = mailboxes.compute(TenantKey.of(userId), (key, existing) -> {
+            UserMailbox target = existing != null ? existing : new UserMailbox(properties.getMailboxCapacity());
+            long start = lastEventId != null ? Math.min(lastEventId, target.lastId()) : target.deliveredUpTo();
+            UserMailbox.Subscriber subscriber = new UserMailbox.Subscriber(emitter, start);
+            target.subscribers.add(subscriber);
+            target.lastActivityNanos = System.nanoTime();
+            openStreams.incrementAndGet();
+            Runnable close = () -> remove(target, subscriber);
+            emitter.onCompletion(close);
+            emitter.onTimeout(close);
+            emitter.onError(error -> close.run());
+            return target;
+        });
+        try {
+            // Commits the response so the client sees the stream open before the first reminder.
+            emitter.send(SseEmitter.event()
+                    .comment("connected")
+                    .reconnectTime(properties.getReconnectDelay().toMillis()));
+        } catch (IOException ex) {
+            emitter.completeWithError(ex);
+        }
+        scheduleDrain(mailbox);
+        return emitter;
+    }
+
+    /**
+     * Queues a reminder for the user and returns it with its assigned id. Never blocks on delivery.
+     */
+    public ReminderEvent publish(String userId, ReminderRequest request) {
+        return append(
+                mailboxes.computeIfAbsent(
+                        TenantKey.of(userId), key -> new UserMailbox(properties.getMailboxCapacity())),
+                request);
+    }
+
+    /**
+     * Queues a reminder for the user's open streams on this instance and waits until one of them has written it,
+     * for at most {@code deliveryTimeout}.
+     *
+     * @return whether a stream wrote the reminder; {@code false} when the user has no open stream here
+     */
+    public boolean deliver(String userId, ReminderRequest request) {
+        UserMailbox mailbox = mailboxes.get(TenantKey.of(userId));
+        if (mailbox == null || mailbox.subscribers.isEmpty()) {
+            return false;
+        }
+        long id = append(mailbox, request).getId();
+        try {
+            mailbox.delivery(id).get(properties.getDeliveryTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException | ExecutionException ex) {
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            mailbox.forget(id);
+        }
+    }
+
+    private ReminderEvent append(UserMailbox mailbox, ReminderRequest request) {
+        ReminderEvent.ReminderEventBuilder event = ReminderEvent.builder()
+                .type(request.getType())
+                .gardenId(request.getGardenId())
+                .plantId(request.getPlantId())
+                .message(request.getMessage())
+                .dueAt(request.getDueAt())
+                .createdAt(Instant.now());
+        UserMailbox.Appended appended = mailbox.append(event);
+        if (appended.dropped()) {
+            dropped.increment();
+        }
+        scheduleDrain(mailbox);
+        return appended.event();
+    }
+
+    public int openStreams() {
+        return openStreams.get();
+    }
+
+    private void scheduleDrain(UserMailbox mailbox) {
+        if (mailbox.draining.compareAndSet(false, true)) {
+            drainExecutor.execute(() -> drain(mailbox));
+        }
+    }
+
+    private void drain(UserMailbox mailbox) {
+        try {
+            boolean heartbeat = mailbox.heartbeatDue.getAndSet(false);
+            for (UserMailbox.Subscriber subscriber : mailbox.subscribers) {
+                List<ReminderEvent> pending = mailbox.eventsAfter(subscriber.lastSentId);
+                try {
+                    for (ReminderEvent event : pending) {
+                        subscriber.emitter.send(SseEmitter.event()
+                                .id(String.valueOf(event.getId()))
+                                .name(EVENT_NAME)
+                                .data(event, MediaType.APPLICATION_JSON));
+                        subscriber.lastSentId = event.getId();
+                        mailbox.markDelivered(event.getId());
+                        delivered.increment();
+                    }
+                    if (heartbeat && pending.isEmpty()) {
+                        subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+                    }
+                } catch (IOException | IllegalStateException ex) {
+                    log.debug("Reminder stream closed while sending", ex);
+                    remove(mailbox, subscriber);
+                    subscriber.emitter.completeWithError(ex);
+                }
+            }
+        } finally {
+            mailbox.draining.set(false);
+            if (mailbox.hasPendingWork()) {
+                scheduleDrain(mailbox);
+            }
+        }
+    }
+
+    private void remove(UserMailbox mailbox, UserMailbox.Subscriber subscriber) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            mailbox.subscribers.remove(subscriber);
+            mailbox.lastActivityNanos = System.nanoTime();
+            openStreams.decrementAndGet();
+        }
+    }
+
+    void heartbeat() {
+        mailboxes.values().forEach(mailbox -> {
+            if (!mailbox.subscribers.isEmpty()) {
+                mailbox.heartbeatDue.set(true);
+                scheduleDrain(mailbox);
+            }
+        });
+    }
+
+    void evictIdleMailboxes() {
+        long ttlNanos = properties.getMailboxTtl().toNanos();
+        long now = System.nanoTime();
+        mailboxes
+                .keySet()
+                .forEach(user -> mailboxes.computeIfPresent(
+                        user,
+                        (key, mailbox) -> mailbox.subscribers.isEmpty() && now - mailbox.lastActivityNanos > ttlNanos
+                                ? null
+                                : mailbox));
+    }
+
+    @Override
+    public void destroy() {
+        housekeeping.shutdownNow();
+        mailboxes.values().forEach(mailbox -> mailbox.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        drainExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,38 @@
+package dev.solace.twiggle.service.reminder;
+
+import dev.solace.twiggle.dto.ReminderRequest;
+import dev.solace.twiggle.model.outbox.OutboxMessage;
+import dev.solace.twiggle.service.outbox.NotificationSender;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default {@link NotificationSender}: pushes reminder messages to the user's open streams on this instance.
+ *
+ * <p>A message only counts as sent once one of those streams has written it. When the user has no stream here, or
+ * none writes it in time, it stays pending, so the instance holding the user's stream, or this one once the user
+ * reconnects, delivers it on a later attempt.
+ */
+@Component
+public class ReminderHubSender implements NotificationSender {
+
+    private final ReminderHub reminderHub;
+    private final MongoConverter mongoConverter;
+
+    public ReminderHubSender(ReminderHub reminderHub, MongoConverter mongoConverter) {
+        this.reminderHub = reminderHub;
+        this.mongoConverter = mongoConverter;
+    }
+
+    @Override
+    public void send(OutboxMessage message) {
+        if (!ReminderService.OUTBOX_TYPE.equals(message.getType())) {
+            throw new IllegalArgumentException("Unsupported outbox message type " + message.getType());
+        }
+        ReminderRequest reminder = mongoConverter.read(ReminderRequest.class, message.getPayload());
+        if (!reminderHub.deliver(message.getRecipient(), reminder)) {
+            throw new RecipientUnavailableException(
+                    "No reminder stream of user " + message.getRecipient() + " on this instance accepted the reminder");
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package dev.solace.twiggle.service.reminder;
+
+import dev.solace.twiggle.dto.ReminderRequest;
+import dev.solace.twiggle.model.CareReminder;
+import dev.solace.twiggle.persistence.ResilientMongoAccess;
+import dev.solace.twiggle.service.outbox.OutboxWriter;
+import java.time.Instant;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Schedules care reminders. The reminder and its notification are written in one transaction; the outbox
+ * dispatcher delivers the notification afterwards, so a slow or failed delivery never affects the request.
+ */
+@Service
+public class ReminderService {
+
+    static final String OUTBOX_TYPE = "care-reminder";
+
+    private final MongoTemplate mongoTemplate;
+    private final OutboxWriter outboxWriter;
+    private final ResilientMongoAccess mongoAccess;
+    private final TransactionTemplate transactionTemplate;
+
+    public ReminderService(
+            MongoTemplate mongoTemplate,
+            OutboxWriter outboxWriter,
+            ResilientMongoAccess mongoAccess,
+            TransactionTemplate transactionTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        this.outboxWriter = outboxWriter;
+        this.mongoAccess = mongoAccess;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public CareReminder schedule(String userId, ReminderRequest request) {
+        // The transaction is bound to the thread the access layer runs the call on.
+        return mongoAccess.write(
+                CareReminder.COLLECTION, () -> transactionTemplate.execute(status -> insert(userId, request)));
+    }
+
+    private CareReminder insert(String userId, ReminderRequest request) {
+        CareReminder reminder = mongoTemplate.insert(CareReminder.builder()
+                .userId(userId)
+                .type(request.getType())
+                .gardenId(request.getGardenId())
+                .plantId(request.getPlantId())
+                .message(request.getMessage())
+                .dueAt(request.getDueAt())
+                .createdAt(Instant.now())
+                .build());
+        Document payload = new Document();
+        mongoTemplate.getConverter().write(request, payload);
+        outboxWriter.enqueue(OUTBOX_TYPE, userId, payload);
+        return reminder;
+    }
+}
@@ -0,0 +1,117 @@
+package dev.solace.twiggle.service.reminder;
+
+import dev.solace.twiggle.dto.ReminderEvent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Bounded per-user buffer of recent reminders plus the user's open streams. Reminders stay in the mailbox after
+ * delivery so a reconnecting client can replay from its {@code Last-Event-ID}.
+ */
+class UserMailbox {
+
+    private final int capacity;
+    private final ArrayDeque<ReminderEvent> events;
+    private final NavigableMap<Long, CompletableFuture<Void>> deliveryWaiters = new TreeMap<>();
+    private long lastId;
+    private long deliveredUpTo;
+
+    final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    final AtomicBoolean draining = new AtomicBoolean();
+    final AtomicBoolean heartbeatDue = new AtomicBoolean();
+    volatile long lastActivityNanos = System.nanoTime();
+
+    UserMailbox(int capacity) {
+        this.capacity = capacity;
+        this.events = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * Appends a reminder under the next id, evicting the oldest one if the mailbox is full.
+     */
+    synchronized Appended append(ReminderEvent.ReminderEventBuilder builder) {
+        boolean dropped = false;
+        if (events.size() == capacity) {
+            events.pollFirst();
+            dropped = true;
+        }
+        ReminderEvent event = builder.id(++lastId).build();
+        events.addLast(event);
+        lastActivityNanos = System.nanoTime();
+        return new Appended(event, dropped);
+    }
+
+    synchronized List<ReminderEvent> eventsAfter(long id) {
+        List<ReminderEvent> result = new ArrayList<>();
+        for (ReminderEvent event : events) {
+            if (event.getId() > id) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    synchronized void markDelivered(long id) {
+        deliveredUpTo = Math.max(deliveredUpTo, id);
+        NavigableMap<Long, CompletableFuture<Void>> written = deliveryWaiters.headMap(deliveredUpTo, true);
+        written.values().forEach(waiter -> waiter.complete(null));
+        written.clear();
+    }
+
+    /**
+     * Completes once a stream has written the reminder with the given id. Must be released with
+     * {@link #forget(long)} if it is given up on.
+     */
+    synchronized CompletableFuture<Void> delivery(long id) {
+        return deliveredUpTo >= id
+                ? CompletableFuture.completedFuture(null)
+                : deliveryWaiters.computeIfAbsent(id, key -> new CompletableFuture<>());
+    }
+
+    synchronized void forget(long id) {
+        deliveryWaiters.remove(id);
+    }
+
+    /**
+     * Where a new stream without {@code Last-Event-ID} starts: right after the last reminder any stream received.
+     */
+    synchronized long deliveredUpTo() {
+        return deliveredUpTo;
+    }
+
+    synchronized long lastId() {
+        return lastId;
+    }
+
+    boolean hasPendingWork() {
+        if (heartbeatDue.get()) {
+            return true;
+        }
+        long last = lastId();
+        return subscribers.stream().anyMatch(subscriber -> subscriber.lastSentId < last);
+    }
+
+    record Appended(ReminderEvent event, boolean dropped) {}
+
+    /**
+     * One open stream and the id of the last reminder written to it.
+     */
+    static final class Subscriber {
+        final SseEmitter emitter;
+        final AtomicBoolean closed = new AtomicBoolean();
+        volatile long lastSentId;
+
+        Subscriber(SseEmitter emitter, long lastSentId) {
+            this.emitter = emitter;
+            this.lastSentId = lastSentId;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package dev.solace.twiggle.service.search;
+
+import dev.solace.twiggle.config.AutocompleteProperties;
+import dev.solace.twiggle.dto.PlantSuggestion;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.Plant;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves plant name completions from an immutable {@link AutocompleteTrie}.
+ *
+ * <p>The trie is rebuilt from the catalog in the background and published with a single reference swap, so
+ * lookups never block and always see a complete trie.
+ */
+@Slf4j
+@Service
+public class AutocompleteService {
+
+    public static final int MAX_LIMIT = 20;
+
+    private final MongoTemplate mongoTemplate;
+    private final AutocompleteProperties properties;
+    private final Timer rebuildTimer;
+    private final AtomicReference<AutocompleteTrie> trie = new AtomicReference<>();
+
+    public AutocompleteService(
+            @Qualifier("catalogMongoTemplate") MongoTemplate mongoTemplate,
+            AutocompleteProperties properties,
+            MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+        this.rebuildTimer = Timer.builder("twiggle.autocomplete.rebuild")
+                .description("Time taken to rebuild the plant name autocomplete trie")
+                .register(meterRegistry);
+        Gauge.builder("twiggle.autocomplete.trie.size", trie, ref -> {
+                    AutocompleteTrie current = ref.get();
+                    return current != null ? current.estimatedSizeBytes() : 0;
+                })
+                .description("Estimated heap retained by the autocomplete trie")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("twiggle.autocomplete.trie.nodes", trie, ref -> {
+                    AutocompleteTrie current = ref.get();
+                    return current != null ? current.nodeCount() : 0;
+                })
+                .description("Nodes in the autocomplete trie")
+                .register(meterRegistry);
+    }
+
+    public List<PlantSuggestion> complete(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new CustomException(
+                    "Suggestion limit must be between 1 and " + MAX_LIMIT,
+                    HttpStatus.BAD_REQUEST,
+                    ErrorCode.INVALID_ARGUMENT);
+        }
+        AutocompleteTrie current = trie.get();
+        if (current == null) {
+            throw new CustomException(
+                    "Plant autocomplete is warming up, please retry shortly",
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    ErrorCode.SERVICE_UNAVAILABLE);
+        }
+        return current.complete(prefix, limit);
+    }
+
+    @Scheduled(fixedDelayString = "${twiggle.autocomplete.rebuild-interval:10m}")
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            AutocompleteTrie rebuilt = rebuildTimer.record(this::load);
+            trie.set(rebuilt);
+            log.debug(
+                    "Autocomplete trie rebuilt: {} suggestions, {} nodes, ~{} KiB",
+                    rebuilt.suggestionCount(),
+                    rebuilt.nodeCount(),
+                    rebuilt.estimatedSizeBytes() / 1024);
+        } catch (RuntimeException ex) {
+            // Keep serving the previous trie; the next scheduled run retries.
+            log.warn("Rebuilding the autocomplete trie failed", ex);
+        }
+    }
+
+    private AutocompleteTrie load() {
+        Query query = new Query();
+        query.fields().include("commonName", "scientificName", "popularity");
+        AutocompleteTrie.Builder builder = AutocompleteTrie.builder();
+        try (Stream<Plant> plants = mongoTemplate.stream(query, Plant.class)) {
+            plants.forEach(plant -> {
+                if (plant.getCommonName() != null) {
+                    builder.add(plant.getId(), plant.getCommonName(), false, plant.getPopularity());
+                }
+                if (plant.getScientificName() != null) {
+                    builder.add(plant.getId(), plant.getScientificName(), true, plant.getPopularity());
+                }
+            });
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,360 @@
+package dev.solace.twiggle.service.search;
+
+import dev.solace.twiggle.dto.PlantSuggestion;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable, path-compressed trie over normalized plant names with popularity-weighted top-k completion.
+ *
+ * <p>Nodes are numbered breadth-first so that a node's children, edge labels and values are contiguous; each of
+ * those is then addressed through a single offset array instead of per-node objects. Every node also stores the
+ * highest weight in its subtree, which lets {@link #complete} walk the subtree best-first and stop after {@code k}
+ * results instead of visiting every completion.
+ */
+public final class AutocompleteTrie {
+
+    private final char[] labels;
+    private final int[] labelStart;
+    private final int[] childStart;
+    private final int[] valueStart;
+    private final int[] values;
+    private final int[] maxWeight;
+
+    private final String[] texts;
+    private final String[] plantIds;
+    private final boolean[] scientific;
+    private final int[] weights;
+    private final long estimatedSizeBytes;
+
+    private AutocompleteTrie(
+            char[] labels,
+            int[] labelStart,
+            int[] childStart,
+            int[] valueStart,
+            int[] values,
+            int[] maxWeight,
+            String[] texts,
+            String[] plantIds,
+            boolean[] scientific,
+            int[] weights) {
+        this.labels = labels;
+        this.labelStart = labelStart;
+        this.childStart = childStart;
+        this.valueStart = valueStart;
+        this.values = values;
+        this.maxWeight = maxWeight;
+        this.texts = texts;
+        this.plantIds = plantIds;
+        this.scientific = scientific;
+        this.weights = weights;
+        this.estimatedSizeBytes = computeSizeBytes();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Lower-cases, strips accents and collapses runs of non-alphanumeric characters into single spaces.
+     */
+    public static String normalizeKey(String text) {
+        String normalized = Tokenizer.normalize(text);
+        StringBuilder key = new StringBuilder(normalized.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && !key.isEmpty()) {
+                    key.append(' ');
+                }
+                key.append(c);
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Returns up to {@code limit} suggestions whose name, or a word within it, starts with {@code prefix}, most
+     * popular first.
+     */
+    public List<PlantSuggestion> complete(String prefix, int limit) {
+        String key = normalizeKey(prefix);
+        int node = find(key);
+        if (node < 0 || limit <= 0) {
+            return List.of();
+        }
+
+        // Nodes are queued as -(node + 1) so they can share one queue with suggestion indexes.
+        PriorityQueue<long[]> queue = new PriorityQueue<>(
+                Comparator.<long[]>comparingLong(item -> -item[0]).thenComparingLong(item -> item[1]));
+        queue.add(new long[] {maxWeight[node], -(node + 1L)});
+        BitSet returned = new BitSet();
+        List<PlantSuggestion> result = new ArrayList<>(limit);
+        while (!queue.isEmpty() && result.size() < limit) {
+            long item = queue.poll()[1];
+            if (item >= 0) {
+                int suggestion = (int) item;
+                if (!returned.get(suggestion)) {
+                    returned.set(suggestion);
+                    result.add(PlantSuggestion.builder()
+                            .text(texts[suggestion])
+                            .plantId(plantIds[suggestion])
+                            .scientificName(scientific[suggestion])
+                            .popularity(weights[suggestion])
+                            .build());
+                }
+                continue;
+            }
+            int current = (int) (-item - 1);
+            for (int i = valueStart[current]; i < valueStart[current + 1]; i++) {
+                queue.add(new long[] {weights[values[i]], values[i]});
+            }
+            for (int child = childStart[current]; child < childStart[current + 1]; child++) {
+                queue.add(new long[] {maxWeight[child], -(child + 1L)});
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the node whose subtree holds every key starting with {@code key}, or -1 if there is none.
+     */
+    private int find(String key) {
+        int node = 0;
+        int matched = 0;
+        while (matched < key.length()) {
+            int child = child(node, key.charAt(matched));
+            if (child < 0) {
+                return -1;
+            }
+            int start = labelStart[child];
+            int length = labelStart[child + 1] - start;
+            int compare = Math.min(length, key.length() - matched);
+            for (int i = 0; i < compare; i++) {
+                if (labels[start + i] != key.charAt(matched + i)) {
+                    return -1;
+                }
+            }
+            matched += compare;
+            node = child;
+        }
+        return node;
+    }
+
+    private int child(int node, char first) {
+        int low = childStart[node];
+        int high = childStart[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char label = labels[labelStart[mid]];
+            if (label < first) {
+                low = mid + 1;
+            } else if (label > first) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public int nodeCount() {
+        return maxWeight.length;
+    }
+
+    public int suggestionCount() {
+        return texts.length;
+    }
+
+    /**
+     * Approximate retained heap size in bytes, assuming compressed object pointers.
+     */
+    public long estimatedSizeBytes() {
+        return estimatedSizeBytes;
+    }
+
+    private long computeSizeBytes() {
+        long bytes = arrayBytes(labels.length, 2)
+                + arrayBytes(labelStart.length, 4)
+                + arrayBytes(childStart.length, 4)
+                + arrayBytes(valueStart.length, 4)
+                + arrayBytes(values.length, 4)
+                + arrayBytes(maxWeight.length, 4)
+                + arrayBytes(texts.length, 4)
+                + arrayBytes(plantIds.length, 4)
+                + arrayBytes(scientific.length, 1)
+                + arrayBytes(weights.length, 4);
+        Map<String, Boolean> seen = new IdentityHashMap<>();
+        for (String[] strings : new String[][] {texts, plantIds}) {
+            for (String value : strings) {
+                if (value != null && seen.put(value, Boolean.TRUE) == null) {
+                    // String header plus its backing array; Latin-1 names use one byte per character.
+                    bytes += 24 + arrayBytes(value.length(), 1);
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private static long arrayBytes(int length, int elementBytes) {
+        return (16 + (long) length * elementBytes + 7) & ~7L;
+    }
+
+    /**
+     * Collects names and builds an immutable {@link AutocompleteTrie}. Not thread-safe.
+     */
+    public static final class Builder {
+
+        private final List<String> texts = new ArrayList<>();
+        private final List<String> plantIds = new ArrayList<>();
+        private final List<Boolean> scientific = new ArrayList<>();
+        private final List<Integer> weights = new ArrayList<>();
+        private final Map<String, List<Integer>> keys = new HashMap<>();
+
+        private Builder() {}
+
+        /**
+         * Adds a name that completes from its start and from the start of every later word.
+         */
+        public Builder add(String plantId, String name, boolean scientificName, int weight) {
+            String key = normalizeKey(name);
+            if (key.isEmpty()) {
+                return this;
+            }
+            int suggestion = texts.size();
+            texts.add(name);
+            plantIds.add(plantId);
+            scientific.add(scientificName);
+            weights.add(Math.max(0, weight));
+            keys.computeIfAbsent(key, ignored -> new ArrayList<>()).add(suggestion);
+            for (int i = key.indexOf(' '); i >= 0; i = key.indexOf(' ', i + 1)) {
+                keys.computeIfAbsent(key.substring(i + 1), ignored -> new ArrayList<>())
+                        .add(suggestion);
+            }
+            return this;
+        }
+
+        public AutocompleteTrie build() {
+            String[] sortedKeys = keys.keySet().toArray(String[]::new);
+            Arrays.sort(sortedKeys);
+            int[] weightArray = weights.stream().mapToInt(Integer::intValue).toArray();
+            Node root = sortedKeys.length == 0 ? new Node("") : build(sortedKeys, 0, sortedKeys.length, 0, "");
+            root.computeMaxWeight(weightArray);
+
+            // Breadth-first numbering keeps every node's children adjacent.
+            List<Node> order = new ArrayList<>();
+            ArrayDeque<Node> queue = new ArrayDeque<>();
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                Node node = queue.poll();
+                order.add(node);
+                queue.addAll(node.children);
+            }
+
+            int nodes = order.size();
+            int[] labelStart = new int[nodes + 1];
+            int[] childStart = new int[nodes + 1];
+            int[] valueStart = new int[nodes + 1];
+            int[] maxWeight = new int[nodes];
+            StringBuilder labels = new StringBuilder();
+            List<Integer> values = new ArrayList<>();
+            int nextChild = 1;
+            for (int i = 0; i < nodes; i++) {
+                Node node = order.get(i);
+                labelStart[i] = labels.length();
+                labels.append(node.label);
+                childStart[i] = nextChild;
+                nextChild += node.children.size();
+                valueStart[i] = values.size();
+                values.addAll(node.values);
+                maxWeight[i] = node.maxWeight;
+            }
+            labelStart[nodes] = labels.length();
+            childStart[nodes] = nextChild;
+            valueStart[nodes] = values.size();
+
+            boolean[] scientificArray = new boolean[scientific.size()];
+            for (int i = 0; i < scientificArray.length; i++) {
+                scientificArray[i] = scientific.get(i);
+            }
+            return new AutocompleteTrie(
+                    labels.toString().toCharArray(),
+                    labelStart,
+                    childStart,
+                    valueStart,
+                    values.stream().mapToInt(Integer::intValue).toArray(),
+                    maxWeight,
+                    texts.toArray(String[]::new),
+                    plantIds.toArray(String[]::new),
+                    scientificArray,
+                    weightArray);
+        }
+
+        /**
+         * Builds the node for sorted keys {@code [low, high)}, which all share their first {@code depth} characters.
+         */
+        private Node build(String[] sortedKeys, int low, int high, int depth, String label) {
+            Node node = new Node(label);
+            int i = low;
+            if (sortedKeys[i].length() == depth) {
+                node.values.addAll(keys.get(sortedKeys[i]));
+                i++;
+            }
+            while (i < high) {
+                char first = sortedKeys[i].charAt(depth);
+                int end = i + 1;
+                while (end < high && sortedKeys[end].charAt(depth) == first) {
+                    end++;
+                }
+                int common = commonPrefixLength(sortedKeys[i], sortedKeys[end - 1], depth);
+                node.children.add(build(sortedKeys, i, end, common, sortedKeys[i].substring(depth, common)));
+                i = end;
+            }
+            return node;
+        }
+
+        private static int commonPrefixLength(String first, String last, int from) {
+            int limit = Math.min(first.length(), last.length());
+            int i = from;
+            while (i < limit && first.charAt(i) == last.charAt(i)) {
+                i++;
+            }
+            return i;
+        }
+    }
+
+    private static final class Node {
+        private final String label;
+        private final List<Integer> values = new ArrayList<>(1);
+        private final List<Node> children = new ArrayList<>(2);
+        private int maxWeight;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private int computeMaxWeight(int[] weights) {
+            int max = 0;
+            for (int value : values) {
+                max = Math.max(max, weights[value]);
+            }
+            for (Node child : children) {
+                max = Math.max(max, child.computeMaxWeight(weights));
+            }
+            maxWeight = max;
+            return max;
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package dev.solace.twiggle.service.search;
+
+import dev.solace.twiggle.dto.PlantSearchHit;
+import dev.solace.twiggle.dto.PlantSearchResult;
+import dev.solace.twiggle.model.Plant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * In-memory inverted index over the plant catalog.
+ *
+ * <p>Every plant gets a dense internal document id. Name and description terms map to compressed Roaring
+ * bitmap postings, as does every facet value, so filtering and facet counting are bitmap intersections rather
+ * than document scans. Ids of removed plants are recycled to keep the bitmaps dense.
+ *
+ * <p>Readers share a read lock; upserts and removals from the change stream take the write lock.
+ */
+public class PlantSearchIndex {
+
+    public static final String FACET_SUN = "sun";
+    public static final String FACET_WATER = "water";
+    public static final String FACET_SEASON = "season";
+    public static final String FACET_ZONE = "zone";
+    public static final String FACET_EDIBLE = "edible";
+
+    static final int MIN_ZONE = 1;
+    static final int MAX_ZONE = 13;
+
+    private static final double NAME_BOOST = 3.0;
+    private static final double DESCRIPTION_BOOST = 1.0;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Entry> documents = new ArrayList<>();
+    private final ArrayDeque<Integer> freeIds = new ArrayDeque<>();
+    private final Map<String, Integer> documentIds = new HashMap<>();
+    private final RoaringBitmap live = new RoaringBitmap();
+    private final TreeMap<String, RoaringBitmap> nameTerms = new TreeMap<>();
+    private final TreeMap<String, RoaringBitmap> descriptionTerms = new TreeMap<>();
+    private final Map<String, Map<String, RoaringBitmap>> facets = new LinkedHashMap<>();
+
+    public PlantSearchIndex() {
+        for (String facet : List.of(FACET_SUN, FACET_WATER, FACET_SEASON, FACET_ZONE, FACET_EDIBLE)) {
+            facets.put(facet, new TreeMap<>());
+        }
+    }
+
+    public static PlantSearchIndex build(Iterable<Plant> plants) {
+        PlantSearchIndex index = new PlantSearchIndex();
+        plants.forEach(index::upsert);
+        index.optimize();
+        return index;
+    }
+
+    public void upsert(Plant plant) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = documentIds.get(plant.getId());
+            if (existing != null) {
+                removeDocument(existing);
+            }
+            int docId = freeIds.isEmpty() ? documents.size() : freeIds.pop();
+            Entry entry = Entry.of(plant);
+            if (docId == documents.size()) {
+                documents.add(entry);
+            } else {
+                documents.set(docId, entry);
+            }
+            documentIds.put(plant.getId(), docId);
+            live.add(docId);
+            entry.nameTerms.forEach(term -> posting(nameTerms, term).add(docId));
+            entry.descriptionTerms.forEach(
+                    term -> posting(descriptionTerms, term).add(docId));
+            entry.facetValues.forEach((facet, values) ->
+                    values.forEach(value -> posting(facets.get(facet), value).add(docId)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String plantId) {
+        lock.writeLock().lock();
+        try {
+            Integer docId = documentIds.remove(plantId);
+            if (docId != null) {
+                removeDocument(docId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compacts postings into run containers where that is smaller. Call after bulk loading.
+     */
+    public void optimize() {
+        lock.writeLock().lock();
+        try {
+            live.runOptimize();
+            nameTerms.values().forEach(RoaringBitmap::runOptimize);
+            descriptionTerms.values().forEach(RoaringBitmap::runOptimize);
+            facets.values().forEach(values -> values.values().forEach(RoaringBitmap::runOptimize));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public PlantSearchResult search(PlantSearchQuery query) {
+        List<String> tokens = Tokenizer.tokenize(query.text());
+        lock.readLock().lock();
+        try {
+            List<TokenPostings> textPostings = textPostings(tokens);
+            RoaringBitmap base = live.clone();
+            for (TokenPostings postings : textPostings) {
+                base.and(postings.any());
+            }
+
+            Map<String, RoaringBitmap> filters = facetFilters(query);
+            RoaringBitmap candidates = base.clone();
+            filters.values().forEach(candidates::and);
+
+            return PlantSearchResult.builder()
+                    .total(candidates.getCardinality())
+                    .hits(rank(candidates, textPostings, query.limit()))
+                    .facets(facetCounts(base, filters))
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<TokenPostings> textPostings(List<String> tokens) {
+        List<TokenPostings> result = new ArrayList<>(tokens.size());
+        int documentCount = Math.max(1, live.getCardinality());
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            boolean prefix = i == tokens.size() - 1;
+            RoaringBitmap name = lookup(nameTerms, token, prefix);
+            RoaringBitmap description = lookup(descriptionTerms, token, prefix);
+            RoaringBitmap any = RoaringBitmap.or(name, description);
+            double idf = Math.log(1.0 + (double) documentCount / Math.max(1, any.getCardinality()));
+            result.add(new TokenPostings(name, description, any, idf));
+        }
+        return result;
+    }
+
+    private static RoaringBitmap lookup(TreeMap<String, RoaringBitmap> dictionary, String token, boolean prefix) {
+        if (!prefix) {
+            RoaringBitmap exact = dictionary.get(token);
+            return exact != null ? exact : new RoaringBitmap();
+        }
+        NavigableMap<String, RoaringBitmap> range = dictionary.subMap(token, true, token + Character.MAX_VALUE, false);
+        List<RoaringBitmap> matches = new ArrayList<>();
+        for (RoaringBitmap posting : range.values()) {
+            matches.add(posting);
+            if (matches.size() == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+        }
+        return RoaringBitmap.or(matches.iterator());
+    }
+
+    private Map<String, RoaringBitmap> facetFilters(PlantSearchQuery query) {
+        Map<String, RoaringBitmap> filters = new LinkedHashMap<>();
+        addFilter(filters, FACET_SUN, enumNames(query.sun()));
+        addFilter(filters, FACET_WATER, enumNames(query.water()));
+        addFilter(filters, FACET_SEASON, enumNames(query.seasons()));
+        if (query.zone() != null) {
+            addFilter(filters, FACET_ZONE, List.of(String.valueOf(query.zone())));
+        }
+        if (query.edible() != null) {
+            addFilter(filters, FACET_EDIBLE, List.of(String.valueOf(query.edible())));
+        }
+        return filters;
+    }
+
+    private void addFilter(Map<String, RoaringBitmap> filters, String facet, Collection<String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        RoaringBitmap union = new RoaringBitmap();
+        Map<String, RoaringBitmap> postings = facets.get(facet);
+        for (String value : values) {
+            RoaringBitmap posting = postings.get(value);
+            if (posting != null) {
+                union.or(posting);
+            }
+        }
+        filters.put(facet, union);
+    }
+
+    private Map<String, Map<String, Integer>> facetCounts(RoaringBitmap base, Map<String, RoaringBitmap> filters) {
+        Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+        facets.forEach((facet, values) -> {
+            RoaringBitmap others = base.clone();
+            filters.forEach((otherFacet, filter) -> {
+                if (!otherFacet.equals(facet)) {
+                    others.and(filter);
+                }
+            });
+            Map<String, Integer> facetCounts = new LinkedHashMap<>();
+            values.forEach((value, posting) -> {
+                int count = RoaringBitmap.andCardinality(others, posting);
+                if (count > 0) {
+                    facetCounts.put(value, count);
+                }
+            });
+            counts.put(facet, facetCounts);
+        });
+        return counts;
+    }
+
+    private List<PlantSearchHit> rank(RoaringBitmap candidates, List<TokenPostings> textPostings, int limit) {
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        Comparator<ScoredDocument> order = Comparator.comparingDouble(ScoredDocument::score)
+                .thenComparingInt(scored -> documents.get(scored.docId()).popularity)
+                .thenComparing(
+                        scored -> documents.get(scored.docId()).commonName,
+                        Comparator.nullsLast(Comparator.reverseOrder()));
+        PriorityQueue<ScoredDocument> top = new PriorityQueue<>(limit + 1, order);
+        IntIterator iterator = candidates.getIntIterator();
+        while (iterator.hasNext()) {
+            int docId = iterator.next();
+            double score = 0;
+            for (TokenPostings postings : textPostings) {
+                if (postings.name().contains(docId)) {
+                    score += NAME_BOOST * postings.idf();
+                } else if (postings.description().contains(docId)) {
+                    score += DESCRIPTION_BOOST * postings.idf();
+                }
+            }
+            ScoredDocument scored = new ScoredDocument(docId, score);
+            if (top.size() < limit) {
+                top.offer(scored);
+            } else if (order.compare(scored, top.peek()) > 0) {
+                // Replace the weakest hit only when beaten, so most candidates never touch the heap.
+                top.poll();
+                top.offer(scored);
+            }
+        }
+
+        List<PlantSearchHit> hits = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ScoredDocument scored = top.poll();
+            Entry entry = documents.get(scored.docId());
+            hits.add(PlantSearchHit.builder()
+                    .id(entry.id)
+                    .commonName(entry.commonName)
+                    .scientificName(entry.scientificName)
+                    .score(scored.score())
+                    .build());
+        }
+        return hits.reversed();
+    }
+
+    private void removeDocument(int docId) {
+        Entry entry = documents.get(docId);
+        live.remove(docId);
+        entry.nameTerms.forEach(term -> removePosting(nameTerms, term, docId));
+        entry.descriptionTerms.forEach(term -> removePosting(descriptionTerms, term, docId));
+        entry.facetValues.forEach(
+                (facet, values) -> values.forEach(value -> removePosting(facets.get(facet), value, docId)));
+        documents.set(docId, null);
+        freeIds.push(docId);
+    }
+
+    private static RoaringBitmap posting(Map<String, RoaringBitmap> postings, String key) {
+        return postings.computeIfAbsent(key, ignored -> new RoaringBitmap());
+    }
+
+    private static void removePosting(Map<String, RoaringBitmap> postings, String key, int docId) {
+        RoaringBitmap posting = postings.get(key);
+        if (posting != null) {
+            posting.remove(docId);
+            if (posting.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static List<String> enumNames(Set<? extends Enum<?>> values) {
+        return values == null ? List.of() : values.stream().map(Enum::name).toList();
+    }
+
+    private record TokenPostings(RoaringBitmap name, RoaringBitmap description, RoaringBitmap any, double idf) {}
+
+    private record ScoredDocument(int docId, double score) {}
+
+    private static final class Entry {
+        private final String id;
+        private final String commonName;
+        private final String scientificName;
+        private final int popularity;
+        private final Set<String> nameTerms;
+        private final Set<String> descriptionTerms;
+        private final Map<String, List<String>> facetValues;
+
+        private Entry(
+                Plant plant,
+                Set<String> nameTerms,
+                Set<String> descriptionTerms,
+                Map<String, List<String>> facetValues) {
+            this.id = plant.getId();
+            this.commonName = plant.getCommonName();
+            this.scientificName = plant.getScientificName();
+            this.popularity = plant.getPopularity();
+            this.nameTerms = nameTerms;
+            this.descriptionTerms = descriptionTerms;
+            this.facetValues = facetValues;
+        }
+
+        private static Entry of(Plant plant) {
+            Set<String> names = new LinkedHashSet<>(Tokenizer.tokenize(plant.getCommonName()));
+            names.addAll(Tokenizer.tokenize(plant.getScientificName()));
+            Set<String> description = new LinkedHashSet<>(Tokenizer.tokenize(plant.getDescription()));
+            description.removeAll(names);
+
+            Map<String, List<String>> facetValues = new HashMap<>();
+            if (plant.getSunExposure() != null) {
+                facetValues.put(FACET_SUN, List.of(plant.getSunExposure().name()));
+            }
+            if (plant.getWaterNeed() != null) {
+                facetValues.put(FACET_WATER, List.of(plant.getWaterNeed().name()));
+            }
+            if (plant.getSeasons() != null && !plant.getSeasons().isEmpty()) {
+                facetValues.put(FACET_SEASON, enumNames(plant.getSeasons()));
+            }
+            int minZone = Math.max(MIN_ZONE, plant.getMinHardinessZone());
+            int maxZone = Math.min(MAX_ZONE, plant.getMaxHardinessZone());
+            if (minZone <= maxZone) {
+                List<String> zones = new ArrayList<>();
+                for (int zone = minZone; zone <= maxZone; zone++) {
+                    zones.add(String.valueOf(zone));
+                }
+                facetValues.put(FACET_ZONE, zones);
+            }
+            facetValues.put(FACET_EDIBLE, List.of(String.valueOf(plant.isEdible())));
+            return new Entry(plant, names, description, facetValues);
+        }
+    }
+}
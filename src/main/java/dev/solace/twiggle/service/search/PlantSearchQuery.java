@@ -0,0 +1,44 @@
+package dev.solace.twiggle.service.search;
+
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.Plant;
+import java.util.Set;
+import lombok.Builder;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+
+/**
+ * Free text plus facet filters for a plant search. Values within a facet are OR-ed; facets are AND-ed.
+ *
+ * @param text free text; every token must match a name or description term, the last one as a prefix
+ * @param zone USDA hardiness zone the plant must tolerate
+ * @param limit maximum number of hits returned
+ */
+@Builder
+public record PlantSearchQuery(
+        @Nullable String text,
+        @Nullable Set<Plant.SunExposure> sun,
+        @Nullable Set<Plant.WaterNeed> water,
+        @Nullable Set<Plant.Season> seasons,
+        @Nullable Integer zone,
+        @Nullable Boolean edible,
+        int limit) {
+
+    public static final int MAX_LIMIT = 100;
+
+    public PlantSearchQuery {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new CustomException(
+                    "Search limit must be between 1 and " + MAX_LIMIT,
+                    HttpStatus.BAD_REQUEST,
+                    ErrorCode.INVALID_ARGUMENT);
+        }
+        if (zone != null && (zone < PlantSearchIndex.MIN_ZONE || zone > PlantSearchIndex.MAX_ZONE)) {
+            throw new CustomException(
+                    "Hardiness zone must be between " + PlantSearchIndex.MIN_ZONE + " and " + PlantSearchIndex.MAX_ZONE,
+                    HttpStatus.BAD_REQUEST,
+                    ErrorCode.INVALID_ARGUMENT);
+        }
+    }
+}
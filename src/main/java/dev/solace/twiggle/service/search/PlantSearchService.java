@@ -0,0 +1,191 @@
+package dev.solace.twiggle.service.search;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import dev.solace.twiggle.config.SearchProperties;
+import dev.solace.twiggle.dto.PlantSearchResult;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.Plant;
+import dev.solace.twiggle.service.changestream.ChangeStreamWatcher;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves faceted plant searches from a {@link PlantSearchIndex} kept in sync with the {@code plants} collection.
+ *
+ * <p>The index is loaded from a snapshot read through the search route once the application is ready, then
+ * follows the collection's change stream. The stream starts a replay window before the snapshot's operation time
+ * so that writes the (possibly lagging) snapshot missed are applied; replayed events are harmless because every
+ * update is applied from the full current document.
+ *
+ * <p>If the stream falls so far behind that the oplog no longer holds its resume point, the events in between are
+ * gone; the index keeps serving while it is reloaded from a fresh snapshot and a new stream, as at startup.
+ */
+@Slf4j
+@Service
+public class PlantSearchService implements DisposableBean {
+
+    private final MongoTemplate mongoTemplate;
+    private final SearchProperties properties;
+    private final Timer loadTimer;
+    private final AtomicReference<PlantSearchIndex> index = new AtomicReference<>();
+
+    private volatile boolean running;
+    private volatile ChangeStreamWatcher watcher;
+    private Thread loader;
+
+    public PlantSearchService(
+            @Qualifier("searchMongoTemplate") MongoTemplate mongoTemplate,
+            SearchProperties properties,
+            MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+        this.loadTimer = Timer.builder("twiggle.search.index.load")
+                .description("Time taken to load the plant search index from Mongo")
+                .register(meterRegistry);
+        Gauge.builder("twiggle.search.index.documents", index, ref -> {
+                    PlantSearchIndex current = ref.get();
+                    return current != null ? current.size() : 0;
+                })
+                .description("Plants in the in-memory search index")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        // Loading must not hold up or fail startup; requests get 503 until the index is ready.
+        loader = Thread.ofPlatform().daemon().name("plant-search-loader").start(this::loadUntilReady);
+    }
+
+    public PlantSearchResult search(PlantSearchQuery query) {
+        PlantSearchIndex current = index.get();
+        if (current == null) {
+            throw new CustomException(
+                    "Plant search is warming up, please retry shortly",
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    ErrorCode.SERVICE_UNAVAILABLE);
+        }
+        return current.search(query);
+    }
+
+    public boolean isReady() {
+        return index.get() != null;
+    }
+
+    private void loadUntilReady() {
+        while (running) {
+            try {
+                load();
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("Loading the plant search index failed, retrying in {}", properties.getLoadRetryDelay(), ex);
+                try {
+                    Thread.sleep(properties.getLoadRetryDelay().toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void load() {
+        BsonTimestamp operationTime = currentOperationTime();
+        PlantSearchIndex loaded = loadTimer.record(() -> {
+            try (Stream<Plant> plants = mongoTemplate.stream(new Query(), Plant.class)) {
+                return PlantSearchIndex.build(plants::iterator);
+            }
+        });
+        index.set(loaded);
+        log.info("Plant search index loaded with {} plants", loaded.size());
+
+        if (properties.isChangeStreams() && running) {
+            BsonTimestamp startAt = null;
+            if (operationTime != null) {
+                long replaySeconds = properties.getReplayWindow().toSeconds();
+                startAt = new BsonTimestamp((int) Math.max(0, operationTime.getTime() - replaySeconds), 0);
+            }
+            ChangeStreamWatcher plantsWatcher = new ChangeStreamWatcher(
+                    Plant.COLLECTION, mongoTemplate.getCollection(Plant.COLLECTION), List.of(), this::apply);
+            plantsWatcher.onHistoryLost(() -> reload(plantsWatcher));
+            plantsWatcher.start(null, startAt);
+            watcher = plantsWatcher;
+        }
+    }
+
+    /**
+     * Replaces a watcher whose history is lost with a fresh load. Runs on a new loader thread, as the lost watcher's
+     * own thread is the one calling back and is stopped here.
+     */
+    private synchronized void reload(ChangeStreamWatcher lost) {
+        if (!running || watcher != lost) {
+            return;
+        }
+        lost.stop();
+        watcher = null;
+        loader = Thread.ofPlatform().daemon().name("plant-search-loader").start(this::loadUntilReady);
+    }
+
+    private BsonTimestamp currentOperationTime() {
+        Document ping = mongoTemplate.getDb().runCommand(new Document("ping", 1));
+        Object operationTime = ping.get("operationTime");
+        return operationTime instanceof BsonTimestamp timestamp ? timestamp : null;
+    }
+
+    void apply(ChangeStreamDocument<Document> event) {
+        PlantSearchIndex current = index.get();
+        if (current == null || event.getOperationType() == null) {
+            return;
+        }
+        switch (event.getOperationType()) {
+            case INSERT, UPDATE, REPLACE -> {
+                if (event.getFullDocument() != null) {
+                    current.upsert(mongoTemplate.getConverter().read(Plant.class, event.getFullDocument()));
+                } else {
+                    // Deleted again before the update lookup ran.
+                    current.remove(documentId(event));
+                }
+            }
+            case DELETE -> current.remove(documentId(event));
+            default -> log.warn("Ignoring {} event on the plants change stream", event.getOperationType());
+        }
+    }
+
+    private static String documentId(ChangeStreamDocument<Document> event) {
+        BsonValue id = event.getDocumentKey().get("_id");
+        return id.isObjectId()
+                ? id.asObjectId().getValue().toHexString()
+                : id.asString().getValue();
+    }
+
+    @Override
+    public synchronized void destroy() {
+        running = false;
+        if (loader != null) {
+            loader.interrupt();
+        }
+        if (watcher != null) {
+            watcher.stop();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package dev.solace.twiggle.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits plant names and descriptions into lower-case, accent-free alphanumeric tokens.
+ */
+public final class Tokenizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private Tokenizer() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> tokenize(String text) {
+        String normalized = normalize(text);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean alphanumeric = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (alphanumeric && start < 0) {
+                start = i;
+            } else if (!alphanumeric && start >= 0) {
+                if (i - start >= MIN_TOKEN_LENGTH) {
+                    tokens.add(normalized.substring(start, i));
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,95 @@
+package dev.solace.twiggle.service.sensor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer for many producers and a single consumer.
+ *
+ * <p>Producers reserve a run of slots for a whole batch with one compare-and-set on the producer sequence and then
+ * publish each element into its slot; a batch that does not fit is rejected as a whole. The consumer reads slots in
+ * sequence order and treats a non-null slot as published, so it never waits on a lock, only stops at the first slot
+ * whose producer has not finished writing yet. Consumed slots are cleared before the consumer sequence moves past
+ * them, which is what lets producers reuse them.
+ */
+public final class MpscRingBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final AtomicLong producerSequence = new AtomicLong();
+    private volatile long consumerSequence;
+
+    public MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 1 || requestedCapacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        int capacity = Integer.highestOneBit(requestedCapacity);
+        if (capacity < requestedCapacity) {
+            capacity <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Appends all {@code elements}, or none of them if they do not fit. Elements must not be {@code null}.
+     */
+    public boolean offerAll(List<? extends T> elements) {
+        int count = elements.size();
+        if (count == 0) {
+            return true;
+        }
+        long start;
+        do {
+            start = producerSequence.get();
+            if (start + count - consumerSequence > slots.length()) {
+                return false;
+            }
+        } while (!producerSequence.compareAndSet(start, start + count));
+
+        for (int i = 0; i < count; i++) {
+            slots.setRelease(index(start + i), elements.get(i));
+        }
+        return true;
+    }
+
+    /**
+     * Moves up to {@code max} published elements into {@code sink} in the order they were reserved, returning how
+     * many were moved. Must only be called from one thread at a time.
+     */
+    public int drainTo(Collection<? super T> sink, int max) {
+        long sequence = consumerSequence;
+        int drained = 0;
+        while (drained < max) {
+            int index = index(sequence);
+            T element = slots.getAcquire(index);
+            if (element == null) {
+                break;
+            }
+            slots.setPlain(index, null);
+            sink.add(element);
+            sequence++;
+            drained++;
+        }
+        if (drained > 0) {
+            // Volatile write: publishes the cleared slots before producers may claim them again.
+            consumerSequence = sequence;
+        }
+        return drained;
+    }
+
+    /** Number of reserved but not yet drained elements. */
+    public int size() {
+        return (int) Math.max(0, producerSequence.get() - consumerSequence);
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+}
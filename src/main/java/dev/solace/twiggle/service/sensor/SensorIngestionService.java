@@ -0,0 +1,502 @@
+package dev.solace.twiggle.service.sensor;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import dev.solace.twiggle.config.SensorProperties;
+import dev.solace.twiggle.dto.SensorReadingBatchRequest;
+import dev.solace.twiggle.dto.SensorReadingRequest;
+import dev.solace.twiggle.dto.SensorRollupPoint;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.sensor.RollupGranularity;
+import dev.solace.twiggle.model.sensor.SensorMetric;
+import dev.solace.twiggle.model.sensor.SensorReading;
+import dev.solace.twiggle.model.sensor.SensorRollup;
+import dev.solace.twiggle.persistence.ResilientMongoAccess;
+import dev.solace.twiggle.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+/**
+ * Accepts sensor readings into a {@link MpscRingBuffer} and group-commits them from a single writer thread.
+ *
+ * <p>Request threads only validate a batch and reserve room for it in the buffer, so ingestion never waits on the
+ * database; when the buffer is full the whole batch is rejected with {@code 503} and the sensor retries. The writer
+ * drains up to {@code flushBatchSize} readings at a time, lingering briefly after a partial drain so that commits
+ * stay large under moderate load. Each commit inserts the raw readings into the {@code sensor_readings} time-series
+ * collection and folds them into minute, hour and day {@link SensorRollup}s with one unordered bulk upsert.
+ *
+ * <p>A failed commit is retried with backoff, and nothing more is drained until it succeeds, so a database outage
+ * turns into backpressure on the endpoint rather than unbounded memory. Every commit carries a sequence number
+ * that the rollups remember per instance, which makes a retried rollup write a no-op for buckets it already reached.
+ * Raw readings of a commit that failed after reaching the server may be stored twice.
+ *
+ * <p>Readings are buffered with the tenant they were posted for; a drained batch is split into one commit per
+ * tenant, each written to that tenant's database.
+ */
+@Slf4j
+@Service
+public class SensorIngestionService implements DisposableBean {
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final MongoTemplate mongoTemplate;
+    private final ResilientMongoAccess mongoAccess;
+    private final SensorProperties properties;
+    private final MpscRingBuffer<BufferedReading> buffer;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Thread writer;
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter written;
+    private final Counter failedCommits;
+    private final Counter dropped;
+    private final Timer commitTimer;
+    private long commitSequence;
+    private final Set<String> collectionsEnsured = ConcurrentHashMap.newKeySet();
+    private volatile boolean running = true;
+
+    public SensorIngestionService(
+            MongoTemplate mongoTemplate,
+            ResilientMongoAccess mongoAccess,
+            SensorProperties properties,
+            MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.mongoAccess = mongoAccess;
+        this.properties = properties;
+        this.buffer = new MpscRingBuffer<>(properties.getBufferCapacity());
+        this.accepted = Counter.builder("twiggle.sensors.readings")
+                .description("Sensor readings offered to the ingestion buffer")
+                .tag("outcome", "accepted")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("twiggle.sensors.readings")
+                .description("Sensor readings offered to the ingestion buffer")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+        this.written = Counter.builder("twiggle.sensors.written")
+                .description("Sensor readings committed together with their rollups")
+                .register(meterRegistry);
+        this.failedCommits = Counter.builder("twiggle.sensors.commit.failures")
+                .description("Group commits that failed and were retried")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("twiggle.sensors.dropped")
+                .description("Buffered readings lost because they could not be committed before shutdown")
+                .register(meterRegistry);
+        this.commitTimer = Timer.builder("twiggle.sensors.commit")
+                .description("Time taken by one group commit of raw readings and rollups")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("twiggle.sensors.buffer.size", buffer, MpscRingBuffer::size)
+                .description("Sensor readings waiting to be committed")
+                .register(meterRegistry);
+        this.writer = Thread.ofPlatform().name("sensor-writer").daemon(true).unstarted(this::writeLoop);
+        writer.start();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureCollectionsOnStartup() {
+        try {
+            ensureCollections();
+        } catch (RuntimeException ex) {
+            // Retried before every commit until it succeeds.
+            log.warn("Could not ensure sensor collections at startup", ex);
+        }
+    }
+
+    /**
+     * Buffers {@code batch} for the writer, returning the number of readings accepted. Readings without a
+     * timestamp are stamped now.
+     */
+    public int accept(String gardenId, SensorReadingBatchRequest batch) {
+        Instant now = Instant.now();
+        Instant latest = now.plus(properties.getMaxClockSkew());
+        String tenant = TenantContext.current();
+        List<BufferedReading> readings = new ArrayList<>(batch.getReadings().size());
+        for (SensorReadingRequest request : batch.getReadings()) {
+            Instant timestamp = request.getTimestamp() != null ? request.getTimestamp() : now;
+            if (timestamp.isAfter(latest)) {
+                throw new CustomException(
+                        "Reading of sensor " + request.getSensorId() + " is timestamped in the future",
+                        HttpStatus.BAD_REQUEST,
+                        ErrorCode.INVALID_ARGUMENT);
+            }
+            if (!Double.isFinite(request.getValue())) {
+                throw new CustomException(
+                        "Reading of sensor " + request.getSensorId() + " is not a finite number",
+                        HttpStatus.BAD_REQUEST,
+                        ErrorCode.INVALID_ARGUMENT);
+            }
+            readings.add(new BufferedReading(
+                    tenant,
+                    SensorReading.builder()
+                            .timestamp(timestamp)
+                            .meta(new SensorReading.Meta(gardenId, request.getSensorId(), request.getMetric()))
+                            .value(request.getValue())
+                            .build()));
+        }
+        if (!buffer.offerAll(readings)) {
+            rejected.increment(readings.size());
+            throw new CustomException(
+                    "Sensor ingestion is saturated, please retry shortly",
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    ErrorCode.SERVICE_UNAVAILABLE);
+        }
+        accepted.increment(readings.size());
+        return readings.size();
+    }
+
+    /**
+     * Returns the rollups of one sensor and metric whose buckets start in {@code [from, to)}, oldest first. Without
+     * {@code from} the range covers as many buckets before {@code to} as a single query may return.
+     */
+    public List<SensorRollupPoint> getRollups(
+            String gardenId,
+            String sensorId,
+            SensorMetric metric,
+            RollupGranularity granularity,
+            Instant from,
+            Instant to) {
+        int limit = properties.getMaxRollupPoints();
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(granularity.duration().multipliedBy(limit));
+        if (!start.isBefore(end)) {
+            throw new CustomException("'from' must be before 'to'", HttpStatus.BAD_REQUEST, ErrorCode.INVALID_ARGUMENT);
+        }
+        Query query = query(where("gardenId")
+                        .is(gardenId)
+                        .and("sensorId")
+                        .is(sensorId)
+                        .and("metric")
+                        .is(metric)
+                        .and("granularity")
+                        .is(granularity)
+                        .and("bucketStart")
+                        .gte(start)
+                        .lt(end))
+                .with(Sort.by(Sort.Direction.ASC, "bucketStart"))
+                .limit(limit);
+        query.fields().include("bucketStart", "count", "sum", "min", "max");
+        // Keyed on the bounds as requested, so that a window ending now is served as last read rather than missed.
+        String key = String.join(
+                "/",
+                gardenId,
+                sensorId,
+                metric.name(),
+                granularity.name(),
+                from != null ? from.toString() : "latest",
+                to != null ? to.toString() : "now");
+        List<SensorRollup> rollups =
+                mongoAccess.read(SensorRollup.COLLECTION, key, () -> mongoTemplate.find(query, SensorRollup.class));
+        return rollups.stream()
+                .map(rollup -> SensorRollupPoint.builder()
+                        .bucketStart(rollup.getBucketStart())
+                        .count(rollup.getCount())
+                        .min(rollup.getMin())
+                        .max(rollup.getMax())
+                        .avg(rollup.getCount() == 0 ? 0 : rollup.getSum() / rollup.getCount())
+                        .build())
+                .toList();
+    }
+
+    /** Readings accepted but not yet committed. */
+    public int backlog() {
+        return buffer.size();
+    }
+
+    private void writeLoop() {
+        int batchSize = properties.getFlushBatchSize();
+        long lingerNanos = properties.getLinger().toNanos();
+        List<BufferedReading> batch = new ArrayList<>(batchSize);
+        Deque<PendingCommit> pending = new ArrayDeque<>();
+        long backoffMillis = 0;
+        while (running) {
+            if (pending.isEmpty()) {
+                buffer.drainTo(batch, batchSize);
+                if (batch.size() < batchSize) {
+                    // Give other producers a moment to fill the commit up.
+                    LockSupport.parkNanos(lingerNanos);
+                    buffer.drainTo(batch, batchSize - batch.size());
+                }
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                pending.addAll(commitsOf(batch));
+                batch.clear();
+            }
+            try {
+                commit(pending.peek());
+                pending.poll();
+                backoffMillis = 0;
+            } catch (RuntimeException ex) {
+                failedCommits.increment();
+                backoffMillis = backoffMillis == 0
+                        ? properties.getInitialBackoff().toMillis()
+                        : Math.min(backoffMillis * 2, properties.getMaxBackoff().toMillis());
+                log.warn(
+                        "Committing {} sensor readings failed, retrying in {} ms",
+                        pending.peek().readings().size(),
+                        backoffMillis,
+                        ex);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(backoffMillis));
+            }
+        }
+        flushOnShutdown(pending, batch);
+    }
+
+    private void flushOnShutdown(Deque<PendingCommit> pending, List<BufferedReading> batch) {
+        try {
+            while (!pending.isEmpty()) {
+                commit(pending.peek());
+                pending.poll();
+            }
+            while (buffer.drainTo(batch, properties.getFlushBatchSize()) > 0) {
+                pending.addAll(commitsOf(batch));
+                batch.clear();
+                while (!pending.isEmpty()) {
+                    commit(pending.peek());
+                    pending.poll();
+                }
+            }
+        } catch (RuntimeException ex) {
+            int lost = pending.stream()
+                            .mapToInt(commit -> commit.readings().size())
+                            .sum()
+                    + batch.size()
+                    + buffer.size();
+            dropped.increment(lost);
+            log.error("Dropping {} sensor readings that could not be committed before shutdown", lost, ex);
+        }
+    }
+
+    /**
+     * Splits drained readings into one commit per tenant, keeping their order within each tenant.
+     */
+    private List<PendingCommit> commitsOf(List<BufferedReading> batch) {
+        Map<String, List<SensorReading>> byTenant = new LinkedHashMap<>();
+        for (BufferedReading buffered : batch) {
+            byTenant.computeIfAbsent(buffered.tenant(), key -> new ArrayList<>())
+                    .add(buffered.reading());
+        }
+        List<PendingCommit> commits = new ArrayList<>(byTenant.size());
+        byTenant.forEach((tenant, readings) -> commits.add(new PendingCommit(tenant, readings, ++commitSequence)));
+        return commits;
+    }
+
+    void commit(PendingCommit commit) {
+        long start = System.nanoTime();
+        TenantContext.runAs(commit.tenant(), () -> {
+            ensureCollections();
+            if (!commit.rawWritten) {
+                mongoTemplate.insert(commit.readings(), SensorReading.COLLECTION);
+                commit.rawWritten = true;
+            }
+            writeRollups(commit);
+        });
+        written.increment(commit.readings().size());
+        commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void writeRollups(PendingCommit commit) {
+        Map<String, Bucket> buckets = new HashMap<>();
+        for (SensorReading reading : commit.readings()) {
+            SensorReading.Meta meta = reading.getMeta();
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                Instant bucketStart = granularity.bucketStart(reading.getTimestamp());
+                String id = SensorRollup.idOf(
+                        meta.getGardenId(), meta.getSensorId(), meta.getMetric(), granularity, bucketStart);
+                buckets.computeIfAbsent(id, key -> new Bucket(meta, granularity, bucketStart))
+                        .add(reading.getValue());
+            }
+        }
+
+        List<String> ids = new ArrayList<>(buckets.keySet());
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SensorRollup.class);
+        for (String id : ids) {
+            operations.upsert(unapplied(id, commit.sequence()), rollupUpdate(buckets.get(id), commit.sequence()));
+        }
+        try {
+            operations.execute();
+        } catch (BulkOperationException ex) {
+            for (var error : ex.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw ex;
+                }
+                // Either this commit already reached the bucket, or another instance created it concurrently.
+                String id = ids.get(error.getIndex());
+                try {
+                    mongoTemplate.upsert(
+                            unapplied(id, commit.sequence()),
+                            rollupUpdate(buckets.get(id), commit.sequence()),
+                            SensorRollup.class);
+                } catch (DuplicateKeyException alreadyApplied) {
+                    log.trace("Sensor commit {} already reached rollup {}", commit.sequence(), id);
+                }
+            }
+        }
+    }
+
+    private Query unapplied(String id, long sequence) {
+        return query(where("_id").is(id).and(flushField()).not().gte(sequence));
+    }
+
+    private Update rollupUpdate(Bucket bucket, long sequence) {
+        Update update = new Update()
+                .inc("count", bucket.count)
+                .inc("sum", bucket.sum)
+                .min("min", bucket.min)
+                .max("max", bucket.max)
+                .max(flushField(), sequence)
+                .setOnInsert("gardenId", bucket.meta.getGardenId())
+                .setOnInsert("sensorId", bucket.meta.getSensorId())
+                .setOnInsert("metric", bucket.meta.getMetric())
+                .setOnInsert("granularity", bucket.granularity)
+                .setOnInsert("bucketStart", bucket.start);
+        Duration retention = retention(bucket.granularity);
+        if (retention != null) {
+            update.setOnInsert("expiresAt", bucket.start.plus(retention));
+        }
+        return update;
+    }
+
+    private String flushField() {
+        return "flushes." + instanceId;
+    }
+
+    private Duration retention(RollupGranularity granularity) {
+        return switch (granularity) {
+            case MINUTE -> properties.getMinuteRetention();
+            case HOUR -> properties.getHourRetention();
+            case DAY -> null;
+        };
+    }
+
+    private void ensureCollections() {
+        String tenant = TenantContext.current();
+        if (collectionsEnsured.contains(tenant)) {
+            return;
+        }
+        if (!mongoTemplate.collectionExists(SensorReading.class)) {
+            try {
+                mongoTemplate.createCollection(
+                        SensorReading.class,
+                        CollectionOptions.timeSeries(
+                                SensorReading.TIME_FIELD, options -> options.metaField(SensorReading.META_FIELD)
+                                        .granularity(Granularity.SECONDS)
+                                        .expireAfter(properties.getRawRetention())));
+            } catch (DataAccessException ex) {
+                // Another instance may have created it first.
+                if (!mongoTemplate.collectionExists(SensorReading.class)) {
+                    throw ex;
+                }
+            }
+        }
+        mongoTemplate
+                .indexOps(SensorRollup.class)
+                .ensureIndex(new Index()
+                        .on("gardenId", Sort.Direction.ASC)
+                        .on("sensorId", Sort.Direction.ASC)
+                        .on("metric", Sort.Direction.ASC)
+                        .on("granularity", Sort.Direction.ASC)
+                        .on("bucketStart", Sort.Direction.ASC)
+                        .named("sensor_bucket"));
+        mongoTemplate
+                .indexOps(SensorRollup.class)
+                .ensureIndex(new Index()
+                        .on("expiresAt", Sort.Direction.ASC)
+                        .expire(Duration.ZERO)
+                        .named("expiresAt_ttl"));
+        collectionsEnsured.add(tenant);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(SHUTDOWN_TIMEOUT.toMillis());
+    }
+
+    private record BufferedReading(String tenant, SensorReading reading) {}
+
+    static final class PendingCommit {
+        private final String tenant;
+        private final List<SensorReading> readings;
+        private final long sequence;
+        private boolean rawWritten;
+
+        PendingCommit(String tenant, List<SensorReading> readings, long sequence) {
+            this.tenant = tenant;
+            this.readings = readings;
+            this.sequence = sequence;
+        }
+
+        String tenant() {
+            return tenant;
+        }
+
+        List<SensorReading> readings() {
+            return readings;
+        }
+
+        long sequence() {
+            return sequence;
+        }
+    }
+
+    private static final class Bucket {
+        private final SensorReading.Meta meta;
+        private final RollupGranularity granularity;
+        private final Instant start;
+        private long count;
+        private double sum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        Bucket(SensorReading.Meta meta, RollupGranularity granularity, Instant start) {
+            this.meta = meta;
+            this.granularity = granularity;
+            this.start = start;
+        }
+
+        void add(double value) {
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package dev.solace.twiggle.service.stats;
+
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Actuator endpoint reporting the refresh lag of the garden statistics and queueing rebuilds, of one garden when a
+ * {@code gardenId} is posted and of every garden otherwise, limited to one tenant when a {@code tenant} is posted.
+ */
+@Endpoint(id = "gardenstats")
+@RequiredArgsConstructor
+public class GardenStatsEndpoint {
+
+    private final GardenStatsService gardenStatsService;
+
+    @ReadOperation
+    public GardenStatsService.Status status() {
+        return gardenStatsService.status();
+    }
+
+    @WriteOperation
+    public Map<String, Integer> rebuild(@Nullable String tenant, @Nullable String gardenId) {
+        return Map.of("queued", gardenStatsService.rebuild(tenant, gardenId));
+    }
+}
@@ -0,0 +1,594 @@
+package dev.solace.twiggle.service.stats;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import dev.solace.twiggle.config.GardenStatsProperties;
+import dev.solace.twiggle.dto.GardenStatsView;
+import dev.solace.twiggle.dto.LayoutView;
+import dev.solace.twiggle.model.CareReminder;
+import dev.solace.twiggle.model.ReminderType;
+import dev.solace.twiggle.model.layout.LayoutEdit;
+import dev.solace.twiggle.model.layout.LayoutSnapshot;
+import dev.solace.twiggle.model.layout.Placement;
+import dev.solace.twiggle.model.stats.GardenStats;
+import dev.solace.twiggle.model.stats.StatsCheckpoint;
+import dev.solace.twiggle.persistence.ResilientMongoAccess;
+import dev.solace.twiggle.service.changestream.ChangeStreamWatcher;
+import dev.solace.twiggle.service.layout.LayoutEditService;
+import dev.solace.twiggle.tenant.TenantContext;
+import dev.solace.twiggle.tenant.TenantDirectory;
+import dev.solace.twiggle.tenant.TenantKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps one {@link GardenStats} document per garden up to date, so dashboards read their statistics with a single
+ * key lookup instead of aggregating layouts and reminders on every page load.
+ *
+ * <p>The change streams of the layout edit log and of the reminders only record which gardens were touched. Every
+ * {@code refreshInterval} the touched gardens are recomputed from their own, indexed source rows and written back
+ * unless a later computation already landed. Recomputing rather than applying per-event deltas makes every update
+ * idempotent: replayed events, duplicate refreshes on several instances and backfills all converge on the same
+ * document. A layout removal, for one, does not say which plant it removed.
+ *
+ * <p>The resume token of each stream is saved once every change before it has been refreshed, and streams resume
+ * from it after a restart. Without a saved token, or when the oplog no longer reaches back to it, every garden is
+ * rebuilt; {@link #rebuild} does the same on demand. Deleted reminders do not name their garden and are picked up
+ * by the daily sweep that also rolls the upcoming-task window forward.
+ *
+ * <p>Each tenant database has its own streams and checkpoints. Tenants placed later are picked up by the next
+ * refresh round, and a tenant that has moved to another cluster is followed there with a fresh backfill, since
+ * resume tokens do not carry over between clusters.
+ */
+@Slf4j
+@Service
+public class GardenStatsService implements DisposableBean {
+
+    static final List<String> SOURCES = List.of(LayoutEdit.COLLECTION, CareReminder.COLLECTION);
+
+    private static final List<Bson> PIPELINE =
+            List.of(Aggregates.match(Filters.in("operationType", "insert", "update", "replace")));
+    private static final Duration START_RETRY_DELAY = Duration.ofSeconds(30);
+
+    private final MongoTemplate mongoTemplate;
+    private final ResilientMongoAccess mongoAccess;
+    private final LayoutEditService layoutEditService;
+    private final GardenStatsProperties properties;
+    private final TenantDirectory tenantDirectory;
+    private final Map<TenantKey, Instant> pending = new ConcurrentHashMap<>();
+    private final Map<String, TenantStreams> streams = new ConcurrentHashMap<>();
+    private final Map<String, Long> streamRetryAt = new ConcurrentHashMap<>();
+    private final Map<TenantKey, StatsCheckpoint> startPoints = new ConcurrentHashMap<>();
+    private final Map<TenantKey, StatsCheckpoint> savedCheckpoints = new HashMap<>();
+    private final ScheduledExecutorService refresher;
+    private final Timer refreshTimer;
+    private final Counter refreshFailures;
+    private volatile boolean indexesEnsured;
+    private volatile boolean running;
+
+    public GardenStatsService(
+            MongoTemplate mongoTemplate,
+            ResilientMongoAccess mongoAccess,
+            LayoutEditService layoutEditService,
+            GardenStatsProperties properties,
+            TenantDirectory tenantDirectory,
+            MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.mongoAccess = mongoAccess;
+        this.layoutEditService = layoutEditService;
+        this.properties = properties;
+        this.tenantDirectory = tenantDirectory;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("garden-stats-");
+        threadFactory.setDaemon(true);
+        this.refresher = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        this.refreshTimer = Timer.builder("twiggle.stats.refresh")
+                .description("Time taken to recompute the statistics of one garden")
+                .register(meterRegistry);
+        this.refreshFailures = Counter.builder("twiggle.stats.refresh.failures")
+                .description("Garden statistics refreshes that failed and were retried")
+                .register(meterRegistry);
+        Gauge.builder("twiggle.stats.pending", pending, Map::size)
+                .description("Gardens whose statistics are waiting to be refreshed")
+                .register(meterRegistry);
+        Gauge.builder("twiggle.stats.lag", this, GardenStatsService::lagSeconds)
+                .description("Age in seconds of the oldest change not yet reflected in garden statistics")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        refresher.execute(this::startStreams);
+    }
+
+    /**
+     * Returns the statistics of {@code gardenId} as last refreshed, with empty statistics for an unknown garden.
+     */
+    public GardenStatsView getStats(String gardenId) {
+        GardenStats stats = mongoAccess.read(
+                GardenStats.COLLECTION, gardenId, () -> mongoTemplate.findById(gardenId, GardenStats.class));
+        return view(gardenId, stats, Instant.now());
+    }
+
+    /**
+     * Queues {@code gardenId} of the current tenant, or every garden of it when {@code gardenId} is {@code null},
+     * for recomputation from scratch and returns the number of gardens queued.
+     */
+    public int rebuild(String gardenId) {
+        return rebuild(TenantContext.current(), gardenId);
+    }
+
+    /**
+     * Queues {@code gardenId} of {@code tenant} for recomputation from scratch, or every garden of the tenant when
+     * {@code gardenId} is {@code null}, or every garden of every tenant when both are. Returns the number of gardens
+     * queued; nothing is queued on an instance that does not refresh statistics.
+     */
+    public int rebuild(String tenant, String gardenId) {
+        if (!running) {
+            return 0;
+        }
+        if (gardenId != null) {
+            markPending(new TenantKey(tenant != null ? tenant : TenantContext.HOME, gardenId), Instant.now());
+            return 1;
+        }
+        if (tenant != null) {
+            return rebuildAll(tenant);
+        }
+        return streams.keySet().stream().mapToInt(this::rebuildAll).sum();
+    }
+
+    public Status status() {
+        Map<String, Instant> lastEvents = new TreeMap<>();
+        streams.forEach((tenant, followed) -> followed.watchers().forEach((source, watcher) -> {
+            BsonTimestamp time = watcher.getLastEventTime();
+            if (time != null) {
+                lastEvents.put(new TenantKey(tenant, source).toString(), Instant.ofEpochSecond(time.getTime()));
+            }
+        }));
+        return new Status(running, pending.size(), lagSeconds(), lastEvents);
+    }
+
+    private void startStreams() {
+        if (!running) {
+            return;
+        }
+        try {
+            ensureIndexes();
+            followTenants();
+            long refreshMillis = properties.getRefreshInterval().toMillis();
+            refresher.scheduleWithFixedDelay(this::refreshRound, 0, refreshMillis, TimeUnit.MILLISECONDS);
+            long sweepMillis = properties.getStaleSweepInterval().toMillis();
+            refresher.scheduleWithFixedDelay(this::sweepStale, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException ex) {
+            log.warn("Starting the garden statistics streams failed, retrying in {}", START_RETRY_DELAY, ex);
+            streams.values().forEach(TenantStreams::stop);
+            streams.clear();
+            refresher.schedule(this::startStreams, START_RETRY_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Starts the streams of tenants not followed yet and restarts those of tenants that have moved. A tenant whose
+     * streams cannot be started is retried after {@link #START_RETRY_DELAY}.
+     */
+    private void followTenants() {
+        long now = System.nanoTime();
+        for (String tenant : tenantDirectory.tenants()) {
+            Long retryAt = streamRetryAt.get(tenant);
+            if (retryAt != null && now - retryAt < 0) {
+                continue;
+            }
+            try {
+                String cluster = tenantDirectory.clusterOf(tenant);
+                TenantStreams current = streams.get(tenant);
+                if (current != null && Objects.equals(current.cluster(), cluster)) {
+                    continue;
+                }
+                if (current != null) {
+                    log.info("Tenant {} moved to cluster {}, following its statistics sources there", tenant, cluster);
+                    current.stop();
+                    streams.remove(tenant);
+                }
+                boolean moved = current != null;
+                TenantContext.runAs(tenant, () -> streams.put(tenant, openStreams(tenant, cluster, moved)));
+                streamRetryAt.remove(tenant);
+            } catch (RuntimeException ex) {
+                log.warn(
+                        "Starting the garden statistics streams of tenant {} failed, retrying in {}",
+                        tenant,
+                        START_RETRY_DELAY,
+                        ex);
+                streamRetryAt.put(tenant, now + START_RETRY_DELAY.toNanos());
+            }
+        }
+    }
+
+    /**
+     * Starts the streams of the current tenant from its checkpoints, or from now with a backfill when it has none
+     * or has just moved, as checkpoints from another cluster cannot be resumed from.
+     */
+    private TenantStreams openStreams(String tenant, String cluster, boolean moved) {
+        BsonTimestamp now = currentOperationTime();
+        boolean backfill = false;
+        Map<String, ChangeStreamWatcher> watchers = new HashMap<>();
+        try {
+            for (String source : SOURCES) {
+                TenantKey key = new TenantKey(tenant, source);
+                StatsCheckpoint checkpoint = moved ? null : mongoTemplate.findById(source, StatsCheckpoint.class);
+                ChangeStreamWatcher watcher = new ChangeStreamWatcher(
+                        "stats-" + key,
+                        mongoTemplate.getCollection(source),
+                        PIPELINE,
+                        event -> onChange(tenant, event));
+                watcher.onHistoryLost(() -> restartedFromNow(key));
+                if (checkpoint != null && checkpoint.getResumeToken() != null) {
+                    watcher.start(BsonDocument.parse(checkpoint.getResumeToken()), null);
+                } else if (checkpoint != null && checkpoint.getStartAt() != null) {
+                    watcher.start(
+                            null,
+                            new BsonTimestamp((int) checkpoint.getStartAt().getEpochSecond(), 0));
+                } else {
+                    watcher.start(null, now);
+                    // Only saved by a refresh round, so an interrupted backfill is started over.
+                    checkpoint = null;
+                    savedCheckpoints.remove(key);
+                    startPoints.put(key, startPoint(source, null, Instant.ofEpochSecond(now.getTime())));
+                    backfill = true;
+                }
+                if (checkpoint != null) {
+                    startPoints.put(key, startPoint(source, checkpoint.getResumeToken(), checkpoint.getStartAt()));
+                    savedCheckpoints.put(key, checkpoint);
+                }
+                watchers.put(source, watcher);
+            }
+        } catch (RuntimeException ex) {
+            watchers.values().forEach(ChangeStreamWatcher::stop);
+            throw ex;
+        }
+        if (backfill) {
+            log.info("Queued {} gardens of tenant {} for a statistics backfill", rebuildAll(tenant), tenant);
+        }
+        return new TenantStreams(cluster, watchers);
+    }
+
+    private void restartedFromNow(TenantKey source) {
+        Instant restartedAt = Instant.now();
+        log.info(
+                "Queued {} gardens for a statistics rebuild after {} lost its history",
+                rebuildAll(source.tenant()),
+                source);
+        startPoints.put(source, startPoint(source.id(), null, restartedAt));
+    }
+
+    private void onChange(String tenant, ChangeStreamDocument<Document> event) {
+        Document document = event.getFullDocument();
+        // Without a full document the source was deleted again before the lookup; its delete is not followed.
+        if (document != null && document.get("gardenId") instanceof String gardenId) {
+            BsonTimestamp clusterTime = event.getClusterTime();
+            markPending(
+                    new TenantKey(tenant, gardenId),
+                    clusterTime != null ? Instant.ofEpochSecond(clusterTime.getTime()) : Instant.now());
+        }
+    }
+
+    private void markPending(TenantKey garden, Instant changedAt) {
+        pending.merge(garden, changedAt, (earlier, later) -> earlier.isBefore(later) ? earlier : later);
+    }
+
+    /**
+     * Refreshes every pending garden, then saves where each stream stood when the round started, since all changes
+     * up to there are now reflected.
+     */
+    void refreshRound() {
+        followTenants();
+        Map<TenantKey, StatsCheckpoint> reached = new HashMap<>();
+        streams.forEach((tenant, followed) -> followed.watchers().forEach((source, watcher) -> {
+            TenantKey key = new TenantKey(tenant, source);
+            StatsCheckpoint start = startPoints.get(key);
+            BsonDocument token = watcher.getResumeToken();
+            reached.put(
+                    key,
+                    token != null
+                            ? startPoint(source, token.toJson(), start != null ? start.getStartAt() : null)
+                            : start);
+        }));
+        // A tenant whose refresh fails is left for the next round without holding up the others.
+        Set<String> failedTenants = new HashSet<>();
+        for (TenantKey garden : List.copyOf(pending.keySet())) {
+            if (!running) {
+                return;
+            }
+            if (failedTenants.contains(garden.tenant())) {
+                continue;
+            }
+            Instant changedAt = pending.remove(garden);
+            if (changedAt == null) {
+                continue;
+            }
+            try {
+                refreshTimer.record(() -> TenantContext.runAs(garden.tenant(), () -> refresh(garden.id())));
+            } catch (RuntimeException ex) {
+                markPending(garden, changedAt);
+                refreshFailures.increment();
+                failedTenants.add(garden.tenant());
+                log.warn("Refreshing statistics of garden {} failed, retrying next round", garden, ex);
+            }
+        }
+        reached.keySet().removeIf(key -> failedTenants.contains(key.tenant()));
+        saveCheckpoints(reached);
+    }
+
+    /**
+     * Recomputes the statistics of {@code gardenId} from its layout and reminders and stores them, unless
+     * statistics computed later are already stored.
+     */
+    GardenStats refresh(String gardenId) {
+        Instant computedAt = Instant.now();
+        LayoutView layout = layoutEditService.readLayout(gardenId);
+        Map<String, Integer> plantCounts = new TreeMap<>();
+        for (Placement placement : layout.getPlacements()) {
+            plantCounts.merge(placement.getPlantId(), 1, Integer::sum);
+        }
+        List<GardenStats.PlantCount> plants = new ArrayList<>(plantCounts.size());
+        plantCounts.forEach((plantId, count) -> plants.add(new GardenStats.PlantCount(plantId, count)));
+
+        LocalDate today = LocalDate.ofInstant(computedAt, ZoneOffset.UTC);
+        Query reminders = query(where("gardenId")
+                .is(gardenId)
+                .and("dueAt")
+                .gte(startOfDay(weekStart(today)))
+                .lt(startOfDay(today.plusDays(upcomingDays()))));
+        reminders.fields().include("type", "dueAt");
+        Map<String, Map<String, Integer>> tasksByDay = new TreeMap<>();
+        for (CareReminder reminder : mongoTemplate.find(reminders, CareReminder.class)) {
+            String day =
+                    LocalDate.ofInstant(reminder.getDueAt(), ZoneOffset.UTC).toString();
+            tasksByDay
+                    .computeIfAbsent(day, key -> new TreeMap<>())
+                    .merge(reminder.getType().name(), 1, Integer::sum);
+        }
+
+        GardenStats stats = GardenStats.builder()
+                .gardenId(gardenId)
+                .layoutVersion(layout.getVersion())
+                .placements(layout.getPlacements().size())
+                .plants(plants)
+                .tasksByDay(tasksByDay)
+                .computedAt(computedAt)
+                .build();
+        try {
+            mongoTemplate.upsert(
+                    query(where("_id").is(gardenId).and("computedAt").not().gte(computedAt)),
+                    new Update()
+                            .set("layoutVersion", stats.getLayoutVersion())
+                            .set("placements", stats.getPlacements())
+                            .set("plants", stats.getPlants())
+                            .set("tasksByDay", stats.getTasksByDay())
+                            .set("computedAt", computedAt),
+                    GardenStats.class);
+        } catch (DuplicateKeyException ex) {
+            log.debug("Statistics of garden {} were already refreshed after {}", gardenId, computedAt);
+        }
+        return stats;
+    }
+
+    private int rebuildAll(String tenant) {
+        return TenantContext.callAs(tenant, () -> rebuildAll(tenant, Instant.now()));
+    }
+
+    private int rebuildAll(String tenant, Instant now) {
+        Set<String> gardens = new LinkedHashSet<>();
+        gardens.addAll(mongoTemplate.findDistinct(new Query(), "_id", LayoutSnapshot.COLLECTION, String.class));
+        for (String source : SOURCES) {
+            gardens.addAll(
+                    mongoTemplate.findDistinct(query(where("gardenId").ne(null)), "gardenId", source, String.class));
+        }
+        // Gardens whose sources are gone entirely are rebuilt to empty statistics.
+        gardens.addAll(mongoTemplate.findDistinct(new Query(), "_id", GardenStats.COLLECTION, String.class));
+        gardens.forEach(gardenId -> markPending(new TenantKey(tenant, gardenId), now));
+        return gardens.size();
+    }
+
+    private void sweepStale() {
+        Instant startOfToday = startOfDay(LocalDate.now(ZoneOffset.UTC));
+        for (String tenant : streams.keySet()) {
+            try {
+                List<GardenStats> gardens = TenantContext.callAs(tenant, () -> {
+                    Query stale = query(where("computedAt").lt(startOfToday));
+                    stale.fields().include("_id");
+                    return mongoTemplate.find(stale, GardenStats.class);
+                });
+                Instant now = Instant.now();
+                gardens.forEach(stats -> markPending(new TenantKey(tenant, stats.getGardenId()), now));
+                if (!gardens.isEmpty()) {
+                    log.debug(
+                            "Queued {} gardens of tenant {} with statistics from before today", gardens.size(), tenant);
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Sweeping stale garden statistics of tenant {} failed", tenant, ex);
+            }
+        }
+    }
+
+    private void saveCheckpoints(Map<TenantKey, StatsCheckpoint> reached) {
+        reached.forEach((key, checkpoint) -> {
+            if (checkpoint == null) {
+                return;
+            }
+            StatsCheckpoint saved = savedCheckpoints.get(key);
+            if (saved != null
+                    && Objects.equals(saved.getResumeToken(), checkpoint.getResumeToken())
+                    && Objects.equals(saved.getStartAt(), checkpoint.getStartAt())) {
+                return;
+            }
+            try {
+                checkpoint.setUpdatedAt(Instant.now());
+                TenantContext.runAs(key.tenant(), () -> mongoTemplate.save(checkpoint));
+                savedCheckpoints.put(key, checkpoint);
+            } catch (RuntimeException ex) {
+                log.warn("Saving garden statistics checkpoint {} failed", key, ex);
+            }
+        });
+    }
+
+    private static StatsCheckpoint startPoint(String source, String resumeToken, Instant startAt) {
+        return StatsCheckpoint.builder()
+                .id(source)
+                .resumeToken(resumeToken)
+                .startAt(startAt)
+                .build();
+    }
+
+    private GardenStatsView view(String gardenId, GardenStats stats, Instant now) {
+        if (stats == null) {
+            return GardenStatsView.builder()
+                    .gardenId(gardenId)
+                    .plants(List.of())
+                    .upcomingTasksByType(Map.of())
+                    .build();
+        }
+        LocalDate today = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        String upcomingEnd = today.plusDays(upcomingDays()).toString();
+        String weekStart = weekStart(today).toString();
+        String weekEnd = weekStart(today).plusWeeks(1).toString();
+        Map<String, Integer> upcomingByType = new TreeMap<>();
+        int waterings = 0;
+        Map<String, Map<String, Integer>> tasksByDay = stats.getTasksByDay() != null ? stats.getTasksByDay() : Map.of();
+        for (Map.Entry<String, Map<String, Integer>> day : tasksByDay.entrySet()) {
+            // ISO dates compare chronologically as strings.
+            String date = day.getKey();
+            if (date.compareTo(today.toString()) >= 0 && date.compareTo(upcomingEnd) < 0) {
+                day.getValue().forEach((type, count) -> upcomingByType.merge(type, count, Integer::sum));
+            }
+            if (date.compareTo(weekStart) >= 0 && date.compareTo(weekEnd) < 0) {
+                waterings += day.getValue().getOrDefault(ReminderType.WATER.name(), 0);
+            }
+        }
+        return GardenStatsView.builder()
+                .gardenId(gardenId)
+                .layoutVersion(stats.getLayoutVersion())
+                .placements(stats.getPlacements())
+                .plants(stats.getPlants() != null ? stats.getPlants() : List.of())
+                .upcomingTasks(upcomingByType.values().stream()
+                        .mapToInt(Integer::intValue)
+                        .sum())
+                .upcomingTasksByType(upcomingByType)
+                .wateringsThisWeek(waterings)
+                .asOf(stats.getComputedAt())
+                .build();
+    }
+
+    private double lagSeconds() {
+        Instant oldest = null;
+        for (Instant changedAt : pending.values()) {
+            if (oldest == null || changedAt.isBefore(oldest)) {
+                oldest = changedAt;
+            }
+        }
+        return oldest == null
+                ? 0
+                : Math.max(0, Duration.between(oldest, Instant.now()).toMillis() / 1000.0);
+    }
+
+    private long upcomingDays() {
+        return Math.max(1, properties.getUpcomingWindow().toDays());
+    }
+
+    private static LocalDate weekStart(LocalDate day) {
+        return day.with(DayOfWeek.MONDAY);
+    }
+
+    private static Instant startOfDay(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private BsonTimestamp currentOperationTime() {
+        Document ping = mongoTemplate.getDb().runCommand(new Document("ping", 1));
+        Object operationTime = ping.get("operationTime");
+        return operationTime instanceof BsonTimestamp timestamp
+                ? timestamp
+                : new BsonTimestamp((int) Instant.now().getEpochSecond(), 0);
+    }
+
+    private void ensureIndexes() {
+        if (indexesEnsured) {
+            return;
+        }
+        mongoTemplate
+                .indexOps(CareReminder.class)
+                .ensureIndex(new Index()
+                        .on("gardenId", Sort.Direction.ASC)
+                        .on("dueAt", Sort.Direction.ASC)
+                        .named("gardenId_dueAt"));
+        mongoTemplate
+                .indexOps(GardenStats.class)
+                .ensureIndex(new Index().on("computedAt", Sort.Direction.ASC).named("computedAt"));
+        indexesEnsured = true;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        running = false;
+        streams.values().forEach(TenantStreams::stop);
+        refresher.shutdownNow();
+    }
+
+    /**
+     * The change streams of one tenant's database and the cluster they were opened on.
+     */
+    private record TenantStreams(String cluster, Map<String, ChangeStreamWatcher> watchers) {
+        void stop() {
+            watchers.values().forEach(ChangeStreamWatcher::stop);
+        }
+    }
+
+    /**
+     * Progress of the statistics refresh on this instance.
+     */
+    public record Status(
+            boolean following, int pendingGardens, double lagSeconds, Map<String, Instant> lastEventTimes) {}
+}
@@ -0,0 +1,230 @@
+package dev.solace.twiggle.service.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.solace.twiggle.config.WarmUpProperties;
+import dev.solace.twiggle.dto.ApiResponse;
+import dev.solace.twiggle.dto.CursorPage;
+import dev.solace.twiggle.dto.PagedApiResponse;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.exception.GlobalExceptionHandler;
+import dev.solace.twiggle.model.Plant;
+import dev.solace.twiggle.repository.catalog.PlantRepository;
+import dev.solace.twiggle.util.ResponseUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.core.Ordered;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Runs synthetic traffic through the request hot paths at startup so the JIT has compiled them before the instance
+ * takes real traffic: building responses with {@link ResponseUtil}, serializing {@link ApiResponse},
+ * {@link PagedApiResponse} and error bodies with the application's {@link ObjectMapper}, handling exceptions in
+ * {@link GlobalExceptionHandler} and reading the plant catalog through {@link PlantRepository}.
+ *
+ * <p>Runners complete before the application is ready, so the readiness probe refuses traffic for the whole
+ * warm-up. It stops after the configured iterations or {@code maxDuration}, whichever comes first, and the
+ * repository exercise is dropped at the first database failure: a missing database must delay readiness no more
+ * than it would otherwise. Exception handling logs every error it handles, so its logger is silenced meanwhile.
+ * The time taken is recorded as {@code twiggle.warmup.duration} and the iterations run as
+ * {@code twiggle.warmup.iterations} by exercise.
+ */
+@Slf4j
+public class WarmUpRunner implements ApplicationRunner, Ordered {
+
+    static final String PATH = "/warm-up";
+
+    private static final int PAGE_SIZE = 20;
+
+    private final WarmUpProperties properties;
+    private final ObjectMapper objectMapper;
+    private final GlobalExceptionHandler exceptionHandler;
+    private final PlantRepository plantRepository;
+    private final LoggingSystem loggingSystem;
+    private final Timer duration;
+    private final Counter responseCounter;
+    private final Counter errorCounter;
+    private final Counter repositoryCounter;
+
+    public WarmUpRunner(
+            WarmUpProperties properties,
+            ObjectMapper objectMapper,
+            GlobalExceptionHandler exceptionHandler,
+            PlantRepository plantRepository,
+            LoggingSystem loggingSystem,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.exceptionHandler = exceptionHandler;
+        this.plantRepository = plantRepository;
+        this.loggingSystem = loggingSystem;
+        this.duration = Timer.builder("twiggle.warmup.duration")
+                .description("Time spent warming up the hot paths before reporting ready")
+                .register(meterRegistry);
+        this.responseCounter = iterations(meterRegistry, "responses");
+        this.errorCounter = iterations(meterRegistry, "errors");
+        this.repositoryCounter = iterations(meterRegistry, "repository");
+    }
+
+    /** Runs after every other runner, right before the application reports ready. */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long deadline = start + properties.getMaxDuration().toNanos();
+        String handlerLogger = GlobalExceptionHandler.class.getName();
+        LoggerConfiguration logger = loggingSystem.getLoggerConfiguration(handlerLogger);
+        LogLevel configuredLevel = logger != null ? logger.getConfiguredLevel() : null;
+        loggingSystem.setLogLevel(handlerLogger, LogLevel.OFF);
+        try {
+            warmUp(deadline);
+        } finally {
+            loggingSystem.setLogLevel(handlerLogger, configuredLevel);
+            duration.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+        log.info(
+                "Warmed up in {} ms: {} response, {} error and {} repository iterations",
+                Duration.ofNanos(System.nanoTime() - start).toMillis(),
+                (long) responseCounter.count(),
+                (long) errorCounter.count(),
+                (long) repositoryCounter.count());
+    }
+
+    private void warmUp(long deadline) {
+        List<Plant> plants = syntheticPlants();
+        CursorPage<Plant> page = CursorPage.<Plant>builder()
+                .items(plants)
+                .nextCursor("warm-up")
+                .hasMore(true)
+                .build();
+        WebRequest request = new ServletWebRequest(syntheticRequest());
+        int iterations = Math.max(0, properties.getIterations());
+        int repositoryIterations = Math.max(0, properties.getRepositoryIterations());
+        // Repository calls are spread over the in-memory iterations rather than bunched at either end.
+        int repositoryEvery = Math.max(1, iterations / Math.max(1, repositoryIterations));
+        int repositoryCalls = 0;
+        long checksum = 0;
+        for (int i = 0;
+                (i < iterations || repositoryCalls < repositoryIterations) && System.nanoTime() < deadline;
+                i++) {
+            if (i < iterations) {
+                checksum += responses(plants, page, i);
+                responseCounter.increment();
+                checksum += errors(request, i);
+                errorCounter.increment();
+            }
+            if (repositoryCalls < repositoryIterations && (i % repositoryEvery == 0 || i >= iterations)) {
+                try {
+                    checksum += repository(repositoryCalls++);
+                    repositoryCounter.increment();
+                } catch (RuntimeException ex) {
+                    repositoryIterations = 0;
+                    log.warn("Skipping the repository warm-up, the plant catalog is unavailable: {}", ex.getMessage());
+                }
+            }
+        }
+        log.debug("Warm-up checksum {}", checksum);
+    }
+
+    private int responses(List<Plant> plants, CursorPage<Plant> page, int i) {
+        ResponseEntity<ApiResponse<Plant>> one =
+                ResponseUtil.success("Plant retrieved successfully", plants.get(i % PAGE_SIZE));
+        ResponseEntity<ApiResponse<List<Plant>>> all = ResponseUtil.success("Plants retrieved successfully", plants);
+        ResponseEntity<PagedApiResponse<Plant>> paged = ResponseUtil.successPage("Plants retrieved successfully", page);
+        return serialize(one.getBody()) + serialize(all.getBody()) + serialize(paged.getBody());
+    }
+
+    private int errors(WebRequest request, int i) {
+        CustomException ex = i % 2 == 0
+                ? new CustomException("Warm-up resource not found", HttpStatus.NOT_FOUND, ErrorCode.RESOURCE_NOT_FOUND)
+                : new CustomException("Warm-up argument rejected", HttpStatus.BAD_REQUEST, ErrorCode.INVALID_ARGUMENT);
+        ResponseEntity<Object> handled = exceptionHandler.handleCustomException(ex, request);
+        ResponseEntity<Object> unexpected = i % 16 == 0
+                ? exceptionHandler.handleAllUncaughtException(new IllegalStateException("Warm-up failure"), request)
+                : handled;
+        return serialize(handled.getBody()) + serialize(unexpected.getBody());
+    }
+
+    private int repository(int i) {
+        // Ids that cannot exist keep the lookups cheap for the database while running the whole client path.
+        int found = plantRepository.findById("warm-up-" + i).isPresent() ? 1 : 0;
+        if (i % 4 == 0) {
+            found += plantRepository.findAll(PageRequest.of(0, PAGE_SIZE)).getNumberOfElements();
+        }
+        return found;
+    }
+
+    private int serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body).length;
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Warm-up response could not be serialized", ex);
+        }
+    }
+
+    private static List<Plant> syntheticPlants() {
+        List<Plant> plants = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            plants.add(Plant.builder()
+                    .id("warm-up-" + i)
+                    .commonName("Warm-up plant " + i)
+                    .scientificName("Planta calefacta " + i)
+                    .description("Synthetic plant used to warm up serialization")
+                    .sunExposure(Plant.SunExposure.values()[i % Plant.SunExposure.values().length])
+                    .waterNeed(Plant.WaterNeed.values()[i % Plant.WaterNeed.values().length])
+                    .seasons(EnumSet.of(Plant.Season.values()[i % Plant.Season.values().length]))
+                    .minHardinessZone(3)
+                    .maxHardinessZone(9)
+                    .edible(i % 2 == 0)
+                    .popularity(i)
+                    .build());
+        }
+        return plants;
+    }
+
+    /**
+     * The exception handler only reads the request URI, for the error body's path; there is no real request to
+     * hand it outside of a dispatch.
+     */
+    private static HttpServletRequest syntheticRequest() {
+        return (HttpServletRequest) Proxy.newProxyInstance(
+                WarmUpRunner.class.getClassLoader(),
+                new Class<?>[] {HttpServletRequest.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getRequestURI" -> PATH;
+                    case "toString" -> "synthetic request to " + PATH;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+
+    private static Counter iterations(MeterRegistry meterRegistry, String exercise) {
+        return Counter.builder("twiggle.warmup.iterations")
+                .description("Warm-up iterations run at startup, by exercise")
+                .tag("exercise", exercise)
+                .register(meterRegistry);
+    }
+}
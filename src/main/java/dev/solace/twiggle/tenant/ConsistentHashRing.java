@@ -0,0 +1,73 @@
+package dev.solace.twiggle.tenant;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable consistent-hash ring mapping keys onto weighted nodes.
+ *
+ * <p>Each node gets {@code virtualNodes} points per unit of weight, and a key belongs to the first point at or
+ * after its hash. Adding or removing a node therefore only moves the keys between its points and their
+ * predecessors, roughly its share of all keys. The hash is fixed (FNV-1a finished with the MurmurHash3 mixer), so
+ * every instance maps a key the same way.
+ */
+public final class ConsistentHashRing {
+
+    private final long[] points;
+    private final String[] owners;
+
+    public ConsistentHashRing(Map<String, Integer> weights, int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        List<Point> ring = new ArrayList<>();
+        weights.forEach((node, weight) -> {
+            for (int i = 0; i < weight * virtualNodes; i++) {
+                ring.add(new Point(hash(node + "#" + i), node));
+            }
+        });
+        if (ring.isEmpty()) {
+            throw new IllegalArgumentException("The ring needs at least one node with a positive weight");
+        }
+        // Ties are broken by node name so that the ring does not depend on map iteration order.
+        ring.sort((a, b) -> a.hash != b.hash ? Long.compare(a.hash, b.hash) : a.node.compareTo(b.node));
+        this.points = new long[ring.size()];
+        this.owners = new String[ring.size()];
+        for (int i = 0; i < ring.size(); i++) {
+            points[i] = ring.get(i).hash;
+            owners[i] = ring.get(i).node;
+        }
+    }
+
+    public String nodeFor(String key) {
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        } else {
+            // Step back over equal points so the first one is used.
+            while (index > 0 && points[index - 1] == points[index]) {
+                index--;
+            }
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private record Point(long hash, String node) {}
+}
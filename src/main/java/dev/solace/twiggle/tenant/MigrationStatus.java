@@ -0,0 +1,29 @@
+package dev.solace.twiggle.tenant;
+
+import java.time.Instant;
+
+/**
+ * Progress of moving one tenant's database to another cluster.
+ *
+ * @param copied documents copied from the source in bulk
+ * @param applied changes replayed from the source's change stream since the copy started
+ */
+public record MigrationStatus(
+        String tenant,
+        String sourceCluster,
+        String targetCluster,
+        Phase phase,
+        Instant startedAt,
+        Instant finishedAt,
+        long copied,
+        long applied,
+        String error) {
+
+    public enum Phase {
+        COPYING,
+        CATCHING_UP,
+        FROZEN,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,78 @@
+package dev.solace.twiggle.tenant;
+
+import java.util.function.Supplier;
+
+/**
+ * The tenant whose data the current thread works on.
+ *
+ * <p>The primary {@code MongoTemplate} routes every call to the database of the bound tenant, or to the home
+ * database when none is bound. The binding is per thread: work handed to another thread must be wrapped with
+ * {@link #propagate} to keep it.
+ */
+public final class TenantContext {
+
+    /** Pseudo-tenant of the shared home database; not a valid tenant id. */
+    public static final String HOME = "home";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    public static String current() {
+        String tenant = CURRENT.get();
+        return tenant != null ? tenant : HOME;
+    }
+
+    public static boolean isHome() {
+        return HOME.equals(current());
+    }
+
+    /**
+     * Binds {@code tenant} until the returned scope is closed, which restores the previous binding.
+     */
+    public static Scope open(String tenant) {
+        String previous = CURRENT.get();
+        CURRENT.set(tenant);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    public static <T> T callAs(String tenant, Supplier<T> work) {
+        try (Scope ignored = open(tenant)) {
+            return work.get();
+        }
+    }
+
+    public static void runAs(String tenant, Runnable work) {
+        try (Scope ignored = open(tenant)) {
+            work.run();
+        }
+    }
+
+    /** Wraps {@code work} to run as the tenant bound now, on whichever thread it ends up on. */
+    public static <T> Supplier<T> propagate(Supplier<T> work) {
+        String tenant = current();
+        return () -> callAs(tenant, work);
+    }
+
+    public static Runnable propagate(Runnable work) {
+        String tenant = current();
+        return () -> runAs(tenant, work);
+    }
+
+    /**
+     * A tenant binding that ends when closed.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,165 @@
+package dev.solace.twiggle.tenant;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import dev.solace.twiggle.config.TenancyProperties;
+import dev.solace.twiggle.model.tenant.TenantPlacement;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+
+/**
+ * The clients of the configured clusters and the database factories of tenant databases on them.
+ *
+ * <p>A cluster's client is only created when a tenant database on it is first used, with the same customizers as
+ * the home client (pool settings, command listeners) and the cluster's own connection string applied last. The
+ * home cluster reuses the home client.
+ */
+@Slf4j
+public class TenantDatabases implements DisposableBean {
+
+    private static final int NAMESPACE_EXISTS = 48;
+
+    private final MongoDatabaseFactory homeFactory;
+    private final MongoClient homeClient;
+    private final TenancyProperties properties;
+    private final List<MongoClientSettingsBuilderCustomizer> customizers;
+    private final Map<String, MongoClient> clients = new ConcurrentHashMap<>();
+    private final Map<String, MongoDatabaseFactory> factories = new ConcurrentHashMap<>();
+
+    public TenantDatabases(
+            MongoDatabaseFactory homeFactory,
+            MongoClient homeClient,
+            TenancyProperties properties,
+            List<MongoClientSettingsBuilderCustomizer> customizers,
+            MeterRegistry meterRegistry) {
+        this.homeFactory = homeFactory;
+        this.homeClient = homeClient;
+        this.properties = properties;
+        this.customizers = customizers;
+        Gauge.builder("twiggle.tenancy.clients", clients, Map::size)
+                .description("Clients opened to clusters other than the home cluster")
+                .register(meterRegistry);
+    }
+
+    public MongoDatabaseFactory home() {
+        return homeFactory;
+    }
+
+    public Set<String> clusters() {
+        return properties.getClusters().keySet();
+    }
+
+    public MongoDatabaseFactory factory(String cluster, String database) {
+        return factories.computeIfAbsent(
+                cluster + "/" + database, key -> new SimpleMongoClientDatabaseFactory(client(cluster), database));
+    }
+
+    public MongoDatabase database(String cluster, String database) {
+        return client(cluster).getDatabase(database);
+    }
+
+    MongoClient client(String cluster) {
+        TenancyProperties.Cluster config = properties.getClusters().get(cluster);
+        if (config == null) {
+            throw new IllegalArgumentException("Unknown cluster " + cluster);
+        }
+        if (config.getUri() == null) {
+            return homeClient;
+        }
+        return clients.computeIfAbsent(cluster, name -> connect(name, config.getUri()));
+    }
+
+    private MongoClient connect(String cluster, String uri) {
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+        customizers.forEach(customizer -> customizer.customize(builder));
+        // Last, so the home URI applied by Boot's own customizer is overridden.
+        builder.applyConnectionString(new ConnectionString(uri));
+        log.info("Connecting to tenant cluster {}", cluster);
+        return MongoClients.create(builder.build());
+    }
+
+    /**
+     * Creates the collections of a new tenant database with the options and indexes of their home counterparts, so
+     * that services which prepare their collections at startup need not know about tenant databases.
+     */
+    void provision(String cluster, String database) {
+        copySchema(homeFactory.getMongoDatabase(), database(cluster, database), Set.copyOf(sharedCollections()));
+    }
+
+    private List<String> sharedCollections() {
+        List<String> shared = new ArrayList<>(properties.getSharedCollections());
+        shared.add(TenantPlacement.COLLECTION);
+        return shared;
+    }
+
+    /**
+     * Creates every collection of {@code source} except {@code skip} in {@code target}, with the same options and
+     * indexes. Collections that already exist keep their options; missing indexes are still added.
+     */
+    static void copySchema(MongoDatabase source, MongoDatabase target, Set<String> skip) {
+        Set<String> existing = target.listCollectionNames().into(new HashSet<>());
+        for (Document info : source.listCollections()) {
+            String name = info.getString("name");
+            if (name.startsWith("system.") || skip.contains(name)) {
+                continue;
+            }
+            if (!existing.contains(name)) {
+                Document create = new Document("create", name);
+                Document options = info.get("options", Document.class);
+                if (options != null) {
+                    create.putAll(options);
+                }
+                Document timeSeries = create.get("timeseries", Document.class);
+                if (timeSeries != null && timeSeries.containsKey("granularity")) {
+                    // Reported alongside the granularity, but may not be set together with it.
+                    timeSeries.remove("bucketMaxSpanSeconds");
+                    timeSeries.remove("bucketRoundingSeconds");
+                }
+                try {
+                    target.runCommand(create);
+                } catch (MongoCommandException ex) {
+                    if (ex.getErrorCode() != NAMESPACE_EXISTS) {
+                        throw ex;
+                    }
+                }
+            }
+            if ("view".equals(info.getString("type"))) {
+                continue;
+            }
+            List<Document> indexes = new ArrayList<>();
+            for (Document index : source.getCollection(name).listIndexes()) {
+                if (!"_id_".equals(index.getString("name"))) {
+                    Document spec = new Document(index);
+                    spec.remove("v");
+                    spec.remove("ns");
+                    indexes.add(spec);
+                }
+            }
+            if (!indexes.isEmpty()) {
+                target.runCommand(new Document("createIndexes", name).append("indexes", indexes));
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        clients.values().forEach(MongoClient::close);
+        clients.clear();
+    }
+}
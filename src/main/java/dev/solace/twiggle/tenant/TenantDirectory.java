@@ -0,0 +1,198 @@
+package dev.solace.twiggle.tenant;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.solace.twiggle.config.TenancyProperties;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.tenant.PlacementState;
+import dev.solace.twiggle.model.tenant.TenantPlacement;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+
+/**
+ * The placement map: which cluster each tenant's database lives on.
+ *
+ * <p>A new tenant is placed by the {@link ConsistentHashRing} over the clusters, weighted by their configured
+ * weight, and the choice is stored in {@code tenant_placements} in the home database before the tenant is served.
+ * From then on the stored placement is authoritative, so adding a cluster only attracts new tenants; existing ones
+ * move through {@link TenantMigrationService}. Placements are cached for {@code placementCacheTtl}, which bounds how
+ * long an instance may keep routing by a superseded placement.
+ */
+@Slf4j
+public class TenantDirectory {
+
+    public static final Pattern TENANT_ID = Pattern.compile("[a-z0-9][a-z0-9-]{0,39}");
+
+    private final MongoTemplate homeTemplate;
+    private final TenantDatabases databases;
+    private final TenancyProperties properties;
+    private final ConsistentHashRing ring;
+    private final Cache<String, Optional<TenantPlacement>> placements;
+    private final Counter placed;
+    private volatile TenantList tenants;
+
+    public TenantDirectory(
+            MongoTemplate homeTemplate,
+            TenantDatabases databases,
+            TenancyProperties properties,
+            MeterRegistry meterRegistry) {
+        this.homeTemplate = homeTemplate;
+        this.databases = databases;
+        this.properties = properties;
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        properties.getClusters().forEach((name, cluster) -> {
+            if (cluster.getWeight() > 0) {
+                weights.put(name, cluster.getWeight());
+            }
+        });
+        this.ring = new ConsistentHashRing(weights, properties.getVirtualNodes());
+        this.placements = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getPlacementCacheTtl())
+                .build();
+        this.placed = Counter.builder("twiggle.tenancy.placed")
+                .description("Tenants placed on a cluster")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public static boolean isValidTenantId(String tenant) {
+        return tenant != null && TENANT_ID.matcher(tenant).matches() && !TenantContext.HOME.equals(tenant);
+    }
+
+    /**
+     * Returns where {@code tenant} lives, placing it first when unknown tenants are placed automatically.
+     *
+     * @throws CustomException with {@code 404} for an unknown tenant
+     */
+    public TenantPlacement placementOf(String tenant) {
+        return placements
+                .get(tenant, this::load)
+                .orElseThrow(() -> new CustomException(
+                        "Unknown tenant " + tenant, HttpStatus.NOT_FOUND, ErrorCode.RESOURCE_NOT_FOUND));
+    }
+
+    private Optional<TenantPlacement> load(String tenant) {
+        TenantPlacement existing = homeTemplate.findById(tenant, TenantPlacement.class);
+        if (existing != null || !properties.isAutoPlace()) {
+            return Optional.ofNullable(existing);
+        }
+        return Optional.of(place(tenant));
+    }
+
+    /**
+     * Places {@code tenant} on the cluster the ring assigns it, creating its database, or returns its existing
+     * placement.
+     */
+    public TenantPlacement place(String tenant) {
+        if (!isValidTenantId(tenant)) {
+            throw new CustomException(
+                    "Tenant ids are 1-40 lowercase letters, digits or dashes",
+                    HttpStatus.BAD_REQUEST,
+                    ErrorCode.INVALID_ARGUMENT);
+        }
+        TenantPlacement existing = homeTemplate.findById(tenant, TenantPlacement.class);
+        if (existing != null) {
+            return existing;
+        }
+        String cluster = ring.nodeFor(tenant);
+        Instant now = Instant.now();
+        TenantPlacement placement = TenantPlacement.builder()
+                .tenantId(tenant)
+                .cluster(cluster)
+                .database(properties.getDatabasePrefix() + tenant)
+                .state(PlacementState.ACTIVE)
+                .version(1)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        // Before the placement is visible, so the tenant is never served from a database without its indexes.
+        databases.provision(cluster, placement.getDatabase());
+        try {
+            homeTemplate.insert(placement);
+        } catch (DuplicateKeyException ex) {
+            // Placed concurrently; the ring made the same choice there.
+            return homeTemplate.findById(tenant, TenantPlacement.class);
+        }
+        placed.increment();
+        tenants = null;
+        log.info("Placed tenant {} on cluster {}", tenant, cluster);
+        return placement;
+    }
+
+    /**
+     * Returns the home pseudo-tenant followed by every placed tenant, for background work that has to visit each
+     * database. The list is refreshed at most every {@code placementCacheTtl}.
+     */
+    public List<String> tenants() {
+        if (!properties.isEnabled()) {
+            return List.of(TenantContext.HOME);
+        }
+        TenantList current = tenants;
+        long now = System.nanoTime();
+        if (current == null
+                || now - current.loadedAtNanos()
+                        > properties.getPlacementCacheTtl().toNanos()) {
+            List<String> loaded = new ArrayList<>();
+            loaded.add(TenantContext.HOME);
+            loaded.addAll(homeTemplate.findDistinct(new Query(), "_id", TenantPlacement.class, String.class));
+            current = new TenantList(List.copyOf(loaded), now);
+            tenants = current;
+        }
+        return current.tenants();
+    }
+
+    /**
+     * Cluster the tenant's database is on, {@code null} for the home database.
+     */
+    public String clusterOf(String tenant) {
+        return TenantContext.HOME.equals(tenant) ? null : placementOf(tenant).getCluster();
+    }
+
+    public List<TenantPlacement> placements() {
+        return homeTemplate.find(new Query().with(Sort.by("_id")), TenantPlacement.class);
+    }
+
+    /** Reads the stored placement, bypassing the cache. */
+    TenantPlacement reload(String tenant) {
+        placements.invalidate(tenant);
+        return homeTemplate.findById(tenant, TenantPlacement.class);
+    }
+
+    /**
+     * Applies {@code update} if the placement is still at {@code version}, returning the new placement or
+     * {@code null} if it changed in between.
+     */
+    TenantPlacement transition(String tenant, long version, Update update) {
+        TenantPlacement updated = homeTemplate.findAndModify(
+                query(where("_id").is(tenant).and("version").is(version)),
+                update.inc("version", 1).set("updatedAt", Instant.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                TenantPlacement.class);
+        placements.invalidate(tenant);
+        return updated;
+    }
+
+    private record TenantList(List<String> tenants, long loadedAtNanos) {}
+}
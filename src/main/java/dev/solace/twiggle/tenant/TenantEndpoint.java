@@ -0,0 +1,45 @@
+package dev.solace.twiggle.tenant;
+
+import dev.solace.twiggle.model.tenant.TenantPlacement;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Actuator endpoint listing tenant placements and moves. Posting to {@code tenants/{tenant}} places the tenant, or
+ * starts moving it when a {@code moveTo} cluster is posted.
+ */
+@Endpoint(id = "tenants")
+@RequiredArgsConstructor
+public class TenantEndpoint {
+
+    private final TenantDirectory directory;
+    private final TenantMigrationService migrationService;
+
+    @ReadOperation
+    public Overview tenants() {
+        return new Overview(directory.isEnabled(), directory.placements(), migrationService.migrations());
+    }
+
+    @ReadOperation
+    public Tenant tenant(@Selector String tenant) {
+        return new Tenant(directory.placementOf(tenant), migrationService.status(tenant));
+    }
+
+    @WriteOperation
+    public Tenant update(@Selector String tenant, @Nullable String moveTo) {
+        if (moveTo == null) {
+            return new Tenant(directory.place(tenant), migrationService.status(tenant));
+        }
+        MigrationStatus migration = migrationService.migrate(tenant, moveTo);
+        return new Tenant(directory.placementOf(tenant), migration);
+    }
+
+    public record Overview(boolean enabled, List<TenantPlacement> placements, List<MigrationStatus> migrations) {}
+
+    public record Tenant(TenantPlacement placement, MigrationStatus migration) {}
+}
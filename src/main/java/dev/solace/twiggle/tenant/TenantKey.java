@@ -0,0 +1,17 @@
+package dev.solace.twiggle.tenant;
+
+/**
+ * Key of in-memory state that belongs to one tenant, since ids such as garden ids are only unique per tenant.
+ */
+public record TenantKey(String tenant, String id) {
+
+    /** Key of {@code id} for the tenant bound to the current thread. */
+    public static TenantKey of(String id) {
+        return new TenantKey(TenantContext.current(), id);
+    }
+
+    @Override
+    public String toString() {
+        return TenantContext.HOME.equals(tenant) ? id : tenant + "/" + id;
+    }
+}
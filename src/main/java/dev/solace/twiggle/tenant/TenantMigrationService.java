@@ -0,0 +1,431 @@
+package dev.solace.twiggle.tenant;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.gte;
+import static com.mongodb.client.model.Filters.lt;
+
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import dev.solace.twiggle.config.TenancyProperties;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.tenant.PlacementState;
+import dev.solace.twiggle.model.tenant.TenantPlacement;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Moves a tenant's database to another cluster while the tenant keeps being served.
+ *
+ * <p>The documents are copied in bulk, then the changes made since the copy started are replayed from the source
+ * database's change stream until the copy has caught up. Only then is the tenant frozen: requests for it are
+ * answered with {@code 503} while the last changes are drained, which takes as long as the placement cache TTL plus
+ * the freeze grace, so that no instance still writes to the source by a cached placement. A marker written to the
+ * source after that point shows when the stream has delivered everything, and the placement is switched to the
+ * target. Any failure returns the tenant to its source database and drops the partial copy.
+ *
+ * <p>Time-series collections have no change stream; their documents are append-only, so those stamped before the
+ * copy started (less {@code timeSeriesMargin}) are copied up front and the rest while the tenant is frozen.
+ */
+@Slf4j
+public class TenantMigrationService implements DisposableBean {
+
+    static final String MARKERS = "tenant_migration_markers";
+
+    private final TenantDirectory directory;
+    private final TenantDatabases databases;
+    private final TenancyProperties properties;
+    private final ExecutorService executor;
+    private final Map<String, MigrationStatus> migrations = new ConcurrentHashMap<>();
+    private final Counter completed;
+    private final Counter failed;
+    private final Timer frozen;
+
+    public TenantMigrationService(
+            TenantDirectory directory,
+            TenantDatabases databases,
+            TenancyProperties properties,
+            MeterRegistry meterRegistry) {
+        this.directory = directory;
+        this.databases = databases;
+        this.properties = properties;
+        this.executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("tenant-migration-"));
+        this.completed = Counter.builder("twiggle.tenancy.migrations")
+                .tag("outcome", "completed")
+                .description("Tenant moves between clusters")
+                .register(meterRegistry);
+        this.failed = Counter.builder("twiggle.tenancy.migrations")
+                .tag("outcome", "failed")
+                .description("Tenant moves between clusters")
+                .register(meterRegistry);
+        this.frozen = Timer.builder("twiggle.tenancy.migration.frozen")
+                .description("Time tenants were unavailable while being moved")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts moving {@code tenant} to {@code targetCluster} in the background.
+     *
+     * @throws CustomException with {@code 404} for an unknown tenant, {@code 400} for an unknown or the current
+     *     cluster and {@code 409} if the tenant is already being moved
+     */
+    public MigrationStatus migrate(String tenant, String targetCluster) {
+        if (!properties.getClusters().containsKey(targetCluster)) {
+            throw new CustomException(
+                    "Unknown cluster " + targetCluster, HttpStatus.BAD_REQUEST, ErrorCode.INVALID_ARGUMENT);
+        }
+        TenantPlacement placement = directory.reload(tenant);
+        if (placement == null) {
+            throw new CustomException("Unknown tenant " + tenant, HttpStatus.NOT_FOUND, ErrorCode.RESOURCE_NOT_FOUND);
+        }
+        if (placement.getCluster().equals(targetCluster)) {
+            throw new CustomException(
+                    "Tenant " + tenant + " is already on " + targetCluster,
+                    HttpStatus.BAD_REQUEST,
+                    ErrorCode.INVALID_ARGUMENT);
+        }
+        TenantPlacement begun = placement.getMigrationTarget() == null
+                ? directory.transition(
+                        tenant,
+                        placement.getVersion(),
+                        new Update().set("migrationTarget", targetCluster).set("migrationStartedAt", Instant.now()))
+                : null;
+        if (begun == null) {
+            throw new CustomException(
+                    "Tenant " + tenant + " is already being moved", HttpStatus.CONFLICT, ErrorCode.VERSION_CONFLICT);
+        }
+        MigrationStatus status = new MigrationStatus(
+                tenant,
+                begun.getCluster(),
+                targetCluster,
+                MigrationStatus.Phase.COPYING,
+                begun.getMigrationStartedAt(),
+                null,
+                0,
+                0,
+                null);
+        migrations.put(tenant, status);
+        executor.execute(() -> run(begun));
+        return status;
+    }
+
+    public List<MigrationStatus> migrations() {
+        return migrations.values().stream()
+                .sorted(Comparator.comparing(MigrationStatus::startedAt).reversed())
+                .toList();
+    }
+
+    public MigrationStatus status(String tenant) {
+        return migrations.get(tenant);
+    }
+
+    private void run(TenantPlacement placement) {
+        String tenant = placement.getTenantId();
+        String targetCluster = placement.getMigrationTarget();
+        MongoDatabase source = databases.database(placement.getCluster(), placement.getDatabase());
+        MongoDatabase target = databases.database(targetCluster, placement.getDatabase());
+        Progress progress = new Progress(migrations.get(tenant));
+        boolean moved = false;
+        try {
+            if (target.listCollectionNames().first() != null) {
+                throw new IllegalStateException(
+                        "Database " + placement.getDatabase() + " already exists on " + targetCluster);
+            }
+            BsonTimestamp startAt =
+                    source.runCommand(new Document("ping", 1)).get("operationTime", BsonTimestamp.class);
+            if (startAt == null) {
+                throw new IllegalStateException("Cluster " + placement.getCluster() + " is not a replica set");
+            }
+            ObjectId boundary = new ObjectId(
+                    Date.from(Instant.now().minus(properties.getMigration().getTimeSeriesMargin())));
+            TenantDatabases.copySchema(source, target, Set.of(MARKERS));
+            List<String> timeSeries = new ArrayList<>();
+            for (Document info : source.listCollections()) {
+                String name = info.getString("name");
+                if (name.startsWith("system.") || name.equals(MARKERS) || "view".equals(info.getString("type"))) {
+                    continue;
+                }
+                if ("timeseries".equals(info.getString("type"))) {
+                    timeSeries.add(name);
+                    progress.copied += append(source, target, name, lt("_id", boundary));
+                } else {
+                    progress.copied += copy(source, target, name);
+                }
+                publish(progress, MigrationStatus.Phase.COPYING);
+            }
+
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> changes = source.watch()
+                    .startAtOperationTime(startAt)
+                    .fullDocument(FullDocument.UPDATE_LOOKUP)
+                    .cursor()) {
+                publish(progress, MigrationStatus.Phase.CATCHING_UP);
+                long deadline = System.nanoTime()
+                        + properties.getMigration().getCatchUpTimeout().toNanos();
+                ChangeStreamDocument<Document> change;
+                do {
+                    change = changes.tryNext();
+                    if (change != null) {
+                        apply(change, target, null);
+                        progress.applied++;
+                    }
+                    checkDeadline(deadline);
+                } while (change != null);
+                publish(progress, MigrationStatus.Phase.CATCHING_UP);
+
+                placement = directory.transition(
+                        tenant, placement.getVersion(), new Update().set("state", PlacementState.FROZEN));
+                if (placement == null) {
+                    throw new IllegalStateException("Placement changed while copying");
+                }
+                publish(progress, MigrationStatus.Phase.FROZEN);
+                long frozenAt = System.nanoTime();
+                Thread.sleep(properties
+                        .getPlacementCacheTtl()
+                        .plus(properties.getMigration().getFreezeGrace())
+                        .toMillis());
+
+                ObjectId marker = new ObjectId();
+                source.getCollection(MARKERS).insertOne(new Document("_id", marker).append("tenant", tenant));
+                boolean drained = false;
+                while (!drained) {
+                    change = changes.tryNext();
+                    if (change != null) {
+                        drained = apply(change, target, marker);
+                        progress.applied++;
+                    }
+                    checkDeadline(deadline);
+                }
+                for (String name : timeSeries) {
+                    progress.copied += append(source, target, name, gte("_id", boundary));
+                }
+
+                placement = directory.transition(
+                        tenant,
+                        placement.getVersion(),
+                        new Update()
+                                .set("cluster", targetCluster)
+                                .set("state", PlacementState.ACTIVE)
+                                .unset("migrationTarget")
+                                .unset("migrationStartedAt"));
+                if (placement == null) {
+                    throw new IllegalStateException("Placement changed while frozen");
+                }
+                moved = true;
+                frozen.record(System.nanoTime() - frozenAt, TimeUnit.NANOSECONDS);
+            }
+            finish(progress, MigrationStatus.Phase.COMPLETED, null);
+            completed.increment();
+            log.info(
+                    "Moved tenant {} to cluster {}: {} documents copied, {} changes replayed",
+                    tenant,
+                    targetCluster,
+                    progress.copied,
+                    progress.applied);
+            if (properties.getMigration().isDropSource()) {
+                source.drop();
+            } else {
+                source.getCollection(MARKERS).drop();
+            }
+        } catch (Exception ex) {
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (moved) {
+                log.warn(
+                        "Tenant {} moved to {}, but its source database could not be cleaned up",
+                        tenant,
+                        targetCluster,
+                        ex);
+                return;
+            }
+            log.error("Moving tenant {} to cluster {} failed", tenant, targetCluster, ex);
+            abort(tenant, targetCluster, target);
+            finish(progress, MigrationStatus.Phase.FAILED, ex.getMessage());
+            failed.increment();
+        }
+    }
+
+    /**
+     * Replays one change on the target, returning whether it was the write of {@code marker}.
+     */
+    private static boolean apply(ChangeStreamDocument<Document> change, MongoDatabase target, ObjectId marker) {
+        String collection =
+                change.getNamespace() != null ? change.getNamespace().getCollectionName() : null;
+        if (MARKERS.equals(collection)) {
+            return marker != null
+                    && change.getDocumentKey() != null
+                    && marker.equals(change.getDocumentKey().getObjectId("_id").getValue());
+        }
+        switch (change.getOperationType()) {
+            case INSERT, UPDATE, REPLACE -> {
+                // Looked up when the event is read, so it may be newer than the event or already deleted; either
+                // way a later event brings the copy to the same state.
+                Document document = change.getFullDocument();
+                if (document != null) {
+                    target.getCollection(collection)
+                            .replaceOne(change.getDocumentKey(), document, new ReplaceOptions().upsert(true));
+                }
+            }
+            case DELETE -> target.getCollection(collection).deleteOne(change.getDocumentKey());
+            case DROP, RENAME, DROP_DATABASE, INVALIDATE -> throw new IllegalStateException(
+                    change.getOperationType().getValue() + " while moving the tenant");
+            default -> {
+                // Other events carry no document changes.
+            }
+        }
+        return false;
+    }
+
+    private long copy(MongoDatabase source, MongoDatabase target, String name) {
+        MongoCollection<Document> to = target.getCollection(name);
+        int batchSize = properties.getMigration().getBatchSize();
+        List<WriteModel<Document>> batch = new ArrayList<>(batchSize);
+        long copied = 0;
+        try (MongoCursor<Document> cursor =
+                source.getCollection(name).find().batchSize(batchSize).iterator()) {
+            while (cursor.hasNext()) {
+                Document document = cursor.next();
+                // Upserts, as the change stream may already have replayed a later version of the document.
+                batch.add(new ReplaceOneModel<>(
+                        eq("_id", document.get("_id")), document, new ReplaceOptions().upsert(true)));
+                if (batch.size() == batchSize) {
+                    copied += flush(to, batch);
+                }
+            }
+        }
+        return copied + flush(to, batch);
+    }
+
+    private static long flush(MongoCollection<Document> to, List<WriteModel<Document>> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        to.bulkWrite(batch);
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+
+    private long append(MongoDatabase source, MongoDatabase target, String name, Bson filter) {
+        MongoCollection<Document> to = target.getCollection(name);
+        int batchSize = properties.getMigration().getBatchSize();
+        List<Document> batch = new ArrayList<>(batchSize);
+        long copied = 0;
+        try (MongoCursor<Document> cursor =
+                source.getCollection(name).find(filter).batchSize(batchSize).iterator()) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == batchSize) {
+                    to.insertMany(batch, new InsertManyOptions().ordered(false));
+                    copied += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            to.insertMany(batch, new InsertManyOptions().ordered(false));
+            copied += batch.size();
+        }
+        return copied;
+    }
+
+    private void abort(String tenant, String targetCluster, MongoDatabase target) {
+        try {
+            TenantPlacement current = directory.reload(tenant);
+            if (current != null && targetCluster.equals(current.getMigrationTarget())) {
+                directory.transition(
+                        tenant,
+                        current.getVersion(),
+                        new Update()
+                                .set("state", PlacementState.ACTIVE)
+                                .unset("migrationTarget")
+                                .unset("migrationStartedAt"));
+            }
+            target.drop();
+        } catch (Exception ex) {
+            log.error("Could not roll back the move of tenant {} to cluster {}", tenant, targetCluster, ex);
+        }
+    }
+
+    private static void checkDeadline(long deadline) {
+        if (System.nanoTime() > deadline) {
+            throw new IllegalStateException("The copy did not catch up with the source in time");
+        }
+    }
+
+    private void publish(Progress progress, MigrationStatus.Phase phase) {
+        MigrationStatus started = progress.started;
+        migrations.put(
+                started.tenant(),
+                new MigrationStatus(
+                        started.tenant(),
+                        started.sourceCluster(),
+                        started.targetCluster(),
+                        phase,
+                        started.startedAt(),
+                        null,
+                        progress.copied,
+                        progress.applied,
+                        null));
+    }
+
+    private void finish(Progress progress, MigrationStatus.Phase phase, String error) {
+        MigrationStatus started = progress.started;
+        migrations.put(
+                started.tenant(),
+                new MigrationStatus(
+                        started.tenant(),
+                        started.sourceCluster(),
+                        started.targetCluster(),
+                        phase,
+                        started.startedAt(),
+                        Instant.now(),
+                        progress.copied,
+                        progress.applied,
+                        error));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private static final class Progress {
+        private final MigrationStatus started;
+        private long copied;
+        private long applied;
+
+        private Progress(MigrationStatus started) {
+            this.started = started;
+        }
+    }
+}
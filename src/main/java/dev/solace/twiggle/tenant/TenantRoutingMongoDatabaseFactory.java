@@ -0,0 +1,75 @@
+package dev.solace.twiggle.tenant;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoDatabase;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.tenant.PlacementState;
+import dev.solace.twiggle.model.tenant.TenantPlacement;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.http.HttpStatus;
+
+/**
+ * {@link MongoDatabaseFactory} that hands out the database of the tenant bound to the calling thread, on the
+ * cluster the tenant is placed on, and the home database when no tenant is bound.
+ *
+ * <p>The tenant is resolved on every call rather than when a template is built, so one template serves every
+ * tenant and a tenant that has moved is followed as soon as its cached placement expires.
+ */
+public class TenantRoutingMongoDatabaseFactory implements MongoDatabaseFactory {
+
+    private final TenantDatabases databases;
+    private final TenantDirectory directory;
+
+    public TenantRoutingMongoDatabaseFactory(TenantDatabases databases, TenantDirectory directory) {
+        this.databases = databases;
+        this.directory = directory;
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase() {
+        return target().getMongoDatabase();
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase(String dbName) {
+        return target().getMongoDatabase(dbName);
+    }
+
+    @Override
+    public PersistenceExceptionTranslator getExceptionTranslator() {
+        return databases.home().getExceptionTranslator();
+    }
+
+    @Override
+    public ClientSession getSession(ClientSessionOptions options) {
+        return target().getSession(options);
+    }
+
+    @Override
+    public MongoDatabaseFactory withSession(ClientSession session) {
+        return target().withSession(session);
+    }
+
+    /**
+     * The factory of the current tenant's database.
+     *
+     * @throws CustomException with {@code 503} while the tenant is frozen for a move between clusters
+     */
+    private MongoDatabaseFactory target() {
+        String tenant = TenantContext.current();
+        if (TenantContext.HOME.equals(tenant)) {
+            return databases.home();
+        }
+        TenantPlacement placement = directory.placementOf(tenant);
+        if (placement.getState() == PlacementState.FROZEN) {
+            throw new CustomException(
+                    "Tenant " + tenant + " is moving to another cluster",
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    ErrorCode.SERVICE_UNAVAILABLE);
+        }
+        return databases.factory(placement.getCluster(), placement.getDatabase());
+    }
+}
@@ -0,0 +1,82 @@
+package dev.solace.twiggle.util;
+
+import com.mongodb.MongoClientSettings;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Encodes keyset pagination positions as opaque, URL-safe continuation tokens.
+ *
+ * <p>A token is the Base64url form of a small BSON document holding the sort key values of the last item on a
+ * page, so types such as {@code ObjectId} and dates survive the round trip. The sort specification is embedded
+ * and checked on decode, which stops a cursor from one ordering being replayed against another.
+ */
+public final class CursorCodec {
+
+    private static final int MAX_TOKEN_LENGTH = 1024;
+    private static final String SORT_FIELD = "s";
+    private static final String KEYS_FIELD = "k";
+    private static final CodecRegistry CODEC_REGISTRY = MongoClientSettings.getDefaultCodecRegistry();
+
+    private CursorCodec() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    public static String encode(String sortSpec, List<?> keys) {
+        Objects.requireNonNull(sortSpec, "sortSpec must not be null");
+        Objects.requireNonNull(keys, "keys must not be null");
+        BsonDocument document = new Document(SORT_FIELD, sortSpec)
+                .append(KEYS_FIELD, keys)
+                .toBsonDocument(BsonDocument.class, CODEC_REGISTRY);
+        ByteBuffer buffer = new RawBsonDocument(document, new BsonDocumentCodec())
+                .getByteBuffer()
+                .asNIO();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Decodes a token issued by {@link #encode} for the same sort specification.
+     *
+     * @throws CustomException with {@link ErrorCode#INVALID_CURSOR} if the token is malformed, was issued for a
+     *     different ordering or does not hold exactly {@code expectedKeys} values
+     */
+    public static List<Object> decode(String sortSpec, String token, int expectedKeys) {
+        Objects.requireNonNull(sortSpec, "sortSpec must not be null");
+        if (token == null || token.isBlank() || token.length() > MAX_TOKEN_LENGTH) {
+            throw invalidCursor();
+        }
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(token);
+            Document document = new RawBsonDocument(bytes).decode(new DocumentCodec(CODEC_REGISTRY));
+            if (!sortSpec.equals(document.getString(SORT_FIELD))) {
+                throw invalidCursor();
+            }
+            List<Object> keys = document.getList(KEYS_FIELD, Object.class);
+            if (keys == null || keys.size() != expectedKeys) {
+                throw invalidCursor();
+            }
+            return keys;
+        } catch (RuntimeException ex) {
+            // Malformed Base64, truncated BSON or unexpected types all mean the token was not issued by us.
+            throw invalidCursor();
+        }
+    }
+
+    private static CustomException invalidCursor() {
+        return new CustomException(
+                "The pagination cursor is invalid", HttpStatus.BAD_REQUEST, ErrorCode.INVALID_CURSOR);
+    }
+}
@@ -1,6 +1,8 @@
 package dev.solace.twiggle.util;
 
 import dev.solace.twiggle.dto.ApiResponse;
+import dev.solace.twiggle.dto.CursorPage;
+import dev.solace.twiggle.dto.PagedApiResponse;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.Objects;
@@ -32,4 +34,26 @@ public final class ResponseUtil {
         ApiResponse<T> response = buildResponse(message, data, HttpStatus.CREATED);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
+
+    public static <T> ResponseEntity<ApiResponse<T>> accepted(String message, T data) {
+        ApiResponse<T> response = buildResponse(message, data, HttpStatus.ACCEPTED);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    public static <T> ResponseEntity<PagedApiResponse<T>> successPage(String message, CursorPage<T> page) {
+        Objects.requireNonNull(message, "message must not be null");
+        Objects.requireNonNull(page, "page must not be null");
+        PagedApiResponse<T> response = PagedApiResponse.<T>builder()
+                .timestamp(LocalDateTime.now(ZoneOffset.UTC))
+                .status(HttpStatus.OK.value())
+                .message(message)
+                .data(page.getItems())
+                .page(PagedApiResponse.PageInfo.builder()
+                        .size(page.getItems().size())
+                        .hasMore(page.isHasMore())
+                        .nextCursor(page.getNextCursor())
+                        .build())
+                .build();
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,153 @@
+package dev.solace.twiggle.web;
+
+import dev.solace.twiggle.config.ConcurrencyLimitProperties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows observed latency, in the style of the gradient algorithm.
+ *
+ * <p>Completed requests are averaged per sampling window and compared against a baseline: the fastest window seen
+ * since the last probe. While recent latency stays within {@code rttTolerance} of the baseline the limit keeps
+ * growing by about the square root of itself, probing for more capacity; once requests start queueing somewhere
+ * downstream (typically for Mongo connections) latency rises above the baseline and the limit shrinks in
+ * proportion. Requests beyond the limit are rejected immediately instead of queueing, which keeps the latency of
+ * admitted requests near the baseline.
+ *
+ * <p>Every {@code probeInterval} the baseline is re-measured from one window, which also lets it rise when the
+ * workload has genuinely become slower. A limit with room to spare is left as it is, so a steady load is never shed
+ * for the probe. A saturated limit may be too high and observe only queueing latency, so it is lowered to
+ * {@code probeRatio} of itself for one more window first, to drain the queue; the requests that loses are ones the
+ * full limit was already turning away.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final ConcurrencyLimitProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final long windowNanos;
+    private final long probeIntervalNanos;
+    private volatile int limit;
+
+    // Sampling window and limit state, guarded by this.
+    private long windowStart = System.nanoTime();
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private double estimatedLimit;
+    private double baselineRtt;
+    private long nextProbe;
+    private ProbePhase probePhase = ProbePhase.NONE;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        this.properties = properties;
+        this.windowNanos = properties.getSampleWindow().toNanos();
+        this.probeIntervalNanos = properties.getProbeInterval().toNanos();
+        this.limit = properties.getInitialLimit();
+        this.estimatedLimit = properties.getInitialLimit();
+        this.nextProbe = windowStart + probeIntervalNanos;
+    }
+
+    /**
+     * Admits a request if fewer than {@link #limit()} are in flight, returning its start time for
+     * {@link #release}, or -1 if it must be rejected.
+     */
+    public long tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return -1;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return System.nanoTime();
+    }
+
+    /**
+     * Completes an admitted request. Latency is only sampled for requests that reached the application normally;
+     * pass {@code sample = false} for requests that failed fast and would make the service look quicker than it is.
+     */
+    public void release(long startNanos, boolean sample) {
+        long now = System.nanoTime();
+        int before = inFlight.getAndDecrement();
+        if (sample) {
+            record(now - startNanos, before, now);
+        }
+    }
+
+    private synchronized void record(long rttNanos, int inFlightAtEnd, long now) {
+        windowRttSum += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtEnd);
+        if (now - windowStart < windowNanos || windowSamples < properties.getMinWindowSamples()) {
+            return;
+        }
+        update((double) windowRttSum / windowSamples, windowMaxInFlight, now);
+        windowStart = now;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+    }
+
+    /**
+     * Feeds one window's average latency and peak concurrency into the limit.
+     */
+    synchronized void update(double shortRtt, int maxInFlight, long now) {
+        switch (probePhase) {
+            case DRAINING -> {
+                // Still holds requests admitted under the old limit.
+                probePhase = ProbePhase.MEASURING;
+                return;
+            }
+            case MEASURING -> {
+                baselineRtt = shortRtt;
+                probePhase = ProbePhase.NONE;
+                limit = (int) estimatedLimit;
+                return;
+            }
+            case NONE -> {
+                if (now - nextProbe >= 0) {
+                    nextProbe = now + probeIntervalNanos;
+                    if (maxInFlight >= limit) {
+                        probePhase = ProbePhase.DRAINING;
+                        limit = Math.max(
+                                properties.getMinLimit(), (int) Math.ceil(estimatedLimit * properties.getProbeRatio()));
+                    } else {
+                        probePhase = ProbePhase.MEASURING;
+                    }
+                    return;
+                }
+            }
+        }
+
+        if (baselineRtt == 0 || shortRtt < baselineRtt) {
+            baselineRtt = shortRtt;
+        }
+        boolean overloaded = shortRtt > baselineRtt * properties.getRttTolerance();
+        // A limit that was not even half used says nothing about capacity, so it is not raised.
+        if (maxInFlight < estimatedLimit / 2 && !overloaded) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, properties.getRttTolerance() * baselineRtt / shortRtt));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        double smoothing = properties.getSmoothing();
+        estimatedLimit = Math.max(
+                properties.getMinLimit(),
+                Math.min(properties.getMaxLimit(), estimatedLimit * (1 - smoothing) + target * smoothing));
+        limit = (int) estimatedLimit;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private enum ProbePhase {
+        NONE,
+        DRAINING,
+        MEASURING
+    }
+}
@@ -0,0 +1,372 @@
+package dev.solace.twiggle.web;
+
+import dev.solace.twiggle.config.BatchProperties;
+import dev.solace.twiggle.dto.ApiResponse;
+import dev.solace.twiggle.dto.BatchRequest;
+import dev.solace.twiggle.dto.BatchResult;
+import dev.solace.twiggle.exception.ApiErrorResponse;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.Servlet;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.UriUtils;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Answers a batch of GET requests in one round trip by handing each to the {@link DispatcherServlet} in process, as
+ * if it had arrived on its own with the batch's headers.
+ *
+ * <p>Sub-requests run in parallel on virtual threads, at most {@code parallelism} of one batch at a time, in the
+ * batch request's observation context, and pass through the given filters before reaching their handler. Each is
+ * charged a permit of the rate limiter its handler names with {@code @RateLimiter}; one that gets none is answered
+ * with {@code 429} while the rest of the batch goes ahead. Each result holds the status and the {@link ApiResponse}
+ * or {@link ApiErrorResponse} body its request would have been answered with. A sub-request still running after
+ * {@code timeout} is answered with {@code 503}.
+ *
+ * <p>Bodies are held in memory until the whole batch is answered, so only JSON is taken, and only up to
+ * {@code maxResponseSize} per sub-request and {@code maxBatchResponseSize} for the batch: a sub-request answered with
+ * anything else is answered with {@code 406} instead as soon as its content type is set, and one writing beyond
+ * either bound with {@code 413} as soon as it does, before the rest of its body is buffered.
+ *
+ * <p>Sub-requests are counted as {@code twiggle.batch.subrequests} by outcome, and batches are timed as
+ * {@code twiggle.batch.requests}.
+ */
+@Slf4j
+public class BatchDispatcher implements AutoCloseable {
+
+    private final Servlet dispatcherServlet;
+    private final HandlerMapping handlerMapping;
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final List<Filter> filters;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final BatchProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Timer batches;
+    private final Map<Method, Optional<String>> limiterNames = new ConcurrentHashMap<>();
+    private final ContextSnapshotFactory snapshots =
+            ContextSnapshotFactory.builder().build();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public BatchDispatcher(
+            Servlet dispatcherServlet,
+            HandlerMapping handlerMapping,
+            RateLimiterRegistry rateLimiterRegistry,
+            List<Filter> filters,
+            HandlerExceptionResolver exceptionResolver,
+            BatchProperties properties,
+            MeterRegistry meterRegistry) {
+        this.dispatcherServlet = dispatcherServlet;
+        this.handlerMapping = handlerMapping;
+        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.filters = List.copyOf(filters);
+        this.exceptionResolver = exceptionResolver;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.batches = Timer.builder("twiggle.batch.requests")
+                .description("Time to answer a batch, from its first sub-request to its last")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Answers {@code subRequests} of the batch {@code request}, in their order.
+     *
+     * @throws CustomException with {@code 400} when the batch is too large, a sub-request is not a GET, targets a
+     *     path outside the configured prefixes or repeats another's id
+     */
+    public List<BatchResult> dispatch(HttpServletRequest request, List<BatchRequest.SubRequest> subRequests) {
+        List<String> ids = ids(subRequests);
+        List<URI> targets = new ArrayList<>();
+        List<BatchSubRequest> prepared = new ArrayList<>();
+        for (BatchRequest.SubRequest subRequest : subRequests) {
+            URI target = target(request, subRequest);
+            targets.add(target);
+            prepared.add(prepare(request, target));
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + properties.getTimeout().toNanos();
+        Semaphore permits = new Semaphore(Math.max(1, properties.getParallelism()));
+        AtomicLong budget = new AtomicLong(properties.getMaxBatchResponseSize());
+        ContextSnapshot snapshot = snapshots.captureAll();
+        List<Future<BufferedResponse>> futures = new ArrayList<>();
+        for (BatchSubRequest subRequest : prepared) {
+            futures.add(executor.submit(snapshot.wrap(() -> run(subRequest, permits, budget))));
+        }
+
+        List<BatchResult> results = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            URI target = targets.get(i);
+            BufferedResponse response = await(futures.get(i), deadline, () -> prepare(request, target));
+            HttpStatus.Series series = HttpStatus.Series.resolve(response.status());
+            Counter.builder("twiggle.batch.subrequests")
+                    .description("Requests answered as part of a batch, by outcome")
+                    .tag("outcome", series != null ? series.name() : "UNKNOWN")
+                    .register(meterRegistry)
+                    .increment();
+            results.add(BatchResult.builder()
+                    .id(ids.get(i))
+                    .status(response.status())
+                    .body(response.text())
+                    .build());
+        }
+        batches.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return results;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private List<String> ids(List<BatchRequest.SubRequest> subRequests) {
+        if (subRequests.size() > properties.getMaxRequests()) {
+            throw new CustomException(
+                    "A batch may carry at most " + properties.getMaxRequests() + " requests",
+                    HttpStatus.BAD_REQUEST,
+                    ErrorCode.INVALID_REQUEST);
+        }
+        List<String> ids = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < subRequests.size(); i++) {
+            String id = subRequests.get(i).getId() != null ? subRequests.get(i).getId() : String.valueOf(i);
+            if (!seen.add(id)) {
+                throw new CustomException(
+                        "Request id " + id + " is used more than once in the batch",
+                        HttpStatus.BAD_REQUEST,
+                        ErrorCode.INVALID_ARGUMENT);
+            }
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private URI target(HttpServletRequest request, BatchRequest.SubRequest subRequest) {
+        if (subRequest.getMethod() != null && !HttpMethod.GET.name().equalsIgnoreCase(subRequest.getMethod())) {
+            throw new CustomException(
+                    "Only GET requests can be batched, not " + subRequest.getMethod(),
+                    HttpStatus.BAD_REQUEST,
+                    ErrorCode.INVALID_ARGUMENT);
+        }
+        URI target;
+        try {
+            target = new URI(subRequest.getPath());
+        } catch (URISyntaxException ex) {
+            throw invalidPath(subRequest.getPath());
+        }
+        if (target.getScheme() != null
+                || target.getRawAuthority() != null
+                || target.getRawFragment() != null
+                || target.getRawPath() == null) {
+            throw invalidPath(subRequest.getPath());
+        }
+        // Checked the way handler mapping will see it: decoded and without ;parameters, so that neither hides a
+        // segment from the checks below.
+        String path = UriUtils.decode(
+                UrlPathHelper.defaultInstance.removeSemicolonContent(target.getRawPath()), StandardCharsets.UTF_8);
+        String batchPath = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        if (path.isEmpty()
+                || path.equals(batchPath)
+                || Arrays.stream(path.split("/")).anyMatch(segment -> segment.equals(".") || segment.equals(".."))
+                || properties.getPaths().stream().noneMatch(path::startsWith)) {
+            throw invalidPath(subRequest.getPath());
+        }
+        return target;
+    }
+
+    private BatchSubRequest prepare(HttpServletRequest request, URI target) {
+        try {
+            return new BatchSubRequest(request, target);
+        } catch (IllegalArgumentException ex) {
+            throw invalidPath(target.toString());
+        }
+    }
+
+    private CustomException invalidPath(String path) {
+        return new CustomException(
+                "Cannot batch a request for " + path + "; batched paths must start with one of "
+                        + properties.getPaths(),
+                HttpStatus.BAD_REQUEST,
+                ErrorCode.INVALID_ARGUMENT);
+    }
+
+    private BufferedResponse run(BatchSubRequest request, Semaphore permits, AtomicLong budget)
+            throws InterruptedException {
+        permits.acquire();
+        try {
+            BufferedResponse response = new BufferedResponse(properties.getMaxResponseSize(), budget);
+            try {
+                new SubRequestChain(filters.iterator()).doFilter(request, response);
+            } catch (ServletException | IOException | RuntimeException ex) {
+                if (response.refusal() == null) {
+                    response.reset();
+                    resolve(request, response, ex);
+                }
+            }
+            if (response.refusal() == null) {
+                return response;
+            }
+            // Whatever the handler made of the refusal is dropped, and its budget given back to the batch.
+            response.reset();
+            BufferedResponse refused = new BufferedResponse();
+            resolve(request, refused, refusal(request, response.refusal()));
+            return refused;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private CustomException refusal(HttpServletRequest request, BufferedResponse.Refusal refusal) {
+        return switch (refusal) {
+            case NOT_JSON -> new CustomException(
+                    "The response to " + request.getRequestURI() + " is not JSON; request it on its own",
+                    HttpStatus.NOT_ACCEPTABLE,
+                    ErrorCode.UNSUPPORTED_MEDIA_TYPE);
+            case TOO_LARGE -> new CustomException(
+                    "The response to " + request.getRequestURI() + " exceeds the " + properties.getMaxResponseSize()
+                            + " bytes a batched request, or the " + properties.getMaxBatchResponseSize()
+                            + " bytes a whole batch, may answer with; request it on its own",
+                    HttpStatus.PAYLOAD_TOO_LARGE,
+                    ErrorCode.RESPONSE_TOO_LARGE);
+        };
+    }
+
+    private BufferedResponse await(Future<BufferedResponse> future, long deadline, Supplier<BatchSubRequest> request) {
+        Exception failure;
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            failure = new CustomException(
+                    "The request did not complete within "
+                            + properties.getTimeout().toMillis() + " ms",
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    ErrorCode.SERVICE_UNAVAILABLE);
+        } catch (ExecutionException ex) {
+            failure = ex.getCause() instanceof Exception cause ? cause : ex;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            failure = new CustomException(
+                    "The batch was interrupted", HttpStatus.SERVICE_UNAVAILABLE, ErrorCode.SERVICE_UNAVAILABLE);
+        }
+        // The sub-request may still be running, so the failure is reported on a fresh copy of it.
+        BufferedResponse response = new BufferedResponse();
+        resolve(request.get(), response, failure);
+        return response;
+    }
+
+    private void resolve(HttpServletRequest request, HttpServletResponse response, Exception ex) {
+        if (exceptionResolver.resolveException(request, response, null, ex) == null) {
+            log.warn("Unresolved failure of batched request {}", request.getRequestURI(), ex);
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+    }
+
+    /**
+     * Charges the sub-request a permit of its handler's rate limiter and hands it to the dispatcher; without a
+     * permit it is answered as a rate-limited request would be.
+     */
+    private void handle(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        RateLimiter limiter = rateLimiterFor(request);
+        if (limiter != null && !limiter.acquirePermission()) {
+            resolve(request, response, RequestNotPermitted.createRequestNotPermitted(limiter));
+            return;
+        }
+        dispatcherServlet.service(request, response);
+    }
+
+    private RateLimiter rateLimiterFor(HttpServletRequest request) {
+        Object handler;
+        try {
+            ServletRequestPathUtils.parseAndCache(request);
+            HandlerExecutionChain chain = handlerMapping.getHandler(request);
+            handler = chain != null ? chain.getHandler() : null;
+        } catch (Exception ex) {
+            // No handler takes the request; the dispatcher answers it with the matching error.
+            return null;
+        }
+        if (!(handler instanceof HandlerMethod method)) {
+            return null;
+        }
+        return limiterNames
+                .computeIfAbsent(method.getMethod(), key -> Optional.ofNullable(limiterName(method)))
+                .map(rateLimiterRegistry::rateLimiter)
+                .orElse(null);
+    }
+
+    private static String limiterName(HandlerMethod method) {
+        io.github.resilience4j.ratelimiter.annotation.RateLimiter annotation =
+                AnnotatedElementUtils.findMergedAnnotation(
+                        method.getMethod(), io.github.resilience4j.ratelimiter.annotation.RateLimiter.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(
+                    method.getBeanType(), io.github.resilience4j.ratelimiter.annotation.RateLimiter.class);
+        }
+        return annotation != null ? annotation.name() : null;
+    }
+
+    /** Runs the filters in order, then {@link #handle}. */
+    private final class SubRequestChain implements FilterChain {
+        private final Iterator<Filter> remaining;
+
+        SubRequestChain(Iterator<Filter> remaining) {
+            this.remaining = remaining;
+        }
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+            if (remaining.hasNext()) {
+                remaining.next().doFilter(request, response, this);
+            } else {
+                handle((HttpServletRequest) request, (HttpServletResponse) response);
+            }
+        }
+    }
+}
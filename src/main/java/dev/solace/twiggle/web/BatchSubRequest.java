@@ -0,0 +1,278 @@
+package dev.solace.twiggle.web;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+
+/**
+ * A GET request of a batch, seen by filters and handlers as if it had arrived on its own: it has its own path,
+ * query parameters and attributes, the batch's headers apart from those describing the batch's body, and no body.
+ * Everything it reads from the batch request is copied up front, as it is served on another thread.
+ */
+final class BatchSubRequest extends HttpServletRequestWrapper {
+
+    private static final Set<String> BODY_HEADERS = Set.of(
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.CONTENT_ENCODING,
+            HttpHeaders.TRANSFER_ENCODING);
+
+    private final String requestUri;
+    private final String requestUrl;
+    private final String servletPath;
+    private final String queryString;
+    private final Map<String, String[]> parameters;
+    private final HttpHeaders headers = new HttpHeaders();
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    /**
+     * @throws IllegalArgumentException when the query string is not properly encoded
+     */
+    BatchSubRequest(HttpServletRequest batch, URI target) {
+        super(batch);
+        this.requestUri = batch.getContextPath() + target.getRawPath();
+        this.requestUrl = batch.getScheme() + "://" + batch.getServerName() + ":" + batch.getServerPort() + requestUri;
+        this.servletPath = target.getPath();
+        this.queryString = target.getRawQuery();
+        this.parameters = parse(queryString);
+        for (String name : Collections.list(batch.getHeaderNames())) {
+            if (BODY_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                headers.addAll(name, Collections.list(batch.getHeaders(name)));
+            }
+        }
+    }
+
+    @Override
+    public String getMethod() {
+        return HttpMethod.GET.name();
+    }
+
+    @Override
+    public String getRequestURI() {
+        return requestUri;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        return new StringBuffer(requestUrl);
+    }
+
+    @Override
+    public String getServletPath() {
+        return servletPath;
+    }
+
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+
+    @Override
+    public String getPathTranslated() {
+        return null;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters.get(name);
+        return values != null ? values[0] : null;
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return parameters;
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        String[] values = parameters.get(name);
+        return values != null ? values.clone() : null;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return headers.getFirst(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        return Collections.enumeration(headers.getOrEmpty(name));
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(headers.keySet());
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = headers.getFirst(name);
+        return value != null ? Integer.parseInt(value) : -1;
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        return headers.getFirstDate(name);
+    }
+
+    @Override
+    public String getContentType() {
+        return null;
+    }
+
+    @Override
+    public int getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return -1;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return null;
+    }
+
+    @Override
+    public void setCharacterEncoding(String encoding) {
+        // There is no body to decode.
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return true;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new IllegalStateException("A batched request has no body to read asynchronously");
+            }
+
+            @Override
+            public int read() {
+                return -1;
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new StringReader(""));
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(new ArrayList<>(attributes.keySet()));
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public DispatcherType getDispatcherType() {
+        return DispatcherType.REQUEST;
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        return false;
+    }
+
+    @Override
+    public boolean isAsyncStarted() {
+        return false;
+    }
+
+    @Override
+    public AsyncContext startAsync() {
+        throw new IllegalStateException("Streaming responses cannot be batched");
+    }
+
+    @Override
+    public AsyncContext startAsync(ServletRequest request, ServletResponse response) {
+        throw new IllegalStateException("Streaming responses cannot be batched");
+    }
+
+    @Override
+    public AsyncContext getAsyncContext() {
+        throw new IllegalStateException("Streaming responses cannot be batched");
+    }
+
+    private static Map<String, String[]> parse(String queryString) {
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        if (queryString != null) {
+            for (String pair : queryString.split("&")) {
+                if (pair.isEmpty()) {
+                    continue;
+                }
+                int separator = pair.indexOf('=');
+                String name = decode(separator < 0 ? pair : pair.substring(0, separator));
+                String value = separator < 0 ? "" : decode(pair.substring(separator + 1));
+                values.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+            }
+        }
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        values.forEach((name, list) -> parameters.put(name, list.toArray(String[]::new)));
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,399 @@
+package dev.solace.twiggle.web;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+/**
+ * Response of a batched request, kept in memory until the batch is answered. Nothing is ever committed, so error
+ * handling may still replace it once a handler has written to it.
+ *
+ * <p>Only JSON is buffered, and only up to {@code maxBodySize} bytes and what is left of the batch's shared budget.
+ * A response declared as anything else, or written beyond either bound, is {@linkplain #refusal() refused}: the
+ * offending write fails with an {@link IOException}, as would a write to a client that has gone away, and so does
+ * every write after it, so that no more of the body is held than the bounds allow.
+ */
+final class BufferedResponse implements HttpServletResponse {
+
+    /** Why a response was refused. */
+    enum Refusal {
+        NOT_JSON,
+        TOO_LARGE
+    }
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private final long maxBodySize;
+    private final AtomicLong batchRemaining;
+    private Refusal refusal;
+    private HttpHeaders headers = new HttpHeaders();
+    private int status = HttpStatus.OK.value();
+    private Charset charset;
+    private String contentType;
+    private Locale locale = Locale.getDefault();
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    /** A response without bounds, for answers the batch makes up itself. */
+    BufferedResponse() {
+        this(Long.MAX_VALUE, new AtomicLong(Long.MAX_VALUE));
+    }
+
+    /**
+     * @param maxBodySize the largest body this response may hold
+     * @param batchRemaining the bytes all responses of the batch may still hold together, charged as they are
+     *     written and given back as they are discarded
+     */
+    BufferedResponse(long maxBodySize, AtomicLong batchRemaining) {
+        this.maxBodySize = maxBodySize;
+        this.batchRemaining = batchRemaining;
+    }
+
+    /** Why the response was refused, or {@code null} while it was not. */
+    Refusal refusal() {
+        return refusal;
+    }
+
+    int status() {
+        return status;
+    }
+
+    /** The body as text, or {@code null} when nothing was written. */
+    String text() {
+        if (writer != null) {
+            writer.flush();
+        }
+        return body.size() > 0 ? body.toString(charset != null ? charset : StandardCharsets.UTF_8) : null;
+    }
+
+    private static boolean isJson(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            return "json".equals(mediaType.getSubtype()) || "json".equals(mediaType.getSubtypeSuffix());
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
+    }
+
+    /** Charges {@code length} more bytes of body, or refuses the response when they do not fit. */
+    private void charge(int length) throws IOException {
+        if (refusal == null && !isJson(contentType)) {
+            refusal = Refusal.NOT_JSON;
+        }
+        if (refusal == null && body.size() + (long) length > maxBodySize) {
+            refusal = Refusal.TOO_LARGE;
+        } else if (refusal == null && batchRemaining.addAndGet(-length) < 0) {
+            batchRemaining.addAndGet(length);
+            refusal = Refusal.TOO_LARGE;
+        }
+        if (refusal != null) {
+            throw new IOException("The batched response was refused: " + refusal);
+        }
+    }
+
+    @Override
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public void sendError(int status, String message) {
+        sendError(status);
+    }
+
+    @Override
+    public void sendError(int status) {
+        resetBuffer();
+        this.status = status;
+    }
+
+    @Override
+    public void sendRedirect(String location) {
+        resetBuffer();
+        headers.set(HttpHeaders.LOCATION, location);
+        this.status = HttpStatus.FOUND.value();
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+            setContentType(value);
+        } else if (value == null) {
+            headers.remove(name);
+        } else {
+            headers.set(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+            setContentType(value);
+        } else if (value != null) {
+            headers.add(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        setHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        addHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        setHeader(name, formatDate(date));
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        addHeader(name, formatDate(date));
+    }
+
+    @Override
+    public boolean containsHeader(String name) {
+        return headers.containsKey(name) || (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) && contentType != null);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) ? contentType : headers.getFirst(name);
+    }
+
+    @Override
+    public Collection<String> getHeaders(String name) {
+        if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+            return contentType != null ? List.of(contentType) : List.of();
+        }
+        return new ArrayList<>(headers.getOrEmpty(name));
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+        List<String> names = new ArrayList<>(headers.keySet());
+        if (contentType != null) {
+            names.add(HttpHeaders.CONTENT_TYPE);
+        }
+        return names;
+    }
+
+    @Override
+    public void addCookie(Cookie cookie) {
+        // Cookies of batched requests are not passed on.
+    }
+
+    @Override
+    public String encodeURL(String url) {
+        return url;
+    }
+
+    @Override
+    public String encodeRedirectURL(String url) {
+        return url;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return (charset != null ? charset : StandardCharsets.ISO_8859_1).name();
+    }
+
+    @Override
+    public void setCharacterEncoding(String encoding) {
+        if (writer == null) {
+            this.charset = encoding != null ? Charset.forName(encoding) : null;
+        }
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public void setContentType(String type) {
+        this.contentType = type;
+        if (type == null) {
+            return;
+        }
+        if (refusal == null && !isJson(type)) {
+            // Refused before any of the body is buffered; setting the type again cannot lift that.
+            refusal = Refusal.NOT_JSON;
+        }
+        try {
+            Charset declared = MediaType.parseMediaType(type).getCharset();
+            if (declared != null && writer == null) {
+                this.charset = declared;
+            }
+        } catch (InvalidMediaTypeException ex) {
+            // Kept as given; it is not JSON either way.
+        }
+    }
+
+    @Override
+    public void setContentLength(int length) {
+        setContentLengthLong(length);
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+        // The length of the buffered body is known without it, but a declared one lets a large body be refused
+        // before any of it is written.
+        if (refusal == null && length > maxBodySize) {
+            refusal = Refusal.TOO_LARGE;
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called");
+        }
+        if (outputStream == null) {
+            outputStream = new ServletOutputStream() {
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    throw new IllegalStateException("A batched response cannot be written asynchronously");
+                }
+
+                @Override
+                public void write(int b) throws IOException {
+                    charge(1);
+                    body.write(b);
+                }
+
+                @Override
+                public void write(byte[] bytes, int offset, int length) throws IOException {
+                    charge(length);
+                    body.write(bytes, offset, length);
+                }
+            };
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (outputStream != null) {
+            throw new IllegalStateException("getOutputStream() has already been called");
+        }
+        if (writer == null) {
+            if (charset == null) {
+                charset = StandardCharsets.UTF_8;
+            }
+            writer = new PrintWriter(new OutputStreamWriter(
+                    new OutputStream() {
+                        @Override
+                        public void write(int b) throws IOException {
+                            charge(1);
+                            body.write(b);
+                        }
+
+                        @Override
+                        public void write(byte[] bytes, int offset, int length) throws IOException {
+                            charge(length);
+                            body.write(bytes, offset, length);
+                        }
+                    },
+                    charset));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setBufferSize(int size) {
+        // Everything is buffered.
+    }
+
+    @Override
+    public int getBufferSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void flushBuffer() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (writer != null) {
+            writer.flush();
+        }
+        batchRemaining.addAndGet(body.size());
+        body.reset();
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return false;
+    }
+
+    @Override
+    public void reset() {
+        // A refusal outlives the reset: the handler's own error handling must not start the body over.
+        resetBuffer();
+        headers = new HttpHeaders();
+        status = HttpStatus.OK.value();
+        contentType = null;
+        charset = null;
+        // Unlike a response on the wire, a replaced body may be written either way again.
+        writer = null;
+        outputStream = null;
+    }
+
+    @Override
+    public void setLocale(Locale locale) {
+        if (locale != null) {
+            this.locale = locale;
+        }
+    }
+
+    @Override
+    public Locale getLocale() {
+        return locale;
+    }
+
+    private static String formatDate(long date) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                ZonedDateTime.ofInstant(Instant.ofEpochMilli(date), ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,116 @@
+package dev.solace.twiggle.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.solace.twiggle.config.ConcurrencyLimitProperties;
+import dev.solace.twiggle.exception.ApiErrorResponse;
+import dev.solace.twiggle.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Sheds requests beyond the {@link AdaptiveConcurrencyLimiter}'s current limit with {@code 429} and
+ * {@link ErrorCode#RATE_LIMIT_EXCEEDED}.
+ *
+ * <p>Shedding is what the filter is for under overload, so the {@link ApiErrorResponse} is written here rather than
+ * by the regular exception handling, which would log every shed request as an error; shed requests are only
+ * counted.
+ *
+ * <p>Exempt paths such as health probes are always admitted and not counted. They are matched by whole segments
+ * against the decoded path without {@code ;parameters}, as handler mapping sees it, and a path with {@code .} or
+ * {@code ..} segments is never exempt, so that none of these can sneak another request past the limit. Async requests (reminder streams)
+ * hold their slot only until the initial dispatch returns, so parked connections do not use up the limit.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ConcurrencyLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Counter rejected;
+
+    public ConcurrencyLimitFilter(
+            AdaptiveConcurrencyLimiter limiter,
+            ConcurrencyLimitProperties properties,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.rejected = Counter.builder("twiggle.concurrency.rejected")
+                .description("Requests shed by the adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("twiggle.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("twiggle.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Requests currently counted against the concurrency limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        if (Arrays.stream(path.split("/")).anyMatch(segment -> segment.equals(".") || segment.equals(".."))) {
+            return false;
+        }
+        return properties.getExemptPaths().stream().anyMatch(exempt -> isWithin(path, exempt));
+    }
+
+    private static boolean isWithin(String path, String exempt) {
+        String prefix = exempt.endsWith("/") ? exempt.substring(0, exempt.length() - 1) : exempt;
+        return path.equals(prefix) || path.startsWith(prefix + "/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain chain)
+            throws ServletException, IOException {
+        long start = limiter.tryAcquire();
+        if (start < 0) {
+            rejected.increment();
+            shed(request, response);
+            return;
+        }
+        boolean completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+        } finally {
+            // Fast failures (429s from the fixed limits, 5xx) would drag the latency baseline down.
+            int status = response.getStatus();
+            limiter.release(start, completed && status < 500 && status != HttpStatus.TOO_MANY_REQUESTS.value());
+        }
+    }
+
+    private void shed(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        ApiErrorResponse body = ApiErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .code(ErrorCode.RATE_LIMIT_EXCEEDED.name())
+                .message("Server is at capacity. Please try again shortly.")
+                .path("uri=" + request.getRequestURI())
+                .details(List.of())
+                .suggestion(ErrorCode.RATE_LIMIT_EXCEEDED.getSuggestion())
+                .build();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
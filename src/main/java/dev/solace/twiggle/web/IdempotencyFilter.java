@@ -0,0 +1,299 @@
+package dev.solace.twiggle.web;
+
+import dev.solace.twiggle.config.IdempotencyProperties;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.idempotency.IdempotencyRecord;
+import dev.solace.twiggle.security.AuthenticatedUser;
+import dev.solace.twiggle.service.idempotency.IdempotencyStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UriUtils;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Makes POST requests carrying an {@code Idempotency-Key} header safe to retry.
+ *
+ * <p>The first request with a key runs normally. If it answers {@code 201 Created} (the responses built by
+ * {@code ResponseUtil.created}) the response is stored, and later requests with the same key, method and path get
+ * it replayed with an {@code Idempotent-Replayed: true} header instead of running again. Any other outcome releases
+ * the key, so a retry after an error runs again. A duplicate arriving while the first request is still running
+ * waits for it up to {@code waitTimeout}, then gets {@code 409} with {@link ErrorCode#REQUEST_IN_PROGRESS}. Reusing a
+ * key with a different body is rejected with {@code 422} and {@link ErrorCode#IDEMPOTENCY_KEY_REUSED}.
+ *
+ * <p>Keys are scoped to the {@link AuthenticatedUser} when there is one, so callers cannot replay each other's
+ * responses by guessing keys. The body is read to hash it, at most {@code maxBodySize} bytes of it; larger requests
+ * are rejected with {@code 413}.
+ *
+ * <p>Multipart uploads are passed through untouched: matching them would mean buffering the whole body to hash it,
+ * which is exactly what streaming them avoids.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final MeterRegistry meterRegistry;
+
+    public IdempotencyFilter(
+            IdempotencyStore store,
+            IdempotencyProperties properties,
+            HandlerExceptionResolver exceptionResolver,
+            MeterRegistry meterRegistry) {
+        this.store = store;
+        this.properties = properties;
+        this.exceptionResolver = exceptionResolver;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/")) {
+            return true;
+        }
+        String path = path(request);
+        return properties.getPaths().stream().noneMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > properties.getMaxKeyLength()) {
+            reject(
+                    request,
+                    response,
+                    new CustomException(
+                            "The Idempotency-Key header must be between 1 and " + properties.getMaxKeyLength()
+                                    + " characters",
+                            HttpStatus.BAD_REQUEST,
+                            ErrorCode.INVALID_ARGUMENT));
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(properties.getMaxBodySize() + 1);
+        if (body.length > properties.getMaxBodySize()) {
+            outcome("too-large").increment();
+            reject(
+                    request,
+                    response,
+                    new CustomException(
+                            "Requests with an Idempotency-Key may be at most " + properties.getMaxBodySize() + " bytes",
+                            HttpStatus.PAYLOAD_TOO_LARGE,
+                            ErrorCode.PAYLOAD_TOO_LARGE));
+            return;
+        }
+        String key = request.getMethod() + " " + path(request) + " " + owner(request) + " " + idempotencyKey;
+        String requestHash = sha256(body);
+
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+        boolean waited = false;
+        while (true) {
+            IdempotencyStore.Claim claim;
+            try {
+                claim = store.claim(key, requestHash);
+            } catch (CustomException ex) {
+                // The database is unavailable; running without the key could run the request twice.
+                reject(request, response, ex);
+                return;
+            }
+            IdempotencyRecord record = claim.record();
+            if (record != null && !record.getRequestHash().equals(requestHash)) {
+                outcome("mismatched").increment();
+                reject(
+                        request,
+                        response,
+                        new CustomException(
+                                "The Idempotency-Key was already used for a different request",
+                                HttpStatus.UNPROCESSABLE_ENTITY,
+                                ErrorCode.IDEMPOTENCY_KEY_REUSED));
+                return;
+            }
+            switch (claim.outcome()) {
+                case ACQUIRED -> {
+                    outcome(waited ? "executed-after-wait" : "executed").increment();
+                    execute(new CachedBodyRequest(request, body), response, chain, key, record.getLockToken());
+                    return;
+                }
+                case COMPLETED -> {
+                    outcome(waited ? "replayed-after-wait" : "replayed").increment();
+                    replay(record, response);
+                    return;
+                }
+                case IN_FLIGHT -> {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 || !store.await(key, Duration.ofNanos(remaining))) {
+                        outcome("timed-out").increment();
+                        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                        reject(
+                                request,
+                                response,
+                                new CustomException(
+                                        "A request with this Idempotency-Key is still in progress",
+                                        HttpStatus.CONFLICT,
+                                        ErrorCode.REQUEST_IN_PROGRESS));
+                        return;
+                    }
+                    waited = true;
+                }
+            }
+        }
+    }
+
+    private void execute(
+            HttpServletRequest request, HttpServletResponse response, FilterChain chain, String key, String lockToken)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(request, wrapper);
+            if (wrapper.getStatus() == HttpStatus.CREATED.value()
+                    && !request.isAsyncStarted()
+                    && wrapper.getContentSize() <= properties.getMaxResponseSize()) {
+                store.complete(
+                        key, lockToken, wrapper.getStatus(), wrapper.getContentType(), wrapper.getContentAsByteArray());
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.abandon(key, lockToken);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(IdempotencyRecord record, HttpServletResponse response) throws IOException {
+        response.setStatus(record.getResponseStatus());
+        if (record.getContentType() != null) {
+            response.setContentType(record.getContentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        byte[] body = record.getResponseBody() != null ? record.getResponseBody() : new byte[0];
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, CustomException ex) {
+        exceptionResolver.resolveException(request, response, null, ex);
+    }
+
+    private Counter outcome(String outcome) {
+        return Counter.builder("twiggle.idempotency.requests")
+                .description("Requests carrying an Idempotency-Key, by how they were answered")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /** The encoded subject of the caller, which holds no spaces, or {@code *} when no one is authenticated. */
+    private static String owner(HttpServletRequest request) {
+        return AuthenticatedUser.from(request)
+                .map(user -> UriUtils.encode(user.subject(), StandardCharsets.UTF_8))
+                .orElse("*");
+    }
+
+    /** The path as handler mapping sees it: decoded and without {@code ;parameters}. */
+    private static String path(HttpServletRequest request) {
+        return UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+    }
+
+    static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * Serves the already consumed body to the rest of the chain.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Non-blocking reads are not supported");
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(@NonNull byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(
+                    getInputStream(), encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
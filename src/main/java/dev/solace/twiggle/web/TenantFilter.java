@@ -0,0 +1,152 @@
+package dev.solace.twiggle.web;
+
+import dev.solace.twiggle.config.TenancyProperties;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.tenant.PlacementState;
+import dev.solace.twiggle.model.tenant.TenantPlacement;
+import dev.solace.twiggle.security.AuthenticatedUser;
+import dev.solace.twiggle.tenant.TenantContext;
+import dev.solace.twiggle.tenant.TenantDirectory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/**
+ * Binds the tenant named by the tenant header to the request, so that its data access goes to the tenant's
+ * database. Requests without the header use the home database.
+ *
+ * <p>With authentication on, the header is not trusted on its own: the tenant comes from the verified token's tenant
+ * claim, and a header naming any other tenant, or sent without a token naming one, is rejected with {@code 403}.
+ *
+ * <p>A malformed tenant id is rejected with {@code 400}, an unknown tenant with {@code 404} unless tenants are
+ * placed on first use, and a tenant frozen for a move between clusters with {@code 503} and {@code Retry-After}.
+ * Request times are recorded per tenant as {@code twiggle.tenant.requests}; tenants beyond
+ * {@code maxTaggedTenants} share the {@code other} tag.
+ */
+public class TenantFilter extends OncePerRequestFilter {
+
+    static final String OTHER_TENANTS = "other";
+
+    private final TenantDirectory directory;
+    private final TenancyProperties properties;
+    private final boolean verifiedTenantsOnly;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> taggedTenants = ConcurrentHashMap.newKeySet();
+
+    public TenantFilter(
+            TenantDirectory directory,
+            TenancyProperties properties,
+            boolean verifiedTenantsOnly,
+            HandlerExceptionResolver exceptionResolver,
+            MeterRegistry meterRegistry) {
+        this.directory = directory;
+        this.properties = properties;
+        this.verifiedTenantsOnly = verifiedTenantsOnly;
+        this.exceptionResolver = exceptionResolver;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getHeader(properties.getHeader()) == null && verifiedTenant(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain chain)
+            throws ServletException, IOException {
+        String tenant = request.getHeader(properties.getHeader());
+        if (verifiedTenantsOnly) {
+            String verified = verifiedTenant(request);
+            if (verified == null || (tenant != null && !tenant.equals(verified))) {
+                reject(
+                        request,
+                        response,
+                        new CustomException(
+                                "The bearer token does not grant access to tenant " + tenant,
+                                HttpStatus.FORBIDDEN,
+                                ErrorCode.ACCESS_DENIED));
+                return;
+            }
+            tenant = verified;
+        }
+        if (!TenantDirectory.isValidTenantId(tenant)) {
+            reject(
+                    request,
+                    response,
+                    new CustomException(
+                            "The " + properties.getHeader()
+                                    + " header must be 1-40 lowercase letters, digits or dashes",
+                            HttpStatus.BAD_REQUEST,
+                            ErrorCode.INVALID_ARGUMENT));
+            return;
+        }
+        TenantPlacement placement;
+        try {
+            placement = directory.placementOf(tenant);
+        } catch (CustomException ex) {
+            reject(request, response, ex);
+            return;
+        }
+        if (placement.getState() == PlacementState.FROZEN) {
+            response.setHeader(
+                    HttpHeaders.RETRY_AFTER,
+                    String.valueOf(Math.max(1, properties.getPlacementCacheTtl().toSeconds())));
+            reject(
+                    request,
+                    response,
+                    new CustomException(
+                            "Tenant " + tenant + " is moving to another cluster",
+                            HttpStatus.SERVICE_UNAVAILABLE,
+                            ErrorCode.SERVICE_UNAVAILABLE));
+            return;
+        }
+
+        long start = System.nanoTime();
+        try (TenantContext.Scope ignored = TenantContext.open(tenant)) {
+            chain.doFilter(request, response);
+        } finally {
+            HttpStatus.Series series = HttpStatus.Series.resolve(response.getStatus());
+            Timer.builder("twiggle.tenant.requests")
+                    .description("Requests served per tenant")
+                    .tag("tenant", tag(tenant))
+                    .tag("outcome", series != null ? series.name() : "UNKNOWN")
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private String verifiedTenant(HttpServletRequest request) {
+        return verifiedTenantsOnly
+                ? AuthenticatedUser.from(request).map(AuthenticatedUser::tenant).orElse(null)
+                : null;
+    }
+
+    private String tag(String tenant) {
+        if (taggedTenants.contains(tenant)) {
+            return tenant;
+        }
+        if (taggedTenants.size() < properties.getMaxTaggedTenants() && taggedTenants.add(tenant)) {
+            return tenant;
+        }
+        return taggedTenants.contains(tenant) ? tenant : OTHER_TENANTS;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, CustomException ex) {
+        exceptionResolver.resolveException(request, response, null, ex);
+    }
+}
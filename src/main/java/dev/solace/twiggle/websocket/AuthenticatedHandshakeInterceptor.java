@@ -0,0 +1,44 @@
+package dev.solace.twiggle.websocket;
+
+import dev.solace.twiggle.security.AuthenticatedUser;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+/**
+ * Refuses handshakes that were not authenticated by the bearer token filter, so a socket cannot be opened past it
+ * even if its path is left out of {@code twiggle.security.paths}. Gardens have no owner of their own: as on the layout
+ * REST endpoint, any authenticated caller may follow the gardens of the tenant its token grants.
+ */
+public class AuthenticatedHandshakeInterceptor implements HandshakeInterceptor {
+
+    static final String USER_ATTRIBUTE = "user";
+
+    @Override
+    public boolean beforeHandshake(
+            ServerHttpRequest request,
+            ServerHttpResponse response,
+            WebSocketHandler wsHandler,
+            Map<String, Object> attributes) {
+        Optional<AuthenticatedUser> user = request instanceof ServletServerHttpRequest servletRequest
+                ? AuthenticatedUser.from(servletRequest.getServletRequest())
+                : Optional.empty();
+        if (user.isEmpty()) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+        attributes.put(USER_ATTRIBUTE, user.get());
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(
+            ServerHttpRequest request, ServerHttpResponse response, WebSocketHandler wsHandler, Exception exception) {
+        // Nothing to clean up.
+    }
+}
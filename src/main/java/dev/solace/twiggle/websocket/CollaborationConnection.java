@@ -0,0 +1,113 @@
+package dev.solace.twiggle.websocket;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * One editor's socket with a bounded send queue. Frames are written by at most one task at a time, so the tick
+ * thread never blocks on a slow network peer. The socket is closed by that same task, since a session must not be
+ * closed while a frame is being written to it.
+ */
+@Slf4j
+class CollaborationConnection {
+
+    private final WebSocketSession session;
+    private final BlockingQueue<Frame> queue;
+    private final Executor sendExecutor;
+    private final CollaborationMetrics metrics;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicReference<CloseStatus> pendingClose = new AtomicReference<>();
+
+    CollaborationConnection(
+            WebSocketSession session, int queueCapacity, Executor sendExecutor, CollaborationMetrics metrics) {
+        this.session = session;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.sendExecutor = sendExecutor;
+        this.metrics = metrics;
+    }
+
+    WebSocketSession session() {
+        return session;
+    }
+
+    /**
+     * Queues a frame without blocking. A full queue means the peer cannot keep up; since it would miss deltas
+     * anyway, it is disconnected and expected to reload the layout when it reconnects.
+     */
+    void enqueue(Frame frame) {
+        if (closed.get()) {
+            return;
+        }
+        if (!queue.offer(frame)) {
+            metrics.frameDropped();
+            metrics.slowConsumerClosed();
+            close(CloseStatus.SESSION_NOT_RELIABLE.withReason("Send queue overflow"));
+            return;
+        }
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            sendExecutor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            Frame frame;
+            while (!closed.get() && (frame = queue.poll()) != null) {
+                session.sendMessage(frame.message());
+                metrics.frameSent(System.nanoTime() - frame.oldestEventNanos());
+            }
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Sending to collaboration session {} failed", session.getId(), ex);
+            close(CloseStatus.SESSION_NOT_RELIABLE);
+        } finally {
+            closeIfPending();
+            draining.set(false);
+            // A close or frame that arrived while this task was finishing could not schedule its own.
+            if (pendingClose.get() != null || (!closed.get() && !queue.isEmpty())) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    /**
+     * Closes the socket once any frame being written has been sent. Nothing is sent after this is called.
+     */
+    void close(CloseStatus status) {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        queue.clear();
+        pendingClose.set(status);
+        scheduleDrain();
+    }
+
+    private void closeIfPending() {
+        CloseStatus status = pendingClose.getAndSet(null);
+        if (status == null) {
+            return;
+        }
+        try {
+            session.close(status);
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Closing collaboration session {} failed", session.getId(), ex);
+        }
+    }
+
+    /**
+     * A serialized frame shared by every connection of a garden, with the publish time of its oldest delta.
+     */
+    record Frame(TextMessage message, long oldestEventNanos) {}
+}
@@ -0,0 +1,48 @@
+package dev.solace.twiggle.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Meters for collaborative layout broadcasting.
+ */
+class CollaborationMetrics {
+
+    private final Timer fanOutLatency;
+    private final Counter framesDropped;
+    private final Counter slowConsumers;
+
+    CollaborationMetrics(MeterRegistry meterRegistry, Supplier<Number> connections) {
+        this.fanOutLatency = Timer.builder("twiggle.collab.fanout.latency")
+                .description("Time from a layout delta being accepted to its frame being written to an editor")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.framesDropped = Counter.builder("twiggle.collab.frames.dropped")
+                .description("Frames dropped because an editor's send queue was full")
+                .register(meterRegistry);
+        this.slowConsumers = Counter.builder("twiggle.collab.slow.consumers")
+                .description("Editors disconnected for not keeping up with the broadcast")
+                .register(meterRegistry);
+        Gauge.builder("twiggle.collab.connections", connections, supplier -> supplier.get()
+                        .doubleValue())
+                .description("Open collaboration sockets")
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    void frameSent(long latencyNanos) {
+        fanOutLatency.record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void frameDropped() {
+        framesDropped.increment();
+    }
+
+    void slowConsumerClosed() {
+        slowConsumers.increment();
+    }
+}
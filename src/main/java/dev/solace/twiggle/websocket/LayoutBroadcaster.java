@@ -0,0 +1,164 @@
+package dev.solace.twiggle.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.solace.twiggle.config.CollaborationProperties;
+import dev.solace.twiggle.service.layout.LayoutChangedEvent;
+import dev.solace.twiggle.tenant.TenantContext;
+import dev.solace.twiggle.tenant.TenantKey;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * Fans accepted layout deltas out to every editor connected to the same garden.
+ *
+ * <p>Deltas are only buffered when a garden has editors. On every tick the buffer of each garden is drained into
+ * a single frame, serialized once and queued on each of its connections, so a burst of edits costs one write per
+ * editor per tick rather than one per edit.
+ *
+ * <p>Deltas come from {@link LayoutChangedEvent}s, which are local to this instance. They are published on the
+ * editing request's thread, so a garden's channel is keyed by the tenant bound there together with the garden id.
+ *
+ * <p>Deltas are not shared between instances: an editor only hears about edits made through the instance its socket
+ * is connected to. Behind more than one instance, the load balancer must route a garden's sockets and layout edits
+ * to the same instance (for example by hashing the garden id in the path); otherwise editors miss deltas until they
+ * reload the layout.
+ */
+@Slf4j
+@Component
+public class LayoutBroadcaster implements DisposableBean {
+
+    private static final Duration SHUTDOWN_GRACE = Duration.ofSeconds(1);
+
+    private final CollaborationProperties properties;
+    private final ObjectMapper objectMapper;
+    private final CollaborationMetrics metrics;
+    private final Map<TenantKey, GardenChannel> channels = new ConcurrentHashMap<>();
+    private final Map<String, CollaborationConnection> connections = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker;
+    private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public LayoutBroadcaster(
+            CollaborationProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.metrics = new CollaborationMetrics(meterRegistry, connections::size);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("collab-tick-");
+        threadFactory.setDaemon(true);
+        this.ticker = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        long tickMillis = properties.getTick().toMillis();
+        ticker.scheduleAtFixedRate(this::safeTick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void register(String gardenId, WebSocketSession session) {
+        CollaborationConnection connection =
+                new CollaborationConnection(session, properties.getSendQueueCapacity(), sendExecutor, metrics);
+        connections.put(session.getId(), connection);
+        channels.compute(new TenantKey(TenantHandshakeInterceptor.tenantOf(session), gardenId), (key, channel) -> {
+            GardenChannel target = channel != null ? channel : new GardenChannel();
+            target.connections.add(connection);
+            return target;
+        });
+    }
+
+    public void unregister(String gardenId, WebSocketSession session) {
+        CollaborationConnection connection = connections.remove(session.getId());
+        if (connection == null) {
+            return;
+        }
+        channels.computeIfPresent(
+                new TenantKey(TenantHandshakeInterceptor.tenantOf(session), gardenId), (key, channel) -> {
+                    channel.connections.remove(connection);
+                    return channel.connections.isEmpty() ? null : channel;
+                });
+    }
+
+    @EventListener
+    public void onLayoutChanged(LayoutChangedEvent event) {
+        GardenChannel channel = channels.get(new TenantKey(TenantContext.current(), event.gardenId()));
+        if (channel != null) {
+            channel.pending.add(new PendingDelta(event, System.nanoTime()));
+        }
+    }
+
+    public int connectionCount() {
+        return connections.size();
+    }
+
+    private void safeTick() {
+        try {
+            tick();
+        } catch (RuntimeException ex) {
+            // An exception would cancel the fixed-rate schedule.
+            log.error("Layout broadcast tick failed", ex);
+        }
+    }
+
+    void tick() {
+        channels.forEach((key, channel) -> {
+            List<PendingDelta> batch = new ArrayList<>();
+            PendingDelta delta;
+            while ((delta = channel.pending.poll()) != null) {
+                batch.add(delta);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            // Different request threads may have published out of order.
+            batch.sort(Comparator.comparingLong(pending -> pending.event().version()));
+            long oldest =
+                    batch.stream().mapToLong(PendingDelta::publishedNanos).min().orElseThrow();
+            CollaborationConnection.Frame frame = new CollaborationConnection.Frame(
+                    new TextMessage(serialize(new LayoutDeltaFrame(
+                            key.id(), batch.stream().map(PendingDelta::event).toList()))),
+                    oldest);
+            channel.connections.forEach(connection -> connection.enqueue(frame));
+        });
+    }
+
+    private String serialize(LayoutDeltaFrame frame) {
+        try {
+            return objectMapper.writeValueAsString(frame);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize layout frame", ex);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        ticker.shutdownNow();
+        connections.values().forEach(connection -> connection.close(CloseStatus.GOING_AWAY));
+        // Sockets are closed by their send tasks, which are given a moment to do so.
+        sendExecutor.shutdown();
+        if (!sendExecutor.awaitTermination(SHUTDOWN_GRACE.toMillis(), TimeUnit.MILLISECONDS)) {
+            sendExecutor.shutdownNow();
+        }
+    }
+
+    private static final class GardenChannel {
+        private final Set<CollaborationConnection> connections = ConcurrentHashMap.newKeySet();
+        private final Queue<PendingDelta> pending = new ConcurrentLinkedQueue<>();
+    }
+
+    private record PendingDelta(LayoutChangedEvent event, long publishedNanos) {}
+}
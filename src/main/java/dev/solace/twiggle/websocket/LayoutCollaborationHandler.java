@@ -0,0 +1,57 @@
+package dev.solace.twiggle.websocket;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriTemplate;
+
+/**
+ * Broadcast-only socket at {@value #PATH}. Editors keep writing through the layout REST endpoint and receive every
+ * accepted delta of the garden here; inbound messages are ignored.
+ */
+public class LayoutCollaborationHandler extends TextWebSocketHandler {
+
+    public static final String PATH = "/ws/gardens/{gardenId}/layout";
+
+    private static final UriTemplate PATH_TEMPLATE = new UriTemplate(PATH);
+    private static final String GARDEN_ID_ATTRIBUTE = "gardenId";
+
+    private final LayoutBroadcaster broadcaster;
+
+    public LayoutCollaborationHandler(LayoutBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        String gardenId = gardenId(session);
+        if (gardenId == null) {
+            session.close(CloseStatus.BAD_DATA.withReason("Unknown garden"));
+            return;
+        }
+        session.getAttributes().put(GARDEN_ID_ATTRIBUTE, gardenId);
+        broadcaster.register(gardenId, session);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        // Broadcast only; edits go through PATCH /api/v1/gardens/{gardenId}/layout.
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Object gardenId = session.getAttributes().get(GARDEN_ID_ATTRIBUTE);
+        if (gardenId != null) {
+            broadcaster.unregister(gardenId.toString(), session);
+        }
+    }
+
+    static String gardenId(WebSocketSession session) {
+        if (session.getUri() == null || !PATH_TEMPLATE.matches(session.getUri().getPath())) {
+            return null;
+        }
+        String gardenId = PATH_TEMPLATE.match(session.getUri().getPath()).get("gardenId");
+        return gardenId == null || gardenId.isBlank() ? null : gardenId;
+    }
+}
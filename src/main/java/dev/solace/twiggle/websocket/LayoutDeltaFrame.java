@@ -0,0 +1,17 @@
+package dev.solace.twiggle.websocket;
+
+import dev.solace.twiggle.service.layout.LayoutChangedEvent;
+import java.util.List;
+
+/**
+ * Frame pushed to editors of a garden: every delta accepted since the previous tick, in version order. A gap
+ * between the versions a client holds and the first delta means it must reload the layout.
+ */
+public record LayoutDeltaFrame(String type, String gardenId, List<LayoutChangedEvent> deltas) {
+
+    public static final String TYPE = "layout-deltas";
+
+    public LayoutDeltaFrame(String gardenId, List<LayoutChangedEvent> deltas) {
+        this(TYPE, gardenId, deltas);
+    }
+}
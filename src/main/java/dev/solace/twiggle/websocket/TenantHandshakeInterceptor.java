@@ -0,0 +1,39 @@
+package dev.solace.twiggle.websocket;
+
+import dev.solace.twiggle.tenant.TenantContext;
+import java.util.Map;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+/**
+ * Keeps the tenant the handshake request was bound to with the session, since the session outlives the request.
+ */
+public class TenantHandshakeInterceptor implements HandshakeInterceptor {
+
+    static final String TENANT_ATTRIBUTE = "tenant";
+
+    @Override
+    public boolean beforeHandshake(
+            ServerHttpRequest request,
+            ServerHttpResponse response,
+            WebSocketHandler wsHandler,
+            Map<String, Object> attributes) {
+        attributes.put(TENANT_ATTRIBUTE, TenantContext.current());
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(
+            ServerHttpRequest request, ServerHttpResponse response, WebSocketHandler wsHandler, Exception exception) {
+        // Nothing to clean up.
+    }
+
+    static String tenantOf(WebSocketSession session) {
+        Map<String, Object> attributes = session.getAttributes();
+        Object tenant = attributes != null ? attributes.get(TENANT_ATTRIBUTE) : null;
+        return tenant != null ? tenant.toString() : TenantContext.HOME;
+    }
+}
@@ -0,0 +1,104 @@
+package dev.solace.twiggle.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.solace.twiggle.service.search.AutocompleteTrie;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures build time, heap footprint and top-10 completion latency of the autocomplete trie over 100k plants
+ * with a common and a Latin name each.
+ * Run with {@code mvn test -Pbenchmark -Dtest=AutocompleteBenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Autocomplete Benchmark")
+class AutocompleteBenchmark {
+    private static final int PLANTS = 100_000;
+    private static final int QUERIES = 200_000;
+    private static final String SYLLABLES = "ba be bi bo ca co da de di fa fe la le li lo ma me mi mo na ne no ra re ri"
+            + " ro sa se si so ta te ti to va ve vi";
+
+    private static AutocompleteTrie trie;
+    private static String[] prefixes;
+
+    @BeforeAll
+    static void build() {
+        String[] syllables = SYLLABLES.split(" ");
+        Random random = new Random(42);
+        String[] names = new String[PLANTS * 2];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = word(random, syllables) + " " + word(random, syllables);
+        }
+
+        System.gc();
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        trie = buildTrie(names, random);
+        double buildMillis = (System.nanoTime() - start) / 1e6;
+        System.gc();
+        long heapAfter = usedHeap();
+        System.out.printf(
+                "Built %d suggestions into %d nodes in %.1f ms; estimated %.1f MiB, measured heap delta %.1f MiB (names excluded)%n",
+                trie.suggestionCount(),
+                trie.nodeCount(),
+                buildMillis,
+                trie.estimatedSizeBytes() / 1048576.0,
+                (heapAfter - heapBefore) / 1048576.0);
+
+        prefixes = new String[1_024];
+        for (int i = 0; i < prefixes.length; i++) {
+            String name = names[random.nextInt(names.length)];
+            prefixes[i] = name.substring(0, 1 + random.nextInt(Math.min(6, name.length())));
+        }
+    }
+
+    @Test
+    @DisplayName("Top-10 completions should be sub-millisecond at p99")
+    void completionLatency() {
+        for (int i = 0; i < 50_000; i++) {
+            trie.complete(prefixes[i % prefixes.length], 10);
+        }
+        long[] samples = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            trie.complete(prefixes[i % prefixes.length], 10);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        double p50 = samples[QUERIES / 2] / 1e3;
+        double p99 = samples[QUERIES * 99 / 100] / 1e3;
+        System.out.printf("p50 %.1f us | p99 %.1f us | max %.1f us%n", p50, p99, samples[QUERIES - 1] / 1e3);
+
+        assertTrue(p99 < 1_000, "p99 latency should be below 1ms: " + p99 + "us");
+    }
+
+    private static AutocompleteTrie buildTrie(String[] names, Random random) {
+        // Kept in its own method so the builder is unreachable when the heap is measured.
+        AutocompleteTrie.Builder builder = AutocompleteTrie.builder();
+        for (int i = 0; i < PLANTS; i++) {
+            int popularity = random.nextInt(1_000_000);
+            builder.add(String.valueOf(i), names[2 * i], false, popularity);
+            builder.add(String.valueOf(i), names[2 * i + 1], true, popularity);
+        }
+        return builder.build();
+    }
+
+    private static String word(Random random, String[] syllables) {
+        StringBuilder word = new StringBuilder();
+        int count = 2 + random.nextInt(3);
+        for (int i = 0; i < count; i++) {
+            word.append(syllables[random.nextInt(syllables.length)]);
+        }
+        return word.toString();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,240 @@
+package dev.solace.twiggle.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.solace.twiggle.TwiggleApplication;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Compares the ways a client can make the {@value #READS} reads of an app open: one GET after another, all GETs at
+ * once, or one batch. Launches the application in a fresh JVM {@value #ROUNDS} times; each launch is warmed up with
+ * {@value #WARM_UP_OPENS} opens of every kind before {@value #OPENS} of each are timed, interleaved. The default rate
+ * limit is lifted so that batched reads are not turned away, and the concurrency limit is off so that concurrent
+ * GETs are not shed. Uses the {@code openapi} test profile, so no Mongo is needed. On localhost a round trip costs
+ * next to nothing, so what is measured is the per-request overhead of HTTP and the filter chain, not network
+ * latency. Run with {@code mvn test -Pbenchmark -Dtest=BatchBenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Batch Benchmark")
+class BatchBenchmark {
+    private static final int ROUNDS = 3;
+    private static final int READS = 12;
+    private static final int WARM_UP_OPENS = 1_000;
+    private static final int OPENS = 1_000;
+    private static final Duration BOOT_TIMEOUT = Duration.ofMinutes(3);
+    private static final List<String> PATHS = IntStream.range(0, READS)
+            .mapToObj(i -> i % 2 == 0 ? "/api/v1/test" : "/api/v1/planting-calendar?lat=51.5&lon=-0.1&limit=0")
+            .toList();
+
+    private final HttpClient client =
+            HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("One batch should answer an app open faster than its GETs one after another")
+    void appOpen() throws Exception {
+        Map<String, List<Round>> rounds = new LinkedHashMap<>();
+        for (String kind : List.of("sequential GETs", "concurrent GETs", "one batch")) {
+            rounds.put(kind, new ArrayList<>());
+        }
+        for (int round = 0; round < ROUNDS; round++) {
+            launch().forEach((kind, result) -> rounds.get(kind).add(result));
+        }
+
+        Map<String, Round> medians = new LinkedHashMap<>();
+        rounds.forEach((kind, launches) -> medians.put(kind, Round.median(launches)));
+        System.out.printf(
+                "Median of %d launches, %d app opens of %d reads each after warm-up:%n", ROUNDS, OPENS, READS);
+        System.out.println("client          | mean us | p50 us | p99 us | requests sent");
+        medians.forEach((kind, round) -> System.out.printf(
+                "%-15s | %7.1f | %6.1f | %6.1f | %d%n",
+                kind, round.meanMicros(), round.p50Micros(), round.p99Micros(), kind.equals("one batch") ? 1 : READS));
+
+        assertTrue(
+                medians.get("one batch").meanMicros()
+                        < medians.get("sequential GETs").meanMicros(),
+                "A batch should beat its reads sent one after another");
+    }
+
+    private Map<String, Round> launch() throws Exception {
+        int port = freePort();
+        Process process = new ProcessBuilder(
+                        Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                        "-cp",
+                        System.getProperty("java.class.path"),
+                        TwiggleApplication.class.getName(),
+                        "--spring.profiles.active=dev,openapi",
+                        "--server.port=" + port,
+                        "--spring.main.sources=" + UnlimitedRateLimits.class.getName(),
+                        "--spring.main.allow-bean-definition-overriding=true",
+                        "--twiggle.concurrency-limit.enabled=false")
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            awaitReady(port, process);
+            Map<String, Opener> openers = new LinkedHashMap<>();
+            openers.put("sequential GETs", () -> sequential(port));
+            openers.put("concurrent GETs", () -> concurrent(port));
+            openers.put("one batch", () -> batch(port));
+            for (int i = 0; i < WARM_UP_OPENS; i++) {
+                for (Opener opener : openers.values()) {
+                    opener.open();
+                }
+            }
+            Map<String, long[]> latencies = new LinkedHashMap<>();
+            openers.keySet().forEach(kind -> latencies.put(kind, new long[OPENS]));
+            for (int i = 0; i < OPENS; i++) {
+                for (Map.Entry<String, Opener> opener : openers.entrySet()) {
+                    long started = System.nanoTime();
+                    opener.getValue().open();
+                    latencies.get(opener.getKey())[i] = (System.nanoTime() - started) / 1_000;
+                }
+            }
+            Map<String, Round> results = new LinkedHashMap<>();
+            latencies.forEach((kind, values) -> results.put(kind, Round.of(values)));
+            return results;
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private void sequential(int port) throws Exception {
+        for (String path : PATHS) {
+            check(path, client.send(get(port, path), HttpResponse.BodyHandlers.ofString()));
+        }
+    }
+
+    private void concurrent(int port) throws Exception {
+        List<CompletableFuture<HttpResponse<String>>> responses = PATHS.stream()
+                .map(path -> client.sendAsync(get(port, path), HttpResponse.BodyHandlers.ofString()))
+                .toList();
+        for (int i = 0; i < READS; i++) {
+            check(PATHS.get(i), responses.get(i).join());
+        }
+    }
+
+    private void batch(int port) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "requests", PATHS.stream().map(path -> Map.of("path", path)).toList()));
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/batch"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        check("/api/v1/batch", response);
+        for (JsonNode result : objectMapper.readTree(response.body()).path("data")) {
+            if (result.path("status").asInt() != 200) {
+                fail("batched read answered " + result);
+            }
+        }
+    }
+
+    private static HttpRequest get(int port, String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .build();
+    }
+
+    private static void check(String path, HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            fail(path + " answered " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    private void awaitReady(int port, Process process) throws Exception {
+        URI readiness = URI.create("http://localhost:" + port + "/actuator/health/readiness");
+        long deadline = System.nanoTime() + BOOT_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                fail("application exited with " + process.exitValue() + " before it was ready");
+            }
+            try {
+                if (client.send(HttpRequest.newBuilder(readiness).build(), HttpResponse.BodyHandlers.discarding())
+                                .statusCode()
+                        == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // Not listening yet.
+            }
+            Thread.sleep(50);
+        }
+        fail("application was not ready after " + BOOT_TIMEOUT);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Replaces the application's rate limiter registry with one whose default limit admits every request of the
+     * benchmark. Not annotated, so component scanning of other launches does not pick it up.
+     */
+    static class UnlimitedRateLimits {
+
+        @Bean
+        RateLimiterRegistry rateLimiterRegistry() {
+            return RateLimiterRegistry.of(RateLimiterConfig.custom()
+                    .limitForPeriod(Integer.MAX_VALUE)
+                    .limitRefreshPeriod(Duration.ofMinutes(1))
+                    .timeoutDuration(Duration.ZERO)
+                    .build());
+        }
+    }
+
+    @FunctionalInterface
+    private interface Opener {
+        void open() throws Exception;
+    }
+
+    private record Round(double meanMicros, double p50Micros, double p99Micros) {
+
+        static Round of(long[] latencies) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return new Round(
+                    Arrays.stream(latencies).average().orElse(0),
+                    sorted[sorted.length / 2],
+                    sorted[sorted.length * 99 / 100]);
+        }
+
+        static Round median(List<Round> rounds) {
+            return new Round(
+                    median(rounds.stream().mapToDouble(Round::meanMicros).toArray()),
+                    median(rounds.stream().mapToDouble(Round::p50Micros).toArray()),
+                    median(rounds.stream().mapToDouble(Round::p99Micros).toArray()));
+        }
+
+        private static double median(double[] values) {
+            Arrays.sort(values);
+            return values[values.length / 2];
+        }
+    }
+}
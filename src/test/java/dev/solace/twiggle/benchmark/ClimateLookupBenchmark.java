@@ -0,0 +1,110 @@
+package dev.solace.twiggle.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.solace.twiggle.climate.ClimateTableCompiler;
+import dev.solace.twiggle.climate.ClimateTables;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Compares opening the memory-mapped climate tables with compiling them from the CSV source data at startup, then
+ * measures latency and allocation of zone and planting calendar lookups for random points.
+ * Run with {@code mvn test -Pbenchmark -Dtest=ClimateLookupBenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Climate Lookup Benchmark")
+class ClimateLookupBenchmark {
+    private static final Path SOURCE = Path.of("src/main/climate");
+    private static final int POINTS = 4_096;
+    private static final int LOOKUPS = 2_000_000;
+    private static final int BATCH = 1_000;
+    private static final int ROUNDS = 5;
+    private static final int WARM_UP_PASSES = 5;
+
+    @Test
+    @DisplayName("Lookups should not allocate and opening should beat compiling the source data")
+    void lookups(@TempDir Path directory) throws Exception {
+        ClimateTableCompiler.main(new String[] {SOURCE.toString(), directory.toString()});
+        List<String> regions = Files.readAllLines(SOURCE.resolve(ClimateTableCompiler.REGIONS_FILE));
+
+        // Best of several rounds, so class loading and JIT warm-up count against neither.
+        ClimateTables tables = null;
+        double openMicros = Double.MAX_VALUE;
+        double compileMicros = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            tables = ClimateTables.open(directory);
+            openMicros = Math.min(openMicros, (System.nanoTime() - start) / 1e3);
+            start = System.nanoTime();
+            ClimateTableCompiler.main(new String[] {
+                SOURCE.toString(), directory.resolve("round-" + round).toString()
+            });
+            compileMicros = Math.min(compileMicros, (System.nanoTime() - start) / 1e3);
+        }
+
+        Random random = new Random(42);
+        double[] latitudes = new double[POINTS];
+        double[] longitudes = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            latitudes[i] = -60 + random.nextDouble() * 130;
+            longitudes[i] = -180 + random.nextDouble() * 360;
+        }
+        int[] weeks = random.ints(POINTS, 0, ClimateTables.WEEKS).toArray();
+
+        long[] samples = new long[LOOKUPS / BATCH];
+        long checksum = 0;
+        for (int pass = 0; pass < WARM_UP_PASSES; pass++) {
+            checksum += measure(tables, latitudes, longitudes, weeks, samples);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        checksum += measure(tables, latitudes, longitudes, weeks, samples);
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+        Arrays.sort(samples);
+        double p50 = (double) samples[samples.length / 2] / BATCH;
+        double p99 = (double) samples[samples.length * 99 / 100] / BATCH;
+
+        System.out.printf(
+                "Open %.0f us vs compile %.0f us (%d source lines) | per lookup in batches of %d p50 %.1f ns, p99 %.1f ns"
+                        + " | allocated %d bytes over %d lookups (checksum %d)%n",
+                openMicros, compileMicros, regions.size(), BATCH, p50, p99, allocated, LOOKUPS, checksum);
+
+        // The smallest object takes 16 bytes, so less than a byte per lookup means lookups themselves never allocate.
+        double bytesPerLookup = (double) allocated / LOOKUPS;
+        assertTrue(bytesPerLookup < 1, "Lookups should not allocate: " + bytesPerLookup + " bytes per lookup");
+        assertTrue(openMicros < compileMicros, "Opening should beat compiling: " + openMicros + "us");
+    }
+
+    private static long measure(
+            ClimateTables tables, double[] latitudes, double[] longitudes, int[] weeks, long[] samples) {
+        long checksum = 0;
+        for (int batch = 0; batch < samples.length; batch++) {
+            long start = System.nanoTime();
+            for (int i = batch * BATCH; i < (batch + 1) * BATCH; i++) {
+                checksum += lookup(tables, latitudes, longitudes, weeks, i);
+            }
+            samples[batch] = System.nanoTime() - start;
+        }
+        return checksum;
+    }
+
+    private static int lookup(ClimateTables tables, double[] latitudes, double[] longitudes, int[] weeks, int i) {
+        int point = i & (POINTS - 1);
+        int profile = tables.profileAt(latitudes[point], longitudes[point]);
+        return profile == 0
+                ? 0
+                : tables.halfZone(profile)
+                        + tables.lastFrostDay(profile)
+                        + tables.plantableSeasons(profile, weeks[point]);
+    }
+}
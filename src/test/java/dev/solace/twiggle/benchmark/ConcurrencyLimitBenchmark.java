@@ -0,0 +1,141 @@
+package dev.solace.twiggle.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.solace.twiggle.config.ConcurrencyLimitProperties;
+import dev.solace.twiggle.web.AdaptiveConcurrencyLimiter;
+import dev.solace.twiggle.web.ConcurrencyLimitFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Overloads a simulated backend, a pool of {@value #CAPACITY} connections each held for {@value #SERVICE_MILLIS}
+ * ms, with {@value #CLIENTS} closed-loop clients, once unprotected and once behind the
+ * {@link ConcurrencyLimitFilter}, and compares the p99 latency of the requests that were served.
+ * Run with {@code mvn test -Pbenchmark -Dtest=ConcurrencyLimitBenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Concurrency Limit Benchmark")
+class ConcurrencyLimitBenchmark {
+    private static final int CAPACITY = 8;
+    private static final int SERVICE_MILLIS = 5;
+    private static final int CLIENTS = 96;
+    private static final long WARMUP_MILLIS = 3_000;
+    private static final long MEASURE_MILLIS = 8_000;
+    private static final long SHED_BACKOFF_MILLIS = 5;
+
+    @Test
+    @DisplayName("The limit should hold served p99 near the service time under 12x overload")
+    void overload() throws Exception {
+        Result unprotected = run(null);
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        // Shortened so that the benchmark sees a few probes.
+        properties.setProbeInterval(Duration.ofSeconds(2));
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+                limiter, properties, new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry());
+        Result limited = run(filter);
+
+        System.out.printf("Unprotected: %s%nLimited:     %s, final limit %d%n", unprotected, limited, limiter.limit());
+
+        assertTrue(limited.p99Millis() * 3 < unprotected.p99Millis(), "Limited p99 should be far below unprotected");
+        assertTrue(limited.p99Millis() < SERVICE_MILLIS * 5, "Limited p99 should stay near the service time");
+        assertTrue(limited.maxIntervalP99() < SERVICE_MILLIS * 8, "Limited p99 should be stable over time");
+        assertTrue(limited.served() > unprotected.served() * 0.8, "Shedding should not cost much throughput");
+    }
+
+    private static Result run(ConcurrencyLimitFilter filter) throws Exception {
+        Semaphore pool = new Semaphore(CAPACITY, true);
+        FilterChain backend = (request, response) -> {
+            try {
+                pool.acquire();
+                try {
+                    Thread.sleep(SERVICE_MILLIS);
+                } finally {
+                    pool.release();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.MILLISECONDS.toNanos(WARMUP_MILLIS);
+        long end = measureFrom + TimeUnit.MILLISECONDS.toNanos(MEASURE_MILLIS);
+        ConcurrentLinkedQueue<long[]> samples = new ConcurrentLinkedQueue<>();
+        AtomicLong shed = new AtomicLong();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/plants/search");
+                        MockHttpServletResponse response = new MockHttpServletResponse();
+                        long sent = System.nanoTime();
+                        if (filter != null) {
+                            filter.doFilter(request, response, backend);
+                        } else {
+                            backend.doFilter(request, response);
+                        }
+                        long done = System.nanoTime();
+                        if (response.getStatus() == 429) {
+                            if (done >= measureFrom) {
+                                shed.incrementAndGet();
+                            }
+                            Thread.sleep(SHED_BACKOFF_MILLIS);
+                        } else if (done >= measureFrom) {
+                            samples.add(new long[] {done, done - sent});
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+
+        List<long[]> all = new ArrayList<>(samples);
+        long[] latencies = all.stream().mapToLong(sample -> sample[1]).sorted().toArray();
+        // p99 per second of the measurement, to show the limit does not oscillate.
+        double maxIntervalP99 = 0;
+        for (long second = 0; second < MEASURE_MILLIS / 1000; second++) {
+            long from = measureFrom + TimeUnit.SECONDS.toNanos(second);
+            long to = from + TimeUnit.SECONDS.toNanos(1);
+            long[] interval = all.stream()
+                    .filter(sample -> sample[0] >= from && sample[0] < to)
+                    .mapToLong(sample -> sample[1])
+                    .sorted()
+                    .toArray();
+            if (interval.length > 0) {
+                maxIntervalP99 = Math.max(maxIntervalP99, interval[interval.length * 99 / 100] / 1e6);
+            }
+        }
+        return new Result(
+                latencies.length,
+                shed.get(),
+                latencies[latencies.length / 2] / 1e6,
+                latencies[latencies.length * 99 / 100] / 1e6,
+                maxIntervalP99);
+    }
+
+    private record Result(long served, long shed, double p50Millis, double p99Millis, double maxIntervalP99) {
+        @Override
+        public String toString() {
+            return String.format(
+                    "served %d (%.0f/s), shed %d, p50 %.2f ms, p99 %.2f ms, worst 1s p99 %.2f ms",
+                    served, served * 1000.0 / MEASURE_MILLIS, shed, p50Millis, p99Millis, maxIntervalP99);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package dev.solace.twiggle.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.nimbusds.jose.jwk.RSAKey;
+import dev.solace.twiggle.config.SecurityProperties;
+import dev.solace.twiggle.security.JwksKeySource;
+import dev.solace.twiggle.security.JwtAuthenticationFilter;
+import dev.solace.twiggle.security.JwtVerifier;
+import dev.solace.twiggle.security.TestJwks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Measures what the {@link JwtAuthenticationFilter} adds to a request: {@value #USERS} users, each sending
+ * {@value #REQUESTS_PER_USER} requests with the same 2048-bit RS256 token, go through the filter once with the
+ * verified-token cache and once with it disabled, against a no-op chain. Prints the mean overhead per request of
+ * both and of a filter-free baseline. Run with {@code mvn test -Pbenchmark -Dtest=JwtAuthenticationBenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("JWT Authentication Benchmark")
+class JwtAuthenticationBenchmark {
+    private static final int USERS = 500;
+    private static final int REQUESTS_PER_USER = 40;
+    private static final int WARMUP_ROUNDS = 2;
+
+    @Test
+    @DisplayName("Cached verification should cut the per-request cost of authentication by an order of magnitude")
+    void overhead() throws Exception {
+        RSAKey key = TestJwks.generate("bench");
+        List<String> tokens = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            tokens.add(TestJwks.token(key, "user-" + i));
+        }
+
+        try (TestJwks jwks = new TestJwks()) {
+            jwks.publish(key);
+            JwtAuthenticationFilter cached = filter(jwks, 50_000);
+            JwtAuthenticationFilter uncached = filter(jwks, 0);
+
+            double baseline = measure(null, tokens);
+            double withCache = measure(cached, tokens);
+            double withoutCache = measure(uncached, tokens);
+
+            System.out.printf(
+                    "%d users x %d requests: baseline %.1f us, cached verification +%.1f us,"
+                            + " verification on every request +%.1f us per request%n",
+                    USERS,
+                    REQUESTS_PER_USER,
+                    baseline / 1_000,
+                    (withCache - baseline) / 1_000,
+                    (withoutCache - baseline) / 1_000);
+
+            assertTrue(
+                    (withoutCache - baseline) > 10 * (withCache - baseline),
+                    "the cache should make authentication at least 10x cheaper");
+        }
+    }
+
+    private static JwtAuthenticationFilter filter(TestJwks jwks, long cacheSize) {
+        SecurityProperties properties = new SecurityProperties();
+        properties.setJwksUri(jwks.uri());
+        properties.setIssuer(TestJwks.ISSUER);
+        properties.setAudience(TestJwks.AUDIENCE);
+        properties.setTokenCacheSize(cacheSize);
+        properties.getSubjectPaths().clear();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwksKeySource keySource = new JwksKeySource(properties, meterRegistry);
+        keySource.loadOnStartup();
+        return new JwtAuthenticationFilter(
+                new JwtVerifier(keySource, properties, meterRegistry), properties, (request, response, handler, ex) -> {
+                    response.setStatus(401);
+                    return new ModelAndView();
+                });
+    }
+
+    /** Mean nanoseconds per request, requests interleaved across users like concurrent sessions would be. */
+    private static double measure(JwtAuthenticationFilter filter, List<String> tokens) throws Exception {
+        FilterChain chain = (request, response) -> {};
+        long elapsed = 0;
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int r = 0; r < REQUESTS_PER_USER; r++) {
+                for (String token : tokens) {
+                    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/gardens/g1/layout");
+                    request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+                    MockHttpServletResponse response = new MockHttpServletResponse();
+                    if (filter == null) {
+                        chain.doFilter(request, response);
+                    } else {
+                        filter.doFilter(request, response, chain);
+                        assertEquals(200, response.getStatus());
+                    }
+                }
+            }
+            elapsed = System.nanoTime() - start;
+        }
+        return elapsed / (double) (USERS * REQUESTS_PER_USER);
+    }
+}
@@ -0,0 +1,142 @@
+package dev.solace.twiggle.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import dev.solace.twiggle.dto.CursorPage;
+import dev.solace.twiggle.repository.KeysetPageRequest;
+import dev.solace.twiggle.repository.KeysetPagination;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Compares page latency of keyset pagination against skip/limit as the page depth grows.
+ * Run with {@code mvn test -Pbenchmark -Dtest=KeysetPaginationBenchmark}.
+ */
+@Tag("benchmark")
+@Testcontainers
+@DisplayName("Keyset Pagination Benchmark")
+class KeysetPaginationBenchmark {
+    private static final String COLLECTION = "bench_keyset";
+    private static final int DOCUMENTS = 100_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int[] DEPTHS = {1, 10, 100, 1_000, 1_999};
+    private static final int SAMPLES = 25;
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0.5"));
+
+    private static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void seed() {
+        mongoTemplate = new MongoTemplate(MongoClients.create(mongoDBContainer.getReplicaSetUrl()), "bench");
+        MongoCollection<Document> collection = mongoTemplate.getCollection(COLLECTION);
+        collection.createIndex(new Document("createdAt", 1).append("_id", 1));
+        List<Document> batch = new ArrayList<>();
+        long start = 1_700_000_000_000L;
+        for (int i = 0; i < DOCUMENTS; i++) {
+            // Duplicate timestamps exercise the _id tie-breaker.
+            batch.add(new Document("createdAt", new Date(start + (i / 3) * 1000L)).append("name", "plant-" + i));
+            if (batch.size() == 5_000) {
+                collection.insertMany(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @AfterAll
+    static void cleanUp() {
+        mongoTemplate.dropCollection(COLLECTION);
+    }
+
+    @Test
+    @DisplayName("Keyset page latency should stay flat with depth while skip grows")
+    void pageLatencyAtDepth() {
+        Map<Integer, String> cursors = collectCursors();
+        Map<Integer, Double> keyset = new LinkedHashMap<>();
+        Map<Integer, Double> skip = new LinkedHashMap<>();
+
+        for (int depth : DEPTHS) {
+            String cursor = cursors.get(depth);
+            keyset.put(
+                    depth,
+                    medianMillis(() -> KeysetPagination.page(
+                            mongoTemplate,
+                            new Query(),
+                            Document.class,
+                            COLLECTION,
+                            new KeysetPageRequest("createdAt", Sort.Direction.ASC, PAGE_SIZE, cursor))));
+            skip.put(
+                    depth,
+                    medianMillis(() -> mongoTemplate.find(
+                            new Query()
+                                    .with(Sort.by("createdAt", "_id"))
+                                    .skip((long) (depth - 1) * PAGE_SIZE)
+                                    .limit(PAGE_SIZE),
+                            Document.class,
+                            COLLECTION)));
+        }
+
+        System.out.println("page depth | keyset median ms | skip median ms");
+        for (int depth : DEPTHS) {
+            System.out.printf("%10d | %16.3f | %14.3f%n", depth, keyset.get(depth), skip.get(depth));
+        }
+
+        double shallow = keyset.get(DEPTHS[1]);
+        double deep = keyset.get(DEPTHS[DEPTHS.length - 1]);
+        assertTrue(
+                deep <= Math.max(shallow * 3, shallow + 5),
+                "Keyset latency should not grow with depth: " + shallow + "ms vs " + deep + "ms");
+    }
+
+    private Map<Integer, String> collectCursors() {
+        Map<Integer, String> cursors = new LinkedHashMap<>();
+        cursors.put(1, null);
+        String cursor = null;
+        int lastDepth = Arrays.stream(DEPTHS).max().orElseThrow();
+        for (int page = 1; page < lastDepth; page++) {
+            CursorPage<Document> result = KeysetPagination.page(
+                    mongoTemplate,
+                    new Query(),
+                    Document.class,
+                    COLLECTION,
+                    new KeysetPageRequest("createdAt", Sort.Direction.ASC, PAGE_SIZE, cursor));
+            cursor = result.getNextCursor();
+            cursors.put(page + 1, cursor);
+        }
+        return cursors;
+    }
+
+    private static double medianMillis(Runnable action) {
+        double[] samples = new double[SAMPLES];
+        for (int i = 0; i < 3; i++) {
+            action.run();
+        }
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            action.run();
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
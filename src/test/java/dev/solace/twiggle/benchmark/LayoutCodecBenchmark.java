@@ -0,0 +1,126 @@
+package dev.solace.twiggle.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.solace.twiggle.model.layout.LayoutSnapshot;
+import dev.solace.twiggle.model.layout.PackedLayout;
+import dev.solace.twiggle.model.layout.Placement;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * Compares the BSON size and the encode and decode times of a large plot's layout snapshot stored as packed
+ * {@code BinData} against the same placements stored as an array of sub-documents. Both go through the mapping
+ * converter and the BSON codec, as a repository or template would, so the times include everything between the
+ * placement list and the bytes on the wire.
+ * Run with {@code mvn test -Pbenchmark -Dtest=LayoutCodecBenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Layout Codec Benchmark")
+class LayoutCodecBenchmark {
+    private static final int ROWS = 250;
+    private static final int COLUMNS = 400;
+    private static final int ROUNDS = 15;
+    private static final int WARM_UP_ROUNDS = 5;
+
+    @Test
+    @DisplayName("Packed layouts should be far smaller and faster to encode and decode than sub-documents")
+    void packedVersusSubDocuments() {
+        MappingMongoConverter converter = converter();
+        List<Placement> placements = new ArrayList<>(ROWS * COLUMNS);
+        for (int row = 0; row < ROWS; row++) {
+            for (int column = 0; column < COLUMNS; column++) {
+                // Beds of one crop a few rows deep, on a 25 cm grid with every fourth plant nudged by hand.
+                placements.add(Placement.builder()
+                        .id("bed-" + row / 4 + "-" + (row % 4 * COLUMNS + column))
+                        .plantId("plant-" + (row / 4) % 60)
+                        .x(column * 0.25 + (column % 4 == 0 ? 0.125 : 0))
+                        .y(row * 0.25)
+                        .build());
+            }
+        }
+        Result naiveResult = measure(converter, placements, list -> LayoutSnapshot.builder()
+                .gardenId("bench")
+                .version(1)
+                .placements(list)
+                .build());
+        Result packedResult = measure(converter, placements, list -> LayoutSnapshot.builder()
+                .gardenId("bench")
+                .version(1)
+                .layout(PackedLayout.of(list))
+                .build());
+
+        System.out.printf("%d placements, best of %d rounds%n", placements.size(), ROUNDS);
+        System.out.println("storage        | BSON bytes | encode ms | decode ms");
+        System.out.printf(
+                "sub-documents  | %10d | %9.1f | %9.1f%n",
+                naiveResult.bytes, naiveResult.encodeMs, naiveResult.decodeMs);
+        System.out.printf(
+                "packed BinData | %10d | %9.1f | %9.1f%n",
+                packedResult.bytes, packedResult.encodeMs, packedResult.decodeMs);
+
+        assertTrue(packedResult.bytes * 10 < naiveResult.bytes, "Packed layouts should be at least 10x smaller");
+        assertTrue(packedResult.encodeMs < naiveResult.encodeMs, "Packed layouts should encode faster");
+        assertTrue(packedResult.decodeMs < naiveResult.decodeMs, "Packed layouts should decode faster");
+    }
+
+    private static Result measure(
+            MappingMongoConverter converter,
+            List<Placement> placements,
+            Function<List<Placement>, LayoutSnapshot> snapshots) {
+        DocumentCodec codec = new DocumentCodec();
+        int bytes = 0;
+        double encodeMs = Double.MAX_VALUE;
+        double decodeMs = Double.MAX_VALUE;
+        for (int round = 0; round < WARM_UP_ROUNDS + ROUNDS; round++) {
+            long start = System.nanoTime();
+            Document document = new Document();
+            converter.write(snapshots.apply(placements), document);
+            RawBsonDocument raw = new RawBsonDocument(document, codec);
+            double encode = (System.nanoTime() - start) / 1e6;
+
+            ByteBuffer buffer = raw.getByteBuffer().asNIO();
+            bytes = buffer.remaining();
+            byte[] wire = new byte[bytes];
+            buffer.get(wire);
+            start = System.nanoTime();
+            Document read = new RawBsonDocument(wire).decode(codec);
+            LayoutSnapshot decoded = converter.read(LayoutSnapshot.class, read);
+            int size = decoded.decodePlacements().size();
+            double decode = (System.nanoTime() - start) / 1e6;
+
+            assertEquals(placements.size(), size);
+            if (round >= WARM_UP_ROUNDS) {
+                encodeMs = Math.min(encodeMs, encode);
+                decodeMs = Math.min(decodeMs, decode);
+            }
+        }
+        return new Result(bytes, encodeMs, decodeMs);
+    }
+
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(PackedLayout.CONVERTERS);
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private record Result(int bytes, double encodeMs, double decodeMs) {}
+}
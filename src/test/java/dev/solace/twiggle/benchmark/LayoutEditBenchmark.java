@@ -0,0 +1,151 @@
+package dev.solace.twiggle.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mongodb.client.MongoClients;
+import dev.solace.twiggle.config.LayoutProperties;
+import dev.solace.twiggle.config.MongoResilienceProperties;
+import dev.solace.twiggle.dto.LayoutDeltaRequest;
+import dev.solace.twiggle.model.layout.LayoutOperation;
+import dev.solace.twiggle.model.layout.LayoutSnapshot;
+import dev.solace.twiggle.model.layout.Placement;
+import dev.solace.twiggle.persistence.ResilientMongoAccess;
+import dev.solace.twiggle.service.layout.LayoutEditService;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Compares single-plant moves on a large garden applied as appended deltas against rewriting the whole layout
+ * document each time.
+ * Run with {@code mvn test -Pbenchmark -Dtest=LayoutEditBenchmark}.
+ */
+@Tag("benchmark")
+@Testcontainers
+@DisplayName("Layout Edit Benchmark")
+class LayoutEditBenchmark {
+    private static final int PLACEMENTS = 2_000;
+    private static final int EDITS = 2_000;
+    private static final String FULL_REPLACE_COLLECTION = "bench_layout_full";
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0.5"));
+
+    private static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        mongoTemplate = new MongoTemplate(MongoClients.create(mongoDBContainer.getReplicaSetUrl()), "bench");
+    }
+
+    @Test
+    @DisplayName("Delta appends should out-run full document replaces and write far fewer bytes")
+    void deltaVersusFullReplace() {
+        Random random = new Random(3);
+        ResilientMongoAccess access = new ResilientMongoAccess(
+                new MongoResilienceProperties(),
+                CircuitBreakerRegistry.ofDefaults(),
+                BulkheadRegistry.ofDefaults(),
+                new SimpleMeterRegistry());
+        LayoutEditService service = new LayoutEditService(mongoTemplate, access, new LayoutProperties(), event -> {});
+        List<LayoutOperation> seed = new ArrayList<>();
+        for (int i = 0; i < PLACEMENTS; i++) {
+            seed.add(LayoutOperation.builder()
+                    .type(LayoutOperation.Type.ADD)
+                    .placementId("p" + i)
+                    .plantId("plant-" + (i % 50))
+                    .x(i % 50)
+                    .y(i / 50)
+                    .build());
+        }
+        service.applyDelta("bench-delta", request(0, seed));
+
+        long deltaBytes = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < EDITS; i++) {
+            LayoutOperation move = move(random);
+            deltaBytes += bsonSize(new Document("gardenId", "bench-delta")
+                    .append("version", i + 2L)
+                    .append("operations", List.of(mongoTemplate.getConverter().convertToMongoType(move)))
+                    .append("createdAt", new Date()));
+            service.applyDelta("bench-delta", request(i + 1, List.of(move)));
+        }
+        double deltaSeconds = (System.nanoTime() - start) / 1e9;
+
+        List<Placement> placements = new ArrayList<>();
+        seed.forEach(op -> placements.add(Placement.builder()
+                .id(op.getPlacementId())
+                .plantId(op.getPlantId())
+                .x(op.getX())
+                .y(op.getY())
+                .build()));
+        LayoutSnapshot layout = LayoutSnapshot.builder()
+                .gardenId("bench-full")
+                .placements(placements)
+                .build();
+        long fullBytes = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < EDITS; i++) {
+            LayoutOperation move = move(random);
+            Placement placement =
+                    placements.get(Integer.parseInt(move.getPlacementId().substring(1)));
+            placement.setX(move.getX());
+            placement.setY(move.getY());
+            layout.setVersion(i + 1);
+            layout.setUpdatedAt(Instant.now());
+            Document document = new Document();
+            mongoTemplate.getConverter().write(layout, document);
+            fullBytes += bsonSize(document);
+            mongoTemplate.save(layout, FULL_REPLACE_COLLECTION);
+        }
+        double fullSeconds = (System.nanoTime() - start) / 1e9;
+
+        double deltaRate = EDITS / deltaSeconds;
+        double fullRate = EDITS / fullSeconds;
+        System.out.println("strategy     | edits/s  | avg bytes per write");
+        System.out.printf("delta append | %8.0f | %8d%n", deltaRate, deltaBytes / EDITS);
+        System.out.printf("full replace | %8.0f | %8d%n", fullRate, fullBytes / EDITS);
+
+        assertTrue(deltaBytes * 20 < fullBytes, "Deltas should write at least 20x fewer bytes");
+        assertTrue(deltaRate > fullRate, "Delta appends should sustain more edits per second");
+    }
+
+    private static LayoutOperation move(Random random) {
+        return LayoutOperation.builder()
+                .type(LayoutOperation.Type.MOVE)
+                .placementId("p" + random.nextInt(PLACEMENTS))
+                .x(random.nextDouble() * 50)
+                .y(random.nextDouble() * 40)
+                .build();
+    }
+
+    private static LayoutDeltaRequest request(long baseVersion, List<LayoutOperation> operations) {
+        return LayoutDeltaRequest.builder()
+                .baseVersion(baseVersion)
+                .operations(operations)
+                .build();
+    }
+
+    private static int bsonSize(Document document) {
+        return new RawBsonDocument(document, new DocumentCodec())
+                .getByteBuffer()
+                .remaining();
+    }
+}
@@ -0,0 +1,129 @@
+package dev.solace.twiggle.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.solace.twiggle.TwiggleApplication;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * Boots the application {@value #ROUNDS} times with springdoc scanning at runtime and as many times serving the
+ * documents generated at package time, alternating the two, and compares the time to a started context, the time
+ * from there to the first application API document, the number of springdoc beans and the heap the running context retains after a
+ * full GC. Only the timings are asserted; the heap figure is indicative, since every boot shares one JVM. The first
+ * round of each mode warms the JVM up and is not counted.
+ *
+ * <p>The static mode needs the generated documents on the classpath, so run it after a package:
+ * {@code mvn package && mvn test -Pbenchmark -Dtest=OpenApiStartupBenchmark}; {@code
+ * -Dopenapi.rounds=10} measures more rounds. Both modes use the {@code openapi} test profile, so no Mongo is needed.
+ */
+@Tag("benchmark")
+@DisplayName("OpenAPI Startup Benchmark")
+class OpenApiStartupBenchmark {
+    private static final int ROUNDS = Integer.getInteger("openapi.rounds", 5);
+    private static final String RUNTIME_DOCUMENT = "/v3/api-docs/Application%20API";
+    private static final String STATIC_DOCUMENT = "/openapi/application-api.json";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    @DisplayName("Serving generated documents should be ready sooner than runtime scanning")
+    void startup() throws Exception {
+        assertTrue(
+                new ClassPathResource("static" + STATIC_DOCUMENT).exists(),
+                "generate the documents first, e.g. with mvn package");
+
+        List<Round> runtime = new ArrayList<>();
+        List<Round> generated = new ArrayList<>();
+        for (int round = 0; round <= ROUNDS; round++) {
+            Round scanned = boot(RUNTIME_DOCUMENT);
+            Round served =
+                    boot(STATIC_DOCUMENT, "--springdoc.api-docs.enabled=false", "--springdoc.swagger-ui.enabled=false");
+            if (round > 0) {
+                runtime.add(scanned);
+                generated.add(served);
+            }
+        }
+
+        Round scanned = Round.median(runtime);
+        Round served = Round.median(generated);
+        System.out.printf(
+                "Median of %d boots:%n  runtime scanning: %s%n  generated docs:   %s%n", ROUNDS, scanned, served);
+
+        assertEquals(0, served.springdocBeans(), "no springdoc infrastructure should be created");
+        assertTrue(
+                served.startupMillis() + served.firstDocumentMillis()
+                        < scanned.startupMillis() + scanned.firstDocumentMillis(),
+                "generated documents should be served sooner after launch");
+    }
+
+    private Round boot(String document, String... args) throws Exception {
+        long baseline = retainedBytes();
+        long start = System.nanoTime();
+        String[] arguments = new String[args.length + 1];
+        arguments[0] = "--server.port=0";
+        System.arraycopy(args, 0, arguments, 1, args.length);
+        try (ServletWebServerApplicationContext context =
+                (ServletWebServerApplicationContext) new SpringApplicationBuilder(TwiggleApplication.class)
+                        .profiles("dev", "openapi")
+                        .run(arguments)) {
+            long started = System.nanoTime();
+            URI uri = URI.create("http://localhost:" + context.getWebServer().getPort() + document);
+            HttpResponse<String> response =
+                    client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString());
+            long served = System.nanoTime();
+            assertEquals(200, response.statusCode(), uri + " was not served");
+
+            long springdocBeans = Arrays.stream(context.getBeanDefinitionNames())
+                    .map(context::getType)
+                    .filter(type -> type != null && type.getName().startsWith("org.springdoc"))
+                    .count();
+            return new Round(
+                    (started - start) / 1_000_000,
+                    (served - started) / 1_000_000,
+                    springdocBeans,
+                    retainedBytes() - baseline);
+        }
+    }
+
+    private static long retainedBytes() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private record Round(long startupMillis, long firstDocumentMillis, long springdocBeans, long retainedBytes) {
+
+        static Round median(List<Round> rounds) {
+            return new Round(
+                    median(rounds.stream().mapToLong(Round::startupMillis).toArray()),
+                    median(rounds.stream().mapToLong(Round::firstDocumentMillis).toArray()),
+                    median(rounds.stream().mapToLong(Round::springdocBeans).toArray()),
+                    median(rounds.stream().mapToLong(Round::retainedBytes).toArray()));
+        }
+
+        private static long median(long[] values) {
+            Arrays.sort(values);
+            return values[values.length / 2];
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "started in %d ms, first document after %d ms, %d springdoc beans, %.1f MB retained",
+                    startupMillis, firstDocumentMillis, springdocBeans, retainedBytes / 1_048_576.0);
+        }
+    }
+}
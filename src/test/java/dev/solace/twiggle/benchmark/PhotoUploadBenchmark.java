@@ -0,0 +1,222 @@
+package dev.solace.twiggle.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.mongodb.client.MongoClients;
+import dev.solace.twiggle.config.MongoResilienceProperties;
+import dev.solace.twiggle.config.PhotoProperties;
+import dev.solace.twiggle.dto.PhotoView;
+import dev.solace.twiggle.persistence.ResilientMongoAccess;
+import dev.solace.twiggle.service.photo.PhotoService;
+import dev.solace.twiggle.service.photo.ThumbnailService;
+import dev.solace.twiggle.tenant.TenantDirectory;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.fileupload2.core.RequestContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.util.unit.DataSize;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Streams {@value #UPLOADS} concurrent photo uploads of {@value #MEGABYTES} MB each into GridFS and measures what
+ * each one keeps on the heap. Every upload body is generated on the fly and pauses half way through; with all of
+ * them paused the heap is collected and compared with the baseline, which isolates the memory the uploads hold
+ * from the garbage they produce. Also reports throughput and the allocation recorded per upload.
+ * Run with {@code mvn test -Pbenchmark -Dtest=PhotoUploadBenchmark}.
+ */
+@Tag("benchmark")
+@Testcontainers
+@DisplayName("Photo Upload Benchmark")
+class PhotoUploadBenchmark {
+    private static final int UPLOADS = 16;
+    private static final int MEGABYTES = 16;
+    private static final long MAX_RETAINED_PER_UPLOAD = 2L * 1024 * 1024;
+    private static final String BOUNDARY = "bench-boundary";
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0.5"));
+
+    @Test
+    @DisplayName("Concurrent uploads should each hold about one chunk of heap, whatever the photo size")
+    void retainedHeapPerUpload() throws Exception {
+        MongoTemplate mongoTemplate =
+                new MongoTemplate(MongoClients.create(mongoDBContainer.getReplicaSetUrl()), "bench");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PhotoProperties properties = new PhotoProperties();
+        properties.setMaxFileSize(DataSize.ofMegabytes(MEGABYTES + 1));
+        ResilientMongoAccess access = new ResilientMongoAccess(
+                new MongoResilienceProperties(),
+                CircuitBreakerRegistry.ofDefaults(),
+                BulkheadRegistry.ofDefaults(),
+                meterRegistry);
+        ThumbnailService thumbnails =
+                new ThumbnailService(mongoTemplate, properties, mock(TenantDirectory.class), meterRegistry);
+        PhotoService service = new PhotoService(mongoTemplate, access, properties, thumbnails, meterRegistry);
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        CountDownLatch halfway = new CountDownLatch(UPLOADS);
+        CountDownLatch resume = new CountDownLatch(1);
+        List<Future<PhotoView>> uploads = new ArrayList<>();
+        long baseline = collectedHeap(memory);
+        long start = System.nanoTime();
+        long retained;
+        try (ExecutorService clients = Executors.newFixedThreadPool(UPLOADS)) {
+            for (int i = 0; i < UPLOADS; i++) {
+                int seed = i;
+                uploads.add(clients.submit(
+                        () -> service.upload("bench-garden", null, new GeneratedUpload(seed, halfway, resume))));
+            }
+            assertTrue(halfway.await(2, TimeUnit.MINUTES), "uploads did not reach the halfway point");
+            retained = collectedHeap(memory) - baseline;
+            resume.countDown();
+            for (Future<PhotoView> upload : uploads) {
+                assertEquals((long) MEGABYTES * 1024 * 1024, upload.get().getSize());
+            }
+        } finally {
+            thumbnails.destroy();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long retainedPerUpload = retained / UPLOADS;
+        DistributionSummary allocated =
+                meterRegistry.get("twiggle.photos.upload.allocated").summary();
+        System.out.printf(
+                "%d concurrent uploads of %d MB in %.1f s (%.0f MB/s): %d KB retained per upload at halfway,"
+                        + " %.0f MB allocated per upload by the request thread%n",
+                UPLOADS,
+                MEGABYTES,
+                seconds,
+                UPLOADS * MEGABYTES / seconds,
+                retainedPerUpload / 1024,
+                allocated.mean() / (1024 * 1024));
+
+        assertTrue(
+                retainedPerUpload < MAX_RETAINED_PER_UPLOAD,
+                "expected under " + MAX_RETAINED_PER_UPLOAD + " bytes retained per upload, got " + retainedPerUpload);
+    }
+
+    private static long collectedHeap(MemoryMXBean memory) throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * A multipart body with one JPEG-signed part of pseudo-random bytes, produced as it is read so the client side
+     * holds no copy of the photo. Reading pauses at the middle of the photo until {@code resume} opens.
+     */
+    private static final class GeneratedUpload extends InputStream implements RequestContext {
+        private final byte[] head;
+        private final byte[] tail = ("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        private final long photoLength = (long) MEGABYTES * 1024 * 1024;
+        private final long length;
+        private final CountDownLatch halfway;
+        private final CountDownLatch resume;
+        private long state;
+        private long position;
+        private boolean paused;
+
+        GeneratedUpload(int seed, CountDownLatch halfway, CountDownLatch resume) {
+            this.head = ("--" + BOUNDARY + "\r\n"
+                            + "Content-Disposition: form-data; name=\"file\"; filename=\"bench-" + seed + ".jpg\"\r\n"
+                            + "Content-Type: image/jpeg\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            this.length = head.length + photoLength + tail.length;
+            this.halfway = halfway;
+            this.resume = resume;
+            this.state = seed * 0x9E3779B97F4A7C15L + 1;
+        }
+
+        @Override
+        public int read() {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int count) {
+            if (position >= length) {
+                return -1;
+            }
+            if (!paused && position >= head.length + photoLength / 2) {
+                paused = true;
+                halfway.countDown();
+                try {
+                    resume.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            int n = (int) Math.min(count, length - position);
+            for (int i = 0; i < n; i++, position++) {
+                buffer[offset + i] = byteAt(position);
+            }
+            return n;
+        }
+
+        private byte byteAt(long at) {
+            if (at < head.length) {
+                return head[(int) at];
+            }
+            long inPhoto = at - head.length;
+            if (inPhoto < photoLength) {
+                if (inPhoto < 3) {
+                    return (byte) (inPhoto == 1 ? 0xD8 : 0xFF);
+                }
+                state ^= state << 13;
+                state ^= state >>> 7;
+                state ^= state << 17;
+                return (byte) state;
+            }
+            return tail[(int) (inPhoto - photoLength)];
+        }
+
+        @Override
+        public String getCharacterEncoding() {
+            return null;
+        }
+
+        @Override
+        public long getContentLength() {
+            return length;
+        }
+
+        @Override
+        public String getContentType() {
+            return "multipart/form-data; boundary=" + BOUNDARY;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return this;
+        }
+
+        @Override
+        public boolean isMultipartRelated() {
+            return false;
+        }
+    }
+}
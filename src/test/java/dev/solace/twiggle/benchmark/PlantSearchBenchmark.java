@@ -0,0 +1,122 @@
+package dev.solace.twiggle.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.solace.twiggle.model.Plant;
+import dev.solace.twiggle.service.search.PlantSearchIndex;
+import dev.solace.twiggle.service.search.PlantSearchQuery;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures build time and query latency of the in-memory plant search index over 100k synthetic species.
+ * Run with {@code mvn test -Pbenchmark -Dtest=PlantSearchBenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Plant Search Benchmark")
+class PlantSearchBenchmark {
+    private static final int SPECIES = 100_000;
+    private static final int QUERIES = 20_000;
+    private static final String[] GENERA = {
+        "Solanum", "Ocimum", "Rosa", "Lavandula", "Mentha", "Salvia", "Allium", "Brassica", "Capsicum", "Cucurbita",
+        "Hosta", "Acer", "Quercus", "Prunus", "Malus", "Thymus", "Rubus", "Vaccinium", "Fragaria", "Tulipa"
+    };
+    private static final String[] WORDS = {
+        "red",
+        "sweet",
+        "dwarf",
+        "giant",
+        "climbing",
+        "evergreen",
+        "fragrant",
+        "hardy",
+        "wild",
+        "golden",
+        "purple",
+        "spicy",
+        "creeping",
+        "early",
+        "late",
+        "striped",
+        "velvet",
+        "silver",
+        "alpine",
+        "meadow"
+    };
+
+    private static PlantSearchIndex index;
+
+    @BeforeAll
+    static void build() {
+        Random random = new Random(42);
+        List<Plant> plants = new ArrayList<>(SPECIES);
+        for (int i = 0; i < SPECIES; i++) {
+            String genus = GENERA[random.nextInt(GENERA.length)];
+            int minZone = 1 + random.nextInt(10);
+            plants.add(Plant.builder()
+                    .id(String.valueOf(i))
+                    .commonName(word(random) + " " + word(random) + " " + genus.toLowerCase() + i)
+                    .scientificName(genus + " " + word(random) + "ii")
+                    .description(word(random) + " " + word(random) + " " + word(random) + " foliage")
+                    .sunExposure(Plant.SunExposure.values()[random.nextInt(3)])
+                    .waterNeed(Plant.WaterNeed.values()[random.nextInt(3)])
+                    .seasons(EnumSet.of(
+                            Plant.Season.values()[random.nextInt(4)], Plant.Season.values()[random.nextInt(4)]))
+                    .minHardinessZone(minZone)
+                    .maxHardinessZone(Math.min(13, minZone + random.nextInt(5)))
+                    .edible(random.nextBoolean())
+                    .popularity(random.nextInt(1_000))
+                    .build());
+        }
+        long start = System.nanoTime();
+        index = PlantSearchIndex.build(plants);
+        System.out.printf("Indexed %d species in %.1f ms%n", index.size(), (System.nanoTime() - start) / 1e6);
+    }
+
+    @Test
+    @DisplayName("Faceted text queries should stay well under a millisecond at p50")
+    void queryLatency() {
+        Random random = new Random(7);
+        List<PlantSearchQuery> queries = new ArrayList<>();
+        for (int i = 0; i < 256; i++) {
+            String genus = GENERA[random.nextInt(GENERA.length)];
+            String text = WORDS[random.nextInt(WORDS.length)] + " "
+                    + genus.substring(0, Math.min(genus.length(), 3 + random.nextInt(3)));
+            queries.add(PlantSearchQuery.builder()
+                    .text(random.nextInt(4) == 0 ? null : text)
+                    .sun(random.nextBoolean() ? Set.of(Plant.SunExposure.FULL_SUN) : null)
+                    .zone(random.nextBoolean() ? 1 + random.nextInt(13) : null)
+                    .edible(random.nextInt(3) == 0 ? Boolean.TRUE : null)
+                    .limit(20)
+                    .build());
+        }
+        for (int i = 0; i < 2_000; i++) {
+            index.search(queries.get(i % queries.size()));
+        }
+
+        long[] samples = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            index.search(queries.get(i % queries.size()));
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        double p50 = samples[QUERIES / 2] / 1e6;
+        double p99 = samples[QUERIES * 99 / 100] / 1e6;
+        System.out.printf("p50 %.3f ms | p99 %.3f ms | max %.3f ms%n", p50, p99, samples[QUERIES - 1] / 1e6);
+
+        assertTrue(p50 < 5, "p50 latency too high: " + p50 + "ms");
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
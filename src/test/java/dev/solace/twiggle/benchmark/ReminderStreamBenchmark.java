@@ -0,0 +1,137 @@
+package dev.solace.twiggle.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.solace.twiggle.dto.ReminderRequest;
+import dev.solace.twiggle.model.ReminderType;
+import dev.solace.twiggle.service.reminder.ReminderHub;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Opens many idle reminder streams against the embedded server and reports the heap and threads each one costs,
+ * then checks that a reminder still reaches its stream while all of them are open.
+ * Run with {@code mvn test -Pbenchmark -Dtest=ReminderStreamBenchmark [-Dsse.connections=10000]}; the open file
+ * limit must allow two descriptors per connection.
+ */
+@Tag("benchmark")
+@ActiveProfiles("dev")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+            "spring.data.mongodb.uri=mongodb://localhost:1/bench",
+            "twiggle.search.enabled=false",
+            "twiggle.autocomplete.enabled=false",
+            "server.tomcat.max-connections=30000",
+            "server.tomcat.accept-count=1000"
+        })
+@DisplayName("Reminder Stream Benchmark")
+class ReminderStreamBenchmark {
+    private static final int CONNECTIONS = Integer.getInteger("sse.connections", 5_000);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ReminderHub reminderHub;
+
+    private final List<SocketChannel> channels = new ArrayList<>();
+
+    @AfterEach
+    void closeChannels() throws IOException {
+        for (SocketChannel channel : channels) {
+            channel.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Idle streams should cost neither a thread nor much heap each")
+    void idleStreams() throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long heapBefore = usedHeap();
+        int threadsBefore = threads.getThreadCount();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < CONNECTIONS; i++) {
+            SocketChannel channel = SocketChannel.open(new InetSocketAddress("localhost", port));
+            channel.write(StandardCharsets.US_ASCII.encode("GET /api/v1/users/user-" + i
+                    + "/reminders/stream HTTP/1.1\r\nHost: localhost\r\nAccept: text/event-stream\r\n\r\n"));
+            channels.add(channel);
+        }
+        // Reading each stream's first bytes confirms the server has accepted and parked it.
+        for (SocketChannel channel : channels) {
+            assertTrue(readSome(channel).startsWith("HTTP/1.1 200"));
+        }
+        long openMillis = (System.nanoTime() - start) / 1_000_000;
+        assertEquals(CONNECTIONS, reminderHub.openStreams());
+
+        long heapPerStream = (usedHeap() - heapBefore) / CONNECTIONS;
+        int extraThreads = threads.getThreadCount() - threadsBefore;
+
+        long publishStart = System.nanoTime();
+        reminderHub.publish(
+                "user-" + (CONNECTIONS / 2),
+                ReminderRequest.builder()
+                        .type(ReminderType.WATER)
+                        .message("Water the basil")
+                        .build());
+        String delivered = readUntil(channels.get(CONNECTIONS / 2), "Water the basil");
+        long deliveryMicros = (System.nanoTime() - publishStart) / 1_000;
+
+        System.out.printf(
+                "Reminder streams: %d open in %d ms, ~%d bytes heap and %d extra threads in total,"
+                        + " delivery to one stream %d us%n",
+                CONNECTIONS, openMillis, heapPerStream, extraThreads, deliveryMicros);
+
+        assertTrue(delivered.contains("Water the basil"));
+        assertTrue(extraThreads < 250, "Idle streams should not each hold a thread");
+        // Dominated by Tomcat's per-connection request, response and socket buffers, which stay bound while async.
+        assertTrue(heapPerStream < 160 * 1024, "Heap per idle stream should stay under 160 KiB");
+    }
+
+    private static String readSome(SocketChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        channel.read(buffer);
+        buffer.flip();
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+
+    /**
+     * Reads until {@code expected} arrives; chunked framing may split an event across reads.
+     */
+    private static String readUntil(SocketChannel channel, String expected) throws IOException {
+        StringBuilder received = new StringBuilder();
+        while (!received.toString().contains(expected)) {
+            String chunk = readSome(channel);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            received.append(chunk);
+        }
+        return received.toString();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,170 @@
+package dev.solace.twiggle.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mongodb.client.MongoClients;
+import dev.solace.twiggle.config.MongoResilienceProperties;
+import dev.solace.twiggle.config.SensorProperties;
+import dev.solace.twiggle.dto.SensorReadingBatchRequest;
+import dev.solace.twiggle.dto.SensorReadingRequest;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.model.sensor.RollupGranularity;
+import dev.solace.twiggle.model.sensor.SensorMetric;
+import dev.solace.twiggle.model.sensor.SensorRollup;
+import dev.solace.twiggle.persistence.ResilientMongoAccess;
+import dev.solace.twiggle.service.sensor.SensorIngestionService;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Drives the sensor ingestion pipeline with {@value #PRODUCERS} concurrent producers posting batches of
+ * {@value #BATCH_SIZE} readings for a fixed time, then reports the sustained accepted and committed rates, the
+ * peak buffer depth and the rejection rate, and checks that every committed reading is counted once in the rollups.
+ * Run with {@code mvn test -Pbenchmark -Dtest=SensorIngestionBenchmark}; {@code -Dsensors.seconds=60} measures
+ * longer and {@code -Dsensors.sensors=5000} spreads readings over more sensors.
+ */
+@Tag("benchmark")
+@Testcontainers
+@DisplayName("Sensor Ingestion Benchmark")
+class SensorIngestionBenchmark {
+    private static final int PRODUCERS = 32;
+    private static final int BATCH_SIZE = 50;
+    private static final int SECONDS = Integer.getInteger("sensors.seconds", 20);
+    private static final int SENSORS = Integer.getInteger("sensors.sensors", 1_000);
+    private static final double MIN_COMMITTED_PER_SECOND = 10_000;
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0.5"));
+
+    @Test
+    @DisplayName("Sustained ingestion should commit every accepted reading with rollups")
+    void sustainedThroughput() throws Exception {
+        MongoTemplate mongoTemplate =
+                new MongoTemplate(MongoClients.create(mongoDBContainer.getReplicaSetUrl()), "bench");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ResilientMongoAccess access = new ResilientMongoAccess(
+                new MongoResilienceProperties(),
+                CircuitBreakerRegistry.ofDefaults(),
+                BulkheadRegistry.ofDefaults(),
+                meterRegistry);
+        SensorIngestionService service =
+                new SensorIngestionService(mongoTemplate, access, new SensorProperties(), meterRegistry);
+
+        AtomicBoolean producing = new AtomicBoolean(true);
+        AtomicLong accepted = new AtomicLong();
+        AtomicLong rejectedBatches = new AtomicLong();
+        long start = System.nanoTime();
+        int peakBacklog = 0;
+        try (ExecutorService producers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int p = 0; p < PRODUCERS; p++) {
+                producers.submit(() -> produce(service, producing, accepted, rejectedBatches));
+            }
+            long end = start + TimeUnit.SECONDS.toNanos(SECONDS);
+            while (System.nanoTime() < end) {
+                peakBacklog = Math.max(peakBacklog, service.backlog());
+                Thread.sleep(10);
+            }
+            producing.set(false);
+        }
+        double producedSeconds = (System.nanoTime() - start) / 1e9;
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (written(meterRegistry) < accepted.get() && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        double totalSeconds = (System.nanoTime() - start) / 1e9;
+        service.destroy();
+
+        double committedPerSecond = written(meterRegistry) / totalSeconds;
+        System.out.printf(
+                "%d producers x %d readings/batch over %d sensors for %.1f s: accepted %.0f/s, committed %.0f/s,"
+                        + " %d batches rejected, peak backlog %d readings, commit p99 %.1f ms%n",
+                PRODUCERS,
+                BATCH_SIZE,
+                SENSORS,
+                producedSeconds,
+                accepted.get() / producedSeconds,
+                committedPerSecond,
+                rejectedBatches.get(),
+                peakBacklog,
+                meterRegistry
+                        .get("twiggle.sensors.commit")
+                        .timer()
+                        .takeSnapshot()
+                        .percentileValues()[1]
+                        .value(TimeUnit.MILLISECONDS));
+
+        assertEquals(accepted.get(), (long) written(meterRegistry), "every accepted reading should be committed");
+        assertEquals(accepted.get(), rollupCount(mongoTemplate), "minute rollups should count each reading once");
+        assertTrue(
+                committedPerSecond >= MIN_COMMITTED_PER_SECOND,
+                "expected at least " + MIN_COMMITTED_PER_SECOND + " readings/s, got " + committedPerSecond);
+    }
+
+    private static void produce(
+            SensorIngestionService service, AtomicBoolean producing, AtomicLong accepted, AtomicLong rejectedBatches) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (producing.get()) {
+            List<SensorReadingRequest> readings = new ArrayList<>(BATCH_SIZE);
+            Instant now = Instant.now();
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                readings.add(SensorReadingRequest.builder()
+                        .sensorId("sensor-" + random.nextInt(SENSORS))
+                        .metric(random.nextBoolean() ? SensorMetric.SOIL_MOISTURE : SensorMetric.TEMPERATURE)
+                        .value(random.nextDouble(0, 60))
+                        .timestamp(now)
+                        .build());
+            }
+            try {
+                accepted.addAndGet(service.accept("bench-garden", new SensorReadingBatchRequest(readings)));
+            } catch (CustomException ex) {
+                // Full buffer: back off like a sensor would.
+                rejectedBatches.incrementAndGet();
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static double written(SimpleMeterRegistry meterRegistry) {
+        return meterRegistry.get("twiggle.sensors.written").counter().count();
+    }
+
+    private static long rollupCount(MongoTemplate mongoTemplate) {
+        Document total = mongoTemplate
+                .aggregate(
+                        Aggregation.newAggregation(
+                                Aggregation.match(Criteria.where("granularity").is(RollupGranularity.MINUTE.name())),
+                                Aggregation.group().sum("count").as("total")),
+                        SensorRollup.COLLECTION,
+                        Document.class)
+                .getUniqueMappedResult();
+        return total == null ? 0 : ((Number) total.get("total")).longValue();
+    }
+}
@@ -0,0 +1,203 @@
+package dev.solace.twiggle.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.solace.twiggle.TwiggleApplication;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the latency tracing adds per request: launches the application in a fresh JVM with tracing off, with
+ * tail sampling as configured, and with tail sampling keeping every trace (what recording and exporting everything
+ * costs), alternating the three for {@value #ROUNDS} rounds each. Each launch is warmed up with
+ * {@value #WARM_UP_REQUESTS} requests before {@value #REQUESTS} are timed; a tenth of them fail with an error code.
+ * Uses the {@code openapi} test profile, so no Mongo is needed and traces hold controller and exception spans.
+ * Run with {@code mvn test -Pbenchmark -Dtest=TracingOverheadBenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Tracing Overhead Benchmark")
+class TracingOverheadBenchmark {
+    private static final int ROUNDS = 3;
+    private static final int WARM_UP_REQUESTS = 5_000;
+    private static final int REQUESTS = 10_000;
+    private static final Duration BOOT_TIMEOUT = Duration.ofMinutes(3);
+    private static final String OK = "/api/v1/planting-calendar?lat=51.5&lon=-0.1&limit=0";
+    private static final String ERROR = "/api/v1/planting-calendar?lat=100&lon=0";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Tail sampling should add little latency per request and export only the kept traces")
+    void overheadPerRequest() throws Exception {
+        Map<String, List<String>> setups = new LinkedHashMap<>();
+        setups.put("tracing off", List.of("--management.tracing.enabled=false"));
+        setups.put("tail sampling", List.of("--management.tracing.enabled=true", "--twiggle.tracing.keep-ratio=0.01"));
+        setups.put("keep every trace", List.of("--management.tracing.enabled=true", "--twiggle.tracing.keep-ratio=1"));
+
+        Map<String, List<Round>> rounds = new LinkedHashMap<>();
+        setups.keySet().forEach(name -> rounds.put(name, new ArrayList<>()));
+        for (int round = 0; round < ROUNDS; round++) {
+            for (Map.Entry<String, List<String>> setup : setups.entrySet()) {
+                rounds.get(setup.getKey()).add(launch(setup.getValue()));
+            }
+        }
+
+        Map<String, Round> medians = new LinkedHashMap<>();
+        rounds.forEach((name, launches) -> medians.put(name, Round.median(launches)));
+        double baseline = medians.get("tracing off").meanMicros();
+        System.out.printf("Median of %d launches, %d requests each after warm-up:%n", ROUNDS, REQUESTS);
+        System.out.println(
+                "setup            | mean us | p50 us | p99 us | added mean us | added p50 us | spans exported");
+        medians.forEach((name, round) -> System.out.printf(
+                "%-16s | %7.1f | %6.1f | %6.1f | %13.1f | %12.1f | %d%n",
+                name,
+                round.meanMicros(),
+                round.p50Micros(),
+                round.p99Micros(),
+                round.meanMicros() - baseline,
+                round.p50Micros() - medians.get("tracing off").p50Micros(),
+                round.exportedSpans()));
+
+        Round tail = medians.get("tail sampling");
+        Round all = medians.get("keep every trace");
+        assertTrue(
+                tail.exportedSpans() >= REQUESTS / 10 && tail.exportedSpans() < all.exportedSpans() / 4,
+                "Tail sampling should export the errored traces and few others: " + tail.exportedSpans());
+        assertTrue(
+                tail.meanMicros() - baseline < baseline,
+                "Tail sampling should cost less than the request itself: " + (tail.meanMicros() - baseline) + "us");
+    }
+
+    private Round launch(List<String> arguments) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp",
+                System.getProperty("java.class.path"),
+                TwiggleApplication.class.getName(),
+                "--spring.profiles.active=dev,openapi",
+                "--server.port=" + port,
+                // Latency outliers of a shared machine would otherwise be kept as slow traces.
+                "--twiggle.tracing.slow-threshold=10s"));
+        command.addAll(arguments);
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            awaitReady(port, process);
+            for (int i = 0; i < WARM_UP_REQUESTS; i++) {
+                send(port, i);
+            }
+            long exportedBefore = exportedSpans(port);
+            long[] latencies = new long[REQUESTS];
+            for (int i = 0; i < REQUESTS; i++) {
+                long sent = System.nanoTime();
+                send(port, i);
+                latencies[i] = (System.nanoTime() - sent) / 1_000;
+            }
+            // Let the batch processor's scheduled export catch up.
+            Thread.sleep(6_000);
+            return Round.of(latencies, exportedSpans(port) - exportedBefore);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private void send(int port, int i) throws Exception {
+        String path = i % 10 == 0 ? ERROR : OK;
+        HttpResponse<Void> response = client.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != (path.equals(OK) ? 200 : 400)) {
+            fail(path + " answered " + response.statusCode());
+        }
+    }
+
+    private long exportedSpans(int port) throws Exception {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create(
+                                "http://localhost:" + port + "/actuator/metrics/twiggle.tracing.exported.spans"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 404) {
+            return 0;
+        }
+        JsonNode metric = objectMapper.readTree(response.body());
+        return metric.path("measurements").path(0).path("value").asLong();
+    }
+
+    private void awaitReady(int port, Process process) throws Exception {
+        URI readiness = URI.create("http://localhost:" + port + "/actuator/health/readiness");
+        long deadline = System.nanoTime() + BOOT_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                fail("application exited with " + process.exitValue() + " before it was ready");
+            }
+            try {
+                if (client.send(HttpRequest.newBuilder(readiness).build(), HttpResponse.BodyHandlers.discarding())
+                                .statusCode()
+                        == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // Not listening yet.
+            }
+            Thread.sleep(50);
+        }
+        fail("application was not ready after " + BOOT_TIMEOUT);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Round(double meanMicros, double p50Micros, double p99Micros, long exportedSpans) {
+
+        static Round of(long[] latencies, long exportedSpans) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return new Round(
+                    Arrays.stream(latencies).average().orElse(0),
+                    sorted[sorted.length / 2],
+                    sorted[sorted.length * 99 / 100],
+                    exportedSpans);
+        }
+
+        static Round median(List<Round> rounds) {
+            return new Round(
+                    median(rounds.stream().mapToDouble(Round::meanMicros).toArray()),
+                    median(rounds.stream().mapToDouble(Round::p50Micros).toArray()),
+                    median(rounds.stream().mapToDouble(Round::p99Micros).toArray()),
+                    (long) median(
+                            rounds.stream().mapToDouble(Round::exportedSpans).toArray()));
+        }
+
+        private static double median(double[] values) {
+            Arrays.sort(values);
+            return values[values.length / 2];
+        }
+    }
+}
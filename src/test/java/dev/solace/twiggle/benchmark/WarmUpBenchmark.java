@@ -0,0 +1,157 @@
+package dev.solace.twiggle.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import dev.solace.twiggle.TwiggleApplication;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Launches the application in a fresh JVM with the startup warm-up off and on, alternating the two for
+ * {@value #ROUNDS} rounds each, and measures the time until the readiness probe reports ready and the latency of the
+ * first {@value #REQUESTS} requests after that: successful responses and errors from the exception handler. JIT
+ * state lives in the JVM, so each boot needs its own process. Uses the {@code openapi} test profile, so no Mongo is
+ * needed and the repository exercise gives up at once.
+ * Run with {@code mvn test -Pbenchmark -Dtest=WarmUpBenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Warm-Up Benchmark")
+class WarmUpBenchmark {
+    private static final int ROUNDS = 3;
+    private static final int REQUESTS = 150;
+    private static final Duration BOOT_TIMEOUT = Duration.ofMinutes(3);
+    private static final List<String> PATHS = List.of(
+            "/api/v1/test",
+            "/api/v1/planting-calendar?lat=51.5&lon=-0.1&limit=0",
+            "/api/v1/planting-calendar?lat=0&lon=-30&limit=0");
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    @DisplayName("Warmed-up instances should serve their first requests faster")
+    void firstRequests() throws Exception {
+        List<Round> cold = new ArrayList<>();
+        List<Round> warm = new ArrayList<>();
+        for (int round = 0; round < ROUNDS; round++) {
+            // Warm first, so whatever the benchmark's own client gains from warming up favours the cold instance.
+            warm.add(launch(true));
+            cold.add(launch(false));
+        }
+
+        Round coldMedian = Round.median(cold);
+        Round warmMedian = Round.median(warm);
+        System.out.printf(
+                "Median of %d launches, first %d requests after ready:%n  no warm-up: %s%n  warm-up:    %s%n",
+                ROUNDS, REQUESTS, coldMedian, warmMedian);
+
+        assertTrue(
+                warmMedian.totalMicros() < coldMedian.totalMicros(),
+                "warmed-up instances should serve their first requests sooner");
+    }
+
+    private Round launch(boolean warmUp) throws Exception {
+        int port = freePort();
+        Process process = new ProcessBuilder(
+                        Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                        "-cp",
+                        System.getProperty("java.class.path"),
+                        TwiggleApplication.class.getName(),
+                        "--spring.profiles.active=dev,openapi",
+                        "--server.port=" + port,
+                        "--twiggle.warmup.enabled=" + warmUp)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long start = System.nanoTime();
+            awaitReady(port, process);
+            long readyMillis = (System.nanoTime() - start) / 1_000_000;
+
+            long[] latencies = new long[REQUESTS];
+            for (int i = 0; i < REQUESTS; i++) {
+                URI uri = URI.create("http://localhost:" + port + PATHS.get(i % PATHS.size()));
+                long sent = System.nanoTime();
+                HttpResponse<String> response =
+                        client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString());
+                latencies[i] = (System.nanoTime() - sent) / 1_000;
+                assertTrue(response.statusCode() == 200 || response.statusCode() == 404, uri + ": " + response.body());
+            }
+            return Round.of(readyMillis, latencies);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private void awaitReady(int port, Process process) throws Exception {
+        URI readiness = URI.create("http://localhost:" + port + "/actuator/health/readiness");
+        long deadline = System.nanoTime() + BOOT_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                fail("application exited with " + process.exitValue() + " before it was ready");
+            }
+            try {
+                if (client.send(HttpRequest.newBuilder(readiness).build(), HttpResponse.BodyHandlers.discarding())
+                                .statusCode()
+                        == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // Not listening yet.
+            }
+            Thread.sleep(50);
+        }
+        fail("application was not ready after " + BOOT_TIMEOUT);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Round(long readyMillis, long firstMicros, long p50Micros, long p99Micros, long totalMicros) {
+
+        static Round of(long readyMillis, long[] latencies) {
+            long first = latencies[0];
+            long total = Arrays.stream(latencies).sum();
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return new Round(readyMillis, first, sorted[sorted.length / 2], sorted[sorted.length * 99 / 100], total);
+        }
+
+        static Round median(List<Round> rounds) {
+            return new Round(
+                    median(rounds.stream().mapToLong(Round::readyMillis).toArray()),
+                    median(rounds.stream().mapToLong(Round::firstMicros).toArray()),
+                    median(rounds.stream().mapToLong(Round::p50Micros).toArray()),
+                    median(rounds.stream().mapToLong(Round::p99Micros).toArray()),
+                    median(rounds.stream().mapToLong(Round::totalMicros).toArray()));
+        }
+
+        private static long median(long[] values) {
+            Arrays.sort(values);
+            return values[values.length / 2];
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "ready after %d ms | first request %.1f ms, p50 %.2f ms, p99 %.1f ms, all %.0f ms",
+                    readyMillis, firstMicros / 1e3, p50Micros / 1e3, p99Micros / 1e3, totalMicros / 1e3);
+        }
+    }
+}
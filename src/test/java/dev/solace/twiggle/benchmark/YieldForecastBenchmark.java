@@ -0,0 +1,130 @@
+package dev.solace.twiggle.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import dev.solace.twiggle.config.ForecastProperties;
+import dev.solace.twiggle.model.forecast.YieldForecast;
+import dev.solace.twiggle.model.stats.GardenStats;
+import dev.solace.twiggle.service.forecast.YieldSimulator;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the simulation throughput of the nightly yield forecast on one thread and on one thread per core, in
+ * chunks like the batch run, and checks that the parallel run gives the same forecasts.
+ * Run with {@code mvn test -Pbenchmark -Dtest=YieldForecastBenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Yield Forecast Benchmark")
+class YieldForecastBenchmark {
+    private static final int GARDENS = 20_000;
+    private static final int CHUNK_SIZE = 500;
+    private static final int CROPS = 200;
+    private static final int WARM_UP_PASSES = 3;
+    private static final LocalDate RUN_DATE = LocalDate.of(2025, 5, 1);
+    private static final Instant COMPUTED_AT = Instant.parse("2025-05-01T02:00:00Z");
+
+    @Test
+    @DisplayName("Parallel chunks should forecast the same as a single thread")
+    void throughput() throws Exception {
+        ForecastProperties properties = new ForecastProperties();
+        YieldSimulator simulator = new YieldSimulator(properties);
+        Random random = new Random(42);
+        Map<String, YieldSimulator.Crop> crops = new HashMap<>();
+        for (int i = 0; i < CROPS; i++) {
+            crops.put(
+                    "plant-" + i,
+                    new YieldSimulator.Crop("plant-" + i, 300 + random.nextInt(1500), random.nextDouble() * 5));
+        }
+        List<List<GardenStats.PlantCount>> gardens = new ArrayList<>(GARDENS);
+        List<YieldSimulator.Weather> weather = new ArrayList<>(GARDENS);
+        for (int i = 0; i < GARDENS; i++) {
+            List<GardenStats.PlantCount> plants = new ArrayList<>();
+            for (int kind = 1 + random.nextInt(8); kind > 0; kind--) {
+                plants.add(new GardenStats.PlantCount("plant-" + random.nextInt(CROPS), 1 + random.nextInt(10)));
+            }
+            gardens.add(plants);
+            weather.add(new YieldSimulator.Weather(
+                    30, 12 + random.nextDouble() * 12, 2 + random.nextDouble() * 3, random.nextDouble() * 200, 40));
+        }
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            double[] sequential = new double[GARDENS];
+            double[] parallel = new double[GARDENS];
+            for (int pass = 0; pass < WARM_UP_PASSES; pass++) {
+                simulateAll(simulator, crops, gardens, weather, sequential);
+            }
+            long start = System.nanoTime();
+            simulateAll(simulator, crops, gardens, weather, sequential);
+            double sequentialSeconds = (System.nanoTime() - start) / 1e9;
+
+            start = System.nanoTime();
+            List<Future<?>> chunks = new ArrayList<>();
+            for (int from = 0; from < GARDENS; from += CHUNK_SIZE) {
+                int chunk = from;
+                chunks.add(pool.submit(() -> simulateChunk(simulator, crops, gardens, weather, parallel, chunk)));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+            double parallelSeconds = (System.nanoTime() - start) / 1e9;
+
+            long paths = (long) GARDENS * simulator.samples();
+            System.out.printf(
+                    "%d gardens x %d paths | 1 thread %.0f gardens/s (%.0f paths/s) | %d threads %.0f gardens/s"
+                            + " (%.0f paths/s, %.1fx)%n",
+                    GARDENS,
+                    simulator.samples(),
+                    GARDENS / sequentialSeconds,
+                    paths / sequentialSeconds,
+                    threads,
+                    GARDENS / parallelSeconds,
+                    paths / parallelSeconds,
+                    sequentialSeconds / parallelSeconds);
+
+            for (int i = 0; i < GARDENS; i++) {
+                assertEquals(sequential[i], parallel[i], "Forecast of garden " + i + " should not depend on threads");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void simulateAll(
+            YieldSimulator simulator,
+            Map<String, YieldSimulator.Crop> crops,
+            List<List<GardenStats.PlantCount>> gardens,
+            List<YieldSimulator.Weather> weather,
+            double[] yields) {
+        for (int from = 0; from < GARDENS; from += CHUNK_SIZE) {
+            simulateChunk(simulator, crops, gardens, weather, yields, from);
+        }
+    }
+
+    private static void simulateChunk(
+            YieldSimulator simulator,
+            Map<String, YieldSimulator.Crop> crops,
+            List<List<GardenStats.PlantCount>> gardens,
+            List<YieldSimulator.Weather> weather,
+            double[] yields,
+            int from) {
+        for (int i = from; i < Math.min(GARDENS, from + CHUNK_SIZE); i++) {
+            YieldForecast forecast =
+                    simulator.simulate("garden-" + i, gardens.get(i), crops, weather.get(i), RUN_DATE, COMPUTED_AT);
+            yields[i] = forecast.getExpectedYield();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package dev.solace.twiggle.climate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.solace.twiggle.model.Plant;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link ClimateTableCompiler} and {@link ClimateTables}.
+ */
+class ClimateTablesTest {
+
+    private static final List<String> REGIONS = List.of(
+            "# south,west,north,east,zone,last_frost,first_frost",
+            "30.0,-100.0,50.0,-70.0,6a,04-21,10-17",
+            "40.0,-80.0,45.0,-75.0,5b,05-10,10-01",
+            "-40.0,140.0,-30.0,150.0,9b,09-10,05-20",
+            "20.0,-90.0,25.0,-80.0,11a,,");
+
+    private static final List<String> WINDOWS = List.of(
+            "# season,anchor,from_week,to_week",
+            "SPRING,LAST_FROST,-6,2",
+            "SUMMER,LAST_FROST,1,8",
+            "WINTER,FIRST_FROST,-6,2");
+
+    private final ClimateTables tables = compile(REGIONS);
+
+    @Test
+    void profileAt_ShouldResolveLastRegionContainingPoint() {
+        // Act
+        int broad = tables.profileAt(35.0, -90.0);
+        int refined = tables.profileAt(42.5, -77.5);
+
+        // Assert
+        assertThat(tables.halfZone(broad)).isEqualTo(11);
+        assertThat(tables.halfZone(refined)).isEqualTo(10);
+        assertThat(tables.lastFrostDay(refined)).isEqualTo(130);
+        assertThat(tables.firstFrostDay(refined)).isEqualTo(274);
+    }
+
+    @Test
+    void profileAt_OutsideAnyRegion_ShouldReturnNoData() {
+        assertThat(tables.profileAt(0, 0)).isZero();
+        assertThat(tables.profileAt(90, 180)).isZero();
+        assertThat(tables.profileAt(Double.NaN, 0)).isZero();
+        assertThat(tables.profileAt(91, 0)).isZero();
+    }
+
+    @Test
+    void plantableSeasons_ShouldFollowFrostDates() {
+        // Arrange
+        int profile = tables.profileAt(35.0, -90.0);
+
+        // Act & Assert
+        assertThat(seasons(profile, LocalDate.of(2025, 1, 15))).isZero();
+        assertThat(seasons(profile, LocalDate.of(2025, 4, 1))).isEqualTo(bit(Plant.Season.SPRING));
+        assertThat(seasons(profile, LocalDate.of(2025, 5, 1)))
+                .isEqualTo(bit(Plant.Season.SPRING) | bit(Plant.Season.SUMMER));
+        assertThat(seasons(profile, LocalDate.of(2025, 10, 1))).isEqualTo(bit(Plant.Season.WINTER));
+    }
+
+    @Test
+    void plantableSeasons_InSouthernHemisphere_ShouldFollowReversedSeasons() {
+        // Arrange
+        int profile = tables.profileAt(-35.0, 145.0);
+
+        // Act & Assert
+        assertThat(tables.firstFrostDay(profile)).isLessThan(tables.lastFrostDay(profile));
+        assertThat(seasons(profile, LocalDate.of(2025, 9, 1))).isEqualTo(bit(Plant.Season.SPRING));
+        assertThat(seasons(profile, LocalDate.of(2025, 11, 1))).isEqualTo(bit(Plant.Season.SUMMER));
+        assertThat(seasons(profile, LocalDate.of(2025, 5, 1))).isEqualTo(bit(Plant.Season.WINTER));
+    }
+
+    @Test
+    void plantableSeasons_WhereItDoesNotFreeze_ShouldUseNominalDates() {
+        // Arrange
+        int profile = tables.profileAt(22.0, -85.0);
+
+        // Act & Assert
+        assertThat(tables.lastFrostDay(profile)).isZero();
+        assertThat(tables.firstFrostDay(profile)).isZero();
+        assertThat(seasons(profile, LocalDate.of(2025, 1, 15))).isEqualTo(bit(Plant.Season.SPRING));
+        assertThat(seasons(profile, LocalDate.of(2025, 12, 28))).isEqualTo(bit(Plant.Season.SPRING));
+        assertThat(seasons(profile, LocalDate.of(2025, 7, 15))).isZero();
+    }
+
+    @Test
+    void open_ShouldMapCompiledFiles(@TempDir Path directory) throws Exception {
+        // Arrange
+        Path source = Files.createDirectories(directory.resolve("source"));
+        Files.write(source.resolve(ClimateTableCompiler.REGIONS_FILE), REGIONS);
+        Files.write(source.resolve(ClimateTableCompiler.SEASON_WINDOWS_FILE), WINDOWS);
+        Path output = directory.resolve("tables");
+
+        // Act
+        ClimateTableCompiler.main(new String[] {source.toString(), output.toString(), "2"});
+        ClimateTables mapped = ClimateTables.open(output);
+
+        // Assert
+        assertThat(mapped.cellsPerDegree()).isEqualTo(2);
+        assertThat(mapped.profiles()).isEqualTo(tables.profiles());
+        assertThat(mapped.halfZone(mapped.profileAt(42.5, -77.5))).isEqualTo(10);
+    }
+
+    @Test
+    void open_WithCorruptFile_ShouldFail() {
+        // Arrange
+        ClimateTableCompiler.Tables compiled = ClimateTableCompiler.compile(REGIONS, WINDOWS, 1);
+        ByteBuffer truncated =
+                ByteBuffer.wrap(compiled.calendar().array(), 0, 40).slice();
+
+        // Act & Assert
+        assertThatThrownBy(() -> ClimateTables.of(compiled.grid(), truncated))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("truncated");
+        assertThatThrownBy(() -> ClimateTables.of(compiled.calendar(), compiled.grid()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("zone grid");
+    }
+
+    @Test
+    void compile_WithInvalidSource_ShouldReportLine() {
+        assertThatThrownBy(() -> compile(List.of("10,0,20,10,14a,04-01,10-01")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Line 1: the zone must be 1a to 13b");
+        assertThatThrownBy(() -> compile(List.of("# header", "10,0,20,10,7a,04-01,")))
+                .hasMessage("Line 2: give both frost dates, or neither where it does not freeze");
+        assertThatThrownBy(() -> compile(List.of("20,0,10,10,7a,04-01,10-01")))
+                .hasMessage("Line 1: the bounds must be a non-empty rectangle within the globe");
+    }
+
+    private int seasons(int profile, LocalDate date) {
+        return tables.plantableSeasons(profile, ClimateTables.weekOf(date));
+    }
+
+    private static int bit(Plant.Season season) {
+        return 1 << season.ordinal();
+    }
+
+    private static ClimateTables compile(List<String> regions) {
+        ClimateTableCompiler.Tables compiled = ClimateTableCompiler.compile(regions, WINDOWS, 4);
+        return ClimateTables.of(compiled.grid(), compiled.calendar());
+    }
+}
@@ -0,0 +1,69 @@
+package dev.solace.twiggle.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.TaggableReadPreference;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link MongoRoutingConfiguration} class.
+ */
+class MongoRoutingConfigurationTest {
+
+    @Test
+    void readPreference_ShouldDefaultToPrimary() {
+        // When
+        ReadPreference readPreference = MongoRoutingConfiguration.readPreference(new MongoRoutingProperties.Route());
+
+        // Then
+        assertEquals(ReadPreference.primary(), readPreference);
+    }
+
+    @Test
+    void readPreference_ShouldApplyMaxStalenessToSecondaryReads() {
+        // Given
+        MongoRoutingProperties.Route route = new MongoRoutingProperties.Route();
+        route.setReadPreference("secondaryPreferred");
+        route.setMaxStaleness(Duration.ofSeconds(120));
+
+        // When
+        ReadPreference readPreference = MongoRoutingConfiguration.readPreference(route);
+
+        // Then
+        assertEquals("secondaryPreferred", readPreference.getName());
+        assertEquals(
+                120L,
+                ((TaggableReadPreference) readPreference).getMaxStaleness(TimeUnit.SECONDS),
+                "Max staleness should be carried over");
+    }
+
+    @Test
+    void readPreference_ShouldRejectMaxStalenessBelowServerMinimum() {
+        // Given
+        MongoRoutingProperties.Route route = new MongoRoutingProperties.Route();
+        route.setReadPreference("secondary");
+        route.setMaxStaleness(Duration.ofSeconds(30));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> MongoRoutingConfiguration.readPreference(route));
+    }
+
+    @Test
+    void readConcern_ShouldBeNullWhenUnset() {
+        assertNull(MongoRoutingConfiguration.readConcern(new MongoRoutingProperties.Route()));
+    }
+
+    @Test
+    void readConcern_ShouldParseLevel() {
+        // Given
+        MongoRoutingProperties.Route route = new MongoRoutingProperties.Route();
+        route.setReadConcern("majority");
+
+        // When & Then
+        assertEquals(ReadConcern.MAJORITY, MongoRoutingConfiguration.readConcern(route));
+    }
+}
@@ -0,0 +1,93 @@
+package dev.solace.twiggle.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("dev")
+@DisplayName("MongoDB Read Routing Tests")
+class MongoRoutingTest {
+    private static final String TEST_COLLECTION = "test_routing";
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0.5"));
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    @Qualifier("catalogMongoTemplate") private MongoTemplate catalogMongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.dropCollection(TEST_COLLECTION);
+    }
+
+    @Test
+    @DisplayName("Primary template should read from the primary with majority read concern")
+    void testUserDataRoute() {
+        assertEquals(ReadPreference.primary(), mongoTemplate.getReadPreference());
+        assertEquals(
+                ReadConcern.MAJORITY,
+                mongoTemplate.getCollection(TEST_COLLECTION).getReadConcern());
+    }
+
+    @Test
+    @DisplayName("Catalog template should prefer secondaries and fall back to the primary")
+    void testCatalogRouteReadsWritesOfPrimary() {
+        assertEquals(
+                "secondaryPreferred", catalogMongoTemplate.getReadPreference().getName());
+        assertEquals(
+                ReadConcern.LOCAL,
+                catalogMongoTemplate.getCollection(TEST_COLLECTION).getReadConcern());
+
+        mongoTemplate.insert(new Document("name", "Basil"), TEST_COLLECTION);
+
+        // The single-node replica set has no secondary, so secondaryPreferred is served by the primary.
+        Document found = catalogMongoTemplate
+                .getCollection(TEST_COLLECTION)
+                .find(new Document("name", "Basil"))
+                .first();
+        assertNotNull(found, "Catalog route should read the inserted document");
+    }
+
+    @Test
+    @DisplayName("Should publish pool gauges and checkout wait time")
+    void testPoolMetrics() {
+        mongoTemplate.getCollection(TEST_COLLECTION).countDocuments();
+
+        assertNotNull(meterRegistry.find("mongodb.driver.pool.checkedout").gauge());
+        assertNotNull(meterRegistry.find("mongodb.driver.pool.waitqueuesize").gauge());
+        assertTrue(
+                meterRegistry.find("mongodb.driver.pool.wait").timers().stream().anyMatch(timer -> timer.count() > 0));
+    }
+}
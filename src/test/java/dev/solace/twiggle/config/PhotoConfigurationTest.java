@@ -0,0 +1,63 @@
+package dev.solace.twiggle.config;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import dev.solace.twiggle.controller.PhotoController;
+import jakarta.servlet.http.Part;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Unit tests for the multipart handler check of {@link PhotoConfiguration}.
+ */
+class PhotoConfigurationTest {
+
+    @Test
+    void checkNoMultipartHandlers_ShouldAcceptTheStreamingPhotoUpload() {
+        PhotoController controller = mock(PhotoController.class);
+
+        assertDoesNotThrow(() -> PhotoConfiguration.checkNoMultipartHandlers(handlers(controller)));
+    }
+
+    @Test
+    void checkNoMultipartHandlers_ShouldRejectHandlersExpectingResolvedParts() throws Exception {
+        MultipartHandlers bean = new MultipartHandlers();
+        for (String name : List.of("file", "files", "part", "annotated")) {
+            Method method = Arrays.stream(MultipartHandlers.class.getDeclaredMethods())
+                    .filter(candidate -> candidate.getName().equals(name))
+                    .findFirst()
+                    .orElseThrow();
+
+            assertThrows(
+                    IllegalStateException.class,
+                    () -> PhotoConfiguration.checkNoMultipartHandlers(List.of(new HandlerMethod(bean, method))),
+                    name);
+        }
+    }
+
+    private static List<HandlerMethod> handlers(Object bean) {
+        return Arrays.stream(bean.getClass().getSuperclass().getDeclaredMethods())
+                .filter(method -> Modifier.isPublic(method.getModifiers()))
+                .map(method -> new HandlerMethod(bean, method))
+                .toList();
+    }
+
+    static class MultipartHandlers {
+
+        void file(MultipartFile file) {}
+
+        void files(List<MultipartFile> files) {}
+
+        void part(Part part) {}
+
+        void annotated(@RequestPart("meta") String meta) {}
+    }
+}
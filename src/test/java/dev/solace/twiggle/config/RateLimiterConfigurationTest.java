@@ -81,4 +81,19 @@ class RateLimiterConfigurationTest {
                 limiter.getRateLimiterConfig().getLimitRefreshPeriod(),
                 "Refresh period should be 1 minute");
     }
+
+    @Test
+    void sensorIngestLimiter_ShouldCreateWithCorrectConfig() {
+        // When
+        RateLimiter limiter = configuration.sensorIngestLimiter(rateLimiterRegistry);
+
+        // Then
+        assertNotNull(limiter, "Sensor ingest limiter should not be null");
+        assertEquals("sensor-ingest", limiter.getName(), "Limiter name should match");
+        assertEquals(6000, limiter.getRateLimiterConfig().getLimitForPeriod(), "Limit for period should be 6000");
+        assertEquals(
+                Duration.ofMinutes(1),
+                limiter.getRateLimiterConfig().getLimitRefreshPeriod(),
+                "Refresh period should be 1 minute");
+    }
 }
@@ -0,0 +1,99 @@
+package dev.solace.twiggle.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import dev.solace.twiggle.config.RateLimiterConfiguration;
+import dev.solace.twiggle.dto.LayoutView;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.layout.Placement;
+import dev.solace.twiggle.service.layout.LayoutEditService;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Unit tests for {@link GardenLayoutController}.
+ */
+@WebMvcTest(GardenLayoutController.class)
+@Import({RateLimiterConfiguration.class})
+class GardenLayoutControllerTest {
+
+    private static final String DELTA =
+            """
+            {"baseVersion": 4, "operations": [{"type": "MOVE", "placementId": "p1", "x": 2.5, "y": 3}]}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private LayoutEditService layoutEditService;
+
+    @Test
+    void getLayout_ShouldReturnPlacements() throws Exception {
+        when(layoutEditService.getLayout("g1"))
+                .thenReturn(LayoutView.builder()
+                        .gardenId("g1")
+                        .version(4)
+                        .placements(List.of(Placement.builder()
+                                .id("p1")
+                                .plantId("tomato")
+                                .x(1)
+                                .y(2)
+                                .build()))
+                        .build());
+
+        mockMvc.perform(get("/api/v1/gardens/g1/layout"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.version").value(4))
+                .andExpect(jsonPath("$.data.placements[0].plantId").value("tomato"));
+    }
+
+    @Test
+    void applyDelta_ShouldReturnNewVersionOnly() throws Exception {
+        when(layoutEditService.applyDelta(eq("g1"), any()))
+                .thenReturn(LayoutView.builder().gardenId("g1").version(5).build());
+
+        mockMvc.perform(patch("/api/v1/gardens/g1/layout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(DELTA))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.version").value(5))
+                .andExpect(jsonPath("$.data.placements").doesNotExist());
+    }
+
+    @Test
+    void applyDelta_WithStaleBaseVersion_ShouldReturnConflict() throws Exception {
+        when(layoutEditService.applyDelta(eq("g1"), any()))
+                .thenThrow(new CustomException(
+                        "Layout has changed; current version is 6", HttpStatus.CONFLICT, ErrorCode.VERSION_CONFLICT));
+
+        mockMvc.perform(patch("/api/v1/gardens/g1/layout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(DELTA))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("VERSION_CONFLICT"));
+    }
+
+    @Test
+    void applyDelta_WithoutOperations_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/v1/gardens/g1/layout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"baseVersion\": 1, \"operations\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_REQUEST"));
+    }
+}
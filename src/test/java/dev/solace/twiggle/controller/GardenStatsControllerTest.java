@@ -0,0 +1,56 @@
+package dev.solace.twiggle.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import dev.solace.twiggle.config.RateLimiterConfiguration;
+import dev.solace.twiggle.dto.GardenStatsView;
+import dev.solace.twiggle.model.stats.GardenStats;
+import dev.solace.twiggle.service.stats.GardenStatsService;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Unit tests for {@link GardenStatsController}.
+ */
+@WebMvcTest(GardenStatsController.class)
+@Import({RateLimiterConfiguration.class})
+class GardenStatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private GardenStatsService gardenStatsService;
+
+    @Test
+    void getStats_ShouldReturnStatistics() throws Exception {
+        when(gardenStatsService.getStats("g1"))
+                .thenReturn(GardenStatsView.builder()
+                        .gardenId("g1")
+                        .layoutVersion(4)
+                        .placements(3)
+                        .plants(List.of(new GardenStats.PlantCount("basil", 3)))
+                        .upcomingTasks(2)
+                        .upcomingTasksByType(Map.of("WATER", 2))
+                        .wateringsThisWeek(5)
+                        .asOf(Instant.parse("2024-05-01T10:15:00Z"))
+                        .build());
+
+        mockMvc.perform(get("/api/v1/gardens/g1/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.placements").value(3))
+                .andExpect(jsonPath("$.data.plants[0].plantId").value("basil"))
+                .andExpect(jsonPath("$.data.upcomingTasksByType.WATER").value(2))
+                .andExpect(jsonPath("$.data.wateringsThisWeek").value(5));
+    }
+}
@@ -0,0 +1,173 @@
+package dev.solace.twiggle.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import dev.solace.twiggle.config.PhotoConfiguration;
+import dev.solace.twiggle.config.RateLimiterConfiguration;
+import dev.solace.twiggle.dto.PhotoView;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.photo.ThumbnailStatus;
+import dev.solace.twiggle.service.photo.PhotoContent;
+import dev.solace.twiggle.service.photo.PhotoService;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Unit tests for {@link PhotoController}.
+ */
+@WebMvcTest(PhotoController.class)
+@Import({RateLimiterConfiguration.class, PhotoConfiguration.class})
+class PhotoControllerTest {
+
+    private static final byte[] BYTES = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final Instant UPLOADED = Instant.parse("2024-05-01T10:15:30Z");
+    private static final String UPLOADED_HTTP_DATE = "Wed, 01 May 2024 10:15:30 GMT";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private PhotoService photoService;
+
+    @BeforeEach
+    void setUp() {
+        when(photoService.openContent("g1", "p1"))
+                .thenReturn(new PhotoContent("p1", "image/png", BYTES.length, UPLOADED, new ByteArrayResource(BYTES)));
+    }
+
+    @Test
+    void upload_ShouldReturnCreatedPhoto() throws Exception {
+        when(photoService.upload(eq("g1"), eq("basil"), any()))
+                .thenReturn(PhotoView.builder()
+                        .id("p1")
+                        .gardenId("g1")
+                        .plantId("basil")
+                        .contentType("image/png")
+                        .size(16)
+                        .thumbnail(ThumbnailStatus.PENDING)
+                        .build());
+
+        mockMvc.perform(post("/api/v1/gardens/g1/photos")
+                        .param("plantId", "basil")
+                        .contentType("multipart/form-data; boundary=xyz")
+                        .content("--xyz--\r\n"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.id").value("p1"))
+                .andExpect(jsonPath("$.data.thumbnail").value("PENDING"));
+    }
+
+    @Test
+    void upload_WithJsonBody_ShouldReturnUnsupportedMediaType() throws Exception {
+        mockMvc.perform(post("/api/v1/gardens/g1/photos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    @Test
+    void upload_WhenTooLarge_ShouldReturnPayloadTooLarge() throws Exception {
+        when(photoService.upload(eq("g1"), any(), any()))
+                .thenThrow(new CustomException(
+                        "Photos may be at most 20 MB", HttpStatus.PAYLOAD_TOO_LARGE, ErrorCode.PAYLOAD_TOO_LARGE));
+
+        mockMvc.perform(post("/api/v1/gardens/g1/photos")
+                        .contentType("multipart/form-data; boundary=xyz")
+                        .content("--xyz--\r\n"))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.code").value("PAYLOAD_TOO_LARGE"));
+    }
+
+    @Test
+    void getContent_ShouldStreamWholePhotoWithValidators() throws Exception {
+        mockMvc.perform(get("/api/v1/gardens/g1/photos/p1/content"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(BYTES))
+                .andExpect(content().contentType(MediaType.IMAGE_PNG))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"p1\""))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, UPLOADED_HTTP_DATE))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "16"));
+    }
+
+    @Test
+    void getContent_WithMatchingEtag_ShouldReturnNotModified() throws Exception {
+        mockMvc.perform(get("/api/v1/gardens/g1/photos/p1/content").header(HttpHeaders.IF_NONE_MATCH, "\"p1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void getContent_WithRange_ShouldReturnPartialContent() throws Exception {
+        mockMvc.perform(get("/api/v1/gardens/g1/photos/p1/content").header(HttpHeaders.RANGE, "bytes=4-7"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 4-7/16"))
+                .andExpect(content().bytes("4567".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    void getContent_WithSuffixRange_ShouldReturnTail() throws Exception {
+        mockMvc.perform(get("/api/v1/gardens/g1/photos/p1/content").header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 13-15/16"))
+                .andExpect(content().bytes("def".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    void getContent_WithUnsatisfiableRange_ShouldReturnRangeNotSatisfiable() throws Exception {
+        mockMvc.perform(get("/api/v1/gardens/g1/photos/p1/content").header(HttpHeaders.RANGE, "bytes=16-20"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */16"));
+    }
+
+    @Test
+    void getContent_WithMatchingIfRange_ShouldHonourRange() throws Exception {
+        mockMvc.perform(get("/api/v1/gardens/g1/photos/p1/content")
+                        .header(HttpHeaders.RANGE, "bytes=0-1")
+                        .header(HttpHeaders.IF_RANGE, UPLOADED_HTTP_DATE))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes("01".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    void getContent_WithStaleIfRange_ShouldReturnWholePhoto() throws Exception {
+        mockMvc.perform(get("/api/v1/gardens/g1/photos/p1/content")
+                        .header(HttpHeaders.RANGE, "bytes=0-1")
+                        .header(HttpHeaders.IF_RANGE, "\"older\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "16"))
+                .andExpect(content().bytes(BYTES));
+    }
+
+    @Test
+    void getThumbnail_WhenNotReady_ShouldReturnNotFound() throws Exception {
+        when(photoService.openThumbnail("g1", "p1"))
+                .thenThrow(new CustomException(
+                        "Photo p1 has no thumbnail (PENDING)", HttpStatus.NOT_FOUND, ErrorCode.RESOURCE_NOT_FOUND));
+
+        mockMvc.perform(get("/api/v1/gardens/g1/photos/p1/thumbnail"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("RESOURCE_NOT_FOUND"));
+        verify(photoService).openThumbnail("g1", "p1");
+    }
+}
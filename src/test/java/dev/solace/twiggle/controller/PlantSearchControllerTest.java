@@ -0,0 +1,126 @@
+package dev.solace.twiggle.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import dev.solace.twiggle.config.RateLimiterConfiguration;
+import dev.solace.twiggle.dto.PlantSearchHit;
+import dev.solace.twiggle.dto.PlantSearchResult;
+import dev.solace.twiggle.dto.PlantSuggestion;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.Plant;
+import dev.solace.twiggle.service.search.AutocompleteService;
+import dev.solace.twiggle.service.search.PlantSearchQuery;
+import dev.solace.twiggle.service.search.PlantSearchService;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Unit tests for {@link PlantSearchController}.
+ */
+@WebMvcTest(PlantSearchController.class)
+@Import({RateLimiterConfiguration.class})
+class PlantSearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private PlantSearchService plantSearchService;
+
+    @MockitoBean
+    private AutocompleteService autocompleteService;
+
+    @Test
+    void search_ShouldReturnHitsAndFacets() throws Exception {
+        when(plantSearchService.search(any()))
+                .thenReturn(PlantSearchResult.builder()
+                        .total(1)
+                        .hits(List.of(PlantSearchHit.builder()
+                                .id("1")
+                                .commonName("Tomato")
+                                .scientificName("Solanum lycopersicum")
+                                .score(2.5)
+                                .build()))
+                        .facets(Map.of("sun", Map.of("FULL_SUN", 1)))
+                        .build());
+
+        mockMvc.perform(get("/api/v1/plants/search")
+                        .param("q", "tom")
+                        .param("sun", "FULL_SUN")
+                        .param("season", "SUMMER", "AUTUMN")
+                        .param("zone", "6"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(200))
+                .andExpect(jsonPath("$.data.total").value(1))
+                .andExpect(jsonPath("$.data.hits[0].commonName").value("Tomato"))
+                .andExpect(jsonPath("$.data.facets.sun.FULL_SUN").value(1));
+
+        verify(plantSearchService)
+                .search(PlantSearchQuery.builder()
+                        .text("tom")
+                        .sun(Set.of(Plant.SunExposure.FULL_SUN))
+                        .seasons(Set.of(Plant.Season.SUMMER, Plant.Season.AUTUMN))
+                        .zone(6)
+                        .limit(20)
+                        .build());
+    }
+
+    @Test
+    void search_WithLimitAboveMaximum_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/plants/search").param("limit", "500"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_ARGUMENT"));
+    }
+
+    @Test
+    void search_WhenIndexNotReady_ShouldReturnServiceUnavailable() throws Exception {
+        when(plantSearchService.search(any()))
+                .thenThrow(new CustomException(
+                        "Plant search is warming up, please retry shortly",
+                        HttpStatus.SERVICE_UNAVAILABLE,
+                        ErrorCode.SERVICE_UNAVAILABLE));
+
+        mockMvc.perform(get("/api/v1/plants/search").param("q", "tom"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.code").value("SERVICE_UNAVAILABLE"));
+    }
+
+    @Test
+    void autocomplete_ShouldReturnSuggestions() throws Exception {
+        when(autocompleteService.complete(eq("tom"), eq(5)))
+                .thenReturn(List.of(PlantSuggestion.builder()
+                        .text("Tomato")
+                        .plantId("1")
+                        .popularity(90)
+                        .build()));
+
+        mockMvc.perform(get("/api/v1/plants/autocomplete")
+                        .param("prefix", "tom")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].text").value("Tomato"))
+                .andExpect(jsonPath("$.data[0].scientificName").value(false));
+    }
+
+    @Test
+    void autocomplete_WithoutPrefix_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/plants/autocomplete"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("MISSING_PARAMETER"));
+    }
+}
@@ -0,0 +1,103 @@
+package dev.solace.twiggle.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import dev.solace.twiggle.config.RateLimiterConfiguration;
+import dev.solace.twiggle.dto.PlantSearchHit;
+import dev.solace.twiggle.dto.PlantingCalendarView;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.Plant;
+import dev.solace.twiggle.service.climate.PlantingCalendarService;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Unit tests for {@link PlantingCalendarController}.
+ */
+@WebMvcTest(PlantingCalendarController.class)
+@Import({RateLimiterConfiguration.class})
+@TestPropertySource(properties = "twiggle.climate.enabled=true")
+class PlantingCalendarControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private PlantingCalendarService plantingCalendarService;
+
+    @Test
+    void calendar_ShouldReturnZoneSeasonsAndPlants() throws Exception {
+        LocalDate date = LocalDate.of(2025, 4, 10);
+        when(plantingCalendarService.calendar(38.9, -77.0, date, 5))
+                .thenReturn(PlantingCalendarView.builder()
+                        .zone("6b")
+                        .hardinessZone(6)
+                        .date(date)
+                        .lastFrost(LocalDate.of(2025, 4, 15))
+                        .firstFrost(LocalDate.of(2025, 10, 20))
+                        .plantableSeasons(Set.of(Plant.Season.SPRING))
+                        .plants(List.of(PlantSearchHit.builder()
+                                .id("p1")
+                                .commonName("Pea")
+                                .build()))
+                        .build());
+
+        mockMvc.perform(get("/api/v1/planting-calendar")
+                        .param("lat", "38.9")
+                        .param("lon", "-77.0")
+                        .param("date", "2025-04-10")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.zone").value("6b"))
+                .andExpect(jsonPath("$.data.lastFrost").value("2025-04-15"))
+                .andExpect(jsonPath("$.data.plantableSeasons[0]").value("SPRING"))
+                .andExpect(jsonPath("$.data.plants[0].commonName").value("Pea"));
+    }
+
+    @Test
+    void calendar_WithoutDate_ShouldUseToday() throws Exception {
+        when(plantingCalendarService.calendar(anyDouble(), anyDouble(), any(), anyInt()))
+                .thenReturn(PlantingCalendarView.builder().zone("7a").build());
+
+        mockMvc.perform(get("/api/v1/planting-calendar").param("lat", "35").param("lon", "-90"))
+                .andExpect(status().isOk());
+
+        verify(plantingCalendarService).calendar(eq(35.0), eq(-90.0), any(LocalDate.class), eq(20));
+    }
+
+    @Test
+    void calendar_WithoutClimateData_ShouldReturnNotFound() throws Exception {
+        when(plantingCalendarService.calendar(anyDouble(), anyDouble(), any(), anyInt()))
+                .thenThrow(new CustomException(
+                        "No climate data for 0.0, -30.0", HttpStatus.NOT_FOUND, ErrorCode.RESOURCE_NOT_FOUND));
+
+        mockMvc.perform(get("/api/v1/planting-calendar").param("lat", "0").param("lon", "-30"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("RESOURCE_NOT_FOUND"));
+    }
+
+    @Test
+    void calendar_WithoutCoordinates_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/planting-calendar").param("lat", "35"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("MISSING_PARAMETER"));
+    }
+}
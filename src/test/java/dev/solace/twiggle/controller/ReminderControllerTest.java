@@ -0,0 +1,83 @@
+package dev.solace.twiggle.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import dev.solace.twiggle.config.RateLimiterConfiguration;
+import dev.solace.twiggle.model.CareReminder;
+import dev.solace.twiggle.model.ReminderType;
+import dev.solace.twiggle.service.reminder.ReminderHub;
+import dev.solace.twiggle.service.reminder.ReminderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Unit tests for {@link ReminderController}.
+ */
+@WebMvcTest(ReminderController.class)
+@Import({RateLimiterConfiguration.class})
+class ReminderControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ReminderService reminderService;
+
+    @MockitoBean
+    private ReminderHub reminderHub;
+
+    @Test
+    void stream_ShouldPassLastEventIdToHub() throws Exception {
+        when(reminderHub.subscribe("u1", 7L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/v1/users/u1/reminders/stream")
+                        .header("Last-Event-ID", "7")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(reminderHub).subscribe("u1", 7L);
+    }
+
+    @Test
+    void schedule_ShouldReturnScheduledReminder() throws Exception {
+        when(reminderService.schedule(eq("u1"), any()))
+                .thenReturn(CareReminder.builder()
+                        .id("r3")
+                        .userId("u1")
+                        .type(ReminderType.FERTILIZE)
+                        .message("Feed the tomatoes")
+                        .build());
+
+        mockMvc.perform(post("/api/v1/users/u1/reminders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\": \"FERTILIZE\", \"message\": \"Feed the tomatoes\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.id").value("r3"))
+                .andExpect(jsonPath("$.data.type").value("FERTILIZE"));
+    }
+
+    @Test
+    void schedule_WithoutType_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/users/u1/reminders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"message\": \"Feed the tomatoes\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(reminderService);
+    }
+}
@@ -0,0 +1,118 @@
+package dev.solace.twiggle.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import dev.solace.twiggle.config.RateLimiterConfiguration;
+import dev.solace.twiggle.dto.SensorRollupPoint;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.sensor.RollupGranularity;
+import dev.solace.twiggle.model.sensor.SensorMetric;
+import dev.solace.twiggle.service.sensor.SensorIngestionService;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Unit tests for {@link SensorController}.
+ */
+@WebMvcTest(SensorController.class)
+@Import({RateLimiterConfiguration.class})
+class SensorControllerTest {
+
+    private static final String BATCH =
+            """
+            {"readings": [
+              {"sensorId": "bed-1", "metric": "SOIL_MOISTURE", "value": 31.5},
+              {"sensorId": "bed-1", "metric": "TEMPERATURE", "value": 14.2, "timestamp": "2024-05-01T10:15:30Z"}
+            ]}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SensorIngestionService sensorIngestionService;
+
+    @Test
+    void ingest_ShouldAcceptBatch() throws Exception {
+        when(sensorIngestionService.accept(eq("g1"), any())).thenReturn(2);
+
+        mockMvc.perform(post("/api/v1/gardens/g1/sensor-readings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BATCH))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.accepted").value(2));
+    }
+
+    @Test
+    void ingest_WithInvalidReading_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(
+                        post("/api/v1/gardens/g1/sensor-readings")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(
+                                        """
+                                {"readings": [{"sensorId": "bed/1", "metric": "SOIL_MOISTURE"}]}
+                                """))
+                .andExpect(status().isBadRequest());
+
+        verify(sensorIngestionService, never()).accept(any(), any());
+    }
+
+    @Test
+    void ingest_WhenBufferIsFull_ShouldReturnServiceUnavailable() throws Exception {
+        when(sensorIngestionService.accept(eq("g1"), any()))
+                .thenThrow(new CustomException(
+                        "Sensor ingestion is saturated, please retry shortly",
+                        HttpStatus.SERVICE_UNAVAILABLE,
+                        ErrorCode.SERVICE_UNAVAILABLE));
+
+        mockMvc.perform(post("/api/v1/gardens/g1/sensor-readings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BATCH))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.code").value("SERVICE_UNAVAILABLE"));
+    }
+
+    @Test
+    void getRollups_ShouldReturnBuckets() throws Exception {
+        when(sensorIngestionService.getRollups(
+                        eq("g1"),
+                        eq("bed-1"),
+                        eq(SensorMetric.SOIL_MOISTURE),
+                        eq(RollupGranularity.MINUTE),
+                        eq(Instant.parse("2024-05-01T10:00:00Z")),
+                        isNull()))
+                .thenReturn(List.of(SensorRollupPoint.builder()
+                        .bucketStart(Instant.parse("2024-05-01T10:15:00Z"))
+                        .count(4)
+                        .min(30)
+                        .max(33)
+                        .avg(31.5)
+                        .build()));
+
+        mockMvc.perform(get("/api/v1/gardens/g1/sensors/bed-1/rollups")
+                        .param("metric", "SOIL_MOISTURE")
+                        .param("granularity", "MINUTE")
+                        .param("from", "2024-05-01T10:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].count").value(4))
+                .andExpect(jsonPath("$.data[0].avg").value(31.5));
+    }
+}
@@ -0,0 +1,74 @@
+package dev.solace.twiggle.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import dev.solace.twiggle.config.RateLimiterConfiguration;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.forecast.YieldForecast;
+import dev.solace.twiggle.service.forecast.YieldForecastService;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Unit tests for {@link YieldForecastController}.
+ */
+@WebMvcTest(YieldForecastController.class)
+@Import({RateLimiterConfiguration.class})
+class YieldForecastControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private YieldForecastService yieldForecastService;
+
+    @Test
+    void getForecast_ShouldReturnForecast() throws Exception {
+        when(yieldForecastService.getForecast("g1"))
+                .thenReturn(YieldForecast.builder()
+                        .gardenId("g1")
+                        .runDate(LocalDate.of(2025, 5, 1))
+                        .sensorDays(30)
+                        .meanTemperature(18.5)
+                        .expectedYield(12.0)
+                        .plants(List.of(YieldForecast.PlantForecast.builder()
+                                .plantId("tomato")
+                                .count(3)
+                                .harvestProbability(0.95)
+                                .expectedHarvest(LocalDate.of(2025, 8, 20))
+                                .expectedYield(12.0)
+                                .build()))
+                        .computedAt(Instant.parse("2025-05-01T02:03:00Z"))
+                        .build());
+
+        mockMvc.perform(get("/api/v1/gardens/g1/yield-forecast"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.runDate").value("2025-05-01"))
+                .andExpect(jsonPath("$.data.expectedYield").value(12.0))
+                .andExpect(jsonPath("$.data.plants[0].plantId").value("tomato"))
+                .andExpect(jsonPath("$.data.plants[0].expectedHarvest").value("2025-08-20"));
+    }
+
+    @Test
+    void getForecast_WhenMissing_ShouldReturnNotFound() throws Exception {
+        when(yieldForecastService.getForecast("g2"))
+                .thenThrow(new CustomException(
+                        "No yield forecast for garden g2 yet", HttpStatus.NOT_FOUND, ErrorCode.RESOURCE_NOT_FOUND));
+
+        mockMvc.perform(get("/api/v1/gardens/g2/yield-forecast"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value(ErrorCode.RESOURCE_NOT_FOUND.name()));
+    }
+}
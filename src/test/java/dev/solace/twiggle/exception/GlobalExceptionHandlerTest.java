@@ -5,6 +5,7 @@ import static org.mockito.Mockito.*;
 
 import io.github.resilience4j.ratelimiter.RateLimiter;
 import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.common.KeyValue;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import java.lang.reflect.Method;
@@ -24,13 +25,18 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.filter.ServerHttpObservationFilter;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
@@ -80,6 +86,23 @@ class GlobalExceptionHandlerTest {
         assertTrue(error.getTimestamp().isBefore(LocalDateTime.now().plusSeconds(1)));
     }
 
+    @Test
+    void handleCustomException_ShouldTagTheRequestObservationWithTheErrorCode() {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/v1/plants/p1");
+        ServerRequestObservationContext context =
+                new ServerRequestObservationContext(servletRequest, new MockHttpServletResponse());
+        servletRequest.setAttribute(ServerHttpObservationFilter.CURRENT_OBSERVATION_CONTEXT_ATTRIBUTE, context);
+        CustomException exception =
+                new CustomException("Plant not found", HttpStatus.NOT_FOUND, ErrorCode.RESOURCE_NOT_FOUND);
+
+        exceptionHandler.handleCustomException(exception, new ServletWebRequest(servletRequest));
+
+        assertSame(exception, context.getError());
+        assertEquals(
+                KeyValue.of(GlobalExceptionHandler.ERROR_CODE_KEY, ErrorCode.RESOURCE_NOT_FOUND.name()),
+                context.getHighCardinalityKeyValue(GlobalExceptionHandler.ERROR_CODE_KEY));
+    }
+
     @Test
     void handleMethodArgumentNotValid_ShouldReturnCorrectResponse() throws Exception {
         Method method = getClass().getDeclaredMethod("setUp");
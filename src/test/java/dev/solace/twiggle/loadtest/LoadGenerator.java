@@ -0,0 +1,139 @@
+package dev.solace.twiggle.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives {@link LoadScenario}s side by side, each at its own constant arrival rate (an open workload model).
+ *
+ * <p>Requests are sent on schedule whether or not earlier ones have returned, and latency is measured from the time
+ * a request was due rather than when it actually went out. A stalled server therefore shows up as the queueing delay
+ * real clients would see, instead of quietly slowing the generator down.
+ */
+final class LoadGenerator {
+
+    private static final int NO_RESPONSE = -1;
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+
+    LoadGenerator(HttpClient client, Duration requestTimeout) {
+        this.client = client;
+        this.requestTimeout = requestTimeout;
+    }
+
+    List<ScenarioResult> run(List<LoadScenario> scenarios, Duration duration) throws InterruptedException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50);
+            List<Future<ScenarioResult>> runs = new ArrayList<>();
+            for (LoadScenario scenario : scenarios) {
+                runs.add(executor.submit(() -> run(scenario, start, duration, executor)));
+            }
+            List<ScenarioResult> results = new ArrayList<>();
+            for (Future<ScenarioResult> run : runs) {
+                try {
+                    results.add(run.get());
+                } catch (ExecutionException ex) {
+                    throw new IllegalStateException("Scenario run failed", ex.getCause());
+                }
+            }
+            return results;
+        }
+    }
+
+    private ScenarioResult run(LoadScenario scenario, long start, Duration duration, ExecutorService executor)
+            throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / scenario.ratePerSecond());
+        int total = (int) (duration.toNanos() / intervalNanos);
+        long[] latencies = new long[total];
+        int[] statuses = new int[total];
+        List<Future<?>> sends = new ArrayList<>(total);
+
+        for (int i = 0; i < total; i++) {
+            long due = start + i * intervalNanos;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int index = i;
+            sends.add(executor.submit(() -> {
+                int status;
+                try {
+                    status = client.send(scenario.request().apply(index), HttpResponse.BodyHandlers.discarding())
+                            .statusCode();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    status = NO_RESPONSE;
+                } catch (Exception ex) {
+                    status = NO_RESPONSE;
+                }
+                latencies[index] = System.nanoTime() - due;
+                statuses[index] = status;
+            }));
+        }
+        long scheduled = System.nanoTime();
+        for (Future<?> send : sends) {
+            try {
+                send.get(requestTimeout.toMillis() * 2, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException | TimeoutException ex) {
+                // Counted as no response below.
+            }
+        }
+        return summarize(scenario, latencies, statuses, requestTimeout, (scheduled - start) / 1e9);
+    }
+
+    private static ScenarioResult summarize(
+            LoadScenario scenario, long[] latencies, int[] statuses, Duration timeout, double elapsedSeconds) {
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        long errors = 0;
+        for (int i = 0; i < statuses.length; i++) {
+            int status = statuses[i];
+            if (status == 0) {
+                // Still outstanding when the run ended.
+                status = NO_RESPONSE;
+                latencies[i] = timeout.toNanos();
+            }
+            statusCounts.merge(status, 1L, Long::sum);
+            if (!scenario.expectedStatuses().contains(status)) {
+                errors++;
+            }
+        }
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        int requests = statuses.length;
+        return new ScenarioResult(
+                scenario.name(),
+                scenario.ratePerSecond(),
+                elapsedSeconds > 0 ? requests / elapsedSeconds : 0,
+                requests,
+                errors,
+                requests == 0 ? 0 : (double) errors / requests,
+                percentileMillis(sorted, 0.50),
+                percentileMillis(sorted, 0.95),
+                percentileMillis(sorted, 0.99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6,
+                statusCounts,
+                scenario.slo());
+    }
+
+    private static double percentileMillis(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(rank, 0)] / 1e6;
+    }
+}
@@ -0,0 +1,142 @@
+package dev.solace.twiggle.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * Writes load test results as {@code load-test-report.json} and {@code index.html}, and compares them against the
+ * JSON report of an earlier run.
+ */
+final class LoadReport {
+
+    static final String JSON_FILE = "load-test-report.json";
+    static final String HTML_FILE = "index.html";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private LoadReport() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    static void write(Path directory, List<ScenarioResult> results, List<String> regressions) throws IOException {
+        Files.createDirectories(directory);
+        ObjectNode report = MAPPER.createObjectNode();
+        report.put("generatedAt", Instant.now().toString());
+        ArrayNode scenarios = report.putArray("scenarios");
+        for (ScenarioResult result : results) {
+            ObjectNode scenario = MAPPER.valueToTree(result);
+            scenario.set("sloViolations", MAPPER.valueToTree(result.sloViolations()));
+            scenarios.add(scenario);
+        }
+        report.set("regressions", MAPPER.valueToTree(regressions));
+        MAPPER.writeValue(directory.resolve(JSON_FILE).toFile(), report);
+        Files.writeString(directory.resolve(HTML_FILE), html(results, regressions));
+    }
+
+    /**
+     * Lists scenarios whose p95, p99 or error rate got worse than in {@code baseline} by more than
+     * {@code tolerance} (0.25 allows 25% slower). Scenarios missing from the baseline are skipped.
+     */
+    static List<String> regressions(List<ScenarioResult> results, Path baseline, double tolerance) throws IOException {
+        JsonNode previous = MAPPER.readTree(baseline.toFile()).path("scenarios");
+        List<String> regressions = new ArrayList<>();
+        for (ScenarioResult result : results) {
+            for (JsonNode before : previous) {
+                if (!result.name().equals(before.path("name").asText())) {
+                    continue;
+                }
+                compare(
+                        regressions,
+                        result.name(),
+                        "p95",
+                        before.path("p95Millis").asDouble(),
+                        result.p95Millis(),
+                        tolerance);
+                compare(
+                        regressions,
+                        result.name(),
+                        "p99",
+                        before.path("p99Millis").asDouble(),
+                        result.p99Millis(),
+                        tolerance);
+                // Small absolute slack so that a baseline of zero errors does not turn a single error into a failure.
+                double allowedErrorRate = before.path("errorRate").asDouble() * (1 + tolerance) + 0.001;
+                if (result.errorRate() > allowedErrorRate) {
+                    regressions.add(String.format(
+                            "%s: error rate %.2f%% regressed from %.2f%%",
+                            result.name(),
+                            result.errorRate() * 100,
+                            before.path("errorRate").asDouble() * 100));
+                }
+            }
+        }
+        return regressions;
+    }
+
+    private static void compare(
+            List<String> regressions, String name, String metric, double before, double now, double tolerance) {
+        if (before > 0 && now > before * (1 + tolerance)) {
+            regressions.add(String.format("%s: %s %.1f ms regressed from %.1f ms", name, metric, now, before));
+        }
+    }
+
+    private static String html(List<ScenarioResult> results, List<String> regressions) {
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>Twiggle load test</title>")
+                .append("<style>body{font-family:sans-serif}table{border-collapse:collapse}")
+                .append("td,th{border:1px solid #ccc;padding:4px 8px;text-align:right}")
+                .append("td:first-child{text-align:left}.fail{background:#fdd}.pass{background:#dfd}</style>")
+                .append("</head><body>\n<h1>Twiggle load test</h1>\n<p>Generated ")
+                .append(Instant.now())
+                .append("</p>\n<table>\n<tr><th>Scenario</th><th>Target rps</th><th>Achieved rps</th>")
+                .append("<th>Requests</th><th>Errors</th><th>p50 ms</th><th>p95 ms (SLO)</th><th>p99 ms (SLO)</th>")
+                .append("<th>Max ms</th><th>Error rate (SLO)</th><th>Statuses</th></tr>\n");
+        for (ScenarioResult result : results) {
+            LoadScenario.Slo slo = result.slo();
+            html.append("<tr class=\"")
+                    .append(result.sloViolations().isEmpty() ? "pass" : "fail")
+                    .append("\"><td>")
+                    .append(HtmlUtils.htmlEscape(result.name()))
+                    .append(String.format(
+                            "</td><td>%.1f</td><td>%.1f</td><td>%d</td><td>%d</td><td>%.1f</td>"
+                                    + "<td>%.1f (%.0f)</td><td>%.1f (%.0f)</td><td>%.1f</td><td>%.2f%% (%.2f%%)</td>",
+                            result.targetRatePerSecond(),
+                            result.achievedRatePerSecond(),
+                            result.requests(),
+                            result.errors(),
+                            result.p50Millis(),
+                            result.p95Millis(),
+                            slo.p95Millis(),
+                            result.p99Millis(),
+                            slo.p99Millis(),
+                            result.maxMillis(),
+                            result.errorRate() * 100,
+                            slo.maxErrorRate() * 100))
+                    .append("<td>")
+                    .append(result.statusCounts().entrySet().stream()
+                            .map(Map.Entry::toString)
+                            .collect(Collectors.joining(", ")))
+                    .append("</td></tr>\n");
+        }
+        html.append("</table>\n");
+        if (!regressions.isEmpty()) {
+            html.append("<h2>Regressions against baseline</h2>\n<ul>\n");
+            regressions.forEach(regression ->
+                    html.append("<li>").append(HtmlUtils.htmlEscape(regression)).append("</li>\n"));
+            html.append("</ul>\n");
+        }
+        return html.append("</body></html>\n").toString();
+    }
+}
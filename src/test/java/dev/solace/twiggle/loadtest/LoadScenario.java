@@ -0,0 +1,25 @@
+package dev.solace.twiggle.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.Set;
+import java.util.function.LongFunction;
+
+/**
+ * One kind of request, sent at a constant arrival rate, and the service levels it must meet.
+ *
+ * <p>{@code request} builds the request for a sequence number, so scenarios can spread load over many gardens or
+ * users. Responses with a status in {@code expectedStatuses} count as successes; anything else, including timeouts
+ * and connection failures, counts against {@link Slo#maxErrorRate}.
+ */
+record LoadScenario(
+        String name, double ratePerSecond, Set<Integer> expectedStatuses, Slo slo, LongFunction<HttpRequest> request) {
+
+    LoadScenario scaled(double factor) {
+        return new LoadScenario(name, ratePerSecond * factor, expectedStatuses, slo, request);
+    }
+
+    /**
+     * Latency percentiles, measured from when each request was due to be sent, and the tolerated error rate.
+     */
+    record Slo(double p95Millis, double p99Millis, double maxErrorRate) {}
+}
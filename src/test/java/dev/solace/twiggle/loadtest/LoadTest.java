@@ -0,0 +1,201 @@
+package dev.solace.twiggle.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.solace.twiggle.dto.LayoutDeltaRequest;
+import dev.solace.twiggle.model.layout.LayoutOperation;
+import dev.solace.twiggle.service.layout.LayoutEditService;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Runs the embedded server against a Testcontainers Mongo, drives a mix of endpoints at fixed arrival rates and
+ * fails if any scenario misses its p95, p99 or error-rate SLO, or regresses against a baseline report.
+ *
+ * <p>Run with {@code mvn test -Pload-test}. Reports go to {@code target/load-test-reports}. Optional settings:
+ * {@code -Dloadtest.duration=60} and {@code -Dloadtest.warmup=15} in seconds, {@code -Dloadtest.rate-scale=2} to
+ * multiply every rate, and {@code -Dloadtest.baseline=path/to/load-test-report.json} with
+ * {@code -Dloadtest.tolerance=0.25} to also fail on regressions. New endpoints get a scenario in {@link #scenarios}.
+ */
+@Tag("load-test")
+@Testcontainers
+@ActiveProfiles("dev")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DisplayName("Load Test")
+class LoadTest {
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.duration", 30));
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmup", 10));
+    private static final double RATE_SCALE = Double.parseDouble(System.getProperty("loadtest.rate-scale", "1"));
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.25"));
+    private static final String BASELINE = System.getProperty("loadtest.baseline");
+    private static final Path REPORT_DIR =
+            Path.of(System.getProperty("loadtest.report-dir", "target/load-test-reports"));
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+    private static final int SEEDED_GARDENS = 50;
+    private static final int PLACEMENTS_PER_GARDEN = 40;
+
+    private static final LoadScenario.Slo READ_SLO = new LoadScenario.Slo(50, 150, 0.001);
+    private static final LoadScenario.Slo WRITE_SLO = new LoadScenario.Slo(100, 250, 0.005);
+    private static final LoadScenario.Slo ERROR_PATH_SLO = new LoadScenario.Slo(50, 150, 0.001);
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0.5"));
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RateLimiterRegistry rateLimiterRegistry;
+
+    @Autowired
+    private LayoutEditService layoutEditService;
+
+    @BeforeEach
+    void setUp() {
+        // The fixed per-client limits would cap a single load generator far below what the service can take.
+        rateLimiterRegistry.getAllRateLimiters().forEach(limiter -> limiter.changeLimitForPeriod(1_000_000));
+        for (int garden = 0; garden < SEEDED_GARDENS; garden++) {
+            layoutEditService.applyDelta(
+                    seededGarden(garden),
+                    new LayoutDeltaRequest(
+                            0,
+                            IntStream.range(0, PLACEMENTS_PER_GARDEN)
+                                    .mapToObj(i -> LayoutOperation.builder()
+                                            .type(LayoutOperation.Type.ADD)
+                                            .placementId("p" + i)
+                                            .plantId("tomato")
+                                            .x(i % 8)
+                                            .y(i / 8)
+                                            .build())
+                                    .toList()));
+        }
+    }
+
+    @Test
+    @DisplayName("Every scenario should meet its SLOs")
+    void mixedLoad_ShouldMeetSlos() throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(REQUEST_TIMEOUT)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        LoadGenerator generator = new LoadGenerator(client, REQUEST_TIMEOUT);
+        List<LoadScenario> scenarios = scenarios().stream()
+                .map(scenario -> scenario.scaled(RATE_SCALE))
+                .toList();
+
+        generator.run(scenarios, WARMUP);
+        List<ScenarioResult> results = generator.run(scenarios, DURATION);
+
+        List<String> regressions = BASELINE != null && Files.exists(Path.of(BASELINE))
+                ? LoadReport.regressions(results, Path.of(BASELINE), TOLERANCE)
+                : List.of();
+        LoadReport.write(REPORT_DIR, results, regressions);
+
+        List<String> failures = new ArrayList<>();
+        results.forEach(result -> {
+            System.out.printf(
+                    "%-16s %7d req %6.1f rps  p50 %6.1f  p95 %6.1f  p99 %6.1f ms  errors %.2f%%%n",
+                    result.name(),
+                    result.requests(),
+                    result.achievedRatePerSecond(),
+                    result.p50Millis(),
+                    result.p95Millis(),
+                    result.p99Millis(),
+                    result.errorRate() * 100);
+            failures.addAll(result.sloViolations());
+        });
+        failures.addAll(regressions);
+        assertTrue(
+                failures.isEmpty(),
+                "Load test failed, see " + REPORT_DIR.resolve(LoadReport.HTML_FILE) + ":\n"
+                        + String.join("\n", failures));
+    }
+
+    private List<LoadScenario> scenarios() {
+        return List.of(
+                new LoadScenario("test", 100, Set.of(200), READ_SLO, seq -> get("/api/v1/test")),
+                new LoadScenario("client-error", 10, Set.of(400), ERROR_PATH_SLO, seq -> get("/api/v1/test-error")),
+                new LoadScenario(
+                        "server-error", 5, Set.of(500), ERROR_PATH_SLO, seq -> get("/api/v1/test-server-error")),
+                new LoadScenario("not-found", 10, Set.of(404), ERROR_PATH_SLO, seq -> get("/api/v1/missing")),
+                new LoadScenario(
+                        "layout-read",
+                        50,
+                        Set.of(200),
+                        READ_SLO,
+                        seq -> get("/api/v1/gardens/" + seededGarden((int) (seq % SEEDED_GARDENS)) + "/layout")),
+                new LoadScenario(
+                        "layout-edit",
+                        10,
+                        Set.of(200),
+                        WRITE_SLO,
+                        // A fresh garden per request, so that concurrent edits never conflict.
+                        seq -> send(
+                                "PATCH",
+                                "/api/v1/gardens/load-edit-" + System.nanoTime() + "-" + seq + "/layout",
+                                "{\"baseVersion\":0,\"operations\":[{\"type\":\"ADD\",\"placementId\":\"p1\","
+                                        + "\"plantId\":\"basil\",\"x\":1,\"y\":1}]}")),
+                new LoadScenario("reminder-create", 10, Set.of(201), WRITE_SLO, seq -> HttpRequest.newBuilder(
+                                uri("/api/v1/users/load-" + (seq % 100) + "/reminders"))
+                        .timeout(REQUEST_TIMEOUT)
+                        .header("Content-Type", "application/json")
+                        .header("Idempotency-Key", "load-" + System.nanoTime() + "-" + seq)
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"type\":\"WATER\",\"message\":\"Water the basil\"}"))
+                        .build()),
+                new LoadScenario(
+                        "plant-search",
+                        30,
+                        Set.of(200),
+                        READ_SLO,
+                        seq -> get("/api/v1/plants/search?q=tomato&sun=FULL_SUN&limit=20")));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private HttpRequest send(String method, String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String seededGarden(int index) {
+        return "load-garden-" + index;
+    }
+}
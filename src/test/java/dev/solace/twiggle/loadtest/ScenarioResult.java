@@ -0,0 +1,39 @@
+package dev.solace.twiggle.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of one {@link LoadScenario} run. A status of {@code -1} in {@code statusCounts} stands for requests that
+ * got no response.
+ */
+record ScenarioResult(
+        String name,
+        double targetRatePerSecond,
+        double achievedRatePerSecond,
+        long requests,
+        long errors,
+        double errorRate,
+        double p50Millis,
+        double p95Millis,
+        double p99Millis,
+        double maxMillis,
+        Map<Integer, Long> statusCounts,
+        LoadScenario.Slo slo) {
+
+    List<String> sloViolations() {
+        List<String> violations = new ArrayList<>();
+        if (p95Millis > slo.p95Millis()) {
+            violations.add(String.format("%s: p95 %.1f ms exceeds %.1f ms", name, p95Millis, slo.p95Millis()));
+        }
+        if (p99Millis > slo.p99Millis()) {
+            violations.add(String.format("%s: p99 %.1f ms exceeds %.1f ms", name, p99Millis, slo.p99Millis()));
+        }
+        if (errorRate > slo.maxErrorRate()) {
+            violations.add(String.format(
+                    "%s: error rate %.2f%% exceeds %.2f%%", name, errorRate * 100, slo.maxErrorRate() * 100));
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,189 @@
+package dev.solace.twiggle.model.layout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * Unit tests for {@link LayoutCodec} and {@link PackedLayout}.
+ */
+class LayoutCodecTest {
+
+    @Test
+    void encode_ShouldRoundTripPlacementsInOrder() {
+        // Arrange
+        List<Placement> placements = List.of(
+                placement("bed-1-10", "tomato", 3, 4),
+                placement("bed-1-11", "basil", 3.5, 4.25),
+                placement("bed-2-1", "tomato", -2, 0),
+                placement("x", null, 120, 7.125));
+
+        // Act
+        byte[] bytes = LayoutCodec.encode(placements);
+
+        // Assert
+        assertThat(LayoutCodec.decode(bytes)).isEqualTo(placements);
+        assertThat(LayoutCodec.size(bytes)).isEqualTo(4);
+    }
+
+    @Test
+    void encode_WithCoordinatesThatAreNotFixedPoint_ShouldKeepExactDoubles() {
+        // Arrange
+        List<Placement> placements = List.of(
+                placement("p1", "sage", 0.1, 1),
+                placement("p2", "sage", -0.0, 2),
+                placement("p3", "sage", Double.NaN, Double.POSITIVE_INFINITY),
+                placement("p4", "sage", 0x1p60, 3));
+
+        // Act
+        List<Placement> decoded = LayoutCodec.decode(LayoutCodec.encode(placements));
+
+        // Assert
+        assertThat(decoded).hasSize(4);
+        for (int i = 0; i < placements.size(); i++) {
+            assertThat(Double.doubleToRawLongBits(decoded.get(i).getX()))
+                    .isEqualTo(Double.doubleToRawLongBits(placements.get(i).getX()));
+            assertThat(Double.doubleToRawLongBits(decoded.get(i).getY()))
+                    .isEqualTo(Double.doubleToRawLongBits(placements.get(i).getY()));
+        }
+    }
+
+    @Test
+    void encode_ShouldRoundTripMissingAndNonAsciiIds() {
+        // Arrange
+        List<Placement> placements = List.of(
+                placement("🌱a", "pea", 1, 1),
+                placement("🌱b", "pea", 2, 1),
+                placement(null, "pea", 3, 1),
+                placement("", "pea", 4, 1),
+                placement("🌻", "pea", 5, 1));
+
+        // Act & Assert
+        assertThat(LayoutCodec.decode(LayoutCodec.encode(placements))).isEqualTo(placements);
+    }
+
+    @Test
+    void encode_ShouldPackRowsOfOnePlantFarSmallerThanSubDocuments() {
+        // Arrange
+        List<Placement> placements = new ArrayList<>();
+        for (int row = 0; row < 100; row++) {
+            for (int column = 0; column < 100; column++) {
+                placements.add(placement("p" + (row * 100 + column), "plant-" + row, column, row * 0.5));
+            }
+        }
+
+        // Act
+        byte[] bytes = LayoutCodec.encode(placements);
+        Document naive = new Document();
+        converter().write(LayoutSnapshot.builder().placements(placements).build(), naive);
+
+        // Assert
+        assertThat(LayoutCodec.decode(bytes)).isEqualTo(placements);
+        assertThat(bytes.length).isLessThan(placements.size() * 6);
+        assertThat(bytes.length * 10L).isLessThan(naive.toJson().length());
+    }
+
+    @Test
+    void encode_WithEveryPlantDifferent_ShouldBitPackPaletteIndices() {
+        // Arrange
+        Random random = new Random(7);
+        List<Placement> placements = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            placements.add(
+                    placement("p" + i, "plant-" + random.nextInt(300), random.nextInt(500), random.nextInt(500)));
+        }
+
+        // Act
+        byte[] bytes = LayoutCodec.encode(placements);
+
+        // Assert
+        assertThat(LayoutCodec.decode(bytes)).isEqualTo(placements);
+    }
+
+    @Test
+    void decode_WithEmptyLayout_ShouldReturnNoPlacements() {
+        assertThat(LayoutCodec.decode(LayoutCodec.encode(List.of()))).isEmpty();
+    }
+
+    @Test
+    void decode_WithCorruptBytes_ShouldBeRejected() {
+        // Arrange
+        byte[] bytes = LayoutCodec.encode(List.of(placement("p1", "pea", 1, 2), placement("p2", "bean", 3, 4)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> LayoutCodec.decode(Arrays.copyOf(bytes, bytes.length - 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Corrupt packed layout");
+        assertThatThrownBy(() -> LayoutCodec.decode(Arrays.copyOf(bytes, bytes.length + 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        byte[] unknownFormat = bytes.clone();
+        unknownFormat[0] = 9;
+        assertThatThrownBy(() -> PackedLayout.fromBytes(unknownFormat)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LayoutCodec.decode(new byte[] {1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x7F}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void converters_ShouldStoreSnapshotsAsBinDataAndReadThemBack() {
+        // Arrange
+        MappingMongoConverter converter = converter();
+        List<Placement> placements = List.of(placement("p1", "pea", 1, 2), placement("p2", "bean", 3, 4));
+        LayoutSnapshot snapshot = LayoutSnapshot.builder()
+                .gardenId("g1")
+                .version(3)
+                .layout(PackedLayout.of(placements))
+                .build();
+
+        // Act
+        Document document = new Document();
+        converter.write(snapshot, document);
+        LayoutSnapshot read = converter.read(LayoutSnapshot.class, document);
+
+        // Assert
+        assertThat(document.get("layout")).isInstanceOf(Binary.class);
+        assertThat(document).doesNotContainKey("placements");
+        assertThat(read.getLayout()).isEqualTo(snapshot.getLayout());
+        assertThat(read.decodePlacements()).isEqualTo(placements);
+    }
+
+    @Test
+    void json_ShouldRenderPackedLayoutAsPlacementList() throws Exception {
+        // Arrange
+        ObjectMapper objectMapper = new ObjectMapper();
+        PackedLayout layout = PackedLayout.of(List.of(placement("p1", "pea", 1, 2.5)));
+
+        // Act
+        String json = objectMapper.writeValueAsString(layout);
+
+        // Assert
+        assertThat(json).isEqualTo("[{\"id\":\"p1\",\"plantId\":\"pea\",\"x\":1.0,\"y\":2.5}]");
+        assertThat(objectMapper.readValue(json, PackedLayout.class)).isEqualTo(layout);
+    }
+
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(PackedLayout.CONVERTERS);
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private static Placement placement(String id, String plantId, double x, double y) {
+        return Placement.builder().id(id).plantId(plantId).x(x).y(y).build();
+    }
+}
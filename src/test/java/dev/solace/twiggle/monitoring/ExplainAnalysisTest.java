@@ -0,0 +1,73 @@
+package dev.solace.twiggle.monitoring;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link ExplainAnalysis} class.
+ */
+class ExplainAnalysisTest {
+
+    @Test
+    void from_ShouldDetectCollectionScanAndExecutionStats() {
+        // Given
+        BsonDocument explain = BsonDocument.parse("{queryPlanner: {winningPlan: {stage: 'COLLSCAN'}},"
+                + " executionStats: {nReturned: 3, totalDocsExamined: 5000, totalKeysExamined: 0}}");
+
+        // When
+        ExplainAnalysis analysis = ExplainAnalysis.from(explain);
+
+        // Then
+        assertTrue(analysis.collectionScan());
+        assertFalse(analysis.inMemorySort());
+        assertEquals(5000, analysis.docsExamined());
+        assertEquals(3, analysis.returned());
+        assertTrue(analysis.isProblematic(1024));
+    }
+
+    @Test
+    void from_ShouldDetectInMemorySortInsideSbeQueryPlan() {
+        // Given
+        BsonDocument explain = BsonDocument.parse("{queryPlanner: {winningPlan: {queryPlan: {stage: 'SORT',"
+                + " inputStage: {stage: 'FETCH', inputStage: {stage: 'IXSCAN'}}}}},"
+                + " executionStats: {executionStages: {stage: 'SORT', totalDataSizeSorted: 4096, usedDisk: false}}}");
+
+        // When
+        ExplainAnalysis analysis = ExplainAnalysis.from(explain);
+
+        // Then
+        assertFalse(analysis.collectionScan());
+        assertTrue(analysis.inMemorySort());
+        assertEquals(4096, analysis.sortedBytes());
+        assertTrue(analysis.isProblematic(4096));
+        assertFalse(analysis.isProblematic(8192));
+    }
+
+    @Test
+    void from_ShouldReadAggregateCursorStage() {
+        // Given
+        BsonDocument explain = BsonDocument.parse(
+                "{stages: [{$cursor: {queryPlanner: {winningPlan: {stage: 'COLLSCAN'}}}}, {$group: {}}]}");
+
+        // When
+        ExplainAnalysis analysis = ExplainAnalysis.from(explain);
+
+        // Then
+        assertTrue(analysis.collectionScan());
+    }
+
+    @Test
+    void from_ShouldReportIndexedPlanAsHealthy() {
+        // Given
+        BsonDocument explain =
+                BsonDocument.parse("{queryPlanner: {winningPlan: {stage: 'FETCH', inputStage: {stage: 'IXSCAN'}}}}");
+
+        // When
+        ExplainAnalysis analysis = ExplainAnalysis.from(explain);
+
+        // Then
+        assertFalse(analysis.isProblematic(0));
+    }
+}
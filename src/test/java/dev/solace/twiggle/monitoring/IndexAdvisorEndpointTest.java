@@ -0,0 +1,123 @@
+package dev.solace.twiggle.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Sorts;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("dev")
+@DisplayName("Index Advisor Endpoint Tests")
+class IndexAdvisorEndpointTest {
+    private static final String TEST_COLLECTION = "test_advisor_plants";
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0.5"));
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+        registry.add("twiggle.mongo.slow-query.threshold", () -> "0ms");
+        registry.add("twiggle.mongo.slow-query.sample-rate", () -> "1.0");
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoClient mongoClient;
+
+    @Autowired
+    private IndexAdvisorEndpoint endpoint;
+
+    @Autowired
+    private IndexAdvisor indexAdvisor;
+
+    private MongoCollection<Document> collection;
+
+    @BeforeEach
+    void setUp() {
+        endpoint.reset();
+        collection = mongoClient.getDatabase(mongoTemplate.getDb().getName()).getCollection(TEST_COLLECTION);
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            documents.add(new Document("zone", i % 13).append("name", "plant-" + i));
+        }
+        collection.insertMany(documents);
+    }
+
+    @AfterEach
+    void tearDown() {
+        collection.drop();
+    }
+
+    @Test
+    @DisplayName("Should suggest an index for a query that scans the collection")
+    void testCollectionScanProducesSuggestion() throws InterruptedException {
+        collection.find(new Document("zone", 7)).sort(Sorts.ascending("name")).into(new ArrayList<>());
+
+        IndexSuggestion suggestion = awaitSuggestion(Duration.ofSeconds(10));
+
+        assertEquals(mongoTemplate.getDb().getName() + "." + TEST_COLLECTION, suggestion.getNamespace());
+        assertEquals(
+                List.of("zone", "name"),
+                List.copyOf(suggestion.getSuggestedIndex().keySet()));
+        assertTrue(suggestion.getFindings().stream().anyMatch(finding -> finding.startsWith("COLLSCAN")));
+    }
+
+    @Test
+    @DisplayName("Should record latency histograms per collection and operation")
+    void testLatencyHistogramsAreRecorded() {
+        collection.find(new Document("zone", 1)).first();
+
+        LatencyHistogram.Snapshot snapshot = endpoint.report().getLatency().get(TEST_COLLECTION + "/find");
+        assertFalse(snapshot == null || snapshot.count() == 0, "find latency should be recorded");
+    }
+
+    @Test
+    @DisplayName("Should not suggest an index once the query is covered")
+    void testIndexedQueryProducesNoSuggestion() throws InterruptedException {
+        collection.createIndex(new Document("zone", 1).append("name", 1));
+
+        collection.find(new Document("zone", 7)).sort(Sorts.ascending("name")).into(new ArrayList<>());
+
+        // The query is recorded before find returns; its explain runs in the background.
+        assertTrue(indexAdvisor.awaitExplains(Duration.ofSeconds(10)), "explains should finish");
+        assertTrue(endpoint.report().getLatency().containsKey(TEST_COLLECTION + "/find"));
+        assertTrue(endpoint.report().getSuggestions().isEmpty());
+    }
+
+    private IndexSuggestion awaitSuggestion(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            List<IndexSuggestion> suggestions = endpoint.report().getSuggestions();
+            if (!suggestions.isEmpty()) {
+                return suggestions.get(0);
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("No index suggestion produced within " + timeout);
+    }
+}
@@ -0,0 +1,100 @@
+package dev.solace.twiggle.monitoring;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link LocalTraceCollector} class.
+ */
+class LocalTraceCollectorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LocalTraceCollector collector = new LocalTraceCollector(4, meterRegistry);
+    private SdkTracerProvider tracerProvider;
+    private Tracer tracer;
+
+    @BeforeEach
+    void setUp() {
+        tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(collector))
+                .build();
+        tracer = tracerProvider.get("test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void traces_ShouldGroupSpansByTraceNewestFirst() {
+        // Given
+        Span first = tracer.spanBuilder("http get /api/v1/gardens")
+                .setAttribute(TailSamplingSpanProcessor.ERROR_CODE, "RESOURCE_NOT_FOUND")
+                .startSpan();
+        tracer.spanBuilder("find gardens")
+                .setParent(Context.root().with(first))
+                .startSpan()
+                .end();
+        first.end();
+
+        // When
+        tracer.spanBuilder("http get /api/v1/plants").startSpan().end();
+        List<LocalTraceCollector.Trace> traces = collector.traces(10);
+
+        // Then
+        assertEquals(2, traces.size());
+        assertEquals("http get /api/v1/plants", traces.get(0).getRoot());
+        LocalTraceCollector.Trace gardens = traces.get(1);
+        assertEquals("http get /api/v1/gardens", gardens.getRoot());
+        assertEquals("RESOURCE_NOT_FOUND", gardens.getErrorCode());
+        assertNotNull(gardens.getDurationMicros());
+        assertEquals(
+                List.of("find gardens", "http get /api/v1/gardens"),
+                gardens.getSpans().stream()
+                        .map(LocalTraceCollector.Span::getName)
+                        .toList());
+        assertEquals(
+                gardens.getSpans().get(1).getSpanId(), gardens.getSpans().get(0).getParentSpanId());
+        assertEquals(
+                3, meterRegistry.get("twiggle.tracing.exported.spans").counter().count());
+    }
+
+    @Test
+    void traces_ShouldHoldTheMostRecentSpansUpToCapacity() {
+        // When
+        for (int i = 0; i < 6; i++) {
+            tracer.spanBuilder("span-" + i).startSpan().end();
+        }
+
+        // Then
+        assertEquals(
+                List.of("span-5", "span-4", "span-3", "span-2"),
+                collector.traces(10).stream()
+                        .map(LocalTraceCollector.Trace::getRoot)
+                        .toList());
+        assertEquals(2, collector.traces(2).size());
+    }
+
+    @Test
+    void reset_ShouldForgetCollectedSpans() {
+        // Given
+        tracer.spanBuilder("span").startSpan().end();
+
+        // When
+        collector.reset();
+
+        // Then
+        assertTrue(collector.traces(10).isEmpty());
+    }
+}
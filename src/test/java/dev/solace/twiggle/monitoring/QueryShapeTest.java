@@ -0,0 +1,81 @@
+package dev.solace.twiggle.monitoring;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link QueryShape} class.
+ */
+class QueryShapeTest {
+
+    @Test
+    void from_ShouldSplitEqualityAndRangeFieldsOfFind() {
+        // Given
+        BsonDocument command = BsonDocument.parse(
+                "{find: 'plants', filter: {edible: true, zone: {$gte: 5}, sun: {$eq: 'full'}}, sort: {name: -1}}");
+
+        // When
+        QueryShape shape = QueryShape.from("twiggle", "find", command);
+
+        // Then
+        assertEquals("twiggle.plants", shape.namespace());
+        assertEquals(List.of("edible", "sun"), shape.equalityFields());
+        assertEquals(List.of("zone"), shape.rangeFields());
+        assertEquals(Map.of("name", -1), shape.sortFields());
+    }
+
+    @Test
+    void suggestedIndex_ShouldFollowEqualitySortRangeOrder() {
+        // Given
+        BsonDocument command =
+                BsonDocument.parse("{find: 'plants', filter: {zone: {$gt: 3}, edible: true}, sort: {name: 1}}");
+
+        // When
+        Map<String, Integer> index = QueryShape.from("twiggle", "find", command).suggestedIndex();
+
+        // Then
+        assertEquals(List.of("edible", "name", "zone"), List.copyOf(index.keySet()));
+    }
+
+    @Test
+    void from_ShouldUseLeadingMatchAndSortOfAggregate() {
+        // Given
+        BsonDocument command = BsonDocument.parse("{aggregate: 'gardens', pipeline: ["
+                + "{$match: {ownerId: 'u1'}}, {$sort: {createdAt: -1}}, {$group: {_id: '$zone'}}, {$match: {x: 1}}"
+                + "], cursor: {}}");
+
+        // When
+        QueryShape shape = QueryShape.from("twiggle", "aggregate", command);
+
+        // Then
+        assertEquals(List.of("ownerId"), shape.equalityFields());
+        assertEquals(Map.of("createdAt", -1), shape.sortFields());
+    }
+
+    @Test
+    void from_ShouldReadFilterOfFirstUpdateStatementAndFlattenAnd() {
+        // Given
+        BsonDocument command = BsonDocument.parse("{update: 'layouts', updates: ["
+                + "{q: {$and: [{gardenId: 'g1'}, {version: {$lt: 4}}]}, u: {$set: {a: 1}}}]}");
+
+        // When
+        QueryShape shape = QueryShape.from("twiggle", "update", command);
+
+        // Then
+        assertEquals("layouts", shape.collection());
+        assertEquals(List.of("gardenId"), shape.equalityFields());
+        assertEquals(List.of("version"), shape.rangeFields());
+    }
+
+    @Test
+    void equalShapes_ShouldIgnoreLiteralValues() {
+        QueryShape first = QueryShape.from("db", "find", BsonDocument.parse("{find: 'c', filter: {a: 1}}"));
+        QueryShape second = QueryShape.from("db", "find", BsonDocument.parse("{find: 'c', filter: {a: 2}}"));
+
+        assertEquals(first, second);
+    }
+}
@@ -0,0 +1,99 @@
+package dev.solace.twiggle.monitoring;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link RateLimiterTracing} class.
+ */
+class RateLimiterTracingTest {
+
+    private final LocalTraceCollector collector = new LocalTraceCollector(100, new SimpleMeterRegistry());
+    private SdkTracerProvider tracerProvider;
+    private Tracer tracer;
+    private RateLimiterRegistry rateLimiterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(collector))
+                .build();
+        tracer = new OtelTracer(tracerProvider.get("test"), new OtelCurrentTraceContext(), event -> {});
+        rateLimiterRegistry = RateLimiterRegistry.of(RateLimiterConfig.custom()
+                .limitForPeriod(1)
+                .limitRefreshPeriod(Duration.ofMinutes(1))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void decisions_ShouldBeRecordedAsChildSpansOfTheCurrentSpan() {
+        // Given
+        RateLimiter existing = rateLimiterRegistry.rateLimiter("standard-api");
+        new RateLimiterTracing(rateLimiterRegistry, tracer);
+        RateLimiter added = rateLimiterRegistry.rateLimiter("photo-upload");
+
+        // When
+        Span request = tracer.nextSpan().name("http get /api/v1/plants").start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(request)) {
+            existing.acquirePermission();
+            existing.acquirePermission();
+            added.acquirePermission();
+        } finally {
+            request.end();
+        }
+
+        // Then
+        List<LocalTraceCollector.Trace> traces = collector.traces(10);
+        assertEquals(1, traces.size());
+        List<LocalTraceCollector.Span> spans = traces.get(0).getSpans();
+        assertEquals(
+                List.of(
+                        "ratelimiter standard-api",
+                        "ratelimiter standard-api",
+                        "ratelimiter photo-upload",
+                        "http get /api/v1/plants"),
+                spans.stream().map(LocalTraceCollector.Span::getName).toList());
+        assertEquals(
+                List.of("true", "false", "true"),
+                spans.subList(0, 3).stream()
+                        .map(LocalTraceCollector.Span::getAttributes)
+                        .map(attributes -> attributes.get("ratelimiter.permitted"))
+                        .toList());
+        String requestSpanId = spans.get(3).getSpanId();
+        assertTrue(spans.subList(0, 3).stream().allMatch(span -> requestSpanId.equals(span.getParentSpanId())));
+    }
+
+    @Test
+    void decisions_OutsideATracedRequest_ShouldNotStartTraces() {
+        // Given
+        RateLimiter limiter = rateLimiterRegistry.rateLimiter("sensor-ingest");
+        new RateLimiterTracing(rateLimiterRegistry, tracer);
+
+        // When
+        limiter.acquirePermission();
+
+        // Then
+        assertTrue(collector.traces(10).isEmpty());
+    }
+}
@@ -0,0 +1,299 @@
+package dev.solace.twiggle.monitoring;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.solace.twiggle.config.TailSamplingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link TailSamplingSpanProcessor} class.
+ */
+class TailSamplingSpanProcessorTest {
+
+    private final CapturingProcessor exported = new CapturingProcessor();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SdkTracerProvider tracerProvider;
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void onEnd_ShouldDropFastSuccessfulTracesOutsideTheKeptShare() {
+        // Given
+        Tracer tracer = tracer(properties(0.0));
+
+        // When
+        Span root = tracer.spanBuilder("root").startSpan();
+        tracer.spanBuilder("child")
+                .setParent(Context.root().with(root))
+                .startSpan()
+                .end();
+        root.end();
+
+        // Then
+        assertTrue(exported.names().isEmpty());
+        assertEquals(1, decisions("dropped"));
+    }
+
+    @Test
+    void onEnd_ShouldKeepEveryTraceWithAFailedSpan() {
+        // Given
+        Tracer tracer = tracer(properties(0.0));
+
+        // When
+        Span root = tracer.spanBuilder("root").startSpan();
+        Span child =
+                tracer.spanBuilder("mongo").setParent(Context.root().with(root)).startSpan();
+        child.setStatus(StatusCode.ERROR);
+        child.end();
+        root.end();
+
+        // Then
+        assertEquals(List.of("mongo", "root"), exported.names());
+        assertEquals(1, decisions("error"));
+    }
+
+    @Test
+    void onEnd_ShouldKeepEveryTraceTaggedWithAnErrorCode() {
+        // Given
+        Tracer tracer = tracer(properties(0.0));
+
+        // When
+        tracer.spanBuilder("http get /api/v1/plants")
+                .setAttribute(TailSamplingSpanProcessor.ERROR_CODE, "RESOURCE_NOT_FOUND")
+                .startSpan()
+                .end();
+
+        // Then
+        assertEquals(List.of("http get /api/v1/plants"), exported.names());
+        assertEquals(1, decisions("error"));
+    }
+
+    @Test
+    void onEnd_ShouldKeepEveryTraceWhoseRootIsSlow() {
+        // Given
+        Tracer tracer = tracer(properties(0.0));
+        Instant start = Instant.now().minusSeconds(1);
+
+        // When
+        tracer.spanBuilder("slow").setStartTimestamp(start).startSpan().end();
+
+        // Then
+        assertEquals(List.of("slow"), exported.names());
+        assertEquals(1, decisions("slow"));
+    }
+
+    @Test
+    void onEnd_ShouldKeepTheConfiguredShareOfTheRest() {
+        // Given
+        Tracer tracer = tracer(properties(0.25));
+
+        // When
+        for (int i = 0; i < 2_000; i++) {
+            tracer.spanBuilder("fast").startSpan().end();
+        }
+
+        // Then
+        double kept = exported.names().size() / 2_000.0;
+        assertEquals(0.25, kept, 0.05);
+        assertEquals(exported.names().size(), decisions("sampled"));
+    }
+
+    @Test
+    void onEnd_ShouldTreatRootsOfRemoteParentsAsLocalRoots() {
+        // Given
+        Tracer tracer = tracer(properties(1.0));
+        SpanContext remote = SpanContext.createFromRemoteParent(
+                "0af7651916cd43dd8448eb211c80319c",
+                "b7ad6b7169203331",
+                TraceFlags.getSampled(),
+                TraceState.getDefault());
+
+        // When
+        tracer.spanBuilder("server")
+                .setParent(Context.root().with(Span.wrap(remote)))
+                .startSpan()
+                .end();
+
+        // Then
+        assertEquals(List.of("server"), exported.names());
+    }
+
+    @Test
+    void onEnd_ShouldFollowTheTraceDecisionForSpansEndingAfterTheRoot() {
+        // Given
+        Tracer tracer = tracer(properties(0.0));
+
+        // When
+        Span root = tracer.spanBuilder("root").startSpan();
+        Span late =
+                tracer.spanBuilder("late").setParent(Context.root().with(root)).startSpan();
+        late.setStatus(StatusCode.ERROR);
+        root.end();
+        late.end();
+
+        // Then
+        assertTrue(exported.names().isEmpty());
+        assertEquals(1, decisions("dropped"));
+    }
+
+    @Test
+    void onEnd_ShouldCapTheSpansHeldPerTrace() {
+        // Given
+        TailSamplingProperties properties = properties(1.0);
+        properties.setMaxSpansPerTrace(3);
+        Tracer tracer = tracer(properties);
+
+        // When
+        Span root = tracer.spanBuilder("root").startSpan();
+        for (int i = 0; i < 5; i++) {
+            tracer.spanBuilder("child-" + i)
+                    .setParent(Context.root().with(root))
+                    .startSpan()
+                    .end();
+        }
+        root.end();
+
+        // Then
+        assertEquals(List.of("child-0", "child-1", "child-2"), exported.names());
+        assertEquals(
+                3,
+                meterRegistry.get("twiggle.tracing.spans.truncated").counter().count());
+    }
+
+    @Test
+    void onEnd_ShouldDecideTracesWhoseRootNeverEndsOnTheSpansTheyHave() {
+        // Given
+        TailSamplingProperties properties = properties(0.0);
+        properties.setMaxPendingTraces(1);
+        Tracer tracer = tracer(properties);
+
+        // When
+        Span first = tracer.spanBuilder("first").startSpan();
+        Span failed = tracer.spanBuilder("failed")
+                .setParent(Context.root().with(first))
+                .startSpan();
+        failed.setStatus(StatusCode.ERROR);
+        failed.end();
+        for (int i = 0; i < 50; i++) {
+            Span other = tracer.spanBuilder("other").startSpan();
+            tracer.spanBuilder("pending")
+                    .setParent(Context.root().with(other))
+                    .startSpan()
+                    .end();
+        }
+        tracerProvider.forceFlush().join(1, TimeUnit.SECONDS);
+
+        // Then
+        assertTrue(exported.names().contains("failed"));
+        assertTrue(
+                meterRegistry.get("twiggle.tracing.traces.incomplete").counter().count() > 0);
+    }
+
+    @Test
+    void onEnd_ShouldKeepSlowTracesWhoseRootOutlivesTheTimeout() {
+        // Given
+        TailSamplingProperties properties = properties(0.0);
+        properties.setTraceTimeout(Duration.ofSeconds(30));
+        AtomicLong ticker = new AtomicLong();
+        Tracer tracer =
+                tracer(properties, new TailSamplingSpanProcessor(properties, exported, meterRegistry, ticker::get));
+        Instant start = Instant.now().minusSeconds(31);
+
+        // When
+        Span root = tracer.spanBuilder("root").setStartTimestamp(start).startSpan();
+        tracer.spanBuilder("query")
+                .setParent(Context.root().with(root))
+                .setStartTimestamp(start)
+                .startSpan()
+                .end();
+        ticker.addAndGet(Duration.ofSeconds(31).toNanos());
+        tracer.spanBuilder("fast").startSpan().end();
+        root.end();
+
+        // Then
+        assertEquals(List.of("query", "root"), exported.names());
+        assertEquals(1, decisions("slow"));
+        assertEquals(
+                1,
+                meterRegistry.get("twiggle.tracing.traces.incomplete").counter().count());
+    }
+
+    private Tracer tracer(TailSamplingProperties properties) {
+        return tracer(properties, new TailSamplingSpanProcessor(properties, exported, meterRegistry));
+    }
+
+    private Tracer tracer(TailSamplingProperties properties, TailSamplingSpanProcessor processor) {
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(processor).build();
+        return tracerProvider.get("test");
+    }
+
+    private double decisions(String decision) {
+        return meterRegistry
+                .get("twiggle.tracing.traces")
+                .tag("decision", decision)
+                .counter()
+                .count();
+    }
+
+    private static TailSamplingProperties properties(double keepRatio) {
+        TailSamplingProperties properties = new TailSamplingProperties();
+        properties.setKeepRatio(keepRatio);
+        properties.setSlowThreshold(Duration.ofMillis(500));
+        return properties;
+    }
+
+    /** Stands in for the exporting processor, recording the spans it is handed. */
+    private static class CapturingProcessor implements SpanProcessor {
+        private final List<ReadableSpan> spans = new CopyOnWriteArrayList<>();
+
+        List<String> names() {
+            return spans.stream().map(ReadableSpan::getName).toList();
+        }
+
+        @Override
+        public void onStart(Context parentContext, ReadWriteSpan span) {}
+
+        @Override
+        public boolean isStartRequired() {
+            return false;
+        }
+
+        @Override
+        public void onEnd(ReadableSpan span) {
+            spans.add(span);
+        }
+
+        @Override
+        public boolean isEndRequired() {
+            return true;
+        }
+
+        @Override
+        public CompletableResultCode forceFlush() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
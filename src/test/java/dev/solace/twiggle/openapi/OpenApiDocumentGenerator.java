@@ -0,0 +1,86 @@
+package dev.solace.twiggle.openapi;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Writes the OpenAPI document of every springdoc group, plus a Swagger UI config listing them, into
+ * {@code static/openapi} so the prod profile can serve them without scanning controllers at runtime.
+ *
+ * <p>Bound to the {@code prepare-package} phase by the {@code generate-openapi} surefire execution, which points
+ * {@value #OUTPUT_DIRECTORY_PROPERTY} at {@code target/classes}. The {@code openapi} test profile boots the context
+ * without a reachable Mongo, since documenting the API needs none of it.
+ */
+@Tag("openapi")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "openapi"})
+@DisplayName("OpenAPI Document Generator")
+class OpenApiDocumentGenerator {
+    static final String OUTPUT_DIRECTORY_PROPERTY = "openapi.output-directory";
+    static final String STATIC_PATH = "/openapi/";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Every API group should be written as a static document")
+    void generate() throws Exception {
+        Path output = Path.of(System.getProperty(OUTPUT_DIRECTORY_PROPERTY, "target/classes/static/openapi"));
+        Files.createDirectories(output);
+
+        JsonNode swaggerConfig = objectMapper.readTree(fetch("/v3/api-docs/swagger-config"));
+        ArrayNode urls = objectMapper.createArrayNode();
+        for (JsonNode group : swaggerConfig.withArray("urls")) {
+            String name = group.get("name").asText();
+            ObjectNode document =
+                    (ObjectNode) objectMapper.readTree(fetch(group.get("url").asText()));
+            assertTrue(document.path("paths").size() > 0, name + " documents no paths");
+            // The generated server URL is the mock request's host; without one, clients use the serving origin.
+            document.remove("servers");
+
+            String file = fileName(name);
+            Files.writeString(output.resolve(file), objectMapper.writeValueAsString(document));
+            urls.addObject().put("name", name).put("url", STATIC_PATH + file);
+        }
+        assertFalse(urls.isEmpty(), "springdoc reported no API groups");
+
+        Files.writeString(
+                output.resolve("swagger-config.json"),
+                objectMapper.writeValueAsString(objectMapper.createObjectNode().set("urls", urls)));
+    }
+
+    private String fetch(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    /** "Actuator API" becomes {@code actuator-api.json}. */
+    static String fileName(String group) {
+        return group.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("^-|-$", "") + ".json";
+    }
+}
@@ -0,0 +1,150 @@
+package dev.solace.twiggle.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.solace.twiggle.dto.LayoutDeltaRequest;
+import dev.solace.twiggle.dto.LayoutView;
+import dev.solace.twiggle.dto.ReminderRequest;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.model.ReminderType;
+import dev.solace.twiggle.model.layout.LayoutOperation;
+import dev.solace.twiggle.service.layout.LayoutEditService;
+import dev.solace.twiggle.service.reminder.ReminderService;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Pauses the Mongo container mid-test to check that request-path calls degrade instead of hanging.
+ */
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("dev")
+@DisplayName("Mongo Fault Injection Tests")
+class MongoFaultInjectionTest {
+
+    private static final Duration TIMEOUT = Duration.ofMillis(300);
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0.5"));
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+        registry.add("twiggle.outbox.enabled", () -> "false");
+        registry.add("twiggle.mongo.resilience.timeout", () -> TIMEOUT.toMillis() + "ms");
+        registry.add("twiggle.mongo.resilience.sliding-window-size", () -> "4");
+        registry.add("twiggle.mongo.resilience.minimum-calls", () -> "2");
+        registry.add("twiggle.mongo.resilience.open-state-wait", () -> "1s");
+    }
+
+    @Autowired
+    private LayoutEditService layoutEditService;
+
+    @Autowired
+    private ReminderService reminderService;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Test
+    @DisplayName("A paused database should yield cached reads, fast write failures and an open circuit")
+    void pausedDatabase_ShouldDegradeAndRecover() throws InterruptedException {
+        layoutEditService.applyDelta("g-fault", delta(0, "p1"));
+        LayoutView before = layoutEditService.getLayout("g-fault");
+
+        pause();
+        try {
+            long start = System.nanoTime();
+            LayoutView during = layoutEditService.getLayout("g-fault");
+            assertEquals(before.getVersion(), during.getVersion());
+            assertEquals(before.getPlacements(), during.getPlacements());
+            assertTrue(elapsedMillis(start) < TIMEOUT.toMillis() * 3);
+
+            start = System.nanoTime();
+            CustomException ex = assertThrows(CustomException.class, () -> reminderService.schedule("u1", reminder()));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+            assertTrue(elapsedMillis(start) < TIMEOUT.toMillis() * 3);
+
+            layoutEditService.getLayout("g-fault");
+            assertEquals(
+                    CircuitBreaker.State.OPEN,
+                    circuitBreakerRegistry.circuitBreaker("mongo-layout_edits").getState());
+
+            // With the circuit open the database is not even tried.
+            start = System.nanoTime();
+            assertEquals(
+                    before.getVersion(), layoutEditService.getLayout("g-fault").getVersion());
+            assertTrue(elapsedMillis(start) < TIMEOUT.toMillis());
+        } finally {
+            unpause();
+        }
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        LayoutView after = null;
+        while (after == null && System.nanoTime() < deadline) {
+            try {
+                after = layoutEditService.applyDelta("g-fault", delta(before.getVersion(), "p2"));
+            } catch (CustomException ex) {
+                Thread.sleep(250);
+            }
+        }
+        assertTrue(after != null, "edits should succeed again once the database is back");
+        assertEquals(before.getVersion() + 1, after.getVersion());
+    }
+
+    private static void pause() {
+        mongoDBContainer
+                .getDockerClient()
+                .pauseContainerCmd(mongoDBContainer.getContainerId())
+                .exec();
+    }
+
+    private static void unpause() {
+        mongoDBContainer
+                .getDockerClient()
+                .unpauseContainerCmd(mongoDBContainer.getContainerId())
+                .exec();
+    }
+
+    private static long elapsedMillis(long start) {
+        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+    }
+
+    private static LayoutDeltaRequest delta(long baseVersion, String plantId) {
+        return LayoutDeltaRequest.builder()
+                .baseVersion(baseVersion)
+                .operations(List.of(LayoutOperation.builder()
+                        .type(LayoutOperation.Type.ADD)
+                        .placementId(plantId)
+                        .plantId(plantId)
+                        .x(1)
+                        .y(1)
+                        .build()))
+                .build();
+    }
+
+    private static ReminderRequest reminder() {
+        return ReminderRequest.builder()
+                .type(ReminderType.WATER)
+                .message("Water the basil")
+                .dueAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package dev.solace.twiggle.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.solace.twiggle.config.MongoResilienceProperties;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+@DisplayName("Resilient Mongo Access Tests")
+class ResilientMongoAccessTest {
+
+    private CircuitBreakerRegistry circuitBreakers;
+    private SimpleMeterRegistry meterRegistry;
+    private ResilientMongoAccess access;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        MongoResilienceProperties properties = new MongoResilienceProperties();
+        properties.setTimeout(Duration.ofMillis(100));
+        properties.setMaxConcurrentCalls(2);
+        properties.setSlidingWindowSize(4);
+        properties.setMinimumCalls(4);
+        properties.setOpenStateWait(Duration.ofMinutes(1));
+        circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+        meterRegistry = new SimpleMeterRegistry();
+        access = new ResilientMongoAccess(properties, circuitBreakers, BulkheadRegistry.ofDefaults(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        access.close();
+    }
+
+    @Test
+    @DisplayName("A read that times out should be served from the last known good result")
+    void read_ShouldFallBackToLastKnownGood() {
+        assertEquals("v1", access.read("plants", "p1", () -> "v1"));
+
+        long start = System.nanoTime();
+        assertEquals("v1", access.read("plants", "p1", this::hang));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1_000);
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("twiggle.mongo.fallback")
+                        .tag("outcome", "hit")
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    @DisplayName("A failed read without a cached result should surface as service unavailable")
+    void read_ShouldFailWithServiceUnavailable_WhenNothingCached() {
+        CustomException ex = assertThrows(
+                CustomException.class,
+                () -> access.read("plants", "p2", () -> {
+                    throw new IllegalStateException("connection reset");
+                }));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+        assertEquals(ErrorCode.SERVICE_UNAVAILABLE, ex.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("Repeated failures should open the circuit and stop calling the database")
+    void write_ShouldOpenCircuit_AfterRepeatedFailures() {
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            assertThrows(
+                    CustomException.class,
+                    () -> access.write("gardens", () -> {
+                        calls.incrementAndGet();
+                        throw new IllegalStateException("down");
+                    }));
+        }
+        assertEquals(
+                CircuitBreaker.State.OPEN,
+                circuitBreakers.circuitBreaker("mongo-gardens").getState());
+
+        assertThrows(CustomException.class, () -> access.write("gardens", calls::incrementAndGet));
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    @DisplayName("Calls beyond the bulkhead limit should be rejected while earlier calls are stuck")
+    void write_ShouldRejectCalls_WhenBulkheadIsFull() {
+        for (int i = 0; i < 2; i++) {
+            assertThrows(CustomException.class, () -> access.write("outbox", this::hang));
+        }
+
+        AtomicInteger calls = new AtomicInteger();
+        long start = System.nanoTime();
+        assertThrows(CustomException.class, () -> access.write("outbox", calls::incrementAndGet));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 50);
+        assertEquals(0, calls.get());
+        // Other collections have their own bulkheads.
+        assertEquals(1, access.write("gardens", () -> 1));
+    }
+
+    @Test
+    @DisplayName("Domain exceptions should pass through without counting against the circuit")
+    void write_ShouldPropagateCustomExceptions() {
+        CustomException conflict = new CustomException("conflict", HttpStatus.CONFLICT, ErrorCode.VERSION_CONFLICT);
+        for (int i = 0; i < 6; i++) {
+            assertSame(
+                    conflict,
+                    assertThrows(
+                            CustomException.class,
+                            () -> access.write("layout_edits", () -> {
+                                throw conflict;
+                            })));
+        }
+
+        assertEquals(
+                CircuitBreaker.State.CLOSED,
+                circuitBreakers.circuitBreaker("mongo-layout_edits").getState());
+    }
+
+    private String hang() {
+        try {
+            release.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return "late";
+    }
+}
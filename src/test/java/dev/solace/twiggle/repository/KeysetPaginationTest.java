@@ -0,0 +1,105 @@
+package dev.solace.twiggle.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.util.CursorCodec;
+import java.util.Arrays;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Unit tests for the {@link KeysetPagination} class.
+ */
+class KeysetPaginationTest {
+
+    @Test
+    void seekCriteria_ShouldUseGreaterThanForAscendingOrder() {
+        // Given
+        KeysetPageRequest request = KeysetPageRequest.first("name", Sort.Direction.ASC, 10);
+
+        // When
+        Document criteria =
+                KeysetPagination.seekCriteria(request, List.of("Basil", "id-7")).getCriteriaObject();
+
+        // Then
+        assertEquals(
+                Document.parse("{$or: [{name: {$gt: 'Basil'}}, {$and: [{name: 'Basil'}, {_id: {$gt: 'id-7'}}]}]}"),
+                criteria);
+    }
+
+    @Test
+    void seekCriteria_ShouldUseLessThanForDescendingOrder() {
+        // Given
+        KeysetPageRequest request = KeysetPageRequest.first("popularity", Sort.Direction.DESC, 10);
+
+        // When
+        Document criteria =
+                KeysetPagination.seekCriteria(request, List.of(42, "id-3")).getCriteriaObject();
+
+        // Then
+        assertEquals(
+                Document.parse("{$or: [{popularity: {$lt: 42}}, {$and: [{popularity: 42}, {_id: {$lt: 'id-3'}}]},"
+                        + " {popularity: null}]}"),
+                criteria);
+    }
+
+    @Test
+    void seekCriteria_ShouldContinuePastTheNullGroupForAscendingOrder() {
+        // Given
+        KeysetPageRequest request = KeysetPageRequest.first("sowingMonth", Sort.Direction.ASC, 10);
+
+        // When
+        Document criteria = KeysetPagination.seekCriteria(request, Arrays.asList(null, "id-5"))
+                .getCriteriaObject();
+
+        // Then
+        assertEquals(
+                Document.parse(
+                        "{$or: [{$and: [{sowingMonth: null}, {_id: {$gt: 'id-5'}}]}, {sowingMonth: {$ne: null}}]}"),
+                criteria);
+    }
+
+    @Test
+    void seekCriteria_ShouldEndWithTheNullGroupForDescendingOrder() {
+        // Given
+        KeysetPageRequest request = KeysetPageRequest.first("sowingMonth", Sort.Direction.DESC, 10);
+
+        // When
+        Document criteria = KeysetPagination.seekCriteria(request, Arrays.asList(null, "id-5"))
+                .getCriteriaObject();
+
+        // Then
+        assertEquals(Document.parse("{$and: [{sowingMonth: null}, {_id: {$lt: 'id-5'}}]}"), criteria);
+    }
+
+    @Test
+    void cursor_ShouldCarryANullSortValue() {
+        // Given
+        KeysetPageRequest request = KeysetPageRequest.first("sowingMonth", Sort.Direction.ASC, 10);
+        String cursor = CursorCodec.encode(request.sortSpec(), Arrays.asList(null, "id-5"));
+
+        // When
+        List<Object> keys = CursorCodec.decode(request.sortSpec(), cursor, 2);
+
+        // Then
+        assertEquals(Arrays.asList(null, "id-5"), keys);
+    }
+
+    @Test
+    void pageRequest_ShouldRejectOutOfRangeSizes() {
+        assertThrows(CustomException.class, () -> KeysetPageRequest.first("name", Sort.Direction.ASC, 0));
+        assertThrows(
+                CustomException.class,
+                () -> KeysetPageRequest.first("name", Sort.Direction.ASC, KeysetPageRequest.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void sortSpec_ShouldIncludeFieldAndDirection() {
+        assertEquals(
+                "name:desc",
+                KeysetPageRequest.first("name", Sort.Direction.DESC, 5).sortSpec());
+    }
+}
@@ -0,0 +1,191 @@
+package dev.solace.twiggle.security;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.nimbusds.jose.jwk.RSAKey;
+import dev.solace.twiggle.config.RateLimiterConfiguration;
+import dev.solace.twiggle.config.SecurityConfiguration;
+import dev.solace.twiggle.controller.ReminderController;
+import dev.solace.twiggle.model.CareReminder;
+import dev.solace.twiggle.model.ReminderType;
+import dev.solace.twiggle.service.reminder.ReminderHub;
+import dev.solace.twiggle.service.reminder.ReminderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Unit tests for {@link JwtAuthenticationFilter}.
+ */
+@WebMvcTest(ReminderController.class)
+@Import({RateLimiterConfiguration.class, SecurityConfiguration.class, SimpleMeterRegistry.class})
+class JwtAuthenticationFilterTest {
+
+    private static final String PATH = "/api/v1/users/u1/reminders";
+    private static final String BODY = "{\"type\": \"WATER\", \"message\": \"Water the basil\"}";
+    private static final RSAKey KEY = TestJwks.generate("k1");
+    private static final TestJwks JWKS = start();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ReminderService reminderService;
+
+    @MockitoBean
+    private ReminderHub reminderHub;
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("twiggle.security.enabled", () -> "true");
+        registry.add("twiggle.security.jwks-uri", JWKS::uri);
+        registry.add("twiggle.security.issuer", () -> TestJwks.ISSUER);
+        registry.add("twiggle.security.audience", () -> TestJwks.AUDIENCE);
+    }
+
+    @AfterAll
+    static void stop() {
+        JWKS.close();
+    }
+
+    @Test
+    void request_WithValidToken_ShouldReachController() throws Exception {
+        when(reminderService.schedule(eq("u1"), any()))
+                .thenReturn(CareReminder.builder()
+                        .id("r1")
+                        .userId("u1")
+                        .type(ReminderType.WATER)
+                        .build());
+
+        mockMvc.perform(post(PATH)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + TestJwks.token(KEY, "u1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.id").value("r1"));
+    }
+
+    @Test
+    void request_WithoutToken_ShouldBeUnauthorized() throws Exception {
+        mockMvc.perform(post(PATH).contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, "Bearer"))
+                .andExpect(jsonPath("$.code").value("ACCESS_DENIED"));
+
+        verifyNoInteractions(reminderService);
+    }
+
+    @Test
+    void request_WithInvalidToken_ShouldBeUnauthorized() throws Exception {
+        RSAKey unpublished = TestJwks.generate("k1");
+
+        mockMvc.perform(post(PATH)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + TestJwks.token(unpublished, "u1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\""))
+                .andExpect(jsonPath("$.code").value("ACCESS_DENIED"));
+
+        verifyNoInteractions(reminderService);
+    }
+
+    @Test
+    void request_ForAnotherUser_ShouldBeForbidden() throws Exception {
+        mockMvc.perform(post(PATH)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + TestJwks.token(KEY, "u2"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.code").value("ACCESS_DENIED"));
+
+        verifyNoInteractions(reminderService);
+    }
+
+    @Test
+    void handshake_ShouldAcceptTokenAsQueryParameter() throws Exception {
+        when(reminderService.schedule(eq("u1"), any()))
+                .thenReturn(CareReminder.builder()
+                        .id("r1")
+                        .userId("u1")
+                        .type(ReminderType.WATER)
+                        .build());
+        String token = TestJwks.token(KEY, "u1");
+
+        mockMvc.perform(post(PATH)
+                        .header(HttpHeaders.UPGRADE, "websocket")
+                        .param("access_token", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post(PATH)
+                        .param("access_token", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void request_WithDisguisedPrefix_ShouldStillRequireToken() throws Exception {
+        for (String path : List.of("/api;x=1/v1/users/u1/reminders", "/%61pi/v1/users/u1/reminders")) {
+            mockMvc.perform(post(URI.create(path))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(BODY))
+                    .andExpect(status().isUnauthorized())
+                    .andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, "Bearer"));
+        }
+
+        verifyNoInteractions(reminderService);
+    }
+
+    @Test
+    void request_ForAnotherUserWithPathParameter_ShouldBeForbidden() throws Exception {
+        mockMvc.perform(post(URI.create("/api/v1/users/u2;x=1/reminders"))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + TestJwks.token(KEY, "u1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.code").value("ACCESS_DENIED"));
+
+        verifyNoInteractions(reminderService);
+    }
+
+    @Test
+    void preflight_ShouldNotRequireToken() throws Exception {
+        mockMvc.perform(options(PATH)
+                        .header(HttpHeaders.ORIGIN, "https://app.test")
+                        .header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "POST"))
+                .andExpect(header().doesNotExist(HttpHeaders.WWW_AUTHENTICATE));
+    }
+
+    private static TestJwks start() {
+        try {
+            TestJwks jwks = new TestJwks();
+            jwks.publish(KEY);
+            return jwks;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
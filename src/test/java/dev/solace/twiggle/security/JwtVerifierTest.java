@@ -0,0 +1,194 @@
+package dev.solace.twiggle.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.nimbusds.jose.jwk.RSAKey;
+import dev.solace.twiggle.config.SecurityProperties;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Unit tests for {@link JwtVerifier} and {@link JwksKeySource}.
+ */
+class JwtVerifierTest {
+
+    private static final RSAKey FIRST_KEY = TestJwks.generate("k1");
+    private static final RSAKey SECOND_KEY = TestJwks.generate("k2");
+
+    private TestJwks jwks;
+    private SimpleMeterRegistry meterRegistry;
+    private JwksKeySource keySource;
+    private JwtVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jwks = new TestJwks();
+        jwks.publish(FIRST_KEY);
+        SecurityProperties properties = new SecurityProperties();
+        properties.setJwksUri(jwks.uri());
+        properties.setIssuer(TestJwks.ISSUER);
+        properties.setAudience(TestJwks.AUDIENCE);
+        properties.setJwksMinRefreshInterval(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+        keySource = new JwksKeySource(properties, meterRegistry);
+        keySource.loadOnStartup();
+        verifier = new JwtVerifier(keySource, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jwks.close();
+    }
+
+    @Test
+    void verify_WithValidToken_ShouldReturnUserAndCacheIt() {
+        // Arrange
+        String token =
+                TestJwks.token(FIRST_KEY, claims -> claims.subject("u1").claim("scope", "reminders:write  read"));
+
+        // Act
+        AuthenticatedUser first = verifier.verify(token);
+        AuthenticatedUser second = verifier.verify(token);
+
+        // Assert
+        assertThat(first.subject()).isEqualTo("u1");
+        assertThat(first.scopes()).isEqualTo(Set.of("reminders:write", "read"));
+        assertThat(first.keyId()).isEqualTo("k1");
+        assertThat(second).isSameAs(first);
+        assertThat(tokens("verified")).isEqualTo(1);
+        assertThat(tokens("cached")).isEqualTo(1);
+        assertThat(verifier.cachedTokens()).isEqualTo(1);
+    }
+
+    @Test
+    void verify_WithTamperedToken_ShouldReject() {
+        // Arrange
+        String token = TestJwks.token(FIRST_KEY, "u1");
+        String other = TestJwks.token(FIRST_KEY, "u2");
+        String forged = token.substring(0, token.indexOf('.') + 1)
+                + other.split("\\.")[1]
+                + token.substring(token.lastIndexOf('.'));
+
+        // Act & Assert
+        assertRejected(forged, "signature does not match");
+        assertThat(verifier.cachedTokens()).isZero();
+    }
+
+    @Test
+    void verify_WithInvalidClaims_ShouldReject() {
+        assertRejected(
+                TestJwks.token(
+                        FIRST_KEY,
+                        claims -> claims.expirationTime(Date.from(Instant.now().minusSeconds(60)))),
+                "expired");
+        assertRejected(
+                TestJwks.token(
+                        FIRST_KEY,
+                        claims -> claims.notBeforeTime(Date.from(Instant.now().plusSeconds(600)))),
+                "not valid yet");
+        assertRejected(TestJwks.token(FIRST_KEY, claims -> claims.issuer("https://other.test")), "issued");
+        assertRejected(TestJwks.token(FIRST_KEY, claims -> claims.audience("other")), "audience");
+        assertRejected(TestJwks.token(FIRST_KEY, claims -> claims.expirationTime(null)), "no expiry");
+        assertRejected(TestJwks.token(FIRST_KEY, claims -> claims.subject(null)), "no subject");
+        assertRejected("not-a-token", "malformed");
+        assertThat(tokens("rejected")).isEqualTo(7);
+    }
+
+    @Test
+    void verify_WithTokenOfNewKey_ShouldReloadKeySet() {
+        // Arrange
+        jwks.publish(FIRST_KEY, SECOND_KEY);
+        int fetched = jwks.requests();
+
+        // Act
+        AuthenticatedUser user = verifier.verify(TestJwks.token(SECOND_KEY, "u1"));
+
+        // Assert
+        assertThat(user.keyId()).isEqualTo("k2");
+        assertThat(jwks.requests()).isEqualTo(fetched + 1);
+        assertThat(keySource.size()).isEqualTo(2);
+    }
+
+    @Test
+    void verify_WithUnknownKey_ShouldReloadAtMostOncePerInterval() throws Exception {
+        // Arrange
+        SecurityProperties properties = new SecurityProperties();
+        properties.setJwksUri(jwks.uri());
+        properties.setJwksMinRefreshInterval(Duration.ofMinutes(1));
+        JwksKeySource throttled = new JwksKeySource(properties, meterRegistry);
+        throttled.loadOnStartup();
+        JwtVerifier throttledVerifier = new JwtVerifier(throttled, properties, meterRegistry);
+        int fetched = jwks.requests();
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> throttledVerifier.verify(TestJwks.token(SECOND_KEY, "u1")))
+                    .isInstanceOf(CustomException.class)
+                    .hasMessageContaining("unknown key");
+        }
+
+        // Assert
+        assertThat(jwks.requests()).isEqualTo(fetched);
+    }
+
+    @Test
+    void verify_AfterKeyIsRetired_ShouldRejectCachedTokens() {
+        // Arrange
+        String token = TestJwks.token(FIRST_KEY, "u1");
+        verifier.verify(token);
+        jwks.publish(SECOND_KEY);
+
+        // Act
+        keySource.refresh();
+
+        // Assert
+        assertRejected(token, "unknown key");
+        assertThat(verifier.verify(TestJwks.token(SECOND_KEY, "u1")).keyId()).isEqualTo("k2");
+    }
+
+    @Test
+    void reload_WhenEndpointFails_ShouldKeepPreviousKeys() {
+        // Arrange
+        jwks.close();
+
+        // Act
+        boolean reloaded = keySource.reload();
+
+        // Assert
+        assertThat(reloaded).isFalse();
+        assertThat(keySource.contains("k1")).isTrue();
+        assertThat(meterRegistry
+                        .get("twiggle.security.jwks.refresh")
+                        .tag("outcome", "failure")
+                        .counter()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    private void assertRejected(String token, String reason) {
+        assertThatThrownBy(() -> verifier.verify(token))
+                .isInstanceOfSatisfying(CustomException.class, ex -> {
+                    assertThat(ex.getStatus()).isEqualTo(HttpStatus.UNAUTHORIZED);
+                    assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.ACCESS_DENIED);
+                })
+                .hasMessageContaining(reason);
+    }
+
+    private double tokens(String outcome) {
+        return meterRegistry
+                .get("twiggle.security.tokens")
+                .tag("outcome", outcome)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,102 @@
+package dev.solace.twiggle.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * An issuer for tests and benchmarks: generates RSA keys, serves the published ones as a JWKS on a local port and
+ * signs tokens.
+ */
+public final class TestJwks implements AutoCloseable {
+
+    public static final String ISSUER = "https://issuer.test";
+    public static final String AUDIENCE = "twiggle";
+
+    private final HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile List<RSAKey> published = List.of();
+
+    public TestJwks() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/jwks.json", exchange -> {
+            requests.incrementAndGet();
+            byte[] body = new JWKSet(List.copyOf(published))
+                    .toPublicJWKSet()
+                    .toString()
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    public static RSAKey generate(String keyId) {
+        try {
+            return new RSAKeyGenerator(2048).keyID(keyId).generate();
+        } catch (JOSEException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public void publish(RSAKey... keys) {
+        published = List.of(keys);
+    }
+
+    public URI uri() {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + "/jwks.json");
+    }
+
+    /** Number of times the key set was fetched. */
+    public int requests() {
+        return requests.get();
+    }
+
+    /** A token for {@code subject} from {@link #ISSUER} to {@link #AUDIENCE}, valid for an hour. */
+    public static String token(RSAKey key, String subject) {
+        return token(key, claims -> claims.subject(subject));
+    }
+
+    public static String token(RSAKey key, Consumer<JWTClaimsSet.Builder> customizer) {
+        JWTClaimsSet.Builder claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .audience(AUDIENCE)
+                .subject("u1")
+                .issueTime(new Date())
+                .expirationTime(Date.from(Instant.now().plusSeconds(3600)));
+        customizer.accept(claims);
+        SignedJWT jwt = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims.build());
+        try {
+            jwt.sign(new RSASSASigner(key));
+        } catch (JOSEException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return jwt.serialize();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
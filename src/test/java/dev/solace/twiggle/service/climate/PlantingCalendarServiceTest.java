@@ -0,0 +1,116 @@
+package dev.solace.twiggle.service.climate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import dev.solace.twiggle.config.ClimateProperties;
+import dev.solace.twiggle.dto.PlantSearchHit;
+import dev.solace.twiggle.dto.PlantSearchResult;
+import dev.solace.twiggle.dto.PlantingCalendarView;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.Plant;
+import dev.solace.twiggle.service.search.PlantSearchQuery;
+import dev.solace.twiggle.service.search.PlantSearchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Unit tests for {@link PlantingCalendarService} against the built-in climate tables.
+ */
+class PlantingCalendarServiceTest {
+
+    private PlantSearchService plantSearchService;
+    private SimpleMeterRegistry meterRegistry;
+    private PlantingCalendarService service;
+
+    @BeforeEach
+    void setUp() {
+        plantSearchService = mock(PlantSearchService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new PlantingCalendarService(new ClimateProperties(), plantSearchService, meterRegistry);
+    }
+
+    @Test
+    void calendar_ShouldReturnZoneFrostDatesAndPlants() {
+        // Arrange
+        PlantSearchQuery query = PlantSearchQuery.builder()
+                .seasons(Set.of(Plant.Season.SPRING))
+                .zone(6)
+                .limit(5)
+                .build();
+        List<PlantSearchHit> hits =
+                List.of(PlantSearchHit.builder().id("p1").commonName("Pea").build());
+        when(plantSearchService.search(query))
+                .thenReturn(PlantSearchResult.builder()
+                        .total(1)
+                        .hits(hits)
+                        .facets(Map.of())
+                        .build());
+
+        // Act
+        PlantingCalendarView view = service.calendar(38.9, -77.0, LocalDate.of(2024, 4, 10), 5);
+
+        // Assert
+        assertThat(view.getZone()).isEqualTo("6b");
+        assertThat(view.getHardinessZone()).isEqualTo(6);
+        assertThat(view.isFrostFree()).isFalse();
+        assertThat(view.getLastFrost()).isEqualTo(LocalDate.of(2024, 4, 15));
+        assertThat(view.getFirstFrost()).isEqualTo(LocalDate.of(2024, 10, 20));
+        assertThat(view.getPlantableSeasons()).containsExactly(Plant.Season.SPRING);
+        assertThat(view.getPlants()).isEqualTo(hits);
+        verify(plantSearchService).search(query);
+    }
+
+    @Test
+    void calendar_WhereItDoesNotFreeze_ShouldOmitFrostDates() {
+        // Act
+        PlantingCalendarView view = service.calendar(-33.87, 151.2, LocalDate.of(2025, 7, 20), 0);
+
+        // Assert
+        assertThat(view.getZone()).isEqualTo("10b");
+        assertThat(view.isFrostFree()).isTrue();
+        assertThat(view.getLastFrost()).isNull();
+        assertThat(view.getFirstFrost()).isNull();
+        assertThat(view.getPlantableSeasons()).contains(Plant.Season.SPRING);
+        assertThat(view.getPlants()).isEmpty();
+        verifyNoInteractions(plantSearchService);
+    }
+
+    @Test
+    void calendar_WithoutClimateData_ShouldBeNotFound() {
+        assertThatThrownBy(() -> service.calendar(0, -30, LocalDate.of(2025, 5, 1), 10))
+                .isInstanceOfSatisfying(CustomException.class, ex -> {
+                    assertThat(ex.getStatus()).isEqualTo(HttpStatus.NOT_FOUND);
+                    assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.RESOURCE_NOT_FOUND);
+                });
+        assertThat(meterRegistry
+                        .get("twiggle.climate.lookups")
+                        .tag("outcome", "unknown")
+                        .counter()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void calendar_WithInvalidArguments_ShouldBeBadRequest() {
+        for (double[] point : new double[][] {{91, 0}, {0, -181}, {Double.NaN, 0}}) {
+            assertThatThrownBy(() -> service.calendar(point[0], point[1], LocalDate.of(2025, 5, 1), 10))
+                    .isInstanceOfSatisfying(CustomException.class, ex -> assertThat(ex.getErrorCode())
+                            .isEqualTo(ErrorCode.INVALID_ARGUMENT));
+        }
+        assertThatThrownBy(() -> service.calendar(38.9, -77.0, LocalDate.of(2025, 5, 1), 101))
+                .isInstanceOfSatisfying(
+                        CustomException.class, ex -> assertThat(ex.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+}
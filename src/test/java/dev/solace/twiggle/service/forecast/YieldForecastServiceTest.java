@@ -0,0 +1,184 @@
+package dev.solace.twiggle.service.forecast;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.model.Plant;
+import dev.solace.twiggle.model.forecast.ForecastRun;
+import dev.solace.twiggle.model.forecast.YieldForecast;
+import dev.solace.twiggle.model.sensor.RollupGranularity;
+import dev.solace.twiggle.model.sensor.SensorMetric;
+import dev.solace.twiggle.model.sensor.SensorRollup;
+import dev.solace.twiggle.model.stats.GardenStats;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("dev")
+@DisplayName("Yield Forecast Tests")
+class YieldForecastServiceTest {
+
+    private static final LocalDate RUN_DATE = LocalDate.of(2025, 5, 1);
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0.5"));
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+        registry.add("twiggle.outbox.enabled", () -> "false");
+        // Runs are started by the tests themselves, in small chunks so a run spans several of them.
+        registry.add("twiggle.forecast.enabled", () -> "false");
+        registry.add("twiggle.forecast.chunk-size", () -> "3");
+        registry.add("twiggle.forecast.samples", () -> "20");
+    }
+
+    @Autowired
+    private YieldForecastService service;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    @Qualifier("catalogMongoTemplate") private MongoTemplate catalogMongoTemplate;
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.remove(new Query(), GardenStats.class);
+        mongoTemplate.remove(new Query(), SensorRollup.class);
+        mongoTemplate.remove(new Query(), YieldForecast.class);
+        mongoTemplate.remove(new Query(), ForecastRun.class);
+        catalogMongoTemplate.remove(new Query(), Plant.class);
+    }
+
+    @Test
+    @DisplayName("A run should forecast every garden once and then be complete")
+    void run_ShouldForecastEveryGardenAndComplete() {
+        seed(10);
+        mongoTemplate.insert(rollup("garden-00", SensorMetric.TEMPERATURE, 2, 22));
+        mongoTemplate.insert(rollup("garden-00", SensorMetric.TEMPERATURE, 1, 18));
+        mongoTemplate.insert(rollup("garden-00", SensorMetric.SOIL_MOISTURE, 1, 35));
+
+        assertEquals(10, service.run(RUN_DATE));
+
+        assertEquals(10, mongoTemplate.count(new Query(), YieldForecast.class));
+        YieldForecast calibrated = service.getForecast("garden-00");
+        assertEquals(RUN_DATE, calibrated.getRunDate());
+        assertEquals(2, calibrated.getSensorDays());
+        assertEquals(20, calibrated.getMeanTemperature(), 1e-9);
+        assertEquals(
+                List.of("tomato"),
+                calibrated.getPlants().stream()
+                        .map(YieldForecast.PlantForecast::getPlantId)
+                        .toList());
+        assertEquals(0, service.getForecast("garden-01").getSensorDays());
+
+        ForecastRun run = mongoTemplate.findById(RUN_DATE.toString(), ForecastRun.class);
+        assertNotNull(run);
+        assertNotNull(run.getCompletedAt());
+        assertEquals("garden-09", run.getLastGardenId());
+        assertEquals(10, run.getGardens());
+        assertEquals(-1, service.run(RUN_DATE));
+    }
+
+    @Test
+    @DisplayName("An interrupted run should resume after its checkpoint once its lease has run out")
+    void run_ShouldResumeAfterCheckpoint() {
+        seed(10);
+        mongoTemplate.insert(ForecastRun.builder()
+                .id(RUN_DATE.toString())
+                .lastGardenId("garden-05")
+                .gardens(6)
+                .owner("crashed-instance")
+                .leaseUntil(Instant.now().minusSeconds(1))
+                .startedAt(Instant.now().minusSeconds(60))
+                .build());
+
+        assertEquals(4, service.run(RUN_DATE));
+
+        assertNull(mongoTemplate.findById("garden-05", YieldForecast.class));
+        assertNotNull(mongoTemplate.findById("garden-06", YieldForecast.class));
+        ForecastRun run = mongoTemplate.findById(RUN_DATE.toString(), ForecastRun.class);
+        assertNotNull(run);
+        assertNotNull(run.getCompletedAt());
+        assertEquals(10, run.getGardens());
+    }
+
+    @Test
+    @DisplayName("A run leased to another instance should be left alone")
+    void run_WhenLeasedElsewhere_ShouldSkip() {
+        seed(3);
+        mongoTemplate.insert(ForecastRun.builder()
+                .id(RUN_DATE.toString())
+                .owner("other-instance")
+                .leaseUntil(Instant.now().plusSeconds(60))
+                .startedAt(Instant.now())
+                .build());
+
+        assertEquals(-1, service.run(RUN_DATE));
+        assertEquals(0, mongoTemplate.count(new Query(), YieldForecast.class));
+    }
+
+    @Test
+    @DisplayName("Gardens that have not been forecast yet should not be found")
+    void getForecast_WhenMissing_ShouldBeNotFound() {
+        CustomException ex = assertThrows(CustomException.class, () -> service.getForecast("garden-none"));
+        assertTrue(ex.getMessage().contains("garden-none"));
+    }
+
+    private void seed(int gardens) {
+        catalogMongoTemplate.insert(Plant.builder()
+                .id("tomato")
+                .commonName("Tomato")
+                .growingDegreeDays(1200)
+                .yieldPerPlant(4.0)
+                .build());
+        catalogMongoTemplate.insert(
+                Plant.builder().id("marigold").commonName("Marigold").build());
+        for (int i = 0; i < gardens; i++) {
+            mongoTemplate.insert(GardenStats.builder()
+                    .gardenId(String.format("garden-%02d", i))
+                    .plants(List.of(new GardenStats.PlantCount("tomato", 2), new GardenStats.PlantCount("marigold", 4)))
+                    .computedAt(Instant.now())
+                    .build());
+        }
+    }
+
+    private static SensorRollup rollup(String gardenId, SensorMetric metric, int daysAgo, double mean) {
+        Instant day = RUN_DATE.minusDays(daysAgo).atStartOfDay(ZoneOffset.UTC).toInstant();
+        return SensorRollup.builder()
+                .id(gardenId + ":" + metric + ":" + daysAgo)
+                .gardenId(gardenId)
+                .sensorId("s1")
+                .metric(metric)
+                .granularity(RollupGranularity.DAY)
+                .bucketStart(day)
+                .count(4)
+                .sum(4 * mean)
+                .min(mean - 2)
+                .max(mean + 2)
+                .build();
+    }
+}
@@ -0,0 +1,161 @@
+package dev.solace.twiggle.service.forecast;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.assertj.core.data.Percentage.withPercentage;
+
+import dev.solace.twiggle.config.ForecastProperties;
+import dev.solace.twiggle.model.forecast.YieldForecast;
+import dev.solace.twiggle.model.stats.GardenStats;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link YieldSimulator}.
+ */
+class YieldSimulatorTest {
+
+    private static final LocalDate RUN_DATE = LocalDate.of(2025, 5, 1);
+    private static final Instant COMPUTED_AT = Instant.parse("2025-05-01T02:00:00Z");
+    private static final Map<String, YieldSimulator.Crop> CROPS = Map.of(
+            "tomato", new YieldSimulator.Crop("tomato", 1200, 4.0),
+            "lettuce", new YieldSimulator.Crop("lettuce", 400, 0.3));
+
+    private final YieldSimulator simulator = new YieldSimulator(new ForecastProperties());
+
+    @Test
+    void simulate_ShouldBeDeterministicForGardenAndRunDate() {
+        // Arrange
+        YieldSimulator.Weather weather = new YieldSimulator.Weather(30, 18, 3, 150, 40);
+
+        // Act
+        YieldForecast first = simulator.simulate("g1", plants(), CROPS, weather, RUN_DATE, COMPUTED_AT);
+        YieldForecast again = simulator.simulate("g1", plants(), CROPS, weather, RUN_DATE, COMPUTED_AT);
+        YieldForecast nextDay = simulator.simulate("g1", plants(), CROPS, weather, RUN_DATE.plusDays(1), COMPUTED_AT);
+
+        // Assert
+        assertThat(again).isEqualTo(first);
+        assertThat(nextDay.getPlants().get(0).getExpectedYield())
+                .isNotEqualTo(first.getPlants().get(0).getExpectedYield());
+    }
+
+    @Test
+    void simulate_ShouldForecastHarvestDatesAndYieldPerPlant() {
+        // Arrange
+        YieldSimulator.Weather weather = new YieldSimulator.Weather(30, 20, 3, 0, Double.NaN);
+
+        // Act
+        YieldForecast forecast = simulator.simulate("g1", plants(), CROPS, weather, RUN_DATE, COMPUTED_AT);
+
+        // Assert
+        assertThat(forecast.getGardenId()).isEqualTo("g1");
+        assertThat(forecast.getRunDate()).isEqualTo(RUN_DATE);
+        assertThat(forecast.getSensorDays()).isEqualTo(30);
+        assertThat(forecast.getPlants())
+                .extracting(YieldForecast.PlantForecast::getPlantId)
+                .containsExactly("tomato", "lettuce");
+        // About 10 degree days a day: lettuce is ready after about 40 days and tomatoes after about 120.
+        YieldForecast.PlantForecast tomato = forecast.getPlants().get(0);
+        YieldForecast.PlantForecast lettuce = forecast.getPlants().get(1);
+        assertThat(lettuce.getHarvestProbability()).isEqualTo(1);
+        assertThat(lettuce.getExpectedHarvest()).isBetween(RUN_DATE.plusDays(30), RUN_DATE.plusDays(50));
+        assertThat(tomato.getExpectedHarvest()).isBetween(RUN_DATE.plusDays(100), RUN_DATE.plusDays(140));
+        assertThat(tomato.getEarliestHarvest())
+                .isBeforeOrEqualTo(tomato.getExpectedHarvest())
+                .isAfter(lettuce.getLatestHarvest());
+        assertThat(tomato.getLatestHarvest()).isAfterOrEqualTo(tomato.getExpectedHarvest());
+        assertThat(tomato.getExpectedYield()).isCloseTo(3 * 4.0, withPercentage(10));
+        assertThat(tomato.getYieldP10()).isLessThan(tomato.getExpectedYield());
+        assertThat(tomato.getYieldP90()).isGreaterThan(tomato.getExpectedYield());
+        assertThat(forecast.getExpectedYield())
+                .isCloseTo(tomato.getExpectedYield() + lettuce.getExpectedYield(), offset(1e-9));
+    }
+
+    @Test
+    void simulate_WithGrowthAlreadyObserved_ShouldHarvestSooner() {
+        // Arrange
+        YieldSimulator.Weather fresh = new YieldSimulator.Weather(30, 20, 3, 0, Double.NaN);
+        YieldSimulator.Weather grown = new YieldSimulator.Weather(30, 20, 3, 400, Double.NaN);
+
+        // Act
+        YieldForecast.PlantForecast later = simulator
+                .simulate("g1", plants(), CROPS, fresh, RUN_DATE, COMPUTED_AT)
+                .getPlants()
+                .get(0);
+        YieldForecast.PlantForecast sooner = simulator
+                .simulate("g1", plants(), CROPS, grown, RUN_DATE, COMPUTED_AT)
+                .getPlants()
+                .get(0);
+        YieldForecast.PlantForecast ready = simulator
+                .simulate("g1", plants(), CROPS, grown, RUN_DATE, COMPUTED_AT)
+                .getPlants()
+                .get(1);
+
+        // Assert
+        assertThat(sooner.getExpectedHarvest()).isBefore(later.getExpectedHarvest());
+        assertThat(ready.getEarliestHarvest()).isEqualTo(RUN_DATE);
+        assertThat(ready.getLatestHarvest()).isEqualTo(RUN_DATE);
+    }
+
+    @Test
+    void simulate_WhenTooColdToRipen_ShouldForecastNoHarvest() {
+        // Arrange
+        YieldSimulator.Weather weather = new YieldSimulator.Weather(30, 4, 1, 0, Double.NaN);
+
+        // Act
+        YieldForecast forecast = simulator.simulate("g1", plants(), CROPS, weather, RUN_DATE, COMPUTED_AT);
+
+        // Assert
+        assertThat(forecast.getPlants()).allSatisfy(plant -> {
+            assertThat(plant.getHarvestProbability()).isZero();
+            assertThat(plant.getExpectedHarvest()).isNull();
+            assertThat(plant.getExpectedYield()).isZero();
+        });
+        assertThat(forecast.getExpectedYield()).isZero();
+    }
+
+    @Test
+    void simulate_ShouldLeaveOutPlantsWithoutYieldParameters() {
+        // Arrange
+        List<GardenStats.PlantCount> plants =
+                List.of(new GardenStats.PlantCount("marigold", 5), new GardenStats.PlantCount("lettuce", 0));
+        YieldSimulator.Weather weather = new YieldSimulator.Weather(0, 15, 3, 0, Double.NaN);
+
+        // Act
+        YieldForecast forecast = simulator.simulate("g1", plants, CROPS, weather, RUN_DATE, COMPUTED_AT);
+
+        // Assert
+        assertThat(forecast.getPlants()).isEmpty();
+        assertThat(forecast.getExpectedYield()).isZero();
+    }
+
+    @Test
+    void simulate_InDryOrWaterloggedSoil_ShouldReduceYield() {
+        // Arrange
+        YieldSimulator.Weather moist = new YieldSimulator.Weather(30, 20, 3, 0, 40);
+        YieldSimulator.Weather dry = new YieldSimulator.Weather(30, 20, 3, 0, 5);
+
+        // Act
+        double moistYield = simulator
+                .simulate("g1", plants(), CROPS, moist, RUN_DATE, COMPUTED_AT)
+                .getExpectedYield();
+        double dryYield = simulator
+                .simulate("g1", plants(), CROPS, dry, RUN_DATE, COMPUTED_AT)
+                .getExpectedYield();
+
+        // Assert
+        assertThat(dryYield).isCloseTo(moistYield * 0.625, offset(1e-9));
+        assertThat(YieldSimulator.moistureFactor(0)).isEqualTo(0.5);
+        assertThat(YieldSimulator.moistureFactor(20)).isEqualTo(1);
+        assertThat(YieldSimulator.moistureFactor(60)).isEqualTo(1);
+        assertThat(YieldSimulator.moistureFactor(100)).isEqualTo(0.5);
+        assertThat(YieldSimulator.moistureFactor(Double.NaN)).isEqualTo(1);
+    }
+
+    private static List<GardenStats.PlantCount> plants() {
+        return List.of(new GardenStats.PlantCount("tomato", 3), new GardenStats.PlantCount("lettuce", 8));
+    }
+}
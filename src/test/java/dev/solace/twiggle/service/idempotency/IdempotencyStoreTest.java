@@ -0,0 +1,137 @@
+package dev.solace.twiggle.service.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import dev.solace.twiggle.model.idempotency.IdempotencyRecord;
+import dev.solace.twiggle.model.idempotency.IdempotencyStatus;
+import dev.solace.twiggle.service.idempotency.IdempotencyStore.Claim;
+import dev.solace.twiggle.service.idempotency.IdempotencyStore.Outcome;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("dev")
+@DisplayName("Idempotency Store Tests")
+class IdempotencyStoreTest {
+
+    private static final byte[] BODY = "{\"data\":{}}".getBytes(StandardCharsets.UTF_8);
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0.5"));
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+        registry.add("twiggle.outbox.enabled", () -> "false");
+    }
+
+    @Autowired
+    private IdempotencyStore store;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.remove(new Query(), IdempotencyRecord.class);
+    }
+
+    @Test
+    @DisplayName("A second claim should see the first in flight, then its stored response")
+    void claim_AfterCompletion_ShouldReturnStoredResponse() {
+        Claim first = store.claim("k-complete", "h1");
+        assertEquals(Outcome.ACQUIRED, first.outcome());
+        assertEquals(Outcome.IN_FLIGHT, store.claim("k-complete", "h1").outcome());
+
+        store.complete("k-complete", first.record().getLockToken(), 201, "application/json", BODY);
+
+        Claim replay = store.claim("k-complete", "h1");
+        assertEquals(Outcome.COMPLETED, replay.outcome());
+        assertEquals(201, replay.record().getResponseStatus());
+        assertArrayEquals(BODY, replay.record().getResponseBody());
+        IdempotencyRecord stored = mongoTemplate.findById("k-complete", IdempotencyRecord.class);
+        assertEquals(IdempotencyStatus.COMPLETED, stored.getStatus());
+    }
+
+    @Test
+    @DisplayName("An abandoned key should be claimable again")
+    void claim_AfterAbandon_ShouldAcquireAgain() {
+        Claim first = store.claim("k-abandon", "h1");
+        store.abandon("k-abandon", first.record().getLockToken());
+
+        Claim second = store.claim("k-abandon", "h1");
+        assertEquals(Outcome.ACQUIRED, second.outcome());
+        assertNotEquals(first.record().getLockToken(), second.record().getLockToken());
+    }
+
+    @Test
+    @DisplayName("A key whose lease expired should be taken over, and the old holder should not complete it")
+    void claim_AfterLeaseExpired_ShouldTakeOver() {
+        Claim first = store.claim("k-lease", "h1");
+        mongoTemplate.updateFirst(
+                query(where("_id").is("k-lease")),
+                new Update().set("lockedUntil", Instant.now().minusSeconds(1)),
+                IdempotencyRecord.class);
+
+        Claim second = store.claim("k-lease", "h1");
+        assertEquals(Outcome.ACQUIRED, second.outcome());
+
+        store.complete("k-lease", first.record().getLockToken(), 201, "application/json", BODY);
+        assertEquals(Outcome.IN_FLIGHT, store.claim("k-lease", "h1").outcome());
+    }
+
+    @Test
+    @DisplayName("A claim with a different body should return the stored hash for the caller to reject")
+    void claim_WithDifferentHash_ShouldNotTakeOver() {
+        store.claim("k-hash", "h1");
+        mongoTemplate.updateFirst(
+                query(where("_id").is("k-hash")),
+                new Update().set("lockedUntil", Instant.now().minusSeconds(1)),
+                IdempotencyRecord.class);
+
+        Claim other = store.claim("k-hash", "h2");
+        assertEquals(Outcome.IN_FLIGHT, other.outcome());
+        assertEquals("h1", other.record().getRequestHash());
+    }
+
+    @Test
+    @DisplayName("A local waiter should be woken as soon as the key is completed")
+    void await_OnLocalKey_ShouldWakeOnCompletion() throws Exception {
+        Claim first = store.claim("k-await", "h1");
+        CompletableFuture<Long> waited = CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            store.await("k-await", Duration.ofSeconds(10));
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        });
+
+        Thread.sleep(100);
+        store.complete("k-await", first.record().getLockToken(), 201, "application/json", BODY);
+
+        assertTrue(waited.get(5, TimeUnit.SECONDS) < 5_000);
+        assertEquals(Outcome.COMPLETED, store.claim("k-await", "h1").outcome());
+    }
+}
@@ -0,0 +1,266 @@
+package dev.solace.twiggle.service.layout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import dev.solace.twiggle.config.LayoutProperties;
+import dev.solace.twiggle.dto.LayoutDeltaRequest;
+import dev.solace.twiggle.dto.LayoutView;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.layout.LayoutEdit;
+import dev.solace.twiggle.model.layout.LayoutOperation;
+import dev.solace.twiggle.model.layout.LayoutSnapshot;
+import dev.solace.twiggle.model.layout.Placement;
+import dev.solace.twiggle.persistence.ResilientMongoAccess;
+import java.util.List;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("dev")
+@DisplayName("Layout Edit Log Tests")
+class LayoutEditServiceTest {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0.5"));
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+        registry.add("twiggle.layout.snapshot-every", () -> "5");
+    }
+
+    @Autowired
+    private LayoutEditService layoutEditService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private LayoutProperties layoutProperties;
+
+    @Autowired
+    private ResilientMongoAccess mongoAccess;
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.dropCollection(LayoutEdit.class);
+        mongoTemplate.dropCollection(LayoutSnapshot.class);
+    }
+
+    @Test
+    @DisplayName("Stale base versions should be rejected with a version conflict")
+    void testOptimisticVersioning() {
+        layoutEditService.applyDelta("g-conflict", delta(0, add("p1")));
+
+        CustomException ex = assertThrows(
+                CustomException.class, () -> layoutEditService.applyDelta("g-conflict", delta(0, add("p2"))));
+        assertEquals(ErrorCode.VERSION_CONFLICT, ex.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("Another instance should see edits appended elsewhere and detect concurrent appends")
+    void testConcurrentInstances() {
+        LayoutEditService other = new LayoutEditService(mongoTemplate, mongoAccess, layoutProperties, event -> {});
+        layoutEditService.applyDelta("g-shared", delta(0, add("p1")));
+        assertEquals(1, other.getLayout("g-shared").getVersion());
+
+        layoutEditService.applyDelta("g-shared", delta(1, add("p2")));
+        // The other instance's cached state is behind; the unique index rejects its append of version 2.
+        CustomException ex =
+                assertThrows(CustomException.class, () -> other.applyDelta("g-shared", delta(1, add("p3"))));
+        assertEquals(ErrorCode.VERSION_CONFLICT, ex.getErrorCode());
+        assertEquals(2, other.getLayout("g-shared").getPlacements().size());
+    }
+
+    @Test
+    @DisplayName("An instance whose cached layout another instance compacted past should catch up, not lose edits")
+    void testConcurrentInstancesAcrossCompaction() {
+        LayoutEditService other = new LayoutEditService(mongoTemplate, mongoAccess, layoutProperties, event -> {});
+        assertEquals(0, other.getLayout("g-stale").getVersion());
+
+        // Versions 1 to 5 are appended here, compacted into a snapshot at 5 and pruned.
+        for (int i = 0; i < 5; i++) {
+            layoutEditService.applyDelta("g-stale", delta(i, add("p" + i)));
+        }
+        assertEquals(0, mongoTemplate.count(new Query(), LayoutEdit.class));
+
+        // The other instance's cache is still at version 0: its append of version 1 no longer hits the unique index,
+        // but must not be accepted below the snapshot.
+        CustomException ex =
+                assertThrows(CustomException.class, () -> other.applyDelta("g-stale", delta(0, add("lost"))));
+        assertEquals(ErrorCode.VERSION_CONFLICT, ex.getErrorCode());
+        assertEquals(0, mongoTemplate.count(new Query(), LayoutEdit.class));
+
+        LayoutView caughtUp = other.getLayout("g-stale");
+        assertEquals(5, caughtUp.getVersion());
+        assertEquals(
+                List.of("p0", "p1", "p2", "p3", "p4"),
+                caughtUp.getPlacements().stream().map(Placement::getId).toList());
+
+        other.applyDelta("g-stale", delta(5, add("p5")));
+        assertEquals(6, layoutEditService.getLayout("g-stale").getPlacements().size());
+    }
+
+    @Test
+    @DisplayName("A cached layout should not be served once another instance has compacted past it")
+    void testStaleReadAfterCompactionElsewhere() {
+        LayoutEditService other = new LayoutEditService(mongoTemplate, mongoAccess, layoutProperties, event -> {});
+        assertEquals(0, other.getLayout("g-read").getVersion());
+
+        for (int i = 0; i < 5; i++) {
+            layoutEditService.applyDelta("g-read", delta(i, add("p" + i)));
+        }
+
+        assertEquals(5, other.getLayout("g-read").getVersion());
+        assertEquals(5, other.getLayout("g-read").getPlacements().size());
+    }
+
+    @Test
+    @DisplayName("Compaction should snapshot state, prune covered edits and rebuild from snapshot plus tail")
+    void testSnapshotCompaction() {
+        for (int i = 0; i < 7; i++) {
+            layoutEditService.applyDelta("g-compact", delta(i, add("p" + i)));
+        }
+
+        LayoutSnapshot snapshot = mongoTemplate.findById("g-compact", LayoutSnapshot.class);
+        assertEquals(5, snapshot.getVersion());
+        assertEquals(2, mongoTemplate.count(new Query(), LayoutEdit.class));
+
+        LayoutView rebuilt =
+                new LayoutEditService(mongoTemplate, mongoAccess, layoutProperties, event -> {}).getLayout("g-compact");
+        assertEquals(7, rebuilt.getVersion());
+        assertEquals(7, rebuilt.getPlacements().size());
+    }
+
+    @Test
+    @DisplayName("Snapshots should be stored packed as binary, and older per-placement snapshots still be read")
+    void testPackedSnapshots() {
+        LayoutProperties dualWrite = new LayoutProperties();
+        dualWrite.setSnapshotEvery(layoutProperties.getSnapshotEvery());
+        dualWrite.setWriteLegacyPlacements(true);
+        LayoutEditService service = new LayoutEditService(mongoTemplate, mongoAccess, dualWrite, event -> {});
+        mongoTemplate.insert(LayoutSnapshot.builder()
+                .gardenId("g-legacy")
+                .version(5)
+                .placements(List.of(Placement.builder()
+                        .id("old")
+                        .plantId("sage")
+                        .x(1.5)
+                        .y(2)
+                        .build()))
+                .build());
+        assertEquals(List.of("old"), placementIdsFromStore("g-legacy"));
+
+        for (int i = 0; i < 5; i++) {
+            service.applyDelta("g-legacy", delta(5 + i, add("p" + i)));
+        }
+
+        Document stored = mongoTemplate
+                .getCollection(LayoutSnapshot.COLLECTION)
+                .find(new Document("_id", "g-legacy"))
+                .first();
+        assertNotNull(stored);
+        assertInstanceOf(Binary.class, stored.get("layout"));
+        assertEquals(6, stored.getList("placements", Document.class).size());
+        assertEquals(List.of("old", "p0", "p1", "p2", "p3", "p4"), placementIdsFromStore("g-legacy"));
+
+        // An older release compacting the snapshot rewrites only version and placements.
+        mongoTemplate
+                .getCollection(LayoutSnapshot.COLLECTION)
+                .updateOne(
+                        new Document("_id", "g-legacy"),
+                        new Document(
+                                "$set",
+                                new Document("version", 11L)
+                                        .append(
+                                                "placements",
+                                                List.of(new Document("_id", "rolled-back")
+                                                        .append("plantId", "sage")
+                                                        .append("x", 0.0)
+                                                        .append("y", 0.0)))));
+        assertEquals(List.of("rolled-back"), placementIdsFromStore("g-legacy"));
+    }
+
+    @Test
+    @DisplayName("Snapshots should drop the per-placement format once legacy placements are no longer written")
+    void testPackedOnlySnapshots() {
+        for (int i = 0; i < 5; i++) {
+            layoutEditService.applyDelta("g-packed", delta(i, add("p" + i)));
+        }
+
+        Document stored = mongoTemplate
+                .getCollection(LayoutSnapshot.COLLECTION)
+                .find(new Document("_id", "g-packed"))
+                .first();
+        assertNotNull(stored);
+        assertInstanceOf(Binary.class, stored.get("layout"));
+        assertFalse(stored.containsKey("placements"));
+        assertEquals(List.of("p0", "p1", "p2", "p3", "p4"), placementIdsFromStore("g-packed"));
+    }
+
+    @Test
+    @DisplayName("Layouts beyond the legacy placement bound should only be written packed")
+    void testLegacyPlacementsBound() {
+        LayoutProperties bounded = new LayoutProperties();
+        bounded.setSnapshotEvery(layoutProperties.getSnapshotEvery());
+        bounded.setWriteLegacyPlacements(true);
+        bounded.setMaxLegacyPlacements(3);
+        LayoutEditService service = new LayoutEditService(mongoTemplate, mongoAccess, bounded, event -> {});
+
+        for (int i = 0; i < 5; i++) {
+            service.applyDelta("g-large", delta(i, add("p" + i)));
+        }
+
+        Document stored = mongoTemplate
+                .getCollection(LayoutSnapshot.COLLECTION)
+                .find(new Document("_id", "g-large"))
+                .first();
+        assertNotNull(stored);
+        assertInstanceOf(Binary.class, stored.get("layout"));
+        assertFalse(stored.containsKey("placements"));
+        assertEquals(List.of("p0", "p1", "p2", "p3", "p4"), placementIdsFromStore("g-large"));
+    }
+
+    /** Reads the layout through a fresh service, so it comes from the stored snapshot rather than a cached state. */
+    private List<String> placementIdsFromStore(String gardenId) {
+        return new LayoutEditService(mongoTemplate, mongoAccess, layoutProperties, event -> {})
+                .getLayout(gardenId).getPlacements().stream()
+                        .map(Placement::getId)
+                        .toList();
+    }
+
+    private static LayoutDeltaRequest delta(long baseVersion, LayoutOperation... operations) {
+        return LayoutDeltaRequest.builder()
+                .baseVersion(baseVersion)
+                .operations(List.of(operations))
+                .build();
+    }
+
+    private static LayoutOperation add(String id) {
+        return LayoutOperation.builder()
+                .type(LayoutOperation.Type.ADD)
+                .placementId(id)
+                .plantId("basil")
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package dev.solace.twiggle.service.layout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.layout.LayoutOperation;
+import dev.solace.twiggle.model.layout.Placement;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link LayoutState} class.
+ */
+class LayoutStateTest {
+
+    private final LayoutState state = new LayoutState(
+            "garden-1",
+            3,
+            List.of(Placement.builder().id("p1").plantId("tomato").x(1).y(1).build()));
+
+    @Test
+    void apply_ShouldAddMoveAndRemovePlacements() {
+        // Act
+        state.apply(
+                4,
+                List.of(
+                        add("p2", "basil", 2, 3),
+                        LayoutOperation.builder()
+                                .type(LayoutOperation.Type.MOVE)
+                                .placementId("p1")
+                                .x(5)
+                                .y(6)
+                                .build(),
+                        remove("p2")));
+
+        // Assert
+        assertEquals(4, state.getVersion());
+        assertEquals(1, state.size());
+        Placement moved = state.placements().getFirst();
+        assertEquals(5, moved.getX());
+        assertEquals(6, moved.getY());
+    }
+
+    @Test
+    void validate_ShouldTrackEffectsOfEarlierOperationsInTheSameDelta() {
+        assertDoesNotThrow(
+                () -> state.validate(List.of(add("p2", "basil", 0, 0), remove("p2"), add("p2", "mint", 1, 1))));
+        assertEquals(3, state.getVersion());
+        assertEquals(1, state.size());
+    }
+
+    @Test
+    void validate_ShouldRejectOperationsThatDoNotApply() {
+        CustomException duplicate =
+                assertThrows(CustomException.class, () -> state.validate(List.of(add("p1", "basil", 0, 0))));
+        assertEquals(ErrorCode.INVALID_ARGUMENT, duplicate.getErrorCode());
+
+        assertThrows(CustomException.class, () -> state.validate(List.of(remove("p1"), remove("p1"))));
+        assertThrows(CustomException.class, () -> state.validate(List.of(add("p3", null, 0, 0))));
+    }
+
+    @Test
+    void placements_ShouldReturnDetachedCopies() {
+        state.placements().getFirst().setX(99);
+
+        assertEquals(1, state.placements().getFirst().getX());
+    }
+
+    private static LayoutOperation add(String id, String plantId, double x, double y) {
+        return LayoutOperation.builder()
+                .type(LayoutOperation.Type.ADD)
+                .placementId(id)
+                .plantId(plantId)
+                .x(x)
+                .y(y)
+                .build();
+    }
+
+    private static LayoutOperation remove(String id) {
+        return LayoutOperation.builder()
+                .type(LayoutOperation.Type.REMOVE)
+                .placementId(id)
+                .build();
+    }
+}
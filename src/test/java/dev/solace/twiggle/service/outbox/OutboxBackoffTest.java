@@ -0,0 +1,34 @@
+package dev.solace.twiggle.service.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link OutboxDispatcher#backoff}.
+ */
+class OutboxBackoffTest {
+
+    private static final Duration INITIAL = Duration.ofSeconds(1);
+    private static final Duration MAX = Duration.ofMinutes(1);
+
+    @Test
+    void backoff_ShouldDoublePerAttempt() {
+        assertEquals(Duration.ofMillis(500), OutboxDispatcher.backoff(1, INITIAL, MAX, 0));
+        assertEquals(Duration.ofSeconds(1), OutboxDispatcher.backoff(2, INITIAL, MAX, 0));
+        assertEquals(Duration.ofSeconds(4), OutboxDispatcher.backoff(4, INITIAL, MAX, 0));
+    }
+
+    @Test
+    void backoff_ShouldRandomizeUpperHalf() {
+        assertEquals(Duration.ofSeconds(6), OutboxDispatcher.backoff(4, INITIAL, MAX, 0.5));
+        assertEquals(Duration.ofMillis(7_999), OutboxDispatcher.backoff(4, INITIAL, MAX, 0.999_9));
+    }
+
+    @Test
+    void backoff_ShouldBeCappedAtMax() {
+        assertEquals(Duration.ofSeconds(30), OutboxDispatcher.backoff(7, INITIAL, MAX, 0));
+        assertEquals(Duration.ofSeconds(30), OutboxDispatcher.backoff(1_000, INITIAL, MAX, 0));
+    }
+}
@@ -0,0 +1,275 @@
+package dev.solace.twiggle.service.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.solace.twiggle.config.OutboxProperties;
+import dev.solace.twiggle.dto.ReminderRequest;
+import dev.solace.twiggle.model.CareReminder;
+import dev.solace.twiggle.model.ReminderType;
+import dev.solace.twiggle.model.outbox.OutboxMessage;
+import dev.solace.twiggle.model.outbox.OutboxStatus;
+import dev.solace.twiggle.service.reminder.ReminderService;
+import dev.solace.twiggle.tenant.TenantDirectory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("dev")
+@DisplayName("Outbox Dispatcher Tests")
+class OutboxDispatcherTest {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0.5"));
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+        // Batches are dispatched by the tests themselves.
+        registry.add("twiggle.outbox.enabled", () -> "false");
+        registry.add("twiggle.outbox.max-attempts", () -> "2");
+    }
+
+    @TestConfiguration
+    static class SenderConfiguration {
+        @Bean
+        @Primary
+        RecordingNotificationSender recordingNotificationSender() {
+            return new RecordingNotificationSender();
+        }
+    }
+
+    @Autowired
+    private OutboxDispatcher dispatcher;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private ReminderService reminderService;
+
+    @Autowired
+    private RecordingNotificationSender sender;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OutboxProperties properties;
+
+    @Autowired
+    private TenantDirectory tenantDirectory;
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.remove(new Query(), OutboxMessage.class);
+        mongoTemplate.remove(new Query(), CareReminder.class);
+        sender.reset();
+    }
+
+    @Test
+    @DisplayName("Scheduling a reminder should write it and its notification together")
+    void scheduleWritesReminderAndOutboxMessage() {
+        CareReminder reminder = reminderService.schedule("u1", reminder("Water the basil"));
+
+        assertNotNull(mongoTemplate.findById(reminder.getId(), CareReminder.class));
+        List<OutboxMessage> outbox = mongoTemplate.findAll(OutboxMessage.class);
+        assertEquals(1, outbox.size());
+        assertEquals("u1", outbox.getFirst().getRecipient());
+        assertEquals(OutboxStatus.PENDING, outbox.getFirst().getStatus());
+        assertEquals("Water the basil", outbox.getFirst().getPayload().getString("message"));
+    }
+
+    @Test
+    @DisplayName("A rolled back transaction should leave neither the change nor the notification")
+    void rollbackDiscardsOutboxMessage() {
+        assertThrows(
+                IllegalStateException.class,
+                () -> transactionTemplate.executeWithoutResult(status -> {
+                    mongoTemplate.insert(CareReminder.builder().userId("u1").build());
+                    outboxWriter.enqueue("care-reminder", "u1", new org.bson.Document());
+                    throw new IllegalStateException("Domain change failed");
+                }));
+
+        assertEquals(0, mongoTemplate.count(new Query(), CareReminder.class));
+        assertEquals(0, mongoTemplate.count(new Query(), OutboxMessage.class));
+    }
+
+    @Test
+    @DisplayName("Writing to the outbox outside a transaction should be rejected")
+    void enqueueRequiresTransaction() {
+        assertThrows(
+                IllegalTransactionStateException.class,
+                () -> outboxWriter.enqueue("care-reminder", "u1", new org.bson.Document()));
+    }
+
+    @Test
+    @DisplayName("Dispatching should send due messages and mark them sent")
+    void dispatchSendsAndMarksSent() {
+        for (int i = 0; i < 3; i++) {
+            reminderService.schedule("u" + i, reminder("reminder " + i));
+        }
+
+        assertEquals(3, dispatcher.dispatchBatch());
+
+        assertEquals(3, sender.sent().size());
+        for (OutboxMessage message : mongoTemplate.findAll(OutboxMessage.class)) {
+            assertEquals(OutboxStatus.SENT, message.getStatus());
+            assertNotNull(message.getSentAt());
+            assertNull(message.getLeaseToken());
+        }
+        assertEquals(0, dispatcher.dispatchBatch());
+    }
+
+    @Test
+    @DisplayName("A failed send should be retried later and marked dead after the last attempt")
+    void failedSendIsRetriedThenDead() {
+        reminderService.schedule("u1", reminder("Water the basil"));
+        sender.failNext(2);
+
+        dispatcher.dispatchBatch();
+        OutboxMessage retrying = mongoTemplate.findOne(new Query(), OutboxMessage.class);
+        assertEquals(OutboxStatus.PENDING, retrying.getStatus());
+        assertEquals(1, retrying.getAttempts());
+        assertTrue(retrying.getAvailableAt().isAfter(Instant.now()));
+        assertNull(retrying.getLeaseToken());
+        assertTrue(retrying.getLastError().contains("Simulated send failure"));
+
+        // Not due yet, so nothing is claimed.
+        assertEquals(0, dispatcher.dispatchBatch());
+
+        makeDue();
+        dispatcher.dispatchBatch();
+        OutboxMessage dead = mongoTemplate.findOne(new Query(), OutboxMessage.class);
+        assertEquals(OutboxStatus.DEAD, dead.getStatus());
+        assertEquals(2, dead.getAttempts());
+        assertTrue(sender.sent().isEmpty());
+    }
+
+    @Test
+    @DisplayName("A message for an unreachable recipient should stay pending without using up an attempt")
+    void unreachableRecipientIsDeferred() {
+        reminderService.schedule("u1", reminder("Water the basil"));
+        sender.recipientUnavailableNext(3);
+
+        for (int i = 0; i < 3; i++) {
+            dispatcher.dispatchBatch();
+            OutboxMessage deferred = mongoTemplate.findOne(new Query(), OutboxMessage.class);
+            assertEquals(OutboxStatus.PENDING, deferred.getStatus());
+            assertEquals(0, deferred.getAttempts());
+            assertTrue(deferred.getAvailableAt().isAfter(Instant.now()));
+            makeDue();
+        }
+
+        dispatcher.dispatchBatch();
+        assertEquals(
+                OutboxStatus.SENT,
+                mongoTemplate.findOne(new Query(), OutboxMessage.class).getStatus());
+        assertEquals(1, sender.sent().size());
+    }
+
+    @Test
+    @DisplayName("A message whose recipient never became reachable should be marked dead")
+    void longUnreachableRecipientIsDead() {
+        reminderService.schedule("u1", reminder("Water the basil"));
+        mongoTemplate.updateFirst(
+                new Query(),
+                new org.springframework.data.mongodb.core.query.Update()
+                        .set("createdAt", Instant.now().minus(properties.getRecipientWait())),
+                OutboxMessage.class);
+        sender.recipientUnavailableNext(1);
+
+        dispatcher.dispatchBatch();
+
+        OutboxMessage dead = mongoTemplate.findOne(new Query(), OutboxMessage.class);
+        assertEquals(OutboxStatus.DEAD, dead.getStatus());
+        assertTrue(dead.getLastError().contains("Simulated absent recipient"));
+    }
+
+    @Test
+    @DisplayName("A message whose lease expired should be claimable again")
+    void expiredLeaseIsReclaimed() {
+        reminderService.schedule("u1", reminder("Water the basil"));
+        mongoTemplate.updateFirst(
+                new Query(),
+                new org.springframework.data.mongodb.core.query.Update()
+                        .set("leaseToken", "crashed-instance")
+                        .set("availableAt", Instant.now().minusSeconds(1)),
+                OutboxMessage.class);
+
+        assertEquals(1, dispatcher.dispatchBatch());
+        assertEquals(1, sender.sent().size());
+    }
+
+    @Test
+    @DisplayName("Competing dispatchers should each send a message at most once")
+    void competingDispatchersDoNotDoubleSend() {
+        for (int i = 0; i < 200; i++) {
+            reminderService.schedule("u" + i, reminder("reminder " + i));
+        }
+        OutboxDispatcher other =
+                new OutboxDispatcher(mongoTemplate, properties, sender, tenantDirectory, new SimpleMeterRegistry());
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> drain(dispatcher));
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> drain(other));
+        CompletableFuture.allOf(first, second).join();
+        other.destroy();
+
+        assertEquals(200, sender.sent().size());
+        assertEquals(
+                200,
+                sender.sent().stream()
+                        .map(OutboxMessage::getId)
+                        .collect(Collectors.toSet())
+                        .size());
+    }
+
+    private void makeDue() {
+        mongoTemplate.updateMulti(
+                new Query(),
+                new org.springframework.data.mongodb.core.query.Update().set("availableAt", Instant.now()),
+                OutboxMessage.class);
+    }
+
+    private static void drain(OutboxDispatcher dispatcher) {
+        while (dispatcher.dispatchBatch() > 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static ReminderRequest reminder(String message) {
+        return ReminderRequest.builder()
+                .type(ReminderType.WATER)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package dev.solace.twiggle.service.outbox;
+
+import dev.solace.twiggle.model.outbox.OutboxMessage;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local {@link NotificationSender} stub that records what it was asked to send and can fail on demand.
+ */
+class RecordingNotificationSender implements NotificationSender {
+
+    private final List<OutboxMessage> sent = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private final AtomicInteger unavailableLeft = new AtomicInteger();
+
+    @Override
+    public void send(OutboxMessage message) {
+        if (unavailableLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+            throw new RecipientUnavailableException("Simulated absent recipient");
+        }
+        if (failuresLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+            throw new IllegalStateException("Simulated send failure");
+        }
+        sent.add(message);
+    }
+
+    void failNext(int count) {
+        failuresLeft.set(count);
+    }
+
+    void recipientUnavailableNext(int count) {
+        unavailableLeft.set(count);
+    }
+
+    List<OutboxMessage> sent() {
+        return sent;
+    }
+
+    void reset() {
+        sent.clear();
+        failuresLeft.set(0);
+        unavailableLeft.set(0);
+    }
+}
@@ -0,0 +1,38 @@
+package dev.solace.twiggle.service.photo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Image Format Tests")
+class ImageFormatTest {
+
+    @Test
+    @DisplayName("Formats should be recognised by their signatures")
+    void sniff_ShouldRecogniseSignatures() {
+        assertEquals(
+                Optional.of(ImageFormat.JPEG), ImageFormat.sniff(new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}));
+        assertEquals(
+                Optional.of(ImageFormat.PNG),
+                ImageFormat.sniff(new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13}));
+        assertEquals(Optional.of(ImageFormat.GIF), ImageFormat.sniff(ascii("GIF89a\0\0")));
+        assertEquals(Optional.of(ImageFormat.WEBP), ImageFormat.sniff(ascii("RIFF\0\0\0\0WEBPVP8 ")));
+    }
+
+    @Test
+    @DisplayName("Anything else, including a truncated signature, should not be recognised")
+    void sniff_ShouldRejectOtherContent() {
+        assertTrue(ImageFormat.sniff(ascii("<html><body>")).isEmpty());
+        assertTrue(ImageFormat.sniff(ascii("RIFF\0\0\0\0WAVEfmt ")).isEmpty());
+        assertTrue(ImageFormat.sniff(new byte[] {(byte) 0x89, 'P', 'N'}).isEmpty());
+        assertTrue(ImageFormat.sniff(new byte[0]).isEmpty());
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,215 @@
+package dev.solace.twiggle.service.photo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.solace.twiggle.dto.PhotoView;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.model.photo.PhotoFile;
+import dev.solace.twiggle.model.photo.ThumbnailStatus;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import javax.imageio.ImageIO;
+import org.apache.commons.fileupload2.core.RequestContext;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("dev")
+@DisplayName("Photo Storage Tests")
+class PhotoServiceTest {
+
+    private static final String BOUNDARY = "photo-boundary";
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0.5"));
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+        registry.add("twiggle.outbox.enabled", () -> "false");
+        registry.add("twiggle.photos.chunk-size", () -> "4KB");
+        registry.add("twiggle.photos.max-file-size", () -> "1MB");
+    }
+
+    @Autowired
+    private PhotoService photoService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @AfterEach
+    void tearDown() {
+        for (String bucket : new String[] {PhotoFile.BUCKET, PhotoFile.THUMBNAIL_BUCKET}) {
+            mongoTemplate.remove(new Query(), bucket + ".files");
+            mongoTemplate.remove(new Query(), bucket + ".chunks");
+        }
+    }
+
+    @Test
+    @DisplayName("An uploaded photo should be stored in chunks, streamed back whole and in ranges, and get a thumbnail")
+    void upload_ShouldStoreStreamAndThumbnail() throws Exception {
+        byte[] png = png(1200, 800);
+
+        PhotoView photo = photoService.upload("g1", "basil", multipart(png, "C:\\Users\\me\\bed.png"));
+
+        assertEquals("image/png", photo.getContentType());
+        assertEquals("bed.png", photo.getFilename());
+        assertEquals(png.length, photo.getSize());
+        assertTrue(mongoTemplate.getCollection(PhotoFile.BUCKET + ".chunks").countDocuments() > 1);
+
+        PhotoContent content = photoService.openContent("g1", photo.getId());
+        assertEquals(png.length, content.length());
+        try (InputStream in = content.resource().getInputStream()) {
+            assertArrayEquals(png, in.readAllBytes());
+        }
+        int start = 4096 * 3 - 10;
+        try (InputStream in = content.resource().getInputStream()) {
+            assertEquals(start, in.skip(start));
+            assertArrayEquals(Arrays.copyOfRange(png, start, start + 100), in.readNBytes(100));
+        }
+
+        PhotoView ready = awaitThumbnail("g1", photo.getId());
+        assertEquals(ThumbnailStatus.READY, ready.getThumbnail());
+        assertEquals(1200, ready.getWidth());
+        assertEquals(800, ready.getHeight());
+        PhotoContent thumbnail = photoService.openThumbnail("g1", photo.getId());
+        try (InputStream in = thumbnail.resource().getInputStream()) {
+            BufferedImage decoded = ImageIO.read(in);
+            assertEquals(320, decoded.getWidth());
+            assertEquals(213, decoded.getHeight());
+        }
+    }
+
+    @Test
+    @DisplayName("A photo should only be found in its own garden")
+    void openContent_InOtherGarden_ShouldNotBeFound() throws Exception {
+        PhotoView photo = photoService.upload("g1", null, multipart(png(10, 10), "a.png"));
+
+        CustomException ex = assertThrows(CustomException.class, () -> photoService.openContent("g2", photo.getId()));
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatus());
+        assertThrows(CustomException.class, () -> photoService.openContent("g1", "not-an-id"));
+    }
+
+    @Test
+    @DisplayName("An upload over the size limit should be aborted without leaving chunks behind")
+    void upload_TooLarge_ShouldAbortAndCleanUp() {
+        byte[] large = new byte[2 * 1024 * 1024];
+        new Random(7).nextBytes(large);
+        large[0] = (byte) 0xFF;
+        large[1] = (byte) 0xD8;
+        large[2] = (byte) 0xFF;
+
+        CustomException ex =
+                assertThrows(CustomException.class, () -> photoService.upload("g1", null, multipart(large, "big.jpg")));
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, ex.getStatus());
+        assertEquals(
+                0, mongoTemplate.getCollection(PhotoFile.BUCKET + ".chunks").countDocuments());
+        assertEquals(0, mongoTemplate.getCollection(PhotoFile.COLLECTION).countDocuments());
+    }
+
+    @Test
+    @DisplayName("Content that is not an image should be refused whatever its declared type")
+    void upload_NotAnImage_ShouldBeRefused() {
+        byte[] html = "<html><script>alert(1)</script></html>".getBytes(StandardCharsets.UTF_8);
+
+        CustomException ex =
+                assertThrows(CustomException.class, () -> photoService.upload("g1", null, multipart(html, "x.png")));
+
+        assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, ex.getStatus());
+        assertEquals(0, mongoTemplate.getCollection(PhotoFile.COLLECTION).countDocuments(new Document()));
+    }
+
+    private PhotoView awaitThumbnail(String gardenId, String photoId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            PhotoView view = photoService.getPhoto(gardenId, photoId);
+            if (view.getThumbnail() != ThumbnailStatus.PENDING) {
+                return view;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("The thumbnail of " + photoId + " was not rendered in time");
+    }
+
+    private static RequestContext multipart(byte[] file, String filename) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + BOUNDARY + "\r\n"
+                        + "Content-Disposition: form-data; name=\"note\"\r\n\r\n"
+                        + "first bed of the year\r\n"
+                        + "--" + BOUNDARY + "\r\n"
+                        + "Content-Disposition: form-data; name=\"file\"; filename=\"" + filename + "\"\r\n"
+                        + "Content-Type: application/octet-stream\r\n\r\n")
+                .getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(file);
+        body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        byte[] bytes = body.toByteArray();
+        return new RequestContext() {
+            @Override
+            public String getCharacterEncoding() {
+                return null;
+            }
+
+            @Override
+            public long getContentLength() {
+                return bytes.length;
+            }
+
+            @Override
+            public String getContentType() {
+                return "multipart/form-data; boundary=" + BOUNDARY;
+            }
+
+            @Override
+            public InputStream getInputStream() {
+                return new ByteArrayInputStream(bytes);
+            }
+
+            @Override
+            public boolean isMultipartRelated() {
+                return false;
+            }
+        };
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        Random random = new Random(11);
+        for (int i = 0; i < 200; i++) {
+            graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+            graphics.fillRect(random.nextInt(width), random.nextInt(height), 1 + width / 10, 1 + height / 10);
+        }
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
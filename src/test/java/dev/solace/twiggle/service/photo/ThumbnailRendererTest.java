@@ -0,0 +1,84 @@
+package dev.solace.twiggle.service.photo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Thumbnail Renderer Tests")
+class ThumbnailRendererTest {
+
+    @Test
+    @DisplayName("A large photo should be scaled to the thumbnail size, keeping its aspect ratio")
+    void render_ShouldScaleDownKeepingAspectRatio() throws IOException {
+        byte[] jpeg = encode(image(4000, 3000, BufferedImage.TYPE_INT_RGB), "jpg");
+
+        ThumbnailRenderer.Thumbnail thumbnail = ThumbnailRenderer.render(
+                        new ByteArrayInputStream(jpeg), 320, 60_000_000)
+                .orElseThrow();
+
+        assertEquals(ImageFormat.JPEG, thumbnail.format());
+        assertEquals(320, thumbnail.width());
+        assertEquals(240, thumbnail.height());
+        assertEquals(4000, thumbnail.sourceWidth());
+        assertEquals(3000, thumbnail.sourceHeight());
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(thumbnail.bytes()));
+        assertEquals(320, decoded.getWidth());
+        assertEquals(240, decoded.getHeight());
+    }
+
+    @Test
+    @DisplayName("A small photo should not be scaled up, and transparency should yield a PNG thumbnail")
+    void render_ShouldKeepSmallImagesAndTransparency() throws IOException {
+        byte[] png = encode(image(100, 50, BufferedImage.TYPE_INT_ARGB), "png");
+
+        ThumbnailRenderer.Thumbnail thumbnail = ThumbnailRenderer.render(new ByteArrayInputStream(png), 320, 60_000_000)
+                .orElseThrow();
+
+        assertEquals(ImageFormat.PNG, thumbnail.format());
+        assertEquals(100, thumbnail.width());
+        assertEquals(50, thumbnail.height());
+    }
+
+    @Test
+    @DisplayName("Images with more pixels than allowed should be refused before they are decoded")
+    void render_ShouldRefuseTooManyPixels() throws IOException {
+        byte[] png = encode(image(2000, 2000, BufferedImage.TYPE_INT_RGB), "png");
+
+        assertThrows(IOException.class, () -> ThumbnailRenderer.render(new ByteArrayInputStream(png), 320, 1_000_000));
+    }
+
+    @Test
+    @DisplayName("Content no image reader understands should be reported as unsupported")
+    void render_ShouldReportUnknownFormats() throws IOException {
+        byte[] webp = "RIFF\0\0\0\0WEBPVP8 not really".getBytes(StandardCharsets.ISO_8859_1);
+
+        assertTrue(ThumbnailRenderer.render(new ByteArrayInputStream(webp), 320, 60_000_000)
+                .isEmpty());
+    }
+
+    private static BufferedImage image(int width, int height, int type) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(new Color(40, 140, 60, 200));
+        graphics.fillRect(0, 0, width / 2, height);
+        graphics.dispose();
+        return image;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+}
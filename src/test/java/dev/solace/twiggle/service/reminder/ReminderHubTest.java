@@ -0,0 +1,196 @@
+package dev.solace.twiggle.service.reminder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import dev.solace.twiggle.config.ReminderProperties;
+import dev.solace.twiggle.controller.ReminderController;
+import dev.solace.twiggle.dto.ReminderEvent;
+import dev.solace.twiggle.dto.ReminderRequest;
+import dev.solace.twiggle.model.ReminderType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * Unit tests for {@link ReminderHub}, streaming through {@link ReminderController} so that emitters write to a
+ * real (mock) response.
+ */
+class ReminderHubTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReminderHub hub;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ReminderProperties properties = new ReminderProperties();
+        properties.setMailboxCapacity(3);
+        properties.setHeartbeatInterval(Duration.ofHours(1));
+        properties.setMailboxTtl(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+        hub = new ReminderHub(properties, meterRegistry);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ReminderController(mock(ReminderService.class), hub))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.destroy();
+    }
+
+    @Test
+    void publish_ShouldDeliverToOpenStream() throws Exception {
+        // Arrange
+        MockHttpServletResponse stream = open("u1", null);
+
+        // Act
+        ReminderEvent event = hub.publish("u1", reminder("Water the basil"));
+
+        // Assert
+        assertThat(event.getId()).isEqualTo(1);
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(stream.getContentAsString())
+                .contains("id:1\nevent:reminder\ndata:")
+                .contains("\"message\":\"Water the basil\""));
+        assertThat(hub.openStreams()).isEqualTo(1);
+    }
+
+    @Test
+    void deliver_ShouldReportWhetherAStreamWroteTheReminder() throws Exception {
+        // Without a stream on this instance nothing is queued.
+        assertThat(hub.deliver("u1", reminder("nobody listening"))).isFalse();
+
+        MockHttpServletResponse stream = open("u1", null);
+
+        assertThat(hub.deliver("u1", reminder("Water the basil"))).isTrue();
+        assertThat(stream.getContentAsString())
+                .contains("id:1\nevent:reminder\ndata:")
+                .contains("Water the basil")
+                .doesNotContain("nobody listening");
+    }
+
+    @Test
+    void subscribe_ShouldReceiveBacklogNotYetDelivered() throws Exception {
+        // Arrange
+        hub.publish("u1", reminder("first"));
+        hub.publish("u1", reminder("second"));
+
+        // Act
+        MockHttpServletResponse stream = open("u1", null);
+
+        // Assert
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(stream.getContentAsString())
+                .contains("first")
+                .contains("second"));
+    }
+
+    @Test
+    void subscribe_WithLastEventId_ShouldReplayOnlyLaterReminders() throws Exception {
+        // Arrange
+        MockHttpServletResponse first = open("u1", null);
+        hub.publish("u1", reminder("first"));
+        hub.publish("u1", reminder("second"));
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(first.getContentAsString()).contains("second"));
+
+        // Act
+        MockHttpServletResponse resumed = open("u1", 1L);
+
+        // Assert
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(resumed.getContentAsString()).contains("id:2"));
+        assertThat(resumed.getContentAsString()).doesNotContain("first");
+    }
+
+    @Test
+    void publish_WhenMailboxFull_ShouldDropOldest() throws Exception {
+        // Arrange
+        for (int i = 1; i <= 5; i++) {
+            hub.publish("u1", reminder("reminder-" + i));
+        }
+
+        // Act
+        MockHttpServletResponse stream = open("u1", null);
+
+        // Assert
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(stream.getContentAsString()).contains("reminder-5"));
+        assertThat(stream.getContentAsString())
+                .doesNotContain("reminder-1")
+                .doesNotContain("reminder-2")
+                .contains("reminder-3");
+        assertThat(meterRegistry.counter("twiggle.reminders.dropped").count()).isEqualTo(2);
+    }
+
+    @Test
+    void publish_ShouldOnlyReachTheTargetUser() throws Exception {
+        // Arrange
+        MockHttpServletResponse other = open("u2", null);
+        MockHttpServletResponse target = open("u1", null);
+
+        // Act
+        hub.publish("u1", reminder("only for u1"));
+
+        // Assert
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(target.getContentAsString()).contains("only for u1"));
+        assertThat(other.getContentAsString()).doesNotContain("only for u1");
+    }
+
+    @Test
+    void heartbeat_ShouldSendKeepAliveComment() throws Exception {
+        // Arrange
+        MockHttpServletResponse stream = open("u1", null);
+
+        // Act
+        hub.heartbeat();
+
+        // Assert
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(stream.getContentAsString()).contains(":keep-alive"));
+    }
+
+    @Test
+    void evictIdleMailboxes_ShouldKeepMailboxesWithOpenStreams() throws Exception {
+        // Arrange
+        open("u1", null);
+        hub.publish("u2", reminder("nobody listening"));
+
+        // Act
+        hub.evictIdleMailboxes();
+
+        // Assert
+        assertThat(meterRegistry.get("twiggle.reminders.mailboxes").gauge().value())
+                .isEqualTo(1);
+    }
+
+    private MockHttpServletResponse open(String userId, Long lastEventId) throws Exception {
+        var builder = get("/api/v1/users/{userId}/reminders/stream", userId);
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        MockHttpServletResponse response = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(response.getContentAsString()).contains(":connected"));
+        return response;
+    }
+
+    private static ReminderRequest reminder(String message) {
+        return ReminderRequest.builder()
+                .type(ReminderType.WATER)
+                .gardenId("g1")
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package dev.solace.twiggle.service.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.solace.twiggle.dto.PlantSuggestion;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link AutocompleteTrie} class.
+ */
+class AutocompleteTrieTest {
+
+    private final AutocompleteTrie trie = AutocompleteTrie.builder()
+            .add("1", "Tomato", false, 90)
+            .add("1", "Solanum lycopersicum", true, 90)
+            .add("2", "Cherry Tomato", false, 70)
+            .add("3", "Tomatillo", false, 95)
+            .add("4", "Thyme", false, 40)
+            .add("5", "Crème de Menthe", false, 10)
+            .build();
+
+    @Test
+    void complete_ShouldReturnMatchesByDescendingPopularity() {
+        assertEquals(List.of("Tomatillo", "Tomato", "Cherry Tomato"), texts(trie.complete("tom", 10)));
+    }
+
+    @Test
+    void complete_ShouldMatchLaterWordsAndNormalizePrefix() {
+        assertEquals(List.of("Solanum lycopersicum"), texts(trie.complete("LYCO", 10)));
+        assertEquals(List.of("Crème de Menthe"), texts(trie.complete("creme  de-m", 10)));
+        assertTrue(trie.complete("lycopersicum", 10).getFirst().isScientificName());
+    }
+
+    @Test
+    void complete_ShouldReturnEachSuggestionOnceAndRespectLimit() {
+        List<PlantSuggestion> all = trie.complete("", 10);
+
+        assertEquals(6, all.size());
+        assertEquals(List.of("Tomatillo", "Tomato"), texts(trie.complete("", 2)));
+    }
+
+    @Test
+    void complete_WithUnknownPrefix_ShouldReturnEmptyList() {
+        assertTrue(trie.complete("tomz", 5).isEmpty());
+        assertTrue(trie.complete("x", 5).isEmpty());
+        assertTrue(AutocompleteTrie.builder().build().complete("a", 5).isEmpty());
+    }
+
+    @Test
+    void complete_ShouldMatchBruteForceTopK() {
+        // Arrange
+        Random random = new Random(11);
+        AutocompleteTrie.Builder builder = AutocompleteTrie.builder();
+        List<String> names = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            String name = randomWord(random) + " " + randomWord(random);
+            int weight = random.nextInt(10_000);
+            builder.add(String.valueOf(i), name, false, weight);
+            names.add(name);
+            weights.add(weight);
+        }
+        AutocompleteTrie randomTrie = builder.build();
+
+        for (String prefix : List.of("a", "ba", "cab", "d", "e")) {
+            // Act
+            List<PlantSuggestion> actual = randomTrie.complete(prefix, 7);
+
+            // Assert
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < names.size(); i++) {
+                String name = names.get(i);
+                if (name.startsWith(prefix) || name.contains(" " + prefix)) {
+                    expected.add(weights.get(i));
+                }
+            }
+            expected.sort(Comparator.reverseOrder());
+            assertEquals(
+                    expected.subList(0, Math.min(7, expected.size())),
+                    actual.stream().map(PlantSuggestion::getPopularity).toList(),
+                    "Top-k mismatch for prefix " + prefix);
+        }
+        assertTrue(randomTrie.estimatedSizeBytes() > 0);
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 2 + random.nextInt(5);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(5)));
+        }
+        return word.toString();
+    }
+
+    private static List<String> texts(List<PlantSuggestion> suggestions) {
+        return suggestions.stream().map(PlantSuggestion::getText).toList();
+    }
+}
@@ -0,0 +1,185 @@
+package dev.solace.twiggle.service.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.solace.twiggle.dto.PlantSearchHit;
+import dev.solace.twiggle.dto.PlantSearchResult;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.Plant;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link PlantSearchIndex} class.
+ */
+class PlantSearchIndexTest {
+
+    private PlantSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = PlantSearchIndex.build(List.of(
+                plant(
+                        "1",
+                        "Tomato",
+                        "Solanum lycopersicum",
+                        "Juicy red fruit",
+                        Plant.SunExposure.FULL_SUN,
+                        true,
+                        5,
+                        11,
+                        90),
+                plant(
+                        "2",
+                        "Cherry Tomato",
+                        "Solanum cerasiforme",
+                        "Small sweet fruit",
+                        Plant.SunExposure.FULL_SUN,
+                        true,
+                        5,
+                        11,
+                        70),
+                plant(
+                        "3",
+                        "Hosta",
+                        "Hosta plantaginea",
+                        "Shade loving foliage, not a tomato",
+                        Plant.SunExposure.FULL_SHADE,
+                        false,
+                        3,
+                        9,
+                        50),
+                plant(
+                        "4",
+                        "Basil",
+                        "Ocimum basilicum",
+                        "Aromatic herb",
+                        Plant.SunExposure.FULL_SUN,
+                        true,
+                        10,
+                        11,
+                        80)));
+    }
+
+    @Test
+    void search_ShouldRankNameMatchesAboveDescriptionMatches() {
+        // Act
+        PlantSearchResult result = index.search(query("tomato").build());
+
+        // Assert
+        assertEquals(3, result.getTotal());
+        List<String> ids = result.getHits().stream().map(PlantSearchHit::getId).toList();
+        assertEquals(List.of("1", "2", "3"), ids);
+        assertTrue(result.getHits().get(1).getScore() > result.getHits().get(2).getScore());
+    }
+
+    @Test
+    void search_ShouldExpandLastTokenAsPrefixAndRequireAllTokens() {
+        assertEquals(List.of("2"), ids(index.search(query("cherry tom").build())));
+        assertEquals(List.of("4"), ids(index.search(query("basi").build())));
+        assertEquals(0, index.search(query("cherry basil").build()).getTotal());
+    }
+
+    @Test
+    void search_ShouldIgnoreCaseAndDiacritics() {
+        assertEquals(List.of("4"), ids(index.search(query("BÁSIL").build())));
+    }
+
+    @Test
+    void search_ShouldApplyFacetFiltersAndCountOtherFacetValues() {
+        // Act
+        PlantSearchResult result = index.search(
+                query(null).sun(Set.of(Plant.SunExposure.FULL_SUN)).zone(6).build());
+
+        // Assert
+        assertEquals(List.of("1", "2"), ids(result));
+        // The sun facet ignores its own filter, so the shade plant hardy in zone 6 is still counted.
+        assertEquals(2, result.getFacets().get(PlantSearchIndex.FACET_SUN).get("FULL_SUN"));
+        assertEquals(1, result.getFacets().get(PlantSearchIndex.FACET_SUN).get("FULL_SHADE"));
+        assertEquals(2, result.getFacets().get(PlantSearchIndex.FACET_EDIBLE).get("true"));
+        assertFalse(result.getFacets().get(PlantSearchIndex.FACET_EDIBLE).containsKey("false"));
+    }
+
+    @Test
+    void search_ShouldRankByPopularityWithoutText() {
+        PlantSearchResult result = index.search(query(null).limit(2).build());
+
+        assertEquals(4, result.getTotal());
+        assertEquals(List.of("1", "4"), ids(result));
+    }
+
+    @Test
+    void upsert_ShouldReplacePreviousTermsAndFacets() {
+        // Act
+        index.upsert(plant(
+                "4", "Sweet Basil", "Ocimum basilicum", "Herb", Plant.SunExposure.PARTIAL_SHADE, true, 10, 11, 80));
+
+        // Assert
+        assertEquals(4, index.size());
+        assertEquals(List.of("4"), ids(index.search(query("sweet basil").build())));
+        assertEquals(0, index.search(query("aromatic").build()).getTotal());
+        assertEquals(
+                List.of("4"),
+                ids(index.search(
+                        query(null).sun(Set.of(Plant.SunExposure.PARTIAL_SHADE)).build())));
+    }
+
+    @Test
+    void remove_ShouldDropDocumentAndReuseItsSlot() {
+        // Act
+        index.remove("1");
+        index.upsert(plant(
+                "5", "Tomatillo", "Physalis philadelphica", "Husk fruit", Plant.SunExposure.FULL_SUN, true, 5, 10, 10));
+
+        // Assert
+        assertEquals(4, index.size());
+        assertEquals(List.of("2", "5", "3"), ids(index.search(query("toma").build())));
+    }
+
+    @Test
+    void query_ShouldRejectOutOfRangeLimitAndZone() {
+        CustomException limit =
+                assertThrows(CustomException.class, () -> query("x").limit(0).build());
+        assertEquals(ErrorCode.INVALID_ARGUMENT, limit.getErrorCode());
+        assertThrows(
+                CustomException.class,
+                () -> query("x").limit(PlantSearchQuery.MAX_LIMIT + 1).build());
+        assertThrows(CustomException.class, () -> query("x").zone(14).build());
+    }
+
+    private static PlantSearchQuery.PlantSearchQueryBuilder query(String text) {
+        return PlantSearchQuery.builder().text(text).limit(10);
+    }
+
+    private static List<String> ids(PlantSearchResult result) {
+        return result.getHits().stream().map(PlantSearchHit::getId).toList();
+    }
+
+    private static Plant plant(
+            String id,
+            String commonName,
+            String scientificName,
+            String description,
+            Plant.SunExposure sun,
+            boolean edible,
+            int minZone,
+            int maxZone,
+            int popularity) {
+        return Plant.builder()
+                .id(id)
+                .commonName(commonName)
+                .scientificName(scientificName)
+                .description(description)
+                .sunExposure(sun)
+                .waterNeed(Plant.WaterNeed.MEDIUM)
+                .seasons(Set.of(Plant.Season.SUMMER))
+                .minHardinessZone(minZone)
+                .maxHardinessZone(maxZone)
+                .edible(edible)
+                .popularity(popularity)
+                .build();
+    }
+}
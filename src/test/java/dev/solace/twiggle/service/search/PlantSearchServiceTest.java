@@ -0,0 +1,149 @@
+package dev.solace.twiggle.service.search;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.changestream.FullDocument;
+import dev.solace.twiggle.config.SearchProperties;
+import dev.solace.twiggle.model.Plant;
+import dev.solace.twiggle.repository.catalog.PlantRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("dev")
+@DisplayName("Plant Search Index Sync Tests")
+class PlantSearchServiceTest {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0.5"));
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @Autowired
+    private PlantSearchService plantSearchService;
+
+    @Autowired
+    private PlantRepository plantRepository;
+
+    @AfterEach
+    void tearDown() {
+        plantRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Index should follow inserts, updates and deletes from the change stream")
+    void testChangeStreamSync() {
+        await().atMost(Duration.ofSeconds(30)).until(plantSearchService::isReady);
+
+        Plant basil = plantRepository.save(Plant.builder()
+                .commonName("Basil")
+                .scientificName("Ocimum basilicum")
+                .sunExposure(Plant.SunExposure.FULL_SUN)
+                .seasons(Set.of(Plant.Season.SUMMER))
+                .minHardinessZone(10)
+                .maxHardinessZone(11)
+                .edible(true)
+                .build());
+        await().atMost(Duration.ofSeconds(10)).until(() -> search("basil") == 1);
+
+        basil.setCommonName("Sweet Basil");
+        plantRepository.save(basil);
+        await().atMost(Duration.ofSeconds(10)).until(() -> search("sweet") == 1);
+        assertEquals(1, search("basil"));
+
+        plantRepository.delete(basil);
+        await().atMost(Duration.ofSeconds(10)).until(() -> search("basil") == 0);
+        assertTrue(plantSearchService.isReady());
+    }
+
+    @Test
+    @DisplayName("Index should be reloaded when the change stream's history is lost")
+    @SuppressWarnings("unchecked")
+    void testHistoryLost() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        MongoDatabase database = mock(MongoDatabase.class);
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        ChangeStreamIterable<Document> stream = mock(ChangeStreamIterable.class);
+        AtomicInteger loads = new AtomicInteger();
+        when(mongoTemplate.stream(any(Query.class), eq(Plant.class)))
+                .thenAnswer(invocation -> loads.incrementAndGet() == 1
+                        ? Stream.of(plant("Basil"))
+                        : Stream.of(plant("Basil"), plant("Thyme")));
+        when(mongoTemplate.getDb()).thenReturn(database);
+        when(database.runCommand(any(Bson.class))).thenReturn(new Document("ok", 1));
+        when(mongoTemplate.getCollection(Plant.COLLECTION)).thenReturn(collection);
+        when(collection.watch(anyList())).thenReturn(stream);
+        when(stream.fullDocument(any(FullDocument.class))).thenReturn(stream);
+        when(stream.maxAwaitTime(anyLong(), any(TimeUnit.class))).thenReturn(stream);
+        // The first stream finds its resume point gone (ChangeStreamHistoryLost); later ones keep failing softly.
+        when(stream.cursor())
+                .thenThrow(new MongoException(286, "Resume of change stream was not possible"))
+                .thenThrow(new MongoException(6, "Host unreachable"));
+
+        PlantSearchService service =
+                new PlantSearchService(mongoTemplate, new SearchProperties(), new SimpleMeterRegistry());
+        try {
+            service.start();
+            await().atMost(Duration.ofSeconds(10)).until(() -> loads.get() == 2 && search(service, "thyme") == 1);
+            assertEquals(1, search(service, "basil"));
+        } finally {
+            service.destroy();
+        }
+    }
+
+    private static Plant plant(String name) {
+        return Plant.builder()
+                .id(name.toLowerCase())
+                .commonName(name)
+                .sunExposure(Plant.SunExposure.FULL_SUN)
+                .seasons(Set.of(Plant.Season.SUMMER))
+                .build();
+    }
+
+    private static int search(PlantSearchService service, String text) {
+        return service.search(PlantSearchQuery.builder().text(text).limit(10).build())
+                .getTotal();
+    }
+
+    private int search(String text) {
+        return plantSearchService
+                .search(PlantSearchQuery.builder().text(text).limit(10).build())
+                .getTotal();
+    }
+}
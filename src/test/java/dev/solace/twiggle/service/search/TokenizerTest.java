@@ -0,0 +1,34 @@
+package dev.solace.twiggle.service.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link Tokenizer} class.
+ */
+class TokenizerTest {
+
+    @Test
+    void constructor_ShouldThrowAssertionError() throws Exception {
+        Constructor<Tokenizer> constructor = Tokenizer.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+
+        InvocationTargetException exception = assertThrows(InvocationTargetException.class, constructor::newInstance);
+        assertInstanceOf(AssertionError.class, exception.getCause());
+    }
+
+    @Test
+    void tokenize_ShouldLowercaseStripAccentsAndSplitOnPunctuation() {
+        assertEquals(List.of("creme", "brulee", "lavender", "x2"), Tokenizer.tokenize("Crème-Brûlée Lavender, a X2"));
+    }
+
+    @Test
+    void tokenize_ShouldReturnEmptyListForNull() {
+        assertEquals(List.of(), Tokenizer.tokenize(null));
+        assertEquals("", Tokenizer.normalize(null));
+    }
+}
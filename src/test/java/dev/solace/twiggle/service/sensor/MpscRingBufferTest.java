@@ -0,0 +1,105 @@
+package dev.solace.twiggle.service.sensor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("MPSC Ring Buffer Tests")
+class MpscRingBufferTest {
+
+    @Test
+    @DisplayName("Capacity should be rounded up to a power of two")
+    void constructor_ShouldRoundCapacityUp() {
+        assertEquals(8, new MpscRingBuffer<Integer>(5).capacity());
+        assertEquals(8, new MpscRingBuffer<Integer>(8).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new MpscRingBuffer<Integer>(0));
+    }
+
+    @Test
+    @DisplayName("A batch that does not fit should be rejected as a whole")
+    void offerAll_WhenBatchDoesNotFit_ShouldRejectWholeBatch() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        assertTrue(buffer.offerAll(List.of(1, 2, 3)));
+        assertFalse(buffer.offerAll(List.of(4, 5)));
+        assertEquals(3, buffer.size());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(3, buffer.drainTo(drained, 10));
+        assertEquals(List.of(1, 2, 3), drained);
+        assertEquals(0, buffer.size());
+        assertTrue(buffer.offerAll(List.of(4, 5, 6, 7)));
+    }
+
+    @Test
+    @DisplayName("Draining should stop at the requested maximum and keep order across wrap-around")
+    void drainTo_ShouldRespectMaxAndWrapAround() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+        for (int round = 0; round < 5; round++) {
+            assertTrue(buffer.offerAll(List.of(round * 3, round * 3 + 1, round * 3 + 2)));
+            assertEquals(2, buffer.drainTo(drained, 2));
+            assertEquals(1, buffer.drainTo(drained, 2));
+        }
+        assertEquals(IntStream.range(0, 15).boxed().toList(), drained);
+    }
+
+    @Test
+    @DisplayName("Concurrent producers should lose and duplicate nothing, and batches should stay contiguous")
+    void offerAll_FromManyProducers_ShouldDeliverEveryElementOnce() throws Exception {
+        int producers = 8;
+        int batchesPerProducer = 2_000;
+        int batchSize = 5;
+        MpscRingBuffer<Long> buffer = new MpscRingBuffer<>(256);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            executor.submit(() -> {
+                start.await();
+                for (int batch = 0; batch < batchesPerProducer; batch++) {
+                    long first = (producer * batchesPerProducer + batch) * batchSize;
+                    List<Long> elements = List.of(first, first + 1, first + 2, first + 3, first + 4);
+                    while (!buffer.offerAll(elements)) {
+                        Thread.yield();
+                    }
+                }
+                return null;
+            });
+        }
+
+        int total = producers * batchesPerProducer * batchSize;
+        List<Long> drained = new ArrayList<>(total);
+        start.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (drained.size() < total && System.nanoTime() < deadline) {
+            if (buffer.drainTo(drained, 64) == 0) {
+                Thread.yield();
+            }
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(total, drained.size());
+        boolean[] seen = new boolean[total];
+        for (int i = 0; i < total; i += batchSize) {
+            long first = drained.get(i);
+            assertEquals(0, first % batchSize, "batch should start on a batch boundary");
+            for (int j = 0; j < batchSize; j++) {
+                assertEquals(first + j, drained.get(i + j));
+                assertFalse(seen[(int) (first + j)]);
+                seen[(int) (first + j)] = true;
+            }
+        }
+    }
+}
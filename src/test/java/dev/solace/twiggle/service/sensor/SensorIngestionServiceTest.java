@@ -0,0 +1,167 @@
+package dev.solace.twiggle.service.sensor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import dev.solace.twiggle.dto.SensorReadingBatchRequest;
+import dev.solace.twiggle.dto.SensorReadingRequest;
+import dev.solace.twiggle.dto.SensorRollupPoint;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.model.sensor.RollupGranularity;
+import dev.solace.twiggle.model.sensor.SensorMetric;
+import dev.solace.twiggle.model.sensor.SensorReading;
+import dev.solace.twiggle.model.sensor.SensorRollup;
+import dev.solace.twiggle.tenant.TenantContext;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("dev")
+@DisplayName("Sensor Ingestion Service Tests")
+class SensorIngestionServiceTest {
+
+    private static final Instant BASE = Instant.parse("2024-05-01T10:15:00Z");
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0.5"));
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+        registry.add("twiggle.outbox.enabled", () -> "false");
+        registry.add("twiggle.sensors.linger", () -> "5ms");
+    }
+
+    @Autowired
+    private SensorIngestionService service;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.remove(new Query(), SensorRollup.class);
+        mongoTemplate.remove(new Query(), SensorReading.COLLECTION);
+    }
+
+    @Test
+    @DisplayName("Accepted readings should land in a time-series collection and in every rollup granularity")
+    void accept_ShouldWriteRawReadingsAndRollups() throws Exception {
+        service.accept(
+                "g1",
+                batch(
+                        reading("bed-1", 30, BASE.plusSeconds(5)),
+                        reading("bed-1", 34, BASE.plusSeconds(20)),
+                        reading("bed-1", 50, BASE.plusSeconds(75))));
+
+        awaitRollupCount("bed-1", RollupGranularity.DAY, 3);
+
+        Document collection = mongoTemplate
+                .getDb()
+                .listCollections()
+                .filter(new Document("name", SensorReading.COLLECTION))
+                .first();
+        assertEquals("timeseries", collection.getString("type"));
+        assertEquals(3, mongoTemplate.count(new Query(), SensorReading.COLLECTION));
+
+        List<SensorRollupPoint> minutes = service.getRollups(
+                "g1", "bed-1", SensorMetric.SOIL_MOISTURE, RollupGranularity.MINUTE, BASE, BASE.plusSeconds(600));
+        assertEquals(2, minutes.size());
+        assertEquals(BASE, minutes.get(0).getBucketStart());
+        assertEquals(2, minutes.get(0).getCount());
+        assertEquals(30, minutes.get(0).getMin());
+        assertEquals(34, minutes.get(0).getMax());
+        assertEquals(32, minutes.get(0).getAvg());
+
+        List<SensorRollupPoint> hours = service.getRollups(
+                "g1", "bed-1", SensorMetric.SOIL_MOISTURE, RollupGranularity.HOUR, BASE.minusSeconds(3600), BASE);
+        assertEquals(0, hours.size(), "the hour bucket starts at 10:00, after the requested range");
+        hours = service.getRollups(
+                "g1",
+                "bed-1",
+                SensorMetric.SOIL_MOISTURE,
+                RollupGranularity.HOUR,
+                BASE.minusSeconds(3600),
+                BASE.plusSeconds(3600));
+        assertEquals(1, hours.size());
+        assertEquals(3, hours.get(0).getCount());
+        assertEquals(38, hours.get(0).getAvg());
+    }
+
+    @Test
+    @DisplayName("Retrying a commit should not count its readings twice in the rollups")
+    void commit_WhenRetried_ShouldApplyRollupsOnce() {
+        SensorIngestionService.PendingCommit commit = new SensorIngestionService.PendingCommit(
+                TenantContext.HOME,
+                List.of(SensorReading.builder()
+                        .timestamp(BASE)
+                        .meta(new SensorReading.Meta("g2", "bed-2", SensorMetric.TEMPERATURE))
+                        .value(12)
+                        .build()),
+                Long.MAX_VALUE - 1);
+
+        service.commit(commit);
+        service.commit(commit);
+
+        SensorRollup rollup = mongoTemplate.findById(
+                SensorRollup.idOf("g2", "bed-2", SensorMetric.TEMPERATURE, RollupGranularity.MINUTE, BASE),
+                SensorRollup.class);
+        assertEquals(1, rollup.getCount());
+        assertEquals(1, mongoTemplate.count(new Query(), SensorReading.COLLECTION));
+    }
+
+    @Test
+    @DisplayName("Readings stamped too far in the future should be rejected")
+    void accept_WithFutureTimestamp_ShouldThrow() {
+        assertThrows(
+                CustomException.class,
+                () -> service.accept(
+                        "g1", batch(reading("bed-1", 1, Instant.now().plus(Duration.ofHours(1))))));
+    }
+
+    private void awaitRollupCount(String sensorId, RollupGranularity granularity, long count)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            SensorRollup rollup = mongoTemplate.findOne(
+                    query(where("sensorId").is(sensorId).and("granularity").is(granularity)), SensorRollup.class);
+            if (rollup != null && rollup.getCount() == count) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Rollups were not written in time");
+    }
+
+    private static SensorReadingBatchRequest batch(SensorReadingRequest... readings) {
+        return new SensorReadingBatchRequest(List.of(readings));
+    }
+
+    private static SensorReadingRequest reading(String sensorId, double value, Instant timestamp) {
+        return SensorReadingRequest.builder()
+                .sensorId(sensorId)
+                .metric(SensorMetric.SOIL_MOISTURE)
+                .value(value)
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,176 @@
+package dev.solace.twiggle.service.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.solace.twiggle.dto.GardenStatsView;
+import dev.solace.twiggle.dto.LayoutDeltaRequest;
+import dev.solace.twiggle.model.CareReminder;
+import dev.solace.twiggle.model.ReminderType;
+import dev.solace.twiggle.model.layout.LayoutEdit;
+import dev.solace.twiggle.model.layout.LayoutOperation;
+import dev.solace.twiggle.model.layout.LayoutSnapshot;
+import dev.solace.twiggle.model.stats.GardenStats;
+import dev.solace.twiggle.service.layout.LayoutEditService;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("dev")
+@DisplayName("Garden Statistics Tests")
+class GardenStatsServiceTest {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0.5"));
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+        registry.add("twiggle.outbox.enabled", () -> "false");
+        registry.add("twiggle.stats.refresh-interval", () -> "50ms");
+    }
+
+    @Autowired
+    private GardenStatsService service;
+
+    @Autowired
+    private LayoutEditService layoutEditService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.remove(new Query(), LayoutEdit.class);
+        mongoTemplate.remove(new Query(), LayoutSnapshot.class);
+        mongoTemplate.remove(new Query(), CareReminder.class);
+        mongoTemplate.remove(new Query(), GardenStats.class);
+    }
+
+    @Test
+    @DisplayName("Layout edits and reminders should be reflected in the statistics through the change streams")
+    void changes_ShouldUpdateStatistics() throws InterruptedException {
+        layoutEditService.applyDelta("gs-live", delta(0, add("p1", "basil"), add("p2", "basil"), add("p3", "tomato")));
+        mongoTemplate.insert(reminder("gs-live", ReminderType.WATER, 1));
+        mongoTemplate.insert(reminder("gs-live", ReminderType.FERTILIZE, 2));
+        mongoTemplate.insert(reminder("gs-live", ReminderType.WATER, 30));
+
+        GardenStatsView stats = awaitStats("gs-live", view -> view.getUpcomingTasks() == 2);
+
+        assertEquals(1, stats.getLayoutVersion());
+        assertEquals(3, stats.getPlacements());
+        assertEquals(2, stats.getPlants().size());
+        assertEquals("basil", stats.getPlants().get(0).getPlantId());
+        assertEquals(2, stats.getPlants().get(0).getCount());
+        assertEquals(1, stats.getUpcomingTasksByType().get(ReminderType.WATER.name()));
+
+        layoutEditService.applyDelta(
+                "gs-live",
+                delta(
+                        1,
+                        LayoutOperation.builder()
+                                .type(LayoutOperation.Type.REMOVE)
+                                .placementId("p1")
+                                .build()));
+        assertEquals(
+                2, awaitStats("gs-live", view -> view.getLayoutVersion() == 2).getPlacements());
+    }
+
+    @Test
+    @DisplayName("Refreshing a garden again should leave the same statistics")
+    void refresh_ShouldBeIdempotent() {
+        layoutEditService.applyDelta("gs-repeat", delta(0, add("p1", "basil")));
+        mongoTemplate.insert(reminder("gs-repeat", ReminderType.WATER, 0));
+
+        GardenStats first = service.refresh("gs-repeat");
+        GardenStats second = service.refresh("gs-repeat");
+
+        assertEquals(first.getPlants(), second.getPlants());
+        assertEquals(first.getTasksByDay(), second.getTasksByDay());
+        GardenStats stored = mongoTemplate.findById("gs-repeat", GardenStats.class);
+        assertEquals(1, stored.getPlacements());
+        assertEquals(second.getTasksByDay(), stored.getTasksByDay());
+        assertEquals(1, mongoTemplate.count(new Query(), GardenStats.class));
+    }
+
+    @Test
+    @DisplayName("A rebuild should recompute every garden, including ones whose sources are gone")
+    void rebuild_ShouldRecomputeEveryGarden() throws InterruptedException {
+        mongoTemplate.save(GardenStats.builder()
+                .gardenId("gs-gone")
+                .placements(5)
+                .plants(List.of(new GardenStats.PlantCount("basil", 5)))
+                .computedAt(Instant.now().minusSeconds(60))
+                .build());
+        layoutEditService.applyDelta("gs-kept", delta(0, add("p1", "basil")));
+
+        assertTrue(service.rebuild(null) >= 2);
+
+        assertEquals(
+                0,
+                awaitStats("gs-gone", view -> view.getPlacements() == 0)
+                        .getPlants()
+                        .size());
+        assertEquals(1, awaitStats("gs-kept", view -> view.getPlacements() == 1).getLayoutVersion());
+        assertEquals(1, service.rebuild("gs-kept"));
+    }
+
+    private GardenStatsView awaitStats(String gardenId, Predicate<GardenStatsView> condition)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            GardenStatsView view = service.getStats(gardenId);
+            if (view.getAsOf() != null && condition.test(view)) {
+                return view;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Statistics of " + gardenId + " were not refreshed in time");
+    }
+
+    private static CareReminder reminder(String gardenId, ReminderType type, int daysFromToday) {
+        LocalDate day = LocalDate.now(ZoneOffset.UTC).plusDays(daysFromToday);
+        return CareReminder.builder()
+                .userId("u1")
+                .gardenId(gardenId)
+                .type(type)
+                .message(type.name())
+                .dueAt(day.atTime(12, 0).toInstant(ZoneOffset.UTC))
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private static LayoutDeltaRequest delta(long baseVersion, LayoutOperation... operations) {
+        return LayoutDeltaRequest.builder()
+                .baseVersion(baseVersion)
+                .operations(List.of(operations))
+                .build();
+    }
+
+    private static LayoutOperation add(String id, String plantId) {
+        return LayoutOperation.builder()
+                .type(LayoutOperation.Type.ADD)
+                .placementId(id)
+                .plantId(plantId)
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package dev.solace.twiggle.service.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import dev.solace.twiggle.config.WarmUpProperties;
+import dev.solace.twiggle.exception.GlobalExceptionHandler;
+import dev.solace.twiggle.model.Plant;
+import dev.solace.twiggle.repository.catalog.PlantRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Unit tests for {@link WarmUpRunner}.
+ */
+class WarmUpRunnerTest {
+
+    private static final String HANDLER_LOGGER = GlobalExceptionHandler.class.getName();
+
+    private WarmUpProperties properties;
+    private PlantRepository plantRepository;
+    private LoggingSystem loggingSystem;
+    private SimpleMeterRegistry meterRegistry;
+    private WarmUpRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WarmUpProperties();
+        properties.setIterations(400);
+        properties.setRepositoryIterations(20);
+        plantRepository = mock(PlantRepository.class);
+        when(plantRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(plantRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(Plant.builder().id("p1").build())));
+        loggingSystem = spy(LoggingSystem.get(getClass().getClassLoader()));
+        meterRegistry = new SimpleMeterRegistry();
+        runner = new WarmUpRunner(
+                properties,
+                Jackson2ObjectMapperBuilder.json().build(),
+                new GlobalExceptionHandler(),
+                plantRepository,
+                loggingSystem,
+                meterRegistry);
+    }
+
+    @Test
+    void run_ShouldExerciseEveryPathForTheConfiguredIterations() {
+        // Act
+        runner.run(new DefaultApplicationArguments());
+
+        // Assert
+        assertThat(iterations("responses")).isEqualTo(400);
+        assertThat(iterations("errors")).isEqualTo(400);
+        assertThat(iterations("repository")).isEqualTo(20);
+        verify(plantRepository, times(20)).findById(anyString());
+        verify(plantRepository, atLeastOnce()).findAll(any(Pageable.class));
+        assertThat(meterRegistry.get("twiggle.warmup.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void run_ShouldSilenceExceptionHandlerLoggingAndRestoreItsLevel() {
+        // Arrange
+        doReturn(new LoggerConfiguration(HANDLER_LOGGER, LogLevel.WARN, LogLevel.WARN))
+                .when(loggingSystem)
+                .getLoggerConfiguration(HANDLER_LOGGER);
+
+        // Act
+        runner.run(new DefaultApplicationArguments());
+
+        // Assert
+        InOrder order = inOrder(loggingSystem);
+        order.verify(loggingSystem).setLogLevel(HANDLER_LOGGER, LogLevel.OFF);
+        order.verify(loggingSystem).setLogLevel(HANDLER_LOGGER, LogLevel.WARN);
+        loggingSystem.setLogLevel(HANDLER_LOGGER, null);
+    }
+
+    @Test
+    void run_WhenCatalogIsUnavailable_ShouldSkipRepositoryExerciseAndFinish() {
+        // Arrange
+        when(plantRepository.findById(anyString())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        // Act
+        runner.run(new DefaultApplicationArguments());
+
+        // Assert
+        verify(plantRepository, times(1)).findById(anyString());
+        assertThat(iterations("repository")).isZero();
+        assertThat(iterations("responses")).isEqualTo(400);
+    }
+
+    @Test
+    void run_ShouldStopAtMaxDuration() {
+        // Arrange
+        properties.setIterations(Integer.MAX_VALUE);
+        properties.setMaxDuration(Duration.ofMillis(200));
+
+        // Act
+        long start = System.nanoTime();
+        runner.run(new DefaultApplicationArguments());
+        Duration took = Duration.ofNanos(System.nanoTime() - start);
+
+        // Assert
+        assertThat(took).isLessThan(Duration.ofSeconds(5));
+        assertThat(iterations("responses")).isPositive().isLessThan(Integer.MAX_VALUE);
+    }
+
+    private double iterations(String exercise) {
+        return meterRegistry
+                .get("twiggle.warmup.iterations")
+                .tag("exercise", exercise)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,86 @@
+package dev.solace.twiggle.tenant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ConsistentHashRing}.
+ */
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 20_000;
+
+    @Test
+    void nodeFor_ShouldNotDependOnNodeOrder() {
+        // Arrange
+        Map<String, Integer> forward = new LinkedHashMap<>();
+        forward.put("eu-1", 1);
+        forward.put("us-1", 1);
+        Map<String, Integer> backward = new LinkedHashMap<>();
+        backward.put("us-1", 1);
+        backward.put("eu-1", 1);
+
+        // Act
+        ConsistentHashRing first = new ConsistentHashRing(forward, 64);
+        ConsistentHashRing second = new ConsistentHashRing(backward, 64);
+
+        // Assert
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(first.nodeFor("tenant-" + i)).isEqualTo(second.nodeFor("tenant-" + i));
+        }
+    }
+
+    @Test
+    void nodeFor_ShouldSpreadKeysByWeight() {
+        // Arrange
+        ConsistentHashRing ring = new ConsistentHashRing(Map.of("small", 1, "large", 3), 160);
+
+        // Act
+        Map<String, Integer> counts = count(ring);
+
+        // Assert
+        assertThat(counts.get("large") / (double) KEYS).isBetween(0.70, 0.80);
+    }
+
+    @Test
+    void addingNode_ShouldOnlyMoveKeysToIt() {
+        // Arrange
+        ConsistentHashRing before = new ConsistentHashRing(Map.of("a", 1, "b", 1, "c", 1), 160);
+        ConsistentHashRing after = new ConsistentHashRing(Map.of("a", 1, "b", 1, "c", 1, "d", 1), 160);
+
+        // Act
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "tenant-" + i;
+            String old = before.nodeFor(key);
+            String now = after.nodeFor(key);
+            if (!old.equals(now)) {
+                assertThat(now).isEqualTo("d");
+                moved++;
+            }
+        }
+
+        // Assert
+        assertThat(moved / (double) KEYS).isBetween(0.20, 0.30);
+    }
+
+    @Test
+    void constructor_WithoutWeightedNodes_ShouldBeRejected() {
+        assertThatThrownBy(() -> new ConsistentHashRing(Map.of(), 160)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ConsistentHashRing(Map.of("a", 0), 160))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Map<String, Integer> count(ConsistentHashRing ring) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.nodeFor("tenant-" + i), 1, Integer::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,210 @@
+package dev.solace.twiggle.tenant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import dev.solace.twiggle.dto.LayoutDeltaRequest;
+import dev.solace.twiggle.model.layout.LayoutEdit;
+import dev.solace.twiggle.model.layout.LayoutOperation;
+import dev.solace.twiggle.model.tenant.PlacementState;
+import dev.solace.twiggle.model.tenant.TenantPlacement;
+import dev.solace.twiggle.service.layout.LayoutEditService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("dev")
+@DisplayName("Tenant Routing Tests")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class TenantRoutingTest {
+
+    @Container
+    static MongoDBContainer home = new MongoDBContainer(DockerImageName.parse("mongo:7.0.5"));
+
+    @Container
+    static MongoDBContainer east = new MongoDBContainer(DockerImageName.parse("mongo:7.0.5"));
+
+    private static MongoClient homeClient;
+    private static MongoClient eastClient;
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", home::getReplicaSetUrl);
+        registry.add("twiggle.outbox.enabled", () -> "false");
+        registry.add("twiggle.tenancy.enabled", () -> "true");
+        registry.add("twiggle.tenancy.auto-place", () -> "false");
+        registry.add("twiggle.tenancy.placement-cache-ttl", () -> "200ms");
+        registry.add("twiggle.tenancy.migration.freeze-grace", () -> "100ms");
+        // New tenants all go east; home only takes tenants moved there.
+        registry.add("twiggle.tenancy.clusters.home.weight", () -> "0");
+        registry.add("twiggle.tenancy.clusters.east.uri", () -> east.getReplicaSetUrl("twiggle"));
+        registry.add("twiggle.tenancy.clusters.east.weight", () -> "1");
+    }
+
+    @BeforeAll
+    static void connect() {
+        homeClient = MongoClients.create(home.getReplicaSetUrl());
+        eastClient = MongoClients.create(east.getReplicaSetUrl());
+    }
+
+    @AfterAll
+    static void disconnect() {
+        homeClient.close();
+        eastClient.close();
+    }
+
+    @Autowired
+    private TenantDirectory tenantDirectory;
+
+    @Autowired
+    private TenantMigrationService migrationService;
+
+    @Autowired
+    private LayoutEditService layoutEditService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @Order(1)
+    @DisplayName("A placed tenant's data should live in its own database on its cluster")
+    void placedTenant_ShouldBeRoutedToItsCluster() {
+        assertEquals(0, clients(), "no client should be opened before a tenant needs the cluster");
+
+        TenantPlacement placement = tenantDirectory.place("acme");
+
+        assertEquals("east", placement.getCluster());
+        assertEquals("twiggle_t_acme", placement.getDatabase());
+        assertEquals(1, clients());
+        List<String> indexes = eastClient
+                .getDatabase("twiggle_t_acme")
+                .getCollection(LayoutEdit.COLLECTION)
+                .listIndexes()
+                .map(index -> index.getString("name"))
+                .into(new ArrayList<>());
+        assertTrue(indexes.size() > 1, "the tenant database should get the home indexes, got " + indexes);
+
+        TenantContext.runAs("acme", () -> layoutEditService.applyDelta("g1", delta(0, "p1")));
+        layoutEditService.applyDelta("g1", delta(0, "p2"));
+
+        assertEquals(1, editsIn(eastClient.getDatabase("twiggle_t_acme")));
+        assertEquals(1, mongoTemplate.count(new Query(), LayoutEdit.class));
+        assertEquals(
+                "p1",
+                TenantContext.callAs("acme", () -> layoutEditService.readLayout("g1"))
+                        .getPlacements()
+                        .getFirst()
+                        .getId());
+        assertEquals(
+                "p2",
+                layoutEditService.readLayout("g1").getPlacements().getFirst().getId());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Moving a tenant should copy its data and changes made meanwhile, then route to the target")
+    void migrate_ShouldMoveTenantOnline() throws InterruptedException {
+        tenantDirectory.place("globex");
+        for (int i = 0; i < 20; i++) {
+            final int version = i;
+            TenantContext.runAs("globex", () -> layoutEditService.applyDelta("g" + version, delta(0, "p" + version)));
+        }
+
+        MigrationStatus started = migrationService.migrate("globex", "home");
+        assertEquals("east", started.sourceCluster());
+        // Written while the copy runs; either copied or replayed from the change stream.
+        TenantContext.runAs("globex", () -> {
+            try {
+                layoutEditService.applyDelta("late", delta(0, "late"));
+            } catch (RuntimeException frozen) {
+                // The tenant may already be frozen on a fast copy.
+            }
+        });
+
+        MigrationStatus finished = awaitMigration("globex");
+        assertEquals(MigrationStatus.Phase.COMPLETED, finished.phase(), finished.error());
+
+        TenantPlacement placement = tenantDirectory.reload("globex");
+        assertEquals("home", placement.getCluster());
+        assertEquals(PlacementState.ACTIVE, placement.getState());
+        assertNull(placement.getMigrationTarget());
+        MongoDatabase target = homeClient.getDatabase("twiggle_t_globex");
+        assertTrue(editsIn(target) >= 20);
+        assertFalse(
+                eastClient.listDatabaseNames().into(new ArrayList<>()).contains("twiggle_t_globex"),
+                "the source database should be dropped");
+
+        Thread.sleep(300);
+        assertEquals(
+                "p7",
+                TenantContext.callAs("globex", () -> layoutEditService.readLayout("g7"))
+                        .getPlacements()
+                        .getFirst()
+                        .getId());
+    }
+
+    private MigrationStatus awaitMigration(String tenant) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (System.nanoTime() < deadline) {
+            MigrationStatus status = migrationService.status(tenant);
+            assertNotNull(status);
+            if (status.finishedAt() != null) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Moving tenant " + tenant + " did not finish in time");
+    }
+
+    private double clients() {
+        return meterRegistry.get("twiggle.tenancy.clients").gauge().value();
+    }
+
+    private static long editsIn(MongoDatabase database) {
+        return database.getCollection(LayoutEdit.COLLECTION).countDocuments(new Document());
+    }
+
+    private static LayoutDeltaRequest delta(long baseVersion, String placementId) {
+        return LayoutDeltaRequest.builder()
+                .baseVersion(baseVersion)
+                .operations(List.of(LayoutOperation.builder()
+                        .type(LayoutOperation.Type.ADD)
+                        .placementId(placementId)
+                        .plantId("basil")
+                        .x(1)
+                        .y(1)
+                        .build()))
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package dev.solace.twiggle.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Date;
+import java.util.List;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Unit tests for the {@link CursorCodec} class.
+ */
+class CursorCodecTest {
+
+    private static final String SORT_SPEC = "createdAt:desc";
+
+    @Test
+    void constructor_ShouldThrowAssertionError() throws Exception {
+        Constructor<CursorCodec> constructor = CursorCodec.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+
+        InvocationTargetException exception = assertThrows(InvocationTargetException.class, constructor::newInstance);
+        assertInstanceOf(AssertionError.class, exception.getCause());
+    }
+
+    @Test
+    void encodeDecode_ShouldRoundTripBsonTypes() {
+        // Arrange
+        Date createdAt = new Date(1_700_000_000_000L);
+        ObjectId id = new ObjectId();
+
+        // Act
+        String token = CursorCodec.encode(SORT_SPEC, List.of(createdAt, id));
+        List<Object> keys = CursorCodec.decode(SORT_SPEC, token, 2);
+
+        // Assert
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), "Token should be URL safe");
+        assertEquals(List.of(createdAt, id), keys);
+    }
+
+    @Test
+    void decode_ShouldRejectCursorFromAnotherOrdering() {
+        String token = CursorCodec.encode("name:asc", List.of("Basil", "id-1"));
+
+        CustomException exception = assertThrows(CustomException.class, () -> CursorCodec.decode(SORT_SPEC, token, 2));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals(ErrorCode.INVALID_CURSOR, exception.getErrorCode());
+    }
+
+    @Test
+    void decode_ShouldRejectMalformedTokens() {
+        assertThrows(CustomException.class, () -> CursorCodec.decode(SORT_SPEC, "not-a-cursor", 2));
+        assertThrows(CustomException.class, () -> CursorCodec.decode(SORT_SPEC, "%%%", 2));
+        assertThrows(CustomException.class, () -> CursorCodec.decode(SORT_SPEC, "", 2));
+        assertThrows(CustomException.class, () -> CursorCodec.decode(SORT_SPEC, "a".repeat(2048), 2));
+    }
+
+    @Test
+    void decode_ShouldRejectUnexpectedKeyCount() {
+        String token = CursorCodec.encode(SORT_SPEC, List.of("only-one"));
+
+        assertThrows(CustomException.class, () -> CursorCodec.decode(SORT_SPEC, token, 2));
+    }
+}
@@ -3,10 +3,13 @@ package dev.solace.twiggle.util;
 import static org.junit.jupiter.api.Assertions.*;
 
 import dev.solace.twiggle.dto.ApiResponse;
+import dev.solace.twiggle.dto.CursorPage;
+import dev.solace.twiggle.dto.PagedApiResponse;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -134,4 +137,64 @@ class ResponseUtilTest {
         assertTrue(responseTime.isAfter(beforeTest) || responseTime.isEqual(beforeTest));
         assertTrue(responseTime.isBefore(LocalDateTime.now(ZoneOffset.UTC).plusSeconds(1)));
     }
+
+    @Test
+    void accepted_ShouldReturnResponseEntityWithAcceptedStatus() {
+        // Arrange
+        String message = "Accepted message";
+        Integer data = 42;
+
+        // Act
+        ResponseEntity<ApiResponse<Integer>> response = ResponseUtil.accepted(message, data);
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+
+        ApiResponse<Integer> body = response.getBody();
+        assertNotNull(body);
+        assertEquals(HttpStatus.ACCEPTED.value(), body.getStatus());
+        assertEquals(message, body.getMessage());
+        assertEquals(data, body.getData());
+        assertNotNull(body.getTimestamp());
+    }
+
+    @Test
+    void successPage_ShouldReturnPagedEnvelopeWithCursor() {
+        // Arrange
+        String message = "Page fetched";
+        CursorPage<String> page = CursorPage.<String>builder()
+                .items(List.of("a", "b"))
+                .hasMore(true)
+                .nextCursor("cursor-token")
+                .build();
+
+        // Act
+        ResponseEntity<PagedApiResponse<String>> response = ResponseUtil.successPage(message, page);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        PagedApiResponse<String> body = response.getBody();
+        assertNotNull(body);
+        assertEquals(HttpStatus.OK.value(), body.getStatus());
+        assertEquals(message, body.getMessage());
+        assertEquals(List.of("a", "b"), body.getData());
+        assertEquals(2, body.getPage().getSize());
+        assertTrue(body.getPage().isHasMore());
+        assertEquals("cursor-token", body.getPage().getNextCursor());
+        assertNotNull(body.getTimestamp());
+    }
+
+    @Test
+    void successPage_ShouldHandleLastPage() {
+        // Act
+        ResponseEntity<PagedApiResponse<String>> response = ResponseUtil.successPage("Done", CursorPage.empty());
+
+        // Assert
+        PagedApiResponse<String> body = response.getBody();
+        assertNotNull(body);
+        assertTrue(body.getData().isEmpty());
+        assertFalse(body.getPage().isHasMore());
+        assertNull(body.getPage().getNextCursor());
+    }
 }
@@ -0,0 +1,175 @@
+package dev.solace.twiggle.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.solace.twiggle.config.ConcurrencyLimitProperties;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link AdaptiveConcurrencyLimiter}.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private ConcurrencyLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(20);
+        properties.setMinLimit(4);
+        properties.setMaxLimit(100);
+        properties.setProbeInterval(Duration.ofHours(1));
+    }
+
+    @Test
+    void tryAcquire_ShouldRejectBeyondLimit() {
+        // Arrange
+        properties.setInitialLimit(2);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+
+        // Act
+        long first = limiter.tryAcquire();
+        long second = limiter.tryAcquire();
+        long third = limiter.tryAcquire();
+
+        // Assert
+        assertThat(first).isNotNegative();
+        assertThat(second).isNotNegative();
+        assertThat(third).isEqualTo(-1);
+        limiter.release(first, false);
+        assertThat(limiter.inFlight()).isEqualTo(1);
+        assertThat(limiter.tryAcquire()).isNotNegative();
+    }
+
+    @Test
+    void update_WithSteadyLatencyAndFullUse_ShouldRaiseLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            limiter.update(10.0, limiter.limit(), System.nanoTime());
+        }
+
+        // Assert
+        assertThat(limiter.limit()).isGreaterThan(40);
+    }
+
+    @Test
+    void update_WhenLimitMostlyUnused_ShouldKeepLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            limiter.update(10.0, 3, System.nanoTime());
+        }
+
+        // Assert
+        assertThat(limiter.limit()).isEqualTo(20);
+    }
+
+    @Test
+    void update_WithRisingLatency_ShouldLowerLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+        limiter.update(10.0, 20, System.nanoTime());
+        int before = limiter.limit();
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            limiter.update(100.0, limiter.limit(), System.nanoTime());
+        }
+
+        // Assert
+        assertThat(limiter.limit()).isLessThan(before / 2);
+    }
+
+    @Test
+    void update_ShouldStayWithinMinAndMax() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            limiter.update(10.0, limiter.limit(), System.nanoTime());
+        }
+        int raised = limiter.limit();
+        for (int i = 0; i < 200; i++) {
+            limiter.update(1_000.0, limiter.limit(), System.nanoTime());
+        }
+
+        // Assert
+        assertThat(raised).isEqualTo(100);
+        assertThat(limiter.limit()).isEqualTo(4);
+    }
+
+    @Test
+    void update_WhenProbeIsDueAtSaturatedLimit_ShouldRemeasureBaselineBelowIt() {
+        // Arrange
+        properties.setProbeInterval(Duration.ofSeconds(30));
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+        long probeDue = System.nanoTime() + Duration.ofMinutes(1).toNanos();
+        // Started out above capacity, so the baseline is already inflated by queueing.
+        limiter.update(50.0, 20, System.nanoTime());
+        int before = limiter.limit();
+
+        // Act
+        limiter.update(50.0, 20, probeDue);
+        int duringProbe = limiter.limit();
+        limiter.update(40.0, duringProbe, probeDue);
+        limiter.update(10.0, duringProbe, probeDue);
+        int afterProbe = limiter.limit();
+        for (int i = 0; i < 20; i++) {
+            limiter.update(50.0, limiter.limit(), probeDue);
+        }
+
+        // Assert
+        assertThat(duringProbe).isLessThan(before).isGreaterThan(before / 2);
+        assertThat(afterProbe).isEqualTo(before);
+        assertThat(limiter.limit()).isLessThan(before / 2);
+    }
+
+    @Test
+    void update_WithHealthySteadyLoad_ShouldNeverShedItForAProbe() {
+        // Arrange
+        properties.setProbeInterval(Duration.ofSeconds(1));
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+        long now = System.nanoTime();
+        int steadyLoad = 18;
+
+        // Act: ten minutes of 100 ms windows, each holding the same number of requests at the same latency
+        int lowest = limiter.limit();
+        for (int window = 0; window < 6_000; window++) {
+            now += Duration.ofMillis(100).toNanos();
+            limiter.update(10.0 + window % 3, steadyLoad, now);
+            lowest = Math.min(lowest, limiter.limit());
+        }
+
+        // Assert
+        assertThat(lowest).isGreaterThan(steadyLoad);
+    }
+
+    @Test
+    void release_ShouldUpdateLimitOncePerFullWindow() {
+        // Arrange
+        properties.setMinWindowSamples(5);
+        properties.setSampleWindow(Duration.ZERO);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+        long[] starts = new long[20];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = limiter.tryAcquire();
+        }
+
+        // Act
+        for (long start : starts) {
+            limiter.release(start, true);
+        }
+
+        // Assert
+        assertThat(limiter.inFlight()).isZero();
+        assertThat(limiter.limit()).isGreaterThan(20);
+    }
+}
@@ -0,0 +1,340 @@
+package dev.solace.twiggle.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import dev.solace.twiggle.config.BatchProperties;
+import dev.solace.twiggle.config.RateLimiterConfiguration;
+import dev.solace.twiggle.controller.BatchController;
+import dev.solace.twiggle.controller.TestController;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * Unit tests for {@link BatchDispatcher}, driven through {@link BatchController}.
+ */
+@WebMvcTest({BatchController.class, TestController.class})
+@Import({
+    RateLimiterConfiguration.class,
+    SimpleMeterRegistry.class,
+    BatchDispatcherTest.DispatcherConfiguration.class,
+    BatchDispatcherTest.LargeResponseController.class
+})
+class BatchDispatcherTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DispatcherServlet dispatcherServlet;
+
+    @Autowired
+    private RateLimiterRegistry rateLimiterRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SeenHeaders seenHeaders;
+
+    @Autowired
+    private LargeResponseController largeResponses;
+
+    @BeforeEach
+    void setUp() throws ServletException {
+        dispatcherServlet.init(new MockServletConfig());
+        seenHeaders.values().clear();
+        largeResponses.chunksWritten().set(0);
+    }
+
+    @Test
+    void dispatch_ShouldAnswerEachRequestAsIfSentOnItsOwn() throws Exception {
+        double successfulBefore = subRequests("SUCCESSFUL");
+        double serverErrorsBefore = subRequests("SERVER_ERROR");
+
+        mockMvc.perform(
+                        post("/api/v1/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(
+                                        """
+                                {"requests": [
+                                  {"id": "hello", "path": "/api/v1/test"},
+                                  {"path": "/api/v1/test-server-error?verbose=true"},
+                                  {"id": "missing", "method": "get", "path": "/api/v1/no-such-thing"}
+                                ]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andExpect(jsonPath("$.data[0].id").value("hello"))
+                .andExpect(jsonPath("$.data[0].status").value(200))
+                .andExpect(jsonPath("$.data[0].body.data").value("Hello, World!"))
+                .andExpect(jsonPath("$.data[1].id").value("1"))
+                .andExpect(jsonPath("$.data[1].status").value(500))
+                .andExpect(jsonPath("$.data[1].body.code").value("INTERNAL_ERROR"))
+                .andExpect(jsonPath("$.data[1].body.path").value("uri=/api/v1/test-server-error"))
+                .andExpect(jsonPath("$.data[2].id").value("missing"))
+                .andExpect(jsonPath("$.data[2].status").value(404));
+
+        assertThat(subRequests("SUCCESSFUL") - successfulBefore).isEqualTo(1);
+        assertThat(subRequests("SERVER_ERROR") - serverErrorsBefore).isEqualTo(1);
+    }
+
+    @Test
+    void dispatch_ShouldPassEachRequestThroughTheFiltersWithTheBatchHeaders() throws Exception {
+        mockMvc.perform(
+                        post("/api/v1/batch")
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(
+                                        """
+                                {"requests": [{"path": "/api/v1/test"}, {"path": "/api/v1/test"}]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].status").value(200))
+                .andExpect(jsonPath("$.data[1].status").value(200));
+
+        assertThat(seenHeaders.values()).containsExactly("Bearer token|null", "Bearer token|null");
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void dispatch_ShouldChargeEachRequestToItsHandlersRateLimiter() throws Exception {
+        RateLimiter testError = rateLimiterRegistry.rateLimiter("test-error");
+        while (testError.acquirePermission()) {
+            // Drain the limiter of the error endpoints.
+        }
+
+        mockMvc.perform(
+                        post("/api/v1/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(
+                                        """
+                                {"requests": [{"path": "/api/v1/test-error"}, {"path": "/api/v1/test"}]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].status").value(429))
+                .andExpect(jsonPath("$.data[0].body.code").value("RATE_LIMIT_EXCEEDED"))
+                .andExpect(jsonPath("$.data[0].body.path").value("uri=/api/v1/test-error"))
+                .andExpect(jsonPath("$.data[1].status").value(200));
+    }
+
+    @Test
+    void dispatch_ShouldRefuseResponsesOtherThanJsonBeforeBufferingThem() throws Exception {
+        mockMvc.perform(
+                        post("/api/v1/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(
+                                        """
+                                {"requests": [{"path": "/api/v1/test-bytes"}, {"path": "/api/v1/test"}]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].status").value(406))
+                .andExpect(jsonPath("$.data[0].body.code").value("UNSUPPORTED_MEDIA_TYPE"))
+                .andExpect(jsonPath("$.data[1].status").value(200));
+
+        assertThat(largeResponses.chunksWritten()).hasValue(0);
+    }
+
+    @Test
+    void dispatch_ShouldRefuseResponsesLargerThanARequestMayAnswerWith() throws Exception {
+        mockMvc.perform(
+                        post("/api/v1/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(
+                                        """
+                                {"requests": [{"path": "/api/v1/test-large?size=5000"}, {"path": "/api/v1/test"}]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].status").value(413))
+                .andExpect(jsonPath("$.data[0].body.code").value("RESPONSE_TOO_LARGE"))
+                .andExpect(jsonPath("$.data[1].status").value(200));
+    }
+
+    @Test
+    void dispatch_ShouldRefuseResponsesBeyondWhatTheBatchMayAnswerWith() throws Exception {
+        String body = mockMvc.perform(
+                        post("/api/v1/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(
+                                        """
+                                {"requests": [
+                                  {"path": "/api/v1/test-large?size=3000"},
+                                  {"path": "/api/v1/test-large?size=3000"},
+                                  {"path": "/api/v1/test-large?size=3000"}
+                                ]}
+                                """))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        // Which of them runs out of the batch's budget depends on how they interleave.
+        List<Integer> statuses = JsonPath.read(body, "$.data[*].status");
+        assertThat(statuses).contains(413).containsOnly(200, 413);
+    }
+
+    @Test
+    void dispatch_ShouldRejectBatchesItCannotServe() throws Exception {
+        List<String> rejected = List.of(
+                """
+                {"requests": [{"method": "DELETE", "path": "/api/v1/test"}]}
+                """,
+                """
+                {"requests": [{"path": "/actuator/health"}]}
+                """,
+                """
+                {"requests": [{"path": "/api/v1/../../actuator/health"}]}
+                """,
+                """
+                {"requests": [{"path": "/api/v1/..;/..;/actuator/health"}]}
+                """,
+                """
+                {"requests": [{"path": "/api/v1/batch;x=1"}]}
+                """,
+                """
+                {"requests": [{"path": "/api/v1/%2e%2e/%2e%2e/actuator/health"}]}
+                """,
+                """
+                {"requests": [{"path": "http://example.com/api/v1/test"}]}
+                """,
+                """
+                {"requests": [{"path": "/api/v1/batch"}]}
+                """,
+                """
+                {"requests": [{"id": "a", "path": "/api/v1/test"}, {"id": "a", "path": "/api/v1/test"}]}
+                """,
+                """
+                {"requests": [
+                  {"path": "/api/v1/test"}, {"path": "/api/v1/test"}, {"path": "/api/v1/test"}, {"path": "/api/v1/test"}
+                ]}
+                """);
+        for (String body : rejected) {
+            mockMvc.perform(post("/api/v1/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(post("/api/v1/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"requests\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_REQUEST"));
+    }
+
+    private double subRequests(String outcome) {
+        Counter counter = meterRegistry
+                .find("twiggle.batch.subrequests")
+                .tag("outcome", outcome)
+                .counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    @TestConfiguration
+    static class DispatcherConfiguration {
+
+        @Bean
+        DispatcherServlet dispatcherServlet(WebApplicationContext context) {
+            return new DispatcherServlet(context);
+        }
+
+        @Bean
+        SeenHeaders seenHeaders() {
+            return new SeenHeaders(new CopyOnWriteArrayList<>());
+        }
+
+        @Bean
+        BatchDispatcher batchDispatcher(
+                DispatcherServlet dispatcherServlet,
+                @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+                RateLimiterRegistry rateLimiterRegistry,
+                SeenHeaders seenHeaders,
+                @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+                MeterRegistry meterRegistry) {
+            BatchProperties properties = new BatchProperties();
+            properties.setMaxRequests(3);
+            properties.setMaxResponseSize(4096);
+            properties.setMaxBatchResponseSize(6144);
+            Filter recording = (request, response, chain) -> {
+                HttpServletRequest http = (HttpServletRequest) request;
+                seenHeaders
+                        .values()
+                        .add(http.getHeader(HttpHeaders.AUTHORIZATION) + "|"
+                                + http.getHeader(HttpHeaders.CONTENT_TYPE));
+                chain.doFilter(request, response);
+            };
+            return new BatchDispatcher(
+                    dispatcherServlet,
+                    handlerMapping,
+                    rateLimiterRegistry,
+                    List.of(recording),
+                    exceptionResolver,
+                    properties,
+                    meterRegistry);
+        }
+    }
+
+    /** Endpoints answering with more than, or other than, what a batch takes. */
+    @RestController
+    static class LargeResponseController {
+
+        private final AtomicInteger chunksWritten = new AtomicInteger();
+
+        AtomicInteger chunksWritten() {
+            return chunksWritten;
+        }
+
+        @GetMapping("/api/v1/test-bytes")
+        void bytes(HttpServletResponse response) throws IOException {
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            OutputStream out = response.getOutputStream();
+            for (int i = 0; i < 64; i++) {
+                out.write(new byte[64 * 1024]);
+                chunksWritten.incrementAndGet();
+            }
+        }
+
+        @GetMapping("/api/v1/test-large")
+        Map<String, String> large(@RequestParam int size) {
+            return Map.of("data", "x".repeat(size));
+        }
+    }
+
+    /** Authorization and content type headers as the filters of batched requests saw them. */
+    record SeenHeaders(List<String> values) {}
+}
@@ -0,0 +1,87 @@
+package dev.solace.twiggle.web;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import dev.solace.twiggle.config.ConcurrencyLimitConfiguration;
+import dev.solace.twiggle.config.RateLimiterConfiguration;
+import dev.solace.twiggle.controller.TestController;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Unit tests for {@link ConcurrencyLimitFilter}.
+ */
+@WebMvcTest(TestController.class)
+@Import({RateLimiterConfiguration.class, ConcurrencyLimitConfiguration.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = {"twiggle.concurrency-limit.initial-limit=4"})
+class ConcurrencyLimitFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter limiter;
+
+    private final long[] held = new long[4];
+    private int heldCount;
+
+    @AfterEach
+    void releaseHeld() {
+        for (int i = 0; i < heldCount; i++) {
+            limiter.release(held[i], false);
+        }
+        heldCount = 0;
+    }
+
+    @Test
+    void request_UnderLimit_ShouldBeAdmitted() throws Exception {
+        mockMvc.perform(get("/api/v1/test")).andExpect(status().isOk());
+    }
+
+    @Test
+    void request_AtLimit_ShouldBeShedWithRateLimitExceeded() throws Exception {
+        saturate();
+
+        mockMvc.perform(get("/api/v1/test"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.code").value("RATE_LIMIT_EXCEEDED"))
+                .andExpect(jsonPath("$.path").value("uri=/api/v1/test"));
+    }
+
+    @Test
+    void healthProbe_AtLimit_ShouldStillBeAdmitted() throws Exception {
+        saturate();
+
+        // No actuator in this slice, so an admitted probe ends in 404 rather than 429.
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void lookalikeOfHealthProbe_AtLimit_ShouldBeShed() throws Exception {
+        saturate();
+
+        for (String path : new String[] {
+            "/actuator/healthX", "/actuator/health/../../api/v1/test", "/actuator/health/%2e%2e/%2e%2e/api/v1/test"
+        }) {
+            mockMvc.perform(get(URI.create(path))).andExpect(status().isTooManyRequests());
+        }
+    }
+
+    private void saturate() {
+        while (heldCount < held.length) {
+            held[heldCount++] = limiter.tryAcquire();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package dev.solace.twiggle.web;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import dev.solace.twiggle.config.IdempotencyConfiguration;
+import dev.solace.twiggle.config.RateLimiterConfiguration;
+import dev.solace.twiggle.controller.ReminderController;
+import dev.solace.twiggle.model.CareReminder;
+import dev.solace.twiggle.model.ReminderType;
+import dev.solace.twiggle.model.idempotency.IdempotencyRecord;
+import dev.solace.twiggle.model.idempotency.IdempotencyStatus;
+import dev.solace.twiggle.security.AuthenticatedUser;
+import dev.solace.twiggle.service.idempotency.IdempotencyStore;
+import dev.solace.twiggle.service.idempotency.IdempotencyStore.Claim;
+import dev.solace.twiggle.service.idempotency.IdempotencyStore.Outcome;
+import dev.solace.twiggle.service.reminder.ReminderHub;
+import dev.solace.twiggle.service.reminder.ReminderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Unit tests for {@link IdempotencyFilter}.
+ */
+@WebMvcTest(ReminderController.class)
+@Import({RateLimiterConfiguration.class, IdempotencyConfiguration.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = {"twiggle.idempotency.wait-timeout=50ms", "twiggle.idempotency.max-body-size=128"})
+class IdempotencyFilterTest {
+
+    private static final String PATH = "/api/v1/users/u1/reminders";
+    private static final String KEY = "POST " + PATH + " * k1";
+    private static final String BODY = "{\"type\": \"FERTILIZE\", \"message\": \"Feed the tomatoes\"}";
+    private static final String HASH = IdempotencyFilter.sha256(BODY.getBytes(StandardCharsets.UTF_8));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private IdempotencyStore store;
+
+    @MockitoBean
+    private ReminderService reminderService;
+
+    @MockitoBean
+    private ReminderHub reminderHub;
+
+    @Test
+    void create_WithNewKey_ShouldRunAndStoreResponse() throws Exception {
+        when(store.claim(KEY, HASH)).thenReturn(new Claim(Outcome.ACQUIRED, record(IdempotencyStatus.IN_FLIGHT)));
+        when(reminderService.schedule(eq("u1"), any()))
+                .thenReturn(CareReminder.builder()
+                        .id("r1")
+                        .userId("u1")
+                        .type(ReminderType.FERTILIZE)
+                        .build());
+
+        mockMvc.perform(post(PATH)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "k1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.id").value("r1"));
+
+        verify(store).complete(eq(KEY), eq("token"), eq(201), anyString(), any());
+        verify(store, never()).abandon(anyString(), anyString());
+    }
+
+    @Test
+    void create_WithCompletedKey_ShouldReplayWithoutRunning() throws Exception {
+        IdempotencyRecord completed = record(IdempotencyStatus.COMPLETED);
+        completed.setResponseStatus(201);
+        completed.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        completed.setResponseBody("{\"data\":{\"id\":\"r1\"}}".getBytes(StandardCharsets.UTF_8));
+        when(store.claim(KEY, HASH)).thenReturn(new Claim(Outcome.COMPLETED, completed));
+
+        mockMvc.perform(post(PATH)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "k1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(content().json("{\"data\":{\"id\":\"r1\"}}"));
+
+        verifyNoInteractions(reminderService);
+    }
+
+    @Test
+    void create_WithKeyReusedForOtherBody_ShouldReturnUnprocessableEntity() throws Exception {
+        IdempotencyRecord other = record(IdempotencyStatus.COMPLETED);
+        other.setRequestHash("other");
+        when(store.claim(KEY, HASH)).thenReturn(new Claim(Outcome.COMPLETED, other));
+
+        mockMvc.perform(post(PATH)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "k1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.code").value("IDEMPOTENCY_KEY_REUSED"));
+
+        verifyNoInteractions(reminderService);
+    }
+
+    @Test
+    void create_WhileKeyInFlight_ShouldGiveUpWithConflictAfterWaiting() throws Exception {
+        when(store.claim(KEY, HASH)).thenReturn(new Claim(Outcome.IN_FLIGHT, record(IdempotencyStatus.IN_FLIGHT)));
+        when(store.await(eq(KEY), any())).thenAnswer(invocation -> {
+            Thread.sleep(10);
+            return true;
+        });
+
+        mockMvc.perform(post(PATH)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "k1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(status().isConflict())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.code").value("REQUEST_IN_PROGRESS"));
+
+        verifyNoInteractions(reminderService);
+    }
+
+    @Test
+    void create_WithFailingRequest_ShouldReleaseKey() throws Exception {
+        String invalid = "{\"message\": \"Feed the tomatoes\"}";
+        when(store.claim(eq(KEY), anyString())).thenAnswer(invocation -> {
+            IdempotencyRecord inFlight = record(IdempotencyStatus.IN_FLIGHT);
+            inFlight.setRequestHash(invocation.getArgument(1));
+            return new Claim(Outcome.ACQUIRED, inFlight);
+        });
+
+        mockMvc.perform(post(PATH)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "k1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(invalid))
+                .andExpect(status().isBadRequest());
+
+        verify(store).abandon(KEY, "token");
+        verify(store, never()).complete(anyString(), anyString(), anyInt(), any(), any());
+    }
+
+    @Test
+    void create_WithoutKey_ShouldBypassStore() throws Exception {
+        when(reminderService.schedule(eq("u1"), any()))
+                .thenReturn(CareReminder.builder().id("r2").build());
+
+        mockMvc.perform(post(PATH).contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isCreated());
+
+        verify(store, never()).claim(anyString(), anyString());
+    }
+
+    @Test
+    void create_WithOverlongKey_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post(PATH)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "k".repeat(256))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_ARGUMENT"));
+
+        verify(store, never()).claim(anyString(), anyString());
+    }
+
+    @Test
+    void create_WhenAuthenticated_ShouldScopeKeyToCaller() throws Exception {
+        String callerKey = "POST " + PATH + " u%201 k1";
+        IdempotencyRecord completed = record(IdempotencyStatus.COMPLETED);
+        completed.setResponseStatus(201);
+        when(store.claim(callerKey, HASH)).thenReturn(new Claim(Outcome.COMPLETED, completed));
+
+        mockMvc.perform(post(PATH)
+                        .requestAttr(
+                                AuthenticatedUser.ATTRIBUTE,
+                                new AuthenticatedUser(
+                                        "u 1", Set.of(), Instant.now().plusSeconds(60), "kid", null))
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "k1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"));
+
+        verify(store).claim(callerKey, HASH);
+        verify(store, never()).claim(eq(KEY), anyString());
+    }
+
+    @Test
+    void create_WithOversizedBody_ShouldReturnPayloadTooLarge() throws Exception {
+        String oversized = "{\"type\": \"FERTILIZE\", \"message\": \"" + "x".repeat(128) + "\"}";
+
+        mockMvc.perform(post(PATH)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "k1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(oversized))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.code").value("PAYLOAD_TOO_LARGE"));
+
+        verify(store, never()).claim(anyString(), anyString());
+        verifyNoInteractions(reminderService);
+    }
+
+    private static IdempotencyRecord record(IdempotencyStatus status) {
+        return IdempotencyRecord.builder()
+                .id(KEY)
+                .requestHash(HASH)
+                .status(status)
+                .lockToken("token")
+                .build();
+    }
+}
@@ -0,0 +1,192 @@
+package dev.solace.twiggle.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import dev.solace.twiggle.config.RateLimiterConfiguration;
+import dev.solace.twiggle.config.TenancyProperties;
+import dev.solace.twiggle.controller.TestController;
+import dev.solace.twiggle.exception.CustomException;
+import dev.solace.twiggle.exception.ErrorCode;
+import dev.solace.twiggle.model.tenant.PlacementState;
+import dev.solace.twiggle.model.tenant.TenantPlacement;
+import dev.solace.twiggle.security.AuthenticatedUser;
+import dev.solace.twiggle.tenant.TenantContext;
+import dev.solace.twiggle.tenant.TenantDirectory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/**
+ * Unit tests for {@link TenantFilter}.
+ */
+@WebMvcTest(TestController.class)
+@Import({RateLimiterConfiguration.class, SimpleMeterRegistry.class, TenantFilterTest.FilterConfiguration.class})
+class TenantFilterTest {
+
+    private static final String HEADER = "X-Tenant-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("handlerExceptionResolver") private HandlerExceptionResolver exceptionResolver;
+
+    @MockitoBean
+    private TenantDirectory tenantDirectory;
+
+    @Test
+    void request_WithoutHeader_ShouldUseHomeDatabase() throws Exception {
+        mockMvc.perform(get("/api/v1/test")).andExpect(status().isOk());
+
+        verify(tenantDirectory, never()).placementOf(anyString());
+    }
+
+    @Test
+    void request_WithMalformedTenant_ShouldBeRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/test").header(HEADER, "Acme Corp"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_ARGUMENT"));
+        mockMvc.perform(get("/api/v1/test").header(HEADER, "home"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_ARGUMENT"));
+    }
+
+    @Test
+    void request_ForUnknownTenant_ShouldBeNotFound() throws Exception {
+        when(tenantDirectory.placementOf("ghost"))
+                .thenThrow(new CustomException(
+                        "Unknown tenant ghost", HttpStatus.NOT_FOUND, ErrorCode.RESOURCE_NOT_FOUND));
+
+        mockMvc.perform(get("/api/v1/test").header(HEADER, "ghost"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("RESOURCE_NOT_FOUND"));
+    }
+
+    @Test
+    void request_ForFrozenTenant_ShouldBeUnavailable() throws Exception {
+        when(tenantDirectory.placementOf("moving")).thenReturn(placement("moving", PlacementState.FROZEN));
+
+        mockMvc.perform(get("/api/v1/test").header(HEADER, "moving"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(jsonPath("$.code").value("SERVICE_UNAVAILABLE"));
+    }
+
+    @Test
+    void request_ForActiveTenant_ShouldBeTimedPerTenant() throws Exception {
+        when(tenantDirectory.placementOf("acme")).thenReturn(placement("acme", PlacementState.ACTIVE));
+        when(tenantDirectory.placementOf("globex")).thenReturn(placement("globex", PlacementState.ACTIVE));
+
+        mockMvc.perform(get("/api/v1/test").header(HEADER, "acme")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/test").header(HEADER, "globex")).andExpect(status().isOk());
+
+        assertThat(meterRegistry
+                        .get("twiggle.tenant.requests")
+                        .tag("tenant", "acme")
+                        .tag("outcome", "SUCCESSFUL")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+        // Only one tenant is tagged by name in this configuration.
+        assertThat(meterRegistry
+                        .get("twiggle.tenant.requests")
+                        .tag("tenant", TenantFilter.OTHER_TENANTS)
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void request_WithAuthentication_ShouldTakeTenantFromToken() throws Exception {
+        when(tenantDirectory.placementOf("acme")).thenReturn(placement("acme", PlacementState.ACTIVE));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/test");
+        request.setAttribute(AuthenticatedUser.ATTRIBUTE, user("acme"));
+        String[] boundTenant = new String[1];
+
+        verifyingFilter()
+                .doFilter(
+                        request, new MockHttpServletResponse(), (req, res) -> boundTenant[0] = TenantContext.current());
+
+        assertThat(boundTenant[0]).isEqualTo("acme");
+    }
+
+    @Test
+    void request_WithAuthentication_ShouldRejectHeaderTheTokenDoesNotGrant() throws Exception {
+        for (AuthenticatedUser user : new AuthenticatedUser[] {user("acme"), user(null), null}) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/test");
+            request.addHeader(HEADER, "globex");
+            request.setAttribute(AuthenticatedUser.ATTRIBUTE, user);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+
+            verifyingFilter().doFilter(request, response, chain);
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.FORBIDDEN.value());
+            assertThat(chain.getRequest()).isNull();
+        }
+        verify(tenantDirectory, never()).placementOf(anyString());
+    }
+
+    private TenantFilter verifyingFilter() {
+        TenancyProperties properties = new TenancyProperties();
+        properties.setEnabled(true);
+        return new TenantFilter(tenantDirectory, properties, true, exceptionResolver, new SimpleMeterRegistry());
+    }
+
+    private static AuthenticatedUser user(String tenant) {
+        return new AuthenticatedUser("u1", Set.of(), Instant.now().plusSeconds(60), "k1", tenant);
+    }
+
+    private static TenantPlacement placement(String tenant, PlacementState state) {
+        return TenantPlacement.builder()
+                .tenantId(tenant)
+                .cluster("home")
+                .database("twiggle_t_" + tenant)
+                .state(state)
+                .version(1)
+                .build();
+    }
+
+    @TestConfiguration
+    static class FilterConfiguration {
+
+        @Bean
+        FilterRegistrationBean<TenantFilter> tenantFilter(
+                TenantDirectory tenantDirectory,
+                @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+                MeterRegistry meterRegistry) {
+            TenancyProperties properties = new TenancyProperties();
+            properties.setEnabled(true);
+            properties.setMaxTaggedTenants(1);
+            return new FilterRegistrationBean<>(
+                    new TenantFilter(tenantDirectory, properties, false, exceptionResolver, meterRegistry));
+        }
+    }
+}
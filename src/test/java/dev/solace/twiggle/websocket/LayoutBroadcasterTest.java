@@ -0,0 +1,138 @@
+package dev.solace.twiggle.websocket;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.solace.twiggle.config.CollaborationProperties;
+import dev.solace.twiggle.model.layout.LayoutOperation;
+import dev.solace.twiggle.service.layout.LayoutChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * Unit tests for the {@link LayoutBroadcaster} class.
+ */
+class LayoutBroadcasterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LayoutBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        CollaborationProperties properties = new CollaborationProperties();
+        // Ticks are driven by the tests.
+        properties.setTick(Duration.ofHours(1));
+        properties.setSendQueueCapacity(2);
+        broadcaster = new LayoutBroadcaster(properties, objectMapper, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        broadcaster.destroy();
+    }
+
+    @Test
+    void tick_ShouldCoalesceDeltasIntoOneFramePerEditor() throws Exception {
+        // Arrange
+        WebSocketSession first = session("s1");
+        WebSocketSession second = session("s2");
+        broadcaster.register("g1", first);
+        broadcaster.register("g1", second);
+        broadcaster.onLayoutChanged(event("g1", 8));
+        broadcaster.onLayoutChanged(event("g1", 7));
+
+        // Act
+        broadcaster.tick();
+
+        // Assert
+        ArgumentCaptor<TextMessage> frame = ArgumentCaptor.forClass(TextMessage.class);
+        verify(first, timeout(2_000)).sendMessage(frame.capture());
+        verify(second, timeout(2_000)).sendMessage(any());
+        JsonNode json = objectMapper.readTree(frame.getValue().getPayload());
+        assertEquals("layout-deltas", json.get("type").asText());
+        assertEquals(7, json.get("deltas").get(0).get("version").asLong());
+        assertEquals(8, json.get("deltas").get(1).get("version").asLong());
+        await().until(() -> meterRegistry.timer("twiggle.collab.fanout.latency").count() == 2);
+        assertEquals(
+                2.0, meterRegistry.get("twiggle.collab.connections").gauge().value());
+    }
+
+    @Test
+    void onLayoutChanged_WithoutEditors_ShouldNotBufferDeltas() throws Exception {
+        WebSocketSession session = session("s1");
+        broadcaster.register("g1", session);
+        broadcaster.unregister("g1", session);
+
+        broadcaster.onLayoutChanged(event("g1", 1));
+        broadcaster.tick();
+
+        verify(session, never()).sendMessage(any());
+        assertEquals(0, broadcaster.connectionCount());
+    }
+
+    @Test
+    void tick_WithSlowConsumer_ShouldCloseItWithoutDelayingOthers() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        WebSocketSession slow = session("slow");
+        doAnswer(invocation -> {
+                    release.await();
+                    return null;
+                })
+                .when(slow)
+                .sendMessage(any());
+        WebSocketSession fast = session("fast");
+        broadcaster.register("g1", slow);
+        broadcaster.register("g1", fast);
+
+        // Act: one frame blocks in flight, two fill the queue, the fourth overflows it.
+        for (int version = 1; version <= 4; version++) {
+            broadcaster.onLayoutChanged(event("g1", version));
+            broadcaster.tick();
+            verify(fast, timeout(2_000).times(version)).sendMessage(any());
+        }
+
+        // Assert: the socket is only closed once the frame in flight has been written.
+        assertEquals(1.0, meterRegistry.counter("twiggle.collab.frames.dropped").count());
+        assertEquals(1.0, meterRegistry.counter("twiggle.collab.slow.consumers").count());
+        verify(slow, never()).close(any());
+        release.countDown();
+        verify(slow, timeout(2_000)).close(CloseStatus.SESSION_NOT_RELIABLE.withReason("Send queue overflow"));
+        verify(slow).sendMessage(any());
+    }
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        return session;
+    }
+
+    private static LayoutChangedEvent event(String gardenId, long version) {
+        return new LayoutChangedEvent(
+                gardenId,
+                version,
+                List.of(LayoutOperation.builder()
+                        .type(LayoutOperation.Type.REMOVE)
+                        .placementId("p" + version)
+                        .build()));
+    }
+}
@@ -0,0 +1,55 @@
+package dev.solace.twiggle.websocket;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * Unit tests for the {@link LayoutCollaborationHandler} class.
+ */
+class LayoutCollaborationHandlerTest {
+
+    private final LayoutBroadcaster broadcaster = mock(LayoutBroadcaster.class);
+    private final LayoutCollaborationHandler handler = new LayoutCollaborationHandler(broadcaster);
+
+    @Test
+    void afterConnectionEstablished_ShouldRegisterUnderGardenFromPath() throws Exception {
+        WebSocketSession session = session("ws://localhost/ws/gardens/g-42/layout");
+
+        handler.afterConnectionEstablished(session);
+        handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+
+        verify(broadcaster).register("g-42", session);
+        verify(broadcaster).unregister("g-42", session);
+    }
+
+    @Test
+    void afterConnectionEstablished_WithUnexpectedPath_ShouldClose() throws Exception {
+        WebSocketSession session = session("ws://localhost/ws/other");
+
+        handler.afterConnectionEstablished(session);
+
+        verify(session).close(CloseStatus.BAD_DATA.withReason("Unknown garden"));
+        verify(broadcaster, never()).register(any(), eq(session));
+        assertNull(LayoutCollaborationHandler.gardenId(session));
+    }
+
+    private static WebSocketSession session(String uri) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        Map<String, Object> attributes = new HashMap<>();
+        when(session.getUri()).thenReturn(URI.create(uri));
+        when(session.getAttributes()).thenReturn(attributes);
+        return session;
+    }
+}